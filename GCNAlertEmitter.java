@@ -0,0 +1,669 @@
+// GCNAlertEmitter.java
+package org.estar.gcn;
+
+import java.lang.*;
+import java.io.*;
+import java.net.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.util.*;
+
+/**
+ * Output stage, that serialises accepted alerts as VOEvent XML or compact JSON, for downstream consumers
+ * that do not want to decode the binary packet layout. Each alert can be sent to any of:
+ * <ul>
+ * <li><b>Subscribers</b> connected to a local TCP port. JSON alerts are sent one per line, VOEvent alerts are
+ *     preceeded by their length as a 4 byte integer in network byte order (the VOEvent Transport Protocol
+ *     framing, as read by the script starter's VOEvent port). A subscriber that cannot take the whole alert
+ *     without blocking is dropped, so a slow consumer can not hold up the alert pipeline.
+ * <li><b>A spool directory</b>. Each alert is written to a temporary file, then renamed to
+ *     &lt;trigger number&gt;-&lt;sequence number&gt;-&lt;milliseconds&gt;-&lt;count&gt;.json (or .xml).
+ * <li><b>A multicast group</b>, one alert per datagram.
+ * </ul>
+ * The alert is written by hand (numbers and dates digit by digit) into a reused StringBuffer, and encoded into
+ * a reused byte array, so emitting an alert creates next to no garbage.
+ * Subclasses implement error, to send errors to a logger.
+ * @author Chris Mottram
+ * @version $Revision$
+ * @see GCNDatagramAlertData
+ */
+public abstract class GCNAlertEmitter
+{
+// constants
+	/**
+	 * Revision control system version id.
+	 */
+	public final static String RCSID = "$Id$";
+	/**
+	 * Format: compact JSON, one alert per line.
+	 */
+	public final static int FORMAT_JSON = 0;
+	/**
+	 * Format: VOEvent 2.0 XML.
+	 */
+	public final static int FORMAT_VOEVENT = 1;
+	/**
+	 * The names of the formats, indexed by format.
+	 */
+	public final static String FORMAT_NAME_LIST[] = {"json","voevent"};
+	/**
+	 * The default ivorn stream the VOEvent ivorns are made from.
+	 */
+	public final static String DEFAULT_IVORN_STREAM = "ivo://org.estar/gcn";
+	/**
+	 * The format alerts are emitted in.
+	 * @see #FORMAT_JSON
+	 */
+	protected int format = FORMAT_JSON;
+	/**
+	 * The ivorn stream the VOEvent ivorns are made from: &lt;stream&gt;/&lt;mission&gt;#&lt;trigger&gt;-&lt;sequence&gt;
+	 */
+	protected String ivornStream = DEFAULT_IVORN_STREAM;
+	/**
+	 * The alert text being written.
+	 */
+	protected StringBuffer text = null;
+	/**
+	 * The encoded alert. Bytes 0 to 3 are left for the length prefix.
+	 */
+	protected byte bytes[] = null;
+	/**
+	 * The number of bytes of encoded alert (after the length prefix).
+	 */
+	protected int length = 0;
+	/**
+	 * Calendar (GMT+0) used to write dates.
+	 */
+	protected Calendar calendar = null;
+	/**
+	 * The subscriber server channel, or null.
+	 */
+	protected ServerSocketChannel serverChannel = null;
+	/**
+	 * The connected subscriber channels.
+	 */
+	protected List subscriberList = null;
+	/**
+	 * Buffer over bytes, used to write to the subscribers.
+	 */
+	protected ByteBuffer byteBuffer = null;
+	/**
+	 * The spool directory, or null.
+	 */
+	protected File spoolDirectory = null;
+	/**
+	 * The number of alerts written to the spool directory, used to make the file names unique.
+	 */
+	protected long spoolCount = 0;
+	/**
+	 * The socket used to send to the multicast group, or null.
+	 */
+	protected MulticastSocket multicastSocket = null;
+	/**
+	 * The datagram sent to the multicast group.
+	 */
+	protected DatagramPacket multicastPacket = null;
+
+	/**
+	 * Default constructor.
+	 */
+	public GCNAlertEmitter()
+	{
+		super();
+		text = new StringBuffer(2048);
+		bytes = new byte[2048];
+		byteBuffer = ByteBuffer.wrap(bytes);
+		calendar = Calendar.getInstance(TimeZone.getTimeZone("GMT+0"));
+		subscriberList = new Vector();
+	}
+
+	/**
+	 * Set the format alerts are emitted in.
+	 * @param s The format name, "json" or "voevent".
+	 * @exception IllegalArgumentException Thrown if the format name is not known.
+	 * @see #format
+	 * @see #FORMAT_NAME_LIST
+	 */
+	public void setFormat(String s) throws IllegalArgumentException
+	{
+		for(int i = 0; i < FORMAT_NAME_LIST.length; i++)
+		{
+			if(FORMAT_NAME_LIST[i].equals(s))
+			{
+				format = i;
+				return;
+			}
+		}
+		throw new IllegalArgumentException(this.getClass().getName()+":setFormat:Illegal format:"+s);
+	}
+
+	/**
+	 * Set the ivorn stream the VOEvent ivorns are made from.
+	 * @param s The ivorn stream, e.g. ivo://org.estar/gcn
+	 * @see #ivornStream
+	 */
+	public void setIvornStream(String s)
+	{
+		ivornStream = s;
+	}
+
+	/**
+	 * Start accepting subscribers on a TCP port, on a daemon thread.
+	 * @param port The port.
+	 * @exception IOException Thrown if the server socket cannot be opened.
+	 * @see #serverChannel
+	 * @see #subscriberList
+	 */
+	public void startSubscriberServer(int port) throws IOException
+	{
+		Thread t = null;
+
+		serverChannel = ServerSocketChannel.open();
+		serverChannel.socket().setReuseAddress(true);
+		serverChannel.socket().bind(new InetSocketAddress(port));
+		t = new Thread(new Runnable()
+		{
+			public void run()
+			{
+				SocketChannel channel = null;
+
+				while(serverChannel.isOpen())
+				{
+					try
+					{
+						channel = serverChannel.accept();
+						channel.configureBlocking(false);
+						subscriberList.add(channel);
+					}
+					catch(Exception e)
+					{
+						if(serverChannel.isOpen())
+							error(GCNAlertEmitter.this.getClass().getName()+":accept:",e);
+					}
+				}
+			}
+		});
+		t.setDaemon(true);
+		t.start();
+	}
+
+	/**
+	 * Set the spool directory.
+	 * @param d The directory, or null for none.
+	 * @see #spoolDirectory
+	 */
+	public void setSpoolDirectory(File d)
+	{
+		spoolDirectory = d;
+	}
+
+	/**
+	 * Set the multicast group to send alerts to.
+	 * @param address The group address.
+	 * @param port The port.
+	 * @exception IOException Thrown if the socket cannot be created.
+	 * @see #multicastSocket
+	 * @see #multicastPacket
+	 */
+	public void setMulticast(InetAddress address,int port) throws IOException
+	{
+		multicastSocket = new MulticastSocket();
+		multicastPacket = new DatagramPacket(bytes,0,address,port);
+	}
+
+	/**
+	 * Serialise an alert, and send it to all the outputs. Errors are reported with error, and not thrown,
+	 * so a failed output does not stop the alert pipeline.
+	 * @param alertData The alert.
+	 * @param packetType The alert's packet type, or -1 if it is not known.
+	 * @see #serialise
+	 * @see #sendSubscribers
+	 * @see #writeSpool
+	 * @see #sendMulticast
+	 */
+	public synchronized void emit(GCNDatagramAlertData alertData,int packetType)
+	{
+		serialise(alertData,packetType);
+		if(subscriberList.size() > 0)
+			sendSubscribers();
+		if(spoolDirectory != null)
+		{
+			try
+			{
+				writeSpool(alertData);
+			}
+			catch(Exception e)
+			{
+				error(this.getClass().getName()+":emit:Writing to spool "+spoolDirectory+" failed:",e);
+			}
+		}
+		if(multicastSocket != null)
+		{
+			try
+			{
+				sendMulticast();
+			}
+			catch(Exception e)
+			{
+				error(this.getClass().getName()+":emit:Sending to multicast group failed:",e);
+			}
+		}
+	}
+
+	/**
+	 * Serialise an alert, and return it as a string.
+	 * @param alertData The alert.
+	 * @param packetType The alert's packet type, or -1 if it is not known.
+	 * @return The serialised alert.
+	 * @see #serialise
+	 */
+	public synchronized String toString(GCNDatagramAlertData alertData,int packetType)
+	{
+		serialise(alertData,packetType);
+		return text.toString();
+	}
+
+	/**
+	 * Stop accepting subscribers, and close all the outputs.
+	 */
+	public synchronized void close()
+	{
+		SocketChannel channel = null;
+
+		try
+		{
+			if(serverChannel != null)
+				serverChannel.close();
+			while(subscriberList.size() > 0)
+			{
+				channel = (SocketChannel)(subscriberList.remove(0));
+				channel.close();
+			}
+		}
+		catch(IOException e)
+		{
+			error(this.getClass().getName()+":close:",e);
+		}
+		if(multicastSocket != null)
+			multicastSocket.close();
+	}
+
+	/**
+	 * Serialise an alert into text in the current format, and encode it into bytes.
+	 * @param alertData The alert.
+	 * @param packetType The alert's packet type, or -1 if it is not known.
+	 * @see #format
+	 * @see #appendJSON
+	 * @see #appendVOEvent
+	 * @see #encode
+	 */
+	protected void serialise(GCNDatagramAlertData alertData,int packetType)
+	{
+		text.setLength(0);
+		if(format == FORMAT_VOEVENT)
+			appendVOEvent(alertData,packetType);
+		else
+			appendJSON(alertData,packetType);
+		encode();
+	}
+
+	/**
+	 * Write an alert as one line of compact JSON.
+	 * @param alertData The alert.
+	 * @param packetType The alert's packet type, or -1 if it is not known.
+	 */
+	protected void appendJSON(GCNDatagramAlertData alertData,int packetType)
+	{
+		text.append("{\"mission\":\"");
+		text.append(alertData.getAlertTypeString());
+		text.append("\",\"packet_type\":");
+		appendLong(packetType);
+		text.append(",\"trigger_number\":");
+		appendLong(alertData.getTriggerNumber());
+		text.append(",\"sequence_number\":");
+		appendLong(alertData.getSequenceNumber());
+		text.append(",\"ra\":");
+		if(alertData.getRA() != null)
+			appendDouble(alertData.getRA().toArcSeconds()/3600.0,6);
+		else
+			text.append("null");
+		text.append(",\"dec\":");
+		if(alertData.getDec() != null)
+			appendDouble(alertData.getDec().toArcSeconds()/3600.0,6);
+		else
+			text.append("null");
+		text.append(",\"epoch\":");
+		appendDouble(alertData.getEpoch(),1);
+		text.append(",\"error_box_arcmin\":");
+		appendDouble(alertData.getErrorBoxSize(),4);
+		text.append(",\"grb_date\":");
+		appendJSONDate(alertData.getGRBDate());
+		text.append(",\"notice_date\":");
+		appendJSONDate(alertData.getNoticeDate());
+		text.append(",\"status\":");
+		appendLong(alertData.getStatus());
+		text.append(",\"test\":");
+		text.append(alertData.getTest() ? "true" : "false");
+		text.append(",\"priority\":");
+		text.append(alertData.getPriority() ? "true" : "false");
+		text.append("}\n");
+	}
+
+	/**
+	 * Write an alert as a VOEvent 2.0 document, that GCNVOEventParser can read.
+	 * @param alertData The alert.
+	 * @param packetType The alert's packet type, or -1 if it is not known.
+	 * @see GCNVOEventParser
+	 */
+	protected void appendVOEvent(GCNDatagramAlertData alertData,int packetType)
+	{
+		text.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+		text.append("<voe:VOEvent xmlns:voe=\"http://www.ivoa.net/xml/VOEvent/v2.0\" ivorn=\"");
+		text.append(ivornStream);
+		text.append('/');
+		text.append(alertData.getAlertTypeString());
+		text.append('#');
+		appendLong(alertData.getTriggerNumber());
+		text.append('-');
+		appendLong(alertData.getSequenceNumber());
+		text.append("\" role=\"");
+		text.append(alertData.getTest() ? "test" : "observation");
+		text.append("\" version=\"2.0\">\n");
+		text.append("<Who><AuthorIVORN>");
+		text.append(ivornStream);
+		text.append("</AuthorIVORN>");
+		if(alertData.getNoticeDate() != null)
+		{
+			text.append("<Date>");
+			appendDate(alertData.getNoticeDate());
+			text.append("</Date>");
+		}
+		text.append("</Who>\n<What>\n");
+		appendParam("Packet_Type",packetType);
+		appendParam("TrigID",alertData.getTriggerNumber());
+		appendParam("Pkt_Ser_Num",alertData.getSequenceNumber());
+		appendParam("Soln_Status",alertData.getStatus());
+		text.append("<Param name=\"Priority\" value=\"");
+		text.append(alertData.getPriority() ? "true" : "false");
+		text.append("\"/>\n</What>\n");
+		text.append("<WhereWhen><ObsDataLocation><ObservatoryLocation id=\"GEOLUN\"/><ObservationLocation>");
+		text.append("<AstroCoordSystem id=\"UTC-FK5-GEO\"/><AstroCoords coord_system_id=\"UTC-FK5-GEO\">\n");
+		if(alertData.getGRBDate() != null)
+		{
+			text.append("<Time unit=\"s\"><TimeInstant><ISOTime>");
+			appendDate(alertData.getGRBDate());
+			text.append("</ISOTime></TimeInstant></Time>\n");
+		}
+		if((alertData.getRA() != null)&&(alertData.getDec() != null))
+		{
+			text.append("<Position2D unit=\"deg\"><Name1>RA</Name1><Name2>Dec</Name2><Value2><C1>");
+			appendDouble(alertData.getRA().toArcSeconds()/3600.0,6);
+			text.append("</C1><C2>");
+			appendDouble(alertData.getDec().toArcSeconds()/3600.0,6);
+			text.append("</C2></Value2><Error2Radius>");
+			// arc-minutes to degrees
+			appendDouble(alertData.getErrorBoxSize()/60.0,6);
+			text.append("</Error2Radius></Position2D>\n");
+		}
+		text.append("</AstroCoords></ObservationLocation></ObsDataLocation></WhereWhen>\n");
+		text.append("<Why><Inference><Concept>process.variation.burst;em.gamma</Concept></Inference></Why>\n");
+		text.append("</voe:VOEvent>\n");
+	}
+
+	/**
+	 * Write a VOEvent integer Param.
+	 * @param name The param name.
+	 * @param value The param value.
+	 */
+	protected void appendParam(String name,long value)
+	{
+		text.append("<Param name=\"");
+		text.append(name);
+		text.append("\" value=\"");
+		appendLong(value);
+		text.append("\"/>\n");
+	}
+
+	/**
+	 * Write a date as a JSON string, or null.
+	 * @param date The date, or null.
+	 */
+	protected void appendJSONDate(Date date)
+	{
+		if(date == null)
+		{
+			text.append("null");
+			return;
+		}
+		text.append('"');
+		appendDate(date);
+		text.append('"');
+	}
+
+	/**
+	 * Write a date in the form yyyy-MM-dd'T'HH:mm:ss.SSS (GMT+0).
+	 * @param date The date.
+	 * @see #calendar
+	 */
+	protected void appendDate(Date date)
+	{
+		calendar.setTime(date);
+		appendPadded(calendar.get(Calendar.YEAR),4);
+		text.append('-');
+		appendPadded(calendar.get(Calendar.MONTH)+1,2);
+		text.append('-');
+		appendPadded(calendar.get(Calendar.DAY_OF_MONTH),2);
+		text.append('T');
+		appendPadded(calendar.get(Calendar.HOUR_OF_DAY),2);
+		text.append(':');
+		appendPadded(calendar.get(Calendar.MINUTE),2);
+		text.append(':');
+		appendPadded(calendar.get(Calendar.SECOND),2);
+		text.append('.');
+		appendPadded(calendar.get(Calendar.MILLISECOND),3);
+	}
+
+	/**
+	 * Write a non-negative integer, padded with leading zeros.
+	 * @param value The value.
+	 * @param width The minimum number of digits.
+	 */
+	protected void appendPadded(int value,int width)
+	{
+		int divisor;
+
+		divisor = 1;
+		for(int i = 1; i < width; i++)
+			divisor *= 10;
+		while(divisor > value && divisor > 1)
+		{
+			text.append('0');
+			divisor /= 10;
+		}
+		appendLong(value);
+	}
+
+	/**
+	 * Write an integer, digit by digit.
+	 * @param value The value.
+	 */
+	protected void appendLong(long value)
+	{
+		long divisor;
+
+		if(value < 0)
+		{
+			text.append('-');
+			if(value == Long.MIN_VALUE)
+			{
+				text.append("9223372036854775808");
+				return;
+			}
+			value = -value;
+		}
+		divisor = 1;
+		while(divisor <= (value/10))
+			divisor *= 10;
+		while(divisor > 0)
+		{
+			text.append((char)('0'+((value/divisor)%10)));
+			divisor /= 10;
+		}
+	}
+
+	/**
+	 * Write a number with a fixed number of decimal places, digit by digit. NaN and infinite values are
+	 * written as 0.
+	 * @param value The value.
+	 * @param places The number of decimal places.
+	 */
+	protected void appendDouble(double value,int places)
+	{
+		long scale,scaled;
+
+		if(Double.isNaN(value)||Double.isInfinite(value))
+			value = 0.0;
+		scale = 1;
+		for(int i = 0; i < places; i++)
+			scale *= 10;
+		scaled = Math.round(Math.abs(value)*scale);
+		if((value < 0.0)&&(scaled != 0))
+			text.append('-');
+		appendLong(scaled/scale);
+		if(places > 0)
+		{
+			text.append('.');
+			appendPadded((int)(scaled%scale),places);
+		}
+	}
+
+	/**
+	 * Encode text into bytes (after the 4 byte length prefix), growing bytes if needed.
+	 * The text is ASCII, anything else is written as '?'.
+	 * @see #bytes
+	 * @see #length
+	 */
+	protected void encode()
+	{
+		char ch;
+
+		length = text.length();
+		if(length+4 > bytes.length)
+		{
+			bytes = new byte[(length+4)*2];
+			byteBuffer = ByteBuffer.wrap(bytes);
+		}
+		bytes[0] = (byte)(length >>> 24);
+		bytes[1] = (byte)(length >>> 16);
+		bytes[2] = (byte)(length >>> 8);
+		bytes[3] = (byte)length;
+		for(int i = 0; i < length; i++)
+		{
+			ch = text.charAt(i);
+			if(ch > 127)
+				ch = '?';
+			bytes[i+4] = (byte)ch;
+		}
+	}
+
+	/**
+	 * Send the encoded alert to each subscriber. The VOEvent format is preceeded by the length prefix.
+	 * Subscribers that fail, or cannot take the whole alert without blocking, are closed and dropped.
+	 * @see #subscriberList
+	 */
+	protected void sendSubscribers()
+	{
+		SocketChannel channel = null;
+		int start;
+
+		if(format == FORMAT_VOEVENT)
+			start = 0;
+		else
+			start = 4;
+		for(int i = subscriberList.size()-1; i >= 0; i--)
+		{
+			channel = (SocketChannel)(subscriberList.get(i));
+			byteBuffer.limit(length+4);
+			byteBuffer.position(start);
+			try
+			{
+				channel.write(byteBuffer);
+				if(byteBuffer.hasRemaining())
+				{
+					throw new IOException(this.getClass().getName()+
+							      ":sendSubscribers:Subscriber too slow.");
+				}
+			}
+			catch(IOException e)
+			{
+				error(this.getClass().getName()+":sendSubscribers:Dropping subscriber "+
+				      channel.socket().getRemoteSocketAddress()+":",e);
+				subscriberList.remove(i);
+				try
+				{
+					channel.close();
+				}
+				catch(IOException ce)
+				{
+				}
+			}
+		}
+	}
+
+	/**
+	 * Write the encoded alert into the spool directory, as a temporary file renamed once it is complete.
+	 * @param alertData The alert, used to name the file.
+	 * @exception IOException Thrown if the file cannot be written or renamed.
+	 * @see #spoolDirectory
+	 */
+	protected void writeSpool(GCNDatagramAlertData alertData) throws IOException
+	{
+		FileOutputStream outputStream = null;
+		File tmpFile = null;
+		File file = null;
+		String name = null;
+
+		name = alertData.getTriggerNumber()+"-"+alertData.getSequenceNumber()+"-"+System.currentTimeMillis()+
+			"-"+(spoolCount++);
+		tmpFile = new File(spoolDirectory,name+".tmp");
+		if(format == FORMAT_VOEVENT)
+			file = new File(spoolDirectory,name+".xml");
+		else
+			file = new File(spoolDirectory,name+".json");
+		outputStream = new FileOutputStream(tmpFile);
+		try
+		{
+			outputStream.write(bytes,4,length);
+		}
+		finally
+		{
+			outputStream.close();
+		}
+		if(tmpFile.renameTo(file) == false)
+		{
+			throw new IOException(this.getClass().getName()+":writeSpool:Failed to rename "+tmpFile+
+					      " to "+file+".");
+		}
+	}
+
+	/**
+	 * Send the encoded alert to the multicast group, as one datagram.
+	 * @exception IOException Thrown if the datagram cannot be sent.
+	 * @see #multicastPacket
+	 */
+	protected void sendMulticast() throws IOException
+	{
+		multicastPacket.setData(bytes,4,length);
+		multicastSocket.send(multicastPacket);
+	}
+
+	/**
+	 * Report an error.
+	 * @param message The error message.
+	 * @param e The exception.
+	 */
+	protected abstract void error(String message,Exception e);
+}
+//
+// $Log: not supported by cvs2svn $
+//
@@ -0,0 +1,392 @@
+// GCNAlertHistory.java
+package org.estar.gcn;
+
+import java.lang.*;
+import java.text.*;
+import java.util.*;
+
+/**
+ * A bounded, time ordered history of recent alert decisions (the alert data, where it came from,
+ * and whether it was accepted or why it was rejected). Decisions are held in a fixed size ring, overwriting
+ * the oldest. Each decision is linked to the previous decision with the same trigger number, and the previous
+ * decision for the same mission (alert type), with the latest decision for each held in a GCNIntLongHashMap,
+ * so queries by trigger number or mission only visit the matching decisions. Queries by time binary search
+ * the ring.
+ * <p>
+ * Decisions are identified by a serial number (the number of decisions recorded before them), and are held
+ * at index (serial % capacity) whilst serial &gt;= (totalCount - capacity).
+ * <p>
+ * Decisions about packets dropped before they were decoded are recorded as a summary (recordSummary),
+ * held in the ring's primitive arrays without any alert data, so recording them creates no objects.
+ * This class is thread safe.
+ * @author Chris Mottram
+ * @version $Revision$
+ * @see GCNIntLongHashMap
+ */
+public class GCNAlertHistory
+{
+// constants
+	/**
+	 * Revision control system version id.
+	 */
+	public final static String RCSID = "$Id$";
+	/**
+	 * The default number of decisions held.
+	 */
+	public final static int DEFAULT_CAPACITY = 4096;
+	/**
+	 * The time of each decision, in milliseconds since the epoch.
+	 */
+	protected long timeList[] = null;
+	/**
+	 * The alert data of each decision, or null if the decision was recorded as a summary.
+	 */
+	protected GCNDatagramAlertData alertDataList[] = null;
+	/**
+	 * The alert type (mission) of each decision.
+	 */
+	protected int alertTypeList[] = null;
+	/**
+	 * The trigger number of each decision.
+	 */
+	protected int triggerNumberList[] = null;
+	/**
+	 * The error box radius of each summary decision, in arc-minutes, or negative if it is not known.
+	 */
+	protected double errorBoxSizeList[] = null;
+	/**
+	 * The burst time of each summary decision, in milliseconds since the epoch.
+	 */
+	protected long grbTimeList[] = null;
+	/**
+	 * Where each alert came from, e.g. "socket" or "manual".
+	 */
+	protected String sourceList[] = null;
+	/**
+	 * The verdict of each decision, e.g. "accepted", or the reason the alert was rejected.
+	 */
+	protected String verdictList[] = null;
+	/**
+	 * The serial of the previous decision with the same trigger number, or -1.
+	 */
+	protected long previousTriggerList[] = null;
+	/**
+	 * The serial of the previous decision for the same mission, or -1.
+	 */
+	protected long previousMissionList[] = null;
+	/**
+	 * The serial of the latest decision, for each trigger number.
+	 */
+	protected GCNIntLongHashMap triggerIndex = null;
+	/**
+	 * The serial of the latest decision, for each mission (alert type).
+	 */
+	protected GCNIntLongHashMap missionIndex = null;
+	/**
+	 * The total number of decisions recorded, and the serial of the next one.
+	 */
+	protected long totalCount = 0;
+	/**
+	 * Date format used to format the decisions.
+	 */
+	protected DateFormat dateFormat = null;
+
+	/**
+	 * Constructor.
+	 * @param capacity The number of decisions held.
+	 * @exception IllegalArgumentException Thrown if the capacity is not positive.
+	 */
+	public GCNAlertHistory(int capacity) throws IllegalArgumentException
+	{
+		super();
+		if(capacity < 1)
+		{
+			throw new IllegalArgumentException(this.getClass().getName()+
+							   ":constructor:Illegal capacity:"+capacity);
+		}
+		timeList = new long[capacity];
+		alertDataList = new GCNDatagramAlertData[capacity];
+		alertTypeList = new int[capacity];
+		triggerNumberList = new int[capacity];
+		errorBoxSizeList = new double[capacity];
+		grbTimeList = new long[capacity];
+		sourceList = new String[capacity];
+		verdictList = new String[capacity];
+		previousTriggerList = new long[capacity];
+		previousMissionList = new long[capacity];
+		triggerIndex = new GCNIntLongHashMap();
+		missionIndex = new GCNIntLongHashMap();
+		dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS");
+		dateFormat.setTimeZone(TimeZone.getTimeZone("GMT+0"));
+	}
+
+	/**
+	 * Record an alert decision. The alert data is held by reference, so must not be changed afterwards.
+	 * @param time The time of the decision, in milliseconds since the epoch.
+	 * @param source Where the alert came from, e.g. "socket" or "manual".
+	 * @param alertData The alert data.
+	 * @param verdict The verdict, e.g. "accepted", or the reason the alert was rejected.
+	 * @see #add
+	 */
+	public synchronized void record(long time,String source,GCNDatagramAlertData alertData,String verdict)
+	{
+		int index;
+
+		index = add(time,source,alertData.getAlertType(),alertData.getTriggerNumber(),verdict);
+		alertDataList[index] = alertData;
+	}
+
+	/**
+	 * Record a summary of an alert decision made before the alert was decoded (so without a position).
+	 * No objects are created, the source and verdict should be constant strings.
+	 * @param time The time of the decision, in milliseconds since the epoch.
+	 * @param source Where the alert came from, e.g. "socket".
+	 * @param alertType The alert type (mission).
+	 * @param triggerNumber The trigger number.
+	 * @param errorBoxSize The error box radius in arc-minutes, or negative if it is not known.
+	 * @param grbTime The burst time, in milliseconds since the epoch.
+	 * @param verdict The reason the alert was rejected.
+	 * @see #add
+	 * @see GCNDatagramScriptStarter#alertPreFilter
+	 */
+	public synchronized void recordSummary(long time,String source,int alertType,int triggerNumber,
+					       double errorBoxSize,long grbTime,String verdict)
+	{
+		int index;
+
+		index = add(time,source,alertType,triggerNumber,verdict);
+		alertDataList[index] = null;
+		errorBoxSizeList[index] = errorBoxSize;
+		grbTimeList[index] = grbTime;
+	}
+
+	/**
+	 * Add a decision to the ring, linking it into the trigger and mission indexes.
+	 * Must be called whilst synchronized.
+	 * @param time The time of the decision, in milliseconds since the epoch.
+	 * @param source Where the alert came from.
+	 * @param alertType The alert type (mission).
+	 * @param triggerNumber The trigger number.
+	 * @param verdict The verdict.
+	 * @return The index in the ring the decision was added at.
+	 */
+	protected int add(long time,String source,int alertType,int triggerNumber,String verdict)
+	{
+		int index;
+
+		index = (int)(totalCount%timeList.length);
+		timeList[index] = time;
+		sourceList[index] = source;
+		verdictList[index] = verdict;
+		alertTypeList[index] = alertType;
+		triggerNumberList[index] = triggerNumber;
+		previousTriggerList[index] = triggerIndex.get(triggerNumber,-1L);
+		previousMissionList[index] = missionIndex.get(alertType,-1L);
+		triggerIndex.put(triggerNumber,totalCount);
+		missionIndex.put(alertType,totalCount);
+		totalCount++;
+		// stop the trigger index growing without bound, by dropping trigger numbers no longer held
+		if(triggerIndex.size() > (timeList.length*2))
+			rebuildTriggerIndex();
+		return index;
+	}
+
+	/**
+	 * Return the most recent decisions, oldest first.
+	 * @param count The maximum number of decisions to return.
+	 * @return The decisions, one per line.
+	 * @see #format
+	 */
+	public synchronized String getLatest(int count)
+	{
+		StringBuffer sb = null;
+		long oldest;
+
+		sb = new StringBuffer();
+		oldest = Math.max(getOldestSerial(),totalCount-Math.max(count,0));
+		for(long serial = oldest; serial < totalCount; serial++)
+			format(sb,serial);
+		return sb.toString();
+	}
+
+	/**
+	 * Return the decisions held for a trigger number, oldest first.
+	 * @param triggerNumber The trigger number.
+	 * @return The decisions, one per line.
+	 * @see #triggerIndex
+	 * @see #previousTriggerList
+	 */
+	public synchronized String getTrigger(int triggerNumber)
+	{
+		long serialList[] = null;
+		long serial;
+		int count;
+
+		serialList = new long[timeList.length];
+		count = 0;
+		serial = triggerIndex.get(triggerNumber,-1L);
+		while(isHeld(serial) && (count < serialList.length))
+		{
+			serialList[count++] = serial;
+			serial = previousTriggerList[(int)(serial%timeList.length)];
+		}
+		return formatReversed(serialList,count);
+	}
+
+	/**
+	 * Return the most recent decisions for a mission, oldest first.
+	 * @param alertType The mission's alert type.
+	 * @param count The maximum number of decisions to return.
+	 * @return The decisions, one per line.
+	 * @see #missionIndex
+	 * @see #previousMissionList
+	 * @see GCNDatagramAlertData#ALERT_TYPE_SWIFT
+	 */
+	public synchronized String getMission(int alertType,int count)
+	{
+		long serialList[] = null;
+		long serial;
+		int held;
+
+		serialList = new long[Math.max(Math.min(count,timeList.length),0)];
+		held = 0;
+		serial = missionIndex.get(alertType,-1L);
+		while(isHeld(serial) && (held < serialList.length))
+		{
+			serialList[held++] = serial;
+			serial = previousMissionList[(int)(serial%timeList.length)];
+		}
+		return formatReversed(serialList,held);
+	}
+
+	/**
+	 * Return the decisions made at or after a time, oldest first. The start is found by binary search.
+	 * @param time The time, in milliseconds since the epoch.
+	 * @return The decisions, one per line.
+	 */
+	public synchronized String getSince(long time)
+	{
+		StringBuffer sb = null;
+		long low,high,middle;
+
+		low = getOldestSerial();
+		high = totalCount;
+		while(low < high)
+		{
+			middle = (low+high)/2;
+			if(timeList[(int)(middle%timeList.length)] < time)
+				low = middle+1;
+			else
+				high = middle;
+		}
+		sb = new StringBuffer();
+		for(long serial = low; serial < totalCount; serial++)
+			format(sb,serial);
+		return sb.toString();
+	}
+
+	/**
+	 * Return the total number of decisions recorded, including those overwritten.
+	 * @return The number of decisions.
+	 */
+	public synchronized long getTotalCount()
+	{
+		return totalCount;
+	}
+
+	/**
+	 * Return the serial of the oldest decision held.
+	 * @return The serial.
+	 */
+	protected long getOldestSerial()
+	{
+		return Math.max(totalCount-timeList.length,0L);
+	}
+
+	/**
+	 * Return whether a decision is still held.
+	 * @param serial The decision's serial.
+	 * @return true if the decision is held.
+	 */
+	protected boolean isHeld(long serial)
+	{
+		return (serial >= getOldestSerial())&&(serial < totalCount);
+	}
+
+	/**
+	 * Rebuild the trigger index from the decisions held.
+	 * The previous trigger links are left alone, as links to decisions no longer held are ignored.
+	 * @see #triggerIndex
+	 */
+	protected void rebuildTriggerIndex()
+	{
+		triggerIndex.clear();
+		for(long serial = getOldestSerial(); serial < totalCount; serial++)
+		{
+			triggerIndex.put(triggerNumberList[(int)(serial%timeList.length)],serial);
+		}
+	}
+
+	/**
+	 * Format decisions, given newest first, oldest first.
+	 * @param serialList The decision serials, newest first.
+	 * @param count The number of serials in the list.
+	 * @return The decisions, one per line.
+	 */
+	protected String formatReversed(long serialList[],int count)
+	{
+		StringBuffer sb = null;
+
+		sb = new StringBuffer();
+		for(int i = count-1; i >= 0; i--)
+			format(sb,serialList[i]);
+		return sb.toString();
+	}
+
+	/**
+	 * Append a decision to a string buffer, as a line of the form:
+	 * <pre>
+	 * yyyy-MM-dd'T'HH:mm:ss.SSS &lt;source&gt; &lt;mission&gt; trigger=&lt;n&gt; sequence=&lt;n&gt; ra=&lt;ra&gt; dec=&lt;dec&gt; error_box=&lt;arcmin&gt; grb_date=&lt;date&gt; verdict=&lt;verdict&gt; [priority] [test]
+	 * </pre>
+	 * Summary decisions (recordSummary) have no sequence number or position:
+	 * <pre>
+	 * yyyy-MM-dd'T'HH:mm:ss.SSS &lt;source&gt; &lt;mission&gt; trigger=&lt;n&gt; error_box=&lt;arcmin&gt; grb_date=&lt;date&gt; verdict=&lt;verdict&gt;
+	 * </pre>
+	 * @param sb The string buffer.
+	 * @param serial The decision's serial.
+	 */
+	protected void format(StringBuffer sb,long serial)
+	{
+		GCNDatagramAlertData alertData = null;
+		int index;
+
+		index = (int)(serial%timeList.length);
+		alertData = alertDataList[index];
+		sb.append(dateFormat.format(new Date(timeList[index])));
+		if(alertData == null)
+		{
+			sb.append(" "+sourceList[index]+" "+GCNDatagramAlertData.getAlertTypeString(alertTypeList[index]));
+			sb.append(" trigger="+triggerNumberList[index]);
+			if(errorBoxSizeList[index] >= 0.0)
+				sb.append(" error_box="+errorBoxSizeList[index]);
+			sb.append(" grb_date="+dateFormat.format(new Date(grbTimeList[index])));
+			sb.append(" verdict="+verdictList[index]+"\n");
+			return;
+		}
+		sb.append(" "+sourceList[index]+" "+alertData.getAlertTypeString());
+		sb.append(" trigger="+alertData.getTriggerNumber()+" sequence="+alertData.getSequenceNumber());
+		sb.append(" ra="+alertData.getRA()+" dec="+alertData.getDec());
+		sb.append(" error_box="+alertData.getErrorBoxSize());
+		if(alertData.getGRBDate() != null)
+			sb.append(" grb_date="+dateFormat.format(alertData.getGRBDate()));
+		sb.append(" verdict="+verdictList[index]);
+		if(alertData.getPriority())
+			sb.append(" priority");
+		if(alertData.getTest())
+			sb.append(" test");
+		sb.append("\n");
+	}
+}
+//
+// $Log: not supported by cvs2svn $
+//
@@ -0,0 +1,21 @@
+// GCNControlCommandHandler.java
+package org.estar.gcn;
+
+/**
+ * This interface is implemented by classes that carry out the commands sent to a GCNControlServer.
+ * @author Chris Mottram
+ * @version $Revision$
+ * @see GCNControlServer
+ */
+public interface GCNControlCommandHandler
+{
+	/**
+	 * Carry out a command. Called from one of the control server's worker threads, so must be thread safe.
+	 * @param args An array of string containing the command name, and it's arguments.
+	 * @return The response to send back to the client.
+	 */
+	public String doControlCommand(String args[]);
+}
+//
+// $Log: not supported by cvs2svn $
+//
@@ -0,0 +1,611 @@
+// GCNControlServer.java
+package org.estar.gcn;
+
+import java.lang.*;
+import java.io.*;
+import java.net.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.util.*;
+
+/**
+ * A control server, that reads command lines from TCP clients and passes them to a GCNControlCommandHandler.
+ * All the connections are serviced by one selector thread, and the commands are carried out by a small pool
+ * of worker threads, so no thread is created per connection.
+ * <p>
+ * By default a connection carries one command: the command line is read, the response written,
+ * and the connection closed (as the old thread per connection control server did).
+ * If the first command is <b>persistent</b>, the connection stays open and any number of commands can be sent,
+ * without waiting for the previous response (pipelining). Each connection's commands are carried out one at a
+ * time, in order, and each response is followed by a line containing only a '.' (lines of the response
+ * starting with '.' have another '.' added). The command <b>close</b> closes a persistent connection,
+ * after the responses to any earlier commands have been sent.
+ * @author Chris Mottram
+ * @version $Revision$
+ * @see GCNControlCommandHandler
+ */
+public abstract class GCNControlServer implements Runnable
+{
+// constants
+	/**
+	 * Revision control system version id.
+	 */
+	public final static String RCSID = "$Id$";
+	/**
+	 * The default number of worker threads.
+	 */
+	public final static int DEFAULT_WORKER_COUNT = 2;
+	/**
+	 * The maximum length of a command line. Connections sending longer lines are closed.
+	 */
+	public final static int MAX_LINE_LENGTH = 8192;
+	/**
+	 * The command that makes a connection persistent.
+	 */
+	public final static String COMMAND_PERSISTENT = "persistent";
+	/**
+	 * The command that closes a persistent connection.
+	 */
+	public final static String COMMAND_CLOSE = "close";
+	/**
+	 * The handler that carries out the commands.
+	 */
+	protected GCNControlCommandHandler handler = null;
+	/**
+	 * The port the control server is running on.
+	 */
+	protected int portNumber = 0;
+	/**
+	 * The number of worker threads.
+	 */
+	protected int workerCount = DEFAULT_WORKER_COUNT;
+	/**
+	 * The server channel.
+	 */
+	protected ServerSocketChannel serverChannel = null;
+	/**
+	 * The selector servicing the server channel and all the connections.
+	 */
+	protected Selector selector = null;
+	/**
+	 * Queue of sessions with a command ready to be carried out, taken by the worker threads.
+	 */
+	protected LinkedList workQueue = null;
+	/**
+	 * List of sessions whose interest ops need updating by the selector thread.
+	 */
+	protected List updateList = null;
+	/**
+	 * Set to true to stop the server.
+	 */
+	protected volatile boolean quit = false;
+
+	/**
+	 * Constructor.
+	 * @param h The handler that carries out the commands.
+	 * @param p The port to listen on.
+	 * @see #handler
+	 * @see #portNumber
+	 */
+	public GCNControlServer(GCNControlCommandHandler h,int p)
+	{
+		super();
+		handler = h;
+		portNumber = p;
+		workQueue = new LinkedList();
+		updateList = new Vector();
+	}
+
+	/**
+	 * Set the number of worker threads. Must be called before run.
+	 * @param c The number of worker threads.
+	 * @exception IllegalArgumentException Thrown if the number is less than one.
+	 * @see #workerCount
+	 */
+	public void setWorkerCount(int c) throws IllegalArgumentException
+	{
+		if(c < 1)
+		{
+			throw new IllegalArgumentException(this.getClass().getName()+
+							   ":setWorkerCount:Illegal worker count:"+c);
+		}
+		workerCount = c;
+	}
+
+	/**
+	 * Run method. Opens the server channel, starts the worker threads, and services the connections
+	 * until quit is called.
+	 * @see #serverChannel
+	 * @see #selector
+	 * @see #acceptConnection
+	 * @see #updateInterestOps
+	 */
+	public void run()
+	{
+		Iterator iterator = null;
+		SelectionKey key = null;
+		Session session = null;
+		Thread thread = null;
+
+		try
+		{
+			selector = Selector.open();
+			serverChannel = ServerSocketChannel.open();
+			serverChannel.socket().setReuseAddress(true);
+			serverChannel.socket().bind(new InetSocketAddress(portNumber));
+			serverChannel.configureBlocking(false);
+			serverChannel.register(selector,SelectionKey.OP_ACCEPT);
+			for(int i = 0; i < workerCount; i++)
+			{
+				thread = new Thread(new Worker(),"GCNControlServer-worker-"+i);
+				thread.setDaemon(true);
+				thread.start();
+			}
+			while(quit == false)
+			{
+				updateInterestOps();
+				selector.select();
+				iterator = selector.selectedKeys().iterator();
+				while(iterator.hasNext())
+				{
+					key = (SelectionKey)(iterator.next());
+					iterator.remove();
+					if(key.channel() == serverChannel)
+					{
+						if(key.isValid() && key.isAcceptable())
+							acceptConnection();
+						continue;
+					}
+					session = (Session)(key.attachment());
+					try
+					{
+						if(key.isValid() && key.isReadable())
+							session.read();
+						if(key.isValid() && key.isWritable())
+							session.write();
+					}
+					catch(Exception e)
+					{
+						error(this.getClass().getName()+":run:connection error",e);
+						session.close();
+					}
+				}
+			}
+		}
+		catch(Exception e)
+		{
+			if(quit == false)
+				error(this.getClass().getName()+":run:control server "+portNumber,e);
+		}
+		finally
+		{
+			closeAll();
+		}
+	}
+
+	/**
+	 * Stop the server. The server channel and all connections are closed, and the worker threads stopped.
+	 * @see #quit
+	 */
+	public void quit()
+	{
+		quit = true;
+		synchronized(workQueue)
+		{
+			workQueue.notifyAll();
+		}
+		if(selector != null)
+			selector.wakeup();
+	}
+
+	/**
+	 * Accept a connection, and register it with the selector.
+	 * @exception IOException Thrown if accepting the connection fails.
+	 * @see GCNControlServer.Session
+	 */
+	protected void acceptConnection() throws IOException
+	{
+		SocketChannel channel = null;
+		Session session = null;
+
+		channel = serverChannel.accept();
+		if(channel == null)
+			return;
+		channel.configureBlocking(false);
+		session = new Session(channel);
+		session.key = channel.register(selector,SelectionKey.OP_READ,session);
+	}
+
+	/**
+	 * Ask the selector thread to update a session's interest ops, after a worker has added a response.
+	 * @param session The session.
+	 * @see #updateList
+	 */
+	protected void requestUpdate(Session session)
+	{
+		updateList.add(session);
+		selector.wakeup();
+	}
+
+	/**
+	 * Update the interest ops of the sessions in the update list. Called from the selector thread.
+	 * @see #updateList
+	 */
+	protected void updateInterestOps()
+	{
+		Session session = null;
+
+		while(updateList.size() > 0)
+		{
+			session = (Session)(updateList.remove(0));
+			session.updateInterestOps();
+		}
+	}
+
+	/**
+	 * Add a session with a command ready to be carried out to the work queue, and wake a worker.
+	 * @param session The session.
+	 * @see #workQueue
+	 */
+	protected void dispatch(Session session)
+	{
+		synchronized(workQueue)
+		{
+			workQueue.addLast(session);
+			workQueue.notify();
+		}
+	}
+
+	/**
+	 * Close the server channel, selector and all the connections.
+	 */
+	protected void closeAll()
+	{
+		Iterator iterator = null;
+		SelectionKey key = null;
+
+		try
+		{
+			if(selector != null)
+			{
+				iterator = selector.keys().iterator();
+				while(iterator.hasNext())
+				{
+					key = (SelectionKey)(iterator.next());
+					key.channel().close();
+				}
+				selector.close();
+			}
+			if(serverChannel != null)
+				serverChannel.close();
+		}
+		catch(IOException e)
+		{
+			error(this.getClass().getName()+":closeAll:",e);
+		}
+	}
+
+	/**
+	 * Report an error.
+	 * @param message The error message.
+	 * @param e The exception.
+	 */
+	protected abstract void error(String message,Exception e);
+
+	/**
+	 * A connection to the control server. Read and written by the selector thread,
+	 * with the commands carried out by a worker thread.
+	 */
+	protected class Session
+	{
+		/**
+		 * The connection channel.
+		 */
+		protected SocketChannel channel = null;
+		/**
+		 * The connection's selection key.
+		 */
+		protected SelectionKey key = null;
+		/**
+		 * Buffer the channel is read into.
+		 */
+		protected ByteBuffer readBuffer = null;
+		/**
+		 * The command line being read.
+		 */
+		protected StringBuffer line = null;
+		/**
+		 * Queue of command lines waiting to be carried out.
+		 */
+		protected LinkedList commandQueue = null;
+		/**
+		 * Queue of ByteBuffer responses waiting to be written.
+		 */
+		protected LinkedList outputQueue = null;
+		/**
+		 * Whether a command of this session is queued for, or being carried out by, a worker.
+		 */
+		protected boolean busy = false;
+		/**
+		 * Whether the connection stays open for more than one command.
+		 */
+		protected boolean persistent = false;
+		/**
+		 * Whether no more commands are read from the connection.
+		 */
+		protected boolean inputDone = false;
+
+		/**
+		 * Constructor.
+		 * @param c The connection channel.
+		 */
+		public Session(SocketChannel c)
+		{
+			super();
+			channel = c;
+			readBuffer = ByteBuffer.allocate(1024);
+			line = new StringBuffer();
+			commandQueue = new LinkedList();
+			outputQueue = new LinkedList();
+		}
+
+		/**
+		 * Read from the channel, and queue any complete command lines. A connection that is not persistent
+		 * stops reading after it's first command line. The persistent and close commands are handled here.
+		 * @exception IOException Thrown if the read fails, or the line is too long.
+		 * @see #addCommand
+		 */
+		protected void read() throws IOException
+		{
+			int count;
+			char ch;
+
+			count = channel.read(readBuffer);
+			if(count < 0)
+			{
+				synchronized(this)
+				{
+					inputDone = true;
+					if(line.length() > 0)
+					{
+						addCommand(line.toString());
+						line.setLength(0);
+					}
+				}
+				updateInterestOps();
+				return;
+			}
+			readBuffer.flip();
+			while(readBuffer.hasRemaining()&&(inputDone == false))
+			{
+				ch = (char)(readBuffer.get() & 0xFF);
+				if(ch == '\n')
+				{
+					addCommand(line.toString());
+					line.setLength(0);
+				}
+				else if(ch != '\r')
+				{
+					line.append(ch);
+					if(line.length() > MAX_LINE_LENGTH)
+					{
+						throw new IOException(this.getClass().getName()+
+								      ":read:Command line too long.");
+					}
+				}
+			}
+			readBuffer.clear();
+			updateInterestOps();
+		}
+
+		/**
+		 * Queue a command line, and dispatch it to a worker if none of this session's commands are in progress.
+		 * @param commandLine The command line.
+		 */
+		protected synchronized void addCommand(String commandLine)
+		{
+			String command = null;
+
+			command = commandLine.trim();
+			if((persistent == false)&&(command.equals(COMMAND_PERSISTENT)))
+			{
+				persistent = true;
+				addResponse("Persistent session: each response ends with a line containing '.'.\n");
+				return;
+			}
+			if(persistent == false)
+				inputDone = true;
+			else if(command.equals(COMMAND_CLOSE))
+			{
+				inputDone = true;
+				return;
+			}
+			if(command.length() == 0)
+				return;
+			commandQueue.addLast(commandLine);
+			if(busy == false)
+			{
+				busy = true;
+				dispatch(this);
+			}
+		}
+
+		/**
+		 * Take the next command line to carry out. Called by a worker.
+		 * @return The command line.
+		 */
+		protected synchronized String nextCommand()
+		{
+			return (String)(commandQueue.removeFirst());
+		}
+
+		/**
+		 * Called by a worker when a command has been carried out. The response is queued, and the session
+		 * dispatched again if it has more commands.
+		 * @param response The response.
+		 */
+		protected synchronized void commandDone(String response)
+		{
+			addResponse(response);
+			if(commandQueue.size() > 0)
+				dispatch(this);
+			else
+				busy = false;
+		}
+
+		/**
+		 * Queue a response to be written. In a persistent session, the response is followed by
+		 * a line containing only a '.', and lines starting with '.' have another '.' added.
+		 * @param response The response.
+		 */
+		protected synchronized void addResponse(String response)
+		{
+			StringBuffer sb = null;
+			byte responseBytes[];
+
+			if(persistent)
+			{
+				sb = new StringBuffer();
+				if(response.startsWith("."))
+					sb.append('.');
+				for(int i = 0; i < response.length(); i++)
+				{
+					sb.append(response.charAt(i));
+					if((response.charAt(i) == '\n')&&(i+1 < response.length())&&
+					   (response.charAt(i+1) == '.'))
+						sb.append('.');
+				}
+				if((response.length() > 0)&&(response.endsWith("\n") == false))
+					sb.append('\n');
+				sb.append(".\n");
+				response = sb.toString();
+			}
+			try
+			{
+				responseBytes = response.getBytes("ISO-8859-1");
+			}
+			catch(UnsupportedEncodingException e)
+			{
+				responseBytes = response.getBytes();
+			}
+			outputQueue.addLast(ByteBuffer.wrap(responseBytes));
+			requestUpdate(this);
+		}
+
+		/**
+		 * Write queued responses to the channel, until the channel will take no more.
+		 * @exception IOException Thrown if the write fails.
+		 */
+		protected void write() throws IOException
+		{
+			ByteBuffer buffer = null;
+
+			synchronized(this)
+			{
+				while(outputQueue.size() > 0)
+				{
+					buffer = (ByteBuffer)(outputQueue.getFirst());
+					channel.write(buffer);
+					if(buffer.hasRemaining())
+						return;
+					outputQueue.removeFirst();
+				}
+			}
+			updateInterestOps();
+		}
+
+		/**
+		 * Set the interest ops to read (if more commands can be read) and write (if there are responses to
+		 * write). Closes the connection when no more commands will be read, and all the responses have been
+		 * written. Called from the selector thread.
+		 */
+		protected synchronized void updateInterestOps()
+		{
+			int ops;
+
+			if(key.isValid() == false)
+				return;
+			if(inputDone && (busy == false)&&(commandQueue.size() == 0)&&(outputQueue.size() == 0))
+			{
+				close();
+				return;
+			}
+			ops = 0;
+			if(inputDone == false)
+				ops |= SelectionKey.OP_READ;
+			if(outputQueue.size() > 0)
+				ops |= SelectionKey.OP_WRITE;
+			key.interestOps(ops);
+		}
+
+		/**
+		 * Close the connection.
+		 */
+		protected void close()
+		{
+			try
+			{
+				key.cancel();
+				channel.close();
+			}
+			catch(IOException e)
+			{
+				error(this.getClass().getName()+":close:",e);
+			}
+		}
+	}
+
+	/**
+	 * A worker thread, that takes sessions off the work queue and carries out their next command.
+	 */
+	protected class Worker implements Runnable
+	{
+		/**
+		 * Run method. Waits for a session on the work queue, carries out it's next command with the handler,
+		 * and passes the response back to the session.
+		 * @see GCNControlServer#workQueue
+		 * @see GCNControlServer#handler
+		 */
+		public void run()
+		{
+			Session session = null;
+			String commandLine = null;
+			String response = null;
+
+			while(quit == false)
+			{
+				synchronized(workQueue)
+				{
+					while((workQueue.size() == 0)&&(quit == false))
+					{
+						try
+						{
+							workQueue.wait();
+						}
+						catch(InterruptedException e)
+						{
+						}
+					}
+					if(quit)
+						return;
+					session = (Session)(workQueue.removeFirst());
+				}
+				commandLine = session.nextCommand();
+				try
+				{
+					// \s means split on whitespace
+					response = handler.doControlCommand(commandLine.split("\\s"));
+				}
+				catch(Exception e)
+				{
+					error(this.getClass().getName()+":run:command "+commandLine+" failed:",e);
+					response = "Command failed:"+e+"\n";
+				}
+				session.commandDone(response);
+			}
+		}
+	}
+}
+//
+// $Log: not supported by cvs2svn $
+//
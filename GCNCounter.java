@@ -0,0 +1,119 @@
+// GCNCounter.java
+package org.estar.gcn;
+
+import java.lang.*;
+
+/**
+ * A monotonically increasing counter, held in a GCNMetricsRegistry.
+ * Like GCNLatencyHistogram, the counter is designed to have a single writer thread: increment and add
+ * do not lock or wait, and publish the new value through a volatile field, so any thread can read it.
+ * If more than one thread updates the same counter, incrementSynchronized must be used by all of them.
+ * @author Chris Mottram
+ * @version $Revision$
+ * @see GCNMetricsRegistry
+ */
+public class GCNCounter
+{
+// constants
+	/**
+	 * Revision control system version id.
+	 */
+	public final static String RCSID = "$Id$";
+	/**
+	 * The name of the counter.
+	 */
+	protected String name = null;
+	/**
+	 * The labels of the counter, in the form key="value",key="value", or null for no labels.
+	 */
+	protected String labels = null;
+	/**
+	 * A description of the counter.
+	 */
+	protected String help = null;
+	/**
+	 * The counter value.
+	 */
+	protected volatile long value = 0;
+
+	/**
+	 * Constructor.
+	 * @param n The name of the counter.
+	 * @param l The labels of the counter, or null.
+	 * @param h A description of the counter.
+	 */
+	public GCNCounter(String n,String l,String h)
+	{
+		super();
+		name = n;
+		labels = l;
+		help = h;
+	}
+
+	/**
+	 * Return the name of the counter.
+	 * @return The name.
+	 */
+	public String getName()
+	{
+		return name;
+	}
+
+	/**
+	 * Return the labels of the counter.
+	 * @return The labels, or null.
+	 */
+	public String getLabels()
+	{
+		return labels;
+	}
+
+	/**
+	 * Return the description of the counter.
+	 * @return The description.
+	 */
+	public String getHelp()
+	{
+		return help;
+	}
+
+	/**
+	 * Add one to the counter. Must only be called by the counter's single writer thread.
+	 * @see #value
+	 */
+	public void increment()
+	{
+		value = value+1;
+	}
+
+	/**
+	 * Add to the counter. Must only be called by the counter's single writer thread.
+	 * @param n The amount to add.
+	 * @see #value
+	 */
+	public void add(long n)
+	{
+		value = value+n;
+	}
+
+	/**
+	 * Add one to the counter, from one of several threads updating this counter.
+	 * @see #value
+	 */
+	public synchronized void incrementSynchronized()
+	{
+		value = value+1;
+	}
+
+	/**
+	 * Return the counter value.
+	 * @return The value.
+	 */
+	public long getValue()
+	{
+		return value;
+	}
+}
+//
+// $Log: not supported by cvs2svn $
+//
@@ -100,6 +100,16 @@ public class GCNDatagramAlertData
 	 * Only valid for Swift BAT alerts.
 	 */
 	protected boolean hasMerit = true;
+	/**
+	 * Whether this alert lies in a priority sky region.
+	 * @see GCNSkyRegionIndex
+	 */
+	protected boolean priority = false;
+	/**
+	 * Swift SC_SLEW packets only, the predicted time the spacecraft starts slewing to the
+	 * target position (RA/Dec), or null if not known.
+	 */
+	protected Date slewDate = null;
 
 	/**
 	 * Default constructor.
@@ -151,7 +161,22 @@ public class GCNDatagramAlertData
 	 */
 	public String getAlertTypeString()
 	{
-		switch(alertType)
+		return getAlertTypeString(alertType);
+	}
+
+	/**
+	 * Return the name of an alert type.
+	 * @param type The alert type.
+	 * @return The name, e.g. "SWIFT", or "UNKNOWN" if the alert type is not known.
+	 * @see #ALERT_TYPE_HETE
+	 * @see #ALERT_TYPE_INTEGRAL
+	 * @see #ALERT_TYPE_SWIFT
+	 * @see #ALERT_TYPE_AGILE
+	 * @see #ALERT_TYPE_FERMI
+	 */
+	public static String getAlertTypeString(int type)
+	{
+		switch(type)
 		{
 			case ALERT_TYPE_HETE:
 				return "HETE";
@@ -168,6 +193,28 @@ public class GCNDatagramAlertData
 		}
 	}
 
+	/**
+	 * Return the alert type with the specified name (as returned by getAlertTypeString).
+	 * The name is not case sensitive.
+	 * @param s The alert type name, e.g. "SWIFT".
+	 * @return The alert type, or 0 if the name is not known.
+	 * @see #getAlertTypeString
+	 */
+	public static int getAlertType(String s)
+	{
+		if(s.equalsIgnoreCase("HETE"))
+			return ALERT_TYPE_HETE;
+		else if(s.equalsIgnoreCase("INTEGRAL"))
+			return ALERT_TYPE_INTEGRAL;
+		else if(s.equalsIgnoreCase("SWIFT"))
+			return ALERT_TYPE_SWIFT;
+		else if(s.equalsIgnoreCase("AGILE"))
+			return ALERT_TYPE_AGILE;
+		else if(s.equalsIgnoreCase("FERMI"))
+			return ALERT_TYPE_FERMI;
+		return 0;
+	}
+
 	/**
 	 * Set trigger number.
 	 * @param n The number.
@@ -429,6 +476,46 @@ public class GCNDatagramAlertData
 		return hasMerit;
 	}
 
+	/**
+	 * Set whether this alert lies in a priority sky region.
+	 * @param b true if the alert error box overlaps a priority region.
+	 * @see #priority
+	 */
+	public void setPriority(boolean b)
+	{
+		priority = b;
+	}
+
+	/**
+	 * Get whether this alert lies in a priority sky region.
+	 * @return true if the alert error box overlaps a priority region.
+	 * @see #priority
+	 */
+	public boolean getPriority()
+	{
+		return priority;
+	}
+
+	/**
+	 * Set the predicted time the spacecraft starts slewing to the target position.
+	 * @param d The slew date.
+	 * @see #slewDate
+	 */
+	public void setSlewDate(Date d)
+	{
+		slewDate = d;
+	}
+
+	/**
+	 * Get the predicted time the spacecraft starts slewing to the target position.
+	 * @return The slew date, or null if not known.
+	 * @see #slewDate
+	 */
+	public Date getSlewDate()
+	{
+		return slewDate;
+	}
+
 	public String toString()
 	{
 		return toString("");
@@ -444,6 +531,8 @@ public class GCNDatagramAlertData
 			sb.append(prefix+"Notice Date "+noticeDate+"\n");
 		if(grbDate != null)
 			sb.append(prefix+"GRB Date "+grbDate+"\n");
+		if(slewDate != null)
+			sb.append(prefix+"Slew Date "+slewDate+"\n");
 		sb.append(prefix+"RA "+ra+"\n");
 		sb.append(prefix+"Dec "+dec+"\n");
 		sb.append(prefix+"Epoch "+epoch+"\n");
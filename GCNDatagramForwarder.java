@@ -4,16 +4,25 @@ package org.estar.gcn;
 import java.lang.*;
 import java.io.*;
 import java.net.*;
+import java.nio.*;
+import java.nio.channels.*;
 import java.text.*;
 import java.util.*;
 import org.estar.log.*;
 
 /**
- * T
+ * This class listens for GCN datagram packets (using a GCNDatagramThread), and forwards them
+ * to a list of TCP/IP connections. All the connections are serviced by one selector loop, using
+ * non-blocking socket channels, so the number of threads does not grow with the number of connections.
+ * Each received packet is held in one shared, reference counted, GCNPacketBuffer, which every connection
+ * queues and writes from without copying it. Received packets can also be re-broadcast onto local
+ * multicast groups, so any number of on-site consumers can subscribe to them.
+ * The datagram thread can be the forwarder's own, or one shared with other consumers in the same JVM
+ * (see GCNDatagramProxy).
  * @author Chris Mottram
  * @version $Revision: 1.3 $
  */
-public class GCNDatagramForwarder implements Runnable, GCNDatagramListener
+public class GCNDatagramForwarder implements Runnable, GCNDatagramListener, GCNPacketBufferListener
 {
 // constants
 	/**
@@ -24,37 +33,191 @@ public class GCNDatagramForwarder implements Runnable, GCNDatagramListener
 	 * Length of a GCN socket packet, consisting of 40 long (int) words.
 	 */
 	public final static int PACKET_LENGTH = (40*4);
+	/**
+	 * The default number of packets that can be sent to a TCP connection before their echoes are received.
+	 * One means wait for each packet's echo before sending the next (the original GCN socket behaviour).
+	 */
+	public final static int DEFAULT_PIPELINE_DEPTH = 1;
+	/**
+	 * The default number of packets queued for each TCP connection before the queue's drop policy is applied.
+	 */
+	public final static int DEFAULT_QUEUE_LENGTH = GCNPacketQueue.DEFAULT_CAPACITY;
+	/**
+	 * The default time allowed for a TCP connection to be established, in milliseconds.
+	 */
+	public final static long DEFAULT_CONNECT_TIMEOUT = 10000;
+	/**
+	 * The default time to live of re-broadcast multicast packets (1 means do not leave the local subnet).
+	 */
+	public final static int DEFAULT_MULTICAST_TTL = 1;
+	/**
+	 * The default interval between summary log lines, in milliseconds.
+	 */
+	public final static long DEFAULT_SUMMARY_INTERVAL = 60000;
 	/**
 	 * Datagram Thread.
 	 * @see GCNDatagramThread
 	 */
 	protected GCNDatagramThread datagramThread = null;
+	/**
+	 * Whether the forwarder created (and so starts) the datagram thread, rather than sharing one.
+	 */
+	protected boolean ownsDatagramThread = false;
 	/**
 	 * Logger.
 	 */
 	protected ILogger logger = null;
 	/**
 	 * List of TCP/IP connection to forward any received datagram packets to.
-	 * @see #GCNTCPConnection
+	 * @see GCNDatagramForwarder.GCNTCPConnection
 	 */
 	protected List forwardList = null;
-
+	/**
+	 * List of multicast groups to re-broadcast any received datagram packets to.
+	 * @see GCNDatagramForwarder.GCNMulticastForward
+	 */
+	protected List multicastForwardList = null;
+	/**
+	 * The socket used to re-broadcast packets to the multicast groups in multicastForwardList.
+	 */
+	protected MulticastSocket multicastSocket = null;
+	/**
+	 * The time to live of re-broadcast multicast packets added by addMulticastForward.
+	 * @see #DEFAULT_MULTICAST_TTL
+	 */
+	protected int multicastTimeToLive = DEFAULT_MULTICAST_TTL;
+	/**
+	 * The port of the status server, which returns the forwarder status to any connection.
+	 * Zero means no status server is started.
+	 */
+	protected int statusPortNumber = 0;
+	/**
+	 * The status server channel, serviced by the selector loop.
+	 */
+	protected ServerSocketChannel statusServerChannel = null;
+	/**
+	 * The interval between summary log lines, in milliseconds. Zero means no summary is logged.
+	 * @see #DEFAULT_SUMMARY_INTERVAL
+	 */
+	protected long summaryInterval = DEFAULT_SUMMARY_INTERVAL;
+	/**
+	 * The interval between logging snapshots of the metrics registry, in milliseconds.
+	 * Zero means the metrics are not logged.
+	 * @see GCNMetricsReporter
+	 */
+	protected long metricsInterval = 0;
+	/**
+	 * The port of the metrics HTTP server, or 0 if no metrics HTTP server is started.
+	 * @see GCNMetricsHttpServer
+	 */
+	protected int metricsHttpPort = 0;
+	/**
+	 * The time without an IMALIVE packet before the feed is marked down, in milliseconds.
+	 * @see GCNFeedWatchdog#DEFAULT_TIMEOUT
+	 */
+	protected long imaliveTimeout = GCNFeedWatchdog.DEFAULT_TIMEOUT;
+	/**
+	 * The time (in milliseconds since the epoch) of the next summary log line.
+	 */
+	protected long nextSummaryTime = 0;
+	/**
+	 * The time (in milliseconds since the epoch) the forwarder was started.
+	 */
+	protected long startTime = 0;
+	/**
+	 * The selector used to service all the TCP/IP connections.
+	 */
+	protected Selector selector = null;
+	/**
+	 * Whether to quit the run method.
+	 */
+	protected boolean quit = false;
+	/**
+	 * The number of packets each TCP connection can have in flight (sent, but not echoed) at once.
+	 * @see #DEFAULT_PIPELINE_DEPTH
+	 */
+	protected int pipelineDepth = DEFAULT_PIPELINE_DEPTH;
+	/**
+	 * The number of packets queued for each TCP connection before the queue's drop policy is applied.
+	 * @see #DEFAULT_QUEUE_LENGTH
+	 */
+	protected int queueLength = DEFAULT_QUEUE_LENGTH;
+	/**
+	 * If true, the connection queues just drop the oldest packet when full. Otherwise IMALIVE packets are
+	 * dropped first, and positional notices are never dropped.
+	 * @see GCNPacketQueue
+	 */
+	protected boolean queueDropOldest = false;
+	/**
+	 * If true, the type of each received packet is logged. Otherwise received packets are only reported
+	 * in the periodic summary.
+	 * @see #logPacket
+	 * @see #summaryInterval
+	 */
+	protected boolean logPackets = false;
+	/**
+	 * A directory to spool packets to, for each TCP connection that is not connected. The spooled packets
+	 * are replayed when the connection is re-opened. If null, packets are held in the connection's queue.
+	 */
+	protected File spoolDirectory = null;
+	/**
+	 * The minimum delay between failed re-connection attempts, in milliseconds.
+	 * @see GCNReconnectScheduler#DEFAULT_MIN_DELAY
+	 */
+	protected long reconnectMinDelay = GCNReconnectScheduler.DEFAULT_MIN_DELAY;
+	/**
+	 * The maximum delay between failed re-connection attempts, in milliseconds.
+	 * @see GCNReconnectScheduler#DEFAULT_MAX_DELAY
+	 */
+	protected long reconnectMaxDelay = GCNReconnectScheduler.DEFAULT_MAX_DELAY;
+	/**
+	 * The time allowed for a TCP connection to be established, in milliseconds.
+	 * @see #DEFAULT_CONNECT_TIMEOUT
+	 */
+	protected long connectTimeout = DEFAULT_CONNECT_TIMEOUT;
 
 	/**
 	 * Default constructor.
+	 * @exception UnknownHostException Thrown if the default datagram group address is unknown.
+	 * @exception IOException Thrown if creating the logger or opening the selector fails.
 	 * @see #datagramThread
 	 * @see #forwardList
+	 * @see #multicastForwardList
+	 * @see #selector
 	 */
 	public GCNDatagramForwarder() throws UnknownHostException, IOException
 	{
 		super();
+		selector = Selector.open();
 		// create logger, must be created BEFORE datagramThread.addLogger
 		logger = new GCNLogger();
 		// add datagram thread
 		datagramThread = new GCNDatagramThread();
-		datagramThread.addListener(this);
+		datagramThread.addBufferListener(this);
 		datagramThread.addLogger(logger);
+		ownsDatagramThread = true;
+		forwardList = new Vector();
+		multicastForwardList = new Vector();
+	}
+
+	/**
+	 * Constructor, using a datagram thread shared with other consumers. The forwarder is added as a buffer
+	 * listener of the thread, but does not start (or quit) it.
+	 * @param t The shared datagram thread.
+	 * @exception IOException Thrown if creating the logger or opening the selector fails.
+	 * @see #datagramThread
+	 * @see #ownsDatagramThread
+	 */
+	public GCNDatagramForwarder(GCNDatagramThread t) throws IOException
+	{
+		super();
+		selector = Selector.open();
+		logger = new GCNLogger();
+		datagramThread = t;
+		datagramThread.addBufferListener(this);
+		ownsDatagramThread = false;
 		forwardList = new Vector();
+		multicastForwardList = new Vector();
 	}
 
 	/**
@@ -67,101 +230,412 @@ public class GCNDatagramForwarder implements Runnable, GCNDatagramListener
 		logger = l;
 	}
 
+	/**
+	 * Set the number of packets each TCP connection can have in flight (sent, but not yet echoed back) at once.
+	 * Must be called before addTCPConnection.
+	 * @param d The pipeline depth, at least 1.
+	 * @exception IllegalArgumentException Thrown if the depth is less than 1.
+	 * @see #pipelineDepth
+	 */
+	public void setPipelineDepth(int d) throws IllegalArgumentException
+	{
+		if(d < 1)
+			throw new IllegalArgumentException(this.getClass().getName()+":setPipelineDepth:Illegal depth:"+d);
+		pipelineDepth = d;
+	}
+
+	/**
+	 * Set the number of packets queued for each TCP connection before the queue's drop policy is applied.
+	 * Must be called before addTCPConnection.
+	 * @param l The queue length, at least 1.
+	 * @exception IllegalArgumentException Thrown if the length is less than 1.
+	 * @see #queueLength
+	 */
+	public void setQueueLength(int l) throws IllegalArgumentException
+	{
+		if(l < 1)
+			throw new IllegalArgumentException(this.getClass().getName()+":setQueueLength:Illegal length:"+l);
+		queueLength = l;
+	}
+
+	/**
+	 * Set whether the connection queues just drop the oldest packet when full.
+	 * Must be called before addTCPConnection.
+	 * @param b If true, drop the oldest packet. If false, drop IMALIVE packets first, and never drop
+	 *        positional notices.
+	 * @see #queueDropOldest
+	 */
+	public void setQueueDropOldest(boolean b)
+	{
+		queueDropOldest = b;
+	}
+
+	/**
+	 * Set a directory to spool packets to, whilst a TCP connection is not connected.
+	 * Must be called before addTCPConnection.
+	 * @param d The directory, or null to hold packets in each connection's queue.
+	 * @exception IllegalArgumentException Thrown if the directory does not exist.
+	 * @see #spoolDirectory
+	 */
+	public void setSpoolDirectory(File d) throws IllegalArgumentException
+	{
+		if((d != null)&&(d.isDirectory() == false))
+		{
+			throw new IllegalArgumentException(this.getClass().getName()+
+							   ":setSpoolDirectory:Not a directory:"+d);
+		}
+		spoolDirectory = d;
+	}
+
+	/**
+	 * Set the minimum and maximum delays between failed re-connection attempts.
+	 * Must be called before addTCPConnection.
+	 * @param min The minimum delay in milliseconds, at least 1.
+	 * @param max The maximum delay in milliseconds, at least min.
+	 * @exception IllegalArgumentException Thrown if the delays are illegal.
+	 * @see #reconnectMinDelay
+	 * @see #reconnectMaxDelay
+	 */
+	public void setReconnectDelays(long min,long max) throws IllegalArgumentException
+	{
+		if((min < 1)||(max < min))
+		{
+			throw new IllegalArgumentException(this.getClass().getName()+
+							   ":setReconnectDelays:Illegal delays:"+min+","+max);
+		}
+		reconnectMinDelay = min;
+		reconnectMaxDelay = max;
+	}
+
+	/**
+	 * Set the time allowed for a TCP connection to be established.
+	 * Must be called before addTCPConnection.
+	 * @param t The timeout in milliseconds, at least 1.
+	 * @exception IllegalArgumentException Thrown if the timeout is less than 1.
+	 * @see #connectTimeout
+	 */
+	public void setConnectTimeout(long t) throws IllegalArgumentException
+	{
+		if(t < 1)
+			throw new IllegalArgumentException(this.getClass().getName()+":setConnectTimeout:Illegal timeout:"+t);
+		connectTimeout = t;
+	}
+
 	/**
 	 * Add a TCP connection to forward datagram packets to.
 	 * @see #forwardList
 	 * @see #logger
+	 * @see #pipelineDepth
+	 * @see #queueLength
+	 * @see #queueDropOldest
+	 * @see #spoolDirectory
+	 * @see #reconnectMinDelay
+	 * @see #reconnectMaxDelay
+	 * @see #connectTimeout
 	 */
 	public void addTCPConnection(InetAddress forwardAddress,int forwardPortNumber)
 	{
-		GCNTCPConnectionThread tcpConnectionThread = null;
+		GCNTCPConnection tcpConnection = null;
 
-		tcpConnectionThread = new GCNTCPConnectionThread();
-		tcpConnectionThread.setAddress(forwardAddress);
-		tcpConnectionThread.setPort(forwardPortNumber);
-		tcpConnectionThread.setLogger(logger);
+		tcpConnection = new GCNTCPConnection();
+		tcpConnection.setAddress(forwardAddress);
+		tcpConnection.setPort(forwardPortNumber);
+		tcpConnection.setPipelineDepth(pipelineDepth);
+		tcpConnection.setQueue(queueLength,queueDropOldest);
+		tcpConnection.setReconnectDelays(reconnectMinDelay,reconnectMaxDelay);
+		tcpConnection.setConnectTimeout(connectTimeout);
+		if(spoolDirectory != null)
+		{
+			tcpConnection.setSpoolFile(new File(spoolDirectory,"gcn_forward_"+
+							    forwardAddress.getHostAddress()+"_"+forwardPortNumber+".spool"));
+		}
+		tcpConnection.setLogger(logger);
+		tcpConnection.registerMetrics(GCNMetricsRegistry.getDefault());
 		// add to forward list
 		logger.log(this.getClass().getName()+":addTCPConnection:"+forwardAddress+":"+forwardPortNumber);
-		forwardList.add(tcpConnectionThread);
+		forwardList.add(tcpConnection);
+	}
+
+	/**
+	 * Set the time to live of re-broadcast multicast packets. Must be called before addMulticastForward.
+	 * @param ttl The time to live, from 0 to 255.
+	 * @exception IllegalArgumentException Thrown if the time to live is out of range.
+	 * @see #multicastTimeToLive
+	 */
+	public void setMulticastTimeToLive(int ttl) throws IllegalArgumentException
+	{
+		if((ttl < 0)||(ttl > 255))
+		{
+			throw new IllegalArgumentException(this.getClass().getName()+
+							   ":setMulticastTimeToLive:Illegal time to live:"+ttl);
+		}
+		multicastTimeToLive = ttl;
+	}
+
+	/**
+	 * Set the port of the status server. Must be called before run.
+	 * @param p The port number, or zero for no status server.
+	 * @see #statusPortNumber
+	 */
+	public void setStatusPort(int p)
+	{
+		statusPortNumber = p;
+	}
+
+	/**
+	 * Set the interval between summary log lines. Must be called before run.
+	 * @param i The interval in milliseconds, or zero for no summary.
+	 * @see #summaryInterval
+	 */
+	public void setSummaryInterval(long i)
+	{
+		summaryInterval = i;
+	}
+
+	/**
+	 * Set the interval between logging snapshots of the metrics registry. Must be called before run.
+	 * @param i The interval in milliseconds, or zero for no metrics logging.
+	 * @see #metricsInterval
+	 */
+	public void setMetricsInterval(long i)
+	{
+		metricsInterval = i;
+	}
+
+	/**
+	 * Set the time without an IMALIVE packet before the feed is marked down. Must be called before run.
+	 * @param t The timeout in milliseconds.
+	 * @exception IllegalArgumentException Thrown if the timeout is not positive.
+	 * @see #imaliveTimeout
+	 */
+	public void setImaliveTimeout(long t) throws IllegalArgumentException
+	{
+		if(t < 1)
+		{
+			throw new IllegalArgumentException(this.getClass().getName()+
+							   ":setImaliveTimeout:Illegal timeout:"+t);
+		}
+		imaliveTimeout = t;
+	}
+
+	/**
+	 * Set the port of the metrics HTTP server. Must be called before run.
+	 * @param p The port number, or zero for no metrics HTTP server.
+	 * @see #metricsHttpPort
+	 */
+	public void setMetricsHttpPort(int p)
+	{
+		metricsHttpPort = p;
+	}
+
+	/**
+	 * Add a multicast group to re-broadcast datagram packets to.
+	 * @param groupAddress The multicast group address.
+	 * @param groupPortNumber The port number.
+	 * @exception IllegalArgumentException Thrown if the address is not a multicast address.
+	 * @see #multicastForwardList
+	 * @see #multicastTimeToLive
+	 */
+	public void addMulticastForward(InetAddress groupAddress,int groupPortNumber) throws IllegalArgumentException
+	{
+		GCNMulticastForward multicastForward = null;
+
+		if(groupAddress.isMulticastAddress() == false)
+		{
+			throw new IllegalArgumentException(this.getClass().getName()+
+							   ":addMulticastForward:Not a multicast address:"+groupAddress);
+		}
+		multicastForward = new GCNMulticastForward(groupAddress,groupPortNumber,multicastTimeToLive);
+		logger.log(this.getClass().getName()+":addMulticastForward:"+groupAddress+":"+groupPortNumber+
+			   " TTL "+multicastTimeToLive);
+		multicastForwardList.add(multicastForward);
+	}
+
+	/** 
+	 * Process a packet from a source other than the datagram thread. The packet is copied into a pooled
+	 * packet buffer, which is then forwarded.
+	 * @param buff The packet.
+	 * @see #datagramThread
+	 * @see GCNDatagramThread#getBufferPool
+	 */
+	public void processPacket(byte buff[])
+	{
+		GCNPacketBuffer buffer = null;
+
+		buffer = datagramThread.getBufferPool().get();
+		try
+		{
+			System.arraycopy(buff,0,buffer.array(),0,Math.min(buff.length,PACKET_LENGTH));
+			buffer.setLength(Math.min(buff.length,PACKET_LENGTH));
+			buffer.setReceiveTime(System.currentTimeMillis());
+			processPacket(buffer);
+		}
+		finally
+		{
+			buffer.release();
+		}
 	}
 
 	/** 
 	 * Process a packet received on the datagram thread.
-	 * Adds packet to each TCP connection thread in forwardList
+	 * The packet is re-broadcast to each multicast group in multicastForwardList.
+	 * Then the packet buffer is added to each TCP connection in forwardList (each retaining a reference to it),
+	 * and the selector loop is woken up to write them. Connections that are not connected queue (or spool)
+	 * the packet until they re-connect. Nothing is logged per packet (unless logPackets is set),
+	 * the connections' counters are logged in the periodic summary instead.
+	 * @param buffer The shared packet buffer.
+	 * @see #multicastForwardList
 	 * @see #forwardList
+	 * @see #logPackets
 	 * @see #logPacket
+	 * @see #selector
 	 */
-	public void processPacket(byte buff[])
+	public void processPacket(GCNPacketBuffer buffer)
 	{
-		GCNTCPConnectionThread tcpConnectionThread = null;
+		GCNTCPConnection tcpConnection = null;
+		GCNMulticastForward multicastForward = null;
 
-		logger.log(this.getClass().getName()+":processPacket:Start.");
 		// Print some info about the packet
-		logPacket(buff);
-		// forward to TCP connections
-		for(int i = 0; i < forwardList.size(); i++)
+		if(logPackets)
+			logPacket(buffer);
+		// re-broadcast to multicast groups
+		if(multicastSocket != null)
 		{
-			logger.log(this.getClass().getName()+":run:Adding packet to TCP Forwarding Thread "+i+".");
-			tcpConnectionThread = (GCNTCPConnectionThread)(forwardList.get(i));
-			synchronized( tcpConnectionThread )
+			for(int i = 0; i < multicastForwardList.size(); i++)
 			{
-				// only add packet to connected sockets, to prevent packets backing up.
-				if(tcpConnectionThread.isConnected())
-				{
-					tcpConnectionThread.addPacket(buff);
-					// get connection thread to jump out of wait loop
-					tcpConnectionThread.notify();
-				}
+				multicastForward = (GCNMulticastForward)(multicastForwardList.get(i));
+				multicastForward.send(buffer);
 			}
 		}
-		logger.log(this.getClass().getName()+":processPacket:End.");
+		// forward to TCP connections
+		for(int i = 0; i < forwardList.size(); i++)
+		{
+			tcpConnection = (GCNTCPConnection)(forwardList.get(i));
+			tcpConnection.addPacket(buffer);
+		}
+		// get selector loop to jump out of select and write the packets
+		selector.wakeup();
 	}
 
 	/**
-	 * Run method.
+	 * Run method. Opens the multicast re-broadcast socket, starts the datagram thread (if the forwarder
+	 * created it), and then services all the TCP connections from one selector loop, until quit is called:
+	 * <ul>
+	 * <li>Connections that are closed, and whose re-connection delay has expired, start connecting.
+	 *     Connections that have taken too long to connect are closed.
+	 * <li>Each connection's interest operations are updated (to write if it has packets to forward).
+	 * <li>The selector waits until a channel is ready, a packet is added, a re-connection is due,
+	 *     or the next summary is due.
+	 * <li>Ready connections finish connecting, read echoed packets and write packets.
+	 *     Any connection that gets an error is closed.
+	 * <li>Connections to the status server are sent the status.
+	 * <li>If it is due, a summary of each connection is logged.
+	 * </ul>
+	 * @see #openMulticastSocket
+	 * @see #openStatusServer
+	 * @see #sendStatus
+	 * @see #logSummary
+	 * @see #startMetricsReporterThread
+	 * @see #startMetricsHttpServerThread
+	 * @see #startFeedWatchdog
+	 * @see #datagramThread
+	 * @see #selector
+	 * @see #forwardList
+	 * @see #quit
 	 */
 	public void run()
 	{
-		GCNTCPConnectionThread tcpConnectionThread = null;
+		GCNTCPConnection tcpConnection = null;
+		SelectionKey key = null;
+		Iterator iterator = null;
 		Thread thread = null;
+		long now,timeout,delay;
 
 		try
 		{
 			logger.log(this.getClass().getName()+":run:Start.");
-			// start datagram thread
-			logger.log(this.getClass().getName()+":run:Starting Datagram Thread.");
-			thread = new Thread(datagramThread);
-			thread.start();
-			// start TCP forward threads.
-			logger.log(this.getClass().getName()+":run:Starting "+forwardList.size()+" TCP Forwarding Threads.");
-			for(int i = 0; i < forwardList.size(); i++)
+			quit = false;
+			startTime = System.currentTimeMillis();
+			if(summaryInterval > 0)
+				nextSummaryTime = startTime+summaryInterval;
+			openMulticastSocket();
+			openStatusServer();
+			startFeedWatchdog();
+			if(metricsInterval > 0)
+				startMetricsReporterThread();
+			if(metricsHttpPort > 0)
+				startMetricsHttpServerThread();
+			// start datagram thread, unless it is shared
+			if(ownsDatagramThread)
 			{
-				logger.log(this.getClass().getName()+":run:Starting TCP Forwarding Thread "+i+".");
-				tcpConnectionThread = (GCNTCPConnectionThread)(forwardList.get(i));
-				thread = new Thread(tcpConnectionThread);
+				logger.log(this.getClass().getName()+":run:Starting Datagram Thread.");
+				thread = new Thread(datagramThread);
 				thread.start();
 			}
-			// wait for TCP threads to terminate
+			// schedule an immediate connection attempt for each TCP connection
+			logger.log(this.getClass().getName()+":run:Starting "+forwardList.size()+" TCP connections.");
+			now = System.currentTimeMillis();
 			for(int i = 0; i < forwardList.size(); i++)
 			{
-				logger.log(this.getClass().getName()+":run:Waiting for TCP Forwarding Thread "+i+
-					   " to terminate.");
-				tcpConnectionThread = (GCNTCPConnectionThread)(forwardList.get(i));
-				while(tcpConnectionThread.getQuit() == false)
+				tcpConnection = (GCNTCPConnection)(forwardList.get(i));
+				tcpConnection.scheduleConnection(now);
+			}
+			while(quit == false)
+			{
+				// start any connections that are due, and update interest ops
+				now = System.currentTimeMillis();
+				timeout = 0;
+				for(int i = 0; i < forwardList.size(); i++)
+				{
+					tcpConnection = (GCNTCPConnection)(forwardList.get(i));
+					delay = tcpConnection.checkConnection(now);
+					if((delay > 0)&&((timeout == 0)||(delay < timeout)))
+						timeout = delay;
+					tcpConnection.updateInterestOps();
+				}
+				if(nextSummaryTime > 0)
+				{
+					delay = Math.max(nextSummaryTime-now,1);
+					if((timeout == 0)||(delay < timeout))
+						timeout = delay;
+				}
+				// wait for a channel to become ready, a wakeup from processPacket, a connection retry
+				// or the next summary
+				selector.select(timeout);
+				now = System.currentTimeMillis();
+				iterator = selector.selectedKeys().iterator();
+				while(iterator.hasNext())
 				{
+					key = (SelectionKey)(iterator.next());
+					iterator.remove();
+					if(key.channel() == statusServerChannel)
+					{
+						if(key.isValid() && key.isAcceptable())
+							sendStatus(now);
+						continue;
+					}
+					tcpConnection = (GCNTCPConnection)(key.attachment());
 					try
 					{
-						Thread.sleep(60000);
+						if(key.isValid() && key.isConnectable())
+							tcpConnection.finishConnection();
+						if(key.isValid() && key.isReadable())
+							tcpConnection.readEcho();
+						if(key.isValid() && key.isWritable())
+							tcpConnection.writePacket();
 					}
-					catch(InterruptedException e)
+					catch(Exception e)
 					{
-						logger.error(this.getClass().getName()+
-							     ":run:Waiting for TCP Forwarding Thread "+i+
-							     " to terminate failed.",e);
+						logger.error(this.getClass().getName()+":run:"+tcpConnection.address+":"+
+							     tcpConnection.portNumber+":connection error",e);
+						tcpConnection.closeConnection(now);
 					}
 				}
-				logger.log(this.getClass().getName()+":run:Waiting for TCP Forwarding Thread "+i+
-					   " terminated.");
+				if((nextSummaryTime > 0)&&(now >= nextSummaryTime))
+				{
+					logSummary(now);
+					nextSummaryTime = now+summaryInterval;
+				}
 			}
 			logger.log(this.getClass().getName()+":run:End.");
 		}// end try
@@ -169,146 +643,290 @@ public class GCNDatagramForwarder implements Runnable, GCNDatagramListener
 		{
 			logger.error(this.getClass().getName()+":run:Error.",e);
 		}
+	}
+
+	/**
+	 * Set the timeout of the datagram thread's feed watchdog, and log any feed changes.
+	 * @see #imaliveTimeout
+	 * @see GCNDatagramThread#getFeedWatchdog
+	 */
+	protected void startFeedWatchdog()
+	{
+		GCNFeedWatchdog watchdog = null;
+
+		watchdog = datagramThread.getFeedWatchdog();
+		watchdog.setTimeout(imaliveTimeout);
+		watchdog.addListener(new GCNFeedWatchdogListener()
+		{
+			public void feedDown(GCNFeedWatchdog w,long lastImaliveTime)
+			{
+				logger.error(GCNDatagramForwarder.this.getClass().getName()+":feedDown:"+w.getName()+
+					     ":no IMALIVE packet received since "+new Date(lastImaliveTime)+".");
+			}
+
+			public void feedUp(GCNFeedWatchdog w,long downLength)
+			{
+				logger.log(GCNDatagramForwarder.this.getClass().getName()+":feedUp:"+w.getName()+
+					   ":IMALIVE packets resumed after "+(downLength/1000)+" seconds.");
+			}
 
+			public void imaliveIrregular(GCNFeedWatchdog w,String message)
+			{
+				logger.log(GCNDatagramForwarder.this.getClass().getName()+":imaliveIrregular:"+w.getName()+":"+message);
+			}
+		});
 	}
 
 	/**
-	 * Print some info about the packet for debugging purposes.
-	 * @param buff The packet to log.
-	 * @see #logType
+	 * Start a thread that logs a snapshot of the metrics registry every metricsInterval milliseconds.
+	 * @see #metricsInterval
+	 * @see GCNMetricsReporter
 	 */
-	protected void logPacket(byte buff[])
+	protected void startMetricsReporterThread()
 	{
-		ByteArrayInputStream bin = null;
-		DataInputStream inputStream = null;
+		Thread t = null;
 
-		try
+		t = new Thread(new GCNMetricsReporter(GCNMetricsRegistry.getDefault(),metricsInterval)
 		{
-			// Create an input stream from the buffer.
-			bin = new ByteArrayInputStream(buff, 0,buff.length);
-			inputStream = new DataInputStream(bin);
-			logType(inputStream);
-			inputStream.close();
-			bin.close();
-		}
-		catch(Exception e)
+			protected void report(String line)
+			{
+				logger.log("metrics:"+line);
+			}
+		});
+		t.setDaemon(true);
+		t.start();
+	}
+
+	/**
+	 * Start a thread that serves the metrics registry over HTTP, on metricsHttpPort.
+	 * @see #metricsHttpPort
+	 * @see GCNMetricsHttpServer
+	 */
+	protected void startMetricsHttpServerThread()
+	{
+		Thread t = null;
+
+		t = new Thread(new GCNMetricsHttpServer(GCNMetricsRegistry.getDefault(),metricsHttpPort)
 		{
-			logger.error(this.getClass().getName()+":logPacket:failed: ",e);
-			return;
-		}
+			protected void error(String message,Exception e)
+			{
+				logger.error(message,e);
+			}
+		});
+		t.setDaemon(true);
+		t.start();
 	}
 
 	/**
-	 * Print type details.
-	 * @param inputStream Data input stream scanning over packet buffer.
-	 */
-	protected void logType(DataInputStream inputStream) throws IOException
-	{
-		int type;
-
-		type = inputStream.readInt();
-		switch (type)
-		{
-		    case 3: 
-			    logger.log(" [IMALIVE]");
-			    break;
-		    case 4:
-			    logger.log(" [KILL]");
-			    break;
-		    case 34:  
-			    logger.log(" [SAX/WFC_GRB_POS]");
-			    break;
-		    case 40: 
-			    logger.log(" [HETE_ALERT]");
-			    break;
-		    case 41:
-			    logger.log(" [HETE_UPDATE]");
-			    break; 
-		    case 43:
-			    logger.log(" [HETE_GNDANA]");
-			    break; 
-		    case 51:
-			    logger.log(" [INTEGRAL_POINTDIR]");
-			    break;
-		    case 53:
-			    logger.log(" [INTEGRAL_WAKEUP]");
-			    break;
-		    case 54:
-			    logger.log(" [INTEGRAL_REFINED]");
-			    break;
-		    case 55:
-			    logger.log(" [INTEGRAL_OFFLINE]");
-			    break;
-		    case 60:
-			    logger.log(" [SWIFT_BAT_GRB_ALERT]");
-			    break;
-		    case 61:
-			    logger.log(" [SWIFT_BAT_GRB_POSITION]");
-			    break;
-		    case 62:
-			    logger.log(" [SWIFT_BAT_GRB_NACK_POSITION]");
-			    break;
-		    case 65:
-			    logger.log(" [SWIFT_FOM_OBS]");
-			    break;
-		    case 66:
-			    logger.log(" [SWIFT_SC_SLEW]");
-			    break;
-		    case 67:
-			    logger.log(" [SWIFT_XRT_POSITION]");
-			    break;
-		    case 71:
-			    logger.log(" [SWIFT_XRT_NACK_POSITION]");
-			    break;
-		    case 81:
-			    logger.log(" [SWIFT_UVOT_POSITION]");
-			    break;
-		    case 82:
-			    logger.log(" [SWIFT_BAT_GRB_POS_TEST]");
-			    break;
-		    default:
-			    logger.log(" [TYPE-"+type+"]");
+	 * Open the socket used to re-broadcast packets, if there are any multicast groups to re-broadcast to.
+	 * Any group that is the same as the group and port the datagram thread listens to is removed,
+	 * as re-broadcasting to it would loop packets back to the forwarder.
+	 * @exception IOException Thrown if opening the socket fails.
+	 * @see #multicastForwardList
+	 * @see #multicastSocket
+	 * @see #datagramThread
+	 */
+	protected void openMulticastSocket() throws IOException
+	{
+		GCNMulticastForward multicastForward = null;
+
+		for(int i = multicastForwardList.size()-1; i >= 0; i--)
+		{
+			multicastForward = (GCNMulticastForward)(multicastForwardList.get(i));
+			if(multicastForward.address.equals(datagramThread.getGroupAddress())&&
+			   (multicastForward.portNumber == datagramThread.getPort()))
+			{
+				logger.error(this.getClass().getName()+":openMulticastSocket:Not re-broadcasting to "+
+					     multicastForward.address+":"+multicastForward.portNumber+
+					     ":it is the group being listened to.");
+				multicastForwardList.remove(i);
+			}
 		}
+		if(multicastForwardList.size() == 0)
+			return;
+		logger.log(this.getClass().getName()+":openMulticastSocket:Re-broadcasting to "+
+			   multicastForwardList.size()+" multicast groups.");
+		multicastSocket = new MulticastSocket();
 	}
 
-	// static main
 	/**
-	 * Main program, for testing GCNDatagramForwarder.
+	 * Open the status server channel, and register it with the selector, if a status port has been set.
+	 * @exception IOException Thrown if opening the channel fails.
+	 * @see #statusPortNumber
+	 * @see #statusServerChannel
+	 * @see #selector
 	 */
-	public static void main(String[] args)
+	protected void openStatusServer() throws IOException
 	{
-		GCNDatagramForwarder gdf = null;
-		GCNLogger logger = null;
-		int forwardPortNumber = 0;
-		InetAddress forwardAddress = null;
+		if(statusPortNumber == 0)
+			return;
+		logger.log(this.getClass().getName()+":openStatusServer:port = "+statusPortNumber);
+		statusServerChannel = ServerSocketChannel.open();
+		statusServerChannel.socket().setReuseAddress(true);
+		statusServerChannel.socket().bind(new InetSocketAddress(statusPortNumber));
+		statusServerChannel.configureBlocking(false);
+		statusServerChannel.register(selector,SelectionKey.OP_ACCEPT);
+	}
+
+	/**
+	 * Accept a connection to the status server, send it the status text, and close it.
+	 * The status is a few hundred bytes, which fits in the new socket's send buffer,
+	 * so the selector loop is not held up.
+	 * @param now The current time, in milliseconds since the epoch.
+	 * @see #statusServerChannel
+	 * @see #getStatus
+	 */
+	protected void sendStatus(long now)
+	{
+		SocketChannel channel = null;
+		ByteBuffer buffer = null;
 
-		// initialise instance
 		try
 		{
-			gdf = new GCNDatagramForwarder();
-			logger = new GCNLogger();
-			gdf.setLogger(logger);
+			channel = statusServerChannel.accept();
+			if(channel == null)
+				return;
+			buffer = ByteBuffer.wrap(getStatus(now).getBytes());
+			while(buffer.hasRemaining())
+				channel.write(buffer);
 		}
-		catch(Exception e)
+		catch(IOException e)
 		{
-			System.err.println("Initialising GCNDatagramForwarder failed:"+e);
-			e.printStackTrace(System.err);
-			System.exit(2);
+			logger.error(this.getClass().getName()+":sendStatus:failed:",e);
 		}
-		// parse arguments
-		for(int i = 0; i < args.length; i++)
+		finally
 		{
-			if(args[i].equals("-datagram_address"))
+			if(channel != null)
 			{
-				if((i+1) < args.length)
+				try
 				{
-					try
-					{
-						InetAddress address = null;
+					channel.close();
+				}
+				catch(IOException e)
+				{
+					logger.error(this.getClass().getName()+":sendStatus:close failed:",e);
+				}
+			}
+		}
+	}
 
-						address = InetAddress.getByName(args[i+1]);
-						gdf.datagramThread.setGroupAddress(address);
-					}
+	/**
+	 * Return the forwarder status: one line for the forwarder, then one line per TCP connection
+	 * and multicast group.
+	 * @param now The current time, in milliseconds since the epoch.
+	 * @return The status text.
+	 * @see #forwardList
+	 * @see #multicastForwardList
+	 */
+	public String getStatus(long now)
+	{
+		StringBuffer sb = null;
+		GCNTCPConnection tcpConnection = null;
+		GCNMulticastForward multicastForward = null;
+
+		sb = new StringBuffer();
+		sb.append("forwarder uptime_s="+((now-startTime)/1000)+" connections="+forwardList.size()+
+			  " multicast_groups="+multicastForwardList.size()+"\n");
+		for(int i = 0; i < forwardList.size(); i++)
+		{
+			tcpConnection = (GCNTCPConnection)(forwardList.get(i));
+			sb.append(tcpConnection.getStatus(now)+"\n");
+		}
+		for(int i = 0; i < multicastForwardList.size(); i++)
+		{
+			multicastForward = (GCNMulticastForward)(multicastForwardList.get(i));
+			sb.append(multicastForward.getStatus()+"\n");
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Log a summary line for each TCP connection and multicast group.
+	 * @param now The current time, in milliseconds since the epoch.
+	 * @see #forwardList
+	 * @see #multicastForwardList
+	 */
+	protected void logSummary(long now)
+	{
+		GCNTCPConnection tcpConnection = null;
+		GCNMulticastForward multicastForward = null;
+
+		for(int i = 0; i < forwardList.size(); i++)
+		{
+			tcpConnection = (GCNTCPConnection)(forwardList.get(i));
+			logger.log(this.getClass().getName()+":summary:"+tcpConnection.getStatus(now));
+		}
+		for(int i = 0; i < multicastForwardList.size(); i++)
+		{
+			multicastForward = (GCNMulticastForward)(multicastForwardList.get(i));
+			logger.log(this.getClass().getName()+":summary:"+multicastForward.getStatus());
+		}
+	}
+
+	/**
+	 * Quit the forwarder. The datagram thread is stopped, and the selector woken up so the run method
+	 * terminates.
+	 * @see #quit
+	 * @see #datagramThread
+	 * @see #selector
+	 */
+	public void quit()
+	{
+		quit = true;
+		if(ownsDatagramThread)
+			datagramThread.quit();
+		selector.wakeup();
+	}
+
+	/**
+	 * Print some info about the packet for debugging purposes.
+	 * @param buffer The packet to log.
+	 * @see GCNPacketType#getName
+	 */
+	protected void logPacket(GCNPacketBuffer buffer)
+	{
+		logger.log(" ["+GCNPacketType.getName(buffer.getType())+"]");
+	}
+
+	/**
+	 * Parse the command line arguments, and configure the forwarder.
+	 * The datagram address and port only configure the forwarder's own datagram thread. If the datagram thread
+	 * is shared with other consumers, they are ignored (and logged), so the shared thread is not retargeted.
+	 * @param args The arguments.
+	 * @see #datagramThread
+	 * @see #ownsDatagramThread
+	 * @see #logPackets
+	 * @see #addTCPConnection
+	 * @see #addMulticastForward
+	 */
+	protected void parseArgs(String args[])
+	{
+		int forwardPortNumber = 0;
+		InetAddress forwardAddress = null;
+		int multicastPortNumber = 0;
+		InetAddress multicastAddress = null;
+
+		// parse arguments
+		for(int i = 0; i < args.length; i++)
+		{
+			if(args[i].equals("-datagram_address"))
+			{
+				if((i+1) < args.length)
+				{
+					try
+					{
+						InetAddress address = null;
+
+						address = InetAddress.getByName(args[i+1]);
+						if(ownsDatagramThread)
+							datagramThread.setGroupAddress(address);
+						else
+						{
+							logger.log(this.getClass().getName()+":parseArgs:Ignoring "+
+								   "-datagram_address "+args[i+1]+
+								   ", the datagram thread is shared.");
+						}
+					}
 					catch(Exception e)
 					{
 						System.err.println("GCNDatagramForwarder:Parsing Address:"+args[i+1]+
@@ -333,7 +951,14 @@ public class GCNDatagramForwarder implements Runnable, GCNDatagramListener
 						int portNumber;
 
 						portNumber = Integer.parseInt(args[i+1]);
-						gdf.datagramThread.setPort(portNumber);
+						if(ownsDatagramThread)
+							datagramThread.setPort(portNumber);
+						else
+						{
+							logger.log(this.getClass().getName()+":parseArgs:Ignoring "+
+								   "-datagram_port "+portNumber+
+								   ", the datagram thread is shared.");
+						}
 					}
 					catch(Exception e)
 					{
@@ -369,7 +994,7 @@ public class GCNDatagramForwarder implements Runnable, GCNDatagramListener
 					// if complete spec, add forward
 					if((forwardAddress != null)&&(forwardPortNumber > 0))
 					{
-						gdf.addTCPConnection(forwardAddress,forwardPortNumber);
+						addTCPConnection(forwardAddress,forwardPortNumber);
 						forwardAddress = null;
 						forwardPortNumber = 0;
 					}
@@ -399,7 +1024,7 @@ public class GCNDatagramForwarder implements Runnable, GCNDatagramListener
 					// if complete spec, add forward
 					if((forwardAddress != null)&&(forwardPortNumber > 0))
 					{
-						gdf.addTCPConnection(forwardAddress,forwardPortNumber);
+						addTCPConnection(forwardAddress,forwardPortNumber);
 						forwardAddress = null;
 						forwardPortNumber = 0;
 					}
@@ -410,89 +1035,972 @@ public class GCNDatagramForwarder implements Runnable, GCNDatagramListener
 					System.exit(4);
 				}
 			}
+			else if(args[i].equals("-multicast_forward_address"))
+			{
+				if((i+1) < args.length)
+				{
+					try
+					{
+						multicastAddress = InetAddress.getByName(args[i+1]);
+						// if complete spec, add forward
+						if((multicastAddress != null)&&(multicastPortNumber > 0))
+						{
+							addMulticastForward(multicastAddress,multicastPortNumber);
+							multicastAddress = null;
+							multicastPortNumber = 0;
+						}
+					}
+					catch(Exception e)
+					{
+						System.err.println("GCNDatagramForwarder:Parsing Multicast Forward Address:"+
+								   args[i+1]+" failed:"+e);
+						e.printStackTrace(System.err);
+						System.exit(5);
+					}
+					i++;
+				}
+				else
+				{
+					System.err.println("GCNDatagramForwarder:-multicast_forward_address requires an address.");
+					System.exit(6);
+				}
+			}
+			else if(args[i].equals("-multicast_forward_port"))
+			{
+				if((i+1) < args.length)
+				{
+					try
+					{
+						multicastPortNumber = Integer.parseInt(args[i+1]);
+						// if complete spec, add forward
+						if((multicastAddress != null)&&(multicastPortNumber > 0))
+						{
+							addMulticastForward(multicastAddress,multicastPortNumber);
+							multicastAddress = null;
+							multicastPortNumber = 0;
+						}
+					}
+					catch(Exception e)
+					{
+						System.err.println("GCNDatagramForwarder:Parsing Multicast Forward Port:"+
+								   args[i+1]+" failed:"+e);
+						e.printStackTrace(System.err);
+						System.exit(3);
+					}
+					i++;
+				}
+				else
+				{
+					System.err.println("GCNDatagramForwarder:-multicast_forward_port requires a number.");
+					System.exit(4);
+				}
+			}
+			else if(args[i].equals("-multicast_ttl"))
+			{
+				if((i+1) < args.length)
+				{
+					try
+					{
+						setMulticastTimeToLive(Integer.parseInt(args[i+1]));
+					}
+					catch(Exception e)
+					{
+						System.err.println("GCNDatagramForwarder:Parsing multicast TTL:"+
+								   args[i+1]+" failed:"+e);
+						e.printStackTrace(System.err);
+						System.exit(3);
+					}
+					i++;
+				}
+				else
+				{
+					System.err.println("GCNDatagramForwarder:-multicast_ttl requires a number.");
+					System.exit(4);
+				}
+			}
+			else if(args[i].equals("-pipeline_depth"))
+			{
+				if((i+1) < args.length)
+				{
+					try
+					{
+						setPipelineDepth(Integer.parseInt(args[i+1]));
+					}
+					catch(Exception e)
+					{
+						System.err.println("GCNDatagramForwarder:Parsing pipeline depth:"+
+								   args[i+1]+" failed:"+e);
+						e.printStackTrace(System.err);
+						System.exit(3);
+					}
+					i++;
+				}
+				else
+				{
+					System.err.println("GCNDatagramForwarder:-pipeline_depth requires a number.");
+					System.exit(4);
+				}
+			}
+			else if(args[i].equals("-queue_length"))
+			{
+				if((i+1) < args.length)
+				{
+					try
+					{
+						setQueueLength(Integer.parseInt(args[i+1]));
+					}
+					catch(Exception e)
+					{
+						System.err.println("GCNDatagramForwarder:Parsing queue length:"+
+								   args[i+1]+" failed:"+e);
+						e.printStackTrace(System.err);
+						System.exit(3);
+					}
+					i++;
+				}
+				else
+				{
+					System.err.println("GCNDatagramForwarder:-queue_length requires a number.");
+					System.exit(4);
+				}
+			}
+			else if(args[i].equals("-queue_drop_oldest"))
+			{
+				setQueueDropOldest(true);
+			}
+			else if(args[i].equals("-log_packets"))
+			{
+				logPackets = true;
+			}
+			else if(args[i].equals("-spool_directory"))
+			{
+				if((i+1) < args.length)
+				{
+					try
+					{
+						setSpoolDirectory(new File(args[i+1]));
+					}
+					catch(Exception e)
+					{
+						System.err.println("GCNDatagramForwarder:Setting spool directory:"+
+								   args[i+1]+" failed:"+e);
+						e.printStackTrace(System.err);
+						System.exit(3);
+					}
+					i++;
+				}
+				else
+				{
+					System.err.println("GCNDatagramForwarder:-spool_directory requires a directory.");
+					System.exit(4);
+				}
+			}
+			else if(args[i].equals("-reconnect_min"))
+			{
+				if((i+1) < args.length)
+				{
+					try
+					{
+						long delay;
+
+						delay = Long.parseLong(args[i+1]);
+						setReconnectDelays(delay,Math.max(delay,reconnectMaxDelay));
+					}
+					catch(Exception e)
+					{
+						System.err.println("GCNDatagramForwarder:Parsing reconnect minimum delay:"+
+								   args[i+1]+" failed:"+e);
+						e.printStackTrace(System.err);
+						System.exit(3);
+					}
+					i++;
+				}
+				else
+				{
+					System.err.println("GCNDatagramForwarder:-reconnect_min requires a number.");
+					System.exit(4);
+				}
+			}
+			else if(args[i].equals("-reconnect_max"))
+			{
+				if((i+1) < args.length)
+				{
+					try
+					{
+						long delay;
+
+						delay = Long.parseLong(args[i+1]);
+						setReconnectDelays(Math.min(reconnectMinDelay,delay),delay);
+					}
+					catch(Exception e)
+					{
+						System.err.println("GCNDatagramForwarder:Parsing reconnect maximum delay:"+
+								   args[i+1]+" failed:"+e);
+						e.printStackTrace(System.err);
+						System.exit(3);
+					}
+					i++;
+				}
+				else
+				{
+					System.err.println("GCNDatagramForwarder:-reconnect_max requires a number.");
+					System.exit(4);
+				}
+			}
+			else if(args[i].equals("-connect_timeout"))
+			{
+				if((i+1) < args.length)
+				{
+					try
+					{
+						setConnectTimeout(Long.parseLong(args[i+1]));
+					}
+					catch(Exception e)
+					{
+						System.err.println("GCNDatagramForwarder:Parsing connect timeout:"+
+								   args[i+1]+" failed:"+e);
+						e.printStackTrace(System.err);
+						System.exit(3);
+					}
+					i++;
+				}
+				else
+				{
+					System.err.println("GCNDatagramForwarder:-connect_timeout requires a number.");
+					System.exit(4);
+				}
+			}
+			else if(args[i].equals("-status_port"))
+			{
+				if((i+1) < args.length)
+				{
+					try
+					{
+						setStatusPort(Integer.parseInt(args[i+1]));
+					}
+					catch(Exception e)
+					{
+						System.err.println("GCNDatagramForwarder:Parsing status port:"+
+								   args[i+1]+" failed:"+e);
+						e.printStackTrace(System.err);
+						System.exit(3);
+					}
+					i++;
+				}
+				else
+				{
+					System.err.println("GCNDatagramForwarder:-status_port requires a number.");
+					System.exit(4);
+				}
+			}
+			else if(args[i].equals("-summary_interval"))
+			{
+				if((i+1) < args.length)
+				{
+					try
+					{
+						setSummaryInterval(Long.parseLong(args[i+1])*1000);
+					}
+					catch(Exception e)
+					{
+						System.err.println("GCNDatagramForwarder:Parsing summary interval:"+
+								   args[i+1]+" failed:"+e);
+						e.printStackTrace(System.err);
+						System.exit(3);
+					}
+					i++;
+				}
+				else
+				{
+					System.err.println("GCNDatagramForwarder:-summary_interval requires a number.");
+					System.exit(4);
+				}
+			}
+			else if(args[i].equals("-imalive_timeout"))
+			{
+				if((i+1) < args.length)
+				{
+					try
+					{
+						setImaliveTimeout(Long.parseLong(args[i+1])*1000);
+					}
+					catch(Exception e)
+					{
+						System.err.println("GCNDatagramForwarder:Parsing IMALIVE timeout:"+
+								   args[i+1]+" failed:"+e);
+						e.printStackTrace(System.err);
+						System.exit(3);
+					}
+					i++;
+				}
+				else
+				{
+					System.err.println("GCNDatagramForwarder:-imalive_timeout requires a number.");
+					System.exit(4);
+				}
+			}
+			else if(args[i].equals("-record_events"))
+			{
+				if((i+1) < args.length)
+				{
+					try
+					{
+						GCNEventRecorder.getDefault().setCapacity(Integer.parseInt(args[i+1]));
+						GCNEventRecorder.getDefault().setEnabled(true);
+					}
+					catch(Exception e)
+					{
+						System.err.println("GCNDatagramForwarder:Parsing number of events to record:"+
+								   args[i+1]+" failed:"+e);
+						e.printStackTrace(System.err);
+						System.exit(3);
+					}
+					i++;
+				}
+				else
+				{
+					System.err.println("GCNDatagramForwarder:-record_events requires a number.");
+					System.exit(4);
+				}
+			}
+			else if(args[i].equals("-metrics_http_port"))
+			{
+				if((i+1) < args.length)
+				{
+					try
+					{
+						setMetricsHttpPort(Integer.parseInt(args[i+1]));
+					}
+					catch(Exception e)
+					{
+						System.err.println("GCNDatagramForwarder:Parsing metrics HTTP port:"+
+								   args[i+1]+" failed:"+e);
+						e.printStackTrace(System.err);
+						System.exit(3);
+					}
+					i++;
+				}
+				else
+				{
+					System.err.println("GCNDatagramForwarder:-metrics_http_port requires a port number.");
+					System.exit(4);
+				}
+			}
+			else if(args[i].equals("-metrics_interval"))
+			{
+				if((i+1) < args.length)
+				{
+					try
+					{
+						setMetricsInterval(Long.parseLong(args[i+1])*1000);
+					}
+					catch(Exception e)
+					{
+						System.err.println("GCNDatagramForwarder:Parsing metrics interval:"+
+								   args[i+1]+" failed:"+e);
+						e.printStackTrace(System.err);
+						System.exit(3);
+					}
+					i++;
+				}
+				else
+				{
+					System.err.println("GCNDatagramForwarder:-metrics_interval requires a number.");
+					System.exit(4);
+				}
+			}
 			else if(args[i].equals("-help"))
 			{
 				System.out.println("GCNDatagramForwarder Help");
 				System.out.println("java -Dhttp.proxyHost=wwwcache.livjm.ac.uk "+
 				       "-Dhttp.proxyPort=8080 GCNDatagramForwarder "+
 						   "\n\t[[-forward_port <n>][-forward_address <address>]...]"+
-						   "\n\t[-datagram_port <n>][-datagram_address <address>]");
+						   "\n\t[-multicast_ttl <n>]"+
+						   "\n\t[[-multicast_forward_port <n>][-multicast_forward_address <address>]...]"+
+						   "\n\t[-datagram_port <n>][-datagram_address <address>]"+
+						   "\n\t[-pipeline_depth <n>][-queue_length <n>][-queue_drop_oldest]"+
+						   "\n\t[-spool_directory <directory>]"+
+						   "\n\t[-reconnect_min <ms>][-reconnect_max <ms>][-connect_timeout <ms>]"+
+						   "\n\t[-status_port <n>][-summary_interval <s>]"+
+						   "\n\t[-metrics_interval <s>][-metrics_http_port <n>][-imalive_timeout <s>]"+
+						   "\n\t[-record_events <n>][-log_packets]");
+				System.out.println("-multicast_forward_address/port re-broadcast received packets to a local "+
+						   "multicast group, with the time to live set by the preceding -multicast_ttl "+
+						   "(default "+DEFAULT_MULTICAST_TTL+").");
+				System.out.println("-pipeline_depth sets how many packets can be sent to each "+
+						   "forward address before their echoes are received (default "+
+						   DEFAULT_PIPELINE_DEPTH+"). Must come before the forward addresses.");
+				System.out.println("-queue_length sets how many packets are queued for each forward "+
+						   "address before packets are dropped (default "+DEFAULT_QUEUE_LENGTH+
+						   "). IMALIVE packets are dropped first, and positional notices are never "+
+						   "dropped, unless -queue_drop_oldest is specified.");
+				System.out.println("-spool_directory spools packets to disk whilst a forward address is "+
+						   "not connected, and replays them when it re-connects.");
+				System.out.println("-reconnect_min and -reconnect_max set the range of the exponential "+
+						   "delay between failed re-connection attempts (default "+
+						   GCNReconnectScheduler.DEFAULT_MIN_DELAY+" to "+
+						   GCNReconnectScheduler.DEFAULT_MAX_DELAY+" ms). The first attempt after a "+
+						   "connection fails is immediate, and a positional notice brings the next "+
+						   "attempt forward.");
+				System.out.println("-connect_timeout sets how long a connection attempt can take (default "+
+						   DEFAULT_CONNECT_TIMEOUT+" ms).");
+				System.out.println("-status_port starts a status server, that returns a line of counters and "+
+						   "round trip times for each forward address to any connection.");
+				System.out.println("-summary_interval sets how often the same status is logged (default "+
+						   (DEFAULT_SUMMARY_INTERVAL/1000)+" s, 0 disables it).");
+				System.out.println("-metrics_interval logs the datagram, queue wait and round trip time "+
+						   "metrics every <s> seconds.");
+				System.out.println("-metrics_http_port serves the metrics over HTTP, at /metrics "+
+						   "(Prometheus text format) and /metrics.json.");
+				System.out.println("-imalive_timeout sets how long without an IMALIVE packet before the "+
+						   "feed is logged as down (default "+(GCNFeedWatchdog.DEFAULT_TIMEOUT/1000)+
+						   " seconds).");
+				System.out.println("-record_events turns on the event recorder, holding the last <n> "+
+						   "packet received and forwarded events, served at /events on the metrics "+
+						   "HTTP port.");
+				System.out.println("-log_packets logs the type of each received packet, as well as the "+
+						   "periodic summary.");
+				System.out.println("-queue_length, -queue_drop_oldest, -spool_directory, -reconnect_min, "+
+						   "-reconnect_max and -connect_timeout must come before the forward addresses.");
 				System.exit(0);
 			}
 		}// end for
+	}
+
+	// static main
+	/**
+	 * Main program, for testing GCNDatagramForwarder.
+	 * @see #parseArgs
+	 */
+	public static void main(String[] args)
+	{
+		GCNDatagramForwarder gdf = null;
+		GCNLogger logger = null;
+
+		// initialise instance
+		try
+		{
+			gdf = new GCNDatagramForwarder();
+			logger = new GCNLogger();
+			gdf.setLogger(logger);
+		}
+		catch(Exception e)
+		{
+			System.err.println("Initialising GCNDatagramForwarder failed:"+e);
+			e.printStackTrace(System.err);
+			System.exit(2);
+		}
+		gdf.parseArgs(args);
 		// run forwarder thread
 		try
 		{
-			gdf.run();
+			gdf.run();
+		}
+		catch(Exception e)
+		{
+			System.err.println("GCNDatagramForwarder:Returned an error:"+e);
+			e.printStackTrace();
+		}
+		System.exit(0);
+	}
+
+	/**
+	 * Class containing information on a multicast group to re-broadcast received GCN datagrams to.
+	 * Packets are sent from the datagram thread, directly from the shared packet buffer.
+	 * @see GCNDatagramForwarder#multicastSocket
+	 */
+	protected class GCNMulticastForward
+	{
+		/**
+		 * The multicast group address.
+		 */
+		protected InetAddress address = null;
+		/**
+		 * The port number.
+		 */
+		protected int portNumber;
+		/**
+		 * The time to live of the sent packets.
+		 */
+		protected int timeToLive;
+		/**
+		 * The number of packets sent to the group.
+		 */
+		protected int sentCount = 0;
+		/**
+		 * The number of packets that failed to be sent.
+		 */
+		protected int errorCount = 0;
+
+		/**
+		 * Constructor.
+		 * @param a The multicast group address.
+		 * @param p The port number.
+		 * @param ttl The time to live of the sent packets.
+		 */
+		public GCNMulticastForward(InetAddress a,int p,int ttl)
+		{
+			super();
+			address = a;
+			portNumber = p;
+			timeToLive = ttl;
+		}
+
+		/**
+		 * Send a packet to the multicast group.
+		 * @param buffer The packet buffer.
+		 * @see #sentCount
+		 * @see #errorCount
+		 */
+		public void send(GCNPacketBuffer buffer)
+		{
+			DatagramPacket packet = null;
+
+			try
+			{
+				packet = new DatagramPacket(buffer.array(),buffer.getLength(),address,portNumber);
+				synchronized(multicastSocket)
+				{
+					if(multicastSocket.getTimeToLive() != timeToLive)
+						multicastSocket.setTimeToLive(timeToLive);
+					multicastSocket.send(packet);
+				}
+				sentCount++;
+			}
+			catch(IOException e)
+			{
+				errorCount++;
+				logger.error(this.getClass().getName()+":"+address+":"+portNumber+
+					     ":send:failed ("+errorCount+" errors):",e);
+			}
+		}
+
+		/**
+		 * Return the number of packets sent to the group.
+		 * @see #sentCount
+		 */
+		public int getSentCount()
+		{
+			return sentCount;
+		}
+
+		/**
+		 * Return the number of packets that failed to be sent.
+		 * @see #errorCount
+		 */
+		public int getErrorCount()
+		{
+			return errorCount;
+		}
+
+		/**
+		 * Return a one line status of the multicast group.
+		 * @return The status.
+		 */
+		public String getStatus()
+		{
+			return "multicast "+address.getHostAddress()+":"+portNumber+" ttl="+timeToLive+
+				" sent="+sentCount+" errors="+errorCount;
+		}
+	}// end class GCNMulticastForward
+
+	/**
+	 * Class containing information on a TCP/IP Connection to forward received GCN datagrams to.
+	 * The connection uses a non-blocking SocketChannel, serviced by the forwarder's selector loop,
+	 * so a slow or stalled destination never delays the others.
+	 * @see GCNDatagramForwarder#selector
+	 * @see GCNDatagramForwarder#run
+	 */
+	protected class GCNTCPConnection
+	{
+		/**
+		 * Decides the delay between re-connection attempts.
+		 */
+		protected GCNReconnectScheduler reconnectScheduler = null;
+		/**
+		 * The time allowed for a connection to be established, in milliseconds.
+		 */
+		protected long connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+		/**
+		 * The time (in milliseconds since the epoch) the connection in progress was started.
+		 */
+		protected long connectStartTime = 0;
+		/**
+		 * Set by the datagram thread when a positional notice is queued whilst the connection is not open,
+		 * to bring forward the next connection attempt.
+		 */
+		protected volatile boolean expediteConnection = false;
+		/**
+		 * The port number to connect to.
+		 */
+		protected int portNumber;
+		/**
+		 * The address of the remote end of the TCP/IP connection.
+		 */
+		protected InetAddress address = null;
+		/**
+		 * The non-blocking socket channel to the remote socket server.
+		 */
+		protected SocketChannel channel = null;
+		/**
+		 * The key of the channel's registration with the forwarder's selector.
+		 */
+		protected SelectionKey selectionKey = null;
+		/**
+		 * Is the connection to the remote system open?
+		 */
+		protected volatile boolean connectionOpen = false;
+		/**
+		 * The time (in milliseconds since the epoch) of the next connection attempt.
+		 * Zero if a connection is open or in progress.
+		 */
+		protected long nextConnectionTime = 0;
+		/**
+		 * Bounded queue of packets to forward.
+		 */
+		protected GCNPacketQueue packetQueue = null;
+		/**
+		 * File to spool packets to whilst the connection is not open, or null if packets are queued instead.
+		 */
+		protected File spoolFile = null;
+		/**
+		 * Lock object, held whilst spooling packets, and whilst the spooled packets are replayed on
+		 * re-connection, so no packet is spooled after the replay.
+		 */
+		protected Object spoolLock = new Object();
+		/**
+		 * The number of packets added to the packet queue. Only updated whilst holding packetQueue's lock.
+		 * @see #enqueuePacket
+		 */
+		protected int enqueuedCount = 0;
+		/**
+		 * The number of packets completely written to the channel.
+		 */
+		protected int sentCount = 0;
+		/**
+		 * The number of packets dropped by the packet queue's drop policy. Only updated whilst holding
+		 * packetQueue's lock.
+		 * @see #enqueuePacket
+		 */
+		protected int droppedCount = 0;
+		/**
+		 * The number of packets spooled to disk.
+		 */
+		protected int spooledCount = 0;
+		/**
+		 * The number of bytes written to the channel.
+		 */
+		protected volatile long bytesSent = 0;
+		/**
+		 * The number of times the connection has been opened.
+		 */
+		protected int openCount = 0;
+		/**
+		 * The time (in milliseconds since the epoch) the echo of the last IMALIVE packet was received,
+		 * or zero if no IMALIVE packet has been delivered.
+		 */
+		protected volatile long lastImaliveTime = 0;
+		/**
+		 * Histogram of packet round trip times (from starting to send a packet, to receiving it's echo),
+		 * in milliseconds. Recorded by the selector thread.
+		 */
+		protected GCNLatencyHistogram roundTripTimeHistogram = null;
+		/**
+		 * Histogram of the time packets wait (from being received, to starting to be sent),
+		 * in milliseconds. Recorded by the selector thread.
+		 */
+		protected GCNLatencyHistogram queueWaitHistogram = null;
+		/**
+		 * The forward address and port, as a string (address:port), used in recorded events.
+		 */
+		protected String destination = null;
+		/**
+		 * A read-only view of the packet currently being written to the channel,
+		 * or null if no packet is being written.
+		 */
+		protected ByteBuffer outputBuffer = null;
+		/**
+		 * Buffer used to receive the packet echoed back from the remote socket server.
+		 * This is separate from the forwarded packet buffer, which is shared with the other connections.
+		 * @see #PACKET_LENGTH
+		 */
+		protected ByteBuffer echoBuffer = null;
+		/**
+		 * The maximum number of packets in flight (sent, but not echoed) at once.
+		 */
+		protected int pipelineDepth = DEFAULT_PIPELINE_DEPTH;
+		/**
+		 * FIFO (circular buffer) of packets that have been sent, and are waiting for an echo.
+		 * Echoes are matched to the oldest in flight packet.
+		 * @see #inFlightStart
+		 * @see #inFlightCount
+		 */
+		protected GCNPacketBuffer inFlightPacketList[] = null;
+		/**
+		 * FIFO (circular buffer) of the times the in flight packets started to be sent,
+		 * in milliseconds since the epoch.
+		 * @see #inFlightPacketList
+		 */
+		protected long inFlightSendTimeList[] = null;
+		/**
+		 * The index in the in flight lists of the oldest in flight packet.
+		 */
+		protected int inFlightStart = 0;
+		/**
+		 * The number of packets in flight.
+		 */
+		protected int inFlightCount = 0;
+		/**
+		 * The time the packet being written started to be sent, in milliseconds since the epoch.
+		 */
+		protected long sendTime = 0;
+		/**
+		 * The packet being written.
+		 */
+		protected GCNPacketBuffer outputPacket = null;
+		/**
+		 * The number of echoes received that did not match an in flight packet.
+		 */
+		protected int unmatchedEchoCount = 0;
+		/**
+		 * Logger for this class.
+		 */
+		protected ILogger logger = null;
+
+		/**
+		 * Default constructor.
+		 * @see #packetQueue
+		 * @see #echoBuffer
+		 */
+		public GCNTCPConnection()
+		{
+			super();
+			packetQueue = new GCNPacketQueue();
+			reconnectScheduler = new GCNReconnectScheduler();
+			roundTripTimeHistogram = new GCNLatencyHistogram("gcn_forward_rtt_ms",null,"ms",
+					"Time from starting to send a packet, to receiving it's echo.");
+			echoBuffer = ByteBuffer.allocate(PACKET_LENGTH);
+			setPipelineDepth(DEFAULT_PIPELINE_DEPTH);
 		}
-		catch(Exception e)
+
+		/**
+		 * Set the maximum number of packets in flight. Must be set before run.
+		 * @param d The pipeline depth.
+		 * @see #pipelineDepth
+		 * @see #inFlightPacketList
+		 * @see #inFlightSendTimeList
+		 */
+		public void setPipelineDepth(int d)
 		{
-			System.err.println("GCNDatagramForwarder:Returned an error:"+e);
-			e.printStackTrace();
+			pipelineDepth = d;
+			inFlightPacketList = new GCNPacketBuffer[pipelineDepth];
+			inFlightSendTimeList = new long[pipelineDepth];
+			inFlightStart = 0;
+			inFlightCount = 0;
+		}
+
+		/**
+		 * Set the packet queue length and drop policy. Must be set before run.
+		 * @param length The number of packets queued before the drop policy is applied.
+		 * @param dropOldest If true, drop the oldest packet when the queue is full. Otherwise drop IMALIVE
+		 *        packets first, and never drop positional notices.
+		 * @see #packetQueue
+		 */
+		public void setQueue(int length,boolean dropOldest)
+		{
+			packetQueue = new GCNPacketQueue(length);
+			packetQueue.setDropImaliveFirst(!dropOldest);
+			packetQueue.setProtectPositional(!dropOldest);
 		}
-		System.exit(0);
-	}
 
-	/**
-	 * Class containing information on a TCP/IP Connection to forward received GCN datagrams to.
-	 */
-	protected class GCNTCPConnectionThread implements Runnable
-	{
 		/**
-		 * List of delay length's for re-connection attempts, in milliseconds.
-		 * Taken from: http://gcn.gsfc.nasa.gov/tech_describe.html#tc17
+		 * Set the minimum and maximum delays between failed re-connection attempts. Must be set before run.
+		 * @param min The minimum delay in milliseconds.
+		 * @param max The maximum delay in milliseconds.
+		 * @see #reconnectScheduler
 		 */
-		protected int delayLengthList[] = {0,60000,120000,240000,480000,960000,1800000};
+		public void setReconnectDelays(long min,long max)
+		{
+			reconnectScheduler.setDelays(min,max);
+		}
+
 		/**
-		 * The port number to connect to.
+		 * Set the time allowed for a connection to be established. Must be set before run.
+		 * @param t The timeout in milliseconds.
+		 * @see #connectTimeout
 		 */
-		protected int portNumber;
+		public void setConnectTimeout(long t)
+		{
+			connectTimeout = t;
+		}
+
 		/**
-		 * The address of the remote end of the TCP/IP connection.
+		 * Set the file to spool packets to whilst the connection is not open. Must be set before run.
+		 * @param f The spool file, or null to queue packets whilst the connection is not open.
+		 * @see #spoolFile
 		 */
-		protected InetAddress address = null;
+		public void setSpoolFile(File f)
+		{
+			spoolFile = f;
+		}
+
+		/**
+		 * Return the number of packets added to the packet queue.
+		 * @see #enqueuedCount
+		 */
+		public int getEnqueuedCount()
+		{
+			synchronized(packetQueue)
+			{
+				return enqueuedCount;
+			}
+		}
+
 		/**
-		 * The opened socket.
+		 * Return the number of packets completely written to the channel.
+		 * @see #sentCount
 		 */
-		protected Socket socket = null;
+		public int getSentCount()
+		{
+			return sentCount;
+		}
+
 		/**
-		 * The output stream to forward packets to the remote socket server.
+		 * Return the number of packets dropped by the packet queue's drop policy.
+		 * @see #droppedCount
 		 */
-		protected OutputStream outputStream = null;
+		public int getDroppedCount()
+		{
+			synchronized(packetQueue)
+			{
+				return droppedCount;
+			}
+		}
+
 		/**
-		 * The input stream to receive packets back from the remote socket server.
+		 * Return the number of packets spooled to disk.
+		 * @see #spooledCount
 		 */
-		protected InputStream inputStream = null;
+		public int getSpooledCount()
+		{
+			return spooledCount;
+		}
+
 		/**
-		 * Whether to quit the connection.
+		 * Return the number of bytes written to the channel.
+		 * @see #bytesSent
 		 */
-		protected boolean quit = false;
+		public long getBytesSent()
+		{
+			return bytesSent;
+		}
+
 		/**
-		 * Is the connection to the remote system open?
+		 * Return the number of times the connection has been re-opened (opened, after the first time).
+		 * @see #openCount
 		 */
-		protected boolean connectionOpen = false;
+		public int getReconnectCount()
+		{
+			return Math.max(openCount-1,0);
+		}
+
 		/**
-		 * Which connection attempt we are on. Used as an index into delayLengthList.
-		 * @see #delayLengthList
+		 * Return the histogram of packet round trip times.
+		 * @see #roundTripTimeHistogram
 		 */
-		protected int connectionAttempt = 0;
+		public GCNLatencyHistogram getRoundTripTimeHistogram()
+		{
+			return roundTripTimeHistogram;
+		}
+
 		/**
-		 * List of packets to forward.
+		 * Return a one line status of the connection: whether it is connected, the queue depth, the packet
+		 * and byte counters, the re-connection count, the time since the last IMALIVE was delivered and
+		 * the round trip time distribution.
+		 * @param now The current time, in milliseconds since the epoch.
+		 * @return The status.
 		 */
-		protected List packetList = null;
+		public String getStatus(long now)
+		{
+			String imaliveAge = null;
+
+			if(lastImaliveTime == 0)
+				imaliveAge = "never";
+			else
+				imaliveAge = Long.toString((now-lastImaliveTime)/1000);
+			return "tcp "+address.getHostAddress()+":"+portNumber+
+				" connected="+connectionOpen+" queued="+packetQueue.size()+" in_flight="+inFlightCount+
+				" enqueued="+getEnqueuedCount()+" sent="+sentCount+" bytes_sent="+bytesSent+
+				" dropped="+getDroppedCount()+" spooled="+spooledCount+" unmatched="+unmatchedEchoCount+
+				" reconnects="+getReconnectCount()+" last_imalive_s="+imaliveAge+
+				" rtt_ms:"+roundTripTimeHistogram.getSnapshot();
+		}
+
 		/**
-		 * Logger for this class.
+		 * Return the number of echoes received that did not match an in flight packet.
+		 * @return The number of unmatched echoes.
+		 * @see #unmatchedEchoCount
 		 */
-		protected ILogger logger = null;
+		public int getUnmatchedEchoCount()
+		{
+			return unmatchedEchoCount;
+		}
 
 		/**
-		 * Default constructor.
-		 * @see #packetList
+		 * Add the connection's histograms, and gauges of it's state (whether it is connected, the queue depth,
+		 * the packets in flight and the time since the last IMALIVE was delivered), to a metrics registry,
+		 * labelled with the forward address and port. Must be called after the address and port are set.
+		 * @param registry The registry.
+		 * @see #roundTripTimeHistogram
+		 * @see #queueWaitHistogram
+		 * @see #connectionOpen
+		 * @see #packetQueue
+		 * @see #inFlightCount
+		 * @see #lastImaliveTime
 		 */
-		public GCNTCPConnectionThread()
+		public void registerMetrics(GCNMetricsRegistry registry)
 		{
-			super();
-			packetList = new Vector();
+			String labels = null;
+
+			destination = address.getHostAddress()+":"+portNumber;
+			labels = "destination=\""+destination+"\"";
+			roundTripTimeHistogram.setLabels(labels);
+			registry.addHistogram(roundTripTimeHistogram);
+			queueWaitHistogram = registry.getHistogram("gcn_forward_queue_wait_ms",labels,"ms",
+						"Time from receiving a packet, to starting to send it.");
+			registry.addGauge(new GCNGauge("gcn_forward_connected",labels,
+						       "Whether the connection is open (1) or not (0).")
+			{
+				public double getValue()
+				{
+					return connectionOpen ? 1.0 : 0.0;
+				}
+			});
+			registry.addGauge(new GCNGauge("gcn_forward_queue_depth",labels,"Packets waiting to be sent.")
+			{
+				public double getValue()
+				{
+					return packetQueue.size();
+				}
+			});
+			registry.addGauge(new GCNGauge("gcn_forward_in_flight",labels,
+						       "Packets sent, whose echo has not been received.")
+			{
+				public double getValue()
+				{
+					return inFlightCount;
+				}
+			});
+			registry.addGauge(new GCNGauge("gcn_forward_last_imalive_age_seconds",labels,
+						       "Time since the echo of the last IMALIVE packet was received.")
+			{
+				public double getValue()
+				{
+					if(lastImaliveTime == 0)
+						return Double.NaN;
+					return ((double)(System.currentTimeMillis()-lastImaliveTime))/1000.0;
+				}
+			});
 		}
 
 		/**
@@ -516,18 +2024,8 @@ public class GCNDatagramForwarder implements Runnable, GCNDatagramListener
 			logger = l;
 		}
 
-		public void quit()
-		{
-			quit = true;
-		}
-
-		public boolean getQuit()
-		{
-			return quit;
-		}
-
 		/**
-		 * Return whether the thread is connected to the remote TCP server.
+		 * Return whether the connection to the remote TCP server is open.
 		 * @return True if the socket is connected, false if it is not.
 		 * @see #connectionOpen
 		 */
@@ -537,198 +2035,509 @@ public class GCNDatagramForwarder implements Runnable, GCNDatagramListener
 		}
 
 		/**
-		 * Add a packet to the list.
-		 * @see #packetList
+		 * Add a packet to the queue. If the connection is not open, and a spool file has been set,
+		 * the packet is spooled to disk instead. Called from the datagram thread, the selector thread must
+		 * be woken up afterwards to write the packet. If the packet is queued, the connection retains
+		 * a reference to the packet buffer until the packet's echo is received, or the packet is dropped.
+		 * If the connection is not open and the packet is a positional notice, the next connection attempt
+		 * is brought forward.
+		 * @see #packetQueue
+		 * @see #spoolFile
+		 * @see #spoolLock
+		 * @see #spoolPacket
+		 * @see #enqueuePacket
+		 * @see #expediteConnection
 		 */
-		public void addPacket(byte[] buff)
+		public void addPacket(GCNPacketBuffer buff)
 		{
-			synchronized (packetList)
+			if((connectionOpen == false)&&GCNPacketType.isPositional(buff.getType()))
+				expediteConnection = true;
+			synchronized (spoolLock)
 			{
-				packetList.add(buff);
+				if((connectionOpen == false)&&(spoolFile != null))
+				{
+					try
+					{
+						spoolPacket(buff);
+						return;
+					}
+					catch(IOException e)
+					{
+						logger.error(this.getClass().getName()+":"+address+":"+portNumber+
+							     ":addPacket:spooling to "+spoolFile+" failed, queueing instead:",e);
+					}
+				}
 			}
+			enqueuePacket(buff,false);
 		}
 
 		/**
-		 * Run method.
+		 * Add a packet to the packet queue, logging (and releasing) any packet dropped to make room.
+		 * This is called from both the datagram thread (addPacket) and the selector thread (requeueInFlight),
+		 * so the counts are updated whilst holding the packet queue's lock. A new packet the queue dropped
+		 * straight away is counted as dropped, not enqueued.
+		 * @param buff The packet.
+		 * @param first If true, add the packet to the front of the queue (it is being re-sent, and
+		 *        the connection already holds a reference to it), otherwise retain it and add it to the end.
+		 * @see #packetQueue
+		 * @see #enqueuedCount
+		 * @see #droppedCount
 		 */
-		public void run()
+		protected void enqueuePacket(GCNPacketBuffer buff,boolean first)
 		{
-			if(address == null)
+			GCNPacketBuffer dropped = null;
+			int droppedTotal;
+
+			if(first == false)
+				buff.retain();
+			synchronized(packetQueue)
+			{
+				if(first)
+					dropped = packetQueue.addFirst(buff);
+				else
+				{
+					dropped = packetQueue.add(buff);
+					if(dropped != buff)
+						enqueuedCount++;
+				}
+				if(dropped != null)
+					droppedCount++;
+				droppedTotal = droppedCount;
+			}
+			if(dropped != null)
 			{
 				logger.error(this.getClass().getName()+":"+address+":"+portNumber+
-					     ":run:Address was null.");
-				return;
+					     ":enqueuePacket:Queue full ("+packetQueue.size()+" packets):dropped "+
+					     GCNPacketType.getName(dropped.getType())+" packet ("+
+					     droppedTotal+" packets dropped).");
+				dropped.release();
+			}
+		}
+
+		/**
+		 * Append a packet to the spool file.
+		 * @param buff The packet.
+		 * @exception IOException Thrown if writing the spool file fails.
+		 * @see #spoolFile
+		 * @see #spooledCount
+		 */
+		protected void spoolPacket(GCNPacketBuffer buff) throws IOException
+		{
+			FileOutputStream outputStream = null;
+
+			outputStream = new FileOutputStream(spoolFile.getPath(),true);
+			try
+			{
+				outputStream.write(buff.array(),0,buff.getLength());
 			}
+			finally
+			{
+				outputStream.close();
+			}
+			spooledCount++;
 			logger.log(this.getClass().getName()+":"+address+":"+portNumber+
-				     ":run:Entering main loop.");
-			connectionAttempt = 0;
-			while(quit == false)
+				   ":spoolPacket:Spooled packet to "+spoolFile+" ("+spooledCount+" packets spooled).");
+		}
+
+		/**
+		 * Add any packets spooled to disk to the packet queue, and delete the spool file.
+		 * The receive time of the replayed packets is the time they are replayed.
+		 * Called with the spoolLock held.
+		 * @see #spoolFile
+		 * @see #enqueuePacket
+		 * @see GCNDatagramThread#getBufferPool
+		 */
+		protected void replaySpool()
+		{
+			DataInputStream inputStream = null;
+			GCNPacketBuffer buff = null;
+			int replayCount = 0;
+
+			if((spoolFile == null)||(spoolFile.exists() == false))
+				return;
+			try
 			{
-				logger.log(this.getClass().getName()+":"+address+":"+portNumber+
-					     ":run:top of main loop.");
+				inputStream = new DataInputStream(new BufferedInputStream(new FileInputStream(spoolFile)));
 				try
 				{
-					openDelay();
-					openConnection();
-					while((quit == false)&&(connectionOpen == true))
+					while(true)
 					{
-						logger.log(this.getClass().getName()+":"+address+":"+portNumber+
-							   ":run:about to wait.");
-						synchronized(this)
-						{
-							try
-							{
-								wait();
-							}
-							catch(InterruptedException e)
-							{
-								logger.error(this.getClass().getName()+":"+address+
-									     ":"+portNumber+":run:wait error",e);
-							}
-						}
-						logger.log(this.getClass().getName()+":"+address+":"+portNumber+
-							   ":run:notified.");
-						forwardPacket();
-					}// end while not quit and connected
-					closeConnection();
+						buff = datagramThread.getBufferPool().get();
+						inputStream.readFully(buff.array(),0,PACKET_LENGTH);
+						buff.setLength(PACKET_LENGTH);
+						buff.setReceiveTime(System.currentTimeMillis());
+						enqueuePacket(buff,false);
+						buff.release();
+						buff = null;
+						replayCount++;
+					}
 				}
-				catch(Exception e )
+				catch(EOFException e)
 				{
-					logger.error(this.getClass().getName()+":"+address+":"+portNumber+
-						   ":run:main loop error",e);
-					connectionOpen = false;
+					// end of spool file (a truncated last packet is discarded)
+				}
+				finally
+				{
+					if(buff != null)
+						buff.release();
+					inputStream.close();
 				}
-			}// end while not quit
-			logger.error(this.getClass().getName()+":"+address+":"+portNumber+
-				     ":run:Main loop finished.");
-		} // end run
+			}
+			catch(IOException e)
+			{
+				logger.error(this.getClass().getName()+":"+address+":"+portNumber+
+					     ":replaySpool:reading "+spoolFile+" failed:",e);
+			}
+			if(spoolFile.delete() == false)
+			{
+				logger.error(this.getClass().getName()+":"+address+":"+portNumber+
+					     ":replaySpool:failed to delete "+spoolFile+".");
+			}
+			logger.log(this.getClass().getName()+":"+address+":"+portNumber+
+				   ":replaySpool:Replayed "+replayCount+" spooled packets.");
+		}
 
 		/**
-		 * Delay the thread for a certain time, before trying to open a connection.
-		 * @see #connectionAttempt
-		 * @see #delayLengthList
+		 * If the connection is closed, and it's re-connection delay has expired, start opening a connection.
+		 * If a positional notice has been queued since the connection closed, the re-connection attempt
+		 * is brought forward. If a connection in progress has not been established within the connect timeout,
+		 * it is closed. Called from the selector thread.
+		 * @param now The current time, in milliseconds since the epoch.
+		 * @return The number of milliseconds until the next connection attempt (or connect timeout),
+		 *         or 0 if the connection is open.
+		 * @see #nextConnectionTime
+		 * @see #expediteConnection
+		 * @see #connectTimeout
+		 * @see #openConnection
 		 */
-		protected void openDelay()
+		protected long checkConnection(long now)
 		{
-			int delayLength;
-
-			logger.log(this.getClass().getName()+":"+address+":"+portNumber+
-				   ":openDelay:Calculating delay for connection attempt "+connectionAttempt+".");
+			if(channel != null)
+			{
+				if(connectionOpen)
+					return 0;
+				if(now-connectStartTime < connectTimeout)
+					return Math.max(connectStartTime+connectTimeout-now,1);
+				logger.error(this.getClass().getName()+":"+address+":"+portNumber+
+					     ":checkConnection:connection not established after "+connectTimeout+" ms.");
+				closeConnection(now);
+			}
+			if(nextConnectionTime == 0)
+				return 0;
+			if(expediteConnection)
+			{
+				expediteConnection = false;
+				nextConnectionTime = Math.max(reconnectScheduler.expedite(nextConnectionTime,now),1);
+			}
+			if(now < nextConnectionTime)
+				return nextConnectionTime-now;
+			nextConnectionTime = 0;
 			try
 			{
-				if(connectionAttempt < delayLengthList.length)
-					delayLength = delayLengthList[connectionAttempt];
-				else
-					delayLength = delayLengthList[delayLengthList.length-1];
-				logger.log(this.getClass().getName()+":"+address+":"+portNumber+
-					   ":openDelay:about to delay "+delayLength+" ms.");
-				Thread.sleep(delayLength);
-				connectionAttempt++;
+				openConnection();
 			}
 			catch(Exception e)
 			{
 				logger.error(this.getClass().getName()+":"+address+":"+portNumber+
-					     ":openDelay:Error:",e);
+					     ":checkConnection:open connection failed:",e);
+				closeChannel();
+				scheduleConnection(now);
+				return nextConnectionTime-now;
 			}
+			return 0;
 		}
 
 		/**
-		 * Try to open a connection to the remote server.
-		 * @exception IOException Thrown if creating the socket fails.
-		 * @exception SecurityException Thrown if creating the socket fails.
-		 * @see #socket
-		 * @see #address
-		 * @see #portNumber
-		 * @see #outputStream
-		 * @see #inputStream
-		 * @see #connectionOpen
-		 * @see #connectionAttempt
+		 * Set the time of the next connection attempt, using the reconnect scheduler.
+		 * @param now The current time, in milliseconds since the epoch.
+		 * @see #reconnectScheduler
+		 * @see #nextConnectionTime
+		 */
+		protected void scheduleConnection(long now)
+		{
+			long delayLength;
+
+			delayLength = reconnectScheduler.nextDelay();
+			logger.log(this.getClass().getName()+":"+address+":"+portNumber+
+				   ":scheduleConnection:connection attempt "+(reconnectScheduler.getAttempt()-1)+
+				   " in "+delayLength+" ms.");
+			// nextConnectionTime of zero means no attempt is scheduled
+			nextConnectionTime = Math.max(now+delayLength,1);
+		}
+
+		/**
+		 * Start opening a non-blocking connection to the remote server, and register the channel
+		 * with the forwarder's selector.
+		 * @exception IOException Thrown if creating the channel fails.
+		 * @exception SecurityException Thrown if creating the channel fails.
+		 * @see #channel
+		 * @see #selectionKey
+		 * @see #connectStartTime
+		 * @see GCNDatagramForwarder#selector
+		 * @see #connectionOpened
 		 */
 		protected void openConnection() throws IOException, SecurityException
 		{
 			logger.log(this.getClass().getName()+":"+address+":"+portNumber+
 				   ":openConnection:opening connection.");
-			socket = new Socket(address,portNumber);
-			outputStream = socket.getOutputStream();
-			inputStream = socket.getInputStream();
-			connectionOpen = true;
-			// reset connection attempt
-			connectionAttempt = 0;
+			connectStartTime = System.currentTimeMillis();
+			channel = SocketChannel.open();
+			channel.configureBlocking(false);
+			if(channel.connect(new InetSocketAddress(address,portNumber)))
+			{
+				selectionKey = channel.register(selector,SelectionKey.OP_READ,this);
+				connectionOpened();
+			}
+			else
+				selectionKey = channel.register(selector,SelectionKey.OP_CONNECT,this);
+		}
+
+		/**
+		 * Finish opening a connection, when the selector reports the channel as connectable.
+		 * @exception IOException Thrown if the connection failed.
+		 * @see #connectionOpened
+		 */
+		protected void finishConnection() throws IOException
+		{
+			if(channel.finishConnect())
+				connectionOpened();
+		}
+
+		/**
+		 * Called when the connection has been established. Any spooled packets are added to the packet queue.
+		 * @see #connectionOpen
+		 * @see #reconnectScheduler
+		 * @see #replaySpool
+		 */
+		protected void connectionOpened()
+		{
+			synchronized (spoolLock)
+			{
+				replaySpool();
+				connectionOpen = true;
+			}
+			openCount++;
+			// the next connection attempt, after this connection fails, is immediate
+			reconnectScheduler.connectionSucceeded();
+			expediteConnection = false;
+			echoBuffer.clear();
 			logger.log(this.getClass().getName()+":"+address+":"+portNumber+
-				   ":openConnection:connection opened.");
+				   ":connectionOpened:connection opened.");
 		}
 
 		/**
-		 * Forward a recieved data packet.
-		 * @see #socket
-		 * @see #outputStream
-		 * @see #PACKET_LENGTH
+		 * Update which operations the selector waits for on this connection's channel.
+		 * We always want to read echoed packets, and want to write if there is a partially written packet,
+		 * or there are packets to forward and the pipeline is not full.
+		 * @see #selectionKey
+		 */
+		protected void updateInterestOps()
+		{
+			int ops;
+
+			if((selectionKey == null)||(selectionKey.isValid() == false)||(connectionOpen == false))
+				return;
+			ops = SelectionKey.OP_READ;
+			if((outputBuffer != null)||((inFlightCount < pipelineDepth)&&(packetQueue.size() > 0)))
+				ops |= SelectionKey.OP_WRITE;
+			if(selectionKey.interestOps() != ops)
+				selectionKey.interestOps(ops);
+		}
+
+		/**
+		 * Write packets to the channel, until the channel will take no more, there are no more packets
+		 * to forward, or the pipeline is full. Each completely written packet is added to the end of the
+		 * in flight FIFO, to be matched against it's echo, and recorded in the event recorder
+		 * (with the time since the packet was received).
+		 * @exception IOException Thrown if the write fails.
+		 * @see #outputBuffer
+		 * @see #packetQueue
+		 * @see #sentCount
+		 * @see #pipelineDepth
+		 * @see #inFlightPacketList
+		 * @see #inFlightSendTimeList
+		 * @see #queueWaitHistogram
+		 */
+		protected void writePacket() throws IOException
+		{
+			int index;
+
+			while(true)
+			{
+				if(outputBuffer == null)
+				{
+					if(inFlightCount >= pipelineDepth)
+						return;
+					outputPacket = packetQueue.remove();
+					if(outputPacket == null)
+						return;
+					outputBuffer = outputPacket.getBuffer();
+					sendTime = System.currentTimeMillis();
+					if(queueWaitHistogram != null)
+						queueWaitHistogram.record(sendTime-outputPacket.getReceiveTime());
+				}
+				bytesSent += channel.write(outputBuffer);
+				if(outputBuffer.hasRemaining())
+					return;
+				index = (inFlightStart+inFlightCount)%pipelineDepth;
+				inFlightPacketList[index] = outputPacket;
+				inFlightSendTimeList[index] = sendTime;
+				inFlightCount++;
+				sentCount++;
+				if(GCNEventRecorder.getDefault().isEnabled())
+				{
+					GCNEventRecorder.getDefault().record(GCNEventRecorder.EVENT_FORWARD_SENT,
+							outputPacket.getType(),-1,
+							System.currentTimeMillis()-outputPacket.getReceiveTime(),-1,destination);
+				}
+				outputBuffer = null;
+				outputPacket = null;
+			}
+		}
+
+		/**
+		 * Read echoed packets back from the remote server. Each whole echoed packet is matched
+		 * to the oldest in flight packet, and it's round trip time recorded in the round trip time histogram. Echoes that arrive when no packet
+		 * is in flight, or whose contents differ from the oldest in flight packet, are logged as errors.
+		 * The connection's reference to each matched packet buffer is released.
+		 * @exception IOException Thrown if the read fails, or the remote server closed the connection.
+		 * @see #echoBuffer
+		 * @see #inFlightPacketList
+		 * @see #inFlightSendTimeList
+		 * @see #unmatchedEchoCount
+		 * @see #roundTripTimeHistogram
+		 * @see #lastImaliveTime
 		 */
-		protected void forwardPacket() throws IOException
+		protected void readEcho() throws IOException
 		{
-			byte[] buff = null;
-			long startTime,endTime,roundTripTime;
-			int bytesRead,totalBytesRead;
+			GCNPacketBuffer packet = null;
+			long now;
+
+			while(true)
+			{
+				if(channel.read(echoBuffer) < 0)
+					throw new IOException(this.getClass().getName()+":"+address+":"+portNumber+
+							      ":readEcho:Connection closed by remote server.");
+				if(echoBuffer.hasRemaining())
+					return;
+				echoBuffer.flip();
+				if(inFlightCount == 0)
+				{
+					echoBuffer.clear();
+					unmatchedEchoCount++;
+					logger.error(this.getClass().getName()+":"+address+":"+portNumber+
+						     ":readEcho:Received a packet when no echo was expected ("+
+						     unmatchedEchoCount+" unmatched echoes).");
+					continue;
+				}
+				packet = inFlightPacketList[inFlightStart];
+				now = System.currentTimeMillis();
+				roundTripTimeHistogram.record(now-inFlightSendTimeList[inFlightStart]);
+				inFlightPacketList[inFlightStart] = null;
+				inFlightStart = (inFlightStart+1)%pipelineDepth;
+				inFlightCount--;
+				if(packet.contentEquals(echoBuffer) == false)
+				{
+					unmatchedEchoCount++;
+					logger.error(this.getClass().getName()+":"+address+":"+portNumber+
+						     ":readEcho:Echo does not match the oldest packet in flight ("+
+						     unmatchedEchoCount+" unmatched echoes).");
+				}
+				else if(packet.getType() == GCNPacketType.TYPE_IMALIVE)
+					lastImaliveTime = now;
+				echoBuffer.clear();
+				packet.release();
+			}
+		}
 
+		/**
+		 * Close the connection to the socket, and schedule the next connection attempt.
+		 * Packets that were in flight, or partially written, are put back on the front of the packet queue,
+		 * as we do not know whether the remote server received them. Packets waiting to be forwarded
+		 * stay queued until the connection is re-opened.
+		 * @param now The current time, in milliseconds since the epoch.
+		 * @see #requeueInFlight
+		 * @see #closeChannel
+		 * @see #scheduleConnection
+		 */
+		protected void closeConnection(long now)
+		{
 			logger.log(this.getClass().getName()+":"+address+":"+portNumber+
-				   ":forwardPacket:About to start forward "+packetList.size()+" packets.");
-			while(packetList.size() > 0)
-			{
-				logger.log(this.getClass().getName()+":"+address+":"+portNumber+
-					   ":forwardPacket:Waiting to access packet list.");
-				synchronized (packetList)
-				{
-					buff = (byte[])(packetList.remove(0));
-				}
-				logger.log(this.getClass().getName()+":"+address+":"+portNumber+
-					   ":forwardPacket:Writing packet of length "+buff.length+".");
-				startTime = System.currentTimeMillis();
-				outputStream.write(buff);
-				outputStream.flush();
-				// wait for socket to send reply back to round trip time RTT.
-				logger.log(this.getClass().getName()+":"+address+":"+portNumber+
-					   ":forwardPacket:Waiting for return packet.");
-				// diddly read return
-				totalBytesRead = 0;
-				bytesRead = 0;
-				while((totalBytesRead < PACKET_LENGTH)&&(bytesRead > -1))
-				{
-					bytesRead = inputStream.read(buff,0,PACKET_LENGTH);
-					totalBytesRead += bytesRead;
-					logger.log(this.getClass().getName()+":"+address+":"+portNumber+
-						   ":forwardPacket:Read "+totalBytesRead+" bytes of return packet.");
-				}
-				endTime = System.currentTimeMillis();
-				roundTripTime = endTime-startTime;
-				logger.log(this.getClass().getName()+":"+address+":"+portNumber+
-						   ":forwardPacket:Packet has RTT of "+roundTripTime+".");
-			}// while while packets to forward
+				   ":closeConnection:Start.");
+			requeueInFlight();
+			closeChannel();
+			scheduleConnection(now);
 			logger.log(this.getClass().getName()+":"+address+":"+portNumber+
-				   ":forwardPacket:Packets forwarded.");
+				   ":closeConnection:Connection closed:queued "+packetQueue.size()+":enqueued "+
+				   getEnqueuedCount()+":sent "+sentCount+":dropped "+getDroppedCount()+":spooled "+spooledCount+".");
+		}
+
+		/**
+		 * Put the partially written packet, and the packets in flight, back on the front of the
+		 * packet queue, in their original order. The connection's references to the packet buffers
+		 * move to the queue.
+		 * @see #outputPacket
+		 * @see #inFlightPacketList
+		 * @see #enqueuePacket
+		 */
+		protected void requeueInFlight()
+		{
+			int index;
+
+			if(outputPacket != null)
+				enqueuePacket(outputPacket,true);
+			outputPacket = null;
+			outputBuffer = null;
+			for(int i = inFlightCount-1; i >= 0; i--)
+			{
+				index = (inFlightStart+i)%pipelineDepth;
+				enqueuePacket(inFlightPacketList[index],true);
+				inFlightPacketList[index] = null;
+			}
+			inFlightStart = 0;
+			inFlightCount = 0;
 		}
 
 		/**
-		 * Close the connection to the socket.
-		 * @see #socket
-		 * @see #outputStream
+		 * Cancel the selection key and close the channel, and reset the connection state.
+		 * Any packet buffers still held as in flight are released.
+		 * @see #selectionKey
+		 * @see #channel
 		 * @see #connectionOpen
-		 * @see #connectionAttempt
-		 * @exception IOException Thrown if there is a socket close error.
 		 */
-		protected void closeConnection() throws IOException
+		protected void closeChannel()
 		{
-			logger.log(this.getClass().getName()+":"+address+":"+portNumber+
-				   ":closeConnection:Start.");
-			socket.close();
-			socket = null;
-			outputStream = null;
+			if(selectionKey != null)
+				selectionKey.cancel();
+			selectionKey = null;
+			if(channel != null)
+			{
+				try
+				{
+					channel.close();
+				}
+				catch(IOException e)
+				{
+					logger.error(this.getClass().getName()+":"+address+":"+portNumber+
+						     ":closeChannel:close failed:",e);
+				}
+			}
+			channel = null;
 			connectionOpen = false;
-			// reset connection attempt
-			connectionAttempt = 0;
-			logger.log(this.getClass().getName()+":"+address+":"+portNumber+
-				   ":closeConnection:Connection closed.");
+			outputBuffer = null;
+			if(outputPacket != null)
+				outputPacket.release();
+			outputPacket = null;
+			for(int i = 0; i < pipelineDepth; i++)
+			{
+				if(inFlightPacketList[i] != null)
+					inFlightPacketList[i].release();
+				inFlightPacketList[i] = null;
+			}
+			inFlightStart = 0;
+			inFlightCount = 0;
 		}
-	}// end class GCNTCPConnectionThread
+	}// end class GCNTCPConnection
 }
 //
 // $Log: not supported by cvs2svn $
@@ -10,7 +10,10 @@ public interface GCNDatagramListener
 {
 	/**
 	 * Process the GCN packet.
+	 * The buffer is only valid for the duration of the call, it is re-used for later packets,
+	 * so an implementation that keeps the packet must copy it (or use GCNPacketBufferListener instead).
 	 * @param buff The buffer containing the packet data.
+	 * @see GCNPacketBufferListener
 	 */
 	public void processPacket(byte buff[]);
 }
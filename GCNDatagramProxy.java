@@ -0,0 +1,333 @@
+// GCNDatagramProxy.java
+package org.estar.gcn;
+
+import java.io.*;
+import java.lang.*;
+import java.net.*;
+import java.text.*;
+import java.util.*;
+import org.estar.log.*;
+
+/**
+ * Runs several packet consumers (the forwarder, the script starter and the archiver) in one JVM, off one
+ * GCNDatagramThread, so a proxy machine receives, validates and dispatches each packet once.
+ * The arguments after -forwarder (up to -script_starter, or the end) are passed to the forwarder, and the
+ * arguments after -script_starter (up to -forwarder, or the end) are passed to the script starter, as they
+ * would be on their own command lines. Their datagram address/port and packet validation arguments are
+ * ignored, as the shared datagram thread is configured by the proxy's arguments.
+ * @author Chris Mottram
+ * @version $Revision$
+ * @see GCNDatagramThread
+ * @see GCNDatagramForwarder
+ * @see GCNDatagramScriptStarter
+ * @see GCNPacketArchiver
+ */
+public class GCNDatagramProxy
+{
+// constants
+	/**
+	 * Revision control system version id.
+	 */
+	public final static String RCSID = "$Id$";
+	/**
+	 * The shared datagram thread.
+	 */
+	protected GCNDatagramThread datagramThread = null;
+	/**
+	 * The logger used by the datagram thread and archiver.
+	 */
+	protected GCNLogger logger = null;
+	/**
+	 * Whether received packets are validated before they are passed to the consumers.
+	 */
+	protected boolean enablePacketValidation = true;
+	/**
+	 * Whether the packet validator checks the terminator word.
+	 */
+	protected boolean enableTerminatorValidation = true;
+	/**
+	 * The file to archive packets to, or null if packets are not archived.
+	 */
+	protected File archiveFile = null;
+	/**
+	 * Whether IMALIVE packets are archived.
+	 */
+	protected boolean archiveImalive = false;
+	/**
+	 * The forwarder's arguments, or null if no forwarder is run.
+	 */
+	protected Vector forwarderArgList = null;
+	/**
+	 * The script starter's arguments, or null if no script starter is run.
+	 */
+	protected Vector scriptStarterArgList = null;
+
+	/**
+	 * Default constructor. Creates the logger and the shared datagram thread.
+	 * @exception UnknownHostException Thrown if the default datagram group address is unknown.
+	 * @exception IOException Thrown if creating the logger fails.
+	 * @see #logger
+	 * @see #datagramThread
+	 */
+	public GCNDatagramProxy() throws UnknownHostException, IOException
+	{
+		super();
+		logger = new GCNLogger();
+		datagramThread = new GCNDatagramThread();
+		datagramThread.addLogger(logger);
+	}
+
+	/**
+	 * Run the proxy:
+	 * <ul>
+	 * <li>If packet validation is enabled, set the datagram thread's packet validator.
+	 * <li>If an archive file is set, add an archiver to the datagram thread.
+	 * <li>If forwarder arguments were given, create a forwarder sharing the datagram thread, configure it
+	 *     with the arguments, and start it in a new thread.
+	 * <li>If script starter arguments were given, create a script starter sharing the datagram thread,
+	 *     configure it with the arguments, and run it (this starts it's services and returns).
+	 * <li>Run the datagram thread.
+	 * </ul>
+	 * @exception Exception Thrown if creating a consumer fails.
+	 * @see #datagramThread
+	 * @see #forwarderArgList
+	 * @see #scriptStarterArgList
+	 */
+	public void run() throws Exception
+	{
+		GCNPacketValidator packetValidator = null;
+		GCNPacketArchiver archiver = null;
+		GCNDatagramForwarder forwarder = null;
+		GCNDatagramScriptStarter scriptStarter = null;
+		SimpleDateFormat dateFormat = null;
+		Thread thread = null;
+
+		if(enablePacketValidation)
+		{
+			packetValidator = new GCNPacketValidator();
+			packetValidator.setCheckTerminator(enableTerminatorValidation);
+			datagramThread.setPacketValidator(packetValidator);
+		}
+		if(archiveFile != null)
+		{
+			archiver = new GCNPacketArchiver(archiveFile,logger);
+			archiver.setArchiveImalive(archiveImalive);
+			datagramThread.addBufferListener(archiver);
+		}
+		if(forwarderArgList != null)
+		{
+			forwarder = new GCNDatagramForwarder(datagramThread);
+			forwarder.setLogger(logger);
+			forwarder.parseArgs(toArray(forwarderArgList));
+			thread = new Thread(forwarder);
+			thread.start();
+		}
+		if(scriptStarterArgList != null)
+		{
+			scriptStarter = new GCNDatagramScriptStarter();
+			dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss");
+			scriptStarter.logger = new GCNDatagramScriptStarterLogger(scriptStarter.getClass().getName()+
+									"-log-"+dateFormat.format(new Date())+".txt");
+			scriptStarter.setDatagramThread(datagramThread);
+			scriptStarter.parseArgs(toArray(scriptStarterArgList));
+			scriptStarter.run();
+		}
+		logger.log(this.getClass().getName()+":run:Running datagram thread with "+
+			   ((forwarder != null) ? "forwarder " : "")+((scriptStarter != null) ? "script starter " : "")+
+			   ((archiver != null) ? "archiver" : "")+".");
+		datagramThread.run();
+	}
+
+	/**
+	 * Parse the arguments.
+	 * @param args The arguments.
+	 * @see #datagramThread
+	 * @see #enablePacketValidation
+	 * @see #enableTerminatorValidation
+	 * @see #archiveFile
+	 * @see #archiveImalive
+	 * @see #forwarderArgList
+	 * @see #scriptStarterArgList
+	 * @see #help
+	 */
+	public void parseArgs(String args[])
+	{
+		Vector argList = null;
+
+		for(int i = 0; i < args.length; i++)
+		{
+			if(args[i].equals("-forwarder"))
+			{
+				forwarderArgList = new Vector();
+				argList = forwarderArgList;
+			}
+			else if(args[i].equals("-script_starter"))
+			{
+				scriptStarterArgList = new Vector();
+				argList = scriptStarterArgList;
+			}
+			else if(argList != null)
+				argList.addElement(args[i]);
+			else if(args[i].equals("-archive_file"))
+			{
+				if((i+1) < args.length)
+				{
+					archiveFile = new File(args[i+1]);
+					i++;
+				}
+				else
+				{
+					System.err.println("GCNDatagramProxy:-archive_file requires a filename.");
+					System.exit(4);
+				}
+			}
+			else if(args[i].equals("-archive_imalive"))
+			{
+				archiveImalive = true;
+			}
+			else if(args[i].equals("-datagram_address"))
+			{
+				if((i+1) < args.length)
+				{
+					try
+					{
+						datagramThread.setGroupAddress(InetAddress.getByName(args[i+1]));
+					}
+					catch(Exception e)
+					{
+						System.err.println("GCNDatagramProxy:Parsing Address:"+args[i+1]+
+								   " failed:"+e);
+						e.printStackTrace(System.err);
+						System.exit(5);
+					}
+					i++;
+				}
+				else
+				{
+					System.err.println("GCNDatagramProxy:-datagram_address requires an address.");
+					System.exit(6);
+				}
+			}
+			else if(args[i].equals("-datagram_port"))
+			{
+				if((i+1) < args.length)
+				{
+					try
+					{
+						datagramThread.setPort(Integer.parseInt(args[i+1]));
+					}
+					catch(Exception e)
+					{
+						System.err.println("GCNDatagramProxy:Parsing Port:"+args[i+1]+" failed:"+e);
+						e.printStackTrace(System.err);
+						System.exit(3);
+					}
+					i++;
+				}
+				else
+				{
+					System.err.println("GCNDatagramProxy:-datagram_port requires a number.");
+					System.exit(4);
+				}
+			}
+			else if(args[i].equals("-disable_packet_validation"))
+			{
+				enablePacketValidation = false;
+			}
+			else if(args[i].equals("-disable_terminator_validation"))
+			{
+				enableTerminatorValidation = false;
+			}
+			else if(args[i].equals("-help"))
+			{
+				help();
+				System.exit(0);
+			}
+			else
+			{
+				System.err.println("GCNDatagramProxy:Unknown argument:"+args[i]);
+				System.exit(7);
+			}
+		}
+		if((forwarderArgList == null)&&(scriptStarterArgList == null)&&(archiveFile == null))
+		{
+			System.err.println("GCNDatagramProxy:No consumers specified, use -forwarder, -script_starter "+
+					   "or -archive_file.");
+			System.exit(8);
+		}
+	}
+
+	/**
+	 * Print the help message.
+	 */
+	protected void help()
+	{
+		System.out.println("GCNDatagramProxy Help");
+		System.out.println("java org.estar.gcn.GCNDatagramProxy [-datagram_port <n>][-datagram_address <address>]"+
+				   "\n\t[-disable_packet_validation][-disable_terminator_validation]"+
+				   "\n\t[-archive_file <filename>][-archive_imalive]"+
+				   "\n\t[-forwarder <forwarder arguments>...][-script_starter <script starter arguments>...]");
+		System.out.println("Receives packets once, and passes them to each consumer specified.");
+		System.out.println("-disable_packet_validation passes received packets on without first checking "+
+				   "their length, type, terminator and ranges.");
+		System.out.println("-disable_terminator_validation does not check the terminator word of received "+
+				   "packets.");
+		System.out.println("-archive_file appends the received packets to a file, -archive_imalive includes "+
+				   "IMALIVE packets.");
+		System.out.println("-forwarder runs a forwarder, with the following arguments (see GCNDatagramForwarder).");
+		System.out.println("-script_starter runs a script starter, with the following arguments "+
+				   "(see GCNDatagramScriptStarter).");
+		System.out.println("The proxy arguments must come before -forwarder and -script_starter.");
+	}
+
+	/**
+	 * Convert a list of strings to an array.
+	 * @param list The list.
+	 * @return A new array.
+	 */
+	protected static String[] toArray(Vector list)
+	{
+		String array[] = null;
+
+		array = new String[list.size()];
+		list.copyInto(array);
+		return array;
+	}
+
+	/**
+	 * Main program.
+	 * @param args The arguments.
+	 * @see #parseArgs
+	 * @see #run
+	 */
+	public static void main(String[] args)
+	{
+		GCNDatagramProxy proxy = null;
+
+		try
+		{
+			proxy = new GCNDatagramProxy();
+		}
+		catch(Exception e)
+		{
+			System.err.println("Initialising GCNDatagramProxy failed:"+e);
+			e.printStackTrace(System.err);
+			System.exit(2);
+		}
+		proxy.parseArgs(args);
+		try
+		{
+			proxy.run();
+		}
+		catch(Exception e)
+		{
+			System.err.println("GCNDatagramProxy:Returned an error:"+e);
+			e.printStackTrace(System.err);
+			System.exit(1);
+		}
+		System.exit(0);
+	}
+}
+//
+// $Log: not supported by cvs2svn $
+//
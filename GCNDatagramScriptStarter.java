@@ -7,11 +7,13 @@ import java.net.*;
 import java.text.*;
 import java.util.*;
 import org.estar.astrometry.*;
+import org.estar.log.*;
 
 /**
- * This class is a Runnable, that sits on a MulticastSocket, waiting to be sent packets from
- * a program sitting on a GCN Bacodine socket. This program is sent a copy
- * of the alert packets in a data packet.
+ * This class is a Runnable, that is passed packets received (from a program sitting on a GCN Bacodine socket)
+ * by a GCNDatagramThread, the ingest engine that owns the multicast socket, packet validation and the
+ * feed watchdog. By default the script starter creates and runs it's own datagram thread, but it can instead
+ * be added as a listener to a datagram thread shared with other consumers (see setDatagramThread).
  * The class runs a script if  the packet contains an alert it wants to respond to.
  * The script is started with parameters as follows:
  * <pre>
@@ -24,8 +26,9 @@ import org.estar.astrometry.*;
  * @author Chris Mottram
  * @version $Revision: 1.29 $
  * @see #doControlCommand
+ * @see GCNDatagramThread
  */
-public class GCNDatagramScriptStarter implements Runnable
+public class GCNDatagramScriptStarter implements Runnable, GCNControlCommandHandler, GCNPacketBufferListener
 {
 // constants
 	/**
@@ -49,17 +52,54 @@ public class GCNDatagramScriptStarter implements Runnable
 	 */
 	public final static int PACKET_LENGTH = 160;
 	/**
-	 * Boolean used to determine when to quit the run method.
+	 * The string returned by doGammaRayBurstAlertControlCommand when the script was started.
+	 */
+	public final static String MANUAL_ALERT_STARTED = "doGammaRayBurstAlertControlCommand: Script started.\n";
+	/**
+	 * The string returned by doGammaRayBurstAlertControlCommand when the alert was accepted in a dry run.
+	 */
+	public final static String MANUAL_ALERT_ACCEPTED =
+		"doGammaRayBurstAlertControlCommand: Alert accepted (dry run).\n";
+	/**
+	 * Fermi GBM flight software source classification (word 23 of FERMI_GBM_FLT_POS) for a GRB.
+	 * @see #FERMI_GBM_SOURCE_CLASS_LIST
+	 */
+	public final static int FERMI_GBM_SOURCE_CLASS_GRB = 4;
+	/**
+	 * Names of the Fermi GBM flight software source classifications, indexed by class.
+	 * @see #readFermiGBMGRBPosition
+	 */
+	public final static String FERMI_GBM_SOURCE_CLASS_LIST[] = {"ERROR","UNRELIABLE_LOCATION","LOCAL_PARTICLES",
+		"BELOW_HORIZON","GRB","GENERIC_SGR","GENERIC_TRANSIENT","DISTANT_PARTICLES","SOLAR_FLARE","CYG_X1",
+		"SGR_1806_20","GROJ_0422_32","UNKNOWN_12","UNKNOWN_13","UNKNOWN_14","UNKNOWN_15","UNKNOWN_16",
+		"UNKNOWN_17","UNKNOWN_18","TGF"};
+	/**
+	 * Boolean set when quit is called.
 	 */
 	protected boolean quit = false;
 	/**
-	 * Socket that receives multicast UDP packets from GCN_Server.
+	 * The datagram thread (ingest engine) that receives packets from GCN_Server, and passes them to
+	 * processPacket.
+	 * @see #setDatagramThread
 	 */
-	protected MulticastSocket multicastSocket = null;
+	protected GCNDatagramThread datagramThread = null;
 	/**
-	 * The multicast packet containing the received data.
+	 * Whether the script starter created (and so runs) the datagram thread, rather than sharing one.
 	 */
-	protected DatagramPacket packet = null;
+	protected boolean ownsDatagramThread = false;
+	/**
+	 * The buffer containing the packet being decoded.
+	 * @see #setPacket
+	 */
+	protected byte packetBuff[] = null;
+	/**
+	 * The offset of the packet being decoded in packetBuff.
+	 */
+	protected int packetOffset = 0;
+	/**
+	 * The length of the packet being decoded.
+	 */
+	protected int packetLength = 0;
 	/**
 	 * The input stream used to interate through the bytes of the
 	 * datagram packet.
@@ -82,6 +122,12 @@ public class GCNDatagramScriptStarter implements Runnable
 	 * Object to syncronize on, when accessing/changing the alertData contents.
 	 */
 	protected Object alertDataLock = new Object();
+	/**
+	 * Date format (yyyy-MM-dd'T'HH:mm:ss in GMT+0) used to parse manual alert dates, and format the script
+	 * dates. SimpleDateFormat is not thread safe, so this is only used whilst holding alertDataLock.
+	 * @see #alertDataLock
+	 */
+	protected SimpleDateFormat alertDateFormat = null;
 	/**
 	 * Logger to log to.
 	 */
@@ -125,15 +171,28 @@ public class GCNDatagramScriptStarter implements Runnable
 	 * Whether to filter Swift alerts on any merit data that may be in the packet.
 	 */
 	protected boolean swiftFilterOnMerit = false;
+	/**
+	 * Whether Fermi GBM positions (FLT_POS, GND_POS and FIN_POS) are Fermi alerts that can call the script.
+	 * If false (the default), they are decoded and logged only.
+	 * Unlike Fermi LAT positions, they are not exempt from the propogation delay check.
+	 * @see #processData
+	 * @see #processAlert
+	 */
+	protected boolean enableFermiGBM = false;
 	/**
 	 * The port to run the control port on.
 	 * @see #DEFAULT_CONTROL_PORT
 	 */
 	protected int controlServerPort = DEFAULT_CONTROL_PORT;
 	/**
-	 * The control server thread instance.
+	 * The control server instance.
 	 */
-	protected ControlServerThread controlServerThread = null;
+	protected GCNControlServer controlServer = null;
+	/**
+	 * The number of worker threads the control server carries out commands with.
+	 * @see GCNControlServer#DEFAULT_WORKER_COUNT
+	 */
+	protected int controlWorkerCount = GCNControlServer.DEFAULT_WORKER_COUNT;
 	/**
 	 * Boolean specifying whether to start the script when an alert is detected on the Datagram socket.
 	 */
@@ -143,6 +202,198 @@ public class GCNDatagramScriptStarter implements Runnable
 	 * over the control socket.
 	 */
 	protected boolean enableManualAlerts = true;
+	/**
+	 * Index of sky regions to ignore alerts in (e.g. the Galactic plane, known sources).
+	 * Alerts whose whole error box lies within one of these regions do not call the script.
+	 * Null if no exclusion regions have been loaded.
+	 * @see GCNSkyRegionIndex
+	 */
+	protected GCNSkyRegionIndex excludeRegionIndex = null;
+	/**
+	 * Index of sky regions to prioritise alerts in (e.g. a field list).
+	 * Alerts whose error box overlaps one of these regions call the script with the -priority argument.
+	 * Null if no priority regions have been loaded.
+	 * @see GCNSkyRegionIndex
+	 */
+	protected GCNSkyRegionIndex priorityRegionIndex = null;
+	/**
+	 * How often the metrics are logged, in milliseconds, or 0 if they are not logged.
+	 */
+	protected long metricsInterval = 0;
+	/**
+	 * Per packet type counts of received packets, and histograms of the time taken to decode them.
+	 * @see GCNPacketTypeMetrics
+	 */
+	protected GCNPacketTypeMetrics decodeMetrics = null;
+	/**
+	 * Map from alertFilter verdict (a String) to a GCNCounter counting the number of alerts given that verdict.
+	 * @see #countFilterVerdict
+	 */
+	protected Map filterVerdictCounterMap = null;
+	/**
+	 * The verdict of the last call to alertFilter.
+	 * @see #countFilterVerdict
+	 */
+	protected String lastFilterVerdict = null;
+	/**
+	 * The packet type of the alert in alertData, or -1 if it is not known (e.g. a manual alert).
+	 * @see #processAlert
+	 */
+	protected int alertPacketType = -1;
+	/**
+	 * Whether the alert in alertData is a Fermi GBM position, which is not exempt from the propogation
+	 * delay check.
+	 * @see #processAlert
+	 * @see #alertFilter
+	 */
+	protected boolean alertFermiGBM = false;
+	/**
+	 * Whether the last Swift FOM observation decision (Type 65) said the FOM will request an observation.
+	 * Reset to true for each packet/VOEvent, so a FOM notice whose flags are not known still fires the
+	 * pre-slew prepare.
+	 * @see #readSwiftFOMObs
+	 * @see #isPreSlewNotice
+	 */
+	protected boolean fomObservationRequested = true;
+	/**
+	 * History of recent alert decisions, queried from the control socket.
+	 * @see #doAlertHistoryControlCommand
+	 */
+	protected GCNAlertHistory alertHistory = null;
+	/**
+	 * Histogram of the time taken to spawn the script process, in milliseconds.
+	 */
+	protected GCNLatencyHistogram scriptSpawnHistogram = null;
+	/**
+	 * Histogram of how long the spawned script processes ran for, in milliseconds.
+	 */
+	protected GCNLatencyHistogram scriptRunHistogram = null;
+	/**
+	 * The port of the metrics HTTP server, or 0 if no metrics HTTP server is started.
+	 * @see GCNMetricsHttpServer
+	 */
+	protected int metricsHttpPort = 0;
+	/**
+	 * Watchdog tracking the health of the feed from it's IMALIVE packets. Created by run.
+	 * @see GCNFeedWatchdog
+	 */
+	protected GCNFeedWatchdog feedWatchdog = null;
+	/**
+	 * The time without an IMALIVE packet before the feed is marked down, in milliseconds.
+	 * @see GCNFeedWatchdog#DEFAULT_TIMEOUT
+	 */
+	protected long imaliveTimeout = GCNFeedWatchdog.DEFAULT_TIMEOUT;
+	/**
+	 * A script/program to call when the feed goes down or comes back up, or null.
+	 * @see #startFeedAlarmScript
+	 */
+	protected String feedAlarmScript = null;
+	/**
+	 * The port to receive VOEvent documents on, or 0 for none.
+	 * @see #startVOEventThreads
+	 */
+	protected int voeventPort = 0;
+	/**
+	 * A directory to poll for VOEvent documents (files ending in .xml), or null for none.
+	 * @see #startVOEventThreads
+	 */
+	protected File voeventDirectory = null;
+	/**
+	 * The VOEvent parser. It is only used whilst holding alertDataLock.
+	 * @see #processVOEvent
+	 */
+	protected GCNVOEventParser voeventParser = null;
+	/**
+	 * The port to receive JSON notices on, or 0 for none.
+	 * @see #startJSONNoticeThreads
+	 */
+	protected int jsonNoticePort = 0;
+	/**
+	 * A file (or named pipe) to read JSON notices from, "-" for standard input, or null for none.
+	 * @see #startJSONNoticeThreads
+	 */
+	protected String jsonNoticeFile = null;
+	/**
+	 * The format accepted alerts are emitted in ("json" or "voevent").
+	 * @see GCNAlertEmitter#setFormat
+	 */
+	protected String emitFormat = GCNAlertEmitter.FORMAT_NAME_LIST[GCNAlertEmitter.FORMAT_JSON];
+	/**
+	 * The port subscribers connect to to receive accepted alerts, or 0 for none.
+	 * @see #startAlertEmitter
+	 */
+	protected int emitPort = 0;
+	/**
+	 * The directory accepted alerts are spooled to, or null for none.
+	 * @see #startAlertEmitter
+	 */
+	protected File emitDirectory = null;
+	/**
+	 * The multicast group address accepted alerts are sent to, or null for none.
+	 * @see #startAlertEmitter
+	 */
+	protected InetAddress emitMulticastAddress = null;
+	/**
+	 * The multicast port accepted alerts are sent to.
+	 * @see #startAlertEmitter
+	 */
+	protected int emitMulticastPort = 0;
+	/**
+	 * The emitter that sends accepted alerts to downstream consumers, or null if there are no outputs.
+	 * @see #startAlertEmitter
+	 */
+	protected GCNAlertEmitter alertEmitter = null;
+	/**
+	 * The script/program to call as soon as the first notice for a trigger arrives, or null for none.
+	 * @see #startPreSlewHandler
+	 */
+	protected String prepareScript = null;
+	/**
+	 * The handler that calls prepareScript on early notices, or null if prepareScript is not set.
+	 * @see #startPreSlewHandler
+	 */
+	protected GCNPreSlewHandler preSlewHandler = null;
+	/**
+	 * Whether received packets are validated before they are decoded. Only used when the script starter
+	 * creates it's own datagram thread.
+	 * @see GCNDatagramThread#setPacketValidator
+	 */
+	protected boolean enablePacketValidation = true;
+	/**
+	 * Whether the packet validator checks the terminator word.
+	 * @see GCNPacketValidator#setCheckTerminator
+	 */
+	protected boolean enableTerminatorValidation = true;
+	/**
+	 * Whether received packets are passed through the pre-filter (alertPreFilter) before they are decoded,
+	 * so packets that will be filtered out are never fully decoded.
+	 * @see #packetView
+	 */
+	protected boolean enableLazyDecode = true;
+	/**
+	 * Whether packets rejected by the pre-filter (alertPreFilter) are logged. If false (the default), the
+	 * rejection is only counted and recorded in the alert history, so rejecting a packet creates no objects.
+	 * @see #alertPreFilter
+	 */
+	protected boolean logPreFilterRejects = false;
+	/**
+	 * The view over the received packet the pre-filter reads, or null if enableLazyDecode is false.
+	 * @see #alertPreFilter
+	 */
+	protected GCNPacketView packetView = null;
+	/**
+	 * Count of packets rejected by the pre-filter, before they were decoded.
+	 * @see #alertPreFilter
+	 */
+	protected GCNCounter preFilterCounter = null;
+	/**
+	 * The time (in milliseconds since the epoch) the script starter was created.
+	 */
+	protected long startTime = 0;
+	/**
+	 * The number of spawned scripts that have not yet terminated.
+	 */
+	protected int runningScriptCount = 0;
 
 	/**
 	 * Default constructor. Initialises groupAddress to default.
@@ -154,32 +405,127 @@ public class GCNDatagramScriptStarter implements Runnable
 	{
 		super();
 		groupAddress = InetAddress.getByName(DEFAULT_GROUP_ADDRESS);
+		decodeMetrics = new GCNPacketTypeMetrics(GCNMetricsRegistry.getDefault(),"gcn_script_starter_packets_total",
+							 "Packets received by the script starter.",
+							 "gcn_script_starter_decode_ms","ms",
+							 "Time taken to decode a packet.");
+		filterVerdictCounterMap = new Hashtable();
+		preFilterCounter = GCNMetricsRegistry.getDefault().getCounter("gcn_script_starter_prefiltered_total",null,
+						"Packets rejected by the alert pre-filter before they were decoded.");
+		alertHistory = new GCNAlertHistory(GCNAlertHistory.DEFAULT_CAPACITY);
+		alertDateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss");
+		alertDateFormat.setTimeZone(TimeZone.getTimeZone("GMT+0"));
+		scriptSpawnHistogram = GCNMetricsRegistry.getDefault().getHistogram("gcn_script_spawn_ms",null,"ms",
+						"Time taken to spawn the script process.");
+		scriptRunHistogram = GCNMetricsRegistry.getDefault().getHistogram("gcn_script_run_ms",null,"ms",
+						"How long the spawned script processes ran for.");
+		startTime = System.currentTimeMillis();
+		addGauges();
+	}
+
+	/**
+	 * Add gauges for the script starter's state to the metrics registry: the uptime, whether socket and
+	 * manual alerts are enabled, and the number of running scripts. The feed watchdog adds the IMALIVE gauges.
+	 * @see #startTime
+	 * @see #enableSocketAlerts
+	 * @see #enableManualAlerts
+	 * @see #runningScriptCount
+	 */
+	protected void addGauges()
+	{
+		GCNMetricsRegistry registry = null;
+
+		registry = GCNMetricsRegistry.getDefault();
+		registry.addGauge(new GCNGauge("gcn_script_starter_uptime_seconds",null,
+					       "Time since the script starter was started.")
+		{
+			public double getValue()
+			{
+				return ((double)(System.currentTimeMillis()-startTime))/1000.0;
+			}
+		});
+		registry.addGauge(new GCNGauge("gcn_script_starter_alerts_enabled","source=\"socket\"",
+					       "Whether alerts from each source call the script (1) or not (0).")
+		{
+			public double getValue()
+			{
+				return enableSocketAlerts ? 1.0 : 0.0;
+			}
+		});
+		registry.addGauge(new GCNGauge("gcn_script_starter_alerts_enabled","source=\"manual\"",
+					       "Whether alerts from each source call the script (1) or not (0).")
+		{
+			public double getValue()
+			{
+				return enableManualAlerts ? 1.0 : 0.0;
+			}
+		});
+		registry.addGauge(new GCNGauge("gcn_script_starter_running_scripts",null,
+					       "Spawned scripts that have not yet terminated.")
+		{
+			public double getValue()
+			{
+				return getRunningScriptCount();
+			}
+		});
+	}
+
+	/**
+	 * Add to the number of running scripts.
+	 * @param n The number to add (-1 when a script terminates).
+	 * @see #runningScriptCount
+	 */
+	protected synchronized void addRunningScriptCount(int n)
+	{
+		runningScriptCount += n;
+	}
+
+	/**
+	 * Return the number of spawned scripts that have not yet terminated.
+	 * @return The number of running scripts.
+	 * @see #runningScriptCount
+	 */
+	public synchronized int getRunningScriptCount()
+	{
+		return runningScriptCount;
 	}
 
 	/**
 	 * Run method.
 	 * <ul>
 	 * <li>Initialise quit to false.
-	 * <li>Initialise socket (initSocket).
+	 * <li>If no datagram thread has been set, create one listening to the multicast group and port,
+	 *     validating packets if packet validation is enabled (initDatagramThread).
+	 * <li>Add a listener to the datagram thread's feed watchdog (startFeedWatchdog).
 	 * <li>Start a control server thread (startControlServerThread).
-	 * <li>While quit is not true:
-	 *     <ul>
-	 *     <li>Get a datagram packet (receivePacket).
-	 *     <li>Acquire the alertData lock (alertDataLock).
-	 *     <li>Process the contents of the datagram packet (processData).
-	 *     <li>Check whether the packet contents are filtered out or not (alertFilter).
-	 *     <li>If the packet contents are not filtered out, start the script (startScript).
-	 *     </ul>
+	 * <li>If metrics are to be logged, start a metrics reporter thread (startMetricsReporterThread).
+	 * <li>If a metrics HTTP port is set, start a metrics HTTP server thread (startMetricsHttpServerThread).
+	 * <li>If a VOEvent port or directory is set, start the VOEvent input threads (startVOEventThreads).
+	 * <li>If a JSON notice port or file is set, start the JSON notice input threads (startJSONNoticeThreads).
+	 * <li>If any alert outputs are set, create the alert emitter (startAlertEmitter).
+	 * <li>If a prepare script is set, create the pre-slew handler (startPreSlewHandler).
+	 * <li>If lazy decoding is enabled, create the packet view the pre-filter reads (packetView).
+	 * <li>Add this script starter as a buffer listener of the datagram thread, so received packets
+	 *     are passed to processPacket.
+	 * <li>If the script starter created the datagram thread, run it, until quit is called.
+	 *     Otherwise return, the owner of the shared datagram thread runs it.
 	 * </ul>
 	 * Any exceptions are caught and an error message printed. But this will cause the script starter to terminate.
 	 * @see #quit
-	 * @see #initSocket
+	 * @see #initDatagramThread
+	 * @see #datagramThread
+	 * @see #ownsDatagramThread
+	 * @see #startFeedWatchdog
+	 * @see #feedWatchdog
 	 * @see #startControlServerThread
-	 * @see #receivePacket
-	 * @see #processData
-	 * @see #alertFilter
-	 * @see #startScript
-	 * @see #alertDataLock
+	 * @see #startMetricsReporterThread
+	 * @see #startMetricsHttpServerThread
+	 * @see #startVOEventThreads
+	 * @see #startJSONNoticeThreads
+	 * @see #startAlertEmitter
+	 * @see #startPreSlewHandler
+	 * @see #packetView
+	 * @see #processPacket
 	 */
 	public void run()
 	{
@@ -188,20 +534,27 @@ public class GCNDatagramScriptStarter implements Runnable
 			if(logger != null)
 				logger.log(this.getClass().getName()+":run:Started.");
 			quit = false;
-			initSocket();
+			if(datagramThread == null)
+				initDatagramThread();
+			startFeedWatchdog();
 			startControlServerThread();
-			while(quit == false)
-			{
-				receivePacket();
-				logger.log(this.getClass().getName()+":run:Acquiring alert data lock.");
-				synchronized(alertDataLock)
-				{
-					processData();
-					if(alertFilter())
-						startScript();
-				}
-				logger.log(this.getClass().getName()+":run:Released alert data lock.");
-			}
+			if(metricsInterval > 0)
+				startMetricsReporterThread();
+			if(metricsHttpPort > 0)
+				startMetricsHttpServerThread();
+			if((voeventPort > 0)||(voeventDirectory != null))
+				startVOEventThreads();
+			if((jsonNoticePort > 0)||(jsonNoticeFile != null))
+				startJSONNoticeThreads();
+			if((emitPort > 0)||(emitDirectory != null)||(emitMulticastAddress != null))
+				startAlertEmitter();
+			if(prepareScript != null)
+				startPreSlewHandler();
+			if(enableLazyDecode)
+				packetView = new GCNPacketView();
+			datagramThread.addBufferListener(this);
+			if(ownsDatagramThread)
+				datagramThread.run();
 		}
 		catch(Exception e)
 		{
@@ -216,16 +569,91 @@ public class GCNDatagramScriptStarter implements Runnable
 	}
 
 	/**
-	 * Quit the thread.
+	 * Process a packet received by the datagram thread.
+	 * <ul>
+	 * <li>Acquire the alertData lock (alertDataLock).
+	 * <li>Pass the packet through the pre-filter, which drops packets that would be filtered out
+	 *     without decoding them (alertPreFilter).
+	 * <li>Process the contents of the datagram packet (processData).
+	 * <li>Filter the alert, and start the script if it is not filtered out (processAlert).
+	 * </ul>
+	 * The packet has already been validated (if the datagram thread has a validator), and IMALIVE packets
+	 * have already been passed to the feed watchdog, by the datagram thread.
+	 * The packet is decoded during the call, the buffer is not retained.
+	 * @param buffer The shared packet buffer.
+	 * @see #setPacket
+	 * @see #packetView
+	 * @see #alertPreFilter
+	 * @see #processData
+	 * @see #processAlert
+	 * @see #alertDataLock
+	 */
+	public void processPacket(GCNPacketBuffer buffer)
+	{
+		long receiveTime,decodeStartTime;
+		int type;
+
+		receiveTime = buffer.getReceiveTime();
+		type = buffer.getType();
+		logger.log(this.getClass().getName()+":processPacket:Acquiring alert data lock.");
+		synchronized(alertDataLock)
+		{
+			try
+			{
+				setPacket(buffer.array(),0,buffer.getLength());
+				decodeStartTime = System.currentTimeMillis();
+				if(packetView != null)
+					packetView.wrap(packetBuff,packetOffset,packetLength);
+				if((packetView == null)||alertPreFilter(type,receiveTime,decodeStartTime))
+				{
+					processData();
+					processAlert("socket",type,GCNPacketType.isFermiGBMPosition(type),receiveTime,
+						     decodeStartTime);
+				}
+			}
+			catch(Exception e)
+			{
+				logger.error(this.getClass().getName()+":processPacket:Processing "+
+					     GCNPacketType.getName(type)+" packet failed:",e);
+			}
+			finally
+			{
+				// the buffer is re-used by the datagram thread
+				setPacket(null,0,0);
+			}
+		}
+		logger.log(this.getClass().getName()+":processPacket:Released alert data lock.");
+	}
+
+	/**
+	 * Quit the thread. If the script starter created the datagram thread, it is stopped as well.
 	 * @see #quit
+	 * @see #ownsDatagramThread
 	 */
 	public void quit()
 	{
 		quit = true;
+		if(ownsDatagramThread)
+			datagramThread.quit();
+	}
+
+	/**
+	 * Set a datagram thread (ingest engine) shared with other consumers, to receive packets from.
+	 * The script starter is added as a buffer listener when run is called, but does not run the thread,
+	 * and the multicast port, group address and packet validation settings of the script starter
+	 * are not used. Must be called before run.
+	 * @param t The datagram thread.
+	 * @see #datagramThread
+	 * @see #ownsDatagramThread
+	 */
+	public void setDatagramThread(GCNDatagramThread t)
+	{
+		datagramThread = t;
+		ownsDatagramThread = false;
 	}
 
 	/**
-	 * Set the port used for the multicast socket.
+	 * Set the port used for the multicast socket, if the script starter creates it's own datagram thread.
 	 * @param p The port number.
 	 * @see #multicastPort
 	 */
@@ -235,7 +663,8 @@ public class GCNDatagramScriptStarter implements Runnable
 	}
 
 	/**
-	 * Set the address used for the multicast group address.
+	 * Set the address used for the multicast group address, if the script starter creates it's own
+	 * datagram thread.
 	 * @param i The InetAddress.
 	 * @see #groupAddress
 	 */
@@ -336,42 +765,174 @@ public class GCNDatagramScriptStarter implements Runnable
 		swiftSolnStatusRejectMask = m;
 	}
 
+	/**
+	 * Method to load a region file into the exclusion region index.
+	 * Alerts whose whole error box lies within an exclusion region do not call the script.
+	 * Can be called more than once, the regions are added to the same index.
+	 * @param f The region file.
+	 * @exception IOException Thrown if reading the file fails.
+	 * @exception ParseException Thrown if the region file is illegal.
+	 * @see #excludeRegionIndex
+	 * @see GCNSkyRegionIndex#load
+	 */
+	public void addExcludeRegionFile(File f) throws IOException, ParseException
+	{
+		if(excludeRegionIndex == null)
+			excludeRegionIndex = new GCNSkyRegionIndex();
+		excludeRegionIndex.load(f);
+	}
+
+	/**
+	 * Method to load a region file into the priority region index.
+	 * Alerts whose error box overlaps a priority region call the script with the -priority argument.
+	 * Can be called more than once, the regions are added to the same index.
+	 * @param f The region file.
+	 * @exception IOException Thrown if reading the file fails.
+	 * @exception ParseException Thrown if the region file is illegal.
+	 * @see #priorityRegionIndex
+	 * @see GCNSkyRegionIndex#load
+	 */
+	public void addPriorityRegionFile(File f) throws IOException, ParseException
+	{
+		if(priorityRegionIndex == null)
+			priorityRegionIndex = new GCNSkyRegionIndex();
+		priorityRegionIndex.load(f);
+	}
+
 	// protected methods.
 	/**
-	 * Initialise connection.
+	 * Create the datagram thread packets are received from, listening to the multicast group and port,
+	 * and logging to the script starter's logger. If packet validation is enabled, the datagram thread
+	 * validates packets before passing them on.
+	 * @exception IOException Thrown if creating the datagram thread fails.
+	 * @see #datagramThread
+	 * @see #ownsDatagramThread
 	 * @see #multicastPort
-	 * @see #multicastSocket
 	 * @see #groupAddress
+	 * @see #enablePacketValidation
+	 * @see #enableTerminatorValidation
+	 * @see GCNDatagramThread#setPacketValidator
 	 */
-	protected void initSocket() throws Exception
+	protected void initDatagramThread() throws IOException
 	{
-		logger.log(this.getClass().getName()+":initSocket:port = "+multicastPort+" Group Address: "+
+		GCNPacketValidator packetValidator = null;
+
+		logger.log(this.getClass().getName()+":initDatagramThread:port = "+multicastPort+" Group Address: "+
 				  groupAddress);
-		multicastSocket = new MulticastSocket(multicastPort);
-		multicastSocket.joinGroup(groupAddress);
+		datagramThread = new GCNDatagramThread();
+		datagramThread.setPort(multicastPort);
+		datagramThread.setGroupAddress(groupAddress);
+		datagramThread.addLogger(new ILogger()
+		{
+			public void log(String message)
+			{
+				logger.log(message);
+			}
+
+			public void error(String message)
+			{
+				logger.error(message);
+			}
+
+			public void error(String message,Exception e)
+			{
+				logger.error(message,e);
+			}
+		});
+		if(enablePacketValidation)
+		{
+			packetValidator = new GCNPacketValidator();
+			packetValidator.setCheckTerminator(enableTerminatorValidation);
+			datagramThread.setPacketValidator(packetValidator);
+		}
+		ownsDatagramThread = true;
+	}
+
+	/**
+	 * Set the timeout of the datagram thread's feed watchdog (named after the multicast group and port).
+	 * Feed changes are logged, and call the feed alarm script (if one is set).
+	 * @see #feedWatchdog
+	 * @see #imaliveTimeout
+	 * @see #startFeedAlarmScript
+	 * @see GCNDatagramThread#getFeedWatchdog
+	 */
+	protected void startFeedWatchdog()
+	{
+		feedWatchdog = datagramThread.getFeedWatchdog();
+		feedWatchdog.setTimeout(imaliveTimeout);
+		feedWatchdog.addListener(new GCNFeedWatchdogListener()
+		{
+			public void feedDown(GCNFeedWatchdog watchdog,long lastImaliveTime)
+			{
+				logger.error("Feed "+watchdog.getName()+" down: no IMALIVE packet received since "+
+					     new Date(lastImaliveTime)+".");
+				startFeedAlarmScript("-feed_down");
+			}
+
+			public void feedUp(GCNFeedWatchdog watchdog,long downLength)
+			{
+				logger.log("Feed "+watchdog.getName()+" up: IMALIVE packets resumed after "+
+					   (downLength/1000)+" seconds.");
+				startFeedAlarmScript("-feed_up");
+			}
+
+			public void imaliveIrregular(GCNFeedWatchdog watchdog,String message)
+			{
+				logger.log("Feed "+watchdog.getName()+":"+message);
+			}
+		});
 	}
 
 	/**
-	 * Receive packet.
-	 * @see #PACKET_LENGTH
-	 * @see #packet
-	 * @see #multicastSocket
+	 * Call the feed alarm script (if one is set), with the argument specified followed by
+	 * -feed &lt;feed name&gt;. The script's output is logged.
+	 * @param argument The argument describing the feed change: -feed_down or -feed_up.
+	 * @see #feedAlarmScript
+	 * @see GCNDatagramScriptStarter.InputStreamThread
 	 */
-	protected void receivePacket() throws Exception
+	protected void startFeedAlarmScript(String argument)
 	{
-		byte packetBuff[];
+		Process process = null;
+		Thread thread = null;
+
+		if(feedAlarmScript == null)
+			return;
+		try
+		{
+			logger.log("startFeedAlarmScript: Executing:"+feedAlarmScript+" "+argument+
+				   " -feed "+feedWatchdog.getName());
+			process = Runtime.getRuntime().exec(feedAlarmScript+" "+argument+" -feed "+feedWatchdog.getName());
+			thread = new Thread(new InputStreamThread(process.getInputStream(),process,"output"));
+			thread.start();
+			thread = new Thread(new InputStreamThread(process.getErrorStream(),process,"error"));
+			thread.start();
+		}
+		catch(Exception e)
+		{
+			logger.error("startFeedAlarmScript:Executing "+feedAlarmScript+" failed:",e);
+		}
+	}
 
-		logger.log(this.getClass().getName()+":receivePacket:Started.");
-		packetBuff = new byte[PACKET_LENGTH];
-		packet = new DatagramPacket(packetBuff,packetBuff.length);
-		logger.log(this.getClass().getName()+":receivePacket:Awaiting packet.");
-		multicastSocket.receive(packet);
-		logger.log(this.getClass().getName()+":receivePacket:Packet received.");
+	/**
+	 * Set the packet processData decodes.
+	 * @param b The buffer containing the packet.
+	 * @param offset The offset of the packet in the buffer.
+	 * @param length The length of the packet.
+	 * @see #packetBuff
+	 * @see #packetOffset
+	 * @see #packetLength
+	 */
+	protected void setPacket(byte b[],int offset,int length)
+	{
+		packetBuff = b;
+		packetOffset = offset;
+		packetLength = length;
 	}
 
 	/**
-	 * Process data in packet.
-	 * @see #packet
+	 * Process data in packet. Only the received length of the packet is decoded, so a truncated
+	 * packet fails to decode, and a packet too short to contain a type is ignored.
+	 * @see #setPacket
 	 * @see #packetInputStream
 	 * @see #alertData
 	 * @see #readImalive
@@ -380,14 +941,22 @@ public class GCNDatagramScriptStarter implements Runnable
 	 * @see #readHeteUpdate
 	 * @see #readHeteGroundAnalysis
 	 * @see #readIntegralPointing
+	 * @see #readIntegralSPIACS
 	 * @see #readIntegralWakeup
 	 * @see #readIntegralRefined
 	 * @see #readIntegralOffline
 	 * @see #readSwiftBatAlert
 	 * @see #readSwiftBatGRBPosition
+	 * @see #readSwiftBatGRBNackPosition
+	 * @see #readSwiftFOMObs
+	 * @see #readSwiftSCSlew
 	 * @see #readSwiftXrtGRBPosition
+	 * @see #readSwiftXrtGRBNackPosition
 	 * @see #readSwiftUvotGRBPosition
+	 * @see #readSwiftBatGRBPositionTest
 	 * @see #readSuperAgileGRBPosition
+	 * @see #readFermiGBMAlert
+	 * @see #readFermiGBMGRBPosition
 	 * @see #readFermiLATGRBPosition
 	 * @see #readFermiLATGRBPositionTest
 	 * @see #readFermiLATGNDPosition
@@ -395,17 +964,23 @@ public class GCNDatagramScriptStarter implements Runnable
 	protected void processData() throws Exception
 	{
 		ByteArrayInputStream bin = null;
-		byte buff[];
 
 		logger.log(this.getClass().getName()+":processData:Started.");
-		buff = packet.getData();
-		// Create an input stream from the buffer.
-		bin = new ByteArrayInputStream(buff, 0,buff.length);
+		// Create an input stream from the received part of the buffer only, so a truncated packet
+		// causes the decoder to fail (and not propogate the alert), rather than decoding zeros.
+		bin = new ByteArrayInputStream(packetBuff,packetOffset,packetLength);
 		packetInputStream = new DataInputStream(bin);
 		alertData = new GCNDatagramAlertData();
+		fomObservationRequested = true;
 		// Set notice date to now. Note this should really be set to pkt_sod,
 		// but this won't work if the notice is sent around midnight.
 		alertData.setNoticeDate(new Date());
+		if(packetLength < 4)
+		{
+			logger.log(this.getClass().getName()+":processData:Packet too short to contain a type:"+
+				   packetLength+" bytes.");
+			return;
+		}
 		// parse data
 		// call any listeners with parsed data
 		int type = readType();
@@ -441,8 +1016,9 @@ public class GCNDatagramScriptStarter implements Runnable
 			logger.log(" [INTEGRAL_POINTDIR]");
 			readIntegralPointing();
 			break;
-		    case 52:
+		    case 52: // Note no position
 			logger.log(" [INTEGRAL_SPIACS]");
+			readIntegralSPIACS();
 			break;
 		    case 53:
 			logger.log(" [INTEGRAL_WAKEUP]");
@@ -470,12 +1046,15 @@ public class GCNDatagramScriptStarter implements Runnable
 			break;
 		    case 62: // Note no position
 			logger.log(" [SWIFT_BAT_GRB_NACK_POSITION]");
+			readSwiftBatGRBNackPosition();
 			break;
 		    case 65: // Note no (useful) position
 			logger.log(" [SWIFT_FOM_OBS]");
+			readSwiftFOMObs();
 			break;
-		    case 66: // Note no (useful) position
+		    case 66: // Note slew target position, not yet the BAT position
 			logger.log(" [SWIFT_SC_SLEW]");
+			readSwiftSCSlew();
 			break;
 		    case 67:
 			logger.log(" [SWIFT_XRT_POSITION]");
@@ -484,6 +1063,7 @@ public class GCNDatagramScriptStarter implements Runnable
 			break;
 		    case 71: // Note no position
 			logger.log(" [SWIFT_XRT_NACK_POSITION]");
+			readSwiftXrtGRBNackPosition();
 			break;
 		    case 81:
 			logger.log(" [SWIFT_UVOT_POSITION]");
@@ -492,8 +1072,7 @@ public class GCNDatagramScriptStarter implements Runnable
 			break;
 		    case 82:
 			logger.log(" [SWIFT_BAT_GRB_POS_TEST]");
-			//alertData.setAlertType(GCNDatagramAlertData.ALERT_TYPE_SWIFT);
-			//readSwiftTestGRBPosition();
+			readSwiftBatGRBPositionTest();
 			break;
 		    case 100:
 			    logger.log(" [SuperAGILE_GRB_POS_WAKEUP]");
@@ -505,6 +1084,33 @@ public class GCNDatagramScriptStarter implements Runnable
 			    alertData.setAlertType(0); // TEST packet only, don't set alert type
 			    readSuperAgileGRBPosition(109);
 			    break;
+		    case 110: // Note no position
+			    logger.log(" [FERMI_GBM_ALERT]");
+			    readFermiGBMAlert();
+			    break;
+		    case 111:
+			    logger.log(" [FERMI_GBM_FLT_POS]");
+			    if(enableFermiGBM)
+				    alertData.setAlertType(GCNDatagramAlertData.ALERT_TYPE_FERMI);
+			    readFermiGBMGRBPosition(111);
+			    break;
+		    case 112:
+			    logger.log(" [FERMI_GBM_GND_POS]");
+			    if(enableFermiGBM)
+				    alertData.setAlertType(GCNDatagramAlertData.ALERT_TYPE_FERMI);
+			    readFermiGBMGRBPosition(112);
+			    break;
+		    case 115:
+			    logger.log(" [FERMI_GBM_FIN_POS]");
+			    if(enableFermiGBM)
+				    alertData.setAlertType(GCNDatagramAlertData.ALERT_TYPE_FERMI);
+			    readFermiGBMGRBPosition(115);
+			    break;
+		    case 119:
+			    logger.log(" [FERMI_GBM_POS_TEST]");
+			    alertData.setAlertType(0); // TEST packet - not a real GRB
+			    readFermiGBMGRBPosition(119);
+			    break;
 		    case 121:
 			    logger.log(" [FERMI_LAT_GRB_POS_UPD]");
 			    alertData.setAlertType(GCNDatagramAlertData.ALERT_TYPE_FERMI);
@@ -526,45 +1132,239 @@ public class GCNDatagramScriptStarter implements Runnable
 	}
 
 	/**
-	 * Method to filter which alerts will call the script.
-	 * Note maxErrorBox is a radius in arc-seconds, whereas alert data contains error box radius's in arc-minutes.
-	 * @return true if the script should be called, false if it shouldn't.
+	 * Pass a decoded alert through the alert filter, and start the script if it is accepted.
+	 * This is used by both the binary datagram and VOEvent inputs, and must be called whilst holding
+	 * alertDataLock.
+	 * <ul>
+	 * <li>The time taken to decode the alert is recorded against the packet type (decodeMetrics),
+	 *     and in the event recorder.
+	 * <li>If the alert is a Fermi GBM position, and Fermi GBM alerts are not enabled, clear it's alert type
+	 *     so it is logged only (enableFermiGBM).
+	 * <li>If there is a pre-slew handler, pass early notices to it, to fire the prepare script (preSlewHandler).
+	 *     Fermi GBM alerts are only passed if Fermi GBM alerts are enabled, and Swift FOM decisions only
+	 *     if the FOM will request an observation (isPreSlewNotice).
+	 * <li>Check whether the alert is filtered out or not (alertFilter).
+	 * <li>If the packet was an alert, record the alertFilter verdict in the alert history (alertHistory).
+	 * <li>If the alert is not filtered out, emit it to any downstream consumers (alertEmitter),
+	 *     and start the script (startScript). The pre-slew handler is told the alert was started.
+	 * </ul>
+	 * @param source Where the alert came from, e.g. "socket" or "voevent".
+	 * @param type The packet type, or -1 if it is not known.
+	 * @param fermiGBM Whether the alert is a Fermi GBM position.
+	 * @param receiveTime When the alert was received, in milliseconds since the epoch.
+	 * @param decodeStartTime When decoding the alert started, in milliseconds since the epoch.
+	 * @exception Exception Thrown if startScript fails.
 	 * @see #alertData
-	 * @see #allowedAlerts
-	 * @see #maxErrorBox
-	 * @see #maxPropogationDelay
-	 * @see #enableSocketAlerts
-	 * @see #swiftFilterOnMerit
+	 * @see #alertPacketType
+	 * @see #alertFermiGBM
+	 * @see #enableFermiGBM
+	 * @see #decodeMetrics
+	 * @see #preSlewHandler
+	 * @see #isPreSlewNotice
+	 * @see #alertFilter
+	 * @see #alertHistory
+	 * @see #alertEmitter
+	 * @see #startScript
 	 */
-	protected boolean alertFilter()
+	protected void processAlert(String source,int type,boolean fermiGBM,long receiveTime,long decodeStartTime)
+		throws Exception
 	{
-		Date nowDate = null;
-		long propogationDelay;
+		long leadTime;
+		boolean accepted;
 
-		if((allowedAlerts & alertData.getAlertType()) == 0)
+		decodeMetrics.record(type,System.currentTimeMillis()-decodeStartTime);
+		if(GCNEventRecorder.getDefault().isEnabled())
 		{
-			logger.log("alertFilter stopped propogation of alert on type: allowed alerts "+allowedAlerts+
-				   " not compatible with alertData alert type "+alertData.getAlertType()+".");
-			return false;
+			GCNEventRecorder.getDefault().record(GCNEventRecorder.EVENT_PACKET_DECODED,type,
+							     alertData.getTriggerNumber(),
+							     System.currentTimeMillis()-decodeStartTime,-1,null);
 		}
-		if(enableSocketAlerts == false)
+		alertPacketType = type;
+		alertFermiGBM = fermiGBM;
+		if(alertFermiGBM && (enableFermiGBM == false)&&(alertData.getAlertType() != 0))
 		{
-			logger.log("alertFilter stopped propogation of alert. "+
-				   "Socket alerts have been disabled from the control socket.");
-			return false;
+			logger.log("processAlert:Fermi GBM alerts not enabled, "+source+" alert logged only.");
+			alertData.setAlertType(0);
 		}
-		// Note maxErrorBox is a radius in arc-seconds, 
-		// whereas alert data contains error box radius's in arc-minutes.
-		if(maxErrorBox < (alertData.getErrorBoxSize()*60.0))
+		if(isPreSlewNotice(type)&&enableSocketAlerts&&
+		   ((allowedAlerts & GCNPreSlewHandler.getMission(type)) != 0))
 		{
-			logger.log("alertFilter stopped propogation of alert on error box: max error box radius "+
-				   maxErrorBox+" arcseconds smaller than alert error box radius "+
-				   (alertData.getErrorBoxSize()*60.0)+" arcseconds.");
+			if(preSlewHandler.notice(type,alertData,receiveTime))
+				logger.log("processAlert:Pre-slew prepare fired for "+GCNPacketType.getName(type)+
+					   " trigger "+alertData.getTriggerNumber()+".");
+		}
+		accepted = alertFilter();
+		if(alertData.getAlertType() != 0)
+			alertHistory.record(receiveTime,source,alertData,lastFilterVerdict);
+		if(accepted)
+		{
+			if(alertEmitter != null)
+				alertEmitter.emit(alertData,type);
+			startScript();
+			if(preSlewHandler != null)
+			{
+				leadTime = preSlewHandler.alertStarted(alertData,System.currentTimeMillis());
+				if(leadTime >= 0)
+				{
+					logger.log("processAlert:Trigger "+alertData.getTriggerNumber()+
+						   " was prepared "+leadTime+" milliseconds before the alert.");
+				}
+			}
+		}
+	}
+
+	/**
+	 * Whether a notice of the specified packet type should be passed to the pre-slew handler.
+	 * It must be an early notice (GCNPreSlewHandler.isEarlyNotice), there must be a pre-slew handler,
+	 * a Fermi GBM alert is only used if Fermi GBM alerts are enabled, and a Swift FOM decision is only
+	 * used if the FOM will request an observation (which is only known once it has been decoded).
+	 * @param type The packet type.
+	 * @return true if the notice should be passed to the pre-slew handler, false otherwise.
+	 * @see #preSlewHandler
+	 * @see #enableFermiGBM
+	 * @see #fomObservationRequested
+	 * @see GCNPreSlewHandler#isEarlyNotice
+	 */
+	protected boolean isPreSlewNotice(int type)
+	{
+		if(preSlewHandler == null)
+			return false;
+		if(GCNPreSlewHandler.isEarlyNotice(type) == false)
+			return false;
+		if((type == GCNPacketType.TYPE_FERMI_GBM_ALERT)&&(enableFermiGBM == false))
+			return false;
+		if((type == GCNPacketType.TYPE_SWIFT_FOM_OBS)&&(fomObservationRequested == false))
 			return false;
+		return true;
+	}
+
+	/**
+	 * Cheap filter run on the raw packet (packetView) before it is decoded. It makes the checks alertFilter
+	 * makes that only need single packet words, in the same order: the alert type (from the packet type),
+	 * whether socket alerts are enabled, the error box, the propogation delay and, for Swift BAT positions,
+	 * the solnStatus masks and merit parameters. It only rejects packets alertFilter would also reject,
+	 * so the full decode (and the creation of the RA/Dec) only happens for packets that survive.
+	 * Packets that are not full length, and early notices for the pre-slew handler (isPreSlewNotice), which
+	 * needs the decoded notice, are always passed.
+	 * <p>
+	 * If the packet is rejected, the time taken is recorded against the packet type (decodeMetrics),
+	 * the verdict is counted (countFilterVerdict), and if the packet is an alert a summary of it
+	 * (without the position) is recorded in the alert history (GCNAlertHistory.recordSummary).
+	 * The rejection is only logged if logPreFilterRejects is set, so the reject path creates no objects.
+	 * Must be called whilst holding alertDataLock.
+	 * @param type The packet type.
+	 * @param receiveTime When the packet was received, in milliseconds since the epoch.
+	 * @param decodeStartTime When the pre-filter was started, in milliseconds since the epoch.
+	 * @return true if the packet should be decoded, false if it has been rejected.
+	 * @see #packetView
+	 * @see #alertFilter
+	 * @see #preFilterCounter
+	 * @see #decodeMetrics
+	 * @see #countFilterVerdict
+	 * @see #alertHistory
+	 * @see #logPreFilterRejects
+	 * @see #isPreSlewNotice
+	 */
+	protected boolean alertPreFilter(int type,long receiveTime,long decodeStartTime)
+	{
+		String verdict = null;
+		double errorBoxSize;
+		int mission,solnStatus;
+
+		if(packetView.isComplete() == false)
+			return true;
+		if(isPreSlewNotice(type))
+			return true;
+		mission = GCNPacketView.getMission(type);
+		if(GCNPacketType.isFermiGBMPosition(type)&&(enableFermiGBM == false))
+			mission = 0;
+		errorBoxSize = packetView.getErrorBoxSize();
+		if((allowedAlerts & mission) == 0)
+			verdict = "alert_type";
+		else if(enableSocketAlerts == false)
+			verdict = "disabled";
+		else if((errorBoxSize >= 0.0)&&(maxErrorBox < (errorBoxSize*60.0)))
+			verdict = "error_box";
+		else if(((mission != GCNDatagramAlertData.ALERT_TYPE_FERMI)||GCNPacketType.isFermiGBMPosition(type))&&
+			((System.currentTimeMillis()-packetView.getGRBTime()) > maxPropogationDelay))
+			verdict = "propogation_delay";
+		else if((type == GCNPacketType.TYPE_SWIFT_BAT_GRB_POSITION)&&
+			((swiftSolnStatusRejectMask & swiftSolnStatusAcceptMask) == 0))
+		{
+			solnStatus = packetView.getSwiftSolnStatus();
+			if((solnStatus & swiftSolnStatusRejectMask) != 0)
+				verdict = "swift_reject_mask";
+			else if((solnStatus & swiftSolnStatusAcceptMask) != swiftSolnStatusAcceptMask)
+				verdict = "swift_accept_mask";
+			else if(swiftFilterOnMerit && (packetView.getSwiftHasMerit() == false))
+				verdict = "swift_merit";
+		}
+		if(verdict == null)
+			return true;
+		if(logPreFilterRejects)
+		{
+			logger.log("alertPreFilter stopped propogation of "+GCNPacketType.getName(type)+
+				   " packet before decoding:"+verdict+".");
+		}
+		decodeMetrics.record(type,System.currentTimeMillis()-decodeStartTime);
+		preFilterCounter.incrementSynchronized();
+		alertPacketType = type;
+		alertFermiGBM = GCNPacketType.isFermiGBMPosition(type);
+		if(mission != 0)
+		{
+			alertHistory.recordSummary(receiveTime,"socket",mission,packetView.getTriggerNumber(),
+						   errorBoxSize,packetView.getGRBTime(),verdict);
+		}
+		countFilterVerdict(verdict,false,packetView.getTriggerNumber());
+		return false;
+	}
+
+	/**
+	 * Method to filter which alerts will call the script.
+	 * Note maxErrorBox is a radius in arc-seconds, whereas alert data contains error box radius's in arc-minutes.
+	 * The verdict (accepted, or the reason the alert was stopped) is counted in the metrics registry.
+	 * @return true if the script should be called, false if it shouldn't.
+	 * @see #alertData
+	 * @see #allowedAlerts
+	 * @see #maxErrorBox
+	 * @see #maxPropogationDelay
+	 * @see #enableSocketAlerts
+	 * @see #swiftFilterOnMerit
+	 * @see #excludeRegionIndex
+	 * @see #priorityRegionIndex
+	 * @see #countFilterVerdict
+	 */
+	protected boolean alertFilter()
+	{
+		Date nowDate = null;
+		long propogationDelay;
+		double raDeg,decDeg;
+
+		if((allowedAlerts & alertData.getAlertType()) == 0)
+		{
+			logger.log("alertFilter stopped propogation of alert on type: allowed alerts "+allowedAlerts+
+				   " not compatible with alertData alert type "+alertData.getAlertType()+".");
+			return countFilterVerdict("alert_type",false);
+		}
+		if(enableSocketAlerts == false)
+		{
+			logger.log("alertFilter stopped propogation of alert. "+
+				   "Socket alerts have been disabled from the control socket.");
+			return countFilterVerdict("disabled",false);
+		}
+		// Note maxErrorBox is a radius in arc-seconds, 
+		// whereas alert data contains error box radius's in arc-minutes.
+		if(maxErrorBox < (alertData.getErrorBoxSize()*60.0))
+		{
+			logger.log("alertFilter stopped propogation of alert on error box: max error box radius "+
+				   maxErrorBox+" arcseconds smaller than alert error box radius "+
+				   (alertData.getErrorBoxSize()*60.0)+" arcseconds.");
+			return countFilterVerdict("error_box",false);
 		}
 		// max Propogation Delay, if the GRB date was set in the alert data.
 		// now ignore for FERMI :- see Carole's email
-		if(alertData.getAlertType() != GCNDatagramAlertData.ALERT_TYPE_FERMI)
+		// This only applies to Fermi LAT positions, Fermi GBM positions can arrive hours after the burst.
+		if((alertData.getAlertType() != GCNDatagramAlertData.ALERT_TYPE_FERMI)||alertFermiGBM)
 		{
 		       if(alertData.getGRBDate() != null)
 		       {
@@ -576,7 +1376,7 @@ public class GCNDatagramScriptStarter implements Runnable
 						  "propogation delay "+propogationDelay+
 						  " milliseconds larger than max propogation delay "+maxPropogationDelay+
 						  " milliseconds.");
-				       return false;
+				       return countFilterVerdict("propogation_delay",false);
 			       }
 		       }
 		}
@@ -584,13 +1384,35 @@ public class GCNDatagramScriptStarter implements Runnable
 		if(alertData.getRA() == null)
 		{
 			logger.log("alertFilter stopped propogation of alert: RA was NULL.");
-			return false;
+			return countFilterVerdict("no_ra",false);
 		}
 		// ensure Dec filled in
 		if(alertData.getDec() == null)
 		{
 			logger.log("alertFilter stopped propogation of alert: Dec was NULL.");
-			return false;
+			return countFilterVerdict("no_dec",false);
+		}
+		// sky region filtering
+		if((excludeRegionIndex != null)||(priorityRegionIndex != null))
+		{
+			raDeg = alertData.getRA().toArcSeconds()/3600.0;
+			decDeg = alertData.getDec().toArcSeconds()/3600.0;
+			if((excludeRegionIndex != null)&&
+			   excludeRegionIndex.covers(raDeg,decDeg,alertData.getErrorBoxSize()))
+			{
+				logger.log("alertFilter stopped propogation of alert: error box (RA "+raDeg+
+					   " Dec "+decDeg+" radius "+alertData.getErrorBoxSize()+
+					   " arcmin) lies within exclusion regions "+excludeRegionIndex.getName()+".");
+				return countFilterVerdict("exclude_region",false);
+			}
+			if((priorityRegionIndex != null)&&
+			   priorityRegionIndex.intersects(raDeg,decDeg,alertData.getErrorBoxSize()))
+			{
+				logger.log("alertFilter:error box (RA "+raDeg+" Dec "+decDeg+" radius "+
+					   alertData.getErrorBoxSize()+" arcmin) overlaps priority regions "+
+					   priorityRegionIndex.getName()+".");
+				alertData.setPriority(true);
+			}
 		}
 		// special Swift solnStatus (word 18) filtering
 		if((alertData.getAlertType()) == GCNDatagramAlertData.ALERT_TYPE_SWIFT)
@@ -613,7 +1435,7 @@ public class GCNDatagramScriptStarter implements Runnable
 						   Integer.toHexString(alertData.getStatus())+
 						   " contains bits in reject mask 0x"+
 						   Integer.toHexString(swiftSolnStatusRejectMask)+".");
-					return false;
+					return countFilterVerdict("swift_reject_mask",false);
 				}
 				// If a bit in the accept bit-mask is set the correponding bit in the swift solnStatus 
 				// MUST be set to trigger a script firing.
@@ -623,7 +1445,7 @@ public class GCNDatagramScriptStarter implements Runnable
 						   Integer.toHexString(alertData.getStatus())+
 						   " does NOT contain bits in accept mask 0x"+
 						   Integer.toHexString(swiftSolnStatusAcceptMask)+".");
-					return false;
+					return countFilterVerdict("swift_accept_mask",false);
 				}
 			}// end if swift solnStatus bitmasks are not stupid
 			// See if the packet should be filtered on the merit parameters
@@ -633,11 +1455,53 @@ public class GCNDatagramScriptStarter implements Runnable
 				{
 					logger.log("alertFilter stopped propogation of the alert: "+
 						   "hasMerit was false.");
-					return false;
+					return countFilterVerdict("swift_merit",false);
 				}
 			}
 		}// end if swift
-		return true;
+		return countFilterVerdict("accepted",true);
+	}
+
+	/**
+	 * Count an alertFilter verdict, in the gcn_filter_verdict_total counter labelled with the verdict,
+	 * and record it in the event recorder.
+	 * @param verdict The verdict, either "accepted" or the reason the alert was stopped.
+	 * @param accepted Whether the alert was accepted.
+	 * @return The value of accepted, so alertFilter can return the result of this method.
+	 * @see #countFilterVerdict(java.lang.String,boolean,int)
+	 */
+	protected boolean countFilterVerdict(String verdict,boolean accepted)
+	{
+		return countFilterVerdict(verdict,accepted,alertData.getTriggerNumber());
+	}
+
+	/**
+	 * Count an alertFilter (or alertPreFilter) verdict, in the gcn_filter_verdict_total counter labelled with
+	 * the verdict, and record it in the event recorder.
+	 * @param verdict The verdict, either "accepted" or the reason the alert was stopped.
+	 * @param accepted Whether the alert was accepted.
+	 * @param triggerNumber The trigger number of the alert, recorded in the event recorder.
+	 * @return The value of accepted.
+	 * @see #filterVerdictCounterMap
+	 * @see #lastFilterVerdict
+	 */
+	protected boolean countFilterVerdict(String verdict,boolean accepted,int triggerNumber)
+	{
+		GCNCounter counter = null;
+
+		counter = (GCNCounter)(filterVerdictCounterMap.get(verdict));
+		if(counter == null)
+		{
+			counter = GCNMetricsRegistry.getDefault().getCounter("gcn_filter_verdict_total",
+									     "verdict=\""+verdict+"\"",
+									     "Alerts given each alertFilter verdict.");
+			filterVerdictCounterMap.put(verdict,counter);
+		}
+		counter.incrementSynchronized();
+		lastFilterVerdict = verdict;
+		GCNEventRecorder.getDefault().record(GCNEventRecorder.EVENT_ALERT_FILTERED,alertPacketType,
+						     triggerNumber,-1,-1,verdict);
+		return accepted;
 	}
 
 	/**
@@ -646,24 +1510,25 @@ public class GCNDatagramScriptStarter implements Runnable
 	 * -ra  &lt;ra&gt; -dec &lt;dec&gt; -epoch &lt;epoch&gt; -error_box &lt;error_box&gt; -trigger_number &lt;tnum&gt; -sequence_number &lt;snum&gt; -grb_date &lt;date&gt; -notice_date &lt;date&gt;
 	 * </pre>
 	 * A <b>-test</b> argument is added if specified in the alertData.
+	 * A <b>-priority</b> argument is added if the alert overlaps a priority sky region.
 	 * Note the &lt;error_box&gt; is the radius in arc-minutes.
 	 * A script thread is started to monitor the spawned script process.
+	 * The time taken to spawn the process is recorded in the script spawn histogram, and the event recorder.
+	 * Must be called whilst holding alertDataLock.
 	 * @see #script
 	 * @see #alertData
+	 * @see #alertDateFormat
+	 * @see #scriptSpawnHistogram
 	 */
 	protected void startScript() throws Exception
 	{
 		Runtime rt = null;
-		DateFormat dateFormat = null;
-		TimeZone timeZone = null;
 		StringBuffer execString = null;
 		ScriptThread scriptThread = null;
 		Thread thread = null;
 		Process process = null;
+		long spawnStartTime;
 
-		dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss");
-		timeZone = TimeZone.getTimeZone("GMT+0");
-		dateFormat.setTimeZone(timeZone);
 		rt = Runtime.getRuntime();
 		execString = new StringBuffer();
 		execString.append(script+" -"+alertData.getAlertTypeString()+
@@ -674,14 +1539,24 @@ public class GCNDatagramScriptStarter implements Runnable
 					" -trigger_number "+alertData.getTriggerNumber()+
 					" -sequence_number "+alertData.getSequenceNumber());
 		if(alertData.getGRBDate() != null)
-			execString.append(" -grb_date "+dateFormat.format(alertData.getGRBDate()));
+			execString.append(" -grb_date "+alertDateFormat.format(alertData.getGRBDate()));
 		if(alertData.getNoticeDate() != null)
-			execString.append(" -notice_date "+dateFormat.format(alertData.getNoticeDate()));
+			execString.append(" -notice_date "+alertDateFormat.format(alertData.getNoticeDate()));
 		if(alertData.getTest())
 			execString.append(" -test");
+		if(alertData.getPriority())
+			execString.append(" -priority");
 		logger.log("startScript: Executing:"+execString.toString());
+		spawnStartTime = System.currentTimeMillis();
 		process = rt.exec(execString.toString());
+		scriptSpawnHistogram.recordSynchronized(System.currentTimeMillis()-spawnStartTime);
+		addRunningScriptCount(1);
+		GCNEventRecorder.getDefault().record(GCNEventRecorder.EVENT_SCRIPT_LAUNCHED,-1,
+						     alertData.getTriggerNumber(),
+						     System.currentTimeMillis()-spawnStartTime,-1,
+						     alertData.getAlertTypeString());
 		scriptThread = new ScriptThread(process);
+		scriptThread.setTriggerNumber(alertData.getTriggerNumber());
 		thread = new Thread(scriptThread);
 		thread.start();
 	}
@@ -1186,6 +2061,60 @@ public class GCNDatagramScriptStarter implements Runnable
 		}
 	}
 
+	/**
+	 * Integral SPI-ACS (TYPE 52, INTEGRAL_SPIACS). The anti-coincidence shield detects bursts from
+	 * (almost) the whole sky, but gives no position, so the alert type is not set.
+	 * @see #readHdr
+	 * @see #readSod
+	 * @see #readStuff
+	 * @see #readTerm
+	 * @see #packetInputStream
+	 * @see #logger
+	 * @see #alertData
+	 * @see #truncatedJulianDateSecondOfDayToDate
+	 */
+	public void readIntegralSPIACS()
+	{
+		Date burstDate = null;
+
+		try
+		{
+			readHdr(); // 0, 1, 2 - pkt_type, pkt_sernum, pkt_hop_cnt
+			readSod(); // 3
+			int tsn = packetInputStream.readInt();   // 4 - trig_seq_num
+			int trigNum = (tsn & 0x0000FFFF);
+			int mesgNum = (tsn & 0xFFFF0000) >>> 16;  // logical not arithmetic shift
+			logger.log("Trigger No: "+trigNum+" Mesg Seq. No: "+mesgNum);
+			alertData.setTriggerNumber(trigNum);
+			alertData.setSequenceNumber(mesgNum);
+			//TJD=12640 is 01 Jan 2003
+			int burstTjd = packetInputStream.readInt(); // 5 Burst TJD.
+			int burstSod = packetInputStream.readInt(); // 6 Burst SOD. (centi-seconds in the day)
+			logger.log("Burst TJD: "+burstTjd+" : "+burstSod+" centi-seconds of day.");
+			burstDate = truncatedJulianDateSecondOfDayToDate(burstTjd,burstSod);
+			logger.log("Burst Date: "+burstDate);
+			alertData.setGRBDate(burstDate);
+			readStuff(7, 8);// 7, 8 - spare (no position)
+			int burstIntensity = packetInputStream.readInt(); // 9 burst intensity [counts]
+			logger.log("Burst Intensity: "+burstIntensity+" counts.");
+			int intensitySigma = packetInputStream.readInt(); // 10 burst intensity sigma * 100
+			logger.log("Intensity Sigma: "+(((double)intensitySigma)/100.0)+".");
+			int timescale = packetInputStream.readInt(); // 11 trigger timescale [msec]
+			logger.log("Trigger Timescale (msec): "+timescale);
+			int testMpos = packetInputStream.readInt(); // 12 Test/Multi-Position flags.
+			logger.log("Status Flags: [0x"+Integer.toHexString(testMpos).toUpperCase()+"]");
+			if((testMpos & (1<<31))!=0)
+				logger.log("Test Notice - Not a real event.");
+			readStuff(13, 38);// 13-38 spare
+			readTerm(); // 39 - TERM.
+		}
+		catch  (Exception e)
+		{
+			logger.error("INTEGRAL SPIACS: Error reading: ",e);
+			alertData.setAlertType(0); // ensure this is not propogated as an alert
+		}
+	}
+
 	/**
 	 * Integral Wakeup (TYPE 53).
 	 * @see #readHdr
@@ -1430,9 +2359,9 @@ public class GCNDatagramScriptStarter implements Runnable
 		{
 			readHdr(); // 0, 1, 2 - pkt_type, pkt_sernum, pkt_hop_cnt
 			readSod(); // 3
-			int tsn = packetInputStream.readInt();   // 4 - trig_seq_num
-			int trigNum = (tsn & 0x0000FFFF);
-			int mesgNum = (tsn & 0xFFFF0000) >>> 16; // logical not arithmetic shift
+			int tsn = packetInputStream.readInt();   // 4 - trig_obs_num
+			int trigNum = (tsn & 0x00FFFFFF);
+			int mesgNum = (tsn & 0xFF000000) >>> 24; // logical not arithmetic shift
 			logger.log("Trigger No: "+trigNum+" Mesg Seq. No: "+mesgNum);
 			alertData.setTriggerNumber(trigNum);
 			alertData.setSequenceNumber(mesgNum);
@@ -1443,7 +2372,29 @@ public class GCNDatagramScriptStarter implements Runnable
 			burstDate = truncatedJulianDateSecondOfDayToDate(burstTjd,burstSod);
 			logger.log("Burst Date: "+burstDate);
 			alertData.setGRBDate(burstDate);
-			readStuff(7, 38);// note replace this with more parsing later
+			readStuff(7, 8);// 7, 8 - spare (no position yet)
+			int triggerIndex = packetInputStream.readInt(); // 9 Rate trigger criteria index
+			logger.log("Trigger Index: "+triggerIndex);
+			int rateSignif = packetInputStream.readInt(); // 10 Rate Significance (sig2noise *100)
+			logger.log("Rate Significance (SN sigma) : "+(((double)rateSignif)/100.0));
+			readStuff(11, 11);// 11 - spare
+			double phi = ((double)(packetInputStream.readInt()))/100.0; // 12 phi 0..359 * 100 [deg]
+			double theta = ((double)(packetInputStream.readInt()))/100.0; // 13 theta 0..70 * 100 [deg]
+			logger.log("Instrumental Position: theta (angle off boresight(deg)):"+theta);
+			logger.log("Instrumental Position: phi (azimuthal angle (clockwise,deg)):"+phi);
+			int integrationTime = packetInputStream.readInt(); // 14 Integration time [4 msec units]
+			logger.log("Integration time (msec):"+(integrationTime*4));
+			readStuff(15, 17);// 15-17 spare
+			int solnStatus = packetInputStream.readInt(); // 18 Type of source found (bitfield)
+			logger.log("Soln Status : 0x"+Integer.toHexString(solnStatus));
+			alertData.setStatus(solnStatus);
+			if((solnStatus & (1<<4))>0)
+				logger.log("Soln Status : It is an image trigger.");
+			else
+				logger.log("Soln Status : It is a rate trigger.");
+			int misc = packetInputStream.readInt(); // 19 Misc (bitfield)
+			logger.log("Misc Bits : 0x"+Integer.toHexString(misc));
+			readStuff(20, 38);// 20-38 spare
 			readTerm(); // 39 - TERM.
 		}
 		catch  (Exception e)
@@ -1653,7 +2604,7 @@ public class GCNDatagramScriptStarter implements Runnable
 			readSod(); // 3
 			int tsn = packetInputStream.readInt();   // 4 - trig_seq_num
 			int trigNum = (tsn & 0x00FFFFFF);
-			int mesgNum = (tsn & 0xFF000000) >> 24;  
+			int mesgNum = (tsn & 0xFF000000) >>> 24; // logical not arithmetic shift
 			logger.log("Trigger No: "+trigNum+" Mesg Seq. No: "+mesgNum);
 			alertData.setTriggerNumber(trigNum);
 			alertData.setSequenceNumber(mesgNum);
@@ -1792,8 +2743,8 @@ public class GCNDatagramScriptStarter implements Runnable
 			readHdr(); // 0, 1, 2 - pkt_type, pkt_sernum, pkt_hop_cnt
 			readSod(); // 3
 			int tsn = packetInputStream.readInt();   // 4 - trig_obs_num
-			int trigNum = (tsn & 0x0000FFFF);
-			int mesgNum = (tsn & 0xFFFF0000) >> 16;  
+			int trigNum = (tsn & 0x00FFFFFF);
+			int mesgNum = (tsn & 0xFF000000) >>> 24; // logical not arithmetic shift
 			logger.log("Trigger No: "+trigNum+" Mesg Seq. No: "+mesgNum);
 			alertData.setTriggerNumber(trigNum);
 			alertData.setSequenceNumber(mesgNum);
@@ -1844,14 +2795,8 @@ public class GCNDatagramScriptStarter implements Runnable
 	}
 
 	/**
-	 * Decode a SuperAGILE GRB Position. The code should work for packet types
-	 * 100 (SuperAGILE_GRB_POS_WAKEUP), 101 (SuperAGILE_GRB_POS_GROUND), 102 (SuperAGILE_GRB_POS_REFINED),
-	 * and 109 (SuperAGILE_GRB_POS_TEST). SuperAGILE_GRB_POS_GROUND and SuperAGILE_GRB_POS_REFINED
-	 * are too slow (alert propogation delay).  SuperAGILE_GRB_POS_TEST is a test packet and should not trigger
-	 * a real followup!.
-	 * @param packetType The SuperAGILE packet type to decode. One of 100,101,102,109. Only 100 and 109
-	 *       are considered at the moment, although 101 and 102 should be indentical. 109 should be 
-	 *       handled differently as it is not a real GRB!
+	 * Swift BAT position NACK (Type 62,SWIFT_BAT_GRB_NACK_POSITION). The BAT triggered but failed
+	 * to find a point source, so there is no position and the alert type is not set.
 	 * @see #readHdr
 	 * @see #readSod
 	 * @see #readStuff
@@ -1861,90 +2806,64 @@ public class GCNDatagramScriptStarter implements Runnable
 	 * @see #alertData
 	 * @see #truncatedJulianDateSecondOfDayToDate
 	 */
-	public void readSuperAgileGRBPosition(int packetType)
+	public void readSwiftBatGRBNackPosition()
 	{
-		RA ra = null;
-		Dec dec = null;
 		Date burstDate = null;
 
 		try
 		{
 			readHdr(); // 0, 1, 2 - pkt_type, pkt_sernum, pkt_hop_cnt
 			readSod(); // 3
-			int trigNum = packetInputStream.readInt(); // 4 - trig_num (number of seconds since 01/01/2001)
-			logger.log("Trigger No: "+trigNum);
+			int tsn = packetInputStream.readInt();   // 4 - trig_obs_num
+			int trigNum = (tsn & 0x00FFFFFF);
+			int mesgNum = (tsn & 0xFF000000) >>> 24; // logical not arithmetic shift
+			logger.log("Trigger No: "+trigNum+" Mesg Seq. No: "+mesgNum);
 			alertData.setTriggerNumber(trigNum);
-			alertData.setSequenceNumber(0);
+			alertData.setSequenceNumber(mesgNum);
 			//TJD=12640 is 01 Jan 2003
-			int burstTjd = packetInputStream.readInt(); // 5 Burst/Trigger TJD.
-			int burstSod = packetInputStream.readInt(); // 6 Burst/Trigger SOD. (centi-seconds in the day)
+			int burstTjd = packetInputStream.readInt(); // 5 Burst TJD.
+			int burstSod = packetInputStream.readInt(); // 6 Burst SOD. (centi-seconds in the day)
 			logger.log("Burst TJD: "+burstTjd+" : "+burstSod+" centi-seconds of day.");
 			burstDate = truncatedJulianDateSecondOfDayToDate(burstTjd,burstSod);
 			logger.log("Burst Date: "+burstDate);
 			alertData.setGRBDate(burstDate);
-			int bra    = packetInputStream.readInt(); // 7 RA(0..359.999)degrees *10000.
-			int bdec   = packetInputStream.readInt(); // 8 Dec(-90..90)degrees *10000.
-			ra = new RA();
-			dec = new Dec();
-			ra.fromRadians(Math.toRadians(((double)bra)/10000.0));
-			dec.fromRadians(Math.toRadians(((double)bdec)/10000.0));
-			// The LAT returns J2000 coordinates.
-			alertData.setRA(ra);
-			alertData.setDec(dec);
-			alertData.setEpoch(2000.0);
-			logger.log("Burst RA: "+ra);
-			logger.log("Burst Dec: "+dec);
-			logger.log("Epoch: "+2000.0);
-			int burstIntensityX = packetInputStream.readInt(); // 9 [0.001-cnts] Num events in each X 1-D
-			logger.log("Burst Intensity X 1-D (15-45keV): "+(((double)burstIntensityX)/1000.0)+" counts.");
-			int burstIntensityY = packetInputStream.readInt(); // 10 [0.001-cnts] Num events in each Y 1-D
-			logger.log("Burst Intensity Y 1-D (15-45keV): "+(((double)burstIntensityY)/1000.0)+" counts.");
-			int burstError = packetInputStream.readInt(); // 11 Burst error degrees (0..180) * 10000)
-			// burst error is radius of circle in degrees*10000 containing TBD% of bursts!
-			alertData.setErrorBoxSize((((double)burstError)*60.0)/10000.0);// in arc-min
-			logger.log("Error Box Radius (arcmin): "+((((double)burstError)*60.0)/10000.0));
-			readStuff(12, 17);// 12-17 spare x 6
-			int triggerId = packetInputStream.readInt(); // 18 Type of source/trigger found
-			if((triggerId & (1<<1)) > 0)
-				logger.log("Trigger Id:Flight: This is a GRB.");
-			else
-				logger.log("Trigger Id:Flight: This is NOT a GRB.");
-			if((triggerId & (1<<5)) > 0)
-				logger.log("Trigger Id:Ground: This is NOT a GRB (ground retraction).");
-			if((triggerId & (1<<13)) > 0)
-				logger.log("Trigger Id:Ground: This is near a bright star.");
-			if((triggerId & (1<<28)) > 0)
-				logger.log("Trigger Id:Ground: There is a spatial coincidence with another event.");
-			if((triggerId & (1<<29)) > 0)
-				logger.log("Trigger Id:Ground: There is a temporal coincidence with another event.");
-			if((triggerId & (1<<30)) > 0)
-				logger.log("Trigger Id:Ground: This is a test submission.");
-			int misc = packetInputStream.readInt(); // 19
-			if((misc & (1<<13)) > 0)
-				logger.log("Misc: The position is less than 0.3 deg from a bright (M<6.4) star.");
-			if((misc & (1<<14)) > 0)
-				logger.log("Misc: This position is (nearly) inside a NGC galaxy.");
-			if((misc & (1<<15)) > 0)
-				logger.log("Misc: A galaxy is (nearly) inside this position error box.");
-			if((misc & (1<<30)) > 0)
-				logger.log("Misc: The notice was ground generated.");
-			int significance = packetInputStream.readInt(); // 20
-			double significanceX = ((double)(significance&0x0000FFFF))/100.0;
-			logger.log("X-Axies 1D ignificance detections(sigma):"+significanceX);
-			double significanceY = ((double)((significance>>>16)&0x0000FFFF))/100.0;
-			logger.log("Y-Axies 1D ignificance detections(sigma):"+significanceY);
-			readStuff(21, 38);// 21-38 spare x 17
+			readStuff(7, 8);// 7, 8 - spare (no position)
+			int burstFlue = packetInputStream.readInt(); // 9 Burst flue (counts) number of events.
+			logger.log("Burst Fluence: "+burstFlue+" counts.");
+			int burstIPeak = packetInputStream.readInt(); // 10 Burst ipeak (counts*ff) counts.
+			logger.log("Burst Peak Intensity: "+burstIPeak+" counts.");
+			readStuff(11, 11);// 11 - spare
+			double phi = ((double)(packetInputStream.readInt()))/100.0; // 12 phi 0..359 * 100 [deg]
+			double theta = ((double)(packetInputStream.readInt()))/100.0; // 13 theta 0..70 * 100 [deg]
+			logger.log("Instrumental Position: theta (angle off boresight(deg)):"+theta);
+			logger.log("Instrumental Position: phi (azimuthal angle (clockwise,deg)):"+phi);
+			int integrationTime = packetInputStream.readInt(); // 14 Integration time [4 msec units]
+			logger.log("Integration time (msec):"+(integrationTime*4));
+			readStuff(15, 17);// 15-17 spare
+			int solnStatus = packetInputStream.readInt(); // 18 Type of source found (bitfield)
+			logger.log("Soln Status : 0x"+Integer.toHexString(solnStatus));
+			alertData.setStatus(solnStatus);
+			int misc = packetInputStream.readInt(); // 19 Misc (bitfield)
+			logger.log("Misc Bits : 0x"+Integer.toHexString(misc));
+			int imageSignif = packetInputStream.readInt(); // 20 Image Significance (sig2noise *100)
+			logger.log("Image Significance (SN sigma) : "+(((double)imageSignif)/100.0));
+			int rateSignif = packetInputStream.readInt(); // 21 Rate Significance (sig2noise *100)
+			logger.log("Rate Significance (SN sigma) : "+(((double)rateSignif)/100.0));
+			readStuff(22, 38);// 22-38 spare
 			readTerm(); // 39 - TERM.
 		}
 		catch  (Exception e)
 		{
-			logger.error("SuperAGILE GRB POSITION: Error reading: ",e);
+			logger.error("SWIFT BAT GRB NACK POSITION: Error reading: ",e);
 			alertData.setAlertType(0); // ensure this is not propogated as an alert
 		}
 	}
 
 	/**
-	 * Fermi LAT GRB position update (Type 121,FERMI_LAT_GRB_POS_UPD).
+	 * Swift Figure of Merit observation decision (Type 65,SWIFT_FOM_OBS). The position is that of the
+	 * BAT trigger the FOM is considering, which has usually already arrived in a BAT position packet, so
+	 * the alert type is not set. The FOM merit value and decision (whether the spacecraft will be asked to
+	 * slew) are logged, and whether the FOM will request an observation is saved in fomObservationRequested.
 	 * @see #readHdr
 	 * @see #readSod
 	 * @see #readStuff
@@ -1952,9 +2871,10 @@ public class GCNDatagramScriptStarter implements Runnable
 	 * @see #packetInputStream
 	 * @see #logger
 	 * @see #alertData
+	 * @see #fomObservationRequested
 	 * @see #truncatedJulianDateSecondOfDayToDate
 	 */
-	public void readFermiLATGRBPosition()
+	public void readSwiftFOMObs()
 	{
 		RA ra = null;
 		Dec dec = null;
@@ -1964,13 +2884,15 @@ public class GCNDatagramScriptStarter implements Runnable
 		{
 			readHdr(); // 0, 1, 2 - pkt_type, pkt_sernum, pkt_hop_cnt
 			readSod(); // 3
-			int trigNum = packetInputStream.readInt(); // 4 - trig_num (number of seconds since 01/01/2001)
-			logger.log("Trigger No: "+trigNum);
+			int tsn = packetInputStream.readInt();   // 4 - trig_obs_num
+			int trigNum = (tsn & 0x00FFFFFF);
+			int mesgNum = (tsn & 0xFF000000) >>> 24; // logical not arithmetic shift
+			logger.log("Trigger No: "+trigNum+" Mesg Seq. No: "+mesgNum);
 			alertData.setTriggerNumber(trigNum);
-			alertData.setSequenceNumber(0);
+			alertData.setSequenceNumber(mesgNum);
 			//TJD=12640 is 01 Jan 2003
-			int burstTjd = packetInputStream.readInt(); // 5 Burst/Trigger TJD.
-			int burstSod = packetInputStream.readInt(); // 6 Burst/Trigger SOD. (centi-seconds in the day)
+			int burstTjd = packetInputStream.readInt(); // 5 Burst TJD.
+			int burstSod = packetInputStream.readInt(); // 6 Burst SOD. (centi-seconds in the day)
 			logger.log("Burst TJD: "+burstTjd+" : "+burstSod+" centi-seconds of day.");
 			burstDate = truncatedJulianDateSecondOfDayToDate(burstTjd,burstSod);
 			logger.log("Burst Date: "+burstDate);
@@ -1981,93 +2903,42 @@ public class GCNDatagramScriptStarter implements Runnable
 			dec = new Dec();
 			ra.fromRadians(Math.toRadians(((double)bra)/10000.0));
 			dec.fromRadians(Math.toRadians(((double)bdec)/10000.0));
-			// The LAT returns J2000 coordinates.
 			alertData.setRA(ra);
 			alertData.setDec(dec);
 			alertData.setEpoch(2000.0);
 			logger.log("Burst RA: "+ra);
 			logger.log("Burst Dec: "+dec);
-			logger.log("Epoch: "+2000.0);
-			int burstIntensity = packetInputStream.readInt(); // 9 Num events used in location calc[counts]
-			logger.log("Burst Intensity: "+burstIntensity+" counts.");
-			// 10 event counts in 4 energy bands.
-			// All these ints are actually unsigned (which Java doesn't support!)
-			int burstIntensity4 = packetInputStream.readInt(); 
-			int burstIntensity0 = burstIntensity4 & 0x000000FF;
-			int burstIntensity1 = (burstIntensity4 & 0x0000FF00) >> 8;
-			int burstIntensity2 = (burstIntensity4 & 0x00FF0000) >> 16;
-			int burstIntensity3 = (burstIntensity4 & 0xFF000000) >>> 24;
-			logger.log("Burst Intensity: 0-100MeV   : "+burstIntensity0+" counts.");
-			logger.log("Burst Intensity: 100MeV-1GeV: "+burstIntensity1+" counts.");
-			logger.log("Burst Intensity: 1GeV-10GeV : "+burstIntensity2+" counts.");
-			logger.log("Burst Intensity: >10GeV     : "+burstIntensity3+" counts.");
-			int burstError = packetInputStream.readInt(); // 11 Burst error degrees (0..180) * 10000)
-			// burst error is radius of circle in degrees*10000 containing TBD% of bursts!
-			alertData.setErrorBoxSize((((double)burstError)*60.0)/10000.0);// in arc-min
-			logger.log("Error Box Radius (arcmin): "+((((double)burstError)*60.0)/10000.0));
-			double phi = ((double)(packetInputStream.readInt()))/100.0; // 12 phi 0..359 * 100 [deg]
-			double theta = ((double)(packetInputStream.readInt()))/100.0; // 13 theta 0..100 * 100 [deg]
-			logger.log("Instrumental Position: theta (angle off boresight(deg)):"+theta);
-			logger.log("Instrumental Position: phi (azimuthal angle (clockwise,deg)):"+phi);
-			int integrationTime = packetInputStream.readInt(); // 14 Integration time [msec]
-			logger.log("Integration time (msec):"+integrationTime);
-			readStuff(15, 16);// 15-16 spare x 2
-			int triggerIndex = packetInputStream.readInt(); // 17 Trigger Index
-			logger.log("Trigger Index:"+triggerIndex);
-			int triggerId = packetInputStream.readInt(); // 18
-			if((triggerId & (1<<0)) > 0)
-				logger.log("Starting location was LAT");
-			else
-				logger.log("Starting location was GBM");
-			if((triggerId & (1<<1)) > 0)
-				logger.log("Only Gammas above a cut used in the location method.");
+			int merit = packetInputStream.readInt(); // 9 FOM merit value *100
+			logger.log("FOM Merit: "+(((double)merit)/100.0));
+			readStuff(10, 17);// 10-17 spare
+			int obsFlags = packetInputStream.readInt(); // 18 FOM observation flags
+			logger.log("FOM Observation Flags : 0x"+Integer.toHexString(obsFlags));
+			fomObservationRequested = ((obsFlags & (1<<0))>0);
+			if(fomObservationRequested)
+				logger.log("FOM Observation Flags : The FOM will request an observation.");
 			else
-				logger.log("All Gammas used in the location method.");
-			if((triggerId & (1<<5)) > 0)
-				logger.log("Ground: Definately not a GRB (retraction).");
-			if((triggerId & (1<<28)) > 0)
-				logger.log("Ground: There was a spatial coincidence with another event.");
-			if((triggerId & (1<<29)) > 0)
-				logger.log("Ground: There was a temporal coincidence with another event.");
-			int misc = packetInputStream.readInt(); // 19
-			if((misc & (1<<0)) > 0)
-				logger.log("A repoint request was made to the spacecraft.");
-			if((misc & (1<<11)) > 0)
-				logger.log("RA and/or Dec value is out of range.");
-			if((misc & (1<<13)) > 0)
-				logger.log("Position is less than 0.3deg from a bright star (M<6.5).");
-			if((misc & (1<<14)) > 0)
-				logger.log("Position is (nearly) inside an NGC galaxy.");
-			if((misc & (1<<15)) > 0)
-				logger.log("Galaxy in (nearly) inside the Position error box.");
-			int recordSequenceNumber = packetInputStream.readInt(); // 20
-			alertData.setSequenceNumber(recordSequenceNumber);
-			readStuff(21, 24);// 21-24 spare x 4
-			int tempStat = packetInputStream.readInt(); // 25 (int)(4*(-log10(probability)))
-			logger.log("Temporal Test Statistic(>120 is a real GRB):"+tempStat);
-			int imageStat = packetInputStream.readInt(); // 26 (int)(4*(-log10(probability)))
-			logger.log("Image Test Statistic(>120 is a real GRB):"+imageStat);
-			readStuff(27, 30);// 27-30 spare x 4
-			readStuff(31, 34);// 31-24 First and last photon timestamps
-			readStuff(35, 36);// 35-36 spare x 2
-			// 37 This MIGHT be the burst id (documentation unclear)
-			int burstId = packetInputStream.readInt(); 
-			// 38 quality of location (0-1*10000)
-			double locationQuality = ((double)(packetInputStream.readInt()))/10000; 
-			logger.log("Quality of Location(0..1):"+locationQuality);
+				logger.log("FOM Observation Flags : The FOM will NOT request an observation.");
+			if((obsFlags & (1<<1))>0)
+				logger.log("FOM Observation Flags : The spacecraft will slew.");
+			int misc = packetInputStream.readInt(); // 19 Misc (bitfield)
+			logger.log("Misc Bits : 0x"+Integer.toHexString(misc));
+			readStuff(20, 38);// 20-38 spare
 			readTerm(); // 39 - TERM.
 		}
 		catch  (Exception e)
 		{
-			logger.error("FERMI LAT GRB POSITION: Error reading: ",e);
+			logger.error("SWIFT FOM OBS: Error reading: ",e);
 			alertData.setAlertType(0); // ensure this is not propogated as an alert
+			fomObservationRequested = false; // ensure this does not fire the pre-slew prepare
 		}
 	}
 
 	/**
-	 * Fermi LAT GRB position update TEST packet (Type 124,FERMI_LAT_GRB_POS_TEST).
-	 * This is a TEST packet, and does not represent a real GRB. Therefire ensure alertData
-	 * is not setup, but log contents for testing purposes.
+	 * Swift spacecraft slew (Type 66,SWIFT_SC_SLEW). The spacecraft has accepted a slew request to the
+	 * target position (RA/Dec), and the packet gives the predicted time the slew starts (slew_tjd/slew_sod),
+	 * which is put into the alert data's slew date. This usually arrives before the BAT position
+	 * is distributed, so can be used to prepare for the alert, but the alert type is not set, as the
+	 * target position is not the final BAT position.
 	 * @see #readHdr
 	 * @see #readSod
 	 * @see #readStuff
@@ -2076,114 +2947,73 @@ public class GCNDatagramScriptStarter implements Runnable
 	 * @see #logger
 	 * @see #alertData
 	 * @see #truncatedJulianDateSecondOfDayToDate
+	 * @see GCNDatagramAlertData#setSlewDate
 	 */
-	public void readFermiLATGRBPositionTest()
+	public void readSwiftSCSlew()
 	{
 		RA ra = null;
 		Dec dec = null;
 		Date burstDate = null;
+		Date slewDate = null;
 
 		try
 		{
 			readHdr(); // 0, 1, 2 - pkt_type, pkt_sernum, pkt_hop_cnt
 			readSod(); // 3
-			int trigNum = packetInputStream.readInt(); // 4 - trig_num (number of seconds since 01/01/2001)
-			logger.log("Trigger No: "+trigNum);
+			int tsn = packetInputStream.readInt();   // 4 - trig_obs_num
+			int trigNum = (tsn & 0x00FFFFFF);
+			int mesgNum = (tsn & 0xFF000000) >>> 24; // logical not arithmetic shift
+			logger.log("Trigger No: "+trigNum+" Mesg Seq. No: "+mesgNum);
 			alertData.setTriggerNumber(trigNum);
-			alertData.setSequenceNumber(0);
+			alertData.setSequenceNumber(mesgNum);
 			//TJD=12640 is 01 Jan 2003
-			int burstTjd = packetInputStream.readInt(); // 5 Burst/Trigger TJD.
-			int burstSod = packetInputStream.readInt(); // 6 Burst/Trigger SOD. (centi-seconds in the day)
+			int burstTjd = packetInputStream.readInt(); // 5 Burst TJD.
+			int burstSod = packetInputStream.readInt(); // 6 Burst SOD. (centi-seconds in the day)
 			logger.log("Burst TJD: "+burstTjd+" : "+burstSod+" centi-seconds of day.");
 			burstDate = truncatedJulianDateSecondOfDayToDate(burstTjd,burstSod);
 			logger.log("Burst Date: "+burstDate);
 			alertData.setGRBDate(burstDate);
-			int bra    = packetInputStream.readInt(); // 7 RA(0..359.999)degrees *10000.
-			int bdec   = packetInputStream.readInt(); // 8 Dec(-90..90)degrees *10000.
+			int nextRA = packetInputStream.readInt(); // 7 Slew target RA(0..359.999)degrees *10000.
+			int nextDec = packetInputStream.readInt(); // 8 Slew target Dec(-90..90)degrees *10000.
 			ra = new RA();
 			dec = new Dec();
-			ra.fromRadians(Math.toRadians(((double)bra)/10000.0));
-			dec.fromRadians(Math.toRadians(((double)bdec)/10000.0));
-			// The LAT returns J2000 coordinates.
+			ra.fromRadians(Math.toRadians(((double)nextRA)/10000.0));
+			dec.fromRadians(Math.toRadians(((double)nextDec)/10000.0));
 			alertData.setRA(ra);
 			alertData.setDec(dec);
 			alertData.setEpoch(2000.0);
-			logger.log("Burst RA: "+ra);
-			logger.log("Burst Dec: "+dec);
-			logger.log("Epoch: "+2000.0);
-			int burstIntensity = packetInputStream.readInt(); // 9 Num events used in location calc[counts]
-			logger.log("Burst Intensity: "+burstIntensity+" counts.");
-			// 10 event counts in 4 energy bands.
-			// All these ints are actually unsigned (which Java doesn't support!)
-			int burstIntensity4 = packetInputStream.readInt(); 
-			int burstIntensity0 = burstIntensity4 & 0x000000FF;
-			int burstIntensity1 = (burstIntensity4 & 0x0000FF00) >>> 8; // logical not arithmetic shift
-			int burstIntensity2 = (burstIntensity4 & 0x00FF0000) >>> 16;// logical not arithmetic shift
-			int burstIntensity3 = (burstIntensity4 & 0xFF000000) >>> 24;// logical not arithmetic shift
-			logger.log("Burst Intensity: 0-100MeV   : "+burstIntensity0+" counts.");
-			logger.log("Burst Intensity: 100MeV-1GeV: "+burstIntensity1+" counts.");
-			logger.log("Burst Intensity: 1GeV-10GeV : "+burstIntensity2+" counts.");
-			logger.log("Burst Intensity: >10GeV     : "+burstIntensity3+" counts.");
-			int burstError = packetInputStream.readInt(); // 11 Burst error degrees (0..180) * 10000)
-			// burst error is radius of circle in degrees*10000 containing TBD% of bursts!
-			alertData.setErrorBoxSize((((double)burstError)*60.0)/10000.0);// in arc-min
-			logger.log("Error Box Radius (arcmin): "+((((double)burstError)*60.0)/10000.0));
-			double phi = ((double)(packetInputStream.readInt()))/100.0; // 12 phi 0..359 * 100 [deg]
-			double theta = ((double)(packetInputStream.readInt()))/100.0; // 13 theta 0..100 * 100 [deg]
-			logger.log("Instrumental Position: theta (angle off boresight(deg)):"+theta);
-			logger.log("Instrumental Position: phi (azimuthal angle (clockwise,deg)):"+phi);
-			int integrationTime = packetInputStream.readInt(); // 14 Integration time [msec]
-			logger.log("Integration time (msec):"+integrationTime);
-			readStuff(15, 16);// 15-16 spare x 2
-			int triggerIndex = packetInputStream.readInt(); // 17 Trigger Index
-			logger.log("Trigger Index:"+triggerIndex);
-			int triggerId = packetInputStream.readInt(); // 18
-			if((triggerId & (1<<0)) > 0)
-				logger.log("Starting location was LAT");
-			else
-				logger.log("Starting location was GBM");
-			if((triggerId & (1<<1)) > 0)
-				logger.log("Only Gammas above a cut used in the location method.");
-			else
-				logger.log("All Gammas used in the location method.");
-			if((triggerId & (1<<5)) > 0)
-				logger.log("Ground: Definately not a GRB (retraction).");
-			if((triggerId & (1<<28)) > 0)
-				logger.log("Ground: There was a spatial coincidence with another event.");
-			if((triggerId & (1<<29)) > 0)
-				logger.log("Ground: There was a temporal coincidence with another event.");
-			int misc = packetInputStream.readInt(); // 19
-			if((misc & (1<<0)) > 0)
-				logger.log("A repoint request was made to the spacecraft.");
-			if((misc & (1<<11)) > 0)
-				logger.log("RA and/or Dec value is out of range.");
-			if((misc & (1<<13)) > 0)
-				logger.log("Position is less than 0.3deg from a bright star (M<6.5).");
-			if((misc & (1<<14)) > 0)
-				logger.log("Position is (nearly) inside an NGC galaxy.");
-			if((misc & (1<<15)) > 0)
-				logger.log("Galaxy in (nearly) inside the Position error box.");
-			int recordSequenceNumber = packetInputStream.readInt(); // 20
-			alertData.setSequenceNumber(recordSequenceNumber);
-			readStuff(21, 24);// 21-24 spare x 4
-			int tempStat = packetInputStream.readInt(); // 25 (int)(4*(-log10(probability)))
-			logger.log("Temporal Test Statistic(>120 is a real GRB):"+tempStat);
-			int imageStat = packetInputStream.readInt(); // 26 (int)(4*(-log10(probability)))
-			logger.log("Image Test Statistic(>120 is a real GRB):"+imageStat);
-			readStuff(27, 37);// 27-37 spare x 11
-			// 38 quality of location (0-1*10000)
-			double locationQuality = ((double)(packetInputStream.readInt()))/10000; 
-			logger.log("Quality of Location(0..1):"+locationQuality);
+			logger.log("Slew Target RA: "+ra);
+			logger.log("Slew Target Dec: "+dec);
+			int nextRoll = packetInputStream.readInt(); // 9 Slew target roll(0..359.999)degrees *10000.
+			logger.log("Slew Target Roll (deg): "+(((double)nextRoll)/10000.0));
+			int slewTjd = packetInputStream.readInt(); // 10 Slew TJD.
+			int slewSod = packetInputStream.readInt(); // 11 Slew SOD. (centi-seconds in the day)
+			logger.log("Slew TJD: "+slewTjd+" : "+slewSod+" centi-seconds of day.");
+			slewDate = truncatedJulianDateSecondOfDayToDate(slewTjd,slewSod);
+			logger.log("Slew Date: "+slewDate);
+			alertData.setSlewDate(slewDate);
+			int waitTime = packetInputStream.readInt(); // 12 Wait time before the slew [centi-sec]
+			logger.log("Wait Time (sec): "+(((double)waitTime)/100.0));
+			int obsTime = packetInputStream.readInt(); // 13 Planned observation time [centi-sec]
+			logger.log("Observation Time (sec): "+(((double)obsTime)/100.0));
+			readStuff(14, 17);// 14-17 spare
+			int obsFlags = packetInputStream.readInt(); // 18 Slew/observation flags
+			logger.log("Slew Flags : 0x"+Integer.toHexString(obsFlags));
+			int misc = packetInputStream.readInt(); // 19 Misc (bitfield)
+			logger.log("Misc Bits : 0x"+Integer.toHexString(misc));
+			readStuff(20, 38);// 20-38 spare
 			readTerm(); // 39 - TERM.
 		}
 		catch  (Exception e)
 		{
-			logger.error("FERMI LAT GRB POSITION TEST: Error reading: ",e);
+			logger.error("SWIFT SC SLEW: Error reading: ",e);
+			alertData.setAlertType(0); // ensure this is not propogated as an alert
 		}
 	}
 
 	/**
-	 * Fermi LAT ground position update (Type 127,FERMI_LAT_GND).
+	 * Swift XRT position NACK (Type 71,SWIFT_XRT_NACK_POSITION). The XRT observed the BAT position,
+	 * but failed to find a source, so there is no (new) position and the alert type is not set.
 	 * @see #readHdr
 	 * @see #readSod
 	 * @see #readStuff
@@ -2193,7 +3023,85 @@ public class GCNDatagramScriptStarter implements Runnable
 	 * @see #alertData
 	 * @see #truncatedJulianDateSecondOfDayToDate
 	 */
-	public void readFermiLATGNDPosition()
+	public void readSwiftXrtGRBNackPosition()
+	{
+		Date burstDate = null;
+
+		try
+		{
+			readHdr(); // 0, 1, 2 - pkt_type, pkt_sernum, pkt_hop_cnt
+			readSod(); // 3
+			int tsn = packetInputStream.readInt();   // 4 - trig_obs_num
+			int trigNum = (tsn & 0x00FFFFFF);
+			int mesgNum = (tsn & 0xFF000000) >>> 24; // logical not arithmetic shift
+			logger.log("Trigger No: "+trigNum+" Mesg Seq. No: "+mesgNum);
+			alertData.setTriggerNumber(trigNum);
+			alertData.setSequenceNumber(mesgNum);
+			//TJD=12640 is 01 Jan 2003
+			int burstTjd = packetInputStream.readInt(); // 5 Burst TJD.
+			int burstSod = packetInputStream.readInt(); // 6 Burst SOD. (centi-seconds in the day)
+			logger.log("Burst TJD: "+burstTjd+" : "+burstSod+" centi-seconds of day.");
+			burstDate = truncatedJulianDateSecondOfDayToDate(burstTjd,burstSod);
+			logger.log("Burst Date: "+burstDate);
+			alertData.setGRBDate(burstDate);
+			readStuff(7, 8);// 7, 8 - spare (no position)
+			int counts = packetInputStream.readInt(); // 9 Counts in the image
+			logger.log("XRT Counts: "+counts);
+			int stdDev = packetInputStream.readInt(); // 10 Std deviation of the centroid [arcsec*100]
+			logger.log("Centroid Std Deviation (arcsec): "+(((double)stdDev)/100.0));
+			readStuff(11, 13);// 11-13 spare
+			int integrationTime = packetInputStream.readInt(); // 14 Integration time [centi-sec]
+			logger.log("Integration time (sec):"+(((double)integrationTime)/100.0));
+			readStuff(15, 17);// 15-17 spare
+			int solnStatus = packetInputStream.readInt(); // 18 Reason no position was found (bitfield)
+			logger.log("Soln Status : 0x"+Integer.toHexString(solnStatus));
+			alertData.setStatus(solnStatus);
+			int misc = packetInputStream.readInt(); // 19 Misc (bitfield)
+			logger.log("Misc Bits : 0x"+Integer.toHexString(misc));
+			readStuff(20, 38);// 20-38 spare
+			readTerm(); // 39 - TERM.
+		}
+		catch  (Exception e)
+		{
+			logger.error("SWIFT XRT GRB NACK POSITION: Error reading: ",e);
+			alertData.setAlertType(0); // ensure this is not propogated as an alert
+		}
+	}
+
+	/**
+	 * Swift BAT position TEST packet (Type 82,SWIFT_BAT_GRB_POS_TEST).
+	 * This has the same layout as a real BAT position (readSwiftBatGRBPosition), and is decoded
+	 * and logged for testing purposes, but is marked as a test and the alert type is not set,
+	 * so it does not represent a real GRB.
+	 * @see #readSwiftBatGRBPosition
+	 * @see #alertData
+	 */
+	public void readSwiftBatGRBPositionTest()
+	{
+		readSwiftBatGRBPosition();
+		alertData.setAlertType(0); // TEST packet - not a real GRB
+		alertData.setTest(true);
+	}
+
+	/**
+	 * Decode a SuperAGILE GRB Position. The code should work for packet types
+	 * 100 (SuperAGILE_GRB_POS_WAKEUP), 101 (SuperAGILE_GRB_POS_GROUND), 102 (SuperAGILE_GRB_POS_REFINED),
+	 * and 109 (SuperAGILE_GRB_POS_TEST). SuperAGILE_GRB_POS_GROUND and SuperAGILE_GRB_POS_REFINED
+	 * are too slow (alert propogation delay).  SuperAGILE_GRB_POS_TEST is a test packet and should not trigger
+	 * a real followup!.
+	 * @param packetType The SuperAGILE packet type to decode. One of 100,101,102,109. Only 100 and 109
+	 *       are considered at the moment, although 101 and 102 should be indentical. 109 should be 
+	 *       handled differently as it is not a real GRB!
+	 * @see #readHdr
+	 * @see #readSod
+	 * @see #readStuff
+	 * @see #readTerm
+	 * @see #packetInputStream
+	 * @see #logger
+	 * @see #alertData
+	 * @see #truncatedJulianDateSecondOfDayToDate
+	 */
+	public void readSuperAgileGRBPosition(int packetType)
 	{
 		RA ra = null;
 		Dec dec = null;
@@ -2227,33 +3135,329 @@ public class GCNDatagramScriptStarter implements Runnable
 			logger.log("Burst RA: "+ra);
 			logger.log("Burst Dec: "+dec);
 			logger.log("Epoch: "+2000.0);
-			int burstIntensity = packetInputStream.readInt(); // 9 Num events used in location calc[counts]
-			logger.log("Burst Intensity: "+burstIntensity+" counts.");
-			readStuff(10, 10); // 10 spare
+			int burstIntensityX = packetInputStream.readInt(); // 9 [0.001-cnts] Num events in each X 1-D
+			logger.log("Burst Intensity X 1-D (15-45keV): "+(((double)burstIntensityX)/1000.0)+" counts.");
+			int burstIntensityY = packetInputStream.readInt(); // 10 [0.001-cnts] Num events in each Y 1-D
+			logger.log("Burst Intensity Y 1-D (15-45keV): "+(((double)burstIntensityY)/1000.0)+" counts.");
 			int burstError = packetInputStream.readInt(); // 11 Burst error degrees (0..180) * 10000)
 			// burst error is radius of circle in degrees*10000 containing TBD% of bursts!
 			alertData.setErrorBoxSize((((double)burstError)*60.0)/10000.0);// in arc-min
 			logger.log("Error Box Radius (arcmin): "+((((double)burstError)*60.0)/10000.0));
-			double phi = ((double)(packetInputStream.readInt()))/100.0; // 12 phi 0..359 * 100 [deg]
-			double theta = ((double)(packetInputStream.readInt()))/100.0; // 13 theta 0..100 * 100 [deg]
-			logger.log("Instrumental Position: theta (angle off boresight(deg)):"+theta);
-			logger.log("Instrumental Position: phi (azimuthal angle (clockwise,deg)):"+phi);
-			readStuff(14, 17);// 14-17 spare x 4
-			int triggerId = packetInputStream.readInt(); // 18
-			if((triggerId & (1<<0)) > 0)
-				logger.log("Starting location was LAT");
-			else
-				logger.log("Starting location was GBM");
+			readStuff(12, 17);// 12-17 spare x 6
+			int triggerId = packetInputStream.readInt(); // 18 Type of source/trigger found
 			if((triggerId & (1<<1)) > 0)
-				logger.log("Only Gammas above a cut used in the location method.");
+				logger.log("Trigger Id:Flight: This is a GRB.");
 			else
-				logger.log("All Gammas used in the location method.");
+				logger.log("Trigger Id:Flight: This is NOT a GRB.");
 			if((triggerId & (1<<5)) > 0)
-				logger.log("Ground: Definately not a GRB (retraction).");
+				logger.log("Trigger Id:Ground: This is NOT a GRB (ground retraction).");
+			if((triggerId & (1<<13)) > 0)
+				logger.log("Trigger Id:Ground: This is near a bright star.");
 			if((triggerId & (1<<28)) > 0)
-				logger.log("Ground: There was a spatial coincidence with another event.");
+				logger.log("Trigger Id:Ground: There is a spatial coincidence with another event.");
 			if((triggerId & (1<<29)) > 0)
-				logger.log("Ground: There was a temporal coincidence with another event.");
+				logger.log("Trigger Id:Ground: There is a temporal coincidence with another event.");
+			if((triggerId & (1<<30)) > 0)
+				logger.log("Trigger Id:Ground: This is a test submission.");
+			int misc = packetInputStream.readInt(); // 19
+			if((misc & (1<<13)) > 0)
+				logger.log("Misc: The position is less than 0.3 deg from a bright (M<6.4) star.");
+			if((misc & (1<<14)) > 0)
+				logger.log("Misc: This position is (nearly) inside a NGC galaxy.");
+			if((misc & (1<<15)) > 0)
+				logger.log("Misc: A galaxy is (nearly) inside this position error box.");
+			if((misc & (1<<30)) > 0)
+				logger.log("Misc: The notice was ground generated.");
+			int significance = packetInputStream.readInt(); // 20
+			double significanceX = ((double)(significance&0x0000FFFF))/100.0;
+			logger.log("X-Axies 1D ignificance detections(sigma):"+significanceX);
+			double significanceY = ((double)((significance>>>16)&0x0000FFFF))/100.0;
+			logger.log("Y-Axies 1D ignificance detections(sigma):"+significanceY);
+			readStuff(21, 38);// 21-38 spare x 17
+			readTerm(); // 39 - TERM.
+		}
+		catch  (Exception e)
+		{
+			logger.error("SuperAGILE GRB POSITION: Error reading: ",e);
+			alertData.setAlertType(0); // ensure this is not propogated as an alert
+		}
+	}
+
+	/**
+	 * Fermi GBM trigger alert (Type 110,FERMI_GBM_ALERT). This is the first notice for a GBM trigger,
+	 * and has no position, so the alert type is not set.
+	 * @see #readHdr
+	 * @see #readSod
+	 * @see #readStuff
+	 * @see #readTerm
+	 * @see #packetInputStream
+	 * @see #logger
+	 * @see #alertData
+	 * @see #truncatedJulianDateSecondOfDayToDate
+	 */
+	public void readFermiGBMAlert()
+	{
+		Date burstDate = null;
+
+		try
+		{
+			readHdr(); // 0, 1, 2 - pkt_type, pkt_sernum, pkt_hop_cnt
+			readSod(); // 3
+			int trigNum = packetInputStream.readInt(); // 4 - trig_num (number of seconds since 01/01/2001)
+			logger.log("Trigger No: "+trigNum);
+			alertData.setTriggerNumber(trigNum);
+			alertData.setSequenceNumber(0);
+			//TJD=12640 is 01 Jan 2003
+			int burstTjd = packetInputStream.readInt(); // 5 Burst/Trigger TJD.
+			int burstSod = packetInputStream.readInt(); // 6 Burst/Trigger SOD. (centi-seconds in the day)
+			logger.log("Burst TJD: "+burstTjd+" : "+burstSod+" centi-seconds of day.");
+			burstDate = truncatedJulianDateSecondOfDayToDate(burstTjd,burstSod);
+			logger.log("Burst Date: "+burstDate);
+			alertData.setGRBDate(burstDate);
+			readStuff(7, 8);// 7, 8 - spare (no position)
+			int triggerSignif = packetInputStream.readInt(); // 9 Trigger significance (sigma *100)
+			logger.log("Trigger Significance (sigma): "+(((double)triggerSignif)/100.0));
+			readStuff(10, 13);// 10-13 spare
+			int triggerTimescale = packetInputStream.readInt(); // 14 Trigger timescale [msec]
+			logger.log("Trigger Timescale (msec): "+triggerTimescale);
+			int lowEnergy = packetInputStream.readInt(); // 15 Trigger energy range low [keV]
+			int highEnergy = packetInputStream.readInt(); // 16 Trigger energy range high [keV]
+			logger.log("Trigger Energy Range (keV): "+lowEnergy+" - "+highEnergy);
+			int triggerAlgorithm = packetInputStream.readInt(); // 17 Trigger algorithm index
+			logger.log("Trigger Algorithm: "+triggerAlgorithm);
+			int triggerId = packetInputStream.readInt(); // 18 Trigger id flags
+			logger.log("Trigger Id : 0x"+Integer.toHexString(triggerId));
+			if((triggerId & (1<<5)) > 0)
+				logger.log("Trigger Id:Ground: This is NOT a GRB (ground retraction).");
+			int misc = packetInputStream.readInt(); // 19 Misc (bitfield)
+			logger.log("Misc Bits : 0x"+Integer.toHexString(misc));
+			int recordSequenceNumber = packetInputStream.readInt(); // 20
+			alertData.setSequenceNumber(recordSequenceNumber);
+			readStuff(21, 38);// 21-38 spare
+			readTerm(); // 39 - TERM.
+		}
+		catch  (Exception e)
+		{
+			logger.error("FERMI GBM ALERT: Error reading: ",e);
+			alertData.setAlertType(0); // ensure this is not propogated as an alert
+		}
+	}
+
+	/**
+	 * Fermi GBM position. This decodes packet types 111 (FERMI_GBM_FLT_POS), 112 (FERMI_GBM_GND_POS),
+	 * 115 (FERMI_GBM_FIN_POS) and 119 (FERMI_GBM_POS_TEST), which share a layout.
+	 * The flight position includes the flight software's classification of the most likely source of the
+	 * trigger, and if this is not a GRB the alert type is cleared, so it is not propogated as an alert.
+	 * 119 is a test packet and is marked as a test.
+	 * Note GBM error boxes are large (the statistical radius given here, plus a few degrees systematic),
+	 * so most will be rejected by the maximum error box filter.
+	 * @param packetType The GBM packet type to decode. One of 111,112,115,119.
+	 * @see #readHdr
+	 * @see #readSod
+	 * @see #readStuff
+	 * @see #readTerm
+	 * @see #packetInputStream
+	 * @see #logger
+	 * @see #alertData
+	 * @see #truncatedJulianDateSecondOfDayToDate
+	 * @see #FERMI_GBM_SOURCE_CLASS_LIST
+	 */
+	public void readFermiGBMGRBPosition(int packetType)
+	{
+		RA ra = null;
+		Dec dec = null;
+		Date burstDate = null;
+
+		try
+		{
+			readHdr(); // 0, 1, 2 - pkt_type, pkt_sernum, pkt_hop_cnt
+			readSod(); // 3
+			int trigNum = packetInputStream.readInt(); // 4 - trig_num (number of seconds since 01/01/2001)
+			logger.log("Trigger No: "+trigNum);
+			alertData.setTriggerNumber(trigNum);
+			alertData.setSequenceNumber(0);
+			//TJD=12640 is 01 Jan 2003
+			int burstTjd = packetInputStream.readInt(); // 5 Burst/Trigger TJD.
+			int burstSod = packetInputStream.readInt(); // 6 Burst/Trigger SOD. (centi-seconds in the day)
+			logger.log("Burst TJD: "+burstTjd+" : "+burstSod+" centi-seconds of day.");
+			burstDate = truncatedJulianDateSecondOfDayToDate(burstTjd,burstSod);
+			logger.log("Burst Date: "+burstDate);
+			alertData.setGRBDate(burstDate);
+			int bra    = packetInputStream.readInt(); // 7 RA(0..359.999)degrees *10000.
+			int bdec   = packetInputStream.readInt(); // 8 Dec(-90..90)degrees *10000.
+			ra = new RA();
+			dec = new Dec();
+			ra.fromRadians(Math.toRadians(((double)bra)/10000.0));
+			dec.fromRadians(Math.toRadians(((double)bdec)/10000.0));
+			// The GBM returns J2000 coordinates.
+			alertData.setRA(ra);
+			alertData.setDec(dec);
+			alertData.setEpoch(2000.0);
+			logger.log("Burst RA: "+ra);
+			logger.log("Burst Dec: "+dec);
+			logger.log("Epoch: "+2000.0);
+			int burstIntensity = packetInputStream.readInt(); // 9 Burst intensity [counts]
+			logger.log("Burst Intensity: "+burstIntensity+" counts.");
+			int dataSignif = packetInputStream.readInt(); // 10 Data significance (sigma *100)
+			logger.log("Data Significance (sigma): "+(((double)dataSignif)/100.0));
+			int burstError = packetInputStream.readInt(); // 11 Burst error degrees (0..180) * 10000)
+			// burst error is the statistical radius in degrees*10000, not including the systematic error
+			alertData.setErrorBoxSize((((double)burstError)*60.0)/10000.0);// in arc-min
+			logger.log("Error Box Radius (arcmin): "+((((double)burstError)*60.0)/10000.0));
+			double phi = ((double)(packetInputStream.readInt()))/100.0; // 12 phi 0..359 * 100 [deg]
+			double theta = ((double)(packetInputStream.readInt()))/100.0; // 13 theta 0..180 * 100 [deg]
+			logger.log("Instrumental Position: theta (angle off boresight(deg)):"+theta);
+			logger.log("Instrumental Position: phi (azimuthal angle (clockwise,deg)):"+phi);
+			int dataTimescale = packetInputStream.readInt(); // 14 Data timescale [msec]
+			logger.log("Data Timescale (msec): "+dataTimescale);
+			int lowEnergy = packetInputStream.readInt(); // 15 Energy range low [keV]
+			int highEnergy = packetInputStream.readInt(); // 16 Energy range high [keV]
+			logger.log("Energy Range (keV): "+lowEnergy+" - "+highEnergy);
+			int locationAlgorithm = packetInputStream.readInt(); // 17 Location algorithm index
+			logger.log("Location Algorithm: "+locationAlgorithm);
+			int triggerId = packetInputStream.readInt(); // 18 Trigger id flags
+			logger.log("Trigger Id : 0x"+Integer.toHexString(triggerId));
+			if((triggerId & (1<<5)) > 0)
+			{
+				logger.log("Trigger Id:Ground: This is NOT a GRB (ground retraction).");
+				alertData.setAlertType(0); // ensure retraction not propogated as an alert.
+			}
+			if((triggerId & (1<<30)) > 0)
+				logger.log("Trigger Id:Ground: This is a test submission.");
+			int misc = packetInputStream.readInt(); // 19 Misc (bitfield)
+			logger.log("Misc Bits : 0x"+Integer.toHexString(misc));
+			if((misc & (1<<13)) > 0)
+				logger.log("Misc: The position is less than 0.3 deg from a bright (M<6.4) star.");
+			int recordSequenceNumber = packetInputStream.readInt(); // 20
+			alertData.setSequenceNumber(recordSequenceNumber);
+			readStuff(21, 22);// 21-22 spare
+			int mostLikely = packetInputStream.readInt(); // 23 Most likely source class / probability
+			int sourceClass = (mostLikely & 0x0000FFFF);
+			int sourceProbability = (mostLikely & 0xFFFF0000) >>> 16; // logical not arithmetic shift
+			if(packetType == GCNPacketType.TYPE_FERMI_GBM_FLT_POS)
+			{
+				logger.log("Most Likely Source: "+getFermiGBMSourceClass(sourceClass)+" ("+
+					   sourceProbability+"%).");
+				if(sourceClass != FERMI_GBM_SOURCE_CLASS_GRB)
+				{
+					logger.log("Most Likely Source is not a GRB.");
+					alertData.setAlertType(0); // ensure this is not propogated as an alert
+				}
+			}
+			readStuff(24, 38);// 24-38 spare
+			readTerm(); // 39 - TERM.
+			if(packetType == GCNPacketType.TYPE_FERMI_GBM_POS_TEST)
+			{
+				alertData.setAlertType(0); // TEST packet - not a real GRB
+				alertData.setTest(true);
+			}
+		}
+		catch  (Exception e)
+		{
+			logger.error("FERMI GBM GRB POSITION: Error reading: ",e);
+			alertData.setAlertType(0); // ensure this is not propogated as an alert
+		}
+	}
+
+	/**
+	 * Return a descriptive name for a Fermi GBM flight software source classification.
+	 * @param sourceClass The source class (word 23 of a FERMI_GBM_FLT_POS packet).
+	 * @return The name, or CLASS-&lt;sourceClass&gt; if it is not known.
+	 * @see #FERMI_GBM_SOURCE_CLASS_LIST
+	 */
+	protected String getFermiGBMSourceClass(int sourceClass)
+	{
+		if((sourceClass >= 0)&&(sourceClass < FERMI_GBM_SOURCE_CLASS_LIST.length))
+			return FERMI_GBM_SOURCE_CLASS_LIST[sourceClass];
+		return "CLASS-"+sourceClass;
+	}
+
+	/**
+	 * Fermi LAT GRB position update (Type 121,FERMI_LAT_GRB_POS_UPD).
+	 * @see #readHdr
+	 * @see #readSod
+	 * @see #readStuff
+	 * @see #readTerm
+	 * @see #packetInputStream
+	 * @see #logger
+	 * @see #alertData
+	 * @see #truncatedJulianDateSecondOfDayToDate
+	 */
+	public void readFermiLATGRBPosition()
+	{
+		RA ra = null;
+		Dec dec = null;
+		Date burstDate = null;
+
+		try
+		{
+			readHdr(); // 0, 1, 2 - pkt_type, pkt_sernum, pkt_hop_cnt
+			readSod(); // 3
+			int trigNum = packetInputStream.readInt(); // 4 - trig_num (number of seconds since 01/01/2001)
+			logger.log("Trigger No: "+trigNum);
+			alertData.setTriggerNumber(trigNum);
+			alertData.setSequenceNumber(0);
+			//TJD=12640 is 01 Jan 2003
+			int burstTjd = packetInputStream.readInt(); // 5 Burst/Trigger TJD.
+			int burstSod = packetInputStream.readInt(); // 6 Burst/Trigger SOD. (centi-seconds in the day)
+			logger.log("Burst TJD: "+burstTjd+" : "+burstSod+" centi-seconds of day.");
+			burstDate = truncatedJulianDateSecondOfDayToDate(burstTjd,burstSod);
+			logger.log("Burst Date: "+burstDate);
+			alertData.setGRBDate(burstDate);
+			int bra    = packetInputStream.readInt(); // 7 RA(0..359.999)degrees *10000.
+			int bdec   = packetInputStream.readInt(); // 8 Dec(-90..90)degrees *10000.
+			ra = new RA();
+			dec = new Dec();
+			ra.fromRadians(Math.toRadians(((double)bra)/10000.0));
+			dec.fromRadians(Math.toRadians(((double)bdec)/10000.0));
+			// The LAT returns J2000 coordinates.
+			alertData.setRA(ra);
+			alertData.setDec(dec);
+			alertData.setEpoch(2000.0);
+			logger.log("Burst RA: "+ra);
+			logger.log("Burst Dec: "+dec);
+			logger.log("Epoch: "+2000.0);
+			int burstIntensity = packetInputStream.readInt(); // 9 Num events used in location calc[counts]
+			logger.log("Burst Intensity: "+burstIntensity+" counts.");
+			// 10 event counts in 4 energy bands.
+			// All these ints are actually unsigned (which Java doesn't support!)
+			int burstIntensity4 = packetInputStream.readInt(); 
+			int burstIntensity0 = burstIntensity4 & 0x000000FF;
+			int burstIntensity1 = (burstIntensity4 & 0x0000FF00) >> 8;
+			int burstIntensity2 = (burstIntensity4 & 0x00FF0000) >> 16;
+			int burstIntensity3 = (burstIntensity4 & 0xFF000000) >>> 24;
+			logger.log("Burst Intensity: 0-100MeV   : "+burstIntensity0+" counts.");
+			logger.log("Burst Intensity: 100MeV-1GeV: "+burstIntensity1+" counts.");
+			logger.log("Burst Intensity: 1GeV-10GeV : "+burstIntensity2+" counts.");
+			logger.log("Burst Intensity: >10GeV     : "+burstIntensity3+" counts.");
+			int burstError = packetInputStream.readInt(); // 11 Burst error degrees (0..180) * 10000)
+			// burst error is radius of circle in degrees*10000 containing TBD% of bursts!
+			alertData.setErrorBoxSize((((double)burstError)*60.0)/10000.0);// in arc-min
+			logger.log("Error Box Radius (arcmin): "+((((double)burstError)*60.0)/10000.0));
+			double phi = ((double)(packetInputStream.readInt()))/100.0; // 12 phi 0..359 * 100 [deg]
+			double theta = ((double)(packetInputStream.readInt()))/100.0; // 13 theta 0..100 * 100 [deg]
+			logger.log("Instrumental Position: theta (angle off boresight(deg)):"+theta);
+			logger.log("Instrumental Position: phi (azimuthal angle (clockwise,deg)):"+phi);
+			int integrationTime = packetInputStream.readInt(); // 14 Integration time [msec]
+			logger.log("Integration time (msec):"+integrationTime);
+			readStuff(15, 16);// 15-16 spare x 2
+			int triggerIndex = packetInputStream.readInt(); // 17 Trigger Index
+			logger.log("Trigger Index:"+triggerIndex);
+			int triggerId = packetInputStream.readInt(); // 18
+			if((triggerId & (1<<0)) > 0)
+				logger.log("Starting location was LAT");
+			else
+				logger.log("Starting location was GBM");
+			if((triggerId & (1<<1)) > 0)
+				logger.log("Only Gammas above a cut used in the location method.");
+			else
+				logger.log("All Gammas used in the location method.");
+			if((triggerId & (1<<5)) > 0)
+				logger.log("Ground: Definately not a GRB (retraction).");
+			if((triggerId & (1<<28)) > 0)
+				logger.log("Ground: There was a spatial coincidence with another event.");
+			if((triggerId & (1<<29)) > 0)
+				logger.log("Ground: There was a temporal coincidence with another event.");
 			int misc = packetInputStream.readInt(); // 19
 			if((misc & (1<<0)) > 0)
 				logger.log("A repoint request was made to the spacecraft.");
@@ -2265,561 +3469,1743 @@ public class GCNDatagramScriptStarter implements Runnable
 				logger.log("Position is (nearly) inside an NGC galaxy.");
 			if((misc & (1<<15)) > 0)
 				logger.log("Galaxy in (nearly) inside the Position error box.");
-			readStuff(20, 25);// 20-25 spare x 6
-			int significance = packetInputStream.readInt(); // 26 (int)(sqrt(TS)*100)
-			logger.log("Significance:"+significance);
-			int eventCounts0 = packetInputStream.readInt(); // 27 Evt_cnts in the 0.1-1.0 GeV band
-			logger.log("Event Counts in 0.1-1.0 GeV band:"+eventCounts0);
-			int eventCounts1 = packetInputStream.readInt(); // 28 Evt_cnts in the 1.0-10 GeV band
-			logger.log("Event Counts in 1.0-10 GeV band:"+eventCounts1);
-			int eventCounts2 = packetInputStream.readInt(); // 29 Evt_cnts in the 10-inf GeV band
-			logger.log("Event Counts in 10-inf GeV band:"+eventCounts2);
-			readStuff(30, 38);// 30-38 spare x 9
-			readTerm(); // 39 - TERM.
-		}
-		catch  (Exception e)
-		{
-			logger.error("FERMI LAT Ground POSITION: Error reading: ",e);
-			alertData.setAlertType(0); // ensure this is not propogated as an alert
+			int recordSequenceNumber = packetInputStream.readInt(); // 20
+			alertData.setSequenceNumber(recordSequenceNumber);
+			readStuff(21, 24);// 21-24 spare x 4
+			int tempStat = packetInputStream.readInt(); // 25 (int)(4*(-log10(probability)))
+			logger.log("Temporal Test Statistic(>120 is a real GRB):"+tempStat);
+			int imageStat = packetInputStream.readInt(); // 26 (int)(4*(-log10(probability)))
+			logger.log("Image Test Statistic(>120 is a real GRB):"+imageStat);
+			readStuff(27, 30);// 27-30 spare x 4
+			readStuff(31, 34);// 31-24 First and last photon timestamps
+			readStuff(35, 36);// 35-36 spare x 2
+			// 37 This MIGHT be the burst id (documentation unclear)
+			int burstId = packetInputStream.readInt(); 
+			// 38 quality of location (0-1*10000)
+			double locationQuality = ((double)(packetInputStream.readInt()))/10000; 
+			logger.log("Quality of Location(0..1):"+locationQuality);
+			readTerm(); // 39 - TERM.
+		}
+		catch  (Exception e)
+		{
+			logger.error("FERMI LAT GRB POSITION: Error reading: ",e);
+			alertData.setAlertType(0); // ensure this is not propogated as an alert
+		}
+	}
+
+	/**
+	 * Fermi LAT GRB position update TEST packet (Type 124,FERMI_LAT_GRB_POS_TEST).
+	 * This is a TEST packet, and does not represent a real GRB. Therefire ensure alertData
+	 * is not setup, but log contents for testing purposes.
+	 * @see #readHdr
+	 * @see #readSod
+	 * @see #readStuff
+	 * @see #readTerm
+	 * @see #packetInputStream
+	 * @see #logger
+	 * @see #alertData
+	 * @see #truncatedJulianDateSecondOfDayToDate
+	 */
+	public void readFermiLATGRBPositionTest()
+	{
+		RA ra = null;
+		Dec dec = null;
+		Date burstDate = null;
+
+		try
+		{
+			readHdr(); // 0, 1, 2 - pkt_type, pkt_sernum, pkt_hop_cnt
+			readSod(); // 3
+			int trigNum = packetInputStream.readInt(); // 4 - trig_num (number of seconds since 01/01/2001)
+			logger.log("Trigger No: "+trigNum);
+			alertData.setTriggerNumber(trigNum);
+			alertData.setSequenceNumber(0);
+			//TJD=12640 is 01 Jan 2003
+			int burstTjd = packetInputStream.readInt(); // 5 Burst/Trigger TJD.
+			int burstSod = packetInputStream.readInt(); // 6 Burst/Trigger SOD. (centi-seconds in the day)
+			logger.log("Burst TJD: "+burstTjd+" : "+burstSod+" centi-seconds of day.");
+			burstDate = truncatedJulianDateSecondOfDayToDate(burstTjd,burstSod);
+			logger.log("Burst Date: "+burstDate);
+			alertData.setGRBDate(burstDate);
+			int bra    = packetInputStream.readInt(); // 7 RA(0..359.999)degrees *10000.
+			int bdec   = packetInputStream.readInt(); // 8 Dec(-90..90)degrees *10000.
+			ra = new RA();
+			dec = new Dec();
+			ra.fromRadians(Math.toRadians(((double)bra)/10000.0));
+			dec.fromRadians(Math.toRadians(((double)bdec)/10000.0));
+			// The LAT returns J2000 coordinates.
+			alertData.setRA(ra);
+			alertData.setDec(dec);
+			alertData.setEpoch(2000.0);
+			logger.log("Burst RA: "+ra);
+			logger.log("Burst Dec: "+dec);
+			logger.log("Epoch: "+2000.0);
+			int burstIntensity = packetInputStream.readInt(); // 9 Num events used in location calc[counts]
+			logger.log("Burst Intensity: "+burstIntensity+" counts.");
+			// 10 event counts in 4 energy bands.
+			// All these ints are actually unsigned (which Java doesn't support!)
+			int burstIntensity4 = packetInputStream.readInt(); 
+			int burstIntensity0 = burstIntensity4 & 0x000000FF;
+			int burstIntensity1 = (burstIntensity4 & 0x0000FF00) >>> 8; // logical not arithmetic shift
+			int burstIntensity2 = (burstIntensity4 & 0x00FF0000) >>> 16;// logical not arithmetic shift
+			int burstIntensity3 = (burstIntensity4 & 0xFF000000) >>> 24;// logical not arithmetic shift
+			logger.log("Burst Intensity: 0-100MeV   : "+burstIntensity0+" counts.");
+			logger.log("Burst Intensity: 100MeV-1GeV: "+burstIntensity1+" counts.");
+			logger.log("Burst Intensity: 1GeV-10GeV : "+burstIntensity2+" counts.");
+			logger.log("Burst Intensity: >10GeV     : "+burstIntensity3+" counts.");
+			int burstError = packetInputStream.readInt(); // 11 Burst error degrees (0..180) * 10000)
+			// burst error is radius of circle in degrees*10000 containing TBD% of bursts!
+			alertData.setErrorBoxSize((((double)burstError)*60.0)/10000.0);// in arc-min
+			logger.log("Error Box Radius (arcmin): "+((((double)burstError)*60.0)/10000.0));
+			double phi = ((double)(packetInputStream.readInt()))/100.0; // 12 phi 0..359 * 100 [deg]
+			double theta = ((double)(packetInputStream.readInt()))/100.0; // 13 theta 0..100 * 100 [deg]
+			logger.log("Instrumental Position: theta (angle off boresight(deg)):"+theta);
+			logger.log("Instrumental Position: phi (azimuthal angle (clockwise,deg)):"+phi);
+			int integrationTime = packetInputStream.readInt(); // 14 Integration time [msec]
+			logger.log("Integration time (msec):"+integrationTime);
+			readStuff(15, 16);// 15-16 spare x 2
+			int triggerIndex = packetInputStream.readInt(); // 17 Trigger Index
+			logger.log("Trigger Index:"+triggerIndex);
+			int triggerId = packetInputStream.readInt(); // 18
+			if((triggerId & (1<<0)) > 0)
+				logger.log("Starting location was LAT");
+			else
+				logger.log("Starting location was GBM");
+			if((triggerId & (1<<1)) > 0)
+				logger.log("Only Gammas above a cut used in the location method.");
+			else
+				logger.log("All Gammas used in the location method.");
+			if((triggerId & (1<<5)) > 0)
+				logger.log("Ground: Definately not a GRB (retraction).");
+			if((triggerId & (1<<28)) > 0)
+				logger.log("Ground: There was a spatial coincidence with another event.");
+			if((triggerId & (1<<29)) > 0)
+				logger.log("Ground: There was a temporal coincidence with another event.");
+			int misc = packetInputStream.readInt(); // 19
+			if((misc & (1<<0)) > 0)
+				logger.log("A repoint request was made to the spacecraft.");
+			if((misc & (1<<11)) > 0)
+				logger.log("RA and/or Dec value is out of range.");
+			if((misc & (1<<13)) > 0)
+				logger.log("Position is less than 0.3deg from a bright star (M<6.5).");
+			if((misc & (1<<14)) > 0)
+				logger.log("Position is (nearly) inside an NGC galaxy.");
+			if((misc & (1<<15)) > 0)
+				logger.log("Galaxy in (nearly) inside the Position error box.");
+			int recordSequenceNumber = packetInputStream.readInt(); // 20
+			alertData.setSequenceNumber(recordSequenceNumber);
+			readStuff(21, 24);// 21-24 spare x 4
+			int tempStat = packetInputStream.readInt(); // 25 (int)(4*(-log10(probability)))
+			logger.log("Temporal Test Statistic(>120 is a real GRB):"+tempStat);
+			int imageStat = packetInputStream.readInt(); // 26 (int)(4*(-log10(probability)))
+			logger.log("Image Test Statistic(>120 is a real GRB):"+imageStat);
+			readStuff(27, 37);// 27-37 spare x 11
+			// 38 quality of location (0-1*10000)
+			double locationQuality = ((double)(packetInputStream.readInt()))/10000; 
+			logger.log("Quality of Location(0..1):"+locationQuality);
+			readTerm(); // 39 - TERM.
+		}
+		catch  (Exception e)
+		{
+			logger.error("FERMI LAT GRB POSITION TEST: Error reading: ",e);
+		}
+	}
+
+	/**
+	 * Fermi LAT ground position update (Type 127,FERMI_LAT_GND).
+	 * @see #readHdr
+	 * @see #readSod
+	 * @see #readStuff
+	 * @see #readTerm
+	 * @see #packetInputStream
+	 * @see #logger
+	 * @see #alertData
+	 * @see #truncatedJulianDateSecondOfDayToDate
+	 */
+	public void readFermiLATGNDPosition()
+	{
+		RA ra = null;
+		Dec dec = null;
+		Date burstDate = null;
+
+		try
+		{
+			readHdr(); // 0, 1, 2 - pkt_type, pkt_sernum, pkt_hop_cnt
+			readSod(); // 3
+			int trigNum = packetInputStream.readInt(); // 4 - trig_num (number of seconds since 01/01/2001)
+			logger.log("Trigger No: "+trigNum);
+			alertData.setTriggerNumber(trigNum);
+			alertData.setSequenceNumber(0);
+			//TJD=12640 is 01 Jan 2003
+			int burstTjd = packetInputStream.readInt(); // 5 Burst/Trigger TJD.
+			int burstSod = packetInputStream.readInt(); // 6 Burst/Trigger SOD. (centi-seconds in the day)
+			logger.log("Burst TJD: "+burstTjd+" : "+burstSod+" centi-seconds of day.");
+			burstDate = truncatedJulianDateSecondOfDayToDate(burstTjd,burstSod);
+			logger.log("Burst Date: "+burstDate);
+			alertData.setGRBDate(burstDate);
+			int bra    = packetInputStream.readInt(); // 7 RA(0..359.999)degrees *10000.
+			int bdec   = packetInputStream.readInt(); // 8 Dec(-90..90)degrees *10000.
+			ra = new RA();
+			dec = new Dec();
+			ra.fromRadians(Math.toRadians(((double)bra)/10000.0));
+			dec.fromRadians(Math.toRadians(((double)bdec)/10000.0));
+			// The LAT returns J2000 coordinates.
+			alertData.setRA(ra);
+			alertData.setDec(dec);
+			alertData.setEpoch(2000.0);
+			logger.log("Burst RA: "+ra);
+			logger.log("Burst Dec: "+dec);
+			logger.log("Epoch: "+2000.0);
+			int burstIntensity = packetInputStream.readInt(); // 9 Num events used in location calc[counts]
+			logger.log("Burst Intensity: "+burstIntensity+" counts.");
+			readStuff(10, 10); // 10 spare
+			int burstError = packetInputStream.readInt(); // 11 Burst error degrees (0..180) * 10000)
+			// burst error is radius of circle in degrees*10000 containing TBD% of bursts!
+			alertData.setErrorBoxSize((((double)burstError)*60.0)/10000.0);// in arc-min
+			logger.log("Error Box Radius (arcmin): "+((((double)burstError)*60.0)/10000.0));
+			double phi = ((double)(packetInputStream.readInt()))/100.0; // 12 phi 0..359 * 100 [deg]
+			double theta = ((double)(packetInputStream.readInt()))/100.0; // 13 theta 0..100 * 100 [deg]
+			logger.log("Instrumental Position: theta (angle off boresight(deg)):"+theta);
+			logger.log("Instrumental Position: phi (azimuthal angle (clockwise,deg)):"+phi);
+			readStuff(14, 17);// 14-17 spare x 4
+			int triggerId = packetInputStream.readInt(); // 18
+			if((triggerId & (1<<0)) > 0)
+				logger.log("Starting location was LAT");
+			else
+				logger.log("Starting location was GBM");
+			if((triggerId & (1<<1)) > 0)
+				logger.log("Only Gammas above a cut used in the location method.");
+			else
+				logger.log("All Gammas used in the location method.");
+			if((triggerId & (1<<5)) > 0)
+				logger.log("Ground: Definately not a GRB (retraction).");
+			if((triggerId & (1<<28)) > 0)
+				logger.log("Ground: There was a spatial coincidence with another event.");
+			if((triggerId & (1<<29)) > 0)
+				logger.log("Ground: There was a temporal coincidence with another event.");
+			int misc = packetInputStream.readInt(); // 19
+			if((misc & (1<<0)) > 0)
+				logger.log("A repoint request was made to the spacecraft.");
+			if((misc & (1<<11)) > 0)
+				logger.log("RA and/or Dec value is out of range.");
+			if((misc & (1<<13)) > 0)
+				logger.log("Position is less than 0.3deg from a bright star (M<6.5).");
+			if((misc & (1<<14)) > 0)
+				logger.log("Position is (nearly) inside an NGC galaxy.");
+			if((misc & (1<<15)) > 0)
+				logger.log("Galaxy in (nearly) inside the Position error box.");
+			readStuff(20, 25);// 20-25 spare x 6
+			int significance = packetInputStream.readInt(); // 26 (int)(sqrt(TS)*100)
+			logger.log("Significance:"+significance);
+			int eventCounts0 = packetInputStream.readInt(); // 27 Evt_cnts in the 0.1-1.0 GeV band
+			logger.log("Event Counts in 0.1-1.0 GeV band:"+eventCounts0);
+			int eventCounts1 = packetInputStream.readInt(); // 28 Evt_cnts in the 1.0-10 GeV band
+			logger.log("Event Counts in 1.0-10 GeV band:"+eventCounts1);
+			int eventCounts2 = packetInputStream.readInt(); // 29 Evt_cnts in the 10-inf GeV band
+			logger.log("Event Counts in 10-inf GeV band:"+eventCounts2);
+			readStuff(30, 38);// 30-38 spare x 9
+			readTerm(); // 39 - TERM.
+		}
+		catch  (Exception e)
+		{
+			logger.error("FERMI LAT Ground POSITION: Error reading: ",e);
+			alertData.setAlertType(0); // ensure this is not propogated as an alert
+		}
+	}
+
+	/**
+	 * Return a Java Date for the specified input fields.
+	 * @param tjd Truncated Julian Date, TJD=12640 is 01 Jan 2003.
+	 * @param sod Actually centi-seconds in the day, (seconds * 100).
+	 * @return The Date.
+	 * @exception ParseException Thrown if the TJD start date cannot be parsed.
+	 */
+	protected Date truncatedJulianDateSecondOfDayToDate(int tjd,int sod) throws ParseException
+	{
+		DateFormat dateFormat = null;
+		TimeZone timeZone = null;
+		Date date = null;
+		int tjdFrom2003;
+		long millis;
+
+		dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss");
+		timeZone = TimeZone.getTimeZone("GMT+0");
+		dateFormat.setTimeZone(timeZone);
+		// set tjdStartDate to 1st Jan 2003 (TJD 12640) GMT
+		date = dateFormat.parse("2003-01-01T00:00:00");
+		// get number of days from 1st Jan 2003 for tjd
+		tjdFrom2003 = tjd-12640;
+		// get number of millis from 1st Jan 2003 for tjd
+		millis = ((long)tjdFrom2003)*86400000L; // 60*60*24*1000 = 86400000;
+		// get number of millis from 1st Jan 1970 (Date EPOCH) for tjd
+		millis = millis+date.getTime();
+		// add sod to millis to get date millis from 1st Jan 1970 GMT
+		// Note sod is in centoseconds
+		millis = millis+(((long)sod)*10L);
+		// set date time to this number of millis
+		date.setTime(millis);
+		return date;
+	}
+
+	/**
+	 * Method to start a control server thread. The control server carries out the commands
+	 * with controlWorkerCount worker threads, by calling doControlCommand.
+	 * @see GCNControlServer
+	 * @see #controlServer
+	 * @see #controlServerPort
+	 * @see #controlWorkerCount
+	 * @see #doControlCommand
+	 */
+	protected void startControlServerThread()
+	{
+		Thread t = null;
+
+		controlServer = new GCNControlServer(this,controlServerPort)
+		{
+			protected void error(String message,Exception e)
+			{
+				logger.error(message,e);
+			}
+		};
+		controlServer.setWorkerCount(controlWorkerCount);
+		t = new Thread(controlServer);
+		t.start();
+	}
+
+	/**
+	 * Start a thread that logs a snapshot of the metrics registry every metricsInterval milliseconds.
+	 * @see #metricsInterval
+	 * @see GCNMetricsReporter
+	 */
+	protected void startMetricsReporterThread()
+	{
+		Thread t = null;
+
+		t = new Thread(new GCNMetricsReporter(GCNMetricsRegistry.getDefault(),metricsInterval)
+		{
+			protected void report(String line)
+			{
+				logger.log("metrics:"+line);
+			}
+		});
+		t.setDaemon(true);
+		t.start();
+	}
+
+	/**
+	 * Start a thread that serves the metrics registry over HTTP, on metricsHttpPort.
+	 * @see #metricsHttpPort
+	 * @see GCNMetricsHttpServer
+	 */
+	protected void startMetricsHttpServerThread()
+	{
+		Thread t = null;
+
+		t = new Thread(new GCNMetricsHttpServer(GCNMetricsRegistry.getDefault(),metricsHttpPort)
+		{
+			protected void error(String message,Exception e)
+			{
+				logger.error(message,e);
+			}
+		});
+		t.setDaemon(true);
+		t.start();
+	}
+
+	/**
+	 * Create the VOEvent parser, and start a VOEvent server thread (if voeventPort is set) and a
+	 * VOEvent directory thread (if voeventDirectory is set).
+	 * @exception Exception Thrown if the parser cannot be created.
+	 * @see #voeventParser
+	 * @see #voeventPort
+	 * @see #voeventDirectory
+	 * @see GCNDatagramScriptStarter.VOEventServerThread
+	 * @see GCNDatagramScriptStarter.VOEventDirectoryThread
+	 */
+	protected void startVOEventThreads() throws Exception
+	{
+		Thread t = null;
+
+		voeventParser = new GCNVOEventParser();
+		if(voeventPort > 0)
+		{
+			t = new Thread(new VOEventServerThread());
+			t.setDaemon(true);
+			t.start();
+		}
+		if(voeventDirectory != null)
+		{
+			t = new Thread(new VOEventDirectoryThread());
+			t.setDaemon(true);
+			t.start();
+		}
+	}
+
+	/**
+	 * Create the alert emitter, in emitFormat, sending accepted alerts to subscribers on emitPort,
+	 * the spool directory emitDirectory, and the multicast group emitMulticastAddress:emitMulticastPort,
+	 * for those that are set.
+	 * @exception Exception Thrown if the format is not known, or an output cannot be opened.
+	 * @see #alertEmitter
+	 * @see #emitFormat
+	 * @see #emitPort
+	 * @see #emitDirectory
+	 * @see #emitMulticastAddress
+	 * @see #emitMulticastPort
+	 */
+	protected void startAlertEmitter() throws Exception
+	{
+		GCNAlertEmitter emitter = null;
+
+		emitter = new GCNAlertEmitter()
+		{
+			protected void error(String message,Exception e)
+			{
+				logger.error(message,e);
+			}
+		};
+		emitter.setFormat(emitFormat);
+		if(emitPort > 0)
+			emitter.startSubscriberServer(emitPort);
+		if(emitDirectory != null)
+			emitter.setSpoolDirectory(emitDirectory);
+		if(emitMulticastAddress != null)
+			emitter.setMulticast(emitMulticastAddress,emitMulticastPort);
+		alertEmitter = emitter;
+	}
+
+	/**
+	 * Create the pre-slew handler, which calls startPrepareScript as soon as the first (early) notice
+	 * for a trigger arrives. Notices older than maxPropogationDelay are ignored.
+	 * @see #preSlewHandler
+	 * @see #prepareScript
+	 * @see #startPrepareScript
+	 * @see #maxPropogationDelay
+	 */
+	protected void startPreSlewHandler()
+	{
+		GCNPreSlewHandler handler = null;
+
+		handler = new GCNPreSlewHandler()
+		{
+			protected void prepare(int packetType,int mission,GCNDatagramAlertData noticeAlertData)
+				throws Exception
+			{
+				startPrepareScript(packetType,mission,noticeAlertData);
+			}
+		};
+		handler.setMaxAge(maxPropogationDelay);
+		preSlewHandler = handler;
+	}
+
+	/**
+	 * Method to call the prepare script. The script is started with parameters as follows:
+	 * <pre>
+	 * -&lt;mission&gt; -trigger_number &lt;tnum&gt; -sequence_number &lt;snum&gt; -packet_type &lt;type&gt; [-grb_date &lt;date&gt;] [-ra &lt;ra&gt; -dec &lt;dec&gt; -epoch &lt;epoch&gt;] [-slew_date &lt;date&gt;]
+	 * </pre>
+	 * The RA and Dec are only given when the notice has a position (e.g. the SC_SLEW target), and the slew date
+	 * is only given for SC_SLEW notices. A script thread is started to monitor the spawned script process.
+	 * Must be called whilst holding alertDataLock.
+	 * @param packetType The notice's packet type.
+	 * @param mission The trigger's mission (alert type).
+	 * @param noticeAlertData The decoded notice.
+	 * @see #prepareScript
+	 * @see #alertDateFormat
+	 * @see GCNDatagramScriptStarter.ScriptThread
+	 */
+	protected void startPrepareScript(int packetType,int mission,GCNDatagramAlertData noticeAlertData)
+		throws Exception
+	{
+		StringBuffer execString = null;
+		ScriptThread scriptThread = null;
+		Thread thread = null;
+		Process process = null;
+
+		execString = new StringBuffer();
+		execString.append(prepareScript+" -"+GCNDatagramAlertData.getAlertTypeString(mission)+
+				  " -trigger_number "+noticeAlertData.getTriggerNumber()+
+				  " -sequence_number "+noticeAlertData.getSequenceNumber()+
+				  " -packet_type "+GCNPacketType.getName(packetType));
+		if(noticeAlertData.getGRBDate() != null)
+			execString.append(" -grb_date "+alertDateFormat.format(noticeAlertData.getGRBDate()));
+		if((noticeAlertData.getRA() != null)&&(noticeAlertData.getDec() != null))
+		{
+			execString.append(" -ra "+noticeAlertData.getRA()+" -dec "+noticeAlertData.getDec()+
+					  " -epoch "+noticeAlertData.getEpoch());
+		}
+		if(noticeAlertData.getSlewDate() != null)
+			execString.append(" -slew_date "+alertDateFormat.format(noticeAlertData.getSlewDate()));
+		logger.log("startPrepareScript: Executing:"+execString.toString());
+		process = Runtime.getRuntime().exec(execString.toString());
+		addRunningScriptCount(1);
+		scriptThread = new ScriptThread(process);
+		scriptThread.setTriggerNumber(noticeAlertData.getTriggerNumber());
+		thread = new Thread(scriptThread);
+		thread.start();
+	}
+
+	/**
+	 * Parse a VOEvent document into the alert data, and pass it through the same alert filter as the
+	 * binary datagrams (processAlert). This is done whilst holding alertDataLock.
+	 * @param document The VOEvent document.
+	 * @param receiveTime When the document was received, in milliseconds since the epoch.
+	 * @exception Exception Thrown if the document cannot be parsed, or startScript fails.
+	 * @see #voeventParser
+	 * @see #processAlert
+	 */
+	protected void processVOEvent(byte document[],long receiveTime) throws Exception
+	{
+		long decodeStartTime;
+
+		GCNEventRecorder.getDefault().record(GCNEventRecorder.EVENT_PACKET_RECEIVED,-1,-1,-1,-1,"voevent");
+		logger.log(this.getClass().getName()+":processVOEvent:Acquiring alert data lock.");
+		synchronized(alertDataLock)
+		{
+			decodeStartTime = System.currentTimeMillis();
+			fomObservationRequested = true;
+			alertData = voeventParser.parse(new ByteArrayInputStream(document));
+			logger.log("VOEvent:"+voeventParser.getIvorn()+":role:"+voeventParser.getRole()+
+				   ":packet type:"+voeventParser.getPacketType()+":importance:"+
+				   voeventParser.getImportance()+":concept:"+voeventParser.getConcept());
+			logger.log(alertData.toString());
+			processAlert("voevent",voeventParser.getPacketType(),
+				     GCNPacketType.isFermiGBMPosition(voeventParser.getPacketType()),receiveTime,
+				     decodeStartTime);
+		}
+		logger.log(this.getClass().getName()+":processVOEvent:Released alert data lock.");
+	}
+
+	/**
+	 * Start a JSON notice server thread (if jsonNoticePort is set), and a thread reading JSON notices
+	 * from jsonNoticeFile (if it is set).
+	 * @exception Exception Thrown if the file cannot be opened.
+	 * @see #jsonNoticePort
+	 * @see #jsonNoticeFile
+	 * @see GCNDatagramScriptStarter.JSONNoticeServerThread
+	 * @see GCNDatagramScriptStarter.JSONNoticeReaderThread
+	 */
+	protected void startJSONNoticeThreads() throws Exception
+	{
+		Reader reader = null;
+		Thread t = null;
+
+		if(jsonNoticePort > 0)
+		{
+			t = new Thread(new JSONNoticeServerThread());
+			t.setDaemon(true);
+			t.start();
+		}
+		if(jsonNoticeFile != null)
+		{
+			if(jsonNoticeFile.equals("-"))
+				reader = new InputStreamReader(System.in,"UTF-8");
+			else
+				reader = new InputStreamReader(new FileInputStream(jsonNoticeFile),"UTF-8");
+			t = new Thread(new JSONNoticeReaderThread(new BufferedReader(reader),jsonNoticeFile));
+			t.setDaemon(true);
+			t.start();
+		}
+	}
+
+	/**
+	 * Pass an alert parsed from a JSON notice through the same alert filter as the binary datagrams
+	 * (processAlert). This is done whilst holding alertDataLock. Retractions are recorded in the alert
+	 * history, but not filtered.
+	 * @param parser The parser the notice was parsed with.
+	 * @param noticeAlertData The alert data parsed from the notice.
+	 * @exception Exception Thrown if startScript fails.
+	 * @see #processAlert
+	 */
+	protected void processJSONNotice(GCNJSONNoticeParser parser,GCNDatagramAlertData noticeAlertData)
+		throws Exception
+	{
+		GCNEventRecorder.getDefault().record(GCNEventRecorder.EVENT_PACKET_RECEIVED,-1,-1,-1,-1,"json");
+		logger.log(this.getClass().getName()+":processJSONNotice:Acquiring alert data lock.");
+		synchronized(alertDataLock)
+		{
+			alertData = noticeAlertData;
+			logger.log("JSON notice:"+parser.getSchema()+":instrument:"+parser.getInstrument()+
+				   ":trigger id:"+parser.getTriggerId()+":retraction:"+parser.isRetraction());
+			logger.log(alertData.toString());
+			if(parser.isRetraction())
+			{
+				logger.log(this.getClass().getName()+":processJSONNotice:Retraction not filtered.");
+				alertHistory.record(parser.getStartTime(),"json",alertData,"retraction");
+			}
+			else
+			{
+				processAlert("json",-1,(alertData.getAlertType() == GCNDatagramAlertData.ALERT_TYPE_FERMI)&&
+					     "GBM".equalsIgnoreCase(parser.getInstrument()),parser.getStartTime(),
+					     parser.getStartTime());
+			}
+		}
+		logger.log(this.getClass().getName()+":processJSONNotice:Released alert data lock.");
+	}
+
+	/**
+	 * Method to perform a command send over the control socket.
+	 * The following commands are supported:
+	 * <pre>
+	 * disable [all|socket|manual|status]
+	 * enable [all|socket|manual|status]
+	 * gamma_ray_burst_alert -ra &lt;ra&gt; -dec &lt;dec&gt; -epoch &lt;epoch&gt; -error_box &lt;error_box&gt; -trigger_number &lt;n&gt; -sequence_number &lt;n&gt; -grb_date &lt;date&gt; -notice_date &lt;date&gt; -HETE -SWIFT -INTEGRAL -test [-filter] [-dry_run]
+	 * gamma_ray_burst_alert_batch [-filter] [-dry_run] &lt;filename&gt;
+	 * help
+	 * metrics [json]
+	 * events [on|off|&lt;n&gt;|dump &lt;filename&gt;]
+	 * history [&lt;n&gt;]
+	 * trigger &lt;n&gt;
+	 * since &lt;date&gt;|&lt;n&gt;[s|m|h|d]
+	 * mission &lt;mission&gt; [&lt;n&gt;]
+	 * quit
+	 * test
+	 * </pre>
+	 * The metrics command returns the metrics registry in the Prometheus text format, or as JSON.
+	 * The events command turns the event recorder on or off, returns the last n (default 100) recorded events,
+	 * or writes all the recorded events to a file.
+	 * The history, trigger, since and mission commands query the alert history (see doAlertHistoryControlCommand).
+	 * The control server also supports the persistent and close commands, to send many commands over one
+	 * connection (see GCNControlServer).
+	 * Dates specified in the form: yyyy-MM-dd'T'HH:mm:ss.
+	 * -ra specified as HH:MM:SS.ss.
+	 * -dec specified as [+|-]DD:MM:SS.ss.
+	 * -error_box specified as a radius in decimal arc-minutes.
+	 * @param args An array of string containing the command name, and it's arguments.
+	 * @return A string, containing the return string to send back over the control socket to the connected
+	 *         client.
+	 * @see #doGammaRayBurstAlertControlCommand
+	 * @see #doGammaRayBurstAlertBatchControlCommand
+	 * @see #quit
+	 * @see GCNMetricsExporter
+	 * @see #doEventsControlCommand
+	 * @see #doAlertHistoryControlCommand
+	 * @see GCNControlServer
+	 */
+	public String doControlCommand(String args[])
+	{
+		try
+		{
+			if(args.length < 1)
+			{
+				return new String("No command specified.\n");
+			}
+			if(args[0].equals("disable"))
+			{
+				if(args.length == 1)
+				{
+					enableSocketAlerts = false;
+					enableManualAlerts = false;
+					logger.log("doControlCommand:All alerts disabled.");
+					return new String("All alerts disabled.\n");
+				}
+				else if(args.length == 2)
+				{
+					if(args[1].equals("all"))
+					{
+						enableSocketAlerts = false;
+						enableManualAlerts = false;
+						logger.log("doControlCommand:All alerts disabled.");
+						return new String("All alerts disabled.\n");
+					}
+					else if(args[1].equals("socket"))
+					{
+						enableSocketAlerts = false;
+						logger.log("doControlCommand:Socket alerts disabled.");
+						return new String("Socket alerts disabled.\n");
+					}
+					else if(args[1].equals("manual"))
+					{
+						enableManualAlerts = false;
+						logger.log("doControlCommand:Manual alerts disabled.");
+						return new String("Manual alerts disabled.\n");
+					}
+					else if(args[1].equals("status"))
+					{
+						logger.log("doControlCommand:Socket alerts enable:"+enableSocketAlerts+
+								  ", Manual alerts enable:"+enableManualAlerts+".");
+						return new String("Socket alerts enable:"+enableSocketAlerts+
+								  ", Manual alerts enable:"+enableManualAlerts+".\n");
+					}
+					else
+						return new String("Illegal disable command : disable [all|socket|manual|status].\n");		
+				}
+				else
+					return new String("Illegal disable command : disable [all|socket|manual|status].\n");
+			}
+			else if(args[0].equals("enable"))
+			{
+				if(args.length == 1)
+				{
+					enableSocketAlerts = true;
+					enableManualAlerts = true;
+					logger.log("doControlCommand:All alerts enabled.");
+					return new String("All alerts enabled.\n");
+				}
+				else if(args.length == 2)
+				{
+					if(args[1].equals("all"))
+					{
+						enableSocketAlerts = true;
+						enableManualAlerts = true;
+						logger.log("doControlCommand:All alerts enabled.");
+						return new String("All alerts enabled.\n");
+					}
+					else if(args[1].equals("socket"))
+					{
+						enableSocketAlerts = true;
+						logger.log("doControlCommand:Socket alerts enabled.");
+						return new String("Socket alerts enabled.\n");
+					}
+					else if(args[1].equals("manual"))
+					{
+						enableManualAlerts = true;
+						logger.log("doControlCommand:Manual alerts enabled.");
+						return new String("Manual alerts enabled.\n");
+					}
+					else if(args[1].equals("status"))
+					{
+						logger.log("doControlCommand:Socket alerts enable:"+enableSocketAlerts+
+								  ", Manual alerts enable:"+enableManualAlerts+"");
+						return new String("Socket alerts enable:"+enableSocketAlerts+
+								  ", Manual alerts enable:"+enableManualAlerts+".\n");
+					}
+					else
+						return new String("Illegal enable command : enable [all|socket|manual|status].\n");		
+				}
+				else
+					return new String("Illegal enable command : enable [all|socket|manual|status].\n");
+			}
+			else if(args[0].equals("gamma_ray_burst_alert_batch"))
+			{
+				return doGammaRayBurstAlertBatchControlCommand(args);
+			}
+			else if(args[0].equals("gamma_ray_burst_alert"))
+			{
+				String returnString = null;
+				returnString = doGammaRayBurstAlertControlCommand(args);
+				return returnString;
+			}
+			else if(args[0].equals("help"))
+			{
+				return new String("GCNDatagramAlertData Command Server Help:\n"+
+						  "\tdisable [all|socket|manual|status]\n"+
+						  "\tenable [all|socket|manual|status]\n"+
+						  "\tgamma_ray_burst_alert -ra <ra> -dec <dec> -epoch <epoch> -error_box <error_box> -trigger_number <n> -sequence_number <n> -grb_date <date> -notice_date <date> -HETE -SWIFT -INTEGRAL -test [-filter] [-dry_run]\n"+
+						  "\tgamma_ray_burst_alert_batch [-filter] [-dry_run] <filename>\n"+
+						  "\thelp\n"+
+						  "\tmetrics [json]\n"+
+						  "\tevents [on|off|<n>|dump <filename>]\n"+
+						  "\thistory [<n>]\n"+
+						  "\ttrigger <n>\n"+
+						  "\tsince <date>|<n>[s|m|h|d]\n"+
+						  "\tmission <mission> [<n>]\n"+
+						  "\tquit\n"+
+						  "\ttest\n"+
+						  "\tpersistent (keep the connection open, each response ends with '.')\n"+
+						  "\tclose (close a persistent connection)\n"+
+						  "Dates specified in the form: yyyy-MM-dd'T'HH:mm:ss\n"+
+						  "-ra specified as HH:MM:SS.ss\n"+
+						  "-dec specified as [+|-]DD:MM:SS.ss\n"+
+						  "-error_box specified as a radius in decimal arc-minutes\n");
+			}
+			else if(args[0].equals("metrics"))
+			{
+				if(args.length == 1)
+					return GCNMetricsExporter.toPrometheus(GCNMetricsRegistry.getDefault());
+				else if((args.length == 2)&&args[1].equals("json"))
+					return GCNMetricsExporter.toJSON(GCNMetricsRegistry.getDefault());
+				else
+					return new String("Illegal metrics command : metrics [json].\n");
+			}
+			else if(args[0].equals("events"))
+			{
+				return doEventsControlCommand(args);
+			}
+			else if(args[0].equals("history")||args[0].equals("trigger")||args[0].equals("since")||
+				args[0].equals("mission"))
+			{
+				return doAlertHistoryControlCommand(args);
+			}
+			else if(args[0].equals("quit"))
+			{
+				quit();
+				if(controlServer != null)
+					controlServer.quit();
+				logger.log("doControlCommand:Quiting GCNDatagramScriptStarter.");
+				return new String("Quiting GCNDatagramScriptStarter.\n");
+			}
+			else if(args[0].equals("test"))
+			{
+				logger.log("doControlCommand:Test command received.");
+				return new String("Test command received.\n");
+			}
+			return new String("Unknown command:"+args[0]+"\n");
+		}
+		catch(Exception e)
+		{
+			return new String("doControlCommand:An Exception occured:"+e+"\n");
+		}
+	}
+
+	/**
+	 * Method to control the event recorder from the control socket.
+	 * <pre>
+	 * events [on|off|&lt;n&gt;|dump &lt;filename&gt;]
+	 * </pre>
+	 * @param args An array of string containing the command name, and it's arguments.
+	 * @return A string, containing the return string to send back over the control socket to the connected
+	 *         client.
+	 * @exception Exception Thrown if parsing the number of events, or writing the dump file, fails.
+	 * @see #doControlCommand
+	 * @see GCNEventRecorder
+	 */
+	protected String doEventsControlCommand(String args[]) throws Exception
+	{
+		GCNEventRecorder recorder = null;
+
+		recorder = GCNEventRecorder.getDefault();
+		if(args.length == 1)
+			return recorder.getEvents(100);
+		if(args[1].equals("on"))
+		{
+			recorder.setEnabled(true);
+			logger.log("doEventsControlCommand:Event recorder on.");
+			return new String("Event recorder on.\n");
+		}
+		else if(args[1].equals("off"))
+		{
+			recorder.setEnabled(false);
+			logger.log("doEventsControlCommand:Event recorder off.");
+			return new String("Event recorder off.\n");
+		}
+		else if(args[1].equals("dump")&&(args.length == 3))
+		{
+			recorder.dump(new File(args[2]));
+			logger.log("doEventsControlCommand:Events written to "+args[2]+".");
+			return new String("Events written to "+args[2]+".\n");
+		}
+		else if(args.length == 2)
+			return recorder.getEvents(Integer.parseInt(args[1]));
+		return new String("Illegal events command : events [on|off|<n>|dump <filename>].\n");
+	}
+
+	/**
+	 * Method to query the alert history from the control socket. The following commands are supported:
+	 * <ul>
+	 * <li><b>history [&lt;n&gt;]</b> The last n (default 20) alert decisions.
+	 * <li><b>trigger &lt;n&gt;</b> All the alert decisions held for trigger number n.
+	 * <li><b>since &lt;date&gt;|&lt;n&gt;[s|m|h|d]</b> The alert decisions made since a date
+	 *     (yyyy-MM-dd'T'HH:mm:ss), or in the last n seconds, minutes, hours or days.
+	 * <li><b>mission &lt;mission&gt; [&lt;n&gt;]</b> The last n (default 20) alert decisions for a mission
+	 *     (HETE, INTEGRAL, SWIFT, AGILE or FERMI).
+	 * </ul>
+	 * Decisions are returned oldest first, one per line.
+	 * @param args An array of string containing the command name, and it's arguments.
+	 * @return A string, containing the return string to send back over the control socket to the connected
+	 *         client.
+	 * @exception Exception Thrown if a number or date cannot be parsed.
+	 * @see #alertHistory
+	 * @see #alertDateFormat
+	 */
+	protected String doAlertHistoryControlCommand(String args[]) throws Exception
+	{
+		String value = null;
+		String returnString = null;
+		long time,unit;
+		int alertType;
+
+		if(args[0].equals("history"))
+		{
+			if(args.length == 1)
+				returnString = alertHistory.getLatest(20);
+			else if(args.length == 2)
+				returnString = alertHistory.getLatest(Integer.parseInt(args[1]));
+			else
+				return new String("Illegal history command : history [<n>].\n");
+		}
+		else if(args[0].equals("trigger"))
+		{
+			if(args.length != 2)
+				return new String("Illegal trigger command : trigger <n>.\n");
+			returnString = alertHistory.getTrigger(Integer.parseInt(args[1]));
+		}
+		else if(args[0].equals("since"))
+		{
+			if(args.length != 2)
+				return new String("Illegal since command : since <date>|<n>[s|m|h|d].\n");
+			value = args[1];
+			if(value.matches("[0-9]+[smhd]?"))
+			{
+				unit = 1000L;
+				if(value.endsWith("m"))
+					unit = 60*1000L;
+				else if(value.endsWith("h"))
+					unit = 60*60*1000L;
+				else if(value.endsWith("d"))
+					unit = 24*60*60*1000L;
+				if(Character.isLetter(value.charAt(value.length()-1)))
+					value = value.substring(0,value.length()-1);
+				time = System.currentTimeMillis()-(Long.parseLong(value)*unit);
+			}
+			else
+			{
+				// alertDateFormat is only used whilst holding the alert data lock
+				synchronized(alertDataLock)
+				{
+					time = alertDateFormat.parse(value).getTime();
+				}
+			}
+			returnString = alertHistory.getSince(time);
+		}
+		else if(args[0].equals("mission"))
+		{
+			if((args.length < 2)||(args.length > 3))
+				return new String("Illegal mission command : mission <mission> [<n>].\n");
+			alertType = GCNDatagramAlertData.getAlertType(args[1]);
+			if(alertType == 0)
+				return new String("Unknown mission:"+args[1]+".\n");
+			if(args.length == 3)
+				returnString = alertHistory.getMission(alertType,Integer.parseInt(args[2]));
+			else
+				returnString = alertHistory.getMission(alertType,20);
+		}
+		if((returnString == null)||(returnString.length() == 0))
+			return new String("No alerts found.\n");
+		return returnString;
+	}
+
+	/**
+	 * Method to perform a manual script start using the gamma_ray_burst_alert command from the control socket.
+	 * As well as the alert arguments, the following can be specified:
+	 * <ul>
+	 * <li><b>-filter</b> The alert is also passed through alertFilter, as an alert from the datagram socket is.
+	 * <li><b>-dry_run</b> The alert is checked (and filtered), but the script is not started.
+	 * </ul>
+	 * The alert is parsed, checked and the script started whilst holding alertDataLock, so alerts from
+	 * the control socket and the datagram socket do not overwrite each other's alert data.
+	 * Alerts that are checked are recorded in the alert history.
+	 * @param args An array of string containing the command name, and it's arguments.
+	 * @return A string, containing the return string to send back over the control socket to the connected
+	 *         client.
+	 * @exception Exception Thrown if startScript fails.
+	 * @see #doControlCommand
+	 * @see #startScript
+	 * @see #alertFilter
+	 * @see #alertDateFormat
+	 * @see #alertHistory
+	 * @see #MANUAL_ALERT_STARTED
+	 * @see #MANUAL_ALERT_ACCEPTED
+	 */
+	protected String doGammaRayBurstAlertControlCommand(String args[]) throws Exception
+	{
+		Date date = null;
+		boolean filter = false;
+		boolean dryRun = false;
+		int intValue;
+		double doubleValue;
+
+		// acquire lock on alert data
+		synchronized(alertDataLock)
+		{
+			alertData = new GCNDatagramAlertData();
+			// Set notice date to now. Note this should really be set to pkt_sod,
+			// but this won't work if the notice is sent around midnight.
+			alertData.setNoticeDate(new Date());
+			for(int i = 1; i < args.length; i++)
+			{
+				if(args[i].equals("-ra"))
+				{
+					if((i+1) < args.length)
+					{
+						try
+						{
+							RA ra = null;
+
+							// Note this currently allows blank RA strings,
+							// the next switch is read instead, and parseColon
+							// doesn't seem to fail on -dec or whatever
+							// You get a RA of 00:00:00
+							ra = new RA();
+							ra.parseColon(args[i+1]);
+							alertData.setRA(ra);
+						}
+						catch(Exception e)
+						{
+							return new String("doGammaRayBurstAlertControlCommand:"+
+									  "Parsing RA:"+args[i+1]+" failed:"+e+".\n");
+						}
+						i++;
+					}
+					else
+					{
+						return new String("doGammaRayBurstAlertControlCommand:"+
+								  "-ra requires a string argument.\n");
+					}
+				}
+				else if(args[i].equals("-dec"))
+				{
+					if((i+1) < args.length)
+					{
+						try
+						{
+							Dec dec = null;
+
+							// Note this currently allows blank Dec strings,
+							// the next switch is read instead, and parseColon
+							// doesn't seem to fail on -epoch or whatever
+							// You get a Dec of +00:00:00
+							dec = new Dec();
+							dec.parseColon(args[i+1]);
+							alertData.setDec(dec);
+						}
+						catch(Exception e)
+						{
+							return new String("doGammaRayBurstAlertControlCommand:"+
+									  "Parsing Dec:"+args[i+1]+" failed:"+e+"\n");
+						}
+						i++;
+					}
+					else
+					{
+						return new String("doGammaRayBurstAlertControlCommand:"+
+								  "-dec requires a string argument.\n");
+					}
+				}
+				else if(args[i].equals("-epoch"))
+				{
+					if((i+1) < args.length)
+					{
+						try
+						{
+							doubleValue = Double.parseDouble(args[i+1]);
+							alertData.setEpoch(doubleValue);
+						}
+						catch(Exception e)
+						{
+							return new String("doGammaRayBurstAlertControlCommand:"+
+								   "Parsing epoch:"+args[i+1]+" failed:"+e+"\n");
+						}
+						i++;
+					}
+					else
+					{
+						return new String("doGammaRayBurstAlertControlCommand:"+
+								  "-epoch requires a double argument.\n");
+					}
+				}
+				else if(args[i].equals("-error_box"))
+				{
+					if((i+1) < args.length)
+					{
+						try
+						{
+							// error box is a radius in decimal arc-minutes
+							doubleValue = Double.parseDouble(args[i+1]);
+							alertData.setErrorBoxSize(doubleValue);
+						}
+						catch(Exception e)
+						{
+							return new String("doGammaRayBurstAlertControlCommand:"+
+								   "Parsing error box:"+args[i+1]+" failed:"+e+"\n");
+						}
+						i++;
+					}
+					else
+					{
+						return new String("doGammaRayBurstAlertControlCommand:"+
+								  "-error box requires a double argument.\n");
+					}
+				}
+				else if(args[i].equals("-trigger_number"))
+				{
+					if((i+1) < args.length)
+					{
+						try
+						{
+							intValue = Integer.parseInt(args[i+1]);
+							alertData.setTriggerNumber(intValue);
+						}
+						catch(Exception e)
+						{
+							return new String("doGammaRayBurstAlertControlCommand:"+
+		       					   "Parsing trigger number:"+args[i+1]+" failed:"+e+"\n");
+						}
+						i++;
+					}
+					else
+					{
+						return new String("doGammaRayBurstAlertControlCommand:"+
+								  "-trigger_number requires an integer argument.\n");
+					}
+				}
+				else if(args[i].equals("-sequence_number"))
+				{
+					if((i+1) < args.length)
+					{
+						try
+						{
+							intValue = Integer.parseInt(args[i+1]);
+							alertData.setSequenceNumber(intValue);
+						}
+						catch(Exception e)
+						{
+							return new String("doGammaRayBurstAlertControlCommand:"+
+		       					   "Parsing sequence number:"+args[i+1]+" failed:"+e+"\n");
+						}
+						i++;
+					}
+					else
+					{
+						return new String("doGammaRayBurstAlertControlCommand:"+
+								  "-sequence_number requires an integer argument.\n");
+					}
+				}
+				else if(args[i].equals("-AGILE"))
+				{
+					alertData.setAlertType(GCNDatagramAlertData.ALERT_TYPE_AGILE);
+				}
+				else if(args[i].equals("-FERMI"))
+				{
+					alertData.setAlertType(GCNDatagramAlertData.ALERT_TYPE_FERMI);
+				}
+				else if(args[i].equals("-HETE"))
+				{
+					alertData.setAlertType(GCNDatagramAlertData.ALERT_TYPE_HETE);
+				}
+				else if(args[i].equals("-INTEGRAL"))
+				{
+					alertData.setAlertType(GCNDatagramAlertData.ALERT_TYPE_INTEGRAL);
+				}
+				else if(args[i].equals("-SWIFT"))
+				{
+					alertData.setAlertType(GCNDatagramAlertData.ALERT_TYPE_SWIFT);
+				}
+				else if(args[i].equals("-test"))
+				{
+					alertData.setTest(true);
+				}
+				else if(args[i].equals("-filter"))
+				{
+					filter = true;
+				}
+				else if(args[i].equals("-dry_run"))
+				{
+					dryRun = true;
+				}
+				else if(args[i].equals("-notice_date"))
+				{
+					if((i+1) < args.length)
+					{
+						try
+						{
+							date = alertDateFormat.parse(args[i+1]);
+							alertData.setNoticeDate(date);
+						}
+						catch(Exception e)
+						{
+							return new String("doGammaRayBurstAlertControlCommand:"+
+		       					   "Parsing notice date:"+args[i+1]+" failed:"+e+"\n");
+						}
+						i++;
+					}
+					else
+					{
+						return new String("doGammaRayBurstAlertControlCommand:"+
+					"-notice_date requires an argument of the form yyyy-MM-dd'T'HH:mm:ss.\n");
+					}
+				}
+				else if(args[i].equals("-grb_date"))
+				{
+					if((i+1) < args.length)
+					{
+						try
+						{
+							date = alertDateFormat.parse(args[i+1]);
+							alertData.setGRBDate(date);
+						}
+						catch(Exception e)
+						{
+							return new String("doGammaRayBurstAlertControlCommand:"+
+		       					   "Parsing GRB date:"+args[i+1]+" failed:"+e+"\n");
+						}
+						i++;
+					}
+					else
+					{
+						return new String("doGammaRayBurstAlertControlCommand:"+
+					"-grb_date requires an argument of the form yyyy-MM-dd'T'HH:mm:ss.\n");
+					}
+				}
+				else
+					return new String("doGammaRayBurstAlertControlCommand:"+
+							  "Recieved unknown command argument:"+args[i]+".\n");
+			}
+			if(enableManualAlerts == false)
+			{
+				alertHistory.record(System.currentTimeMillis(),"manual",alertData,"disabled");
+				logger.log("Failed to start script. "+
+					   "Manual Socket alerts have been disabled from the control socket.\n");
+				return new String("Failed to start script. Manual Socket alerts have been disabled from the control socket.\n");
+			}
+			// ensure RA filled in
+			if(alertData.getRA() == null)
+			{
+				logger.log("doGammaRayBurstAlertControlCommand: RA was NULL.");
+				return new String("doGammaRayBurstAlertControlCommand: RA was NULL.");
+			}
+			// ensure Dec filled in
+			if(alertData.getDec() == null)
+			{
+				logger.log("doGammaRayBurstAlertControlCommand: Dec was NULL.");
+				return new String("doGammaRayBurstAlertControlCommand: Dec was NULL.");
+			}
+			if(alertData.getAlertType() == 0)
+			{
+				logger.log("doGammaRayBurstAlertControlCommand: No alert type specified.");
+				return new String("doGammaRayBurstAlertControlCommand: No alert type specified.");
+			}
+			alertPacketType = -1;
+			alertFermiGBM = false;
+			if(filter && (alertFilter() == false))
+			{
+				alertHistory.record(System.currentTimeMillis(),"manual",alertData,lastFilterVerdict);
+				return new String("doGammaRayBurstAlertControlCommand: Stopped by alert filter.\n");
+			}
+			if(dryRun)
+			{
+				alertHistory.record(System.currentTimeMillis(),"manual",alertData,"dry_run");
+				return MANUAL_ALERT_ACCEPTED;
+			}
+			alertHistory.record(System.currentTimeMillis(),"manual",alertData,"accepted");
+			if(alertEmitter != null)
+				alertEmitter.emit(alertData,-1);
+			// Actually try and start the script
+			startScript();
 		}
+		return MANUAL_ALERT_STARTED;
 	}
 
 	/**
-	 * Return a Java Date for the specified input fields.
-	 * @param tjd Truncated Julian Date, TJD=12640 is 01 Jan 2003.
-	 * @param sod Actually centi-seconds in the day, (seconds * 100).
-	 * @return The Date.
-	 * @exception ParseException Thrown if the TJD start date cannot be parsed.
+	 * Method to inject a batch of manual alerts, read from a file, using the gamma_ray_burst_alert_batch
+	 * command from the control socket:
+	 * <pre>
+	 * gamma_ray_burst_alert_batch [-filter] [-dry_run] &lt;filename&gt;
+	 * </pre>
+	 * Each line of the file holds the arguments of one gamma_ray_burst_alert command (optionally preceeded by
+	 * the command name). Blank lines, and lines starting with '#', are ignored. Each alert is passed to
+	 * doGammaRayBurstAlertControlCommand in turn (with -filter and -dry_run added if specified), so the
+	 * alert data lock is released between alerts, and alerts from the datagram socket are not held up.
+	 * The returned string contains a status line for each alert, preceeded by it's line number,
+	 * followed by a summary line.
+	 * @param args An array of string containing the command name, and it's arguments.
+	 * @return A string, containing the return string to send back over the control socket to the connected
+	 *         client.
+	 * @exception Exception Thrown if the file cannot be read.
+	 * @see #doGammaRayBurstAlertControlCommand
 	 */
-	protected Date truncatedJulianDateSecondOfDayToDate(int tjd,int sod) throws ParseException
+	protected String doGammaRayBurstAlertBatchControlCommand(String args[]) throws Exception
 	{
-		DateFormat dateFormat = null;
-		TimeZone timeZone = null;
-		Date date = null;
-		int tjdFrom2003;
-		long millis;
+		BufferedReader reader = null;
+		StringBuffer sb = null;
+		Vector alertArgList = null;
+		String filename = null;
+		String line = null;
+		String tokenList[] = null;
+		String alertArgs[] = null;
+		String status = null;
+		boolean filter = false;
+		boolean dryRun = false;
+		int lineNumber,alertCount,startedCount,failedCount;
 
-		dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss");
-		timeZone = TimeZone.getTimeZone("GMT+0");
-		dateFormat.setTimeZone(timeZone);
-		// set tjdStartDate to 1st Jan 2003 (TJD 12640) GMT
-		date = dateFormat.parse("2003-01-01T00:00:00");
-		// get number of days from 1st Jan 2003 for tjd
-		tjdFrom2003 = tjd-12640;
-		// get number of millis from 1st Jan 2003 for tjd
-		millis = ((long)tjdFrom2003)*86400000L; // 60*60*24*1000 = 86400000;
-		// get number of millis from 1st Jan 1970 (Date EPOCH) for tjd
-		millis = millis+date.getTime();
-		// add sod to millis to get date millis from 1st Jan 1970 GMT
-		// Note sod is in centoseconds
-		millis = millis+(((long)sod)*10L);
-		// set date time to this number of millis
-		date.setTime(millis);
-		return date;
+		for(int i = 1; i < args.length; i++)
+		{
+			if(args[i].equals("-filter"))
+				filter = true;
+			else if(args[i].equals("-dry_run"))
+				dryRun = true;
+			else if(args[i].length() > 0)
+				filename = args[i];
+		}
+		if(filename == null)
+		{
+			return new String("Illegal gamma_ray_burst_alert_batch command : "+
+					  "gamma_ray_burst_alert_batch [-filter] [-dry_run] <filename>.\n");
+		}
+		logger.log("doGammaRayBurstAlertBatchControlCommand:Injecting alerts from "+filename+".");
+		sb = new StringBuffer();
+		alertArgList = new Vector();
+		lineNumber = 0;
+		alertCount = 0;
+		startedCount = 0;
+		failedCount = 0;
+		reader = new BufferedReader(new FileReader(filename));
+		try
+		{
+			line = reader.readLine();
+			while(line != null)
+			{
+				lineNumber++;
+				line = line.trim();
+				if((line.length() > 0)&&(line.startsWith("#") == false))
+				{
+					tokenList = line.split("\\s+");
+					alertArgList.clear();
+					alertArgList.add("gamma_ray_burst_alert");
+					for(int i = 0; i < tokenList.length; i++)
+					{
+						if((i > 0)||(tokenList[i].equals("gamma_ray_burst_alert") == false))
+							alertArgList.add(tokenList[i]);
+					}
+					if(filter)
+						alertArgList.add("-filter");
+					if(dryRun)
+						alertArgList.add("-dry_run");
+					alertArgs = (String[])(alertArgList.toArray(new String[alertArgList.size()]));
+					try
+					{
+						status = doGammaRayBurstAlertControlCommand(alertArgs);
+					}
+					catch(Exception e)
+					{
+						logger.error(this.getClass().getName()+
+							     ":doGammaRayBurstAlertBatchControlCommand:Line "+lineNumber+
+							     " failed:",e);
+						status = "Failed:"+e;
+					}
+					alertCount++;
+					if(status.equals(MANUAL_ALERT_STARTED)||status.equals(MANUAL_ALERT_ACCEPTED))
+						startedCount++;
+					else
+						failedCount++;
+					sb.append(lineNumber+":"+status.trim()+"\n");
+				}
+				line = reader.readLine();
+			}
+		}
+		finally
+		{
+			reader.close();
+		}
+		logger.log("doGammaRayBurstAlertBatchControlCommand:"+filename+":"+alertCount+" alerts, "+
+			   startedCount+(dryRun ? " accepted, " : " started, ")+failedCount+" not started.");
+		sb.append("Batch "+filename+":"+alertCount+" alerts, "+startedCount+
+			  (dryRun ? " accepted, " : " started, ")+failedCount+" not started.\n");
+		return sb.toString();
 	}
 
 	/**
-	 * Method to start a control server thread.
-	 * @see GCNDatagramScriptStarter.ControlServerThread
-	 * @see #controlServerThread
+	 * Argument parser.
+	 * @param args The argument list.
+	 * @see #setMulticastPort
+	 * @see #setGroupAddress
+	 * @see #setScript
+	 * @see #setMaxErrorBox
+	 * @see #setMaxPropogationDelay
+	 * @see #setAllowedAlerts
+	 * @see #addAllowedAlerts
+	 * @see #swiftSolnStatusRejectMask
+	 * @see #swiftSolnStatusAcceptMask
+	 * @see #swiftFilterOnMerit
 	 * @see #controlServerPort
+	 * @see #enableSocketAlerts
+	 * @see #enableManualAlerts
+	 * @see #addExcludeRegionFile
+	 * @see #addPriorityRegionFile
+	 * @see #metricsInterval
+	 * @see #metricsHttpPort
+	 * @see #imaliveTimeout
+	 * @see #feedAlarmScript
+	 * @see #alertHistory
+	 * @see #voeventPort
+	 * @see #voeventDirectory
+	 * @see #jsonNoticePort
+	 * @see #jsonNoticeFile
+	 * @see #emitFormat
+	 * @see #emitPort
+	 * @see #emitDirectory
+	 * @see #emitMulticastAddress
+	 * @see #prepareScript
+	 * @see #enablePacketValidation
+	 * @see #enableTerminatorValidation
+	 * @see #enableLazyDecode
+	 * @see #logPreFilterRejects
+	 * @see #enableFermiGBM
+	 * @see GCNDatagramAlertData#ALERT_TYPE_HETE
+	 * @see GCNDatagramAlertData#ALERT_TYPE_INTEGRAL
+	 * @see GCNDatagramAlertData#ALERT_TYPE_SWIFT
+	 * @see GCNDatagramAlertData#ALERT_TYPE_AGILE
+	 * @see GCNDatagramAlertData#ALERT_TYPE_FERMI
 	 */
-	protected void startControlServerThread()
+	protected void parseArgs(String args[])
 	{
-		Thread t = null;
-
-		controlServerThread = new ControlServerThread();
-		controlServerThread.setPort(controlServerPort);
-		t = new Thread(controlServerThread);
-		t.start();
-	}
+		int intValue;
+		double doubleValue;
 
-	/**
-	 * Method to perform a command send over the control socket.
-	 * The following commands are supported:
-	 * <pre>
-	 * disable [all|socket|manual|status]
-	 * enable [all|socket|manual|status]
-	 * gamma_ray_burst_alert -ra &lt;ra&gt; -dec &lt;dec&gt; -epoch &lt;epoch&gt; -error_box &lt;error_box&gt; -trigger_number &lt;n&gt; -sequence_number &lt;n&gt; -grb_date &lt;date&gt; -notice_date &lt;date&gt; -HETE -SWIFT -INTEGRAL -test
-	 * help
-	 * quit
-	 * test
-	 * </pre>
-	 * Dates specified in the form: yyyy-MM-dd'T'HH:mm:ss.
-	 * -ra specified as HH:MM:SS.ss.
-	 * -dec specified as [+|-]DD:MM:SS.ss.
-	 * -error_box specified as a radius in decimal arc-minutes.
-	 * @param args An array of string containing the command name, and it's arguments.
-	 * @return A string, containing the return string to send back over the control socket to the connected
-	 *         client.
-	 * @see #doGammaRayBurstAlertControlCommand
-	 * @see #quit
-	 */
-	protected String doControlCommand(String args[])
-	{
-		try
+		// parse arguments
+		setAllowedAlerts(0);
+		for(int i = 0; i < args.length; i++)
 		{
-			if(args.length < 1)
+
+			if(args[i].equals("-all"))
 			{
-				return new String("No command specified.\n");
+				addAllowedAlerts(GCNDatagramAlertData.ALERT_TYPE_HETE|
+						 GCNDatagramAlertData.ALERT_TYPE_INTEGRAL|
+						 GCNDatagramAlertData.ALERT_TYPE_SWIFT|
+						 GCNDatagramAlertData.ALERT_TYPE_AGILE|
+						 GCNDatagramAlertData.ALERT_TYPE_FERMI);
 			}
-			if(args[0].equals("disable"))
+			else if(args[i].equals("-control_workers"))
 			{
-				if(args.length == 1)
-				{
-					enableSocketAlerts = false;
-					enableManualAlerts = false;
-					logger.log("doControlCommand:All alerts disabled.");
-					return new String("All alerts disabled.\n");
-				}
-				else if(args.length == 2)
+				if((i+1) < args.length)
 				{
-					if(args[1].equals("all"))
+					try
 					{
-						enableSocketAlerts = false;
-						enableManualAlerts = false;
-						logger.log("doControlCommand:All alerts disabled.");
-						return new String("All alerts disabled.\n");
+						controlWorkerCount = Integer.parseInt(args[i+1]);
 					}
-					else if(args[1].equals("socket"))
+					catch(Exception e)
 					{
-						enableSocketAlerts = false;
-						logger.log("doControlCommand:Socket alerts disabled.");
-						return new String("Socket alerts disabled.\n");
+						System.err.println("GCNDatagramScriptStarter:Parsing Control Workers:"+
+								   args[i+1]+" failed:"+e);
+						e.printStackTrace(System.err);
+						System.exit(3);
 					}
-					else if(args[1].equals("manual"))
+					i++;
+				}
+				else
+				{
+					System.err.println("GCNDatagramScriptStarter:-control_workers requires a number.");
+					System.exit(4);
+				}
+			}
+			else if(args[i].equals("-control_port"))
+			{
+				if((i+1) < args.length)
+				{
+					try
 					{
-						enableManualAlerts = false;
-						logger.log("doControlCommand:Manual alerts disabled.");
-						return new String("Manual alerts disabled.\n");
+						intValue = Integer.parseInt(args[i+1]);
+						controlServerPort = intValue;
 					}
-					else if(args[1].equals("status"))
+					catch(Exception e)
 					{
-						logger.log("doControlCommand:Socket alerts enable:"+enableSocketAlerts+
-								  ", Manual alerts enable:"+enableManualAlerts+".");
-						return new String("Socket alerts enable:"+enableSocketAlerts+
-								  ", Manual alerts enable:"+enableManualAlerts+".\n");
+						System.err.println("GCNDatagramScriptStarter:Parsing Control Port:"+
+								   args[i+1]+" failed:"+e);
+						e.printStackTrace(System.err);
+						System.exit(3);
 					}
-					else
-						return new String("Illegal disable command : disable [all|socket|manual|status].\n");		
+					i++;
 				}
 				else
-					return new String("Illegal disable command : disable [all|socket|manual|status].\n");
-			}
-			else if(args[0].equals("enable"))
-			{
-				if(args.length == 1)
 				{
-					enableSocketAlerts = true;
-					enableManualAlerts = true;
-					logger.log("doControlCommand:All alerts enabled.");
-					return new String("All alerts enabled.\n");
+					System.err.println("GCNDatagramScriptStarter:-control_port requires a number.");
+					System.exit(4);
 				}
-				else if(args.length == 2)
+			}
+			else if(args[i].equals("-disable_manual_alerts"))
+			{
+				enableManualAlerts = false;
+			}
+			else if(args[i].equals("-disable_packet_validation"))
+			{
+				enablePacketValidation = false;
+			}
+			else if(args[i].equals("-disable_terminator_validation"))
+			{
+				enableTerminatorValidation = false;
+			}
+			else if(args[i].equals("-disable_lazy_decode"))
+			{
+				enableLazyDecode = false;
+			}
+			else if(args[i].equals("-log_pre_filter"))
+			{
+				logPreFilterRejects = true;
+			}
+			else if(args[i].equals("-disable_socket_alerts"))
+			{
+				enableSocketAlerts = false;
+			}
+			else if(args[i].equals("-exclude_region"))
+			{
+				if((i+1) < args.length)
 				{
-					if(args[1].equals("all"))
+					try
 					{
-						enableSocketAlerts = true;
-						enableManualAlerts = true;
-						logger.log("doControlCommand:All alerts enabled.");
-						return new String("All alerts enabled.\n");
+						addExcludeRegionFile(new File(args[i+1]));
 					}
-					else if(args[1].equals("socket"))
+					catch(Exception e)
 					{
-						enableSocketAlerts = true;
-						logger.log("doControlCommand:Socket alerts enabled.");
-						return new String("Socket alerts enabled.\n");
+						System.err.println("GCNDatagramScriptStarter:Loading exclusion region file:"+
+								   args[i+1]+" failed:"+e);
+						e.printStackTrace(System.err);
+						System.exit(3);
 					}
-					else if(args[1].equals("manual"))
+					i++;
+				}
+				else
+				{
+					System.err.println("GCNDatagramScriptStarter:-exclude_region requires a filename.");
+					System.exit(4);
+				}
+			}
+			else if(args[i].equals("-group_address"))
+			{
+				if((i+1) < args.length)
+				{
+					try
 					{
-						enableManualAlerts = true;
-						logger.log("doControlCommand:Manual alerts enabled.");
-						return new String("Manual alerts enabled.\n");
+						InetAddress address = null;
+
+						address = InetAddress.getByName(args[i+1]);
+						setGroupAddress(address);
 					}
-					else if(args[1].equals("status"))
+					catch(Exception e)
 					{
-						logger.log("doControlCommand:Socket alerts enable:"+enableSocketAlerts+
-								  ", Manual alerts enable:"+enableManualAlerts+"");
-						return new String("Socket alerts enable:"+enableSocketAlerts+
-								  ", Manual alerts enable:"+enableManualAlerts+".\n");
-					}
-					else
-						return new String("Illegal enable command : enable [all|socket|manual|status].\n");		
+						System.err.println("GCNDatagramScriptStarter:Parsing Address:"+
+								   args[i+1]+" failed:"+e);
+						e.printStackTrace(System.err);
+						System.exit(5);
+					}
+					i++;
 				}
 				else
-					return new String("Illegal enable command : enable [all|socket|manual|status].\n");
+				{
+					System.err.println("GCNDatagramScriptStarter:-address requires an address.");
+					System.exit(6);
+				}
 			}
-			else if(args[0].equals("gamma_ray_burst_alert"))
+			else if(args[i].equals("-help"))
 			{
-				String returnString = null;
-				returnString = doGammaRayBurstAlertControlCommand(args);
-				return returnString;
+				help();
+				System.exit(0);
 			}
-			else if(args[0].equals("help"))
+			else if(args[i].equals("-agile"))
 			{
-				return new String("GCNDatagramAlertData Command Server Help:\n"+
-						  "\tdisable [all|socket|manual|status]\n"+
-						  "\tenable [all|socket|manual|status]\n"+
-						  "\tgamma_ray_burst_alert -ra <ra> -dec <dec> -epoch <epoch> -error_box <error_box> -trigger_number <n> -sequence_number <n> -grb_date <date> -notice_date <date> -HETE -SWIFT -INTEGRAL -test\n"+
-						  "\thelp\n"+
-						  "\tquit\n"+
-						  "\ttest\n"+
-						  "Dates specified in the form: yyyy-MM-dd'T'HH:mm:ss\n"+
-						  "-ra specified as HH:MM:SS.ss\n"+
-						  "-dec specified as [+|-]DD:MM:SS.ss\n"+
-						  "-error_box specified as a radius in decimal arc-minutes\n");
+				addAllowedAlerts(GCNDatagramAlertData.ALERT_TYPE_AGILE);
 			}
-			else if(args[0].equals("quit"))
+			else if(args[i].equals("-fermi"))
 			{
-				quit();
-				if(controlServerThread != null)
-					controlServerThread.quit();
-				logger.log("doControlCommand:Quiting GCNDatagramScriptStarter.");
-				return new String("Quiting GCNDatagramScriptStarter.\n");
+				addAllowedAlerts(GCNDatagramAlertData.ALERT_TYPE_FERMI);
 			}
-			else if(args[0].equals("test"))
+			else if(args[i].equals("-fermi_gbm"))
 			{
-				logger.log("doControlCommand:Test command received.");
-				return new String("Test command received.\n");
+				enableFermiGBM = true;
 			}
-			return new String("Unknown command:"+args[0]+"\n");
-		}
-		catch(Exception e)
-		{
-			return new String("doControlCommand:An Exception occured:"+e+"\n");
-		}
-	}
-
-	/**
-	 * Method to perform a manual script start using the gamma_ray_burst_alert command from the control socket.
-	 * @param args An array of string containing the command name, and it's arguments.
-	 * @return A string, containing the return string to send back over the control socket to the connected
-	 *         client.
-	 * @exception Exception Thrown if startScript fails.
-	 * @see #doControlCommand
-	 * @see #startScript
-	 */
-	protected String doGammaRayBurstAlertControlCommand(String args[]) throws Exception
-	{
-		SimpleDateFormat dateFormat = null;
-		TimeZone timeZone = null;
-		Date date = null;
-		int intValue;
-		double doubleValue;
-
-		dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss");
-		timeZone = TimeZone.getTimeZone("GMT+0");
-		dateFormat.setTimeZone(timeZone);
-		// acquire lock on alert data
-		synchronized(alertDataLock)
-		{
-			alertData = new GCNDatagramAlertData();
-			// Set notice date to now. Note this should really be set to pkt_sod,
-			// but this won't work if the notice is sent around midnight.
-			alertData.setNoticeDate(new Date());
-			for(int i = 1; i < args.length; i++)
+			else if(args[i].equals("-hete"))
 			{
-				if(args[i].equals("-ra"))
+				addAllowedAlerts(GCNDatagramAlertData.ALERT_TYPE_HETE);
+			}
+			else if(args[i].equals("-integral"))
+			{
+				addAllowedAlerts(GCNDatagramAlertData.ALERT_TYPE_INTEGRAL);
+			}
+			else if(args[i].equals("-max_error_box")||args[i].equals("-meb"))
+			{
+				if((i+1) < args.length)
 				{
-					if((i+1) < args.length)
+					try
 					{
-						try
-						{
-							RA ra = null;
-
-							// Note this currently allows blank RA strings,
-							// the next switch is read instead, and parseColon
-							// doesn't seem to fail on -dec or whatever
-							// You get a RA of 00:00:00
-							ra = new RA();
-							ra.parseColon(args[i+1]);
-							alertData.setRA(ra);
-						}
-						catch(Exception e)
-						{
-							return new String("doGammaRayBurstAlertControlCommand:"+
-									  "Parsing RA:"+args[i+1]+" failed:"+e+".\n");
-						}
-						i++;
+						doubleValue = Double.parseDouble(args[i+1]);
+						setMaxErrorBox(doubleValue);
 					}
-					else
+					catch(Exception e)
 					{
-						return new String("doGammaRayBurstAlertControlCommand:"+
-								  "-ra requires a string argument.\n");
+						System.err.println("GCNDatagramScriptStarter:Parsing max error box:"+
+								   args[i+1]+" failed:"+e);
+						e.printStackTrace(System.err);
+						System.exit(3);
 					}
+					i++;
 				}
-				else if(args[i].equals("-dec"))
+				else
 				{
-					if((i+1) < args.length)
-					{
-						try
-						{
-							Dec dec = null;
-
-							// Note this currently allows blank Dec strings,
-							// the next switch is read instead, and parseColon
-							// doesn't seem to fail on -epoch or whatever
-							// You get a Dec of +00:00:00
-							dec = new Dec();
-							dec.parseColon(args[i+1]);
-							alertData.setDec(dec);
-						}
-						catch(Exception e)
-						{
-							return new String("doGammaRayBurstAlertControlCommand:"+
-									  "Parsing Dec:"+args[i+1]+" failed:"+e+"\n");
-						}
-						i++;
-					}
-					else
-					{
-						return new String("doGammaRayBurstAlertControlCommand:"+
-								  "-dec requires a string argument.\n");
-					}
+					System.err.println("GCNDatagramScriptStarter:-max_error_box requires a number.");
+					System.exit(4);
 				}
-				else if(args[i].equals("-epoch"))
+			}
+			else if(args[i].equals("-max_propogation_delay")||args[i].equals("-mpd"))
+			{
+				if((i+1) < args.length)
 				{
-					if((i+1) < args.length)
+					try
 					{
-						try
-						{
-							doubleValue = Double.parseDouble(args[i+1]);
-							alertData.setEpoch(doubleValue);
-						}
-						catch(Exception e)
-						{
-							return new String("doGammaRayBurstAlertControlCommand:"+
-								   "Parsing epoch:"+args[i+1]+" failed:"+e+"\n");
-						}
-						i++;
+						intValue = Integer.parseInt(args[i+1]);
+						setMaxPropogationDelay(intValue);
 					}
-					else
+					catch(Exception e)
 					{
-						return new String("doGammaRayBurstAlertControlCommand:"+
-								  "-epoch requires a double argument.\n");
+						System.err.println("GCNDatagramScriptStarter:"+
+								   "Parsing max propogation delay:"+args[i+1]+
+								   " failed:"+e);
+						e.printStackTrace(System.err);
+						System.exit(3);
 					}
+					i++;
 				}
-				else if(args[i].equals("-error_box"))
+				else
 				{
-					if((i+1) < args.length)
-					{
-						try
-						{
-							// error box is a radius in decimal arc-minutes
-							doubleValue = Double.parseDouble(args[i+1]);
-							alertData.setErrorBoxSize(doubleValue);
-						}
-						catch(Exception e)
-						{
-							return new String("doGammaRayBurstAlertControlCommand:"+
-								   "Parsing error box:"+args[i+1]+" failed:"+e+"\n");
-						}
-						i++;
-					}
-					else
-					{
-						return new String("doGammaRayBurstAlertControlCommand:"+
-								  "-error box requires a double argument.\n");
-					}
+					System.err.println("GCNDatagramScriptStarter:"+
+							   "-max_propogation_delay requires a number.");
+					System.exit(4);
 				}
-				else if(args[i].equals("-trigger_number"))
+			}
+			else if(args[i].equals("-multicast_port"))
+			{
+				if((i+1) < args.length)
 				{
-					if((i+1) < args.length)
+					try
 					{
-						try
-						{
-							intValue = Integer.parseInt(args[i+1]);
-							alertData.setTriggerNumber(intValue);
-						}
-						catch(Exception e)
-						{
-							return new String("doGammaRayBurstAlertControlCommand:"+
-		       					   "Parsing trigger number:"+args[i+1]+" failed:"+e+"\n");
-						}
-						i++;
+						intValue = Integer.parseInt(args[i+1]);
+						setMulticastPort(intValue);
 					}
-					else
+					catch(Exception e)
 					{
-						return new String("doGammaRayBurstAlertControlCommand:"+
-								  "-trigger_number requires an integer argument.\n");
+						System.err.println("GCNDatagramScriptStarter:Parsing Multicast Port:"+
+								   args[i+1]+" failed:"+e);
+						e.printStackTrace(System.err);
+						System.exit(3);
 					}
+					i++;
 				}
-				else if(args[i].equals("-sequence_number"))
+				else
 				{
-					if((i+1) < args.length)
+					System.err.println("GCNDatagramScriptStarter:-multicast_port requires a number.");
+					System.exit(4);
+				}
+			}
+			else if(args[i].equals("-priority_region"))
+			{
+				if((i+1) < args.length)
+				{
+					try
 					{
-						try
-						{
-							intValue = Integer.parseInt(args[i+1]);
-							alertData.setSequenceNumber(intValue);
-						}
-						catch(Exception e)
-						{
-							return new String("doGammaRayBurstAlertControlCommand:"+
-		       					   "Parsing sequence number:"+args[i+1]+" failed:"+e+"\n");
-						}
-						i++;
+						addPriorityRegionFile(new File(args[i+1]));
 					}
-					else
+					catch(Exception e)
 					{
-						return new String("doGammaRayBurstAlertControlCommand:"+
-								  "-sequence_number requires an integer argument.\n");
+						System.err.println("GCNDatagramScriptStarter:Loading priority region file:"+
+								   args[i+1]+" failed:"+e);
+						e.printStackTrace(System.err);
+						System.exit(3);
 					}
+					i++;
 				}
-				else if(args[i].equals("-AGILE"))
-				{
-					alertData.setAlertType(GCNDatagramAlertData.ALERT_TYPE_AGILE);
-				}
-				else if(args[i].equals("-FERMI"))
+				else
 				{
-					alertData.setAlertType(GCNDatagramAlertData.ALERT_TYPE_FERMI);
+					System.err.println("GCNDatagramScriptStarter:-priority_region requires a filename.");
+					System.exit(4);
 				}
-				else if(args[i].equals("-HETE"))
+			}
+			else if(args[i].equals("-script"))
+			{
+				if((i+1) < args.length)
 				{
-					alertData.setAlertType(GCNDatagramAlertData.ALERT_TYPE_HETE);
+					setScript(args[i+1]);
+					i++;
 				}
-				else if(args[i].equals("-INTEGRAL"))
+				else
 				{
-					alertData.setAlertType(GCNDatagramAlertData.ALERT_TYPE_INTEGRAL);
+					System.err.println("GCNDatagramScriptStarter:-script requires a script.");
+					System.exit(6);
 				}
-				else if(args[i].equals("-SWIFT"))
+			}
+			else if(args[i].equals("-prepare_script"))
+			{
+				if((i+1) < args.length)
 				{
-					alertData.setAlertType(GCNDatagramAlertData.ALERT_TYPE_SWIFT);
+					prepareScript = args[i+1];
+					i++;
 				}
-				else if(args[i].equals("-test"))
+				else
 				{
-					alertData.setTest(true);
+					System.err.println("GCNDatagramScriptStarter:-prepare_script requires a script.");
+					System.exit(4);
 				}
-				else if(args[i].equals("-notice_date"))
+			}
+			else if(args[i].equals("-swift"))
+			{
+				addAllowedAlerts(GCNDatagramAlertData.ALERT_TYPE_SWIFT);
+			}
+			else if(args[i].equals("-sssam")||args[i].equals("-swift_soln_status_accept_mask"))
+			{
+				if((i+1) < args.length)
 				{
-					if((i+1) < args.length)
+					try
 					{
-						try
-						{
-							date = dateFormat.parse(args[i+1]);
-							alertData.setNoticeDate(date);
-						}
-						catch(Exception e)
+						// if specified as hex
+						if(args[i+1].startsWith("0x"))
 						{
-							return new String("doGammaRayBurstAlertControlCommand:"+
-		       					   "Parsing notice date:"+args[i+1]+" failed:"+e+"\n");
+							// parse as hex, removing "0x"
+							intValue = Integer.parseInt(args[i+1].substring(2),16);
 						}
-						i++;
+						else
+							intValue = Integer.parseInt(args[i+1]);
+						setSwiftSolnStatusAcceptMask(intValue);
 					}
-					else
+					catch(Exception e)
 					{
-						return new String("doGammaRayBurstAlertControlCommand:"+
-					"-notice_date requires an argument of the form yyyy-MM-dd'T'HH:mm:ss.\n");
+						System.err.println("GCNDatagramScriptStarter:Parsing accept mask :"+
+								   args[i+1]+" failed:"+e);
+						e.printStackTrace(System.err);
+						System.exit(3);
 					}
+					i++;
 				}
-				else if(args[i].equals("-grb_date"))
+				else
 				{
-					if((i+1) < args.length)
+					System.err.println("GCNDatagramScriptStarter:-sssrm requires a integer mask.");
+					System.exit(4);
+				}
+			}
+			else if(args[i].equals("-sssrm")||args[i].equals("-swift_soln_status_reject_mask"))
+			{
+				if((i+1) < args.length)
+				{
+					try
 					{
-						try
-						{
-							date = dateFormat.parse(args[i+1]);
-							alertData.setGRBDate(date);
-						}
-						catch(Exception e)
+						// if specified as hex
+						if(args[i+1].startsWith("0x"))
 						{
-							return new String("doGammaRayBurstAlertControlCommand:"+
-		       					   "Parsing GRB date:"+args[i+1]+" failed:"+e+"\n");
+							// parse as hex, removing "0x"
+							intValue = Integer.parseInt(args[i+1].substring(2),16);
 						}
-						i++;
+						else
+							intValue = Integer.parseInt(args[i+1]);
+						setSwiftSolnStatusRejectMask(intValue);
 					}
-					else
+					catch(Exception e)
 					{
-						return new String("doGammaRayBurstAlertControlCommand:"+
-					"-grb_date requires an argument of the form yyyy-MM-dd'T'HH:mm:ss.\n");
+						System.err.println("GCNDatagramScriptStarter:Parsing reject mask :"+
+								   args[i+1]+" failed:"+e);
+						e.printStackTrace(System.err);
+						System.exit(3);
 					}
+					i++;
 				}
 				else
-					return new String("doGammaRayBurstAlertControlCommand:"+
-							  "Recieved unknown command argument:"+args[i]+".\n");
+				{
+					System.err.println("GCNDatagramScriptStarter:-sssrm requires a integer mask.");
+					System.exit(4);
+				}
 			}
-		}
-		if(enableManualAlerts == false)
-		{
-			logger.log("Failed to start script. "+
-				   "Manual Socket alerts have been disabled from the control socket.\n");
-			return new String("Failed to start script. Manual Socket alerts have been disabled from the control socket.\n");
-		}
-		// ensure RA filled in
-		if(alertData.getRA() == null)
-		{
-			logger.log("doGammaRayBurstAlertControlCommand: RA was NULL.");
-			return new String("doGammaRayBurstAlertControlCommand: RA was NULL.");
-		}
-		// ensure Dec filled in
-		if(alertData.getDec() == null)
-		{
-			logger.log("doGammaRayBurstAlertControlCommand: Dec was NULL.");
-			return new String("doGammaRayBurstAlertControlCommand: Dec was NULL.");
-		}
-		if(alertData.getAlertType() == 0)
-		{
-			logger.log("doGammaRayBurstAlertControlCommand: No alert type specified.");
-			return new String("doGammaRayBurstAlertControlCommand: No alert type specified.");
-		}
-		// Actually try and start the script
-		startScript();
-		return new String("doGammaRayBurstAlertControlCommand: Script started.\n");
-	}
-
-	/**
-	 * Argument parser.
-	 * @param args The argument list.
-	 * @see #setMulticastPort
-	 * @see #setGroupAddress
-	 * @see #setScript
-	 * @see #setMaxErrorBox
-	 * @see #setMaxPropogationDelay
-	 * @see #setAllowedAlerts
-	 * @see #addAllowedAlerts
-	 * @see #swiftSolnStatusRejectMask
-	 * @see #swiftSolnStatusAcceptMask
-	 * @see #swiftFilterOnMerit
-	 * @see #controlServerPort
-	 * @see #enableSocketAlerts
-	 * @see #enableManualAlerts
-	 * @see GCNDatagramAlertData#ALERT_TYPE_HETE
-	 * @see GCNDatagramAlertData#ALERT_TYPE_INTEGRAL
-	 * @see GCNDatagramAlertData#ALERT_TYPE_SWIFT
-	 * @see GCNDatagramAlertData#ALERT_TYPE_AGILE
-	 * @see GCNDatagramAlertData#ALERT_TYPE_FERMI
-	 */
-	protected void parseArgs(String args[])
-	{
-		int intValue;
-		double doubleValue;
-
-		// parse arguments
-		setAllowedAlerts(0);
-		for(int i = 0; i < args.length; i++)
-		{
-
-			if(args[i].equals("-all"))
+			else if(args[i].equals("-sfom")||args[i].equals("-swift_filter_on_merit"))
 			{
-				addAllowedAlerts(GCNDatagramAlertData.ALERT_TYPE_HETE|
-						 GCNDatagramAlertData.ALERT_TYPE_INTEGRAL|
-						 GCNDatagramAlertData.ALERT_TYPE_SWIFT|
-						 GCNDatagramAlertData.ALERT_TYPE_AGILE|
-						 GCNDatagramAlertData.ALERT_TYPE_FERMI);
+				swiftFilterOnMerit = true;
 			}
-			else if(args[i].equals("-control_port"))
+			else if(args[i].equals("-imalive_timeout"))
 			{
 				if((i+1) < args.length)
 				{
 					try
 					{
 						intValue = Integer.parseInt(args[i+1]);
-						controlServerPort = intValue;
+						imaliveTimeout = ((long)intValue)*1000;
 					}
 					catch(Exception e)
 					{
-						System.err.println("GCNDatagramScriptStarter:Parsing Control Port:"+
-								   args[i+1]+" failed:"+e);
+						System.err.println("GCNDatagramScriptStarter:"+
+								   "Parsing IMALIVE timeout:"+args[i+1]+
+								   " failed:"+e);
 						e.printStackTrace(System.err);
 						System.exit(3);
 					}
@@ -2827,78 +5213,127 @@ public class GCNDatagramScriptStarter implements Runnable
 				}
 				else
 				{
-					System.err.println("GCNDatagramScriptStarter:-control_port requires a number.");
+					System.err.println("GCNDatagramScriptStarter:"+
+							   "-imalive_timeout requires a number.");
 					System.exit(4);
 				}
 			}
-			else if(args[i].equals("-disable_manual_alerts"))
-			{
-				enableManualAlerts = false;
-			}
-			else if(args[i].equals("-disable_socket_alerts"))
+			else if(args[i].equals("-feed_alarm_script"))
 			{
-				enableSocketAlerts = false;
+				if((i+1) < args.length)
+				{
+					feedAlarmScript = args[i+1];
+					i++;
+				}
+				else
+				{
+					System.err.println("GCNDatagramScriptStarter:"+
+							   "-feed_alarm_script requires a filename.");
+					System.exit(4);
+				}
 			}
-			else if(args[i].equals("-group_address"))
+			else if(args[i].equals("-voevent_port"))
 			{
 				if((i+1) < args.length)
 				{
 					try
 					{
-						InetAddress address = null;
-
-						address = InetAddress.getByName(args[i+1]);
-						setGroupAddress(address);
+						voeventPort = Integer.parseInt(args[i+1]);
 					}
 					catch(Exception e)
 					{
-						System.err.println("GCNDatagramScriptStarter:Parsing Address:"+
-								   args[i+1]+" failed:"+e);
+						System.err.println("GCNDatagramScriptStarter:"+
+								   "Parsing VOEvent port:"+args[i+1]+" failed:"+e);
 						e.printStackTrace(System.err);
-						System.exit(5);
+						System.exit(3);
 					}
 					i++;
 				}
 				else
 				{
-					System.err.println("GCNDatagramScriptStarter:-address requires an address.");
-					System.exit(6);
+					System.err.println("GCNDatagramScriptStarter:"+
+							   "-voevent_port requires a number.");
+					System.exit(4);
 				}
 			}
-			else if(args[i].equals("-help"))
-			{
-				help();
-				System.exit(0);
-			}
-			else if(args[i].equals("-agile"))
+			else if(args[i].equals("-voevent_dir"))
 			{
-				addAllowedAlerts(GCNDatagramAlertData.ALERT_TYPE_AGILE);
+				if((i+1) < args.length)
+				{
+					voeventDirectory = new File(args[i+1]);
+					i++;
+				}
+				else
+				{
+					System.err.println("GCNDatagramScriptStarter:"+
+							   "-voevent_dir requires a directory.");
+					System.exit(4);
+				}
 			}
-			else if(args[i].equals("-fermi"))
+			else if(args[i].equals("-json_notice_port"))
 			{
-				addAllowedAlerts(GCNDatagramAlertData.ALERT_TYPE_FERMI);
+				if((i+1) < args.length)
+				{
+					try
+					{
+						jsonNoticePort = Integer.parseInt(args[i+1]);
+					}
+					catch(Exception e)
+					{
+						System.err.println("GCNDatagramScriptStarter:"+
+								   "Parsing JSON notice port:"+args[i+1]+" failed:"+e);
+						e.printStackTrace(System.err);
+						System.exit(3);
+					}
+					i++;
+				}
+				else
+				{
+					System.err.println("GCNDatagramScriptStarter:"+
+							   "-json_notice_port requires a number.");
+					System.exit(4);
+				}
 			}
-			else if(args[i].equals("-hete"))
+			else if(args[i].equals("-json_notice_file"))
 			{
-				addAllowedAlerts(GCNDatagramAlertData.ALERT_TYPE_HETE);
+				if((i+1) < args.length)
+				{
+					jsonNoticeFile = args[i+1];
+					i++;
+				}
+				else
+				{
+					System.err.println("GCNDatagramScriptStarter:"+
+							   "-json_notice_file requires a filename.");
+					System.exit(4);
+				}
 			}
-			else if(args[i].equals("-integral"))
+			else if(args[i].equals("-emit_format"))
 			{
-				addAllowedAlerts(GCNDatagramAlertData.ALERT_TYPE_INTEGRAL);
+				if((i+1) < args.length)
+				{
+					emitFormat = args[i+1];
+					i++;
+				}
+				else
+				{
+					System.err.println("GCNDatagramScriptStarter:"+
+							   "-emit_format requires json or voevent.");
+					System.exit(4);
+				}
 			}
-			else if(args[i].equals("-max_error_box")||args[i].equals("-meb"))
+			else if(args[i].equals("-emit_port"))
 			{
 				if((i+1) < args.length)
 				{
 					try
 					{
-						doubleValue = Double.parseDouble(args[i+1]);
-						setMaxErrorBox(doubleValue);
+						emitPort = Integer.parseInt(args[i+1]);
 					}
 					catch(Exception e)
 					{
-						System.err.println("GCNDatagramScriptStarter:Parsing max error box:"+
-								   args[i+1]+" failed:"+e);
+						System.err.println("GCNDatagramScriptStarter:"+
+								   "Parsing emit port:"+args[i+1]+" failed:"+e);
 						e.printStackTrace(System.err);
 						System.exit(3);
 					}
@@ -2906,24 +5341,40 @@ public class GCNDatagramScriptStarter implements Runnable
 				}
 				else
 				{
-					System.err.println("GCNDatagramScriptStarter:-max_error_box requires a number.");
+					System.err.println("GCNDatagramScriptStarter:"+
+							   "-emit_port requires a number.");
 					System.exit(4);
 				}
 			}
-			else if(args[i].equals("-max_propogation_delay")||args[i].equals("-mpd"))
+			else if(args[i].equals("-emit_dir"))
+			{
+				if((i+1) < args.length)
+				{
+					emitDirectory = new File(args[i+1]);
+					i++;
+				}
+				else
+				{
+					System.err.println("GCNDatagramScriptStarter:"+
+							   "-emit_dir requires a directory.");
+					System.exit(4);
+				}
+			}
+			else if(args[i].equals("-emit_multicast"))
 			{
 				if((i+1) < args.length)
 				{
 					try
 					{
-						intValue = Integer.parseInt(args[i+1]);
-						setMaxPropogationDelay(intValue);
+						emitMulticastAddress = InetAddress.getByName(args[i+1].
+									substring(0,args[i+1].lastIndexOf(':')));
+						emitMulticastPort = Integer.parseInt(args[i+1].
+									substring(args[i+1].lastIndexOf(':')+1));
 					}
 					catch(Exception e)
 					{
 						System.err.println("GCNDatagramScriptStarter:"+
-								   "Parsing max propogation delay:"+args[i+1]+
-								   " failed:"+e);
+								   "Parsing emit multicast address:"+args[i+1]+" failed:"+e);
 						e.printStackTrace(System.err);
 						System.exit(3);
 					}
@@ -2932,23 +5383,24 @@ public class GCNDatagramScriptStarter implements Runnable
 				else
 				{
 					System.err.println("GCNDatagramScriptStarter:"+
-							   "-max_propogation_delay requires a number.");
+							   "-emit_multicast requires an address:port.");
 					System.exit(4);
 				}
 			}
-			else if(args[i].equals("-multicast_port"))
+			else if(args[i].equals("-alert_history"))
 			{
 				if((i+1) < args.length)
 				{
 					try
 					{
 						intValue = Integer.parseInt(args[i+1]);
-						setMulticastPort(intValue);
+						alertHistory = new GCNAlertHistory(intValue);
 					}
 					catch(Exception e)
 					{
-						System.err.println("GCNDatagramScriptStarter:Parsing Multicast Port:"+
-								   args[i+1]+" failed:"+e);
+						System.err.println("GCNDatagramScriptStarter:"+
+								   "Parsing alert history size:"+args[i+1]+
+								   " failed:"+e);
 						e.printStackTrace(System.err);
 						System.exit(3);
 					}
@@ -2956,47 +5408,51 @@ public class GCNDatagramScriptStarter implements Runnable
 				}
 				else
 				{
-					System.err.println("GCNDatagramScriptStarter:-multicast_port requires a number.");
+					System.err.println("GCNDatagramScriptStarter:"+
+							   "-alert_history requires a number.");
 					System.exit(4);
 				}
 			}
-			else if(args[i].equals("-script"))
+			else if(args[i].equals("-record_events"))
 			{
 				if((i+1) < args.length)
 				{
-					setScript(args[i+1]);
+					try
+					{
+						intValue = Integer.parseInt(args[i+1]);
+						GCNEventRecorder.getDefault().setCapacity(intValue);
+						GCNEventRecorder.getDefault().setEnabled(true);
+					}
+					catch(Exception e)
+					{
+						System.err.println("GCNDatagramScriptStarter:"+
+								   "Parsing number of events to record:"+args[i+1]+
+								   " failed:"+e);
+						e.printStackTrace(System.err);
+						System.exit(3);
+					}
 					i++;
 				}
 				else
 				{
-					System.err.println("GCNDatagramScriptStarter:-script requires a script.");
-					System.exit(6);
+					System.err.println("GCNDatagramScriptStarter:"+
+							   "-record_events requires a number.");
+					System.exit(4);
 				}
 			}
-			else if(args[i].equals("-swift"))
-			{
-				addAllowedAlerts(GCNDatagramAlertData.ALERT_TYPE_SWIFT);
-			}
-			else if(args[i].equals("-sssam")||args[i].equals("-swift_soln_status_accept_mask"))
+			else if(args[i].equals("-metrics_http_port"))
 			{
 				if((i+1) < args.length)
 				{
 					try
 					{
-						// if specified as hex
-						if(args[i+1].startsWith("0x"))
-						{
-							// parse as hex, removing "0x"
-							intValue = Integer.parseInt(args[i+1].substring(2),16);
-						}
-						else
-							intValue = Integer.parseInt(args[i+1]);
-						setSwiftSolnStatusAcceptMask(intValue);
+						metricsHttpPort = Integer.parseInt(args[i+1]);
 					}
 					catch(Exception e)
 					{
-						System.err.println("GCNDatagramScriptStarter:Parsing accept mask :"+
-								   args[i+1]+" failed:"+e);
+						System.err.println("GCNDatagramScriptStarter:"+
+								   "Parsing metrics HTTP port:"+args[i+1]+
+								   " failed:"+e);
 						e.printStackTrace(System.err);
 						System.exit(3);
 					}
@@ -3004,30 +5460,25 @@ public class GCNDatagramScriptStarter implements Runnable
 				}
 				else
 				{
-					System.err.println("GCNDatagramScriptStarter:-sssrm requires a integer mask.");
+					System.err.println("GCNDatagramScriptStarter:"+
+							   "-metrics_http_port requires a port number.");
 					System.exit(4);
 				}
 			}
-			else if(args[i].equals("-sssrm")||args[i].equals("-swift_soln_status_reject_mask"))
+			else if(args[i].equals("-metrics_interval"))
 			{
 				if((i+1) < args.length)
 				{
 					try
 					{
-						// if specified as hex
-						if(args[i+1].startsWith("0x"))
-						{
-							// parse as hex, removing "0x"
-							intValue = Integer.parseInt(args[i+1].substring(2),16);
-						}
-						else
-							intValue = Integer.parseInt(args[i+1]);
-						setSwiftSolnStatusRejectMask(intValue);
+						intValue = Integer.parseInt(args[i+1]);
+						metricsInterval = ((long)intValue)*1000;
 					}
 					catch(Exception e)
 					{
-						System.err.println("GCNDatagramScriptStarter:Parsing reject mask :"+
-								   args[i+1]+" failed:"+e);
+						System.err.println("GCNDatagramScriptStarter:"+
+								   "Parsing metrics interval:"+args[i+1]+
+								   " failed:"+e);
 						e.printStackTrace(System.err);
 						System.exit(3);
 					}
@@ -3035,14 +5486,11 @@ public class GCNDatagramScriptStarter implements Runnable
 				}
 				else
 				{
-					System.err.println("GCNDatagramScriptStarter:-sssrm requires a integer mask.");
+					System.err.println("GCNDatagramScriptStarter:"+
+							   "-metrics_interval requires a number.");
 					System.exit(4);
 				}
 			}
-			else if(args[i].equals("-sfom")||args[i].equals("-swift_filter_on_merit"))
-			{
-				swiftFilterOnMerit = true;
-			}
 			else
 			{
 				System.err.println("GCNDatagramScriptStarter: Unknown argument "+args[i]+".");
@@ -3062,20 +5510,42 @@ public class GCNDatagramScriptStarter implements Runnable
 		System.out.println("java -Dhttp.proxyHost=wwwcache.livjm.ac.uk "+
 				   "-Dhttp.proxyPort=8080 GCNDatagramScriptStarter \n"+
 				   "\t[-multicast_port <n>][-group_address <address>]"+
-				   "\t[-control_port <n>][-disable_manual_alerts][-disable_socket_alerts]"+
-				   "\t[-script <filename>][-all][-agile][-fermi][-hete][-integral][-swift]\n"+
+				   "\t[-control_port <n>][-control_workers <n>][-disable_manual_alerts][-disable_socket_alerts]"+
+				   "\t[-script <filename>][-all][-agile][-fermi][-fermi_gbm][-hete][-integral][-swift]\n"+
 				   "\t[-max_error_box|-meb <arcsecs>]"+
 				   "\t[-max_propogation_delay|-mpd <milliseconds>]"+
 				   "\t[-swift_soln_status_accept_mask|-sssam <bit mask>]"+
 				   "\t[-swift_soln_status_reject_mask|-sssrm <bit mask>]"+
-				   "\t[-sfom|-swift_filter_on_merit]");
+				   "\t[-sfom|-swift_filter_on_merit]"+
+				   "\t[-exclude_region <filename>][-priority_region <filename>]"+
+				   "\t[-metrics_interval <s>][-metrics_http_port <n>]"+
+				   "\t[-imalive_timeout <s>][-feed_alarm_script <filename>][-record_events <n>]"+
+				   "\t[-alert_history <n>][-voevent_port <n>][-voevent_dir <directory>]\n"+
+				   "\t[-json_notice_port <n>][-json_notice_file <filename>|-]\n"+
+				   "\t[-prepare_script <filename>][-disable_packet_validation][-disable_terminator_validation]"+
+				   "[-disable_lazy_decode][-log_pre_filter]"+
+				   "\t[-emit_format json|voevent][-emit_port <n>][-emit_dir <directory>]"+
+				   "[-emit_multicast <address>:<port>]");
 		System.out.println("-script specifies the script/program to call on a successful alert.");
 		System.out.println("-all specifies to call the script for all types of alerts.");
+		System.out.println("-prepare_script specifies a script/program to call as soon as the first notice "+
+				   "for a trigger arrives (Swift BAT alert, FOM observation request or slew, Fermi GBM alert "+
+				   "if -fermi_gbm is specified), before the position.");
 		System.out.println("-control_port specifies the port the control server sits on.");
+		System.out.println("-control_workers specifies the number of threads the control server carries out commands with.");
 		System.out.println("-disable_manual_alerts does not call the script when an alert is requested from the control socket.");
+		System.out.println("-disable_packet_validation decodes received packets without first checking their "+
+				   "length, terminator, position and burst date are sane.");
+		System.out.println("-disable_terminator_validation does not check the terminator word of received packets.");
+		System.out.println("-disable_lazy_decode fully decodes every received packet, rather than first dropping "+
+				   "packets that will be filtered out from their type, error box, burst date and status.");
+		System.out.println("-log_pre_filter logs each packet dropped before decoding, as well as counting it "+
+				   "and recording it in the alert history.");
 		System.out.println("-disable_socket_alerts does not call the script when an alert is generated from the multicast socket.");
 		System.out.println("-agile specifies to call the script for AGILE LAT alerts.");
 		System.out.println("-fermi specifies to call the script for FERMI LAT alerts.");
+		System.out.println("-fermi_gbm also calls the script for FERMI GBM positions (with -fermi), "+
+				   "subject to the propogation delay.");
 		System.out.println("-hete specifies to call the script for HETE alerts.");
 		System.out.println("-integral specifies to call the script for INTEGRAL alerts.");
 		System.out.println("-swift specifies to call the script for SWIFT alerts.");
@@ -3085,6 +5555,33 @@ public class GCNDatagramScriptStarter implements Runnable
 		System.out.println("-sssrm sets the Swift solnStatus bits that MUST NOT be present for the script to be started.");
 		System.out.println("-sssam and -sssrm can be specified in hexidecimal using the '0x' prefix.");
 		System.out.println("-sfom turns on some extra Swift filtering based on the BAT merit parameters.");
+		System.out.println("-exclude_region loads a sky region file, alerts whose error box lies wholly within the regions do not call the script.");
+		System.out.println("-priority_region loads a sky region file, alerts whose error box overlaps the regions call the script with -priority.");
+		System.out.println("Region files contain lines of the form: 'circle <ra> <dec> <radius arcmin>', 'galactic_band <b min> <b max>' or 'dec_band <dec min> <dec max>'.");
+		System.out.println("-metrics_interval logs the packet, filter and script metrics every <s> seconds.");
+		System.out.println("-metrics_http_port serves the metrics over HTTP, at /metrics (Prometheus text format) and /metrics.json.");
+		System.out.println("-imalive_timeout sets how long without an IMALIVE packet before the feed is "+
+				   "marked down (default "+(GCNFeedWatchdog.DEFAULT_TIMEOUT/1000)+" seconds).");
+		System.out.println("-feed_alarm_script specifies a script/program to call with -feed_down or -feed_up "+
+				   "when the feed goes down or comes back up.");
+		System.out.println("-record_events turns on the event recorder, holding the last <n> packet, filter "+
+				   "and script events (see the events control command, and /events on the metrics HTTP port).");
+		System.out.println("-voevent_port specifies a port to receive VOEvent documents on, each preceeded by "+
+				   "it's length as a 4 byte (network order) integer.");
+		System.out.println("-voevent_dir specifies a directory to poll for VOEvent documents (files ending in .xml), "+
+				   "which are renamed to end in .done once processed.");
+		System.out.println("-json_notice_port specifies a port to receive JSON notices on (one object per line).");
+		System.out.println("-json_notice_file specifies a file or named pipe to read JSON notices from "+
+				   "(one object per line), or - for standard input.");
+		System.out.println("-emit_format specifies the format accepted alerts are emitted in: "+
+				   "compact JSON (one per line), or VOEvent XML (default json).");
+		System.out.println("-emit_port specifies a port subscribers can connect to, to receive accepted alerts "+
+				   "(VOEvents are preceeded by their length as a 4 byte integer).");
+		System.out.println("-emit_dir specifies a directory accepted alerts are written to, one file per alert.");
+		System.out.println("-emit_multicast specifies a multicast group accepted alerts are sent to, "+
+				   "one datagram per alert.");
+		System.out.println("-alert_history specifies the number of alert decisions held for the history, trigger, "+
+				   "since and mission control commands (default "+GCNAlertHistory.DEFAULT_CAPACITY+").");
 		System.out.println("The default control port number is "+DEFAULT_CONTROL_PORT+".");
 	}
 
@@ -3138,6 +5635,10 @@ public class GCNDatagramScriptStarter implements Runnable
 		 * The spawned process we are monitoring.
 		 */
 		Process process = null;
+		/**
+		 * The trigger number of the alert the process was spawned for, or -1.
+		 */
+		int triggerNumber = -1;
 
 		/**
 		 * Constructor.
@@ -3149,6 +5650,16 @@ public class GCNDatagramScriptStarter implements Runnable
 			process = p;
 		}
 
+		/**
+		 * Set the trigger number of the alert the process was spawned for.
+		 * @param t The trigger number.
+		 * @see #triggerNumber
+		 */
+		public void setTriggerNumber(int t)
+		{
+			triggerNumber = t;
+		}
+
 		/**
 		 * Run method for thread.
 		 * <ul>
@@ -3156,9 +5667,12 @@ public class GCNDatagramScriptStarter implements Runnable
 		 * <li>Spawns a InputStreamThread for the process's stderr.
 		 * <li>Waits for the process to terminate.
 		 * <li>Logs it's exit value.
+		 * <li>Records how long it ran for, and counts it's exit value, in the metrics registry.
+		 * <li>Records the exit in the event recorder.
 		 * </ul>
 		 * @see #process
 		 * @see #logger
+		 * @see #scriptRunHistogram
 		 */
 		public void run()
 		{
@@ -3166,6 +5680,9 @@ public class GCNDatagramScriptStarter implements Runnable
 			InputStream is = null;
 			Thread thread = null;
 			int retval = -1;
+			long startTime;
+
+			startTime = System.currentTimeMillis();
 
 			// spawn thread to read output from spawned process.
 			is = process.getInputStream();
@@ -3187,6 +5704,12 @@ public class GCNDatagramScriptStarter implements Runnable
 				logger.error(this.getClass().getName()+":run:waitFor failed",ie);
 			}
 			logger.log(this.getClass().getName()+":run:spawned script returned:"+retval);
+			addRunningScriptCount(-1);
+			scriptRunHistogram.recordSynchronized(System.currentTimeMillis()-startTime);
+			GCNEventRecorder.getDefault().record(GCNEventRecorder.EVENT_SCRIPT_EXITED,-1,triggerNumber,
+							     System.currentTimeMillis()-startTime,retval,null);
+			GCNMetricsRegistry.getDefault().getCounter("gcn_script_exit_total","status=\""+retval+"\"",
+						"Spawned scripts returning each exit value.").incrementSynchronized();
 		}
 	}
 
@@ -3279,54 +5802,39 @@ public class GCNDatagramScriptStarter implements Runnable
 	}
 
 	/**
-	 * Inner class to run a control server.
+	 * Inner class to run a VOEvent server. Each connection is handled by a VOEventConnectionThread.
 	 */
-	public class ControlServerThread implements Runnable
+	public class VOEventServerThread implements Runnable
 	{
-		/**
-		 * The port the control server is running on.
-		 */
-		protected int portNumber = 0;
-		/**
-		 * Set to true to stop the thread.
-		 */
-		protected boolean quit = false;
-		/**
-		 * The server socket.
-		 */
-		protected ServerSocket serverSocket = null;
-
 		/**
 		 * Default constructor.
 		 */
-		public ControlServerThread()
+		public VOEventServerThread()
 		{
 			super();
 		}
 
 		/**
-		 * The run method.
-		 * Sets up the server socket. Enter a while loop until quit is true.
-		 * Gets a connection socket, and calls startConnectionThread to start a connection thread
-		 * to handle the connection.
-		 * @see #serverSocket
-		 * @see #quit
-		 * @see#startConnectionThread
+		 * The run method. Creates a server socket on voeventPort, and starts a VOEventConnectionThread
+		 * for each connection accepted, until quit is true.
+		 * @see #voeventPort
+		 * @see GCNDatagramScriptStarter.VOEventConnectionThread
 		 */
 		public void run()
 		{
-			Socket connectionSocket = null;
+			ServerSocket serverSocket = null;
+			Thread t = null;
 
 			try
 			{
-				// create server socket
-				serverSocket = new ServerSocket(portNumber);
+				serverSocket = new ServerSocket(voeventPort);
 				while(quit == false)
 				{
 					try
 					{
-						connectionSocket = serverSocket.accept();
-						startConnectionThread(connectionSocket);
+						t = new Thread(new VOEventConnectionThread(serverSocket.accept()));
+						t.setDaemon(true);
+						t.start();
 					}
 					catch(Exception e)
 					{
@@ -3336,146 +5844,317 @@ public class GCNDatagramScriptStarter implements Runnable
 			}
 			catch(Exception e)
 			{
-				logger.error(this.getClass().getName()+":run:server socket",e);
+				logger.error(this.getClass().getName()+":run:server socket "+voeventPort,e);
 			}
 		}
+	}
 
+	/**
+	 * Class implementing a connection to the VOEvent server. The connection carries any number of VOEvent
+	 * documents, each preceeded by it's length in bytes, as a 4 byte integer in network byte order
+	 * (the VOEvent Transport Protocol framing).
+	 */
+	public class VOEventConnectionThread implements Runnable
+	{
 		/**
-		 * Method to set the port number of the control server port.
-		 * @param p The port number
-		 * @see #portNumber
+		 * The largest document length accepted, in bytes.
 		 */
-		public void setPort(int p)
-		{
-			portNumber = p;
-		}
+		public final static int MAX_DOCUMENT_LENGTH = 1024*1024;
+		/**
+		 * The connection socket.
+		 */
+		protected Socket socket = null;
 
 		/**
-		 * Quit the server socket.
-		 * Set quit to true, and close the server socket (if it exists).
-		 * @exception IOException Can be thrown when closing the server socket.
-		 * @see #quit
-		 * @see #serverSocket
+		 * Constructor.
+		 * @param s The connection socket.
 		 */
-		public void quit() throws IOException
+		public VOEventConnectionThread(Socket s)
 		{
-			quit = true;
-			if(serverSocket != null)
-				serverSocket.close();
+			super();
+			socket = s;
 		}
 
 		/**
-		 * Start a connection thread using the specified socket for communication.
-		 * @param s The socket to communicate over.
-		 * @see GCNDatagramScriptStarter.ControlServerConnectionThread
+		 * Run method. Reads documents from the connection, and passes each to processVOEvent,
+		 * until the connection is closed. A document that cannot be processed is logged and skipped.
+		 * @see GCNDatagramScriptStarter#processVOEvent
 		 */
-		protected void startConnectionThread(Socket s)
+		public void run()
 		{
-			ControlServerConnectionThread csct = null;
-			Thread t = null;
+			DataInputStream inputStream = null;
+			byte document[] = null;
+			int length;
 
-			csct = new ControlServerConnectionThread();
-			csct.setSocket(s);
-			t = new Thread(csct);
-			t.start();
+			try
+			{
+				inputStream = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+				while(quit == false)
+				{
+					try
+					{
+						length = inputStream.readInt();
+					}
+					catch(EOFException e)
+					{
+						break;
+					}
+					if((length < 1)||(length > MAX_DOCUMENT_LENGTH))
+					{
+						throw new IOException(this.getClass().getName()+
+								      ":run:Illegal document length:"+length);
+					}
+					if((document == null)||(document.length != length))
+						document = new byte[length];
+					inputStream.readFully(document);
+					try
+					{
+						processVOEvent(document,System.currentTimeMillis());
+					}
+					catch(Exception e)
+					{
+						logger.error(this.getClass().getName()+":run:processing VOEvent failed:",e);
+					}
+				}
+			}
+			catch(Exception e)
+			{
+				logger.error(this.getClass().getName()+":run:",e);
+			}
+			finally
+			{
+				try
+				{
+					socket.close();
+				}
+				catch(IOException e)
+				{
+				}
+			}
 		}
 	}
 
 	/**
-	 * Class implementing a connection from the control server socket.
+	 * Inner class that polls the VOEvent directory for new documents (files ending in .xml), every second.
+	 * Each document is passed to processVOEvent, and then renamed to end in .done (or deleted,
+	 * if it cannot be renamed). Documents are processed in file name order.
 	 */
-	public class ControlServerConnectionThread implements Runnable
+	public class VOEventDirectoryThread implements Runnable
 	{
 		/**
-		 * The connection socket.
+		 * How often to poll the directory, in milliseconds.
 		 */
-		protected Socket socket = null;
+		public final static long POLL_INTERVAL = 1000;
+
 		/**
 		 * Default constructor.
 		 */
-		public ControlServerConnectionThread()
+		public VOEventDirectoryThread()
 		{
 			super();
 		}
 
 		/**
-		 * Method to set the connection socket.
-		 * @param s The socket.
-		 * @see #socket
+		 * Run method. Polls the directory until quit is true.
+		 * @see #voeventDirectory
+		 * @see GCNDatagramScriptStarter#processVOEvent
 		 */
-		public void setSocket(Socket s)
+		public void run()
 		{
-			socket = s;
+			File fileList[] = null;
+
+			while(quit == false)
+			{
+				fileList = voeventDirectory.listFiles(new FilenameFilter()
+				{
+					public boolean accept(File dir,String name)
+					{
+						return name.endsWith(".xml");
+					}
+				});
+				if(fileList != null)
+				{
+					Arrays.sort(fileList);
+					for(int i = 0; i < fileList.length; i++)
+						processFile(fileList[i]);
+				}
+				try
+				{
+					Thread.sleep(POLL_INTERVAL);
+				}
+				catch(InterruptedException e)
+				{
+				}
+			}
 		}
 
 		/**
-		 * Run method.
-		 * <ul>
-		 * <li>Gets an input reader (getInputReader).
-		 * <li>Gets an output reader (getOutputWriter).
-		 * <li>Reads in the command string.
-		 * <li>Splits it by whitespace.
-		 * <li>Passes the array of command and arguments to doControlCommand
-		 * <li>Writes the returned string to the socket.
-		 * <li>Flushes the writer.
-		 * <li>Closes reader, writer and connection socket.
-		 * </ul>
-		 * This method contains the JDK v1.4 method call String.split.
-		 * @since 1.4
-		 * @see #getInputReader
-		 * @see #getOutputWriter
-		 * @see GCNDatagramScriptStarter#doControlCommand
+		 * Read a document from a file, pass it to processVOEvent, and rename or delete the file.
+		 * @param file The file.
 		 */
-		public void run()
+		protected void processFile(File file)
 		{
-			BufferedReader reader = null;
-			PrintWriter writer = null;
-			String commandString = null;
-			String[] commandArray = null;
-			String returnString = null;
+			DataInputStream inputStream = null;
+			byte document[] = null;
+			long receiveTime;
 
+			receiveTime = System.currentTimeMillis();
 			try
 			{
-				reader = getInputReader();
-				writer = getOutputWriter();
-				writer.flush();
-				commandString = reader.readLine();
-				// This next line is JDK 1.4 only, regex split.
-				// \s means split on whitespace
-				commandArray = commandString.split("\\s");
-				returnString = doControlCommand(commandArray);
-				writer.print(returnString);
-				writer.flush();
-				writer.close();
-				reader.close();
-				socket.close();
-				socket = null;
+				document = new byte[(int)(file.length())];
+				inputStream = new DataInputStream(new FileInputStream(file));
+				try
+				{
+					inputStream.readFully(document);
+				}
+				finally
+				{
+					inputStream.close();
+				}
+				processVOEvent(document,receiveTime);
 			}
 			catch(Exception e)
 			{
-				logger.error(this.getClass().getName()+":run:",e);
+				logger.error(this.getClass().getName()+":processFile:"+file+" failed:",e);
+			}
+			if(file.renameTo(new File(file.getPath()+".done")) == false)
+			{
+				if(file.delete() == false)
+				{
+					logger.error(this.getClass().getName()+":processFile:Failed to remove "+file+".");
+				}
 			}
+		}
+	}
 
+	/**
+	 * Inner class to run a JSON notice server. Each connection is read by a JSONNoticeReaderThread.
+	 */
+	public class JSONNoticeServerThread implements Runnable
+	{
+		/**
+		 * Default constructor.
+		 */
+		public JSONNoticeServerThread()
+		{
+			super();
 		}
 
 		/**
-		 * Get a buffered reader from the socket.
-		 * @see #socket
+		 * The run method. Creates a server socket on jsonNoticePort, and starts a JSONNoticeReaderThread
+		 * for each connection accepted, until quit is true.
+		 * @see #jsonNoticePort
+		 * @see GCNDatagramScriptStarter.JSONNoticeReaderThread
 		 */
-		protected BufferedReader getInputReader() throws IOException
+		public void run()
 		{
-			return new BufferedReader(new InputStreamReader(socket.getInputStream()));
+			ServerSocket serverSocket = null;
+			Socket socket = null;
+			Thread t = null;
+
+			try
+			{
+				serverSocket = new ServerSocket(jsonNoticePort);
+				while(quit == false)
+				{
+					try
+					{
+						socket = serverSocket.accept();
+						t = new Thread(new JSONNoticeReaderThread(new BufferedReader(
+							new InputStreamReader(socket.getInputStream(),"UTF-8")),
+							socket.getRemoteSocketAddress().toString()));
+						t.setDaemon(true);
+						t.start();
+					}
+					catch(Exception e)
+					{
+						logger.error(this.getClass().getName()+":run:",e);
+					}
+				}
+			}
+			catch(Exception e)
+			{
+				logger.error(this.getClass().getName()+":run:server socket "+jsonNoticePort,e);
+			}
 		}
+	}
+
+	/**
+	 * Class that reads JSON notices from a reader (a connection, file or pipe), and passes each to
+	 * processJSONNotice, until the end of the reader. A notice that cannot be parsed is logged, and the rest
+	 * of it's line skipped.
+	 * @see GCNJSONNoticeParser
+	 */
+	public class JSONNoticeReaderThread implements Runnable
+	{
+		/**
+		 * The reader.
+		 */
+		protected Reader reader = null;
+		/**
+		 * The name of the source, for logging.
+		 */
+		protected String name = null;
 
 		/**
-		 * Get a buffered writer from the socket.
-		 * @see #socket
+		 * Constructor.
+		 * @param r The reader. It should be buffered.
+		 * @param n The name of the source, for logging.
 		 */
-		protected PrintWriter getOutputWriter() throws IOException
+		public JSONNoticeReaderThread(Reader r,String n)
 		{
-			return new PrintWriter(new BufferedWriter(new OutputStreamWriter(socket.getOutputStream())));
+			super();
+			reader = r;
+			name = n;
 		}
 
+		/**
+		 * Run method. Parses notices from the reader, and passes each to processJSONNotice.
+		 * @see GCNDatagramScriptStarter#processJSONNotice
+		 */
+		public void run()
+		{
+			GCNJSONNoticeParser parser = null;
+			GCNDatagramAlertData noticeAlertData = null;
+			boolean done = false;
+
+			logger.log(this.getClass().getName()+":run:Reading JSON notices from "+name+".");
+			parser = new GCNJSONNoticeParser(reader);
+			try
+			{
+				while((quit == false)&&(done == false))
+				{
+					try
+					{
+						noticeAlertData = parser.parse();
+						if(noticeAlertData != null)
+							processJSONNotice(parser,noticeAlertData);
+						else
+							done = true;
+					}
+					catch(IOException e)
+					{
+						logger.error(this.getClass().getName()+":run:"+name+":Parsing JSON notice failed:",e);
+						parser.skipLine();
+					}
+				}
+			}
+			catch(Exception e)
+			{
+				logger.error(this.getClass().getName()+":run:"+name+":",e);
+			}
+			finally
+			{
+				try
+				{
+					reader.close();
+				}
+				catch(IOException e)
+				{
+				}
+			}
+			logger.log(this.getClass().getName()+":run:Finished reading JSON notices from "+name+".");
+		}
 	}
 }
 //
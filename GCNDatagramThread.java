@@ -13,9 +13,16 @@ import org.estar.log.*;
  * This class is a Runnable, that sits on a MulticastSocket, waiting to be sent packets from
  * a program sitting on a GCN Bacodine socket. This program is sent a copy
  * of the alert packets in a data packet.
+ * <p>
+ * This is the ingest engine shared by the packet consumers (the forwarder, script starter and archiver).
+ * It owns the receive path: each packet is received once into a pooled buffer, validated (if a validator
+ * is set), passed to the feed watchdog, and then fanned out to the listeners, so several consumers can
+ * run in one JVM off the one socket (see GCNDatagramProxy).
  * There is a main method to test this thread independantly.
  * @author Chris Mottram
  * @version $Revision: 1.1 $
+ * @see GCNPacketBufferListener
+ * @see GCNDatagramProxy
  */
 public class GCNDatagramThread implements Runnable, GCNDatagramListener, ILoggable
 {
@@ -33,6 +40,13 @@ public class GCNDatagramThread implements Runnable, GCNDatagramListener, ILoggab
 	 */
 	public final static String DEFAULT_GROUP_ADDRESS = "224.103.114.98";
 	public final static int PACKET_LENGTH = 160;
+	/**
+	 * The length of the buffer packets are received into. This is one byte longer than a packet,
+	 * so an oversized datagram is received as longer than PACKET_LENGTH (rather than silently truncated
+	 * to a packet), and can be rejected by the packet validator.
+	 * @see #PACKET_LENGTH
+	 */
+	public final static int RECEIVE_LENGTH = PACKET_LENGTH+1;
 	protected boolean quit = false;
 	protected MulticastSocket socket = null;
 	protected DatagramPacket packet = null;
@@ -45,14 +59,41 @@ public class GCNDatagramThread implements Runnable, GCNDatagramListener, ILoggab
 	 * The port to attach to.
 	 */
 	protected int port = DEFAULT_PORT;
+	/**
+	 * Pool of packet buffers to receive packets into.
+	 */
+	protected GCNPacketBufferPool bufferPool = null;
 	/**
 	 * The buffer used to receive the packet.
 	 */
-	protected byte packetBuff[];
+	protected GCNPacketBuffer packetBuffer = null;
 	/**
-	 * A list of listener's to tell about any received packet.
+	 * A list of listener's to tell about any received packet, as a byte array.
 	 */
 	protected List listenerList = null;
+	/**
+	 * A list of listener's to pass the shared packet buffer of any received packet to.
+	 */
+	protected List bufferListenerList = null;
+	/**
+	 * Counter of received packets.
+	 */
+	protected GCNCounter receivedCounter = null;
+	/**
+	 * Histogram of the time taken to pass each received packet to all the listeners, in milliseconds.
+	 */
+	protected GCNLatencyHistogram dispatchHistogram = null;
+	/**
+	 * Watchdog tracking the health of the feed from it's IMALIVE packets.
+	 * @see #getFeedWatchdog
+	 */
+	protected GCNFeedWatchdog feedWatchdog = null;
+	/**
+	 * The validator received packets are checked with before they are passed on,
+	 * or null if packets are not validated.
+	 * @see #setPacketValidator
+	 */
+	protected GCNPacketValidator packetValidator = null;
 	/**
 	 * Logger instance.
 	 */
@@ -70,33 +111,89 @@ public class GCNDatagramThread implements Runnable, GCNDatagramListener, ILoggab
 		super();
 		groupAddress = InetAddress.getByName(DEFAULT_GROUP_ADDRESS);
 		listenerList = new Vector();
+		bufferListenerList = new Vector();
+		bufferPool = new GCNPacketBufferPool(RECEIVE_LENGTH);
+		receivedCounter = GCNMetricsRegistry.getDefault().getCounter("gcn_datagram_received_total",null,
+									"Packets received from the multicast group.");
+		dispatchHistogram = GCNMetricsRegistry.getDefault().getHistogram("gcn_datagram_dispatch_ms",null,"ms",
+							"Time taken to pass a received packet to all the listeners.");
 		logger = new GCNLogger();
 	}
 
 	/**
-	 * Run method.
+	 * Run method. Each received packet is passed to the buffer listeners, which share the one packet buffer,
+	 * and then to the byte array listeners. The thread then releases it's reference to the packet buffer.
+	 * The time taken to dispatch each packet is recorded in the dispatch histogram.
+	 * If a packet validator is set, packets it rejects are dropped (and not passed on).
+	 * Each packet is then passed to the feed watchdog, which tracks the IMALIVE packets. The watchdog is started
+	 * once the socket is open, so a feed that never sends an IMALIVE packet is marked down.
 	 * @see #quit
 	 * @see #initSocket
 	 * @see #receivePacket
-	 * @see #packet
+	 * @see #packetValidator
+	 * @see #packetBuffer
+	 * @see #bufferListenerList
+	 * @see #listenerList
+	 * @see #dispatchHistogram
+	 * @see #getFeedWatchdog
 	 */
 	public void run()
 	{
+		GCNPacketBufferListener bufferListener = null;
 		GCNDatagramListener listener = null;
+		GCNFeedWatchdog watchdog = null;
+		int reason;
+
 		try
 		{
 			logger.log(this.getClass().getName()+":run:Started.");
 			quit = false;
 			initSocket();
+			watchdog = getFeedWatchdog();
+			watchdog.start();
 			while(quit == false)
 			{
 				receivePacket();
+				if(packetValidator != null)
+				{
+					reason = packetValidator.validate(packetBuffer.array(),0,packetBuffer.getLength(),
+									  packetBuffer.getReceiveTime());
+					if(reason != GCNPacketValidator.REASON_NONE)
+					{
+						logger.log(this.getClass().getName()+":run:Packet of length "+
+							   packetBuffer.getLength()+" rejected by validator:"+
+							   GCNPacketValidator.getReasonName(reason)+".");
+						packetBuffer.release();
+						packetBuffer = null;
+						continue;
+					}
+				}
+				else if(packetBuffer.getLength() > PACKET_LENGTH)
+				{
+					logger.log(this.getClass().getName()+":run:Oversized packet truncated to "+
+						   PACKET_LENGTH+" bytes.");
+					packetBuffer.setLength(PACKET_LENGTH);
+				}
+				watchdog.processPacket(packetBuffer);
+				for(int i = 0; i < bufferListenerList.size(); i ++)
+				{
+					try
+					{
+						bufferListener = (GCNPacketBufferListener)(bufferListenerList.get(i));
+						bufferListener.processPacket(packetBuffer);
+					}
+					catch(Exception e)
+					{
+						logger.error(this.getClass().getName()+
+							     ":run:processPacket:buffer listener = "+bufferListener,e);
+					}
+				}
 				for(int i = 0; i < listenerList.size(); i ++)
 				{
 					try
 					{
 						listener = (GCNDatagramListener)(listenerList.get(i));
-						listener.processPacket(packet.getData());
+						listener.processPacket(packetBuffer.array());
 					}
 					catch(Exception e)
 					{
@@ -104,6 +201,9 @@ public class GCNDatagramThread implements Runnable, GCNDatagramListener, ILoggab
 							     ":run:processPacket:listener = "+listener,e);
 					}
 				}
+				dispatchHistogram.record(System.currentTimeMillis()-packetBuffer.getReceiveTime());
+				packetBuffer.release();
+				packetBuffer = null;
 			}
 		}
 		catch(Exception e)
@@ -131,6 +231,26 @@ public class GCNDatagramThread implements Runnable, GCNDatagramListener, ILoggab
 		groupAddress = i;
 	}
 
+	/**
+	 * Return the port listened to.
+	 * @return The port.
+	 * @see #port
+	 */
+	public int getPort()
+	{
+		return port;
+	}
+
+	/**
+	 * Return the multicast group address listened to.
+	 * @return The group address.
+	 * @see #groupAddress
+	 */
+	public InetAddress getGroupAddress()
+	{
+		return groupAddress;
+	}
+
 	/**
 	 * Add a listener.
 	 * @param gdl A listener.
@@ -142,6 +262,66 @@ public class GCNDatagramThread implements Runnable, GCNDatagramListener, ILoggab
 		listenerList.add(gdl);
 	}
 
+	/**
+	 * Add a listener, that is passed the shared packet buffer of each received packet.
+	 * @param l A listener.
+	 * @see #bufferListenerList
+	 * @see GCNPacketBufferListener
+	 */
+	public void addBufferListener(GCNPacketBufferListener l)
+	{
+		bufferListenerList.add(l);
+	}
+
+	/**
+	 * Return the watchdog tracking the health of the feed, creating it (named after the group address and port)
+	 * if necessary. Must be called after the group address and port are set.
+	 * @return The watchdog.
+	 * @see #feedWatchdog
+	 * @see GCNTimerWheel#getDefault
+	 */
+	public synchronized GCNFeedWatchdog getFeedWatchdog()
+	{
+		if(feedWatchdog == null)
+		{
+			feedWatchdog = new GCNFeedWatchdog(groupAddress.getHostAddress()+":"+port,
+							   GCNTimerWheel.getDefault(),GCNMetricsRegistry.getDefault());
+		}
+		return feedWatchdog;
+	}
+
+	/**
+	 * Set the validator received packets are checked with, before they are passed to the feed watchdog
+	 * and the listeners. Must be called before run.
+	 * @param v The validator, or null to pass on all packets.
+	 * @see #packetValidator
+	 */
+	public void setPacketValidator(GCNPacketValidator v)
+	{
+		packetValidator = v;
+	}
+
+	/**
+	 * Return the validator received packets are checked with.
+	 * @return The validator, or null if packets are not validated.
+	 * @see #packetValidator
+	 */
+	public GCNPacketValidator getPacketValidator()
+	{
+		return packetValidator;
+	}
+
+	/**
+	 * Return the pool packets are received into. Listeners can use it to get buffers
+	 * for packets from other sources.
+	 * @return The pool.
+	 * @see #bufferPool
+	 */
+	public GCNPacketBufferPool getBufferPool()
+	{
+		return bufferPool;
+	}
+
 	public void addLogger(ILogger l)
 	{
 		logger = l;
@@ -256,19 +436,38 @@ public class GCNDatagramThread implements Runnable, GCNDatagramListener, ILoggab
 	}
 
 	/**
-	 * Receive packet.
-	 * @see #packetBuff
-	 * @see #PACKET_LENGTH
+	 * Receive packet, into a packet buffer taken from the pool.
+	 * @see #packetBuffer
+	 * @see #bufferPool
+	 * @see #RECEIVE_LENGTH
 	 * @see #packet
 	 * @see #socket
+	 * @see #receivedCounter
 	 */
 	protected void receivePacket() throws Exception
 	{
 		logger.log(this.getClass().getName()+":receivePacket:Started.");
-		packetBuff = new byte[PACKET_LENGTH];
-		packet = new DatagramPacket(packetBuff,packetBuff.length);
+		packetBuffer = bufferPool.get();
+		if(packet == null)
+			packet = new DatagramPacket(packetBuffer.array(),RECEIVE_LENGTH);
+		else
+			packet.setData(packetBuffer.array(),0,RECEIVE_LENGTH);
 		logger.log(this.getClass().getName()+":receivePacket:Awaiting packet.");
-		socket.receive(packet);
+		try
+		{
+			socket.receive(packet);
+		}
+		catch(Exception e)
+		{
+			packetBuffer.release();
+			packetBuffer = null;
+			throw e;
+		}
+		packetBuffer.setLength(packet.getLength());
+		packetBuffer.setReceiveTime(System.currentTimeMillis());
+		receivedCounter.increment();
+		GCNEventRecorder.getDefault().record(GCNEventRecorder.EVENT_PACKET_RECEIVED,packetBuffer.getType(),
+						     -1,-1,-1,null);
 		logger.log(this.getClass().getName()+":receivePacket:Packet received.");
 	}
 
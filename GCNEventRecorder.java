@@ -0,0 +1,280 @@
+// GCNEventRecorder.java
+package org.estar.gcn;
+
+import java.lang.*;
+import java.io.*;
+import java.text.*;
+import java.util.*;
+
+/**
+ * A flight recorder of packet lifecycle events (packet received, packet decoded, alert filtered,
+ * script launched, script exited, packet forwarded). Events are held in a fixed size ring buffer,
+ * overwriting the oldest, and can be dumped as text (one event per line, with it's time to the millisecond and
+ * the recording thread), to be correlated with the JVM's garbage collection log and the system logs.
+ * <p>
+ * The recorder is off by default. When it is off, record returns after reading one volatile boolean,
+ * without allocating or locking. Callers should only pass constant (or already existing) detail strings,
+ * so no garbage is created when recording is off. When it is on, each event is copied into pre-allocated
+ * arrays under a short lock.
+ * There is a default recorder, shared by all the components in a JVM.
+ * @author Chris Mottram
+ * @version $Revision$
+ */
+public class GCNEventRecorder
+{
+// constants
+	/**
+	 * Revision control system version id.
+	 */
+	public final static String RCSID = "$Id$";
+	/**
+	 * Event: a packet was received.
+	 */
+	public final static int EVENT_PACKET_RECEIVED = 0;
+	/**
+	 * Event: a packet was decoded.
+	 */
+	public final static int EVENT_PACKET_DECODED = 1;
+	/**
+	 * Event: an alert was accepted or rejected by the alert filter.
+	 */
+	public final static int EVENT_ALERT_FILTERED = 2;
+	/**
+	 * Event: a script was launched.
+	 */
+	public final static int EVENT_SCRIPT_LAUNCHED = 3;
+	/**
+	 * Event: a script exited.
+	 */
+	public final static int EVENT_SCRIPT_EXITED = 4;
+	/**
+	 * Event: a packet was sent to a forward destination.
+	 */
+	public final static int EVENT_FORWARD_SENT = 5;
+	/**
+	 * The names of the events, indexed by event.
+	 */
+	public final static String EVENT_NAME_LIST[] = {"PacketReceived","PacketDecoded","AlertFiltered",
+							"ScriptLaunched","ScriptExited","ForwardSent"};
+	/**
+	 * The default number of events held.
+	 */
+	public final static int DEFAULT_CAPACITY = 4096;
+	/**
+	 * The default recorder.
+	 */
+	protected static GCNEventRecorder defaultRecorder = new GCNEventRecorder(DEFAULT_CAPACITY);
+	/**
+	 * Whether events are being recorded.
+	 */
+	protected volatile boolean enabled = false;
+	/**
+	 * The time of each event, in milliseconds since the epoch.
+	 */
+	protected long timeList[] = null;
+	/**
+	 * The event of each entry.
+	 * @see #EVENT_PACKET_RECEIVED
+	 */
+	protected int eventList[] = null;
+	/**
+	 * The packet type of each event, or -1.
+	 */
+	protected int packetTypeList[] = null;
+	/**
+	 * The trigger number of each event, or -1.
+	 */
+	protected int triggerNumberList[] = null;
+	/**
+	 * The duration of each event, in milliseconds, or -1.
+	 */
+	protected long durationList[] = null;
+	/**
+	 * An event specific value (e.g. the script exit value), or -1.
+	 */
+	protected int valueList[] = null;
+	/**
+	 * An event specific detail (e.g. the alert filter verdict), or null.
+	 */
+	protected String detailList[] = null;
+	/**
+	 * The thread that recorded each event.
+	 */
+	protected Thread threadList[] = null;
+	/**
+	 * The index the next event is recorded at.
+	 */
+	protected int next = 0;
+	/**
+	 * The total number of events recorded (including those overwritten).
+	 */
+	protected long totalCount = 0;
+
+	/**
+	 * Constructor.
+	 * @param capacity The number of events held.
+	 * @exception IllegalArgumentException Thrown if the capacity is not positive.
+	 */
+	public GCNEventRecorder(int capacity) throws IllegalArgumentException
+	{
+		super();
+		setCapacity(capacity);
+	}
+
+	/**
+	 * Return the default recorder.
+	 * @return The default recorder.
+	 * @see #defaultRecorder
+	 */
+	public static GCNEventRecorder getDefault()
+	{
+		return defaultRecorder;
+	}
+
+	/**
+	 * Set the number of events held. Any recorded events are discarded.
+	 * @param capacity The number of events.
+	 * @exception IllegalArgumentException Thrown if the capacity is not positive.
+	 */
+	public synchronized void setCapacity(int capacity) throws IllegalArgumentException
+	{
+		if(capacity < 1)
+		{
+			throw new IllegalArgumentException(this.getClass().getName()+
+							   ":setCapacity:Illegal capacity:"+capacity);
+		}
+		timeList = new long[capacity];
+		eventList = new int[capacity];
+		packetTypeList = new int[capacity];
+		triggerNumberList = new int[capacity];
+		durationList = new long[capacity];
+		valueList = new int[capacity];
+		detailList = new String[capacity];
+		threadList = new Thread[capacity];
+		next = 0;
+		totalCount = 0;
+	}
+
+	/**
+	 * Turn recording on or off.
+	 * @param b Whether to record events.
+	 * @see #enabled
+	 */
+	public void setEnabled(boolean b)
+	{
+		enabled = b;
+	}
+
+	/**
+	 * Return whether events are being recorded.
+	 * @return true if events are being recorded.
+	 * @see #enabled
+	 */
+	public boolean isEnabled()
+	{
+		return enabled;
+	}
+
+	/**
+	 * Record an event, if recording is on.
+	 * @param event The event.
+	 * @param packetType The packet type, or -1.
+	 * @param triggerNumber The trigger number, or -1.
+	 * @param duration The duration in milliseconds, or -1.
+	 * @param value An event specific value, or -1.
+	 * @param detail An event specific detail, or null.
+	 * @see #enabled
+	 * @see #EVENT_PACKET_RECEIVED
+	 */
+	public void record(int event,int packetType,int triggerNumber,long duration,int value,String detail)
+	{
+		if(enabled == false)
+			return;
+		synchronized(this)
+		{
+			timeList[next] = System.currentTimeMillis();
+			eventList[next] = event;
+			packetTypeList[next] = packetType;
+			triggerNumberList[next] = triggerNumber;
+			durationList[next] = duration;
+			valueList[next] = value;
+			detailList[next] = detail;
+			threadList[next] = Thread.currentThread();
+			next = (next+1)%timeList.length;
+			totalCount++;
+		}
+	}
+
+	/**
+	 * Return the most recent events, oldest first, one per line, in the form:
+	 * <pre>
+	 * yyyy-MM-dd'T'HH:mm:ss.SSS &lt;thread&gt; &lt;event&gt; type=&lt;name&gt; trigger=&lt;n&gt; duration_ms=&lt;n&gt; value=&lt;n&gt; detail=&lt;detail&gt;
+	 * </pre>
+	 * Fields that were not recorded (-1, or null) are left out.
+	 * @param count The maximum number of events to return.
+	 * @return The events.
+	 */
+	public synchronized String getEvents(int count)
+	{
+		StringBuffer sb = null;
+		DateFormat dateFormat = null;
+		int held,index;
+
+		sb = new StringBuffer();
+		dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS");
+		dateFormat.setTimeZone(TimeZone.getTimeZone("GMT+0"));
+		held = (int)Math.min(totalCount,(long)timeList.length);
+		count = Math.min(Math.max(count,0),held);
+		for(int i = count; i > 0; i--)
+		{
+			index = (next-i+timeList.length)%timeList.length;
+			sb.append(dateFormat.format(new Date(timeList[index]))+" "+threadList[index].getName()+" "+
+				  EVENT_NAME_LIST[eventList[index]]);
+			if(packetTypeList[index] > -1)
+				sb.append(" type="+GCNPacketType.getName(packetTypeList[index]));
+			if(triggerNumberList[index] > -1)
+				sb.append(" trigger="+triggerNumberList[index]);
+			if(durationList[index] > -1)
+				sb.append(" duration_ms="+durationList[index]);
+			if(valueList[index] != -1)
+				sb.append(" value="+valueList[index]);
+			if(detailList[index] != null)
+				sb.append(" detail="+detailList[index]);
+			sb.append("\n");
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Write all the held events to a file.
+	 * @param file The file to write to.
+	 * @exception IOException Thrown if writing the file fails.
+	 * @see #getEvents
+	 */
+	public void dump(File file) throws IOException
+	{
+		Writer writer = null;
+
+		writer = new BufferedWriter(new FileWriter(file));
+		try
+		{
+			writer.write(getEvents(timeList.length));
+		}
+		finally
+		{
+			writer.close();
+		}
+	}
+
+	/**
+	 * Return the total number of events recorded, including those overwritten.
+	 * @return The number of events.
+	 */
+	public synchronized long getTotalCount()
+	{
+		return totalCount;
+	}
+}
+//
+// $Log: not supported by cvs2svn $
+//
@@ -0,0 +1,507 @@
+// GCNFeedWatchdog.java
+package org.estar.gcn;
+
+import java.lang.*;
+import java.util.*;
+
+/**
+ * Tracks the health of a GCN feed from it's IMALIVE packets, which GCN sends every 60 seconds.
+ * This is a Java version of the IMALIVE checks in socket_demo.c:
+ * <ul>
+ * <li>The interval between IMALIVE packets arriving, and between their PKT_SOD (generation) times, is
+ *     recorded, and listeners told if either is outside 60 seconds +/- the tolerance.
+ * <li>The difference between the local clock and PKT_SOD (the clock skew, plus the transit time) is tracked.
+ * <li>If no IMALIVE packet is received within the timeout (by default one missed heartbeat, plus a margin),
+ *     the feed is marked down and listeners told. When IMALIVE packets resume, the feed is marked up
+ *     and listeners told.
+ * </ul>
+ * Unlike socket_demo.c, the timeout is first scheduled when the watchdog is started (rather than on the first
+ * IMALIVE packet), so a feed that is silent from startup is marked down too.
+ * The timeout is a GCNTimerWheel timeout, cancelled and re-scheduled on each IMALIVE, so no thread is needed
+ * per watchdog. The state is exported as metrics, labelled with the feed name.
+ * @author Chris Mottram
+ * @version $Revision$
+ * @see GCNFeedWatchdogListener
+ * @see GCNTimerWheel
+ */
+public class GCNFeedWatchdog implements GCNPacketBufferListener
+{
+// constants
+	/**
+	 * Revision control system version id.
+	 */
+	public final static String RCSID = "$Id$";
+	/**
+	 * State: no IMALIVE packet has been received yet.
+	 */
+	public final static int STATE_UNKNOWN = 0;
+	/**
+	 * State: IMALIVE packets are being received.
+	 */
+	public final static int STATE_UP = 1;
+	/**
+	 * State: no IMALIVE packet has been received within the timeout (of the last IMALIVE packet,
+	 * or of the watchdog starting).
+	 */
+	public final static int STATE_DOWN = 2;
+	/**
+	 * The interval GCN sends IMALIVE packets at, in milliseconds.
+	 */
+	public final static long IMALIVE_INTERVAL = 60000;
+	/**
+	 * The default tolerance on the IMALIVE interval, in milliseconds (as in socket_demo.c, 58 to 62 seconds).
+	 */
+	public final static long DEFAULT_TOLERANCE = 2000;
+	/**
+	 * The default time without an IMALIVE packet before the feed is marked down, in milliseconds:
+	 * one missed heartbeat, plus a margin.
+	 */
+	public final static long DEFAULT_TIMEOUT = IMALIVE_INTERVAL+15000;
+	/**
+	 * The number of milliseconds in a day.
+	 */
+	public final static long MILLISECONDS_PER_DAY = 24L*60L*60L*1000L;
+	/**
+	 * The name of the feed, used to label the metrics.
+	 */
+	protected String name = null;
+	/**
+	 * The timer wheel the timeout is scheduled on.
+	 */
+	protected GCNTimerWheel timerWheel = null;
+	/**
+	 * The time without an IMALIVE packet before the feed is marked down, in milliseconds.
+	 * @see #DEFAULT_TIMEOUT
+	 */
+	protected long timeout = DEFAULT_TIMEOUT;
+	/**
+	 * The tolerance on the IMALIVE interval, in milliseconds.
+	 * @see #DEFAULT_TOLERANCE
+	 */
+	protected long tolerance = DEFAULT_TOLERANCE;
+	/**
+	 * The feed state.
+	 * @see #STATE_UNKNOWN
+	 * @see #STATE_UP
+	 * @see #STATE_DOWN
+	 */
+	protected volatile int state = STATE_UNKNOWN;
+	/**
+	 * The time (in milliseconds since the epoch) the last IMALIVE packet was received, or zero.
+	 */
+	protected volatile long lastImaliveTime = 0;
+	/**
+	 * The time (in milliseconds since the epoch) the watchdog was started, or zero.
+	 * @see #start
+	 */
+	protected long startTime = 0;
+	/**
+	 * The PKT_SOD of the last IMALIVE packet, in centi-seconds, or -1.
+	 */
+	protected int lastPacketSod = -1;
+	/**
+	 * The local time of day of the last IMALIVE packet's arrival minus it's PKT_SOD, in milliseconds.
+	 * This is the local clock's skew relative to GCN, plus the packet's transit time.
+	 */
+	protected volatile long clockSkew = 0;
+	/**
+	 * The scheduled feed down timeout, or null if none is scheduled.
+	 * A timeout that expires after it has been replaced (its task was already removed from the wheel
+	 * when an IMALIVE packet re-scheduled the timeout) is ignored.
+	 * @see #scheduleTimeout
+	 * @see #timeoutExpired
+	 */
+	protected GCNTimerWheel.Timeout pendingTimeout = null;
+	/**
+	 * List of listeners to tell about feed changes.
+	 * @see GCNFeedWatchdogListener
+	 */
+	protected List listenerList = null;
+	/**
+	 * Histogram of the interval between IMALIVE packets arriving, in milliseconds.
+	 */
+	protected GCNLatencyHistogram arrivalIntervalHistogram = null;
+	/**
+	 * Histogram of the difference between the IMALIVE arrival interval and IMALIVE_INTERVAL, in milliseconds.
+	 */
+	protected GCNLatencyHistogram arrivalJitterHistogram = null;
+	/**
+	 * Histogram of the difference between the IMALIVE generation (PKT_SOD) interval and IMALIVE_INTERVAL,
+	 * in milliseconds.
+	 */
+	protected GCNLatencyHistogram generationJitterHistogram = null;
+	/**
+	 * Counter of received IMALIVE packets.
+	 */
+	protected GCNCounter imaliveCounter = null;
+	/**
+	 * Counter of IMALIVE packets arriving at irregular intervals.
+	 */
+	protected GCNCounter arrivalIrregularCounter = null;
+	/**
+	 * Counter of IMALIVE packets generated at irregular intervals.
+	 */
+	protected GCNCounter generationIrregularCounter = null;
+	/**
+	 * Counter of the number of times the feed went down.
+	 */
+	protected GCNCounter feedDownCounter = null;
+
+	/**
+	 * Constructor. The watchdog's metrics are added to the registry, labelled with the feed name.
+	 * @param n The name of the feed, e.g. the multicast group and port.
+	 * @param w The timer wheel to schedule the timeout on.
+	 * @param registry The metrics registry.
+	 * @see #addMetrics
+	 */
+	public GCNFeedWatchdog(String n,GCNTimerWheel w,GCNMetricsRegistry registry)
+	{
+		super();
+		name = n;
+		timerWheel = w;
+		listenerList = new Vector();
+		addMetrics(registry);
+	}
+
+	/**
+	 * Return the name of the feed.
+	 * @return The name.
+	 */
+	public String getName()
+	{
+		return name;
+	}
+
+	/**
+	 * Start the watchdog, by scheduling the feed down timeout. If no IMALIVE packet is received within the
+	 * timeout, the feed is marked down. Calling start again does nothing.
+	 * @see #startTime
+	 * @see #pendingTimeout
+	 */
+	public synchronized void start()
+	{
+		if(startTime != 0)
+			return;
+		startTime = System.currentTimeMillis();
+		if(pendingTimeout == null)
+			scheduleTimeout();
+	}
+
+	/**
+	 * Set the time without an IMALIVE packet before the feed is marked down.
+	 * If a timeout is already scheduled, it is re-scheduled with the new timeout.
+	 * @param t The timeout, in milliseconds.
+	 * @exception IllegalArgumentException Thrown if the timeout is not positive.
+	 * @see #timeout
+	 * @see #pendingTimeout
+	 */
+	public synchronized void setTimeout(long t) throws IllegalArgumentException
+	{
+		if(t < 1)
+			throw new IllegalArgumentException(this.getClass().getName()+":setTimeout:Illegal timeout:"+t);
+		timeout = t;
+		if(pendingTimeout != null)
+			scheduleTimeout();
+	}
+
+	/**
+	 * Set the tolerance on the IMALIVE interval.
+	 * @param t The tolerance, in milliseconds.
+	 * @see #tolerance
+	 */
+	public synchronized void setTolerance(long t)
+	{
+		tolerance = t;
+	}
+
+	/**
+	 * Add a listener.
+	 * @param l The listener.
+	 * @see #listenerList
+	 */
+	public void addListener(GCNFeedWatchdogListener l)
+	{
+		listenerList.add(l);
+	}
+
+	/**
+	 * Return the feed state.
+	 * @return The state.
+	 * @see #STATE_UNKNOWN
+	 * @see #STATE_UP
+	 * @see #STATE_DOWN
+	 */
+	public int getState()
+	{
+		return state;
+	}
+
+	/**
+	 * Return the time the last IMALIVE packet was received.
+	 * @return The time in milliseconds since the epoch, or zero if no IMALIVE has been received.
+	 */
+	public long getLastImaliveTime()
+	{
+		return lastImaliveTime;
+	}
+
+	/**
+	 * Return the local time of day of the last IMALIVE packet's arrival minus it's PKT_SOD.
+	 * @return The clock skew (plus transit time), in milliseconds.
+	 * @see #clockSkew
+	 */
+	public long getClockSkew()
+	{
+		return clockSkew;
+	}
+
+	/**
+	 * Process a packet received from the feed. IMALIVE packets are passed to imaliveReceived,
+	 * other packets are ignored.
+	 * @param buffer The packet buffer.
+	 * @see #imaliveReceived
+	 */
+	public void processPacket(GCNPacketBuffer buffer)
+	{
+		if(buffer.getType() == GCNPacketType.TYPE_IMALIVE)
+		{
+			imaliveReceived(GCNPacketType.getWord(buffer.array(),GCNPacketType.WORD_PKT_SOD),
+					buffer.getReceiveTime());
+		}
+	}
+
+	/**
+	 * Process a received IMALIVE packet. The arrival and generation intervals and clock skew are recorded,
+	 * the feed is marked up, and the feed down timeout is re-scheduled. Listeners are told of any irregular
+	 * interval, and if the feed has come back up.
+	 * @param packetSod The PKT_SOD of the packet, in centi-seconds.
+	 * @param receiveTime The time the packet was received, in milliseconds since the epoch.
+	 * @see #arrivalIntervalHistogram
+	 * @see #arrivalJitterHistogram
+	 * @see #generationJitterHistogram
+	 * @see #clockSkew
+	 * @see #pendingTimeout
+	 */
+	public void imaliveReceived(int packetSod,long receiveTime)
+	{
+		GCNFeedWatchdogListener listener = null;
+		List messageList = null;
+		long interval,downLength,skew;
+		boolean feedUp = false;
+
+		messageList = new Vector();
+		downLength = 0;
+		synchronized(this)
+		{
+			imaliveCounter.increment();
+			if(lastImaliveTime != 0)
+			{
+				interval = receiveTime-lastImaliveTime;
+				arrivalIntervalHistogram.record(interval);
+				arrivalJitterHistogram.record(Math.abs(interval-IMALIVE_INTERVAL));
+				if(Math.abs(interval-IMALIVE_INTERVAL) > tolerance)
+				{
+					arrivalIrregularCounter.increment();
+					messageList.add("IMALIVE packets arrived at an interval of "+interval+" ms.");
+				}
+			}
+			if(lastPacketSod >= 0)
+			{
+				interval = ((long)(packetSod-lastPacketSod))*10;
+				if(interval < 0)
+					interval += MILLISECONDS_PER_DAY;
+				generationJitterHistogram.record(Math.abs(interval-IMALIVE_INTERVAL));
+				if(Math.abs(interval-IMALIVE_INTERVAL) > tolerance)
+				{
+					generationIrregularCounter.increment();
+					messageList.add("IMALIVE packets generated at an interval of "+interval+" ms.");
+				}
+			}
+			// local time of day minus PKT_SOD, wrapped into +/- half a day
+			skew = (receiveTime%MILLISECONDS_PER_DAY)-(((long)packetSod)*10);
+			if(skew > MILLISECONDS_PER_DAY/2)
+				skew -= MILLISECONDS_PER_DAY;
+			else if(skew < -MILLISECONDS_PER_DAY/2)
+				skew += MILLISECONDS_PER_DAY;
+			clockSkew = skew;
+			if(state == STATE_DOWN)
+			{
+				feedUp = true;
+				if(lastImaliveTime != 0)
+					downLength = receiveTime-lastImaliveTime;
+				else
+					downLength = receiveTime-startTime;
+			}
+			state = STATE_UP;
+			lastImaliveTime = receiveTime;
+			lastPacketSod = packetSod;
+			scheduleTimeout();
+		}
+		for(int i = 0; i < listenerList.size(); i++)
+		{
+			listener = (GCNFeedWatchdogListener)(listenerList.get(i));
+			for(int j = 0; j < messageList.size(); j++)
+				listener.imaliveIrregular(this,(String)(messageList.get(j)));
+			if(feedUp)
+				listener.feedUp(this,downLength);
+		}
+	}
+
+	/**
+	 * Cancel any pending feed down timeout, and schedule a new one. Must be called whilst holding the
+	 * watchdog's lock. The task is given the timeout it belongs to, so timeoutExpired can ignore it
+	 * if it has been replaced.
+	 * @see #pendingTimeout
+	 * @see #timeoutExpired
+	 */
+	protected void scheduleTimeout()
+	{
+		TimeoutTask task = null;
+
+		if(pendingTimeout != null)
+			pendingTimeout.cancel();
+		task = new TimeoutTask();
+		pendingTimeout = timerWheel.schedule(task,timeout);
+		// timeoutExpired reads the task's timeout whilst holding the lock, so it is set before it is read
+		task.timeout = pendingTimeout;
+	}
+
+	/**
+	 * Called on the timer wheel thread when no IMALIVE packet has been received within the timeout,
+	 * of the last IMALIVE packet or of the watchdog starting. The feed is marked down (from up or unknown),
+	 * and the listeners told. If the timeout is no longer the pending timeout (an IMALIVE packet arrived,
+	 * and re-scheduled the timeout, after the wheel removed this timeout but before it ran),
+	 * it is ignored.
+	 * @param task The task of the timeout that expired.
+	 * @see #state
+	 * @see #feedDownCounter
+	 * @see #pendingTimeout
+	 * @see #start
+	 */
+	protected void timeoutExpired(TimeoutTask task)
+	{
+		GCNFeedWatchdogListener listener = null;
+		long sinceTime;
+
+		synchronized(this)
+		{
+			if(task.timeout != pendingTimeout)
+				return;
+			pendingTimeout = null;
+			if(state == STATE_DOWN)
+				return;
+			state = STATE_DOWN;
+			feedDownCounter.increment();
+			if(lastImaliveTime != 0)
+				sinceTime = lastImaliveTime;
+			else
+				sinceTime = startTime;
+		}
+		for(int i = 0; i < listenerList.size(); i++)
+		{
+			listener = (GCNFeedWatchdogListener)(listenerList.get(i));
+			listener.feedDown(this,sinceTime);
+		}
+	}
+
+	/**
+	 * Add the watchdog's histograms, counters and gauges (the feed state, the time since the last IMALIVE,
+	 * and the clock skew) to a metrics registry, labelled with the feed name.
+	 * @param registry The registry.
+	 */
+	protected void addMetrics(GCNMetricsRegistry registry)
+	{
+		String labels = null;
+
+		labels = "feed=\""+name+"\"";
+		arrivalIntervalHistogram = registry.getHistogram("gcn_imalive_arrival_interval_ms",labels,"ms",
+							"Interval between IMALIVE packets arriving.");
+		arrivalJitterHistogram = registry.getHistogram("gcn_imalive_arrival_jitter_ms",labels,"ms",
+					"Difference between the IMALIVE arrival interval and 60 seconds.");
+		generationJitterHistogram = registry.getHistogram("gcn_imalive_generation_jitter_ms",labels,"ms",
+					"Difference between the IMALIVE generation (PKT_SOD) interval and 60 seconds.");
+		imaliveCounter = registry.getCounter("gcn_imalive_total",labels,"IMALIVE packets received.");
+		arrivalIrregularCounter = registry.getCounter("gcn_imalive_irregular_total",labels+",kind=\"arrival\"",
+							      "IMALIVE packets at irregular intervals.");
+		generationIrregularCounter = registry.getCounter("gcn_imalive_irregular_total",
+								 labels+",kind=\"generation\"",
+								 "IMALIVE packets at irregular intervals.");
+		feedDownCounter = registry.getCounter("gcn_feed_down_total",labels,
+						      "Times no IMALIVE packet was received within the timeout.");
+		registry.addGauge(new GCNGauge("gcn_feed_up",labels,
+					       "Whether the feed is up (1), down (0), or has not sent an IMALIVE (NaN).")
+		{
+			public double getValue()
+			{
+				if(state == STATE_UP)
+					return 1.0;
+				else if(state == STATE_DOWN)
+					return 0.0;
+				return Double.NaN;
+			}
+		});
+		registry.addGauge(new GCNGauge("gcn_feed_last_imalive_age_seconds",labels,
+					       "Time since the last IMALIVE packet was received.")
+		{
+			public double getValue()
+			{
+				if(lastImaliveTime == 0)
+					return Double.NaN;
+				return ((double)(System.currentTimeMillis()-lastImaliveTime))/1000.0;
+			}
+		});
+		registry.addGauge(new GCNGauge("gcn_imalive_clock_skew_seconds",labels,
+					       "Local time of day of the last IMALIVE arrival, minus it's PKT_SOD.")
+		{
+			public double getValue()
+			{
+				if(lastImaliveTime == 0)
+					return Double.NaN;
+				return ((double)clockSkew)/1000.0;
+			}
+		});
+	}
+
+	/**
+	 * Return a descriptive name for a feed state.
+	 * @param s The state.
+	 * @return The name.
+	 */
+	public static String getStateName(int s)
+	{
+		switch(s)
+		{
+			case STATE_UP:
+				return "UP";
+			case STATE_DOWN:
+				return "DOWN";
+			default:
+				return "UNKNOWN";
+		}
+	}
+
+	/**
+	 * The task run when a feed down timeout expires. It holds the timeout it was scheduled as, which is only
+	 * accessed whilst holding the watchdog's lock.
+	 * @see GCNFeedWatchdog#scheduleTimeout
+	 * @see GCNFeedWatchdog#timeoutExpired
+	 */
+	protected class TimeoutTask implements Runnable
+	{
+		/**
+		 * The timeout this task was scheduled as.
+		 */
+		protected GCNTimerWheel.Timeout timeout = null;
+
+		/**
+		 * Run method, calls timeoutExpired with this task.
+		 */
+		public void run()
+		{
+			timeoutExpired(this);
+		}
+	}
+}
+//
+// $Log: not supported by cvs2svn $
+//
@@ -0,0 +1,38 @@
+// GCNFeedWatchdogListener.java
+package org.estar.gcn;
+
+/**
+ * This interface is implemented by classes that want to be notified of changes in the health of a GCN feed,
+ * as tracked by a GCNFeedWatchdog. The methods are called without the watchdog's lock held,
+ * from the thread receiving packets or the timer wheel thread, and so should not block.
+ * @author Chris Mottram
+ * @version $Revision$
+ * @see GCNFeedWatchdog
+ */
+public interface GCNFeedWatchdogListener
+{
+	/**
+	 * Called when no IMALIVE packet has been received within the watchdog's timeout.
+	 * @param watchdog The watchdog.
+	 * @param lastImaliveTime The time the last IMALIVE packet was received, or the watchdog was started if no
+	 *        IMALIVE packet has been received, in milliseconds since the epoch.
+	 */
+	public void feedDown(GCNFeedWatchdog watchdog,long lastImaliveTime);
+
+	/**
+	 * Called when an IMALIVE packet is received after the feed was down.
+	 * @param watchdog The watchdog.
+	 * @param downLength How long no IMALIVE packets were received for, in milliseconds.
+	 */
+	public void feedUp(GCNFeedWatchdog watchdog,long downLength);
+
+	/**
+	 * Called when IMALIVE packets are generated, or arrive, at irregular intervals.
+	 * @param watchdog The watchdog.
+	 * @param message A description of the irregularity.
+	 */
+	public void imaliveIrregular(GCNFeedWatchdog watchdog,String message);
+}
+//
+// $Log: not supported by cvs2svn $
+//
@@ -0,0 +1,83 @@
+// GCNGauge.java
+package org.estar.gcn;
+
+import java.lang.*;
+
+/**
+ * A metric whose value can go up and down (e.g. a queue depth, or the age of the last IMALIVE packet),
+ * held in a GCNMetricsRegistry. The value is computed when the gauge is read, by the subclass's getValue
+ * method, which is called from the thread exporting the metrics and so must be thread safe.
+ * @author Chris Mottram
+ * @version $Revision$
+ * @see GCNMetricsRegistry#addGauge
+ */
+public abstract class GCNGauge
+{
+// constants
+	/**
+	 * Revision control system version id.
+	 */
+	public final static String RCSID = "$Id$";
+	/**
+	 * The name of the gauge.
+	 */
+	protected String name = null;
+	/**
+	 * The labels of the gauge, in the form key="value",key="value", or null for no labels.
+	 */
+	protected String labels = null;
+	/**
+	 * A description of the gauge.
+	 */
+	protected String help = null;
+
+	/**
+	 * Constructor.
+	 * @param n The name of the gauge.
+	 * @param l The labels of the gauge, or null.
+	 * @param h A description of the gauge.
+	 */
+	public GCNGauge(String n,String l,String h)
+	{
+		super();
+		name = n;
+		labels = l;
+		help = h;
+	}
+
+	/**
+	 * Return the name of the gauge.
+	 * @return The name.
+	 */
+	public String getName()
+	{
+		return name;
+	}
+
+	/**
+	 * Return the labels of the gauge.
+	 * @return The labels, or null.
+	 */
+	public String getLabels()
+	{
+		return labels;
+	}
+
+	/**
+	 * Return the description of the gauge.
+	 * @return The description.
+	 */
+	public String getHelp()
+	{
+		return help;
+	}
+
+	/**
+	 * Return the current value of the gauge.
+	 * @return The value, or Double.NaN if the value is not known (e.g. no IMALIVE has been received).
+	 */
+	public abstract double getValue();
+}
+//
+// $Log: not supported by cvs2svn $
+//
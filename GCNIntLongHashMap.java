@@ -0,0 +1,172 @@
+// GCNIntLongHashMap.java
+package org.estar.gcn;
+
+import java.lang.*;
+
+/**
+ * A hash map from int keys to long values, stored in primitive arrays (open addressing with linear probing),
+ * so lookups do not create Integer or Long objects. Entries can not be removed, only all cleared.
+ * This class is not synchronized.
+ * @author Chris Mottram
+ * @version $Revision$
+ */
+public class GCNIntLongHashMap
+{
+// constants
+	/**
+	 * Revision control system version id.
+	 */
+	public final static String RCSID = "$Id$";
+	/**
+	 * The default initial capacity.
+	 */
+	public final static int DEFAULT_CAPACITY = 64;
+	/**
+	 * The keys.
+	 */
+	protected int keyList[] = null;
+	/**
+	 * The values.
+	 */
+	protected long valueList[] = null;
+	/**
+	 * Whether each slot is in use.
+	 */
+	protected boolean usedList[] = null;
+	/**
+	 * The number of entries.
+	 */
+	protected int size = 0;
+
+	/**
+	 * Default constructor.
+	 * @see #DEFAULT_CAPACITY
+	 */
+	public GCNIntLongHashMap()
+	{
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Constructor.
+	 * @param capacity The initial capacity, rounded up to a power of two.
+	 */
+	public GCNIntLongHashMap(int capacity)
+	{
+		super();
+		allocate(capacity);
+	}
+
+	/**
+	 * Put a value in the map, replacing any value already held for the key.
+	 * @param key The key.
+	 * @param value The value.
+	 */
+	public void put(int key,long value)
+	{
+		int index;
+
+		if((size+1)*2 > keyList.length)
+			grow();
+		index = find(key);
+		if(usedList[index] == false)
+		{
+			usedList[index] = true;
+			keyList[index] = key;
+			size++;
+		}
+		valueList[index] = value;
+	}
+
+	/**
+	 * Get the value held for a key.
+	 * @param key The key.
+	 * @param defaultValue The value to return if there is no value for the key.
+	 * @return The value, or defaultValue.
+	 */
+	public long get(int key,long defaultValue)
+	{
+		int index;
+
+		index = find(key);
+		if(usedList[index])
+			return valueList[index];
+		return defaultValue;
+	}
+
+	/**
+	 * Return the number of entries.
+	 * @return The number of entries.
+	 */
+	public int size()
+	{
+		return size;
+	}
+
+	/**
+	 * Remove all the entries.
+	 */
+	public void clear()
+	{
+		for(int i = 0; i < usedList.length; i++)
+			usedList[i] = false;
+		size = 0;
+	}
+
+	/**
+	 * Return the index of the slot holding a key, or the empty slot it should be put in.
+	 * @param key The key.
+	 * @return The slot index.
+	 */
+	protected int find(int key)
+	{
+		int mask,index;
+
+		mask = keyList.length-1;
+		// spread the bits of sequential keys (trigger numbers) across the table
+		index = (key*0x9E3779B9) & mask;
+		while(usedList[index] && (keyList[index] != key))
+			index = (index+1) & mask;
+		return index;
+	}
+
+	/**
+	 * Double the size of the table, and re-insert the entries.
+	 */
+	protected void grow()
+	{
+		int oldKeyList[];
+		long oldValueList[];
+		boolean oldUsedList[];
+
+		oldKeyList = keyList;
+		oldValueList = valueList;
+		oldUsedList = usedList;
+		allocate(oldKeyList.length*2);
+		for(int i = 0; i < oldKeyList.length; i++)
+		{
+			if(oldUsedList[i])
+				put(oldKeyList[i],oldValueList[i]);
+		}
+	}
+
+	/**
+	 * Allocate empty arrays.
+	 * @param capacity The capacity, rounded up to a power of two.
+	 */
+	protected void allocate(int capacity)
+	{
+		int length;
+
+		length = 2;
+		while(length < capacity)
+			length *= 2;
+		keyList = new int[length];
+		valueList = new long[length];
+		usedList = new boolean[length];
+		size = 0;
+	}
+}
+//
+// $Log: not supported by cvs2svn $
+//
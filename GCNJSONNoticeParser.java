@@ -0,0 +1,588 @@
+// GCNJSONNoticeParser.java
+package org.estar.gcn;
+
+import java.lang.*;
+import java.io.*;
+import java.text.*;
+import java.util.*;
+import org.estar.astrometry.*;
+
+/**
+ * Streaming parser for GCN notices encoded as JSON objects (the unified schema GCN uses for the newer
+ * Swift and Fermi notices), that fills in a GCNDatagramAlertData as the binary packet decoders do, so JSON
+ * alerts can be passed through the same alert filter.
+ * The JSON is tokenised straight from a Reader, with the top level keys that are used mapped directly onto
+ * the alert fields, and all other values skipped without being stored (no intermediate tree is built).
+ * The following keys are used:
+ * <ul>
+ * <li><b>mission</b> The mission (e.g. "Swift", "Fermi"), giving the alert type.
+ * <li><b>instrument</b> The instrument (e.g. "BAT", "GBM").
+ * <li><b>id</b> The trigger identifier(s). The first is used as the trigger number.
+ * <li><b>record_number</b> The sequence number.
+ * <li><b>trigger_time</b> The burst date.
+ * <li><b>alert_datetime</b> The notice date.
+ * <li><b>ra</b>, <b>dec</b> The position, in degrees (J2000).
+ * <li><b>ra_dec_error</b> The error box radius, in degrees.
+ * <li><b>alert_type</b> The alert type: "retraction" marks the notice as a retraction.
+ * <li><b>$schema</b> The schema the notice follows.
+ * </ul>
+ * Objects can span any number of lines, and follow each other with any white space between them
+ * (e.g. one object per line). An instance must only be used by one thread at a time.
+ * @author Chris Mottram
+ * @version $Revision$
+ * @see GCNDatagramAlertData
+ */
+public class GCNJSONNoticeParser
+{
+// constants
+	/**
+	 * Revision control system version id.
+	 */
+	public final static String RCSID = "$Id$";
+	/**
+	 * Key code for keys that are not used.
+	 */
+	protected final static int KEY_OTHER = 0;
+	/**
+	 * Key code for the mission key.
+	 */
+	protected final static int KEY_MISSION = 1;
+	/**
+	 * Key code for the instrument key.
+	 */
+	protected final static int KEY_INSTRUMENT = 2;
+	/**
+	 * Key code for the id key.
+	 */
+	protected final static int KEY_ID = 3;
+	/**
+	 * Key code for the record_number key.
+	 */
+	protected final static int KEY_RECORD_NUMBER = 4;
+	/**
+	 * Key code for the trigger_time key.
+	 */
+	protected final static int KEY_TRIGGER_TIME = 5;
+	/**
+	 * Key code for the alert_datetime key.
+	 */
+	protected final static int KEY_ALERT_DATETIME = 6;
+	/**
+	 * Key code for the ra key.
+	 */
+	protected final static int KEY_RA = 7;
+	/**
+	 * Key code for the dec key.
+	 */
+	protected final static int KEY_DEC = 8;
+	/**
+	 * Key code for the ra_dec_error key.
+	 */
+	protected final static int KEY_RA_DEC_ERROR = 9;
+	/**
+	 * Key code for the alert_type key.
+	 */
+	protected final static int KEY_ALERT_TYPE = 10;
+	/**
+	 * Key code for the $schema key.
+	 */
+	protected final static int KEY_SCHEMA = 11;
+	/**
+	 * The keys used, indexed by key code.
+	 */
+	protected final static String KEY_NAME_LIST[] = {null,"mission","instrument","id","record_number",
+							 "trigger_time","alert_datetime","ra","dec","ra_dec_error",
+							 "alert_type","$schema"};
+	/**
+	 * Map from key to Integer key code, built once from KEY_NAME_LIST.
+	 * @see #KEY_NAME_LIST
+	 */
+	protected final static Map KEY_MAP = new HashMap();
+	/**
+	 * The reader being parsed.
+	 */
+	protected Reader reader = null;
+	/**
+	 * A character read ahead, or -2 if there is none.
+	 */
+	protected int peek = -2;
+	/**
+	 * Buffer holding the current string or number token.
+	 */
+	protected StringBuffer token = null;
+	/**
+	 * The alert data being filled in.
+	 */
+	protected GCNDatagramAlertData alertData = null;
+	/**
+	 * The RA, in degrees, or NaN.
+	 */
+	protected double raDegrees;
+	/**
+	 * The declination, in degrees, or NaN.
+	 */
+	protected double decDegrees;
+	/**
+	 * The instrument of the last notice parsed, or null.
+	 */
+	protected String instrument = null;
+	/**
+	 * The schema of the last notice parsed, or null.
+	 */
+	protected String schema = null;
+	/**
+	 * The trigger identifier of the last notice parsed, or null.
+	 */
+	protected String triggerId = null;
+	/**
+	 * Whether the last notice parsed was a retraction.
+	 */
+	protected boolean retraction = false;
+	/**
+	 * When the first character of the last notice parsed was read, in milliseconds since the epoch.
+	 */
+	protected long startTime = 0;
+	/**
+	 * Date format used to parse ISO dates, without the fraction of a second, in GMT+0.
+	 */
+	protected DateFormat dateFormat = null;
+
+	/**
+	 * Build the key table.
+	 */
+	static
+	{
+		for(int i = 1; i < KEY_NAME_LIST.length; i++)
+			KEY_MAP.put(KEY_NAME_LIST[i],new Integer(i));
+	}
+
+	/**
+	 * Constructor.
+	 * @param r The reader to parse notices from. It should be buffered.
+	 */
+	public GCNJSONNoticeParser(Reader r)
+	{
+		super();
+		reader = r;
+		token = new StringBuffer();
+		dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss");
+		dateFormat.setTimeZone(TimeZone.getTimeZone("GMT+0"));
+	}
+
+	/**
+	 * Parse the next notice (JSON object) from the reader.
+	 * @return A new alert data, filled in from the notice, or null if the end of the reader was reached.
+	 * @exception IOException Thrown if reading fails, or the JSON is not well formed, or a value cannot be
+	 *            parsed. The reader is then left part way through the object.
+	 */
+	public GCNDatagramAlertData parse() throws IOException
+	{
+		RA ra = null;
+		Dec dec = null;
+		int ch;
+
+		ch = nextNonWhitespace();
+		if(ch == -1)
+			return null;
+		startTime = System.currentTimeMillis();
+		if(ch != '{')
+			throw new IOException(this.getClass().getName()+":parse:Expected '{' but got '"+(char)ch+"'.");
+		alertData = new GCNDatagramAlertData();
+		alertData.setEpoch(2000.0);
+		raDegrees = Double.NaN;
+		decDegrees = Double.NaN;
+		instrument = null;
+		schema = null;
+		triggerId = null;
+		retraction = false;
+		ch = nextNonWhitespace();
+		if(ch != '}')
+		{
+			unread(ch);
+			do
+			{
+				if(nextNonWhitespace() != '"')
+					throw new IOException(this.getClass().getName()+":parse:Expected a key.");
+				readString();
+				if(nextNonWhitespace() != ':')
+					throw new IOException(this.getClass().getName()+":parse:Expected ':' after "+token+".");
+				value(getKey());
+				ch = nextNonWhitespace();
+			}
+			while(ch == ',');
+			if(ch != '}')
+				throw new IOException(this.getClass().getName()+":parse:Expected ',' or '}'.");
+		}
+		if((Double.isNaN(raDegrees) == false)&&(Double.isNaN(decDegrees) == false))
+		{
+			ra = new RA();
+			dec = new Dec();
+			ra.fromRadians(Math.toRadians(raDegrees));
+			dec.fromRadians(Math.toRadians(decDegrees));
+			alertData.setRA(ra);
+			alertData.setDec(dec);
+		}
+		return alertData;
+	}
+
+	/**
+	 * Skip the rest of the current line, e.g. to carry on with the next notice after a parse error,
+	 * when notices are one per line.
+	 * @exception IOException Thrown if reading fails.
+	 */
+	public void skipLine() throws IOException
+	{
+		int ch;
+
+		ch = read();
+		while((ch != -1)&&(ch != '\n'))
+			ch = read();
+	}
+
+	/**
+	 * Return when the first character of the last notice parsed was read.
+	 * @return The time, in milliseconds since the epoch.
+	 */
+	public long getStartTime()
+	{
+		return startTime;
+	}
+
+	/**
+	 * Return the instrument of the last notice parsed.
+	 * @return The instrument, or null.
+	 */
+	public String getInstrument()
+	{
+		return instrument;
+	}
+
+	/**
+	 * Return the schema of the last notice parsed.
+	 * @return The schema, or null.
+	 */
+	public String getSchema()
+	{
+		return schema;
+	}
+
+	/**
+	 * Return the trigger identifier of the last notice parsed (the first of it's ids).
+	 * @return The trigger identifier, or null.
+	 */
+	public String getTriggerId()
+	{
+		return triggerId;
+	}
+
+	/**
+	 * Return whether the last notice parsed was a retraction.
+	 * @return true if the notice was a retraction.
+	 */
+	public boolean isRetraction()
+	{
+		return retraction;
+	}
+
+	/**
+	 * Read the value of a top level key, and put it into the alert data.
+	 * @param key The key code.
+	 * @exception IOException Thrown if reading fails, or the value cannot be parsed.
+	 */
+	protected void value(int key) throws IOException
+	{
+		int ch;
+
+		ch = nextNonWhitespace();
+		if((key == KEY_OTHER)||(ch == 'n'))
+		{
+			// unused, or null
+			unread(ch);
+			skipValue();
+			return;
+		}
+		if((key == KEY_ID)&&(ch == '['))
+		{
+			// the first id is used, the rest are skipped
+			ch = nextNonWhitespace();
+			if(ch == ']')
+				return;
+			unread(ch);
+			value(KEY_ID);
+			ch = nextNonWhitespace();
+			while(ch == ',')
+			{
+				skipValue();
+				ch = nextNonWhitespace();
+			}
+			if(ch != ']')
+				throw new IOException(this.getClass().getName()+":value:Expected ',' or ']' in id.");
+			return;
+		}
+		if(ch == '"')
+			readString();
+		else if((ch == '-')||((ch >= '0')&&(ch <= '9')))
+		{
+			unread(ch);
+			readNumber();
+		}
+		else
+		{
+			unread(ch);
+			skipValue();
+			return;
+		}
+		switch(key)
+		{
+			case KEY_MISSION:
+				alertData.setAlertType(GCNDatagramAlertData.getAlertType(token.toString()));
+				break;
+			case KEY_INSTRUMENT:
+				instrument = token.toString();
+				break;
+			case KEY_ID:
+				triggerId = token.toString();
+				try
+				{
+					alertData.setTriggerNumber(Integer.parseInt(triggerId));
+				}
+				catch(NumberFormatException e)
+				{
+					// non-numeric trigger ids are available from getTriggerId
+				}
+				break;
+			case KEY_RECORD_NUMBER:
+				alertData.setSequenceNumber((int)parseDouble("record_number"));
+				break;
+			case KEY_TRIGGER_TIME:
+				alertData.setGRBDate(parseDate("trigger_time"));
+				break;
+			case KEY_ALERT_DATETIME:
+				alertData.setNoticeDate(parseDate("alert_datetime"));
+				break;
+			case KEY_RA:
+				raDegrees = parseDouble("ra");
+				break;
+			case KEY_DEC:
+				decDegrees = parseDouble("dec");
+				break;
+			case KEY_RA_DEC_ERROR:
+				// degrees to arc-minutes
+				alertData.setErrorBoxSize(parseDouble("ra_dec_error")*60.0);
+				break;
+			case KEY_ALERT_TYPE:
+				retraction = (token.toString().equals("retraction"));
+				break;
+			case KEY_SCHEMA:
+				schema = token.toString();
+				break;
+			default:
+				break;
+		}
+	}
+
+	/**
+	 * Skip a value of any type (including nested objects and arrays).
+	 * @exception IOException Thrown if reading fails, or the JSON is not well formed.
+	 */
+	protected void skipValue() throws IOException
+	{
+		int ch,depth;
+
+		ch = nextNonWhitespace();
+		if(ch == '"')
+		{
+			readString();
+			return;
+		}
+		if((ch != '{')&&(ch != '['))
+		{
+			// number, true, false or null
+			while((ch != -1)&&(ch != ',')&&(ch != '}')&&(ch != ']')&&(Character.isWhitespace((char)ch) == false))
+				ch = read();
+			unread(ch);
+			return;
+		}
+		depth = 1;
+		while(depth > 0)
+		{
+			ch = read();
+			if(ch == -1)
+				throw new IOException(this.getClass().getName()+":skipValue:End of input in object or array.");
+			else if(ch == '"')
+				readString();
+			else if((ch == '{')||(ch == '['))
+				depth++;
+			else if((ch == '}')||(ch == ']'))
+				depth--;
+		}
+	}
+
+	/**
+	 * Read a string (after it's opening quote) into token, decoding escapes.
+	 * @exception IOException Thrown if reading fails, or the string is not terminated.
+	 * @see #token
+	 */
+	protected void readString() throws IOException
+	{
+		int ch;
+
+		token.setLength(0);
+		ch = read();
+		while(ch != '"')
+		{
+			if(ch == -1)
+				throw new IOException(this.getClass().getName()+":readString:End of input in string.");
+			if(ch == '\\')
+			{
+				ch = read();
+				switch(ch)
+				{
+					case 'b':
+						ch = '\b';
+						break;
+					case 'f':
+						ch = '\f';
+						break;
+					case 'n':
+						ch = '\n';
+						break;
+					case 'r':
+						ch = '\r';
+						break;
+					case 't':
+						ch = '\t';
+						break;
+					case 'u':
+						ch = 0;
+						for(int i = 0; i < 4; i++)
+							ch = (ch << 4)|Character.digit((char)read(),16);
+						break;
+					default:
+						// \" \\ \/ stand for themselves
+						break;
+				}
+			}
+			token.append((char)ch);
+			ch = read();
+		}
+	}
+
+	/**
+	 * Read a number into token.
+	 * @exception IOException Thrown if reading fails.
+	 * @see #token
+	 */
+	protected void readNumber() throws IOException
+	{
+		int ch;
+
+		token.setLength(0);
+		ch = read();
+		while(((ch >= '0')&&(ch <= '9'))||(ch == '-')||(ch == '+')||(ch == '.')||(ch == 'e')||(ch == 'E'))
+		{
+			token.append((char)ch);
+			ch = read();
+		}
+		unread(ch);
+	}
+
+	/**
+	 * Return the key code of the key in token.
+	 * @return The key code, or KEY_OTHER.
+	 * @see #KEY_MAP
+	 */
+	protected int getKey()
+	{
+		Integer key = null;
+
+		key = (Integer)(KEY_MAP.get(token.toString()));
+		if(key == null)
+			return KEY_OTHER;
+		return key.intValue();
+	}
+
+	/**
+	 * Parse the number in token.
+	 * @param name The name of the value, for the error message.
+	 * @return The value.
+	 * @exception IOException Thrown if the value cannot be parsed.
+	 */
+	protected double parseDouble(String name) throws IOException
+	{
+		try
+		{
+			return Double.parseDouble(token.toString());
+		}
+		catch(NumberFormatException e)
+		{
+			throw new IOException(this.getClass().getName()+":parseDouble:Illegal "+name+":"+token);
+		}
+	}
+
+	/**
+	 * Parse the ISO date in token.
+	 * @param name The name of the value, for the error message.
+	 * @return The date.
+	 * @exception IOException Thrown if the date cannot be parsed.
+	 * @see GCNVOEventParser#parseISODate
+	 */
+	protected Date parseDate(String name) throws IOException
+	{
+		try
+		{
+			return GCNVOEventParser.parseISODate(dateFormat,token.toString());
+		}
+		catch(ParseException e)
+		{
+			throw new IOException(this.getClass().getName()+":parseDate:Illegal "+name+":"+token);
+		}
+	}
+
+	/**
+	 * Return the next character that is not white space.
+	 * @return The character, or -1 at the end of the reader.
+	 * @exception IOException Thrown if reading fails.
+	 */
+	protected int nextNonWhitespace() throws IOException
+	{
+		int ch;
+
+		ch = read();
+		while((ch != -1)&&Character.isWhitespace((char)ch))
+			ch = read();
+		return ch;
+	}
+
+	/**
+	 * Return the next character, which may have been read ahead.
+	 * @return The character, or -1 at the end of the reader.
+	 * @exception IOException Thrown if reading fails.
+	 * @see #peek
+	 */
+	protected int read() throws IOException
+	{
+		int ch;
+
+		if(peek != -2)
+		{
+			ch = peek;
+			peek = -2;
+			return ch;
+		}
+		return reader.read();
+	}
+
+	/**
+	 * Push a character back, to be returned by the next read.
+	 * @param ch The character.
+	 * @see #peek
+	 */
+	protected void unread(int ch)
+	{
+		peek = ch;
+	}
+}
+//
+// $Log: not supported by cvs2svn $
+//
@@ -0,0 +1,340 @@
+// GCNLatencyHistogram.java
+package org.estar.gcn;
+
+import java.lang.*;
+
+/**
+ * A fixed memory, log-linear histogram of latencies (or any non-negative long values).
+ * Values below SUB_BUCKET_COUNT are counted exactly. Above that, each power of two range is split into
+ * SUB_BUCKET_COUNT equal buckets, so any recorded value is known to within 1/SUB_BUCKET_COUNT (about 6%).
+ * Values above the largest bucket are counted in the largest bucket.
+ * <p>
+ * The histogram is designed to have a single writer thread. Recording does not allocate, lock or wait:
+ * the writer increments the (int) bucket count, and then publishes the update by writing the volatile total
+ * count. Any number of reader threads can take consistent enough snapshots (for monitoring)
+ * with getSnapshot, whilst the writer is recording. If more than one thread records to the same histogram,
+ * recordSynchronized must be used by all of them.
+ * @author Chris Mottram
+ * @version $Revision$
+ */
+public class GCNLatencyHistogram
+{
+// constants
+	/**
+	 * Revision control system version id.
+	 */
+	public final static String RCSID = "$Id$";
+	/**
+	 * The number of bits of the value used to pick a sub bucket within a power of two range.
+	 */
+	public final static int SUB_BUCKET_BITS = 4;
+	/**
+	 * The number of sub buckets in each power of two range.
+	 */
+	public final static int SUB_BUCKET_COUNT = (1<<SUB_BUCKET_BITS);
+	/**
+	 * The index of the most significant bit of the largest value that has it's own bucket.
+	 * 2^40 is about 12 days in milliseconds, or 12 days in microseconds.
+	 */
+	public final static int MAX_VALUE_BIT = 40;
+	/**
+	 * The number of buckets.
+	 */
+	public final static int BUCKET_COUNT = SUB_BUCKET_COUNT+((MAX_VALUE_BIT-SUB_BUCKET_BITS+1)*SUB_BUCKET_COUNT);
+	/**
+	 * The name of the histogram (used when reporting it).
+	 */
+	protected String name = null;
+	/**
+	 * The labels of the histogram, in the form key="value",key="value", or null for no labels.
+	 */
+	protected String labels = null;
+	/**
+	 * The units of the recorded values (used when reporting it).
+	 */
+	protected String units = null;
+	/**
+	 * A description of the histogram.
+	 */
+	protected String help = null;
+	/**
+	 * The bucket counts.
+	 */
+	protected int countList[] = null;
+	/**
+	 * The total number of recorded values. Written after the bucket count, so readers that
+	 * read this first see all the bucket counts it includes.
+	 */
+	protected volatile long totalCount = 0;
+	/**
+	 * The sum of the recorded values.
+	 */
+	protected volatile long sum = 0;
+	/**
+	 * The smallest recorded value.
+	 */
+	protected volatile long minimum = Long.MAX_VALUE;
+	/**
+	 * The largest recorded value.
+	 */
+	protected volatile long maximum = 0;
+
+	/**
+	 * Constructor.
+	 * @param n The name of the histogram.
+	 * @param u The units of the recorded values, e.g. "ms".
+	 * @see #countList
+	 */
+	public GCNLatencyHistogram(String n,String u)
+	{
+		this(n,null,u,null);
+	}
+
+	/**
+	 * Constructor.
+	 * @param n The name of the histogram.
+	 * @param l The labels of the histogram, or null.
+	 * @param u The units of the recorded values, e.g. "ms".
+	 * @param h A description of the histogram, or null.
+	 * @see #countList
+	 */
+	public GCNLatencyHistogram(String n,String l,String u,String h)
+	{
+		super();
+		name = n;
+		labels = l;
+		units = u;
+		help = h;
+		countList = new int[BUCKET_COUNT];
+	}
+
+	/**
+	 * Return the name of the histogram.
+	 * @return The name.
+	 */
+	public String getName()
+	{
+		return name;
+	}
+
+	/**
+	 * Return the labels of the histogram.
+	 * @return The labels, or null.
+	 */
+	public String getLabels()
+	{
+		return labels;
+	}
+
+	/**
+	 * Set the labels of the histogram. Must be called before the histogram is added to a registry.
+	 * @param l The labels, or null.
+	 * @see #labels
+	 */
+	public void setLabels(String l)
+	{
+		labels = l;
+	}
+
+	/**
+	 * Return the units of the recorded values.
+	 * @return The units.
+	 */
+	public String getUnits()
+	{
+		return units;
+	}
+
+	/**
+	 * Return the description of the histogram.
+	 * @return The description, or null.
+	 */
+	public String getHelp()
+	{
+		return help;
+	}
+
+	/**
+	 * Set the description of the histogram.
+	 * @param h The description.
+	 * @see #help
+	 */
+	public void setHelp(String h)
+	{
+		help = h;
+	}
+
+	/**
+	 * Record a value. Must only be called by the histogram's single writer thread.
+	 * Negative values are recorded as zero.
+	 * @param value The value.
+	 * @see #getBucketIndex
+	 */
+	public void record(long value)
+	{
+		if(value < 0)
+			value = 0;
+		countList[getBucketIndex(value)]++;
+		sum = sum+value;
+		if(value < minimum)
+			minimum = value;
+		if(value > maximum)
+			maximum = value;
+		totalCount = totalCount+1;
+	}
+
+	/**
+	 * Record a value, from one of several threads recording to this histogram.
+	 * @param value The value.
+	 * @see #record
+	 */
+	public synchronized void recordSynchronized(long value)
+	{
+		record(value);
+	}
+
+	/**
+	 * Return the total number of recorded values.
+	 * @return The count.
+	 */
+	public long getCount()
+	{
+		return totalCount;
+	}
+
+	/**
+	 * Take a snapshot of the histogram.
+	 * @return A new snapshot.
+	 * @see GCNLatencyHistogram.Snapshot
+	 */
+	public Snapshot getSnapshot()
+	{
+		Snapshot snapshot = null;
+
+		snapshot = new Snapshot();
+		snapshot.count = totalCount;
+		snapshot.sum = sum;
+		snapshot.minimum = minimum;
+		snapshot.maximum = maximum;
+		snapshot.countList = new int[BUCKET_COUNT];
+		System.arraycopy(countList,0,snapshot.countList,0,BUCKET_COUNT);
+		if(snapshot.count == 0)
+			snapshot.minimum = 0;
+		return snapshot;
+	}
+
+	/**
+	 * Return the bucket a value is counted in.
+	 * @param value The value, which must not be negative.
+	 * @return The bucket index.
+	 */
+	public static int getBucketIndex(long value)
+	{
+		int msb,shift;
+
+		if(value < SUB_BUCKET_COUNT)
+			return (int)value;
+		// find the most significant bit
+		msb = SUB_BUCKET_BITS;
+		while((msb < MAX_VALUE_BIT)&&((value >> (msb+1)) != 0))
+			msb++;
+		if((value >> (msb+1)) != 0)
+			return BUCKET_COUNT-1;
+		shift = msb-SUB_BUCKET_BITS;
+		return SUB_BUCKET_COUNT+(shift*SUB_BUCKET_COUNT)+(int)((value >> shift)-SUB_BUCKET_COUNT);
+	}
+
+	/**
+	 * Return the largest value counted in a bucket.
+	 * @param index The bucket index.
+	 * @return The largest value.
+	 */
+	public static long getBucketUpperBound(int index)
+	{
+		int shift;
+
+		if(index < SUB_BUCKET_COUNT)
+			return index;
+		shift = (index-SUB_BUCKET_COUNT)/SUB_BUCKET_COUNT;
+		return ((((long)(index%SUB_BUCKET_COUNT))+SUB_BUCKET_COUNT+1) << shift)-1;
+	}
+
+	/**
+	 * A snapshot of a histogram, taken by a reader thread.
+	 */
+	public static class Snapshot
+	{
+		/**
+		 * The number of recorded values.
+		 */
+		public long count = 0;
+		/**
+		 * The sum of the recorded values.
+		 */
+		public long sum = 0;
+		/**
+		 * The smallest recorded value.
+		 */
+		public long minimum = 0;
+		/**
+		 * The largest recorded value.
+		 */
+		public long maximum = 0;
+		/**
+		 * The bucket counts.
+		 */
+		public int countList[] = null;
+
+		/**
+		 * Return the mean of the recorded values.
+		 * @return The mean, or 0 if no values have been recorded.
+		 */
+		public double getMean()
+		{
+			if(count == 0)
+				return 0.0;
+			return ((double)sum)/((double)count);
+		}
+
+		/**
+		 * Return a percentile of the recorded values, to within the precision of the buckets.
+		 * @param percentile The percentile (0..100).
+		 * @return The upper bound of the bucket containing the percentile (limited to the maximum
+		 *         recorded value), or 0 if no values have been recorded.
+		 */
+		public long getPercentile(double percentile)
+		{
+			long total,target,running;
+
+			total = 0;
+			for(int i = 0; i < countList.length; i++)
+				total += countList[i];
+			if(total == 0)
+				return 0;
+			target = (long)Math.ceil((percentile/100.0)*total);
+			if(target < 1)
+				target = 1;
+			running = 0;
+			for(int i = 0; i < countList.length; i++)
+			{
+				running += countList[i];
+				if(running >= target)
+					return Math.min(getBucketUpperBound(i),maximum);
+			}
+			return maximum;
+		}
+
+		/**
+		 * Return a one line summary of the snapshot: count, mean, p50, p90, p99 and max.
+		 * @return The summary.
+		 */
+		public String toString()
+		{
+			return "n="+count+" mean="+((long)getMean())+" p50="+getPercentile(50.0)+
+				" p90="+getPercentile(90.0)+" p99="+getPercentile(99.0)+" max="+maximum;
+		}
+	}
+}
+//
+// $Log: not supported by cvs2svn $
+//
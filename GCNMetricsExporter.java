@@ -0,0 +1,353 @@
+// GCNMetricsExporter.java
+package org.estar.gcn;
+
+import java.lang.*;
+import java.util.*;
+
+/**
+ * Static methods to format the metrics in a GCNMetricsRegistry, for monitoring systems to scrape.
+ * Two formats are supported: the Prometheus text exposition format (version 0.0.4), and JSON.
+ * In the Prometheus format, counters and gauges are exported as their own types, and latency histograms are
+ * exported as summaries (p50, p90 and p99 quantiles, with the sum and count), as the log-linear
+ * buckets of GCNLatencyHistogram are too many to export as Prometheus histogram buckets.
+ * @author Chris Mottram
+ * @version $Revision$
+ * @see GCNMetricsRegistry
+ */
+public class GCNMetricsExporter
+{
+// constants
+	/**
+	 * Revision control system version id.
+	 */
+	public final static String RCSID = "$Id$";
+	/**
+	 * The HTTP Content-Type of the Prometheus text format.
+	 */
+	public final static String PROMETHEUS_CONTENT_TYPE = "text/plain; version=0.0.4";
+	/**
+	 * The HTTP Content-Type of the JSON format.
+	 */
+	public final static String JSON_CONTENT_TYPE = "application/json";
+	/**
+	 * The quantiles exported for each histogram, as percentiles.
+	 */
+	public final static double PERCENTILE_LIST[] = {50.0,90.0,99.0};
+	/**
+	 * The Prometheus quantile label values, matching PERCENTILE_LIST.
+	 */
+	public final static String QUANTILE_LIST[] = {"0.5","0.9","0.99"};
+
+	/**
+	 * Return the metrics in a registry in the Prometheus text exposition format.
+	 * Metrics with the same name are grouped together, under one HELP and TYPE line.
+	 * @param registry The registry.
+	 * @return The metrics.
+	 * @see #getFamilyMap
+	 */
+	public static String toPrometheus(GCNMetricsRegistry registry)
+	{
+		StringBuffer sb = null;
+		Map familyMap = null;
+		Iterator iterator = null;
+		List family = null;
+		Object metric = null;
+		GCNCounter counter = null;
+		GCNGauge gauge = null;
+		GCNLatencyHistogram histogram = null;
+		GCNLatencyHistogram.Snapshot snapshot = null;
+		String name = null;
+
+		sb = new StringBuffer();
+		familyMap = getFamilyMap(registry);
+		iterator = familyMap.keySet().iterator();
+		while(iterator.hasNext())
+		{
+			name = (String)(iterator.next());
+			family = (List)(familyMap.get(name));
+			metric = family.get(0);
+			if(metric instanceof GCNCounter)
+			{
+				appendHelp(sb,name,((GCNCounter)metric).getHelp(),"counter");
+				for(int i = 0; i < family.size(); i++)
+				{
+					counter = (GCNCounter)(family.get(i));
+					sb.append(GCNMetricsRegistry.getKey(name,counter.getLabels())+" "+
+						  counter.getValue()+"\n");
+				}
+			}
+			else if(metric instanceof GCNGauge)
+			{
+				appendHelp(sb,name,((GCNGauge)metric).getHelp(),"gauge");
+				for(int i = 0; i < family.size(); i++)
+				{
+					gauge = (GCNGauge)(family.get(i));
+					sb.append(GCNMetricsRegistry.getKey(name,gauge.getLabels())+" "+
+						  formatDouble(gauge.getValue(),"NaN")+"\n");
+				}
+			}
+			else
+			{
+				appendHelp(sb,name,((GCNLatencyHistogram)metric).getHelp(),"summary");
+				for(int i = 0; i < family.size(); i++)
+				{
+					histogram = (GCNLatencyHistogram)(family.get(i));
+					snapshot = histogram.getSnapshot();
+					for(int j = 0; j < PERCENTILE_LIST.length; j++)
+					{
+						sb.append(GCNMetricsRegistry.getKey(name,
+							addLabel(histogram.getLabels(),"quantile",QUANTILE_LIST[j]))+" "+
+							  snapshot.getPercentile(PERCENTILE_LIST[j])+"\n");
+					}
+					sb.append(GCNMetricsRegistry.getKey(name+"_sum",histogram.getLabels())+" "+
+						  snapshot.sum+"\n");
+					sb.append(GCNMetricsRegistry.getKey(name+"_count",histogram.getLabels())+" "+
+						  snapshot.count+"\n");
+				}
+			}
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Return the metrics in a registry as a JSON object, of the form:
+	 * <pre>
+	 * {"counters":[{"name":"...","labels":{...},"value":n},...],
+	 *  "gauges":[{"name":"...","labels":{...},"value":n},...],
+	 *  "histograms":[{"name":"...","labels":{...},"units":"ms","count":n,"sum":n,"min":n,"max":n,
+	 *                 "mean":n,"p50":n,"p90":n,"p99":n},...]}
+	 * </pre>
+	 * Gauges whose value is not known have a null value.
+	 * @param registry The registry.
+	 * @return The metrics.
+	 */
+	public static String toJSON(GCNMetricsRegistry registry)
+	{
+		StringBuffer sb = null;
+		List list = null;
+		GCNCounter counter = null;
+		GCNGauge gauge = null;
+		GCNLatencyHistogram histogram = null;
+		GCNLatencyHistogram.Snapshot snapshot = null;
+
+		sb = new StringBuffer();
+		sb.append("{\"counters\":[");
+		list = registry.getCounterList();
+		for(int i = 0; i < list.size(); i++)
+		{
+			counter = (GCNCounter)(list.get(i));
+			if(i > 0)
+				sb.append(",");
+			appendNameLabels(sb,counter.getName(),counter.getLabels());
+			sb.append(",\"value\":"+counter.getValue()+"}");
+		}
+		sb.append("],\"gauges\":[");
+		list = registry.getGaugeList();
+		for(int i = 0; i < list.size(); i++)
+		{
+			gauge = (GCNGauge)(list.get(i));
+			if(i > 0)
+				sb.append(",");
+			appendNameLabels(sb,gauge.getName(),gauge.getLabels());
+			sb.append(",\"value\":"+formatDouble(gauge.getValue(),"null")+"}");
+		}
+		sb.append("],\"histograms\":[");
+		list = registry.getHistogramList();
+		for(int i = 0; i < list.size(); i++)
+		{
+			histogram = (GCNLatencyHistogram)(list.get(i));
+			snapshot = histogram.getSnapshot();
+			if(i > 0)
+				sb.append(",");
+			appendNameLabels(sb,histogram.getName(),histogram.getLabels());
+			sb.append(",\"units\":\""+escape(histogram.getUnits())+"\""+
+				  ",\"count\":"+snapshot.count+",\"sum\":"+snapshot.sum+
+				  ",\"min\":"+snapshot.minimum+",\"max\":"+snapshot.maximum+
+				  ",\"mean\":"+formatDouble(snapshot.getMean(),"null"));
+			for(int j = 0; j < PERCENTILE_LIST.length; j++)
+				sb.append(",\"p"+((int)PERCENTILE_LIST[j])+"\":"+snapshot.getPercentile(PERCENTILE_LIST[j]));
+			sb.append("}");
+		}
+		sb.append("]}\n");
+		return sb.toString();
+	}
+
+	/**
+	 * Group the metrics in a registry by name, keeping the order in which each name was first seen.
+	 * @param registry The registry.
+	 * @return A map from metric name, to a list of the metrics with that name.
+	 */
+	protected static Map getFamilyMap(GCNMetricsRegistry registry)
+	{
+		Map familyMap = null;
+		List metricList = null;
+		List family = null;
+		Object metric = null;
+		String name = null;
+
+		familyMap = new LinkedHashMap();
+		metricList = new Vector();
+		metricList.addAll(registry.getCounterList());
+		metricList.addAll(registry.getGaugeList());
+		metricList.addAll(registry.getHistogramList());
+		for(int i = 0; i < metricList.size(); i++)
+		{
+			metric = metricList.get(i);
+			if(metric instanceof GCNCounter)
+				name = ((GCNCounter)metric).getName();
+			else if(metric instanceof GCNGauge)
+				name = ((GCNGauge)metric).getName();
+			else
+				name = ((GCNLatencyHistogram)metric).getName();
+			family = (List)(familyMap.get(name));
+			if(family == null)
+			{
+				family = new Vector();
+				familyMap.put(name,family);
+			}
+			family.add(metric);
+		}
+		return familyMap;
+	}
+
+	/**
+	 * Append the Prometheus HELP and TYPE lines of a metric family.
+	 * @param sb The buffer to append to.
+	 * @param name The metric name.
+	 * @param help The description, or null.
+	 * @param type The Prometheus type.
+	 */
+	protected static void appendHelp(StringBuffer sb,String name,String help,String type)
+	{
+		if(help != null)
+		{
+			sb.append("# HELP "+name+" "+replace(replace(help,"\\","\\\\"),"\n","\\n")+"\n");
+		}
+		sb.append("# TYPE "+name+" "+type+"\n");
+	}
+
+	/**
+	 * Append the start of a JSON metric object, with it's name and labels: {"name":"...","labels":{...}
+	 * The labels (key="value",...) are converted to JSON object members.
+	 * @param sb The buffer to append to.
+	 * @param name The metric name.
+	 * @param labels The metric labels, or null.
+	 */
+	protected static void appendNameLabels(StringBuffer sb,String name,String labels)
+	{
+		int index,keyStart,valueEnd;
+		boolean first = true;
+
+		sb.append("{\"name\":\""+escape(name)+"\",\"labels\":{");
+		index = 0;
+		while((labels != null)&&(index < labels.length()))
+		{
+			keyStart = index;
+			index = labels.indexOf("=\"",keyStart);
+			if(index < 0)
+				break;
+			// find the closing quote, skipping escaped characters
+			valueEnd = index+2;
+			while((valueEnd < labels.length())&&(labels.charAt(valueEnd) != '"'))
+			{
+				if(labels.charAt(valueEnd) == '\\')
+					valueEnd++;
+				valueEnd++;
+			}
+			if(first == false)
+				sb.append(",");
+			sb.append("\""+escape(labels.substring(keyStart,index).trim())+"\":\""+
+				  labels.substring(index+2,Math.min(valueEnd,labels.length()))+"\"");
+			first = false;
+			index = labels.indexOf(',',valueEnd);
+			if(index < 0)
+				break;
+			index++;
+		}
+		sb.append("}");
+	}
+
+	/**
+	 * Add a label to a label string.
+	 * @param labels The labels (key="value",...), or null.
+	 * @param key The new label key.
+	 * @param value The new label value.
+	 * @return The labels with the new label added.
+	 */
+	protected static String addLabel(String labels,String key,String value)
+	{
+		if((labels == null)||(labels.length() == 0))
+			return key+"=\""+value+"\"";
+		return labels+","+key+"=\""+value+"\"";
+	}
+
+	/**
+	 * Format a double. Values that are whole numbers are formatted without a decimal point.
+	 * @param d The value.
+	 * @param notANumber The string to return if the value is NaN or infinite.
+	 * @return The formatted value.
+	 */
+	protected static String formatDouble(double d,String notANumber)
+	{
+		if(Double.isNaN(d)||Double.isInfinite(d))
+			return notANumber;
+		if((d == Math.floor(d))&&(Math.abs(d) < 1.0e15))
+			return Long.toString((long)d);
+		return Double.toString(d);
+	}
+
+	/**
+	 * Escape a string for inclusion in a JSON string.
+	 * @param s The string.
+	 * @return The escaped string.
+	 */
+	protected static String escape(String s)
+	{
+		StringBuffer sb = null;
+		char ch;
+
+		if(s == null)
+			return "";
+		sb = new StringBuffer();
+		for(int i = 0; i < s.length(); i++)
+		{
+			ch = s.charAt(i);
+			if((ch == '"')||(ch == '\\'))
+				sb.append("\\"+ch);
+			else if(ch == '\n')
+				sb.append("\\n");
+			else if(ch < ' ')
+				sb.append(" ");
+			else
+				sb.append(ch);
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Replace every occurence of a string within another string.
+	 * @param s The string to search.
+	 * @param from The string to replace.
+	 * @param to The replacement.
+	 * @return The string with the replacements made.
+	 */
+	protected static String replace(String s,String from,String to)
+	{
+		StringBuffer sb = null;
+		int start,index;
+
+		sb = new StringBuffer();
+		start = 0;
+		while((index = s.indexOf(from,start)) >= 0)
+		{
+			sb.append(s.substring(start,index));
+			sb.append(to);
+			start = index+from.length();
+		}
+		sb.append(s.substring(start));
+		return sb.toString();
+	}
+}
+//
+// $Log: not supported by cvs2svn $
+//
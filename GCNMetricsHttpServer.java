@@ -0,0 +1,213 @@
+// GCNMetricsHttpServer.java
+package org.estar.gcn;
+
+import java.lang.*;
+import java.io.*;
+import java.net.*;
+
+/**
+ * A minimal HTTP server, that serves the metrics in a GCNMetricsRegistry for monitoring systems to scrape.
+ * The following paths are served, to GET requests:
+ * <ul>
+ * <li><b>/metrics</b> The metrics in the Prometheus text exposition format.
+ * <li><b>/metrics.json</b> The metrics as JSON.
+ * <li><b>/events</b> The events held by the default GCNEventRecorder, as text.
+ * </ul>
+ * Requests are handled one at a time, on the server thread, as each response is small and quick to build.
+ * Subclasses implement error, to send errors to a logger.
+ * @author Chris Mottram
+ * @version $Revision$
+ * @see GCNMetricsExporter
+ * @see GCNEventRecorder
+ */
+public abstract class GCNMetricsHttpServer implements Runnable
+{
+// constants
+	/**
+	 * Revision control system version id.
+	 */
+	public final static String RCSID = "$Id$";
+	/**
+	 * How long to wait for a client to send it's request, in milliseconds.
+	 */
+	public final static int REQUEST_TIMEOUT = 5000;
+	/**
+	 * The registry to serve.
+	 */
+	protected GCNMetricsRegistry registry = null;
+	/**
+	 * The port to listen on.
+	 */
+	protected int portNumber = 0;
+	/**
+	 * The server socket.
+	 */
+	protected ServerSocket serverSocket = null;
+	/**
+	 * Set to true to stop the thread.
+	 */
+	protected volatile boolean quit = false;
+
+	/**
+	 * Constructor.
+	 * @param r The registry to serve.
+	 * @param p The port to listen on.
+	 * @see #registry
+	 * @see #portNumber
+	 */
+	public GCNMetricsHttpServer(GCNMetricsRegistry r,int p)
+	{
+		super();
+		registry = r;
+		portNumber = p;
+	}
+
+	/**
+	 * Run method. Opens the server socket, and handles requests until quit is called.
+	 * @see #serverSocket
+	 * @see #handleRequest
+	 */
+	public void run()
+	{
+		Socket socket = null;
+
+		try
+		{
+			serverSocket = new ServerSocket(portNumber);
+			while(quit == false)
+			{
+				try
+				{
+					socket = serverSocket.accept();
+					handleRequest(socket);
+				}
+				catch(Exception e)
+				{
+					if(quit == false)
+						error(this.getClass().getName()+":run:",e);
+				}
+				finally
+				{
+					if(socket != null)
+					{
+						try
+						{
+							socket.close();
+						}
+						catch(IOException e)
+						{
+						}
+						socket = null;
+					}
+				}
+			}
+		}
+		catch(Exception e)
+		{
+			error(this.getClass().getName()+":run:server socket "+portNumber,e);
+		}
+	}
+
+	/**
+	 * Stop the server, and close the server socket (if it exists).
+	 * @exception IOException Can be thrown when closing the server socket.
+	 * @see #quit
+	 * @see #serverSocket
+	 */
+	public void quit() throws IOException
+	{
+		quit = true;
+		if(serverSocket != null)
+			serverSocket.close();
+	}
+
+	/**
+	 * Read a request from the socket, and send the response. The request headers are read and ignored.
+	 * @param socket The connection socket.
+	 * @exception IOException Thrown if reading the request or writing the response fails.
+	 * @see #sendResponse
+	 */
+	protected void handleRequest(Socket socket) throws IOException
+	{
+		BufferedReader reader = null;
+		String requestLine = null;
+		String line = null;
+		String tokenList[] = null;
+		String path = null;
+
+		socket.setSoTimeout(REQUEST_TIMEOUT);
+		reader = new BufferedReader(new InputStreamReader(socket.getInputStream(),"US-ASCII"));
+		requestLine = reader.readLine();
+		if(requestLine == null)
+			return;
+		// skip headers
+		line = reader.readLine();
+		while((line != null)&&(line.length() > 0))
+			line = reader.readLine();
+		tokenList = requestLine.split("\\s+");
+		if(tokenList.length < 2)
+		{
+			sendResponse(socket,"400 Bad Request","text/plain","Bad request.\n");
+			return;
+		}
+		if(tokenList[0].equals("GET") == false)
+		{
+			sendResponse(socket,"405 Method Not Allowed","text/plain","Only GET is supported.\n");
+			return;
+		}
+		path = tokenList[1];
+		if(path.indexOf('?') > -1)
+			path = path.substring(0,path.indexOf('?'));
+		if(path.equals("/metrics"))
+		{
+			sendResponse(socket,"200 OK",GCNMetricsExporter.PROMETHEUS_CONTENT_TYPE,
+				     GCNMetricsExporter.toPrometheus(registry));
+		}
+		else if(path.equals("/metrics.json"))
+		{
+			sendResponse(socket,"200 OK",GCNMetricsExporter.JSON_CONTENT_TYPE,
+				     GCNMetricsExporter.toJSON(registry));
+		}
+		else if(path.equals("/events"))
+		{
+			sendResponse(socket,"200 OK","text/plain",
+				     GCNEventRecorder.getDefault().getEvents(Integer.MAX_VALUE));
+		}
+		else
+			sendResponse(socket,"404 Not Found","text/plain","Try /metrics, /metrics.json or /events.\n");
+	}
+
+	/**
+	 * Send an HTTP/1.0 response, and close the output.
+	 * @param socket The connection socket.
+	 * @param status The status code and reason, e.g. "200 OK".
+	 * @param contentType The Content-Type of the body.
+	 * @param body The body.
+	 * @exception IOException Thrown if writing the response fails.
+	 */
+	protected void sendResponse(Socket socket,String status,String contentType,String body) throws IOException
+	{
+		OutputStream outputStream = null;
+		byte bodyBytes[];
+
+		bodyBytes = body.getBytes("UTF-8");
+		outputStream = new BufferedOutputStream(socket.getOutputStream());
+		outputStream.write(("HTTP/1.0 "+status+"\r\n"+
+				    "Content-Type: "+contentType+"\r\n"+
+				    "Content-Length: "+bodyBytes.length+"\r\n"+
+				    "Connection: close\r\n\r\n").getBytes("US-ASCII"));
+		outputStream.write(bodyBytes);
+		outputStream.flush();
+		socket.shutdownOutput();
+	}
+
+	/**
+	 * Report an error.
+	 * @param message The error message.
+	 * @param e The exception.
+	 */
+	protected abstract void error(String message,Exception e);
+}
+//
+// $Log: not supported by cvs2svn $
+//
@@ -0,0 +1,218 @@
+// GCNMetricsRegistry.java
+package org.estar.gcn;
+
+import java.lang.*;
+import java.util.*;
+
+/**
+ * A registry of the counters, gauges and latency histograms measuring the alert pipeline.
+ * Components look up (creating if necessary) their metrics once, keep a reference to them, and
+ * then update them directly, so the registry itself is never on the hot path.
+ * There is a default registry, shared by all the components in a JVM.
+ * @author Chris Mottram
+ * @version $Revision$
+ * @see GCNCounter
+ * @see GCNGauge
+ * @see GCNLatencyHistogram
+ */
+public class GCNMetricsRegistry
+{
+// constants
+	/**
+	 * Revision control system version id.
+	 */
+	public final static String RCSID = "$Id$";
+	/**
+	 * The default registry.
+	 */
+	protected static GCNMetricsRegistry defaultRegistry = new GCNMetricsRegistry();
+	/**
+	 * List of counters, in the order they were created.
+	 */
+	protected List counterList = null;
+	/**
+	 * List of histograms, in the order they were created.
+	 */
+	protected List histogramList = null;
+	/**
+	 * List of gauges, in the order they were added.
+	 */
+	protected List gaugeList = null;
+	/**
+	 * Map from a metric's name and labels, to the metric.
+	 * @see #getKey
+	 */
+	protected Map metricMap = null;
+
+	/**
+	 * Default constructor.
+	 */
+	public GCNMetricsRegistry()
+	{
+		super();
+		counterList = new Vector();
+		histogramList = new Vector();
+		gaugeList = new Vector();
+		metricMap = new Hashtable();
+	}
+
+	/**
+	 * Return the default registry.
+	 * @return The default registry.
+	 * @see #defaultRegistry
+	 */
+	public static GCNMetricsRegistry getDefault()
+	{
+		return defaultRegistry;
+	}
+
+	/**
+	 * Return the counter with the specified name and labels, creating it if it does not exist.
+	 * @param name The name of the counter.
+	 * @param labels The labels of the counter (key="value",...), or null.
+	 * @param help A description of the counter.
+	 * @return The counter.
+	 * @exception IllegalArgumentException Thrown if a histogram of that name and labels exists.
+	 * @see #counterList
+	 */
+	public synchronized GCNCounter getCounter(String name,String labels,String help)
+		throws IllegalArgumentException
+	{
+		Object metric = null;
+		GCNCounter counter = null;
+
+		metric = metricMap.get(getKey(name,labels));
+		if(metric != null)
+		{
+			if((metric instanceof GCNCounter) == false)
+			{
+				throw new IllegalArgumentException(this.getClass().getName()+
+								   ":getCounter:Not a counter:"+getKey(name,labels));
+			}
+			return (GCNCounter)metric;
+		}
+		counter = new GCNCounter(name,labels,help);
+		metricMap.put(getKey(name,labels),counter);
+		counterList.add(counter);
+		return counter;
+	}
+
+	/**
+	 * Return the histogram with the specified name and labels, creating it if it does not exist.
+	 * @param name The name of the histogram.
+	 * @param labels The labels of the histogram (key="value",...), or null.
+	 * @param units The units of the recorded values.
+	 * @param help A description of the histogram.
+	 * @return The histogram.
+	 * @exception IllegalArgumentException Thrown if a counter of that name and labels exists.
+	 * @see #histogramList
+	 */
+	public synchronized GCNLatencyHistogram getHistogram(String name,String labels,String units,String help)
+		throws IllegalArgumentException
+	{
+		Object metric = null;
+		GCNLatencyHistogram histogram = null;
+
+		metric = metricMap.get(getKey(name,labels));
+		if(metric != null)
+		{
+			if((metric instanceof GCNLatencyHistogram) == false)
+			{
+				throw new IllegalArgumentException(this.getClass().getName()+
+								   ":getHistogram:Not a histogram:"+getKey(name,labels));
+			}
+			return (GCNLatencyHistogram)metric;
+		}
+		histogram = new GCNLatencyHistogram(name,labels,units,help);
+		metricMap.put(getKey(name,labels),histogram);
+		histogramList.add(histogram);
+		return histogram;
+	}
+
+	/**
+	 * Add an existing histogram to the registry, replacing any metric with the same name and labels.
+	 * @param histogram The histogram.
+	 * @see #histogramList
+	 */
+	public synchronized void addHistogram(GCNLatencyHistogram histogram)
+	{
+		Object metric = null;
+		String key = null;
+
+		key = getKey(histogram.getName(),histogram.getLabels());
+		metric = metricMap.get(key);
+		if(metric != null)
+		{
+			counterList.remove(metric);
+			histogramList.remove(metric);
+			gaugeList.remove(metric);
+		}
+		metricMap.put(key,histogram);
+		histogramList.add(histogram);
+	}
+
+	/**
+	 * Add a gauge to the registry, replacing any metric with the same name and labels.
+	 * @param gauge The gauge.
+	 * @see #gaugeList
+	 */
+	public synchronized void addGauge(GCNGauge gauge)
+	{
+		Object metric = null;
+		String key = null;
+
+		key = getKey(gauge.getName(),gauge.getLabels());
+		metric = metricMap.get(key);
+		if(metric != null)
+		{
+			counterList.remove(metric);
+			histogramList.remove(metric);
+			gaugeList.remove(metric);
+		}
+		metricMap.put(key,gauge);
+		gaugeList.add(gauge);
+	}
+
+	/**
+	 * Return a copy of the list of counters.
+	 * @return A list of GCNCounter.
+	 */
+	public synchronized List getCounterList()
+	{
+		return new Vector(counterList);
+	}
+
+	/**
+	 * Return a copy of the list of histograms.
+	 * @return A list of GCNLatencyHistogram.
+	 */
+	public synchronized List getHistogramList()
+	{
+		return new Vector(histogramList);
+	}
+
+	/**
+	 * Return a copy of the list of gauges.
+	 * @return A list of GCNGauge.
+	 */
+	public synchronized List getGaugeList()
+	{
+		return new Vector(gaugeList);
+	}
+
+	/**
+	 * Return a metric's identifier, formed from it's name and labels: name{labels}.
+	 * @param name The metric name.
+	 * @param labels The metric labels, or null.
+	 * @return The identifier.
+	 */
+	public static String getKey(String name,String labels)
+	{
+		if((labels == null)||(labels.length() == 0))
+			return name;
+		return name+"{"+labels+"}";
+	}
+}
+//
+// $Log: not supported by cvs2svn $
+//
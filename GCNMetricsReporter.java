@@ -0,0 +1,135 @@
+// GCNMetricsReporter.java
+package org.estar.gcn;
+
+import java.lang.*;
+import java.util.*;
+
+/**
+ * A Runnable that periodically takes a snapshot of every metric in a GCNMetricsRegistry, and reports it
+ * as one line per metric: counters with their value and the increase since the last report, histograms with
+ * their count, mean, percentiles and maximum. Subclasses implement report, to send the lines to a logger.
+ * The snapshots are taken on the reporter thread, so the threads recording the metrics are not held up.
+ * @author Chris Mottram
+ * @version $Revision$
+ * @see GCNMetricsRegistry
+ */
+public abstract class GCNMetricsReporter implements Runnable
+{
+// constants
+	/**
+	 * Revision control system version id.
+	 */
+	public final static String RCSID = "$Id$";
+	/**
+	 * The registry to report.
+	 */
+	protected GCNMetricsRegistry registry = null;
+	/**
+	 * The interval between reports, in milliseconds.
+	 */
+	protected long interval = 0;
+	/**
+	 * Whether to quit the run method.
+	 */
+	protected volatile boolean quit = false;
+	/**
+	 * Map from counter to the counter's value at the last report (as a Long).
+	 */
+	protected Map lastValueMap = null;
+
+	/**
+	 * Constructor.
+	 * @param r The registry to report.
+	 * @param i The interval between reports, in milliseconds.
+	 * @see #registry
+	 * @see #interval
+	 */
+	public GCNMetricsReporter(GCNMetricsRegistry r,long i)
+	{
+		super();
+		registry = r;
+		interval = i;
+		lastValueMap = new HashMap();
+	}
+
+	/**
+	 * Run method. Reports the registry every interval milliseconds, until quit is called.
+	 * @see #interval
+	 * @see #reportSnapshot
+	 */
+	public void run()
+	{
+		while(quit == false)
+		{
+			try
+			{
+				Thread.sleep(interval);
+			}
+			catch(InterruptedException e)
+			{
+			}
+			if(quit == false)
+				reportSnapshot();
+		}
+	}
+
+	/**
+	 * Stop the reporter.
+	 * @see #quit
+	 */
+	public void quit()
+	{
+		quit = true;
+	}
+
+	/**
+	 * Take a snapshot of every metric in the registry, and report it, one line per metric.
+	 * Counters that have never been incremented, and histograms with no values, are not reported.
+	 * @see #registry
+	 * @see #lastValueMap
+	 * @see #report
+	 */
+	public void reportSnapshot()
+	{
+		List list = null;
+		GCNCounter counter = null;
+		GCNLatencyHistogram histogram = null;
+		Long lastValue = null;
+		long value,increase;
+
+		list = registry.getCounterList();
+		for(int i = 0; i < list.size(); i++)
+		{
+			counter = (GCNCounter)(list.get(i));
+			value = counter.getValue();
+			if(value == 0)
+				continue;
+			lastValue = (Long)(lastValueMap.get(counter));
+			if(lastValue != null)
+				increase = value-lastValue.longValue();
+			else
+				increase = value;
+			lastValueMap.put(counter,new Long(value));
+			report(GCNMetricsRegistry.getKey(counter.getName(),counter.getLabels())+" "+value+
+			       " (+"+increase+")");
+		}
+		list = registry.getHistogramList();
+		for(int i = 0; i < list.size(); i++)
+		{
+			histogram = (GCNLatencyHistogram)(list.get(i));
+			if(histogram.getCount() == 0)
+				continue;
+			report(GCNMetricsRegistry.getKey(histogram.getName(),histogram.getLabels())+" "+
+			       histogram.getUnits()+": "+histogram.getSnapshot());
+		}
+	}
+
+	/**
+	 * Report one line of the snapshot.
+	 * @param line The line.
+	 */
+	protected abstract void report(String line);
+}
+//
+// $Log: not supported by cvs2svn $
+//
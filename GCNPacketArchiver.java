@@ -0,0 +1,127 @@
+// GCNPacketArchiver.java
+package org.estar.gcn;
+
+import java.io.*;
+import java.lang.*;
+import java.util.*;
+import org.estar.log.*;
+
+/**
+ * A packet consumer that appends each packet received by a GCNDatagramThread to an archive file.
+ * The archive is the raw packets, one after another, in the same format as the forwarder's spool files.
+ * IMALIVE packets are not archived unless setArchiveImalive is called.
+ * If writing the archive fails, the error is logged, and the file is re-opened for the next packet.
+ * @author Chris Mottram
+ * @version $Revision$
+ * @see GCNDatagramThread#addBufferListener
+ * @see GCNDatagramProxy
+ */
+public class GCNPacketArchiver implements GCNPacketBufferListener
+{
+// constants
+	/**
+	 * Revision control system version id.
+	 */
+	public final static String RCSID = "$Id$";
+	/**
+	 * The file packets are appended to.
+	 */
+	protected File archiveFile = null;
+	/**
+	 * The stream writing to the archive file, or null if it is not open.
+	 */
+	protected FileOutputStream outputStream = null;
+	/**
+	 * Whether IMALIVE packets are archived.
+	 */
+	protected boolean archiveImalive = false;
+	/**
+	 * Counter of archived packets.
+	 */
+	protected GCNCounter archivedCounter = null;
+	/**
+	 * Counter of packets that could not be archived.
+	 */
+	protected GCNCounter errorCounter = null;
+	/**
+	 * Logger.
+	 */
+	protected ILogger logger = null;
+
+	/**
+	 * Constructor.
+	 * @param f The file to append packets to.
+	 * @param l The logger.
+	 * @see #archiveFile
+	 * @see #logger
+	 */
+	public GCNPacketArchiver(File f,ILogger l)
+	{
+		super();
+		archiveFile = f;
+		logger = l;
+		archivedCounter = GCNMetricsRegistry.getDefault().getCounter("gcn_archiver_packets_total",null,
+									"Packets appended to the archive file.");
+		errorCounter = GCNMetricsRegistry.getDefault().getCounter("gcn_archiver_errors_total",null,
+									"Packets that could not be appended to the archive file.");
+	}
+
+	/**
+	 * Set whether IMALIVE packets are archived.
+	 * @param b true to archive IMALIVE packets.
+	 * @see #archiveImalive
+	 */
+	public void setArchiveImalive(boolean b)
+	{
+		archiveImalive = b;
+	}
+
+	/**
+	 * Append a packet to the archive file, opening it if necessary.
+	 * @param buffer The shared packet buffer.
+	 * @see #archiveFile
+	 * @see #outputStream
+	 * @see #archiveImalive
+	 */
+	public synchronized void processPacket(GCNPacketBuffer buffer)
+	{
+		if((archiveImalive == false)&&(buffer.getType() == GCNPacketType.TYPE_IMALIVE))
+			return;
+		try
+		{
+			if(outputStream == null)
+				outputStream = new FileOutputStream(archiveFile.getPath(),true);
+			outputStream.write(buffer.array(),0,buffer.getLength());
+			archivedCounter.increment();
+		}
+		catch(IOException e)
+		{
+			errorCounter.increment();
+			logger.error(this.getClass().getName()+":processPacket:Archiving "+
+				     GCNPacketType.getName(buffer.getType())+" packet to "+archiveFile+" failed:",e);
+			close();
+		}
+	}
+
+	/**
+	 * Close the archive file. It is re-opened by the next packet.
+	 * @see #outputStream
+	 */
+	public synchronized void close()
+	{
+		if(outputStream == null)
+			return;
+		try
+		{
+			outputStream.close();
+		}
+		catch(IOException e)
+		{
+			logger.error(this.getClass().getName()+":close:Closing "+archiveFile+" failed:",e);
+		}
+		outputStream = null;
+	}
+}
+//
+// $Log: not supported by cvs2svn $
+//
@@ -0,0 +1,197 @@
+// GCNPacketBuffer.java
+package org.estar.gcn;
+
+import java.lang.*;
+import java.nio.*;
+
+/**
+ * A reference counted buffer holding one received GCN packet. A packet buffer is allocated
+ * once (from a GCNPacketBufferPool), and shared by every listener and forwarding destination.
+ * Each consumer that keeps the buffer after it is handed to them must call retain, and call release
+ * when they have finished with it. When the last reference is released the buffer returns to it's pool.
+ * Consumers read the packet through read-only views (getBuffer), each with their own position,
+ * so the packet data is never copied.
+ * @author Chris Mottram
+ * @version $Revision$
+ * @see GCNPacketBufferPool
+ */
+public class GCNPacketBuffer
+{
+// constants
+	/**
+	 * Revision control system version id.
+	 */
+	public final static String RCSID = "$Id$";
+	/**
+	 * The pool this buffer returns to when released, or null if it is not pooled.
+	 */
+	protected GCNPacketBufferPool pool = null;
+	/**
+	 * The buffer holding the packet data.
+	 */
+	protected ByteBuffer data = null;
+	/**
+	 * The number of bytes of packet data in the buffer.
+	 */
+	protected int length = 0;
+	/**
+	 * The number of consumers holding a reference to this buffer.
+	 */
+	protected int referenceCount = 0;
+	/**
+	 * The time the packet was received, in milliseconds since the epoch.
+	 */
+	protected long receiveTime = 0;
+
+	/**
+	 * Constructor.
+	 * @param p The pool this buffer returns to when released, or null if it is not pooled.
+	 * @param capacity The maximum length of packet the buffer can hold.
+	 * @see #data
+	 */
+	public GCNPacketBuffer(GCNPacketBufferPool p,int capacity)
+	{
+		super();
+		pool = p;
+		data = ByteBuffer.allocate(capacity);
+		length = 0;
+		referenceCount = 0;
+	}
+
+	/**
+	 * Return the array backing the buffer. This is only for filling the buffer with packet data, by
+	 * the thread that owns the only reference to it (e.g. for a DatagramPacket to receive into).
+	 * @return The backing array.
+	 * @see #data
+	 */
+	public byte[] array()
+	{
+		return data.array();
+	}
+
+	/**
+	 * Set the time the packet was received, after the buffer has been filled.
+	 * @param t The time, in milliseconds since the epoch.
+	 * @see #receiveTime
+	 */
+	public void setReceiveTime(long t)
+	{
+		receiveTime = t;
+	}
+
+	/**
+	 * Return the time the packet was received.
+	 * @return The time, in milliseconds since the epoch.
+	 * @see #receiveTime
+	 */
+	public long getReceiveTime()
+	{
+		return receiveTime;
+	}
+
+	/**
+	 * Set the number of bytes of packet data in the buffer, after the buffer has been filled.
+	 * @param l The length.
+	 * @exception IllegalArgumentException Thrown if the length is greater than the buffer's capacity.
+	 * @see #length
+	 */
+	public void setLength(int l) throws IllegalArgumentException
+	{
+		if((l < 0)||(l > data.capacity()))
+			throw new IllegalArgumentException(this.getClass().getName()+":setLength:Illegal length:"+l);
+		length = l;
+	}
+
+	/**
+	 * Return the number of bytes of packet data in the buffer.
+	 * @return The length.
+	 * @see #length
+	 */
+	public int getLength()
+	{
+		return length;
+	}
+
+	/**
+	 * Return a new read-only view of the packet data, with position 0 and limit the packet length.
+	 * The view shares the packet data, but has it's own position and limit, so each consumer can
+	 * read or write it independently.
+	 * @return A read-only ByteBuffer.
+	 * @see #data
+	 * @see #length
+	 */
+	public ByteBuffer getBuffer()
+	{
+		ByteBuffer buffer = null;
+
+		buffer = data.asReadOnlyBuffer();
+		buffer.position(0);
+		buffer.limit(length);
+		return buffer;
+	}
+
+	/**
+	 * Return the packet type (word 0).
+	 * @return The packet type.
+	 */
+	public int getType()
+	{
+		return data.getInt(0);
+	}
+
+	/**
+	 * Return whether the packet data equals the remaining bytes of the specified buffer.
+	 * @param buffer The buffer to compare with.
+	 * @return true if the contents are the same.
+	 */
+	public boolean contentEquals(ByteBuffer buffer)
+	{
+		return getBuffer().equals(buffer);
+	}
+
+	/**
+	 * Add a reference to this buffer.
+	 * @return This buffer.
+	 * @see #referenceCount
+	 */
+	public synchronized GCNPacketBuffer retain()
+	{
+		referenceCount++;
+		return this;
+	}
+
+	/**
+	 * Release a reference to this buffer. When the last reference is released,
+	 * the buffer is returned to it's pool, and must not be used again.
+	 * @exception IllegalStateException Thrown if the buffer has already been released.
+	 * @see #referenceCount
+	 * @see #pool
+	 */
+	public void release() throws IllegalStateException
+	{
+		int count;
+
+		synchronized(this)
+		{
+			if(referenceCount < 1)
+				throw new IllegalStateException(this.getClass().getName()+":release:Already released.");
+			referenceCount--;
+			count = referenceCount;
+		}
+		if((count == 0)&&(pool != null))
+			pool.put(this);
+	}
+
+	/**
+	 * Return the number of references to this buffer.
+	 * @return The reference count.
+	 * @see #referenceCount
+	 */
+	public synchronized int getReferenceCount()
+	{
+		return referenceCount;
+	}
+}
+//
+// $Log: not supported by cvs2svn $
+//
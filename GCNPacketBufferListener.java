@@ -0,0 +1,23 @@
+// GCNPacketBufferListener.java
+package org.estar.gcn;
+
+/**
+ * This interface is implemented by classes that want to be passed received GCN packets as shared,
+ * reference counted, packet buffers.
+ * @author Chris Mottram
+ * @version $Revision$
+ * @see GCNPacketBuffer
+ */
+public interface GCNPacketBufferListener
+{
+	/**
+	 * Process the GCN packet. The caller holds a reference to the buffer for the duration of the call.
+	 * An implementation that keeps the buffer after returning must call retain on it, and release
+	 * when it has finished with it. The packet data must not be modified.
+	 * @param buffer The buffer containing the packet data.
+	 */
+	public void processPacket(GCNPacketBuffer buffer);
+}
+//
+// $Log: not supported by cvs2svn $
+//
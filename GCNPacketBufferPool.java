@@ -0,0 +1,131 @@
+// GCNPacketBufferPool.java
+package org.estar.gcn;
+
+import java.lang.*;
+
+/**
+ * A pool of GCNPacketBuffer's. Buffers are taken from the pool with get, and return to it
+ * when their last reference is released. The pool keeps at most maxFree unused buffers, any more
+ * are left to the garbage collector.
+ * @author Chris Mottram
+ * @version $Revision$
+ * @see GCNPacketBuffer
+ */
+public class GCNPacketBufferPool
+{
+// constants
+	/**
+	 * Revision control system version id.
+	 */
+	public final static String RCSID = "$Id$";
+	/**
+	 * The default maximum number of unused buffers kept in the pool.
+	 */
+	public final static int DEFAULT_MAX_FREE = 64;
+	/**
+	 * The capacity of each buffer in the pool.
+	 */
+	protected int bufferCapacity = 0;
+	/**
+	 * Stack of unused buffers.
+	 */
+	protected GCNPacketBuffer freeList[] = null;
+	/**
+	 * The number of unused buffers in freeList.
+	 */
+	protected int freeCount = 0;
+	/**
+	 * The number of buffers allocated by the pool.
+	 */
+	protected int allocatedCount = 0;
+
+	/**
+	 * Constructor.
+	 * @param capacity The capacity of each buffer in the pool.
+	 * @see #DEFAULT_MAX_FREE
+	 */
+	public GCNPacketBufferPool(int capacity)
+	{
+		this(capacity,DEFAULT_MAX_FREE);
+	}
+
+	/**
+	 * Constructor.
+	 * @param capacity The capacity of each buffer in the pool.
+	 * @param maxFree The maximum number of unused buffers kept in the pool.
+	 * @see #bufferCapacity
+	 * @see #freeList
+	 */
+	public GCNPacketBufferPool(int capacity,int maxFree)
+	{
+		super();
+		bufferCapacity = capacity;
+		freeList = new GCNPacketBuffer[maxFree];
+		freeCount = 0;
+	}
+
+	/**
+	 * Get a buffer from the pool, allocating a new one if the pool is empty.
+	 * The returned buffer has a reference count of one, owned by the caller.
+	 * @return A buffer.
+	 * @see #freeList
+	 * @see #allocatedCount
+	 */
+	public GCNPacketBuffer get()
+	{
+		GCNPacketBuffer buffer = null;
+
+		synchronized(this)
+		{
+			if(freeCount > 0)
+			{
+				freeCount--;
+				buffer = freeList[freeCount];
+				freeList[freeCount] = null;
+			}
+			else
+				allocatedCount++;
+		}
+		if(buffer == null)
+			buffer = new GCNPacketBuffer(this,bufferCapacity);
+		buffer.setLength(0);
+		return buffer.retain();
+	}
+
+	/**
+	 * Return a released buffer to the pool. Called from GCNPacketBuffer.release.
+	 * @param buffer The buffer.
+	 * @see #freeList
+	 */
+	protected synchronized void put(GCNPacketBuffer buffer)
+	{
+		if(freeCount < freeList.length)
+		{
+			freeList[freeCount] = buffer;
+			freeCount++;
+		}
+	}
+
+	/**
+	 * Return the number of buffers allocated by the pool.
+	 * @return The number of buffers.
+	 * @see #allocatedCount
+	 */
+	public synchronized int getAllocatedCount()
+	{
+		return allocatedCount;
+	}
+
+	/**
+	 * Return the number of unused buffers in the pool.
+	 * @return The number of buffers.
+	 * @see #freeCount
+	 */
+	public synchronized int getFreeCount()
+	{
+		return freeCount;
+	}
+}
+//
+// $Log: not supported by cvs2svn $
+//
@@ -0,0 +1,697 @@
+// GCNPacketFuzzer.java
+package org.estar.gcn;
+
+import java.io.*;
+import java.lang.*;
+import java.util.*;
+
+/**
+ * Command line fuzz and property checker for the packet decoders in GCNDatagramScriptStarter (processData).
+ * The following properties are checked:
+ * <ul>
+ * <li><b>Round trip</b>: packets generated by GCNPacketGenerator pass GCNPacketValidator, and decode to the
+ *     alert data they were generated from, without the decoder failing.
+ * <li><b>Random</b>: packets of every decoded type with random contents never cause an exception to escape
+ *     processData.
+ * <li><b>Mutated</b>: generated packets with random bits flipped never cause an exception to escape processData.
+ * <li><b>Truncated</b>: generated packets truncated to a random length never cause an exception to escape
+ *     processData, are never decoded as an alert (the alert type is 0), and are rejected by the validator.
+ * <li><b>Pre-filter</b>: generated and mutated packets rejected by the alert pre-filter (alertPreFilter), under
+ *     random filter settings, are also rejected by alertFilter once fully decoded.
+ * <li><b>Allocation</b>: the heap in use after the random, mutated and truncated packets does not grow by more
+ *     than MAX_HEAP_GROWTH.
+ * </ul>
+ * It then times decoding well formed and truncated (malformed) packets, to measure the cost of the decoders'
+ * exception path, and validating the truncated packet, which is the cost of dropping it instead.
+ * The cost of a packet rejected by the pre-filter is compared with decoding and filtering it.
+ * The decoder logging is discarded, so the times are for the decoding only.
+ * The exit value is 0 if all the properties hold, and 1 if any failed.
+ * @author Chris Mottram
+ * @version $Revision$
+ * @see GCNPacketGenerator
+ * @see GCNPacketValidator
+ * @see GCNDatagramScriptStarter#processData
+ * @see GCNDatagramScriptStarter#alertPreFilter
+ */
+public class GCNPacketFuzzer
+{
+// constants
+	/**
+	 * Revision control system version id.
+	 */
+	public final static String RCSID = "$Id$";
+	/**
+	 * The default number of packets of each type checked for each property.
+	 */
+	public final static int DEFAULT_ITERATIONS = 1000;
+	/**
+	 * The default number of packets decoded for each benchmark.
+	 */
+	public final static int DEFAULT_BENCHMARK_ITERATIONS = 100000;
+	/**
+	 * The maximum growth in the heap in use allowed, in bytes.
+	 */
+	public final static long MAX_HEAP_GROWTH = 16L*1024L*1024L;
+	/**
+	 * The maximum number of failures printed.
+	 */
+	public final static int MAX_FAILURES_PRINTED = 20;
+	/**
+	 * The maximum difference allowed between a decoded and expected RA or Dec, in degrees.
+	 */
+	public final static double MAX_POSITION_DIFFERENCE = 0.00001;
+	/**
+	 * The packet types decoded by processData.
+	 */
+	public final static int DECODED_TYPE_LIST[] = {3,4,34,40,41,43,51,52,53,54,55,60,61,62,65,66,67,71,81,82,
+						       100,109,110,111,112,115,119,121,124,127};
+	/**
+	 * The script starter whose decoders are checked.
+	 */
+	protected GCNDatagramScriptStarter starter = null;
+	/**
+	 * The logger the decoders log to, which discards the messages but counts the errors.
+	 */
+	protected FuzzLogger logger = null;
+	/**
+	 * The generator of well formed packets.
+	 */
+	protected GCNPacketGenerator generator = null;
+	/**
+	 * The packet validator.
+	 */
+	protected GCNPacketValidator validator = null;
+	/**
+	 * The random number generator, shared with the generator.
+	 */
+	protected Random random = null;
+	/**
+	 * The seed for the random number generator.
+	 */
+	protected long seed = 0;
+	/**
+	 * The number of packets of each type checked for each property.
+	 */
+	protected int iterations = DEFAULT_ITERATIONS;
+	/**
+	 * The number of packets decoded for each benchmark.
+	 */
+	protected int benchmarkIterations = DEFAULT_BENCHMARK_ITERATIONS;
+	/**
+	 * The number of property failures.
+	 */
+	protected int failureCount = 0;
+
+	/**
+	 * Default constructor.
+	 */
+	public GCNPacketFuzzer()
+	{
+		super();
+		seed = System.currentTimeMillis();
+	}
+
+	/**
+	 * Create the logger, script starter (with Fermi GBM alerts enabled, so they are round tripped) and packet
+	 * generator.
+	 * @exception IOException Thrown if the logger cannot be created.
+	 * @see #logger
+	 * @see #starter
+	 * @see #generator
+	 */
+	public void init() throws IOException
+	{
+		logger = new FuzzLogger();
+		starter = new GCNDatagramScriptStarter();
+		starter.logger = logger;
+		starter.enableFermiGBM = true;
+		generator = new GCNPacketGenerator(seed);
+		validator = new GCNPacketValidator();
+		random = generator.getRandom();
+		System.out.println("Seed: "+seed);
+	}
+
+	/**
+	 * Check all the properties, then run the benchmarks.
+	 * @return The number of property failures.
+	 * @see #checkRoundTrip
+	 * @see #checkRandomPackets
+	 * @see #checkMutatedPackets
+	 * @see #checkTruncatedPackets
+	 * @see #checkPreFilter
+	 * @see #benchmark
+	 */
+	public int run()
+	{
+		Runtime runtime = null;
+		long heapBefore,heapAfter;
+
+		checkRoundTrip();
+		runtime = Runtime.getRuntime();
+		heapBefore = getHeapInUse(runtime);
+		checkRandomPackets();
+		checkMutatedPackets();
+		checkTruncatedPackets();
+		heapAfter = getHeapInUse(runtime);
+		System.out.println("Heap in use: before "+heapBefore+" bytes, after "+heapAfter+" bytes.");
+		if((heapAfter-heapBefore) > MAX_HEAP_GROWTH)
+			fail("Allocation","heap in use grew by "+(heapAfter-heapBefore)+" bytes.");
+		checkPreFilter();
+		benchmark();
+		return failureCount;
+	}
+
+	/**
+	 * Check generated packets decode to the alert data they were generated from.
+	 * @see GCNPacketGenerator#GENERATED_TYPE_LIST
+	 */
+	protected void checkRoundTrip()
+	{
+		GCNDatagramAlertData expected = null;
+		GCNDatagramAlertData decoded = null;
+		byte buff[] = null;
+		int type,errorCount,reason;
+
+		for(int t = 0; t < GCNPacketGenerator.GENERATED_TYPE_LIST.length; t++)
+		{
+			type = GCNPacketGenerator.GENERATED_TYPE_LIST[t];
+			for(int i = 0; i < iterations; i++)
+			{
+				buff = generator.generate(type);
+				expected = generator.getExpected();
+				reason = validator.validate(buff,0,buff.length,System.currentTimeMillis());
+				if(reason != GCNPacketValidator.REASON_NONE)
+				{
+					fail("Round trip",GCNPacketType.getName(type)+":rejected by validator:"+
+					     GCNPacketValidator.getReasonName(reason));
+				}
+				errorCount = logger.getErrorCount();
+				if(decode(buff,buff.length) == false)
+					continue;
+				decoded = starter.alertData;
+				if(logger.getErrorCount() != errorCount)
+				{
+					fail("Round trip",GCNPacketType.getName(type)+":decoder failed:"+
+					     logger.getLastError());
+				}
+				else if(decoded.getAlertType() != expected.getAlertType())
+				{
+					fail("Round trip",GCNPacketType.getName(type)+":alert type "+
+					     decoded.getAlertType()+" not "+expected.getAlertType()+".");
+				}
+				else if(decoded.getTriggerNumber() != expected.getTriggerNumber())
+				{
+					fail("Round trip",GCNPacketType.getName(type)+":trigger number "+
+					     decoded.getTriggerNumber()+" not "+expected.getTriggerNumber()+".");
+				}
+				else if(decoded.getSequenceNumber() != expected.getSequenceNumber())
+				{
+					fail("Round trip",GCNPacketType.getName(type)+":sequence number "+
+					     decoded.getSequenceNumber()+" not "+expected.getSequenceNumber()+".");
+				}
+				else if(equals(decoded.getGRBDate(),expected.getGRBDate()) == false)
+				{
+					fail("Round trip",GCNPacketType.getName(type)+":GRB date "+
+					     decoded.getGRBDate()+" not "+expected.getGRBDate()+".");
+				}
+				else if(equals(decoded.getSlewDate(),expected.getSlewDate()) == false)
+				{
+					fail("Round trip",GCNPacketType.getName(type)+":slew date "+
+					     decoded.getSlewDate()+" not "+expected.getSlewDate()+".");
+				}
+				else if((decoded.getRA() == null)||(decoded.getDec() == null)||
+					(Math.abs((decoded.getRA().toArcSeconds()/3600.0)-generator.getExpectedRA()) >
+					 MAX_POSITION_DIFFERENCE)||
+					(Math.abs((decoded.getDec().toArcSeconds()/3600.0)-generator.getExpectedDec()) >
+					 MAX_POSITION_DIFFERENCE))
+				{
+					fail("Round trip",GCNPacketType.getName(type)+":position "+decoded.getRA()+" "+
+					     decoded.getDec()+" not "+generator.getExpectedRA()+" "+
+					     generator.getExpectedDec()+".");
+				}
+				else if(Math.abs(decoded.getErrorBoxSize()-expected.getErrorBoxSize()) > 0.000001)
+				{
+					fail("Round trip",GCNPacketType.getName(type)+":error box "+
+					     decoded.getErrorBoxSize()+" not "+expected.getErrorBoxSize()+".");
+				}
+			}
+		}
+		System.out.println("Round trip: checked "+(iterations*GCNPacketGenerator.GENERATED_TYPE_LIST.length)+
+				   " packets.");
+	}
+
+	/**
+	 * Check packets of every decoded type, with random contents, never cause an exception to escape.
+	 * @see #DECODED_TYPE_LIST
+	 */
+	protected void checkRandomPackets()
+	{
+		byte buff[] = null;
+
+		buff = new byte[GCNPacketGenerator.PACKET_LENGTH];
+		for(int t = 0; t < DECODED_TYPE_LIST.length; t++)
+		{
+			for(int i = 0; i < iterations; i++)
+			{
+				random.nextBytes(buff);
+				setType(buff,DECODED_TYPE_LIST[t]);
+				decode(buff,buff.length);
+			}
+		}
+		System.out.println("Random: checked "+(iterations*DECODED_TYPE_LIST.length)+" packets.");
+	}
+
+	/**
+	 * Check generated packets with between 1 and 8 random bits (not in the type) flipped never cause an
+	 * exception to escape.
+	 */
+	protected void checkMutatedPackets()
+	{
+		byte buff[] = null;
+		int bitCount,bit;
+
+		for(int t = 0; t < GCNPacketGenerator.GENERATED_TYPE_LIST.length; t++)
+		{
+			for(int i = 0; i < iterations; i++)
+			{
+				buff = generator.generate(GCNPacketGenerator.GENERATED_TYPE_LIST[t]);
+				bitCount = 1+random.nextInt(8);
+				for(int b = 0; b < bitCount; b++)
+				{
+					bit = 32+random.nextInt((buff.length*8)-32);
+					buff[bit/8] ^= (byte)(1 << (bit%8));
+				}
+				decode(buff,buff.length);
+			}
+		}
+		System.out.println("Mutated: checked "+(iterations*GCNPacketGenerator.GENERATED_TYPE_LIST.length)+
+				   " packets.");
+	}
+
+	/**
+	 * Check generated packets truncated to a random length never cause an exception to escape,
+	 * and are never decoded as an alert. Also check the validator rejects truncated packets on their length,
+	 * and packets received with a trailing byte (as an oversized datagram is) as oversized.
+	 */
+	protected void checkTruncatedPackets()
+	{
+		byte buff[] = null;
+		byte oversizedBuff[] = null;
+		int type,length;
+
+		for(int t = 0; t < GCNPacketGenerator.GENERATED_TYPE_LIST.length; t++)
+		{
+			type = GCNPacketGenerator.GENERATED_TYPE_LIST[t];
+			for(int i = 0; i < iterations; i++)
+			{
+				buff = generator.generate(type);
+				length = random.nextInt(buff.length);
+				if(decode(buff,length) && (starter.alertData.getAlertType() != 0))
+				{
+					fail("Truncated",GCNPacketType.getName(type)+":packet truncated to "+length+
+					     " bytes decoded as alert type "+starter.alertData.getAlertType()+".");
+				}
+				if(validator.validate(buff,0,length,System.currentTimeMillis()) !=
+				   GCNPacketValidator.REASON_LENGTH)
+				{
+					fail("Truncated",GCNPacketType.getName(type)+":packet truncated to "+length+
+					     " bytes not rejected by validator.");
+				}
+				oversizedBuff = new byte[buff.length+1];
+				System.arraycopy(buff,0,oversizedBuff,0,buff.length);
+				if(validator.validate(oversizedBuff,0,oversizedBuff.length,System.currentTimeMillis()) !=
+				   GCNPacketValidator.REASON_OVERSIZED)
+				{
+					fail("Truncated",GCNPacketType.getName(type)+":oversized packet of "+
+					     oversizedBuff.length+" bytes not rejected by validator.");
+				}
+			}
+		}
+		System.out.println("Truncated: checked "+(iterations*GCNPacketGenerator.GENERATED_TYPE_LIST.length)+
+				   " packets.");
+	}
+
+	/**
+	 * Check generated packets, half of them with random bits flipped (and for Swift BAT positions, a random
+	 * solnStatus and merit word), that are rejected by the pre-filter are also rejected by alertFilter once
+	 * fully decoded. The filter settings (allowed alerts, maximum error box and propogation delay,
+	 * Swift masks, merit filtering and Fermi GBM alerts) are randomised for each packet.
+	 */
+	protected void checkPreFilter()
+	{
+		byte buff[] = null;
+		int type,bit,preFilterCount;
+		long now;
+		boolean decode;
+
+		starter.packetView = new GCNPacketView();
+		preFilterCount = 0;
+		for(int t = 0; t < GCNPacketGenerator.GENERATED_TYPE_LIST.length; t++)
+		{
+			type = GCNPacketGenerator.GENERATED_TYPE_LIST[t];
+			for(int i = 0; i < iterations; i++)
+			{
+				buff = generator.generate(type);
+				if(random.nextBoolean())
+				{
+					bit = 32+random.nextInt((buff.length*8)-32);
+					buff[bit/8] ^= (byte)(1 << (bit%8));
+				}
+				if(type == GCNPacketType.TYPE_SWIFT_BAT_GRB_POSITION)
+				{
+					setWord(buff,18,random.nextInt(1<<14));
+					setWord(buff,36,random.nextInt(0x10000));
+				}
+				starter.allowedAlerts = random.nextInt(1<<5);
+				starter.maxErrorBox = random.nextInt(4*60*60);
+				starter.maxPropogationDelay = random.nextInt(2*60*60*1000);
+				starter.swiftSolnStatusAcceptMask = random.nextInt(4);
+				starter.swiftSolnStatusRejectMask = random.nextInt(4) << 2;
+				starter.swiftFilterOnMerit = random.nextBoolean();
+				starter.enableFermiGBM = random.nextBoolean();
+				now = System.currentTimeMillis();
+				starter.packetView.wrap(buff,0,buff.length);
+				decode = starter.alertPreFilter(type,now,now);
+				if(decode == false)
+					preFilterCount++;
+				if(decode(buff,buff.length) && (decode == false) && starter.alertFilter())
+				{
+					fail("Pre-filter",GCNPacketType.getName(type)+":packet rejected by the pre-filter "+
+					     "accepted by alertFilter.");
+				}
+			}
+		}
+		starter.packetView = null;
+		starter.enableFermiGBM = true;
+		System.out.println("Pre-filter: checked "+(iterations*GCNPacketGenerator.GENERATED_TYPE_LIST.length)+
+				   " packets, "+preFilterCount+" rejected before decoding.");
+	}
+
+	/**
+	 * Time decoding well formed and truncated (malformed) Swift BAT position packets,
+	 * and validating the truncated packet. Then time a Swift BAT position packet (with Swift alerts not
+	 * allowed) rejected by the pre-filter, against decoding and filtering it.
+	 * Each is run twice, the first time to warm up.
+	 */
+	protected void benchmark()
+	{
+		byte buff[] = null;
+		long startTime,duration;
+
+		buff = generator.generate(GCNPacketType.TYPE_SWIFT_BAT_GRB_POSITION);
+		for(int run = 0; run < 2; run++)
+		{
+			benchmark("Well formed",buff,buff.length);
+			benchmark("Truncated",buff,48);
+			startTime = System.currentTimeMillis();
+			for(int i = 0; i < benchmarkIterations; i++)
+				validator.validate(buff,0,48,startTime);
+			duration = System.currentTimeMillis()-startTime;
+			System.out.println("Benchmark: Validate truncated: "+benchmarkIterations+" validations in "+
+					   duration+" ms, "+((duration*1000.0)/benchmarkIterations)+
+					   " microseconds per validation.");
+		}
+		starter.allowedAlerts = 0;
+		starter.packetView = new GCNPacketView();
+		for(int run = 0; run < 2; run++)
+		{
+			startTime = System.currentTimeMillis();
+			for(int i = 0; i < benchmarkIterations; i++)
+			{
+				starter.packetView.wrap(buff,0,buff.length);
+				starter.alertPreFilter(GCNPacketType.TYPE_SWIFT_BAT_GRB_POSITION,startTime,startTime);
+			}
+			duration = System.currentTimeMillis()-startTime;
+			System.out.println("Benchmark: Pre-filter reject: "+benchmarkIterations+" packets in "+
+					   duration+" ms, "+((duration*1000.0)/benchmarkIterations)+
+					   " microseconds per packet.");
+			startTime = System.currentTimeMillis();
+			for(int i = 0; i < benchmarkIterations; i++)
+			{
+				decode(buff,buff.length);
+				starter.alertFilter();
+			}
+			duration = System.currentTimeMillis()-startTime;
+			System.out.println("Benchmark: Decode and filter reject: "+benchmarkIterations+" packets in "+
+					   duration+" ms, "+((duration*1000.0)/benchmarkIterations)+
+					   " microseconds per packet.");
+		}
+		starter.packetView = null;
+	}
+
+	/**
+	 * Time decoding a packet benchmarkIterations times, and print the time per decode.
+	 * @param name The name of the benchmark.
+	 * @param buff The packet.
+	 * @param length The length of the packet.
+	 * @see #benchmarkIterations
+	 */
+	protected void benchmark(String name,byte buff[],int length)
+	{
+		long startTime,duration;
+
+		startTime = System.currentTimeMillis();
+		for(int i = 0; i < benchmarkIterations; i++)
+			decode(buff,length);
+		duration = System.currentTimeMillis()-startTime;
+		System.out.println("Benchmark: "+name+": "+benchmarkIterations+" decodes in "+duration+" ms, "+
+				   ((duration*1000.0)/benchmarkIterations)+" microseconds per decode.");
+	}
+
+	/**
+	 * Decode a packet with the script starter's processData.
+	 * @param buff The packet.
+	 * @param length The length of the packet to decode.
+	 * @return true if the packet was decoded, false if an exception escaped processData (which is a failure).
+	 */
+	protected boolean decode(byte buff[],int length)
+	{
+		starter.setPacket(buff,0,length);
+		try
+		{
+			starter.processData();
+		}
+		catch(Exception e)
+		{
+			fail("Exception",GCNPacketType.getName(GCNPacketType.getType(buff))+":length "+length+
+			     ":exception escaped processData:"+e);
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Record a property failure, printing it if fewer than MAX_FAILURES_PRINTED have been printed.
+	 * @param property The name of the property.
+	 * @param message A description of the failure.
+	 * @see #failureCount
+	 */
+	protected void fail(String property,String message)
+	{
+		failureCount++;
+		if(failureCount <= MAX_FAILURES_PRINTED)
+			System.out.println("FAILED:"+property+":"+message);
+		else if(failureCount == (MAX_FAILURES_PRINTED+1))
+			System.out.println("FAILED:Further failures not printed.");
+	}
+
+	/**
+	 * Return whether two (possibly null) dates are equal.
+	 * @param d1 The first date.
+	 * @param d2 The second date.
+	 * @return true if both are null, or they are the same time.
+	 */
+	protected static boolean equals(Date d1,Date d2)
+	{
+		if((d1 == null)||(d2 == null))
+			return (d1 == d2);
+		return d1.getTime() == d2.getTime();
+	}
+
+	/**
+	 * Set the type (word 0) of a packet.
+	 * @param buff The packet.
+	 * @param type The type.
+	 */
+	protected static void setType(byte buff[],int type)
+	{
+		setWord(buff,0,type);
+	}
+
+	/**
+	 * Set a (big endian, 4 byte) word of a packet.
+	 * @param buff The packet.
+	 * @param word The index of the word.
+	 * @param value The value.
+	 */
+	protected static void setWord(byte buff[],int word,int value)
+	{
+		buff[(word*4)] = (byte)(value >>> 24);
+		buff[(word*4)+1] = (byte)(value >>> 16);
+		buff[(word*4)+2] = (byte)(value >>> 8);
+		buff[(word*4)+3] = (byte)(value);
+	}
+
+	/**
+	 * Return the heap in use, after a garbage collection.
+	 * @param runtime The runtime.
+	 * @return The heap in use, in bytes.
+	 */
+	protected static long getHeapInUse(Runtime runtime)
+	{
+		System.gc();
+		return runtime.totalMemory()-runtime.freeMemory();
+	}
+
+	/**
+	 * Parse the arguments.
+	 * @param args The arguments.
+	 * @see #seed
+	 * @see #iterations
+	 * @see #benchmarkIterations
+	 */
+	public void parseArgs(String args[])
+	{
+		for(int i = 0; i < args.length; i++)
+		{
+			try
+			{
+				if(args[i].equals("-seed") && ((i+1) < args.length))
+				{
+					seed = Long.parseLong(args[i+1]);
+					i++;
+				}
+				else if(args[i].equals("-iterations") && ((i+1) < args.length))
+				{
+					iterations = Integer.parseInt(args[i+1]);
+					i++;
+				}
+				else if(args[i].equals("-benchmark_iterations") && ((i+1) < args.length))
+				{
+					benchmarkIterations = Integer.parseInt(args[i+1]);
+					i++;
+				}
+				else
+				{
+					System.out.println("java org.estar.gcn.GCNPacketFuzzer [-seed <n>][-iterations <n>]"+
+							   "[-benchmark_iterations <n>]");
+					System.out.println("-iterations is the number of packets of each type checked for "+
+							   "each property (default "+DEFAULT_ITERATIONS+").");
+					System.exit(2);
+				}
+			}
+			catch(NumberFormatException e)
+			{
+				System.err.println("GCNPacketFuzzer:Parsing "+args[i]+" "+args[i+1]+" failed:"+e);
+				System.exit(3);
+			}
+		}
+	}
+
+	/**
+	 * Main program.
+	 * @param args The arguments.
+	 */
+	public static void main(String args[])
+	{
+		GCNPacketFuzzer fuzzer = null;
+		int failureCount;
+
+		fuzzer = new GCNPacketFuzzer();
+		fuzzer.parseArgs(args);
+		try
+		{
+			fuzzer.init();
+		}
+		catch(Exception e)
+		{
+			System.err.println("GCNPacketFuzzer:init failed:"+e);
+			e.printStackTrace(System.err);
+			System.exit(4);
+		}
+		failureCount = fuzzer.run();
+		System.out.println("Failures: "+failureCount);
+		System.exit((failureCount == 0) ? 0 : 1);
+	}
+
+	/**
+	 * Logger that discards the decoder log messages, but counts the error messages.
+	 */
+	public static class FuzzLogger extends GCNDatagramScriptStarterLogger
+	{
+		/**
+		 * The number of error messages.
+		 */
+		protected int errorCount = 0;
+		/**
+		 * The last error message.
+		 */
+		protected String lastError = null;
+
+		/**
+		 * Constructor.
+		 * @exception IOException Never thrown, as nothing is opened.
+		 */
+		public FuzzLogger() throws IOException
+		{
+			super();
+		}
+
+		/**
+		 * Nothing is logged to, so there is nothing to initialise.
+		 */
+		protected void init()
+		{
+		}
+
+		/**
+		 * Discard a log message.
+		 * @param logMessage The message.
+		 */
+		public void logMessage(String logMessage)
+		{
+		}
+
+		/**
+		 * Count an error message.
+		 * @param logMessage The message.
+		 */
+		public void errorMessage(String logMessage)
+		{
+			errorCount++;
+			lastError = logMessage;
+		}
+
+		/**
+		 * Count an error message.
+		 * @param logMessage The message.
+		 * @param e The exception.
+		 */
+		public void errorMessage(String logMessage,Exception e)
+		{
+			errorCount++;
+			lastError = logMessage+e;
+		}
+
+		/**
+		 * Return the number of error messages.
+		 * @return The number of error messages.
+		 */
+		public int getErrorCount()
+		{
+			return errorCount;
+		}
+
+		/**
+		 * Return the last error message.
+		 * @return The last error message, or null.
+		 */
+		public String getLastError()
+		{
+			return lastError;
+		}
+	}
+}
+//
+// $Log: not supported by cvs2svn $
+//
@@ -0,0 +1,421 @@
+// GCNPacketGenerator.java
+package org.estar.gcn;
+
+import java.lang.*;
+import java.util.*;
+
+/**
+ * Generates well formed 40 word GCN socket packets, with random (but valid) trigger numbers, sequence numbers,
+ * burst dates, positions and error boxes, for the packet types listed in GENERATED_TYPE_LIST.
+ * After each packet is generated, the alert data a decoder should produce from it is available from
+ * getExpected, so decoders can be checked by round trip. The expected RA and Dec are held in degrees
+ * (getExpectedRA/getExpectedDec).
+ * <p>
+ * The packets are encoded with the setters GCNPacketLayout generates from the packet layout files, the same
+ * description the layout decoders are generated from.
+ * @author Chris Mottram
+ * @version $Revision$
+ * @see GCNPacketFuzzer
+ * @see GCNPacketLayout
+ */
+public class GCNPacketGenerator
+{
+// constants
+	/**
+	 * Revision control system version id.
+	 */
+	public final static String RCSID = "$Id$";
+	/**
+	 * The length of a packet, in bytes.
+	 */
+	public final static int PACKET_LENGTH = 160;
+	/**
+	 * The packet types that can be generated.
+	 */
+	public final static int GENERATED_TYPE_LIST[] = {GCNPacketType.TYPE_INTEGRAL_WAKEUP,
+		GCNPacketType.TYPE_INTEGRAL_REFINED,GCNPacketType.TYPE_INTEGRAL_OFFLINE,
+		GCNPacketType.TYPE_SWIFT_BAT_GRB_POSITION,GCNPacketType.TYPE_SWIFT_SC_SLEW,
+		GCNPacketType.TYPE_SWIFT_XRT_POSITION,GCNPacketType.TYPE_SWIFT_UVOT_POSITION,
+		GCNPacketType.TYPE_SUPER_AGILE_GRB_POS_WAKEUP,GCNPacketType.TYPE_FERMI_GBM_FLT_POS,
+		GCNPacketType.TYPE_FERMI_GBM_GND_POS,GCNPacketType.TYPE_FERMI_GBM_FIN_POS,
+		GCNPacketType.TYPE_FERMI_LAT_GRB_POS_UPD};
+	/**
+	 * The number of milliseconds between the Java epoch (1970-01-01) and TJD 0 (1968-05-24).
+	 * TJD=12640 is 01 Jan 2003.
+	 */
+	public final static long TJD_EPOCH_MILLIS = -587L*86400000L;
+	/**
+	 * The random number generator used to generate the packet contents.
+	 */
+	protected Random random = null;
+	/**
+	 * The alert data a decoder should produce from the last packet generated.
+	 */
+	protected GCNDatagramAlertData expected = null;
+	/**
+	 * The RA a decoder should produce from the last packet generated, in degrees.
+	 */
+	protected double expectedRA = 0.0;
+	/**
+	 * The Dec a decoder should produce from the last packet generated, in degrees.
+	 */
+	protected double expectedDec = 0.0;
+
+	/**
+	 * Constructor.
+	 * @param seed The seed for the random number generator, so the packets generated can be repeated.
+	 */
+	public GCNPacketGenerator(long seed)
+	{
+		super();
+		random = new Random(seed);
+	}
+
+	/**
+	 * Return the random number generator, so callers can share it.
+	 * @return The random number generator.
+	 * @see #random
+	 */
+	public Random getRandom()
+	{
+		return random;
+	}
+
+	/**
+	 * Generate a packet of the specified type, with random contents.
+	 * The alert data a decoder should produce from it can then be retrieved with getExpected.
+	 * @param type The packet type, one of GENERATED_TYPE_LIST.
+	 * @return A new 160 byte packet.
+	 * @exception IllegalArgumentException Thrown if the packet type cannot be generated.
+	 * @see #GENERATED_TYPE_LIST
+	 * @see #getExpected
+	 */
+	public byte[] generate(int type) throws IllegalArgumentException
+	{
+		byte buff[] = null;
+		int trigger,sequence,error,tjd,sod,ra,dec,slewTJD,slewSOD;
+		long burstTime,slewTime;
+
+		buff = new byte[PACKET_LENGTH];
+		expected = new GCNDatagramAlertData();
+		expected.setAlertType(getAlertType(type));
+		// a burst in the last hour, to a centi-second
+		burstTime = System.currentTimeMillis()-(((long)random.nextInt(360000))*10L);
+		burstTime -= burstTime%10L;
+		expected.setGRBDate(new Date(burstTime));
+		tjd = (int)((burstTime-TJD_EPOCH_MILLIS)/86400000L);
+		sod = (int)(((burstTime-TJD_EPOCH_MILLIS)%86400000L)/10L);
+		GCNPacketLayout.init(buff,0,type);
+		GCNPacketLayout.setPktSernum(buff,0,random.nextInt(0x7FFFFFFF));
+		GCNPacketLayout.setPktHopCnt(buff,0,random.nextInt(16));
+		GCNPacketLayout.setPktSod(buff,0,sod);
+		ra = random.nextInt(3600000);		// RA(0..359.9999)degrees *10000.
+		dec = random.nextInt(1800001)-900000;	// Dec(-90..90)degrees *10000.
+		expectedRA = ((double)ra)/10000.0;
+		expectedDec = ((double)dec)/10000.0;
+		switch(type)
+		{
+			case GCNPacketType.TYPE_INTEGRAL_WAKEUP:
+			case GCNPacketType.TYPE_INTEGRAL_REFINED:
+			case GCNPacketType.TYPE_INTEGRAL_OFFLINE:
+				trigger = random.nextInt(0x10000);
+				sequence = random.nextInt(0x10000);
+				error = random.nextInt(600); // arcsec
+				generateIntegral(buff,type,trigger,sequence,tjd,sod,ra,dec,error);
+				expected.setErrorBoxSize(((double)error)/60.0);
+				break;
+			case GCNPacketType.TYPE_SWIFT_BAT_GRB_POSITION:
+				trigger = random.nextInt(0x1000000);
+				sequence = random.nextInt(0x100);
+				error = random.nextInt(1000); // degrees *10000
+				GCNPacketLayout.SwiftBatGRBPosition.setTrigNum(buff,0,trigger);
+				GCNPacketLayout.SwiftBatGRBPosition.setMesgNum(buff,0,sequence);
+				GCNPacketLayout.SwiftBatGRBPosition.setBurstTjd(buff,0,tjd);
+				GCNPacketLayout.SwiftBatGRBPosition.setBurstSod(buff,0,sod);
+				GCNPacketLayout.SwiftBatGRBPosition.setBurstRa(buff,0,expectedRA);
+				GCNPacketLayout.SwiftBatGRBPosition.setBurstDec(buff,0,expectedDec);
+				GCNPacketLayout.SwiftBatGRBPosition.setBurstError(buff,0,error);
+				// merit parameter 0, this is a GRB
+				GCNPacketLayout.SwiftBatGRBPosition.setMerit0(buff,0,1);
+				expected.setErrorBoxSize((((double)error)*60.0)/10000.0);
+				break;
+			case GCNPacketType.TYPE_SWIFT_XRT_POSITION:
+				trigger = random.nextInt(0x1000000);
+				sequence = random.nextInt(0x100);
+				error = random.nextInt(1000); // degrees *10000
+				GCNPacketLayout.SwiftXrtPosition.setTrigNum(buff,0,trigger);
+				GCNPacketLayout.SwiftXrtPosition.setMesgNum(buff,0,sequence);
+				GCNPacketLayout.SwiftXrtPosition.setBurstTjd(buff,0,tjd);
+				GCNPacketLayout.SwiftXrtPosition.setBurstSod(buff,0,sod);
+				GCNPacketLayout.SwiftXrtPosition.setBurstRa(buff,0,expectedRA);
+				GCNPacketLayout.SwiftXrtPosition.setBurstDec(buff,0,expectedDec);
+				GCNPacketLayout.SwiftXrtPosition.setBurstError(buff,0,error);
+				expected.setErrorBoxSize((((double)error)*60.0)/10000.0);
+				break;
+			case GCNPacketType.TYPE_SWIFT_UVOT_POSITION:
+				trigger = random.nextInt(0x1000000);
+				sequence = random.nextInt(0x100);
+				error = random.nextInt(1000); // degrees *10000
+				GCNPacketLayout.SwiftUvotPosition.setTrigNum(buff,0,trigger);
+				GCNPacketLayout.SwiftUvotPosition.setMesgNum(buff,0,sequence);
+				GCNPacketLayout.SwiftUvotPosition.setBurstTjd(buff,0,tjd);
+				GCNPacketLayout.SwiftUvotPosition.setBurstSod(buff,0,sod);
+				GCNPacketLayout.SwiftUvotPosition.setBurstRa(buff,0,expectedRA);
+				GCNPacketLayout.SwiftUvotPosition.setBurstDec(buff,0,expectedDec);
+				GCNPacketLayout.SwiftUvotPosition.setBurstError(buff,0,error);
+				expected.setErrorBoxSize((((double)error)*60.0)/10000.0);
+				break;
+			case GCNPacketType.TYPE_SWIFT_SC_SLEW:
+				trigger = random.nextInt(0x1000000);
+				sequence = random.nextInt(0x100);
+				slewTime = burstTime+(((long)random.nextInt(12000))*10L);
+				slewTJD = (int)((slewTime-TJD_EPOCH_MILLIS)/86400000L);
+				slewSOD = (int)(((slewTime-TJD_EPOCH_MILLIS)%86400000L)/10L);
+				GCNPacketLayout.SwiftSCSlew.setTrigNum(buff,0,trigger);
+				GCNPacketLayout.SwiftSCSlew.setMesgNum(buff,0,sequence);
+				GCNPacketLayout.SwiftSCSlew.setBurstTjd(buff,0,tjd);
+				GCNPacketLayout.SwiftSCSlew.setBurstSod(buff,0,sod);
+				GCNPacketLayout.SwiftSCSlew.setNextRa(buff,0,expectedRA);
+				GCNPacketLayout.SwiftSCSlew.setNextDec(buff,0,expectedDec);
+				GCNPacketLayout.SwiftSCSlew.setSlewTjd(buff,0,slewTJD);
+				GCNPacketLayout.SwiftSCSlew.setSlewSod(buff,0,slewSOD);
+				expected.setSlewDate(new Date(slewTime));
+				break;
+			case GCNPacketType.TYPE_SUPER_AGILE_GRB_POS_WAKEUP:
+				trigger = random.nextInt(0x7FFFFFFF);
+				sequence = 0;
+				error = random.nextInt(10000); // degrees *10000
+				GCNPacketLayout.SuperAgileGRBPosWakeup.setTrigNum(buff,0,trigger);
+				GCNPacketLayout.SuperAgileGRBPosWakeup.setBurstTjd(buff,0,tjd);
+				GCNPacketLayout.SuperAgileGRBPosWakeup.setBurstSod(buff,0,sod);
+				GCNPacketLayout.SuperAgileGRBPosWakeup.setBurstRa(buff,0,expectedRA);
+				GCNPacketLayout.SuperAgileGRBPosWakeup.setBurstDec(buff,0,expectedDec);
+				GCNPacketLayout.SuperAgileGRBPosWakeup.setBurstError(buff,0,error);
+				expected.setErrorBoxSize((((double)error)*60.0)/10000.0);
+				break;
+			case GCNPacketType.TYPE_FERMI_GBM_FLT_POS:
+			case GCNPacketType.TYPE_FERMI_GBM_GND_POS:
+			case GCNPacketType.TYPE_FERMI_GBM_FIN_POS:
+				trigger = random.nextInt(0x7FFFFFFF);
+				sequence = random.nextInt(1000);
+				error = random.nextInt(200000); // degrees *10000
+				// most likely source class is a GRB, with a random probability
+				generateFermiGBM(buff,type,trigger,sequence,tjd,sod,ra,dec,error,
+						 GCNDatagramScriptStarter.FERMI_GBM_SOURCE_CLASS_GRB,random.nextInt(101));
+				expected.setErrorBoxSize((((double)error)*60.0)/10000.0);
+				break;
+			case GCNPacketType.TYPE_FERMI_LAT_GRB_POS_UPD:
+				trigger = random.nextInt(0x7FFFFFFF);
+				sequence = random.nextInt(1000);
+				error = random.nextInt(200000); // degrees *10000
+				GCNPacketLayout.FermiLATGRBPosUpd.setTrigNum(buff,0,trigger);
+				GCNPacketLayout.FermiLATGRBPosUpd.setRecordSequenceNumber(buff,0,sequence);
+				GCNPacketLayout.FermiLATGRBPosUpd.setBurstTjd(buff,0,tjd);
+				GCNPacketLayout.FermiLATGRBPosUpd.setBurstSod(buff,0,sod);
+				GCNPacketLayout.FermiLATGRBPosUpd.setBurstRa(buff,0,expectedRA);
+				GCNPacketLayout.FermiLATGRBPosUpd.setBurstDec(buff,0,expectedDec);
+				GCNPacketLayout.FermiLATGRBPosUpd.setBurstError(buff,0,error);
+				expected.setErrorBoxSize((((double)error)*60.0)/10000.0);
+				break;
+			default:
+				throw new IllegalArgumentException(this.getClass().getName()+
+								   ":generate:Cannot generate packet type:"+type);
+		}
+		expected.setTriggerNumber(trigger);
+		expected.setSequenceNumber(sequence);
+		return buff;
+	}
+
+	/**
+	 * Encode the fields of an INTEGRAL position packet, using the packet type's generated layout.
+	 * @param buff The packet buffer.
+	 * @param type The packet type, one of TYPE_INTEGRAL_WAKEUP, TYPE_INTEGRAL_REFINED or TYPE_INTEGRAL_OFFLINE.
+	 * @param trigger The trigger number.
+	 * @param sequence The message sequence number.
+	 * @param tjd The burst TJD.
+	 * @param sod The burst SOD, in centi-seconds.
+	 * @param ra The RA, in degrees *10000.
+	 * @param dec The Dec, in degrees *10000.
+	 * @param error The error radius, in arcsec.
+	 * @see GCNPacketLayout.IntegralWakeup
+	 * @see GCNPacketLayout.IntegralRefined
+	 * @see GCNPacketLayout.IntegralOffline
+	 */
+	protected void generateIntegral(byte buff[],int type,int trigger,int sequence,int tjd,int sod,int ra,
+					int dec,int error)
+	{
+		switch(type)
+		{
+			case GCNPacketType.TYPE_INTEGRAL_WAKEUP:
+				GCNPacketLayout.IntegralWakeup.setTrigNum(buff,0,trigger);
+				GCNPacketLayout.IntegralWakeup.setMesgNum(buff,0,sequence);
+				GCNPacketLayout.IntegralWakeup.setBurstTjd(buff,0,tjd);
+				GCNPacketLayout.IntegralWakeup.setBurstSod(buff,0,sod);
+				GCNPacketLayout.IntegralWakeup.setBurstRa(buff,0,((double)ra)/10000.0);
+				GCNPacketLayout.IntegralWakeup.setBurstDec(buff,0,((double)dec)/10000.0);
+				GCNPacketLayout.IntegralWakeup.setBurstError(buff,0,error);
+				break;
+			case GCNPacketType.TYPE_INTEGRAL_REFINED:
+				GCNPacketLayout.IntegralRefined.setTrigNum(buff,0,trigger);
+				GCNPacketLayout.IntegralRefined.setMesgNum(buff,0,sequence);
+				GCNPacketLayout.IntegralRefined.setBurstTjd(buff,0,tjd);
+				GCNPacketLayout.IntegralRefined.setBurstSod(buff,0,sod);
+				GCNPacketLayout.IntegralRefined.setBurstRa(buff,0,((double)ra)/10000.0);
+				GCNPacketLayout.IntegralRefined.setBurstDec(buff,0,((double)dec)/10000.0);
+				GCNPacketLayout.IntegralRefined.setBurstError(buff,0,error);
+				break;
+			case GCNPacketType.TYPE_INTEGRAL_OFFLINE:
+				GCNPacketLayout.IntegralOffline.setTrigNum(buff,0,trigger);
+				GCNPacketLayout.IntegralOffline.setMesgNum(buff,0,sequence);
+				GCNPacketLayout.IntegralOffline.setBurstTjd(buff,0,tjd);
+				GCNPacketLayout.IntegralOffline.setBurstSod(buff,0,sod);
+				GCNPacketLayout.IntegralOffline.setBurstRa(buff,0,((double)ra)/10000.0);
+				GCNPacketLayout.IntegralOffline.setBurstDec(buff,0,((double)dec)/10000.0);
+				GCNPacketLayout.IntegralOffline.setBurstError(buff,0,error);
+				break;
+		}
+	}
+
+	/**
+	 * Encode the fields of a Fermi GBM position packet, using the packet type's generated layout.
+	 * @param buff The packet buffer.
+	 * @param type The packet type, one of TYPE_FERMI_GBM_FLT_POS, TYPE_FERMI_GBM_GND_POS or
+	 *        TYPE_FERMI_GBM_FIN_POS.
+	 * @param trigger The trigger number.
+	 * @param sequence The record sequence number.
+	 * @param tjd The burst TJD.
+	 * @param sod The burst SOD, in centi-seconds.
+	 * @param ra The RA, in degrees *10000.
+	 * @param dec The Dec, in degrees *10000.
+	 * @param error The error radius, in degrees *10000.
+	 * @param sourceClass The most likely source class.
+	 * @param probability The most likely source class probability (percent).
+	 * @see GCNPacketLayout.FermiGBMFltPos
+	 * @see GCNPacketLayout.FermiGBMGndPos
+	 * @see GCNPacketLayout.FermiGBMFinPos
+	 */
+	protected void generateFermiGBM(byte buff[],int type,int trigger,int sequence,int tjd,int sod,int ra,
+					int dec,int error,int sourceClass,int probability)
+	{
+		switch(type)
+		{
+			case GCNPacketType.TYPE_FERMI_GBM_FLT_POS:
+				GCNPacketLayout.FermiGBMFltPos.setTrigNum(buff,0,trigger);
+				GCNPacketLayout.FermiGBMFltPos.setRecordSequenceNumber(buff,0,sequence);
+				GCNPacketLayout.FermiGBMFltPos.setBurstTjd(buff,0,tjd);
+				GCNPacketLayout.FermiGBMFltPos.setBurstSod(buff,0,sod);
+				GCNPacketLayout.FermiGBMFltPos.setBurstRa(buff,0,((double)ra)/10000.0);
+				GCNPacketLayout.FermiGBMFltPos.setBurstDec(buff,0,((double)dec)/10000.0);
+				GCNPacketLayout.FermiGBMFltPos.setBurstError(buff,0,error);
+				GCNPacketLayout.FermiGBMFltPos.setMostLikelyClass(buff,0,sourceClass);
+				GCNPacketLayout.FermiGBMFltPos.setMostLikelyProbability(buff,0,probability);
+				break;
+			case GCNPacketType.TYPE_FERMI_GBM_GND_POS:
+				GCNPacketLayout.FermiGBMGndPos.setTrigNum(buff,0,trigger);
+				GCNPacketLayout.FermiGBMGndPos.setRecordSequenceNumber(buff,0,sequence);
+				GCNPacketLayout.FermiGBMGndPos.setBurstTjd(buff,0,tjd);
+				GCNPacketLayout.FermiGBMGndPos.setBurstSod(buff,0,sod);
+				GCNPacketLayout.FermiGBMGndPos.setBurstRa(buff,0,((double)ra)/10000.0);
+				GCNPacketLayout.FermiGBMGndPos.setBurstDec(buff,0,((double)dec)/10000.0);
+				GCNPacketLayout.FermiGBMGndPos.setBurstError(buff,0,error);
+				GCNPacketLayout.FermiGBMGndPos.setMostLikelyClass(buff,0,sourceClass);
+				GCNPacketLayout.FermiGBMGndPos.setMostLikelyProbability(buff,0,probability);
+				break;
+			case GCNPacketType.TYPE_FERMI_GBM_FIN_POS:
+				GCNPacketLayout.FermiGBMFinPos.setTrigNum(buff,0,trigger);
+				GCNPacketLayout.FermiGBMFinPos.setRecordSequenceNumber(buff,0,sequence);
+				GCNPacketLayout.FermiGBMFinPos.setBurstTjd(buff,0,tjd);
+				GCNPacketLayout.FermiGBMFinPos.setBurstSod(buff,0,sod);
+				GCNPacketLayout.FermiGBMFinPos.setBurstRa(buff,0,((double)ra)/10000.0);
+				GCNPacketLayout.FermiGBMFinPos.setBurstDec(buff,0,((double)dec)/10000.0);
+				GCNPacketLayout.FermiGBMFinPos.setBurstError(buff,0,error);
+				GCNPacketLayout.FermiGBMFinPos.setMostLikelyClass(buff,0,sourceClass);
+				GCNPacketLayout.FermiGBMFinPos.setMostLikelyProbability(buff,0,probability);
+				break;
+		}
+	}
+
+	/**
+	 * Return the alert data a decoder should produce from the last packet generated.
+	 * The RA and Dec are not set, use getExpectedRA and getExpectedDec.
+	 * @return The expected alert data.
+	 * @see #expected
+	 */
+	public GCNDatagramAlertData getExpected()
+	{
+		return expected;
+	}
+
+	/**
+	 * Return the RA a decoder should produce from the last packet generated.
+	 * @return The RA in degrees.
+	 * @see #expectedRA
+	 */
+	public double getExpectedRA()
+	{
+		return expectedRA;
+	}
+
+	/**
+	 * Return the Dec a decoder should produce from the last packet generated.
+	 * @return The Dec in degrees.
+	 * @see #expectedDec
+	 */
+	public double getExpectedDec()
+	{
+		return expectedDec;
+	}
+
+	/**
+	 * Return the alert type a decoder sets for a generated packet type.
+	 * @param type The packet type.
+	 * @return The alert type, or 0 if the packet type does not set one.
+	 * @see GCNDatagramAlertData#ALERT_TYPE_SWIFT
+	 */
+	public static int getAlertType(int type)
+	{
+		switch(type)
+		{
+			case GCNPacketType.TYPE_INTEGRAL_WAKEUP:
+			case GCNPacketType.TYPE_INTEGRAL_REFINED:
+			case GCNPacketType.TYPE_INTEGRAL_OFFLINE:
+				return GCNDatagramAlertData.ALERT_TYPE_INTEGRAL;
+			case GCNPacketType.TYPE_SWIFT_BAT_GRB_POSITION:
+			case GCNPacketType.TYPE_SWIFT_XRT_POSITION:
+			case GCNPacketType.TYPE_SWIFT_UVOT_POSITION:
+				return GCNDatagramAlertData.ALERT_TYPE_SWIFT;
+			case GCNPacketType.TYPE_SUPER_AGILE_GRB_POS_WAKEUP:
+				return GCNDatagramAlertData.ALERT_TYPE_AGILE;
+			case GCNPacketType.TYPE_FERMI_GBM_FLT_POS:
+			case GCNPacketType.TYPE_FERMI_GBM_GND_POS:
+			case GCNPacketType.TYPE_FERMI_GBM_FIN_POS:
+			case GCNPacketType.TYPE_FERMI_LAT_GRB_POS_UPD:
+				return GCNDatagramAlertData.ALERT_TYPE_FERMI;
+			default:
+				return 0;
+		}
+	}
+
+	/**
+	 * Convert packet words into a (big endian) packet buffer.
+	 * @param word The words.
+	 * @return A new buffer, 4 bytes per word.
+	 */
+	public static byte[] toBytes(int word[])
+	{
+		byte buff[] = null;
+
+		buff = new byte[word.length*4];
+		for(int i = 0; i < word.length; i++)
+		{
+			buff[(i*4)] = (byte)(word[i] >>> 24);
+			buff[(i*4)+1] = (byte)(word[i] >>> 16);
+			buff[(i*4)+2] = (byte)(word[i] >>> 8);
+			buff[(i*4)+3] = (byte)(word[i]);
+		}
+		return buff;
+	}
+}
+//
+// $Log: not supported by cvs2svn $
+//
@@ -0,0 +1,7230 @@
+// GCNPacketLayout.java
+// Generated by GCNPacketLayoutGenerator from the packet layout files, do not edit.
+package org.estar.gcn;
+
+import java.lang.*;
+
+/**
+ * Packet field decoder and encoder, generated by GCNPacketLayoutGenerator from the packet layout
+ * files. There is a nested class per packet type, with a static get and set method per field,
+ * reading and writing the field directly in the packet buffer. The fields common to all packets
+ * (the header and terminator) are in this class.
+ * @author Chris Mottram
+ * @version $Revision$
+ * @see GCNPacketLayoutGenerator
+ */
+public class GCNPacketLayout
+{
+// constants
+	/**
+	 * Revision control system version id.
+	 */
+	public final static String RCSID = "$Id$";
+	/**
+	 * The length of a packet, in bytes.
+	 */
+	public final static int PACKET_LENGTH = 160;
+	/**
+	 * The terminator word value (the bytes 0x00 0x00 0x00 '\n').
+	 */
+	public final static int TERMINATOR = 0x0000000A;
+	/**
+	 * The packet types with a layout.
+	 */
+	public final static int TYPE_LIST[] = {41,43,53,54,55,61,66,67,81,100,111,112,115,121,127};
+	/**
+	 * The index of the word containing pkt_type.
+	 */
+	public final static int WORD_PKT_TYPE = 0;
+	/**
+	 * The index of the word containing pkt_sernum.
+	 */
+	public final static int WORD_PKT_SERNUM = 1;
+	/**
+	 * The index of the word containing pkt_hop_cnt.
+	 */
+	public final static int WORD_PKT_HOP_CNT = 2;
+	/**
+	 * The index of the word containing pkt_sod.
+	 */
+	public final static int WORD_PKT_SOD = 3;
+	/**
+	 * The index of the word containing term.
+	 */
+	public final static int WORD_TERM = 39;
+
+	/**
+	 * Return pkt_type (word 0). Packet type.
+	 * @param buff The buffer containing the packet.
+	 * @param offset The offset of the packet in the buffer.
+	 * @return The value.
+	 */
+	public static int getPktType(byte buff[],int offset)
+	{
+		return GCNPacketLayout.getWord(buff,offset);
+	}
+
+	/**
+	 * Set pkt_type (word 0). Packet type.
+	 * @param buff The buffer containing the packet.
+	 * @param offset The offset of the packet in the buffer.
+	 * @param value The value.
+	 */
+	public static void setPktType(byte buff[],int offset,int value)
+	{
+		GCNPacketLayout.setWord(buff,offset,value);
+	}
+
+	/**
+	 * Return pkt_sernum (word 1). Packet serial number.
+	 * @param buff The buffer containing the packet.
+	 * @param offset The offset of the packet in the buffer.
+	 * @return The value.
+	 */
+	public static int getPktSernum(byte buff[],int offset)
+	{
+		return GCNPacketLayout.getWord(buff,offset+4);
+	}
+
+	/**
+	 * Set pkt_sernum (word 1). Packet serial number.
+	 * @param buff The buffer containing the packet.
+	 * @param offset The offset of the packet in the buffer.
+	 * @param value The value.
+	 */
+	public static void setPktSernum(byte buff[],int offset,int value)
+	{
+		GCNPacketLayout.setWord(buff,offset+4,value);
+	}
+
+	/**
+	 * Return pkt_hop_cnt (word 2). Packet hop count.
+	 * @param buff The buffer containing the packet.
+	 * @param offset The offset of the packet in the buffer.
+	 * @return The value.
+	 */
+	public static int getPktHopCnt(byte buff[],int offset)
+	{
+		return GCNPacketLayout.getWord(buff,offset+8);
+	}
+
+	/**
+	 * Set pkt_hop_cnt (word 2). Packet hop count.
+	 * @param buff The buffer containing the packet.
+	 * @param offset The offset of the packet in the buffer.
+	 * @param value The value.
+	 */
+	public static void setPktHopCnt(byte buff[],int offset,int value)
+	{
+		GCNPacketLayout.setWord(buff,offset+8,value);
+	}
+
+	/**
+	 * Return pkt_sod (word 3). Packet SOD (centi-seconds in the day).
+	 * @param buff The buffer containing the packet.
+	 * @param offset The offset of the packet in the buffer.
+	 * @return The value.
+	 */
+	public static int getPktSod(byte buff[],int offset)
+	{
+		return GCNPacketLayout.getWord(buff,offset+12);
+	}
+
+	/**
+	 * Set pkt_sod (word 3). Packet SOD (centi-seconds in the day).
+	 * @param buff The buffer containing the packet.
+	 * @param offset The offset of the packet in the buffer.
+	 * @param value The value.
+	 */
+	public static void setPktSod(byte buff[],int offset,int value)
+	{
+		GCNPacketLayout.setWord(buff,offset+12,value);
+	}
+
+	/**
+	 * Return term (word 39). Terminator.
+	 * @param buff The buffer containing the packet.
+	 * @param offset The offset of the packet in the buffer.
+	 * @return The value.
+	 */
+	public static int getTerm(byte buff[],int offset)
+	{
+		return GCNPacketLayout.getWord(buff,offset+156);
+	}
+
+	/**
+	 * Set term (word 39). Terminator.
+	 * @param buff The buffer containing the packet.
+	 * @param offset The offset of the packet in the buffer.
+	 * @param value The value.
+	 */
+	public static void setTerm(byte buff[],int offset,int value)
+	{
+		GCNPacketLayout.setWord(buff,offset+156,value);
+	}
+
+	/**
+	 * Clear a packet, and set it's type and terminator.
+	 * @param buff The buffer containing the packet.
+	 * @param offset The offset of the packet in the buffer.
+	 * @param type The packet type.
+	 */
+	public static void init(byte buff[],int offset,int type)
+	{
+		for(int i = 0; i < PACKET_LENGTH; i++)
+			buff[offset+i] = 0;
+		setPktType(buff,offset,type);
+		setTerm(buff,offset,TERMINATOR);
+	}
+
+	/**
+	 * Return a (big endian, 4 byte) word of a packet buffer.
+	 * @param buff The buffer.
+	 * @param index The index of the first byte of the word in the buffer.
+	 * @return The word.
+	 */
+	public static int getWord(byte buff[],int index)
+	{
+		return ((buff[index] & 0xFF) << 24)|((buff[index+1] & 0xFF) << 16)|((buff[index+2] & 0xFF) << 8)|
+			(buff[index+3] & 0xFF);
+	}
+
+	/**
+	 * Set a (big endian, 4 byte) word of a packet buffer.
+	 * @param buff The buffer.
+	 * @param index The index of the first byte of the word in the buffer.
+	 * @param value The word.
+	 */
+	public static void setWord(byte buff[],int index,int value)
+	{
+		buff[index] = (byte)(value >>> 24);
+		buff[index+1] = (byte)(value >>> 16);
+		buff[index+2] = (byte)(value >>> 8);
+		buff[index+3] = (byte)value;
+	}
+
+	/**
+	 * HETE-2 update of a burst position.
+	 * Packet type 41, generated from hete_update.layout.
+	 */
+	public static class HeteUpdate
+	{
+		/**
+		 * The packet type.
+		 */
+		public final static int TYPE = 41;
+		/**
+		 * The index of the word containing trig_num.
+		 */
+		public final static int WORD_TRIG_NUM = 4;
+		/**
+		 * The index of the word containing mesg_num.
+		 */
+		public final static int WORD_MESG_NUM = 4;
+		/**
+		 * The index of the word containing burst_tjd.
+		 */
+		public final static int WORD_BURST_TJD = 5;
+		/**
+		 * The index of the word containing burst_sod.
+		 */
+		public final static int WORD_BURST_SOD = 6;
+		/**
+		 * The index of the word containing burst_ra.
+		 */
+		public final static int WORD_BURST_RA = 7;
+		/**
+		 * The index of the word containing burst_dec.
+		 */
+		public final static int WORD_BURST_DEC = 8;
+		/**
+		 * The index of the word containing trig_flags.
+		 */
+		public final static int WORD_TRIG_FLAGS = 9;
+		/**
+		 * The index of the word containing gamma_cnts.
+		 */
+		public final static int WORD_GAMMA_CNTS = 10;
+		/**
+		 * The index of the word containing wxm_cnts.
+		 */
+		public final static int WORD_WXM_CNTS = 11;
+		/**
+		 * The index of the word containing sxc_cnts.
+		 */
+		public final static int WORD_SXC_CNTS = 12;
+		/**
+		 * The index of the word containing gamma_time.
+		 */
+		public final static int WORD_GAMMA_TIME = 13;
+		/**
+		 * The index of the word containing wxm_time.
+		 */
+		public final static int WORD_WXM_TIME = 14;
+		/**
+		 * The index of the word containing sc_point.
+		 */
+		public final static int WORD_SC_POINT = 15;
+		/**
+		 * The index of the word containing wxm_ra1.
+		 */
+		public final static int WORD_WXM_RA1 = 16;
+		/**
+		 * The index of the word containing wxm_dec1.
+		 */
+		public final static int WORD_WXM_DEC1 = 17;
+		/**
+		 * The index of the word containing wxm_ra2.
+		 */
+		public final static int WORD_WXM_RA2 = 18;
+		/**
+		 * The index of the word containing wxm_dec2.
+		 */
+		public final static int WORD_WXM_DEC2 = 19;
+		/**
+		 * The index of the word containing wxm_ra3.
+		 */
+		public final static int WORD_WXM_RA3 = 20;
+		/**
+		 * The index of the word containing wxm_dec3.
+		 */
+		public final static int WORD_WXM_DEC3 = 21;
+		/**
+		 * The index of the word containing wxm_ra4.
+		 */
+		public final static int WORD_WXM_RA4 = 22;
+		/**
+		 * The index of the word containing wxm_dec4.
+		 */
+		public final static int WORD_WXM_DEC4 = 23;
+		/**
+		 * The index of the word containing wxm_errors.
+		 */
+		public final static int WORD_WXM_ERRORS = 24;
+		/**
+		 * The index of the word containing wxm_dim_sig.
+		 */
+		public final static int WORD_WXM_DIM_SIG = 25;
+		/**
+		 * The index of the word containing sxc_ra1.
+		 */
+		public final static int WORD_SXC_RA1 = 26;
+		/**
+		 * The index of the word containing sxc_dec1.
+		 */
+		public final static int WORD_SXC_DEC1 = 27;
+		/**
+		 * The index of the word containing sxc_ra2.
+		 */
+		public final static int WORD_SXC_RA2 = 28;
+		/**
+		 * The index of the word containing sxc_dec2.
+		 */
+		public final static int WORD_SXC_DEC2 = 29;
+		/**
+		 * The index of the word containing sxc_ra3.
+		 */
+		public final static int WORD_SXC_RA3 = 30;
+		/**
+		 * The index of the word containing sxc_dec3.
+		 */
+		public final static int WORD_SXC_DEC3 = 31;
+		/**
+		 * The index of the word containing sxc_ra4.
+		 */
+		public final static int WORD_SXC_RA4 = 32;
+		/**
+		 * The index of the word containing sxc_dec4.
+		 */
+		public final static int WORD_SXC_DEC4 = 33;
+		/**
+		 * The index of the word containing sxc_errors.
+		 */
+		public final static int WORD_SXC_ERRORS = 34;
+		/**
+		 * The index of the word containing sxc_dim_sig.
+		 */
+		public final static int WORD_SXC_DIM_SIG = 35;
+		/**
+		 * The index of the word containing pos_flags.
+		 */
+		public final static int WORD_POS_FLAGS = 36;
+		/**
+		 * The index of the word containing validity.
+		 */
+		public final static int WORD_VALIDITY = 37;
+
+		/**
+		 * Return trig_num (word 4 bits 0..15). Trigger number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getTrigNum(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+16) & 0xFFFF;
+		}
+
+		/**
+		 * Set trig_num (word 4 bits 0..15). Trigger number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setTrigNum(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+16,(GCNPacketLayout.getWord(buff,offset+16) & 0xFFFF0000)|
+				(value & 0xFFFF));
+		}
+
+		/**
+		 * Return mesg_num (word 4 bits 16..31). Message sequence number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getMesgNum(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+16) >>> 16;
+		}
+
+		/**
+		 * Set mesg_num (word 4 bits 16..31). Message sequence number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setMesgNum(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+16,(GCNPacketLayout.getWord(buff,offset+16) & 0xFFFF)|
+				((value & 0xFFFF) << 16));
+		}
+
+		/**
+		 * Return burst_tjd (word 5). Burst TJD.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstTjd(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+20);
+		}
+
+		/**
+		 * Set burst_tjd (word 5). Burst TJD.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstTjd(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+20,value);
+		}
+
+		/**
+		 * Return burst_sod (word 6). Burst SOD (centi-seconds in the day).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstSod(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+24);
+		}
+
+		/**
+		 * Set burst_sod (word 6). Burst SOD (centi-seconds in the day).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstSod(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+24,value);
+		}
+
+		/**
+		 * Return burst_ra (word 7). Burst RA (0..359.9999) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getBurstRa(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+28))/10000.0;
+		}
+
+		/**
+		 * Set burst_ra (word 7). Burst RA (0..359.9999) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstRa(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+28,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return burst_dec (word 8). Burst Dec (-90..90) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getBurstDec(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+32))/10000.0;
+		}
+
+		/**
+		 * Set burst_dec (word 8). Burst Dec (-90..90) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstDec(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+32,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return trig_flags (word 9). Trigger flags.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getTrigFlags(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+36);
+		}
+
+		/**
+		 * Set trig_flags (word 9). Trigger flags.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setTrigFlags(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+36,value);
+		}
+
+		/**
+		 * Return gamma_cnts (word 10). Gamma counts.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getGammaCnts(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+40);
+		}
+
+		/**
+		 * Set gamma_cnts (word 10). Gamma counts.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setGammaCnts(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+40,value);
+		}
+
+		/**
+		 * Return wxm_cnts (word 11). WXM counts.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getWxmCnts(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+44);
+		}
+
+		/**
+		 * Set wxm_cnts (word 11). WXM counts.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setWxmCnts(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+44,value);
+		}
+
+		/**
+		 * Return sxc_cnts (word 12). SXC counts.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getSxcCnts(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+48);
+		}
+
+		/**
+		 * Set sxc_cnts (word 12). SXC counts.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setSxcCnts(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+48,value);
+		}
+
+		/**
+		 * Return gamma_time (word 13). Gamma time.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getGammaTime(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+52);
+		}
+
+		/**
+		 * Set gamma_time (word 13). Gamma time.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setGammaTime(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+52,value);
+		}
+
+		/**
+		 * Return wxm_time (word 14). WXM time.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getWxmTime(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+56);
+		}
+
+		/**
+		 * Set wxm_time (word 14). WXM time.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setWxmTime(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+56,value);
+		}
+
+		/**
+		 * Return sc_point (word 15). Spacecraft pointing.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getScPoint(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+60);
+		}
+
+		/**
+		 * Set sc_point (word 15). Spacecraft pointing.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setScPoint(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+60,value);
+		}
+
+		/**
+		 * Return wxm_ra1 (word 16). WXM error box corner 1 RA degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getWxmRa1(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+64))/10000.0;
+		}
+
+		/**
+		 * Set wxm_ra1 (word 16). WXM error box corner 1 RA degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setWxmRa1(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+64,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return wxm_dec1 (word 17). WXM error box corner 1 Dec degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getWxmDec1(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+68))/10000.0;
+		}
+
+		/**
+		 * Set wxm_dec1 (word 17). WXM error box corner 1 Dec degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setWxmDec1(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+68,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return wxm_ra2 (word 18). WXM error box corner 2 RA degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getWxmRa2(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+72))/10000.0;
+		}
+
+		/**
+		 * Set wxm_ra2 (word 18). WXM error box corner 2 RA degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setWxmRa2(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+72,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return wxm_dec2 (word 19). WXM error box corner 2 Dec degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getWxmDec2(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+76))/10000.0;
+		}
+
+		/**
+		 * Set wxm_dec2 (word 19). WXM error box corner 2 Dec degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setWxmDec2(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+76,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return wxm_ra3 (word 20). WXM error box corner 3 RA degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getWxmRa3(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+80))/10000.0;
+		}
+
+		/**
+		 * Set wxm_ra3 (word 20). WXM error box corner 3 RA degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setWxmRa3(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+80,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return wxm_dec3 (word 21). WXM error box corner 3 Dec degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getWxmDec3(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+84))/10000.0;
+		}
+
+		/**
+		 * Set wxm_dec3 (word 21). WXM error box corner 3 Dec degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setWxmDec3(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+84,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return wxm_ra4 (word 22). WXM error box corner 4 RA degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getWxmRa4(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+88))/10000.0;
+		}
+
+		/**
+		 * Set wxm_ra4 (word 22). WXM error box corner 4 RA degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setWxmRa4(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+88,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return wxm_dec4 (word 23). WXM error box corner 4 Dec degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getWxmDec4(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+92))/10000.0;
+		}
+
+		/**
+		 * Set wxm_dec4 (word 23). WXM error box corner 4 Dec degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setWxmDec4(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+92,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return wxm_errors (word 24). WXM errors (bitfield), systematic and statistical.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getWxmErrors(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+96);
+		}
+
+		/**
+		 * Set wxm_errors (word 24). WXM errors (bitfield), systematic and statistical.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setWxmErrors(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+96,value);
+		}
+
+		/**
+		 * Return wxm_dim_sig (word 25). WXM packed numbers.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getWxmDimSig(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+100);
+		}
+
+		/**
+		 * Set wxm_dim_sig (word 25). WXM packed numbers.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setWxmDimSig(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+100,value);
+		}
+
+		/**
+		 * Return sxc_ra1 (word 26). SXC error box corner 1 RA degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getSxcRa1(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+104))/10000.0;
+		}
+
+		/**
+		 * Set sxc_ra1 (word 26). SXC error box corner 1 RA degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setSxcRa1(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+104,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return sxc_dec1 (word 27). SXC error box corner 1 Dec degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getSxcDec1(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+108))/10000.0;
+		}
+
+		/**
+		 * Set sxc_dec1 (word 27). SXC error box corner 1 Dec degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setSxcDec1(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+108,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return sxc_ra2 (word 28). SXC error box corner 2 RA degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getSxcRa2(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+112))/10000.0;
+		}
+
+		/**
+		 * Set sxc_ra2 (word 28). SXC error box corner 2 RA degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setSxcRa2(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+112,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return sxc_dec2 (word 29). SXC error box corner 2 Dec degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getSxcDec2(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+116))/10000.0;
+		}
+
+		/**
+		 * Set sxc_dec2 (word 29). SXC error box corner 2 Dec degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setSxcDec2(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+116,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return sxc_ra3 (word 30). SXC error box corner 3 RA degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getSxcRa3(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+120))/10000.0;
+		}
+
+		/**
+		 * Set sxc_ra3 (word 30). SXC error box corner 3 RA degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setSxcRa3(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+120,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return sxc_dec3 (word 31). SXC error box corner 3 Dec degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getSxcDec3(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+124))/10000.0;
+		}
+
+		/**
+		 * Set sxc_dec3 (word 31). SXC error box corner 3 Dec degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setSxcDec3(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+124,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return sxc_ra4 (word 32). SXC error box corner 4 RA degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getSxcRa4(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+128))/10000.0;
+		}
+
+		/**
+		 * Set sxc_ra4 (word 32). SXC error box corner 4 RA degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setSxcRa4(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+128,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return sxc_dec4 (word 33). SXC error box corner 4 Dec degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getSxcDec4(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+132))/10000.0;
+		}
+
+		/**
+		 * Set sxc_dec4 (word 33). SXC error box corner 4 Dec degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setSxcDec4(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+132,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return sxc_errors (word 34). SXC errors (bitfield), systematic and statistical.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getSxcErrors(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+136);
+		}
+
+		/**
+		 * Set sxc_errors (word 34). SXC errors (bitfield), systematic and statistical.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setSxcErrors(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+136,value);
+		}
+
+		/**
+		 * Return sxc_dim_sig (word 35). SXC packed numbers.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getSxcDimSig(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+140);
+		}
+
+		/**
+		 * Set sxc_dim_sig (word 35). SXC packed numbers.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setSxcDimSig(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+140,value);
+		}
+
+		/**
+		 * Return pos_flags (word 36). Position flags.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getPosFlags(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+144);
+		}
+
+		/**
+		 * Set pos_flags (word 36). Position flags.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setPosFlags(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+144,value);
+		}
+
+		/**
+		 * Return validity (word 37). Validity flags.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getValidity(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+148);
+		}
+
+		/**
+		 * Set validity (word 37). Validity flags.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setValidity(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+148,value);
+		}
+
+		/**
+		 * Clear a packet, and set it's type (TYPE) and terminator.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 */
+		public static void init(byte buff[],int offset)
+		{
+			GCNPacketLayout.init(buff,offset,TYPE);
+		}
+	}
+
+	/**
+	 * HETE-2 ground analysis of a burst position.
+	 * Packet type 43, generated from hete_gndana.layout.
+	 */
+	public static class HeteGroundAnalysis
+	{
+		/**
+		 * The packet type.
+		 */
+		public final static int TYPE = 43;
+		/**
+		 * The index of the word containing trig_num.
+		 */
+		public final static int WORD_TRIG_NUM = 4;
+		/**
+		 * The index of the word containing mesg_num.
+		 */
+		public final static int WORD_MESG_NUM = 4;
+		/**
+		 * The index of the word containing burst_tjd.
+		 */
+		public final static int WORD_BURST_TJD = 5;
+		/**
+		 * The index of the word containing burst_sod.
+		 */
+		public final static int WORD_BURST_SOD = 6;
+		/**
+		 * The index of the word containing burst_ra.
+		 */
+		public final static int WORD_BURST_RA = 7;
+		/**
+		 * The index of the word containing burst_dec.
+		 */
+		public final static int WORD_BURST_DEC = 8;
+		/**
+		 * The index of the word containing trig_flags.
+		 */
+		public final static int WORD_TRIG_FLAGS = 9;
+		/**
+		 * The index of the word containing gamma_cnts.
+		 */
+		public final static int WORD_GAMMA_CNTS = 10;
+		/**
+		 * The index of the word containing wxm_cnts.
+		 */
+		public final static int WORD_WXM_CNTS = 11;
+		/**
+		 * The index of the word containing sxc_cnts.
+		 */
+		public final static int WORD_SXC_CNTS = 12;
+		/**
+		 * The index of the word containing gamma_time.
+		 */
+		public final static int WORD_GAMMA_TIME = 13;
+		/**
+		 * The index of the word containing wxm_time.
+		 */
+		public final static int WORD_WXM_TIME = 14;
+		/**
+		 * The index of the word containing sc_point.
+		 */
+		public final static int WORD_SC_POINT = 15;
+		/**
+		 * The index of the word containing wxm_ra1.
+		 */
+		public final static int WORD_WXM_RA1 = 16;
+		/**
+		 * The index of the word containing wxm_dec1.
+		 */
+		public final static int WORD_WXM_DEC1 = 17;
+		/**
+		 * The index of the word containing wxm_ra2.
+		 */
+		public final static int WORD_WXM_RA2 = 18;
+		/**
+		 * The index of the word containing wxm_dec2.
+		 */
+		public final static int WORD_WXM_DEC2 = 19;
+		/**
+		 * The index of the word containing wxm_ra3.
+		 */
+		public final static int WORD_WXM_RA3 = 20;
+		/**
+		 * The index of the word containing wxm_dec3.
+		 */
+		public final static int WORD_WXM_DEC3 = 21;
+		/**
+		 * The index of the word containing wxm_ra4.
+		 */
+		public final static int WORD_WXM_RA4 = 22;
+		/**
+		 * The index of the word containing wxm_dec4.
+		 */
+		public final static int WORD_WXM_DEC4 = 23;
+		/**
+		 * The index of the word containing wxm_errors.
+		 */
+		public final static int WORD_WXM_ERRORS = 24;
+		/**
+		 * The index of the word containing wxm_dim_sig.
+		 */
+		public final static int WORD_WXM_DIM_SIG = 25;
+		/**
+		 * The index of the word containing sxc_ra1.
+		 */
+		public final static int WORD_SXC_RA1 = 26;
+		/**
+		 * The index of the word containing sxc_dec1.
+		 */
+		public final static int WORD_SXC_DEC1 = 27;
+		/**
+		 * The index of the word containing sxc_ra2.
+		 */
+		public final static int WORD_SXC_RA2 = 28;
+		/**
+		 * The index of the word containing sxc_dec2.
+		 */
+		public final static int WORD_SXC_DEC2 = 29;
+		/**
+		 * The index of the word containing sxc_ra3.
+		 */
+		public final static int WORD_SXC_RA3 = 30;
+		/**
+		 * The index of the word containing sxc_dec3.
+		 */
+		public final static int WORD_SXC_DEC3 = 31;
+		/**
+		 * The index of the word containing sxc_ra4.
+		 */
+		public final static int WORD_SXC_RA4 = 32;
+		/**
+		 * The index of the word containing sxc_dec4.
+		 */
+		public final static int WORD_SXC_DEC4 = 33;
+		/**
+		 * The index of the word containing sxc_errors.
+		 */
+		public final static int WORD_SXC_ERRORS = 34;
+		/**
+		 * The index of the word containing sxc_dim_sig.
+		 */
+		public final static int WORD_SXC_DIM_SIG = 35;
+		/**
+		 * The index of the word containing pos_flags.
+		 */
+		public final static int WORD_POS_FLAGS = 36;
+		/**
+		 * The index of the word containing validity.
+		 */
+		public final static int WORD_VALIDITY = 37;
+
+		/**
+		 * Return trig_num (word 4 bits 0..15). Trigger number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getTrigNum(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+16) & 0xFFFF;
+		}
+
+		/**
+		 * Set trig_num (word 4 bits 0..15). Trigger number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setTrigNum(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+16,(GCNPacketLayout.getWord(buff,offset+16) & 0xFFFF0000)|
+				(value & 0xFFFF));
+		}
+
+		/**
+		 * Return mesg_num (word 4 bits 16..31). Message sequence number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getMesgNum(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+16) >>> 16;
+		}
+
+		/**
+		 * Set mesg_num (word 4 bits 16..31). Message sequence number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setMesgNum(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+16,(GCNPacketLayout.getWord(buff,offset+16) & 0xFFFF)|
+				((value & 0xFFFF) << 16));
+		}
+
+		/**
+		 * Return burst_tjd (word 5). Burst TJD.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstTjd(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+20);
+		}
+
+		/**
+		 * Set burst_tjd (word 5). Burst TJD.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstTjd(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+20,value);
+		}
+
+		/**
+		 * Return burst_sod (word 6). Burst SOD (centi-seconds in the day).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstSod(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+24);
+		}
+
+		/**
+		 * Set burst_sod (word 6). Burst SOD (centi-seconds in the day).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstSod(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+24,value);
+		}
+
+		/**
+		 * Return burst_ra (word 7). Burst RA (0..359.9999) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getBurstRa(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+28))/10000.0;
+		}
+
+		/**
+		 * Set burst_ra (word 7). Burst RA (0..359.9999) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstRa(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+28,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return burst_dec (word 8). Burst Dec (-90..90) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getBurstDec(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+32))/10000.0;
+		}
+
+		/**
+		 * Set burst_dec (word 8). Burst Dec (-90..90) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstDec(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+32,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return trig_flags (word 9). Trigger flags.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getTrigFlags(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+36);
+		}
+
+		/**
+		 * Set trig_flags (word 9). Trigger flags.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setTrigFlags(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+36,value);
+		}
+
+		/**
+		 * Return gamma_cnts (word 10). Gamma counts.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getGammaCnts(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+40);
+		}
+
+		/**
+		 * Set gamma_cnts (word 10). Gamma counts.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setGammaCnts(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+40,value);
+		}
+
+		/**
+		 * Return wxm_cnts (word 11). WXM counts.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getWxmCnts(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+44);
+		}
+
+		/**
+		 * Set wxm_cnts (word 11). WXM counts.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setWxmCnts(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+44,value);
+		}
+
+		/**
+		 * Return sxc_cnts (word 12). SXC counts.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getSxcCnts(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+48);
+		}
+
+		/**
+		 * Set sxc_cnts (word 12). SXC counts.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setSxcCnts(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+48,value);
+		}
+
+		/**
+		 * Return gamma_time (word 13). Gamma time.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getGammaTime(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+52);
+		}
+
+		/**
+		 * Set gamma_time (word 13). Gamma time.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setGammaTime(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+52,value);
+		}
+
+		/**
+		 * Return wxm_time (word 14). WXM time.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getWxmTime(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+56);
+		}
+
+		/**
+		 * Set wxm_time (word 14). WXM time.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setWxmTime(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+56,value);
+		}
+
+		/**
+		 * Return sc_point (word 15). Spacecraft pointing.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getScPoint(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+60);
+		}
+
+		/**
+		 * Set sc_point (word 15). Spacecraft pointing.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setScPoint(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+60,value);
+		}
+
+		/**
+		 * Return wxm_ra1 (word 16). WXM error box corner 1 RA degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getWxmRa1(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+64))/10000.0;
+		}
+
+		/**
+		 * Set wxm_ra1 (word 16). WXM error box corner 1 RA degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setWxmRa1(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+64,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return wxm_dec1 (word 17). WXM error box corner 1 Dec degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getWxmDec1(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+68))/10000.0;
+		}
+
+		/**
+		 * Set wxm_dec1 (word 17). WXM error box corner 1 Dec degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setWxmDec1(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+68,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return wxm_ra2 (word 18). WXM error box corner 2 RA degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getWxmRa2(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+72))/10000.0;
+		}
+
+		/**
+		 * Set wxm_ra2 (word 18). WXM error box corner 2 RA degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setWxmRa2(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+72,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return wxm_dec2 (word 19). WXM error box corner 2 Dec degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getWxmDec2(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+76))/10000.0;
+		}
+
+		/**
+		 * Set wxm_dec2 (word 19). WXM error box corner 2 Dec degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setWxmDec2(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+76,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return wxm_ra3 (word 20). WXM error box corner 3 RA degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getWxmRa3(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+80))/10000.0;
+		}
+
+		/**
+		 * Set wxm_ra3 (word 20). WXM error box corner 3 RA degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setWxmRa3(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+80,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return wxm_dec3 (word 21). WXM error box corner 3 Dec degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getWxmDec3(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+84))/10000.0;
+		}
+
+		/**
+		 * Set wxm_dec3 (word 21). WXM error box corner 3 Dec degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setWxmDec3(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+84,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return wxm_ra4 (word 22). WXM error box corner 4 RA degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getWxmRa4(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+88))/10000.0;
+		}
+
+		/**
+		 * Set wxm_ra4 (word 22). WXM error box corner 4 RA degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setWxmRa4(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+88,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return wxm_dec4 (word 23). WXM error box corner 4 Dec degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getWxmDec4(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+92))/10000.0;
+		}
+
+		/**
+		 * Set wxm_dec4 (word 23). WXM error box corner 4 Dec degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setWxmDec4(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+92,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return wxm_errors (word 24). WXM errors (bitfield), systematic and statistical.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getWxmErrors(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+96);
+		}
+
+		/**
+		 * Set wxm_errors (word 24). WXM errors (bitfield), systematic and statistical.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setWxmErrors(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+96,value);
+		}
+
+		/**
+		 * Return wxm_dim_sig (word 25). WXM packed numbers.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getWxmDimSig(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+100);
+		}
+
+		/**
+		 * Set wxm_dim_sig (word 25). WXM packed numbers.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setWxmDimSig(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+100,value);
+		}
+
+		/**
+		 * Return sxc_ra1 (word 26). SXC error box corner 1 RA degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getSxcRa1(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+104))/10000.0;
+		}
+
+		/**
+		 * Set sxc_ra1 (word 26). SXC error box corner 1 RA degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setSxcRa1(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+104,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return sxc_dec1 (word 27). SXC error box corner 1 Dec degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getSxcDec1(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+108))/10000.0;
+		}
+
+		/**
+		 * Set sxc_dec1 (word 27). SXC error box corner 1 Dec degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setSxcDec1(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+108,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return sxc_ra2 (word 28). SXC error box corner 2 RA degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getSxcRa2(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+112))/10000.0;
+		}
+
+		/**
+		 * Set sxc_ra2 (word 28). SXC error box corner 2 RA degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setSxcRa2(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+112,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return sxc_dec2 (word 29). SXC error box corner 2 Dec degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getSxcDec2(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+116))/10000.0;
+		}
+
+		/**
+		 * Set sxc_dec2 (word 29). SXC error box corner 2 Dec degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setSxcDec2(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+116,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return sxc_ra3 (word 30). SXC error box corner 3 RA degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getSxcRa3(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+120))/10000.0;
+		}
+
+		/**
+		 * Set sxc_ra3 (word 30). SXC error box corner 3 RA degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setSxcRa3(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+120,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return sxc_dec3 (word 31). SXC error box corner 3 Dec degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getSxcDec3(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+124))/10000.0;
+		}
+
+		/**
+		 * Set sxc_dec3 (word 31). SXC error box corner 3 Dec degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setSxcDec3(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+124,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return sxc_ra4 (word 32). SXC error box corner 4 RA degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getSxcRa4(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+128))/10000.0;
+		}
+
+		/**
+		 * Set sxc_ra4 (word 32). SXC error box corner 4 RA degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setSxcRa4(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+128,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return sxc_dec4 (word 33). SXC error box corner 4 Dec degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getSxcDec4(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+132))/10000.0;
+		}
+
+		/**
+		 * Set sxc_dec4 (word 33). SXC error box corner 4 Dec degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setSxcDec4(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+132,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return sxc_errors (word 34). SXC errors (bitfield), systematic and statistical.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getSxcErrors(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+136);
+		}
+
+		/**
+		 * Set sxc_errors (word 34). SXC errors (bitfield), systematic and statistical.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setSxcErrors(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+136,value);
+		}
+
+		/**
+		 * Return sxc_dim_sig (word 35). SXC packed numbers.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getSxcDimSig(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+140);
+		}
+
+		/**
+		 * Set sxc_dim_sig (word 35). SXC packed numbers.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setSxcDimSig(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+140,value);
+		}
+
+		/**
+		 * Return pos_flags (word 36). Position flags.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getPosFlags(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+144);
+		}
+
+		/**
+		 * Set pos_flags (word 36). Position flags.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setPosFlags(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+144,value);
+		}
+
+		/**
+		 * Return validity (word 37). Validity flags.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getValidity(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+148);
+		}
+
+		/**
+		 * Set validity (word 37). Validity flags.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setValidity(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+148,value);
+		}
+
+		/**
+		 * Clear a packet, and set it's type (TYPE) and terminator.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 */
+		public static void init(byte buff[],int offset)
+		{
+			GCNPacketLayout.init(buff,offset,TYPE);
+		}
+	}
+
+	/**
+	 * INTEGRAL wakeup burst position.
+	 * Packet type 53, generated from integral_wakeup.layout.
+	 */
+	public static class IntegralWakeup
+	{
+		/**
+		 * The packet type.
+		 */
+		public final static int TYPE = 53;
+		/**
+		 * The index of the word containing trig_num.
+		 */
+		public final static int WORD_TRIG_NUM = 4;
+		/**
+		 * The index of the word containing mesg_num.
+		 */
+		public final static int WORD_MESG_NUM = 4;
+		/**
+		 * The index of the word containing burst_tjd.
+		 */
+		public final static int WORD_BURST_TJD = 5;
+		/**
+		 * The index of the word containing burst_sod.
+		 */
+		public final static int WORD_BURST_SOD = 6;
+		/**
+		 * The index of the word containing burst_ra.
+		 */
+		public final static int WORD_BURST_RA = 7;
+		/**
+		 * The index of the word containing burst_dec.
+		 */
+		public final static int WORD_BURST_DEC = 8;
+		/**
+		 * The index of the word containing det_flags.
+		 */
+		public final static int WORD_DET_FLAGS = 9;
+		/**
+		 * The index of the word containing intensity_sigma.
+		 */
+		public final static int WORD_INTENSITY_SIGMA = 10;
+		/**
+		 * The index of the word containing burst_error.
+		 */
+		public final static int WORD_BURST_ERROR = 11;
+		/**
+		 * The index of the word containing test_mpos.
+		 */
+		public final static int WORD_TEST_MPOS = 12;
+
+		/**
+		 * Return trig_num (word 4 bits 0..15). Trigger number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getTrigNum(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+16) & 0xFFFF;
+		}
+
+		/**
+		 * Set trig_num (word 4 bits 0..15). Trigger number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setTrigNum(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+16,(GCNPacketLayout.getWord(buff,offset+16) & 0xFFFF0000)|
+				(value & 0xFFFF));
+		}
+
+		/**
+		 * Return mesg_num (word 4 bits 16..31). Message sequence number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getMesgNum(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+16) >>> 16;
+		}
+
+		/**
+		 * Set mesg_num (word 4 bits 16..31). Message sequence number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setMesgNum(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+16,(GCNPacketLayout.getWord(buff,offset+16) & 0xFFFF)|
+				((value & 0xFFFF) << 16));
+		}
+
+		/**
+		 * Return burst_tjd (word 5). Burst TJD.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstTjd(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+20);
+		}
+
+		/**
+		 * Set burst_tjd (word 5). Burst TJD.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstTjd(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+20,value);
+		}
+
+		/**
+		 * Return burst_sod (word 6). Burst SOD (centi-seconds in the day).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstSod(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+24);
+		}
+
+		/**
+		 * Set burst_sod (word 6). Burst SOD (centi-seconds in the day).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstSod(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+24,value);
+		}
+
+		/**
+		 * Return burst_ra (word 7). Burst RA (0..359.9999) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getBurstRa(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+28))/10000.0;
+		}
+
+		/**
+		 * Set burst_ra (word 7). Burst RA (0..359.9999) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstRa(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+28,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return burst_dec (word 8). Burst Dec (-90..90) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getBurstDec(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+32))/10000.0;
+		}
+
+		/**
+		 * Set burst_dec (word 8). Burst Dec (-90..90) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstDec(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+32,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return det_flags (word 9). Detector test flags.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getDetFlags(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+36);
+		}
+
+		/**
+		 * Set det_flags (word 9). Detector test flags.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setDetFlags(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+36,value);
+		}
+
+		/**
+		 * Return intensity_sigma (word 10). Burst intensity sigma *100.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getIntensitySigma(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+40);
+		}
+
+		/**
+		 * Set intensity_sigma (word 10). Burst intensity sigma *100.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setIntensitySigma(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+40,value);
+		}
+
+		/**
+		 * Return burst_error (word 11). Burst error radius (arcsec).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstError(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+44);
+		}
+
+		/**
+		 * Set burst_error (word 11). Burst error radius (arcsec).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstError(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+44,value);
+		}
+
+		/**
+		 * Return test_mpos (word 12). Test/multi-position flags.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getTestMpos(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+48);
+		}
+
+		/**
+		 * Set test_mpos (word 12). Test/multi-position flags.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setTestMpos(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+48,value);
+		}
+
+		/**
+		 * Clear a packet, and set it's type (TYPE) and terminator.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 */
+		public static void init(byte buff[],int offset)
+		{
+			GCNPacketLayout.init(buff,offset,TYPE);
+		}
+	}
+
+	/**
+	 * INTEGRAL refined burst position.
+	 * Packet type 54, generated from integral_refined.layout.
+	 */
+	public static class IntegralRefined
+	{
+		/**
+		 * The packet type.
+		 */
+		public final static int TYPE = 54;
+		/**
+		 * The index of the word containing trig_num.
+		 */
+		public final static int WORD_TRIG_NUM = 4;
+		/**
+		 * The index of the word containing mesg_num.
+		 */
+		public final static int WORD_MESG_NUM = 4;
+		/**
+		 * The index of the word containing burst_tjd.
+		 */
+		public final static int WORD_BURST_TJD = 5;
+		/**
+		 * The index of the word containing burst_sod.
+		 */
+		public final static int WORD_BURST_SOD = 6;
+		/**
+		 * The index of the word containing burst_ra.
+		 */
+		public final static int WORD_BURST_RA = 7;
+		/**
+		 * The index of the word containing burst_dec.
+		 */
+		public final static int WORD_BURST_DEC = 8;
+		/**
+		 * The index of the word containing det_flags.
+		 */
+		public final static int WORD_DET_FLAGS = 9;
+		/**
+		 * The index of the word containing intensity_sigma.
+		 */
+		public final static int WORD_INTENSITY_SIGMA = 10;
+		/**
+		 * The index of the word containing burst_error.
+		 */
+		public final static int WORD_BURST_ERROR = 11;
+		/**
+		 * The index of the word containing test_mpos.
+		 */
+		public final static int WORD_TEST_MPOS = 12;
+
+		/**
+		 * Return trig_num (word 4 bits 0..15). Trigger number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getTrigNum(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+16) & 0xFFFF;
+		}
+
+		/**
+		 * Set trig_num (word 4 bits 0..15). Trigger number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setTrigNum(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+16,(GCNPacketLayout.getWord(buff,offset+16) & 0xFFFF0000)|
+				(value & 0xFFFF));
+		}
+
+		/**
+		 * Return mesg_num (word 4 bits 16..31). Message sequence number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getMesgNum(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+16) >>> 16;
+		}
+
+		/**
+		 * Set mesg_num (word 4 bits 16..31). Message sequence number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setMesgNum(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+16,(GCNPacketLayout.getWord(buff,offset+16) & 0xFFFF)|
+				((value & 0xFFFF) << 16));
+		}
+
+		/**
+		 * Return burst_tjd (word 5). Burst TJD.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstTjd(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+20);
+		}
+
+		/**
+		 * Set burst_tjd (word 5). Burst TJD.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstTjd(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+20,value);
+		}
+
+		/**
+		 * Return burst_sod (word 6). Burst SOD (centi-seconds in the day).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstSod(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+24);
+		}
+
+		/**
+		 * Set burst_sod (word 6). Burst SOD (centi-seconds in the day).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstSod(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+24,value);
+		}
+
+		/**
+		 * Return burst_ra (word 7). Burst RA (0..359.9999) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getBurstRa(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+28))/10000.0;
+		}
+
+		/**
+		 * Set burst_ra (word 7). Burst RA (0..359.9999) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstRa(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+28,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return burst_dec (word 8). Burst Dec (-90..90) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getBurstDec(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+32))/10000.0;
+		}
+
+		/**
+		 * Set burst_dec (word 8). Burst Dec (-90..90) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstDec(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+32,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return det_flags (word 9). Detector test flags.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getDetFlags(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+36);
+		}
+
+		/**
+		 * Set det_flags (word 9). Detector test flags.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setDetFlags(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+36,value);
+		}
+
+		/**
+		 * Return intensity_sigma (word 10). Burst intensity sigma *100.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getIntensitySigma(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+40);
+		}
+
+		/**
+		 * Set intensity_sigma (word 10). Burst intensity sigma *100.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setIntensitySigma(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+40,value);
+		}
+
+		/**
+		 * Return burst_error (word 11). Burst error radius (arcsec).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstError(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+44);
+		}
+
+		/**
+		 * Set burst_error (word 11). Burst error radius (arcsec).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstError(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+44,value);
+		}
+
+		/**
+		 * Return test_mpos (word 12). Test/multi-position flags.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getTestMpos(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+48);
+		}
+
+		/**
+		 * Set test_mpos (word 12). Test/multi-position flags.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setTestMpos(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+48,value);
+		}
+
+		/**
+		 * Clear a packet, and set it's type (TYPE) and terminator.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 */
+		public static void init(byte buff[],int offset)
+		{
+			GCNPacketLayout.init(buff,offset,TYPE);
+		}
+	}
+
+	/**
+	 * INTEGRAL offline (ground analysis) burst position.
+	 * Packet type 55, generated from integral_offline.layout.
+	 */
+	public static class IntegralOffline
+	{
+		/**
+		 * The packet type.
+		 */
+		public final static int TYPE = 55;
+		/**
+		 * The index of the word containing trig_num.
+		 */
+		public final static int WORD_TRIG_NUM = 4;
+		/**
+		 * The index of the word containing mesg_num.
+		 */
+		public final static int WORD_MESG_NUM = 4;
+		/**
+		 * The index of the word containing burst_tjd.
+		 */
+		public final static int WORD_BURST_TJD = 5;
+		/**
+		 * The index of the word containing burst_sod.
+		 */
+		public final static int WORD_BURST_SOD = 6;
+		/**
+		 * The index of the word containing burst_ra.
+		 */
+		public final static int WORD_BURST_RA = 7;
+		/**
+		 * The index of the word containing burst_dec.
+		 */
+		public final static int WORD_BURST_DEC = 8;
+		/**
+		 * The index of the word containing det_flags.
+		 */
+		public final static int WORD_DET_FLAGS = 9;
+		/**
+		 * The index of the word containing intensity_sigma.
+		 */
+		public final static int WORD_INTENSITY_SIGMA = 10;
+		/**
+		 * The index of the word containing burst_error.
+		 */
+		public final static int WORD_BURST_ERROR = 11;
+		/**
+		 * The index of the word containing test_mpos.
+		 */
+		public final static int WORD_TEST_MPOS = 12;
+
+		/**
+		 * Return trig_num (word 4 bits 0..15). Trigger number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getTrigNum(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+16) & 0xFFFF;
+		}
+
+		/**
+		 * Set trig_num (word 4 bits 0..15). Trigger number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setTrigNum(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+16,(GCNPacketLayout.getWord(buff,offset+16) & 0xFFFF0000)|
+				(value & 0xFFFF));
+		}
+
+		/**
+		 * Return mesg_num (word 4 bits 16..31). Message sequence number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getMesgNum(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+16) >>> 16;
+		}
+
+		/**
+		 * Set mesg_num (word 4 bits 16..31). Message sequence number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setMesgNum(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+16,(GCNPacketLayout.getWord(buff,offset+16) & 0xFFFF)|
+				((value & 0xFFFF) << 16));
+		}
+
+		/**
+		 * Return burst_tjd (word 5). Burst TJD.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstTjd(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+20);
+		}
+
+		/**
+		 * Set burst_tjd (word 5). Burst TJD.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstTjd(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+20,value);
+		}
+
+		/**
+		 * Return burst_sod (word 6). Burst SOD (centi-seconds in the day).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstSod(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+24);
+		}
+
+		/**
+		 * Set burst_sod (word 6). Burst SOD (centi-seconds in the day).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstSod(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+24,value);
+		}
+
+		/**
+		 * Return burst_ra (word 7). Burst RA (0..359.9999) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getBurstRa(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+28))/10000.0;
+		}
+
+		/**
+		 * Set burst_ra (word 7). Burst RA (0..359.9999) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstRa(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+28,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return burst_dec (word 8). Burst Dec (-90..90) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getBurstDec(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+32))/10000.0;
+		}
+
+		/**
+		 * Set burst_dec (word 8). Burst Dec (-90..90) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstDec(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+32,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return det_flags (word 9). Detector test flags.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getDetFlags(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+36);
+		}
+
+		/**
+		 * Set det_flags (word 9). Detector test flags.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setDetFlags(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+36,value);
+		}
+
+		/**
+		 * Return intensity_sigma (word 10). Burst intensity sigma *100.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getIntensitySigma(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+40);
+		}
+
+		/**
+		 * Set intensity_sigma (word 10). Burst intensity sigma *100.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setIntensitySigma(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+40,value);
+		}
+
+		/**
+		 * Return burst_error (word 11). Burst error radius (arcsec).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstError(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+44);
+		}
+
+		/**
+		 * Set burst_error (word 11). Burst error radius (arcsec).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstError(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+44,value);
+		}
+
+		/**
+		 * Return test_mpos (word 12). Test/multi-position flags.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getTestMpos(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+48);
+		}
+
+		/**
+		 * Set test_mpos (word 12). Test/multi-position flags.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setTestMpos(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+48,value);
+		}
+
+		/**
+		 * Clear a packet, and set it's type (TYPE) and terminator.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 */
+		public static void init(byte buff[],int offset)
+		{
+			GCNPacketLayout.init(buff,offset,TYPE);
+		}
+	}
+
+	/**
+	 * Swift BAT burst position.
+	 * Packet type 61, generated from swift_bat_grb_position.layout.
+	 */
+	public static class SwiftBatGRBPosition
+	{
+		/**
+		 * The packet type.
+		 */
+		public final static int TYPE = 61;
+		/**
+		 * The index of the word containing trig_num.
+		 */
+		public final static int WORD_TRIG_NUM = 4;
+		/**
+		 * The index of the word containing mesg_num.
+		 */
+		public final static int WORD_MESG_NUM = 4;
+		/**
+		 * The index of the word containing burst_tjd.
+		 */
+		public final static int WORD_BURST_TJD = 5;
+		/**
+		 * The index of the word containing burst_sod.
+		 */
+		public final static int WORD_BURST_SOD = 6;
+		/**
+		 * The index of the word containing burst_ra.
+		 */
+		public final static int WORD_BURST_RA = 7;
+		/**
+		 * The index of the word containing burst_dec.
+		 */
+		public final static int WORD_BURST_DEC = 8;
+		/**
+		 * The index of the word containing burst_flue.
+		 */
+		public final static int WORD_BURST_FLUE = 9;
+		/**
+		 * The index of the word containing burst_ipeak.
+		 */
+		public final static int WORD_BURST_IPEAK = 10;
+		/**
+		 * The index of the word containing burst_error.
+		 */
+		public final static int WORD_BURST_ERROR = 11;
+		/**
+		 * The index of the word containing phi.
+		 */
+		public final static int WORD_PHI = 12;
+		/**
+		 * The index of the word containing theta.
+		 */
+		public final static int WORD_THETA = 13;
+		/**
+		 * The index of the word containing integ_time.
+		 */
+		public final static int WORD_INTEG_TIME = 14;
+		/**
+		 * The index of the word containing soln_status.
+		 */
+		public final static int WORD_SOLN_STATUS = 18;
+		/**
+		 * The index of the word containing misc.
+		 */
+		public final static int WORD_MISC = 19;
+		/**
+		 * The index of the word containing image_signif.
+		 */
+		public final static int WORD_IMAGE_SIGNIF = 20;
+		/**
+		 * The index of the word containing rate_signif.
+		 */
+		public final static int WORD_RATE_SIGNIF = 21;
+		/**
+		 * The index of the word containing merit_0.
+		 */
+		public final static int WORD_MERIT_0 = 36;
+		/**
+		 * The index of the word containing merit_1.
+		 */
+		public final static int WORD_MERIT_1 = 36;
+		/**
+		 * The index of the word containing merit_2.
+		 */
+		public final static int WORD_MERIT_2 = 36;
+		/**
+		 * The index of the word containing merit_3.
+		 */
+		public final static int WORD_MERIT_3 = 36;
+		/**
+		 * The index of the word containing merit_4.
+		 */
+		public final static int WORD_MERIT_4 = 37;
+		/**
+		 * The index of the word containing merit_5.
+		 */
+		public final static int WORD_MERIT_5 = 37;
+		/**
+		 * The index of the word containing merit_6.
+		 */
+		public final static int WORD_MERIT_6 = 37;
+		/**
+		 * The index of the word containing merit_7.
+		 */
+		public final static int WORD_MERIT_7 = 37;
+		/**
+		 * The index of the word containing merit_8.
+		 */
+		public final static int WORD_MERIT_8 = 38;
+		/**
+		 * The index of the word containing merit_9.
+		 */
+		public final static int WORD_MERIT_9 = 38;
+
+		/**
+		 * Return trig_num (word 4 bits 0..23). Trigger number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getTrigNum(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+16) & 0xFFFFFF;
+		}
+
+		/**
+		 * Set trig_num (word 4 bits 0..23). Trigger number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setTrigNum(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+16,(GCNPacketLayout.getWord(buff,offset+16) & 0xFF000000)|
+				(value & 0xFFFFFF));
+		}
+
+		/**
+		 * Return mesg_num (word 4 bits 24..31). Message sequence number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getMesgNum(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+16) >>> 24;
+		}
+
+		/**
+		 * Set mesg_num (word 4 bits 24..31). Message sequence number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setMesgNum(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+16,(GCNPacketLayout.getWord(buff,offset+16) & 0xFFFFFF)|
+				((value & 0xFF) << 24));
+		}
+
+		/**
+		 * Return burst_tjd (word 5). Burst TJD.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstTjd(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+20);
+		}
+
+		/**
+		 * Set burst_tjd (word 5). Burst TJD.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstTjd(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+20,value);
+		}
+
+		/**
+		 * Return burst_sod (word 6). Burst SOD (centi-seconds in the day).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstSod(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+24);
+		}
+
+		/**
+		 * Set burst_sod (word 6). Burst SOD (centi-seconds in the day).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstSod(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+24,value);
+		}
+
+		/**
+		 * Return burst_ra (word 7). Burst RA (0..359.9999) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getBurstRa(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+28))/10000.0;
+		}
+
+		/**
+		 * Set burst_ra (word 7). Burst RA (0..359.9999) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstRa(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+28,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return burst_dec (word 8). Burst Dec (-90..90) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getBurstDec(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+32))/10000.0;
+		}
+
+		/**
+		 * Set burst_dec (word 8). Burst Dec (-90..90) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstDec(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+32,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return burst_flue (word 9). Burst fluence (counts).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstFlue(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+36);
+		}
+
+		/**
+		 * Set burst_flue (word 9). Burst fluence (counts).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstFlue(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+36,value);
+		}
+
+		/**
+		 * Return burst_ipeak (word 10). Burst peak intensity (counts).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstIpeak(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+40);
+		}
+
+		/**
+		 * Set burst_ipeak (word 10). Burst peak intensity (counts).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstIpeak(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+40,value);
+		}
+
+		/**
+		 * Return burst_error (word 11). Burst error radius, degrees (0..180) *10000.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstError(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+44);
+		}
+
+		/**
+		 * Set burst_error (word 11). Burst error radius, degrees (0..180) *10000.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstError(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+44,value);
+		}
+
+		/**
+		 * Return phi (word 12). Phi, degrees *100.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getPhi(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+48);
+		}
+
+		/**
+		 * Set phi (word 12). Phi, degrees *100.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setPhi(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+48,value);
+		}
+
+		/**
+		 * Return theta (word 13). Theta, degrees *100.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getTheta(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+52);
+		}
+
+		/**
+		 * Set theta (word 13). Theta, degrees *100.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setTheta(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+52,value);
+		}
+
+		/**
+		 * Return integ_time (word 14). Integration time (4 msec units).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getIntegTime(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+56);
+		}
+
+		/**
+		 * Set integ_time (word 14). Integration time (4 msec units).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setIntegTime(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+56,value);
+		}
+
+		/**
+		 * Return soln_status (word 18). Type of source found (bitfield).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getSolnStatus(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+72);
+		}
+
+		/**
+		 * Set soln_status (word 18). Type of source found (bitfield).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setSolnStatus(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+72,value);
+		}
+
+		/**
+		 * Return misc (word 19). Misc (bitfield).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getMisc(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+76);
+		}
+
+		/**
+		 * Set misc (word 19). Misc (bitfield).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setMisc(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+76,value);
+		}
+
+		/**
+		 * Return image_signif (word 20). Image significance (sigma *100).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getImageSignif(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+80);
+		}
+
+		/**
+		 * Set image_signif (word 20). Image significance (sigma *100).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setImageSignif(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+80,value);
+		}
+
+		/**
+		 * Return rate_signif (word 21). Rate significance (sigma *100).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getRateSignif(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+84);
+		}
+
+		/**
+		 * Set rate_signif (word 21). Rate significance (sigma *100).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setRateSignif(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+84,value);
+		}
+
+		/**
+		 * Return merit_0 (word 36 bits 0..7). Merit parameter 0, 1 if a GRB, 0 if not.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getMerit0(byte buff[],int offset)
+		{
+			return (GCNPacketLayout.getWord(buff,offset+144) << 24) >> 24;
+		}
+
+		/**
+		 * Set merit_0 (word 36 bits 0..7). Merit parameter 0, 1 if a GRB, 0 if not.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setMerit0(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+144,(GCNPacketLayout.getWord(buff,offset+144) & 0xFFFFFF00)|
+				(value & 0xFF));
+		}
+
+		/**
+		 * Return merit_1 (word 36 bits 8..15). Merit parameter 1, 1 if a transient with a trigger longer than 64 seconds.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getMerit1(byte buff[],int offset)
+		{
+			return (GCNPacketLayout.getWord(buff,offset+144) << 16) >> 24;
+		}
+
+		/**
+		 * Set merit_1 (word 36 bits 8..15). Merit parameter 1, 1 if a transient with a trigger longer than 64 seconds.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setMerit1(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+144,(GCNPacketLayout.getWord(buff,offset+144) & 0xFFFF00FF)|
+				((value & 0xFF) << 8));
+		}
+
+		/**
+		 * Return merit_2 (word 36 bits 16..23). Merit parameter 2, merit of the on-board catalogue known source.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getMerit2(byte buff[],int offset)
+		{
+			return (GCNPacketLayout.getWord(buff,offset+144) << 8) >> 24;
+		}
+
+		/**
+		 * Set merit_2 (word 36 bits 16..23). Merit parameter 2, merit of the on-board catalogue known source.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setMerit2(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+144,(GCNPacketLayout.getWord(buff,offset+144) & 0xFF00FFFF)|
+				((value & 0xFF) << 16));
+		}
+
+		/**
+		 * Return merit_3 (word 36 bits 24..31). Merit parameter 3, trigger duration log2(t_trig/1024 msec).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getMerit3(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+144) >> 24;
+		}
+
+		/**
+		 * Set merit_3 (word 36 bits 24..31). Merit parameter 3, trigger duration log2(t_trig/1024 msec).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setMerit3(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+144,(GCNPacketLayout.getWord(buff,offset+144) & 0xFFFFFF)|
+				((value & 0xFF) << 24));
+		}
+
+		/**
+		 * Return merit_4 (word 37 bits 0..7). Merit parameter 4, trigger energy range index.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getMerit4(byte buff[],int offset)
+		{
+			return (GCNPacketLayout.getWord(buff,offset+148) << 24) >> 24;
+		}
+
+		/**
+		 * Set merit_4 (word 37 bits 0..7). Merit parameter 4, trigger energy range index.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setMerit4(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+148,(GCNPacketLayout.getWord(buff,offset+148) & 0xFFFFFF00)|
+				(value & 0xFF));
+		}
+
+		/**
+		 * Return merit_5 (word 37 bits 8..15). Merit parameter 5, image significance.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getMerit5(byte buff[],int offset)
+		{
+			return (GCNPacketLayout.getWord(buff,offset+148) << 16) >> 24;
+		}
+
+		/**
+		 * Set merit_5 (word 37 bits 8..15). Merit parameter 5, image significance.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setMerit5(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+148,(GCNPacketLayout.getWord(buff,offset+148) & 0xFFFF00FF)|
+				((value & 0xFF) << 8));
+		}
+
+		/**
+		 * Return merit_6 (word 37 bits 16..23). Merit parameter 6, observability.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getMerit6(byte buff[],int offset)
+		{
+			return (GCNPacketLayout.getWord(buff,offset+148) << 8) >> 24;
+		}
+
+		/**
+		 * Set merit_6 (word 37 bits 16..23). Merit parameter 6, observability.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setMerit6(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+148,(GCNPacketLayout.getWord(buff,offset+148) & 0xFF00FFFF)|
+				((value & 0xFF) << 16));
+		}
+
+		/**
+		 * Return merit_7 (word 37 bits 24..31). Merit parameter 7, in a confused or obscured region.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getMerit7(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+148) >> 24;
+		}
+
+		/**
+		 * Set merit_7 (word 37 bits 24..31). Merit parameter 7, in a confused or obscured region.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setMerit7(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+148,(GCNPacketLayout.getWord(buff,offset+148) & 0xFFFFFF)|
+				((value & 0xFF) << 24));
+		}
+
+		/**
+		 * Return merit_8 (word 38 bits 0..7). Merit parameter 8, Sun distance -100*cos(angle).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getMerit8(byte buff[],int offset)
+		{
+			return (GCNPacketLayout.getWord(buff,offset+152) << 24) >> 24;
+		}
+
+		/**
+		 * Set merit_8 (word 38 bits 0..7). Merit parameter 8, Sun distance -100*cos(angle).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setMerit8(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+152,(GCNPacketLayout.getWord(buff,offset+152) & 0xFFFFFF00)|
+				(value & 0xFF));
+		}
+
+		/**
+		 * Return merit_9 (word 38 bits 8..15). Merit parameter 9, offset bias for PPTs and TOOs.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getMerit9(byte buff[],int offset)
+		{
+			return (GCNPacketLayout.getWord(buff,offset+152) << 16) >> 24;
+		}
+
+		/**
+		 * Set merit_9 (word 38 bits 8..15). Merit parameter 9, offset bias for PPTs and TOOs.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setMerit9(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+152,(GCNPacketLayout.getWord(buff,offset+152) & 0xFFFF00FF)|
+				((value & 0xFF) << 8));
+		}
+
+		/**
+		 * Clear a packet, and set it's type (TYPE) and terminator.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 */
+		public static void init(byte buff[],int offset)
+		{
+			GCNPacketLayout.init(buff,offset,TYPE);
+		}
+	}
+
+	/**
+	 * Swift spacecraft slew to a new target.
+	 * Packet type 66, generated from swift_sc_slew.layout.
+	 */
+	public static class SwiftSCSlew
+	{
+		/**
+		 * The packet type.
+		 */
+		public final static int TYPE = 66;
+		/**
+		 * The index of the word containing trig_num.
+		 */
+		public final static int WORD_TRIG_NUM = 4;
+		/**
+		 * The index of the word containing mesg_num.
+		 */
+		public final static int WORD_MESG_NUM = 4;
+		/**
+		 * The index of the word containing burst_tjd.
+		 */
+		public final static int WORD_BURST_TJD = 5;
+		/**
+		 * The index of the word containing burst_sod.
+		 */
+		public final static int WORD_BURST_SOD = 6;
+		/**
+		 * The index of the word containing next_ra.
+		 */
+		public final static int WORD_NEXT_RA = 7;
+		/**
+		 * The index of the word containing next_dec.
+		 */
+		public final static int WORD_NEXT_DEC = 8;
+		/**
+		 * The index of the word containing next_roll.
+		 */
+		public final static int WORD_NEXT_ROLL = 9;
+		/**
+		 * The index of the word containing slew_tjd.
+		 */
+		public final static int WORD_SLEW_TJD = 10;
+		/**
+		 * The index of the word containing slew_sod.
+		 */
+		public final static int WORD_SLEW_SOD = 11;
+		/**
+		 * The index of the word containing wait_time.
+		 */
+		public final static int WORD_WAIT_TIME = 12;
+		/**
+		 * The index of the word containing obs_time.
+		 */
+		public final static int WORD_OBS_TIME = 13;
+		/**
+		 * The index of the word containing obs_flags.
+		 */
+		public final static int WORD_OBS_FLAGS = 18;
+		/**
+		 * The index of the word containing misc.
+		 */
+		public final static int WORD_MISC = 19;
+
+		/**
+		 * Return trig_num (word 4 bits 0..23). Trigger/observation number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getTrigNum(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+16) & 0xFFFFFF;
+		}
+
+		/**
+		 * Set trig_num (word 4 bits 0..23). Trigger/observation number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setTrigNum(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+16,(GCNPacketLayout.getWord(buff,offset+16) & 0xFF000000)|
+				(value & 0xFFFFFF));
+		}
+
+		/**
+		 * Return mesg_num (word 4 bits 24..31). Message sequence number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getMesgNum(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+16) >>> 24;
+		}
+
+		/**
+		 * Set mesg_num (word 4 bits 24..31). Message sequence number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setMesgNum(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+16,(GCNPacketLayout.getWord(buff,offset+16) & 0xFFFFFF)|
+				((value & 0xFF) << 24));
+		}
+
+		/**
+		 * Return burst_tjd (word 5). Burst TJD.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstTjd(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+20);
+		}
+
+		/**
+		 * Set burst_tjd (word 5). Burst TJD.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstTjd(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+20,value);
+		}
+
+		/**
+		 * Return burst_sod (word 6). Burst SOD (centi-seconds in the day).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstSod(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+24);
+		}
+
+		/**
+		 * Set burst_sod (word 6). Burst SOD (centi-seconds in the day).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstSod(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+24,value);
+		}
+
+		/**
+		 * Return next_ra (word 7). Slew target RA (0..359.9999) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getNextRa(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+28))/10000.0;
+		}
+
+		/**
+		 * Set next_ra (word 7). Slew target RA (0..359.9999) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setNextRa(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+28,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return next_dec (word 8). Slew target Dec (-90..90) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getNextDec(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+32))/10000.0;
+		}
+
+		/**
+		 * Set next_dec (word 8). Slew target Dec (-90..90) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setNextDec(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+32,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return next_roll (word 9). Slew target roll (0..359.9999) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getNextRoll(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+36))/10000.0;
+		}
+
+		/**
+		 * Set next_roll (word 9). Slew target roll (0..359.9999) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setNextRoll(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+36,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return slew_tjd (word 10). Slew TJD.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getSlewTjd(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+40);
+		}
+
+		/**
+		 * Set slew_tjd (word 10). Slew TJD.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setSlewTjd(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+40,value);
+		}
+
+		/**
+		 * Return slew_sod (word 11). Slew SOD (centi-seconds in the day).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getSlewSod(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+44);
+		}
+
+		/**
+		 * Set slew_sod (word 11). Slew SOD (centi-seconds in the day).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setSlewSod(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+44,value);
+		}
+
+		/**
+		 * Return wait_time (word 12). Wait time before the slew (centi-seconds).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getWaitTime(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+48);
+		}
+
+		/**
+		 * Set wait_time (word 12). Wait time before the slew (centi-seconds).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setWaitTime(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+48,value);
+		}
+
+		/**
+		 * Return obs_time (word 13). Planned observation time (centi-seconds).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getObsTime(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+52);
+		}
+
+		/**
+		 * Set obs_time (word 13). Planned observation time (centi-seconds).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setObsTime(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+52,value);
+		}
+
+		/**
+		 * Return obs_flags (word 18). Slew/observation flags.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getObsFlags(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+72);
+		}
+
+		/**
+		 * Set obs_flags (word 18). Slew/observation flags.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setObsFlags(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+72,value);
+		}
+
+		/**
+		 * Return misc (word 19). Misc (bitfield).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getMisc(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+76);
+		}
+
+		/**
+		 * Set misc (word 19). Misc (bitfield).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setMisc(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+76,value);
+		}
+
+		/**
+		 * Clear a packet, and set it's type (TYPE) and terminator.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 */
+		public static void init(byte buff[],int offset)
+		{
+			GCNPacketLayout.init(buff,offset,TYPE);
+		}
+	}
+
+	/**
+	 * Swift XRT burst position.
+	 * Packet type 67, generated from swift_xrt_position.layout.
+	 */
+	public static class SwiftXrtPosition
+	{
+		/**
+		 * The packet type.
+		 */
+		public final static int TYPE = 67;
+		/**
+		 * The index of the word containing trig_num.
+		 */
+		public final static int WORD_TRIG_NUM = 4;
+		/**
+		 * The index of the word containing mesg_num.
+		 */
+		public final static int WORD_MESG_NUM = 4;
+		/**
+		 * The index of the word containing burst_tjd.
+		 */
+		public final static int WORD_BURST_TJD = 5;
+		/**
+		 * The index of the word containing burst_sod.
+		 */
+		public final static int WORD_BURST_SOD = 6;
+		/**
+		 * The index of the word containing burst_ra.
+		 */
+		public final static int WORD_BURST_RA = 7;
+		/**
+		 * The index of the word containing burst_dec.
+		 */
+		public final static int WORD_BURST_DEC = 8;
+		/**
+		 * The index of the word containing burst_flux.
+		 */
+		public final static int WORD_BURST_FLUX = 9;
+		/**
+		 * The index of the word containing burst_error.
+		 */
+		public final static int WORD_BURST_ERROR = 11;
+		/**
+		 * The index of the word containing waveform.
+		 */
+		public final static int WORD_WAVEFORM = 17;
+		/**
+		 * The index of the word containing amplifier.
+		 */
+		public final static int WORD_AMPLIFIER = 17;
+		/**
+		 * The index of the word containing trigger_id.
+		 */
+		public final static int WORD_TRIGGER_ID = 18;
+		/**
+		 * The index of the word containing misc.
+		 */
+		public final static int WORD_MISC = 19;
+		/**
+		 * The index of the word containing det_signif.
+		 */
+		public final static int WORD_DET_SIGNIF = 21;
+
+		/**
+		 * Return trig_num (word 4 bits 0..23). Trigger number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getTrigNum(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+16) & 0xFFFFFF;
+		}
+
+		/**
+		 * Set trig_num (word 4 bits 0..23). Trigger number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setTrigNum(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+16,(GCNPacketLayout.getWord(buff,offset+16) & 0xFF000000)|
+				(value & 0xFFFFFF));
+		}
+
+		/**
+		 * Return mesg_num (word 4 bits 24..31). Message sequence number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getMesgNum(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+16) >>> 24;
+		}
+
+		/**
+		 * Set mesg_num (word 4 bits 24..31). Message sequence number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setMesgNum(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+16,(GCNPacketLayout.getWord(buff,offset+16) & 0xFFFFFF)|
+				((value & 0xFF) << 24));
+		}
+
+		/**
+		 * Return burst_tjd (word 5). Burst TJD.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstTjd(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+20);
+		}
+
+		/**
+		 * Set burst_tjd (word 5). Burst TJD.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstTjd(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+20,value);
+		}
+
+		/**
+		 * Return burst_sod (word 6). Burst SOD (centi-seconds in the day).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstSod(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+24);
+		}
+
+		/**
+		 * Set burst_sod (word 6). Burst SOD (centi-seconds in the day).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstSod(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+24,value);
+		}
+
+		/**
+		 * Return burst_ra (word 7). Burst RA (0..359.9999) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getBurstRa(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+28))/10000.0;
+		}
+
+		/**
+		 * Set burst_ra (word 7). Burst RA (0..359.9999) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstRa(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+28,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return burst_dec (word 8). Burst Dec (-90..90) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getBurstDec(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+32))/10000.0;
+		}
+
+		/**
+		 * Set burst_dec (word 8). Burst Dec (-90..90) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstDec(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+32,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return burst_flux (word 9). Burst flux (counts).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstFlux(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+36);
+		}
+
+		/**
+		 * Set burst_flux (word 9). Burst flux (counts).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstFlux(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+36,value);
+		}
+
+		/**
+		 * Return burst_error (word 11). Burst error radius, degrees (0..180) *10000.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstError(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+44);
+		}
+
+		/**
+		 * Set burst_error (word 11). Burst error radius, degrees (0..180) *10000.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstError(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+44,value);
+		}
+
+		/**
+		 * Return waveform (word 17 bits 0..7). Waveform number of the readout.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getWaveform(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+68) & 0xFF;
+		}
+
+		/**
+		 * Set waveform (word 17 bits 0..7). Waveform number of the readout.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setWaveform(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+68,(GCNPacketLayout.getWord(buff,offset+68) & 0xFFFFFF00)|
+				(value & 0xFF));
+		}
+
+		/**
+		 * Return amplifier (word 17 bits 8..15). Amplifier used.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getAmplifier(byte buff[],int offset)
+		{
+			return (GCNPacketLayout.getWord(buff,offset+68) >>> 8) & 0xFF;
+		}
+
+		/**
+		 * Set amplifier (word 17 bits 8..15). Amplifier used.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setAmplifier(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+68,(GCNPacketLayout.getWord(buff,offset+68) & 0xFFFF00FF)|
+				((value & 0xFF) << 8));
+		}
+
+		/**
+		 * Return trigger_id (word 18). The type of event.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getTriggerId(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+72);
+		}
+
+		/**
+		 * Set trigger_id (word 18). The type of event.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setTriggerId(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+72,value);
+		}
+
+		/**
+		 * Return misc (word 19). Misc (bitfield).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getMisc(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+76);
+		}
+
+		/**
+		 * Set misc (word 19). Misc (bitfield).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setMisc(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+76,value);
+		}
+
+		/**
+		 * Return det_signif (word 21). Detector significance (centi-sigma).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getDetSignif(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+84);
+		}
+
+		/**
+		 * Set det_signif (word 21). Detector significance (centi-sigma).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setDetSignif(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+84,value);
+		}
+
+		/**
+		 * Clear a packet, and set it's type (TYPE) and terminator.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 */
+		public static void init(byte buff[],int offset)
+		{
+			GCNPacketLayout.init(buff,offset,TYPE);
+		}
+	}
+
+	/**
+	 * Swift UVOT burst position.
+	 * Packet type 81, generated from swift_uvot_position.layout.
+	 */
+	public static class SwiftUvotPosition
+	{
+		/**
+		 * The packet type.
+		 */
+		public final static int TYPE = 81;
+		/**
+		 * The index of the word containing trig_num.
+		 */
+		public final static int WORD_TRIG_NUM = 4;
+		/**
+		 * The index of the word containing mesg_num.
+		 */
+		public final static int WORD_MESG_NUM = 4;
+		/**
+		 * The index of the word containing burst_tjd.
+		 */
+		public final static int WORD_BURST_TJD = 5;
+		/**
+		 * The index of the word containing burst_sod.
+		 */
+		public final static int WORD_BURST_SOD = 6;
+		/**
+		 * The index of the word containing burst_ra.
+		 */
+		public final static int WORD_BURST_RA = 7;
+		/**
+		 * The index of the word containing burst_dec.
+		 */
+		public final static int WORD_BURST_DEC = 8;
+		/**
+		 * The index of the word containing burst_mag.
+		 */
+		public final static int WORD_BURST_MAG = 9;
+		/**
+		 * The index of the word containing filter.
+		 */
+		public final static int WORD_FILTER = 10;
+		/**
+		 * The index of the word containing burst_error.
+		 */
+		public final static int WORD_BURST_ERROR = 11;
+
+		/**
+		 * Return trig_num (word 4 bits 0..23). Trigger/observation number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getTrigNum(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+16) & 0xFFFFFF;
+		}
+
+		/**
+		 * Set trig_num (word 4 bits 0..23). Trigger/observation number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setTrigNum(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+16,(GCNPacketLayout.getWord(buff,offset+16) & 0xFF000000)|
+				(value & 0xFFFFFF));
+		}
+
+		/**
+		 * Return mesg_num (word 4 bits 24..31). Message sequence number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getMesgNum(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+16) >>> 24;
+		}
+
+		/**
+		 * Set mesg_num (word 4 bits 24..31). Message sequence number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setMesgNum(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+16,(GCNPacketLayout.getWord(buff,offset+16) & 0xFFFFFF)|
+				((value & 0xFF) << 24));
+		}
+
+		/**
+		 * Return burst_tjd (word 5). Burst TJD.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstTjd(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+20);
+		}
+
+		/**
+		 * Set burst_tjd (word 5). Burst TJD.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstTjd(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+20,value);
+		}
+
+		/**
+		 * Return burst_sod (word 6). Burst SOD (centi-seconds in the day).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstSod(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+24);
+		}
+
+		/**
+		 * Set burst_sod (word 6). Burst SOD (centi-seconds in the day).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstSod(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+24,value);
+		}
+
+		/**
+		 * Return burst_ra (word 7). Burst RA (0..359.9999) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getBurstRa(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+28))/10000.0;
+		}
+
+		/**
+		 * Set burst_ra (word 7). Burst RA (0..359.9999) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstRa(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+28,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return burst_dec (word 8). Burst Dec (-90..90) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getBurstDec(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+32))/10000.0;
+		}
+
+		/**
+		 * Set burst_dec (word 8). Burst Dec (-90..90) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstDec(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+32,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return burst_mag (word 9). UVOT magnitude *100.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstMag(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+36);
+		}
+
+		/**
+		 * Set burst_mag (word 9). UVOT magnitude *100.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstMag(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+36,value);
+		}
+
+		/**
+		 * Return filter (word 10). Filter number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getFilter(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+40);
+		}
+
+		/**
+		 * Set filter (word 10). Filter number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setFilter(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+40,value);
+		}
+
+		/**
+		 * Return burst_error (word 11). Burst error radius, degrees (0..180) *10000.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstError(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+44);
+		}
+
+		/**
+		 * Set burst_error (word 11). Burst error radius, degrees (0..180) *10000.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstError(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+44,value);
+		}
+
+		/**
+		 * Clear a packet, and set it's type (TYPE) and terminator.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 */
+		public static void init(byte buff[],int offset)
+		{
+			GCNPacketLayout.init(buff,offset,TYPE);
+		}
+	}
+
+	/**
+	 * SuperAGILE burst position.
+	 * Packet type 100, generated from super_agile_grb_pos_wakeup.layout.
+	 */
+	public static class SuperAgileGRBPosWakeup
+	{
+		/**
+		 * The packet type.
+		 */
+		public final static int TYPE = 100;
+		/**
+		 * The index of the word containing trig_num.
+		 */
+		public final static int WORD_TRIG_NUM = 4;
+		/**
+		 * The index of the word containing burst_tjd.
+		 */
+		public final static int WORD_BURST_TJD = 5;
+		/**
+		 * The index of the word containing burst_sod.
+		 */
+		public final static int WORD_BURST_SOD = 6;
+		/**
+		 * The index of the word containing burst_ra.
+		 */
+		public final static int WORD_BURST_RA = 7;
+		/**
+		 * The index of the word containing burst_dec.
+		 */
+		public final static int WORD_BURST_DEC = 8;
+		/**
+		 * The index of the word containing burst_intensity_x.
+		 */
+		public final static int WORD_BURST_INTENSITY_X = 9;
+		/**
+		 * The index of the word containing burst_intensity_y.
+		 */
+		public final static int WORD_BURST_INTENSITY_Y = 10;
+		/**
+		 * The index of the word containing burst_error.
+		 */
+		public final static int WORD_BURST_ERROR = 11;
+		/**
+		 * The index of the word containing trigger_id.
+		 */
+		public final static int WORD_TRIGGER_ID = 18;
+		/**
+		 * The index of the word containing misc.
+		 */
+		public final static int WORD_MISC = 19;
+		/**
+		 * The index of the word containing significance.
+		 */
+		public final static int WORD_SIGNIFICANCE = 20;
+
+		/**
+		 * Return trig_num (word 4). Trigger number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getTrigNum(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+16);
+		}
+
+		/**
+		 * Set trig_num (word 4). Trigger number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setTrigNum(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+16,value);
+		}
+
+		/**
+		 * Return burst_tjd (word 5). Burst TJD.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstTjd(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+20);
+		}
+
+		/**
+		 * Set burst_tjd (word 5). Burst TJD.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstTjd(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+20,value);
+		}
+
+		/**
+		 * Return burst_sod (word 6). Burst SOD (centi-seconds in the day).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstSod(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+24);
+		}
+
+		/**
+		 * Set burst_sod (word 6). Burst SOD (centi-seconds in the day).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstSod(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+24,value);
+		}
+
+		/**
+		 * Return burst_ra (word 7). Burst RA (0..359.9999) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getBurstRa(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+28))/10000.0;
+		}
+
+		/**
+		 * Set burst_ra (word 7). Burst RA (0..359.9999) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstRa(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+28,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return burst_dec (word 8). Burst Dec (-90..90) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getBurstDec(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+32))/10000.0;
+		}
+
+		/**
+		 * Set burst_dec (word 8). Burst Dec (-90..90) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstDec(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+32,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return burst_intensity_x (word 9). Number of events in each X 1-D (0.001 counts).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstIntensityX(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+36);
+		}
+
+		/**
+		 * Set burst_intensity_x (word 9). Number of events in each X 1-D (0.001 counts).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstIntensityX(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+36,value);
+		}
+
+		/**
+		 * Return burst_intensity_y (word 10). Number of events in each Y 1-D (0.001 counts).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstIntensityY(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+40);
+		}
+
+		/**
+		 * Set burst_intensity_y (word 10). Number of events in each Y 1-D (0.001 counts).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstIntensityY(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+40,value);
+		}
+
+		/**
+		 * Return burst_error (word 11). Burst error radius, degrees (0..180) *10000.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstError(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+44);
+		}
+
+		/**
+		 * Set burst_error (word 11). Burst error radius, degrees (0..180) *10000.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstError(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+44,value);
+		}
+
+		/**
+		 * Return trigger_id (word 18). Type of source/trigger found.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getTriggerId(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+72);
+		}
+
+		/**
+		 * Set trigger_id (word 18). Type of source/trigger found.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setTriggerId(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+72,value);
+		}
+
+		/**
+		 * Return misc (word 19). Misc (bitfield).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getMisc(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+76);
+		}
+
+		/**
+		 * Set misc (word 19). Misc (bitfield).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setMisc(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+76,value);
+		}
+
+		/**
+		 * Return significance (word 20). Significance.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getSignificance(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+80);
+		}
+
+		/**
+		 * Set significance (word 20). Significance.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setSignificance(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+80,value);
+		}
+
+		/**
+		 * Clear a packet, and set it's type (TYPE) and terminator.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 */
+		public static void init(byte buff[],int offset)
+		{
+			GCNPacketLayout.init(buff,offset,TYPE);
+		}
+	}
+
+	/**
+	 * Fermi GBM flight generated burst position.
+	 * Packet type 111, generated from fermi_gbm_flt_pos.layout.
+	 */
+	public static class FermiGBMFltPos
+	{
+		/**
+		 * The packet type.
+		 */
+		public final static int TYPE = 111;
+		/**
+		 * The index of the word containing trig_num.
+		 */
+		public final static int WORD_TRIG_NUM = 4;
+		/**
+		 * The index of the word containing burst_tjd.
+		 */
+		public final static int WORD_BURST_TJD = 5;
+		/**
+		 * The index of the word containing burst_sod.
+		 */
+		public final static int WORD_BURST_SOD = 6;
+		/**
+		 * The index of the word containing burst_ra.
+		 */
+		public final static int WORD_BURST_RA = 7;
+		/**
+		 * The index of the word containing burst_dec.
+		 */
+		public final static int WORD_BURST_DEC = 8;
+		/**
+		 * The index of the word containing burst_intensity.
+		 */
+		public final static int WORD_BURST_INTENSITY = 9;
+		/**
+		 * The index of the word containing data_signif.
+		 */
+		public final static int WORD_DATA_SIGNIF = 10;
+		/**
+		 * The index of the word containing burst_error.
+		 */
+		public final static int WORD_BURST_ERROR = 11;
+		/**
+		 * The index of the word containing data_timescale.
+		 */
+		public final static int WORD_DATA_TIMESCALE = 14;
+		/**
+		 * The index of the word containing low_energy.
+		 */
+		public final static int WORD_LOW_ENERGY = 15;
+		/**
+		 * The index of the word containing high_energy.
+		 */
+		public final static int WORD_HIGH_ENERGY = 16;
+		/**
+		 * The index of the word containing location_algorithm.
+		 */
+		public final static int WORD_LOCATION_ALGORITHM = 17;
+		/**
+		 * The index of the word containing trigger_id.
+		 */
+		public final static int WORD_TRIGGER_ID = 18;
+		/**
+		 * The index of the word containing misc.
+		 */
+		public final static int WORD_MISC = 19;
+		/**
+		 * The index of the word containing record_sequence_number.
+		 */
+		public final static int WORD_RECORD_SEQUENCE_NUMBER = 20;
+		/**
+		 * The index of the word containing most_likely_class.
+		 */
+		public final static int WORD_MOST_LIKELY_CLASS = 23;
+		/**
+		 * The index of the word containing most_likely_probability.
+		 */
+		public final static int WORD_MOST_LIKELY_PROBABILITY = 23;
+
+		/**
+		 * Return trig_num (word 4). Trigger number (seconds since 2001-01-01).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getTrigNum(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+16);
+		}
+
+		/**
+		 * Set trig_num (word 4). Trigger number (seconds since 2001-01-01).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setTrigNum(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+16,value);
+		}
+
+		/**
+		 * Return burst_tjd (word 5). Burst TJD.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstTjd(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+20);
+		}
+
+		/**
+		 * Set burst_tjd (word 5). Burst TJD.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstTjd(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+20,value);
+		}
+
+		/**
+		 * Return burst_sod (word 6). Burst SOD (centi-seconds in the day).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstSod(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+24);
+		}
+
+		/**
+		 * Set burst_sod (word 6). Burst SOD (centi-seconds in the day).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstSod(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+24,value);
+		}
+
+		/**
+		 * Return burst_ra (word 7). Burst RA (0..359.9999) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getBurstRa(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+28))/10000.0;
+		}
+
+		/**
+		 * Set burst_ra (word 7). Burst RA (0..359.9999) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstRa(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+28,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return burst_dec (word 8). Burst Dec (-90..90) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getBurstDec(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+32))/10000.0;
+		}
+
+		/**
+		 * Set burst_dec (word 8). Burst Dec (-90..90) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstDec(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+32,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return burst_intensity (word 9). Burst intensity (counts).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstIntensity(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+36);
+		}
+
+		/**
+		 * Set burst_intensity (word 9). Burst intensity (counts).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstIntensity(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+36,value);
+		}
+
+		/**
+		 * Return data_signif (word 10). Data significance (sigma *100).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getDataSignif(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+40);
+		}
+
+		/**
+		 * Set data_signif (word 10). Data significance (sigma *100).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setDataSignif(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+40,value);
+		}
+
+		/**
+		 * Return burst_error (word 11). Burst error radius, degrees (0..180) *10000.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstError(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+44);
+		}
+
+		/**
+		 * Set burst_error (word 11). Burst error radius, degrees (0..180) *10000.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstError(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+44,value);
+		}
+
+		/**
+		 * Return data_timescale (word 14). Data timescale (msec).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getDataTimescale(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+56);
+		}
+
+		/**
+		 * Set data_timescale (word 14). Data timescale (msec).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setDataTimescale(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+56,value);
+		}
+
+		/**
+		 * Return low_energy (word 15). Energy range low (keV).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getLowEnergy(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+60);
+		}
+
+		/**
+		 * Set low_energy (word 15). Energy range low (keV).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setLowEnergy(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+60,value);
+		}
+
+		/**
+		 * Return high_energy (word 16). Energy range high (keV).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getHighEnergy(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+64);
+		}
+
+		/**
+		 * Set high_energy (word 16). Energy range high (keV).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setHighEnergy(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+64,value);
+		}
+
+		/**
+		 * Return location_algorithm (word 17). Location algorithm index.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getLocationAlgorithm(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+68);
+		}
+
+		/**
+		 * Set location_algorithm (word 17). Location algorithm index.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setLocationAlgorithm(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+68,value);
+		}
+
+		/**
+		 * Return trigger_id (word 18). Trigger id flags.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getTriggerId(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+72);
+		}
+
+		/**
+		 * Set trigger_id (word 18). Trigger id flags.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setTriggerId(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+72,value);
+		}
+
+		/**
+		 * Return misc (word 19). Misc (bitfield).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getMisc(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+76);
+		}
+
+		/**
+		 * Set misc (word 19). Misc (bitfield).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setMisc(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+76,value);
+		}
+
+		/**
+		 * Return record_sequence_number (word 20). Record sequence number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getRecordSequenceNumber(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+80);
+		}
+
+		/**
+		 * Set record_sequence_number (word 20). Record sequence number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setRecordSequenceNumber(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+80,value);
+		}
+
+		/**
+		 * Return most_likely_class (word 23 bits 0..15). Most likely source class.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getMostLikelyClass(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+92) & 0xFFFF;
+		}
+
+		/**
+		 * Set most_likely_class (word 23 bits 0..15). Most likely source class.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setMostLikelyClass(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+92,(GCNPacketLayout.getWord(buff,offset+92) & 0xFFFF0000)|
+				(value & 0xFFFF));
+		}
+
+		/**
+		 * Return most_likely_probability (word 23 bits 16..31). Most likely source class probability (percent).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getMostLikelyProbability(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+92) >>> 16;
+		}
+
+		/**
+		 * Set most_likely_probability (word 23 bits 16..31). Most likely source class probability (percent).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setMostLikelyProbability(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+92,(GCNPacketLayout.getWord(buff,offset+92) & 0xFFFF)|
+				((value & 0xFFFF) << 16));
+		}
+
+		/**
+		 * Clear a packet, and set it's type (TYPE) and terminator.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 */
+		public static void init(byte buff[],int offset)
+		{
+			GCNPacketLayout.init(buff,offset,TYPE);
+		}
+	}
+
+	/**
+	 * Fermi GBM ground generated burst position.
+	 * Packet type 112, generated from fermi_gbm_gnd_pos.layout.
+	 */
+	public static class FermiGBMGndPos
+	{
+		/**
+		 * The packet type.
+		 */
+		public final static int TYPE = 112;
+		/**
+		 * The index of the word containing trig_num.
+		 */
+		public final static int WORD_TRIG_NUM = 4;
+		/**
+		 * The index of the word containing burst_tjd.
+		 */
+		public final static int WORD_BURST_TJD = 5;
+		/**
+		 * The index of the word containing burst_sod.
+		 */
+		public final static int WORD_BURST_SOD = 6;
+		/**
+		 * The index of the word containing burst_ra.
+		 */
+		public final static int WORD_BURST_RA = 7;
+		/**
+		 * The index of the word containing burst_dec.
+		 */
+		public final static int WORD_BURST_DEC = 8;
+		/**
+		 * The index of the word containing burst_intensity.
+		 */
+		public final static int WORD_BURST_INTENSITY = 9;
+		/**
+		 * The index of the word containing data_signif.
+		 */
+		public final static int WORD_DATA_SIGNIF = 10;
+		/**
+		 * The index of the word containing burst_error.
+		 */
+		public final static int WORD_BURST_ERROR = 11;
+		/**
+		 * The index of the word containing data_timescale.
+		 */
+		public final static int WORD_DATA_TIMESCALE = 14;
+		/**
+		 * The index of the word containing low_energy.
+		 */
+		public final static int WORD_LOW_ENERGY = 15;
+		/**
+		 * The index of the word containing high_energy.
+		 */
+		public final static int WORD_HIGH_ENERGY = 16;
+		/**
+		 * The index of the word containing location_algorithm.
+		 */
+		public final static int WORD_LOCATION_ALGORITHM = 17;
+		/**
+		 * The index of the word containing trigger_id.
+		 */
+		public final static int WORD_TRIGGER_ID = 18;
+		/**
+		 * The index of the word containing misc.
+		 */
+		public final static int WORD_MISC = 19;
+		/**
+		 * The index of the word containing record_sequence_number.
+		 */
+		public final static int WORD_RECORD_SEQUENCE_NUMBER = 20;
+		/**
+		 * The index of the word containing most_likely_class.
+		 */
+		public final static int WORD_MOST_LIKELY_CLASS = 23;
+		/**
+		 * The index of the word containing most_likely_probability.
+		 */
+		public final static int WORD_MOST_LIKELY_PROBABILITY = 23;
+
+		/**
+		 * Return trig_num (word 4). Trigger number (seconds since 2001-01-01).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getTrigNum(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+16);
+		}
+
+		/**
+		 * Set trig_num (word 4). Trigger number (seconds since 2001-01-01).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setTrigNum(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+16,value);
+		}
+
+		/**
+		 * Return burst_tjd (word 5). Burst TJD.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstTjd(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+20);
+		}
+
+		/**
+		 * Set burst_tjd (word 5). Burst TJD.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstTjd(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+20,value);
+		}
+
+		/**
+		 * Return burst_sod (word 6). Burst SOD (centi-seconds in the day).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstSod(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+24);
+		}
+
+		/**
+		 * Set burst_sod (word 6). Burst SOD (centi-seconds in the day).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstSod(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+24,value);
+		}
+
+		/**
+		 * Return burst_ra (word 7). Burst RA (0..359.9999) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getBurstRa(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+28))/10000.0;
+		}
+
+		/**
+		 * Set burst_ra (word 7). Burst RA (0..359.9999) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstRa(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+28,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return burst_dec (word 8). Burst Dec (-90..90) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getBurstDec(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+32))/10000.0;
+		}
+
+		/**
+		 * Set burst_dec (word 8). Burst Dec (-90..90) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstDec(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+32,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return burst_intensity (word 9). Burst intensity (counts).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstIntensity(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+36);
+		}
+
+		/**
+		 * Set burst_intensity (word 9). Burst intensity (counts).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstIntensity(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+36,value);
+		}
+
+		/**
+		 * Return data_signif (word 10). Data significance (sigma *100).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getDataSignif(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+40);
+		}
+
+		/**
+		 * Set data_signif (word 10). Data significance (sigma *100).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setDataSignif(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+40,value);
+		}
+
+		/**
+		 * Return burst_error (word 11). Burst error radius, degrees (0..180) *10000.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstError(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+44);
+		}
+
+		/**
+		 * Set burst_error (word 11). Burst error radius, degrees (0..180) *10000.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstError(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+44,value);
+		}
+
+		/**
+		 * Return data_timescale (word 14). Data timescale (msec).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getDataTimescale(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+56);
+		}
+
+		/**
+		 * Set data_timescale (word 14). Data timescale (msec).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setDataTimescale(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+56,value);
+		}
+
+		/**
+		 * Return low_energy (word 15). Energy range low (keV).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getLowEnergy(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+60);
+		}
+
+		/**
+		 * Set low_energy (word 15). Energy range low (keV).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setLowEnergy(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+60,value);
+		}
+
+		/**
+		 * Return high_energy (word 16). Energy range high (keV).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getHighEnergy(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+64);
+		}
+
+		/**
+		 * Set high_energy (word 16). Energy range high (keV).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setHighEnergy(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+64,value);
+		}
+
+		/**
+		 * Return location_algorithm (word 17). Location algorithm index.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getLocationAlgorithm(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+68);
+		}
+
+		/**
+		 * Set location_algorithm (word 17). Location algorithm index.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setLocationAlgorithm(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+68,value);
+		}
+
+		/**
+		 * Return trigger_id (word 18). Trigger id flags.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getTriggerId(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+72);
+		}
+
+		/**
+		 * Set trigger_id (word 18). Trigger id flags.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setTriggerId(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+72,value);
+		}
+
+		/**
+		 * Return misc (word 19). Misc (bitfield).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getMisc(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+76);
+		}
+
+		/**
+		 * Set misc (word 19). Misc (bitfield).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setMisc(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+76,value);
+		}
+
+		/**
+		 * Return record_sequence_number (word 20). Record sequence number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getRecordSequenceNumber(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+80);
+		}
+
+		/**
+		 * Set record_sequence_number (word 20). Record sequence number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setRecordSequenceNumber(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+80,value);
+		}
+
+		/**
+		 * Return most_likely_class (word 23 bits 0..15). Most likely source class.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getMostLikelyClass(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+92) & 0xFFFF;
+		}
+
+		/**
+		 * Set most_likely_class (word 23 bits 0..15). Most likely source class.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setMostLikelyClass(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+92,(GCNPacketLayout.getWord(buff,offset+92) & 0xFFFF0000)|
+				(value & 0xFFFF));
+		}
+
+		/**
+		 * Return most_likely_probability (word 23 bits 16..31). Most likely source class probability (percent).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getMostLikelyProbability(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+92) >>> 16;
+		}
+
+		/**
+		 * Set most_likely_probability (word 23 bits 16..31). Most likely source class probability (percent).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setMostLikelyProbability(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+92,(GCNPacketLayout.getWord(buff,offset+92) & 0xFFFF)|
+				((value & 0xFFFF) << 16));
+		}
+
+		/**
+		 * Clear a packet, and set it's type (TYPE) and terminator.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 */
+		public static void init(byte buff[],int offset)
+		{
+			GCNPacketLayout.init(buff,offset,TYPE);
+		}
+	}
+
+	/**
+	 * Fermi GBM final burst position.
+	 * Packet type 115, generated from fermi_gbm_fin_pos.layout.
+	 */
+	public static class FermiGBMFinPos
+	{
+		/**
+		 * The packet type.
+		 */
+		public final static int TYPE = 115;
+		/**
+		 * The index of the word containing trig_num.
+		 */
+		public final static int WORD_TRIG_NUM = 4;
+		/**
+		 * The index of the word containing burst_tjd.
+		 */
+		public final static int WORD_BURST_TJD = 5;
+		/**
+		 * The index of the word containing burst_sod.
+		 */
+		public final static int WORD_BURST_SOD = 6;
+		/**
+		 * The index of the word containing burst_ra.
+		 */
+		public final static int WORD_BURST_RA = 7;
+		/**
+		 * The index of the word containing burst_dec.
+		 */
+		public final static int WORD_BURST_DEC = 8;
+		/**
+		 * The index of the word containing burst_intensity.
+		 */
+		public final static int WORD_BURST_INTENSITY = 9;
+		/**
+		 * The index of the word containing data_signif.
+		 */
+		public final static int WORD_DATA_SIGNIF = 10;
+		/**
+		 * The index of the word containing burst_error.
+		 */
+		public final static int WORD_BURST_ERROR = 11;
+		/**
+		 * The index of the word containing data_timescale.
+		 */
+		public final static int WORD_DATA_TIMESCALE = 14;
+		/**
+		 * The index of the word containing low_energy.
+		 */
+		public final static int WORD_LOW_ENERGY = 15;
+		/**
+		 * The index of the word containing high_energy.
+		 */
+		public final static int WORD_HIGH_ENERGY = 16;
+		/**
+		 * The index of the word containing location_algorithm.
+		 */
+		public final static int WORD_LOCATION_ALGORITHM = 17;
+		/**
+		 * The index of the word containing trigger_id.
+		 */
+		public final static int WORD_TRIGGER_ID = 18;
+		/**
+		 * The index of the word containing misc.
+		 */
+		public final static int WORD_MISC = 19;
+		/**
+		 * The index of the word containing record_sequence_number.
+		 */
+		public final static int WORD_RECORD_SEQUENCE_NUMBER = 20;
+		/**
+		 * The index of the word containing most_likely_class.
+		 */
+		public final static int WORD_MOST_LIKELY_CLASS = 23;
+		/**
+		 * The index of the word containing most_likely_probability.
+		 */
+		public final static int WORD_MOST_LIKELY_PROBABILITY = 23;
+
+		/**
+		 * Return trig_num (word 4). Trigger number (seconds since 2001-01-01).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getTrigNum(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+16);
+		}
+
+		/**
+		 * Set trig_num (word 4). Trigger number (seconds since 2001-01-01).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setTrigNum(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+16,value);
+		}
+
+		/**
+		 * Return burst_tjd (word 5). Burst TJD.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstTjd(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+20);
+		}
+
+		/**
+		 * Set burst_tjd (word 5). Burst TJD.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstTjd(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+20,value);
+		}
+
+		/**
+		 * Return burst_sod (word 6). Burst SOD (centi-seconds in the day).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstSod(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+24);
+		}
+
+		/**
+		 * Set burst_sod (word 6). Burst SOD (centi-seconds in the day).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstSod(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+24,value);
+		}
+
+		/**
+		 * Return burst_ra (word 7). Burst RA (0..359.9999) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getBurstRa(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+28))/10000.0;
+		}
+
+		/**
+		 * Set burst_ra (word 7). Burst RA (0..359.9999) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstRa(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+28,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return burst_dec (word 8). Burst Dec (-90..90) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getBurstDec(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+32))/10000.0;
+		}
+
+		/**
+		 * Set burst_dec (word 8). Burst Dec (-90..90) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstDec(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+32,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return burst_intensity (word 9). Burst intensity (counts).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstIntensity(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+36);
+		}
+
+		/**
+		 * Set burst_intensity (word 9). Burst intensity (counts).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstIntensity(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+36,value);
+		}
+
+		/**
+		 * Return data_signif (word 10). Data significance (sigma *100).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getDataSignif(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+40);
+		}
+
+		/**
+		 * Set data_signif (word 10). Data significance (sigma *100).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setDataSignif(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+40,value);
+		}
+
+		/**
+		 * Return burst_error (word 11). Burst error radius, degrees (0..180) *10000.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstError(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+44);
+		}
+
+		/**
+		 * Set burst_error (word 11). Burst error radius, degrees (0..180) *10000.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstError(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+44,value);
+		}
+
+		/**
+		 * Return data_timescale (word 14). Data timescale (msec).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getDataTimescale(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+56);
+		}
+
+		/**
+		 * Set data_timescale (word 14). Data timescale (msec).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setDataTimescale(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+56,value);
+		}
+
+		/**
+		 * Return low_energy (word 15). Energy range low (keV).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getLowEnergy(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+60);
+		}
+
+		/**
+		 * Set low_energy (word 15). Energy range low (keV).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setLowEnergy(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+60,value);
+		}
+
+		/**
+		 * Return high_energy (word 16). Energy range high (keV).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getHighEnergy(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+64);
+		}
+
+		/**
+		 * Set high_energy (word 16). Energy range high (keV).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setHighEnergy(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+64,value);
+		}
+
+		/**
+		 * Return location_algorithm (word 17). Location algorithm index.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getLocationAlgorithm(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+68);
+		}
+
+		/**
+		 * Set location_algorithm (word 17). Location algorithm index.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setLocationAlgorithm(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+68,value);
+		}
+
+		/**
+		 * Return trigger_id (word 18). Trigger id flags.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getTriggerId(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+72);
+		}
+
+		/**
+		 * Set trigger_id (word 18). Trigger id flags.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setTriggerId(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+72,value);
+		}
+
+		/**
+		 * Return misc (word 19). Misc (bitfield).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getMisc(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+76);
+		}
+
+		/**
+		 * Set misc (word 19). Misc (bitfield).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setMisc(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+76,value);
+		}
+
+		/**
+		 * Return record_sequence_number (word 20). Record sequence number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getRecordSequenceNumber(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+80);
+		}
+
+		/**
+		 * Set record_sequence_number (word 20). Record sequence number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setRecordSequenceNumber(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+80,value);
+		}
+
+		/**
+		 * Return most_likely_class (word 23 bits 0..15). Most likely source class.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getMostLikelyClass(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+92) & 0xFFFF;
+		}
+
+		/**
+		 * Set most_likely_class (word 23 bits 0..15). Most likely source class.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setMostLikelyClass(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+92,(GCNPacketLayout.getWord(buff,offset+92) & 0xFFFF0000)|
+				(value & 0xFFFF));
+		}
+
+		/**
+		 * Return most_likely_probability (word 23 bits 16..31). Most likely source class probability (percent).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getMostLikelyProbability(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+92) >>> 16;
+		}
+
+		/**
+		 * Set most_likely_probability (word 23 bits 16..31). Most likely source class probability (percent).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setMostLikelyProbability(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+92,(GCNPacketLayout.getWord(buff,offset+92) & 0xFFFF)|
+				((value & 0xFFFF) << 16));
+		}
+
+		/**
+		 * Clear a packet, and set it's type (TYPE) and terminator.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 */
+		public static void init(byte buff[],int offset)
+		{
+			GCNPacketLayout.init(buff,offset,TYPE);
+		}
+	}
+
+	/**
+	 * Fermi LAT updated burst position.
+	 * Packet type 121, generated from fermi_lat_grb_pos_upd.layout.
+	 */
+	public static class FermiLATGRBPosUpd
+	{
+		/**
+		 * The packet type.
+		 */
+		public final static int TYPE = 121;
+		/**
+		 * The index of the word containing trig_num.
+		 */
+		public final static int WORD_TRIG_NUM = 4;
+		/**
+		 * The index of the word containing burst_tjd.
+		 */
+		public final static int WORD_BURST_TJD = 5;
+		/**
+		 * The index of the word containing burst_sod.
+		 */
+		public final static int WORD_BURST_SOD = 6;
+		/**
+		 * The index of the word containing burst_ra.
+		 */
+		public final static int WORD_BURST_RA = 7;
+		/**
+		 * The index of the word containing burst_dec.
+		 */
+		public final static int WORD_BURST_DEC = 8;
+		/**
+		 * The index of the word containing burst_intensity.
+		 */
+		public final static int WORD_BURST_INTENSITY = 9;
+		/**
+		 * The index of the word containing burst_error.
+		 */
+		public final static int WORD_BURST_ERROR = 11;
+		/**
+		 * The index of the word containing phi.
+		 */
+		public final static int WORD_PHI = 12;
+		/**
+		 * The index of the word containing theta.
+		 */
+		public final static int WORD_THETA = 13;
+		/**
+		 * The index of the word containing integ_time.
+		 */
+		public final static int WORD_INTEG_TIME = 14;
+		/**
+		 * The index of the word containing trigger_index.
+		 */
+		public final static int WORD_TRIGGER_INDEX = 17;
+		/**
+		 * The index of the word containing trigger_id.
+		 */
+		public final static int WORD_TRIGGER_ID = 18;
+		/**
+		 * The index of the word containing misc.
+		 */
+		public final static int WORD_MISC = 19;
+		/**
+		 * The index of the word containing record_sequence_number.
+		 */
+		public final static int WORD_RECORD_SEQUENCE_NUMBER = 20;
+		/**
+		 * The index of the word containing temp_stat.
+		 */
+		public final static int WORD_TEMP_STAT = 25;
+		/**
+		 * The index of the word containing image_stat.
+		 */
+		public final static int WORD_IMAGE_STAT = 26;
+
+		/**
+		 * Return trig_num (word 4). Trigger number (seconds since 2001-01-01).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getTrigNum(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+16);
+		}
+
+		/**
+		 * Set trig_num (word 4). Trigger number (seconds since 2001-01-01).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setTrigNum(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+16,value);
+		}
+
+		/**
+		 * Return burst_tjd (word 5). Burst TJD.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstTjd(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+20);
+		}
+
+		/**
+		 * Set burst_tjd (word 5). Burst TJD.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstTjd(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+20,value);
+		}
+
+		/**
+		 * Return burst_sod (word 6). Burst SOD (centi-seconds in the day).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstSod(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+24);
+		}
+
+		/**
+		 * Set burst_sod (word 6). Burst SOD (centi-seconds in the day).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstSod(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+24,value);
+		}
+
+		/**
+		 * Return burst_ra (word 7). Burst RA (0..359.9999) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getBurstRa(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+28))/10000.0;
+		}
+
+		/**
+		 * Set burst_ra (word 7). Burst RA (0..359.9999) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstRa(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+28,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return burst_dec (word 8). Burst Dec (-90..90) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getBurstDec(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+32))/10000.0;
+		}
+
+		/**
+		 * Set burst_dec (word 8). Burst Dec (-90..90) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstDec(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+32,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return burst_intensity (word 9). Number of events used in the location calculation (counts).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstIntensity(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+36);
+		}
+
+		/**
+		 * Set burst_intensity (word 9). Number of events used in the location calculation (counts).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstIntensity(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+36,value);
+		}
+
+		/**
+		 * Return burst_error (word 11). Burst error radius, degrees (0..180) *10000.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstError(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+44);
+		}
+
+		/**
+		 * Set burst_error (word 11). Burst error radius, degrees (0..180) *10000.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstError(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+44,value);
+		}
+
+		/**
+		 * Return phi (word 12). Phi (0..359) degrees *100.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getPhi(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+48);
+		}
+
+		/**
+		 * Set phi (word 12). Phi (0..359) degrees *100.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setPhi(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+48,value);
+		}
+
+		/**
+		 * Return theta (word 13). Theta (0..100) degrees *100.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getTheta(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+52);
+		}
+
+		/**
+		 * Set theta (word 13). Theta (0..100) degrees *100.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setTheta(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+52,value);
+		}
+
+		/**
+		 * Return integ_time (word 14). Integration time (msec).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getIntegTime(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+56);
+		}
+
+		/**
+		 * Set integ_time (word 14). Integration time (msec).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setIntegTime(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+56,value);
+		}
+
+		/**
+		 * Return trigger_index (word 17). Trigger index.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getTriggerIndex(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+68);
+		}
+
+		/**
+		 * Set trigger_index (word 17). Trigger index.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setTriggerIndex(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+68,value);
+		}
+
+		/**
+		 * Return trigger_id (word 18). Trigger id flags.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getTriggerId(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+72);
+		}
+
+		/**
+		 * Set trigger_id (word 18). Trigger id flags.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setTriggerId(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+72,value);
+		}
+
+		/**
+		 * Return misc (word 19). Misc (bitfield).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getMisc(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+76);
+		}
+
+		/**
+		 * Set misc (word 19). Misc (bitfield).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setMisc(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+76,value);
+		}
+
+		/**
+		 * Return record_sequence_number (word 20). Record sequence number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getRecordSequenceNumber(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+80);
+		}
+
+		/**
+		 * Set record_sequence_number (word 20). Record sequence number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setRecordSequenceNumber(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+80,value);
+		}
+
+		/**
+		 * Return temp_stat (word 25). Temporal test statistic, (int)(4*(-log10(probability))).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getTempStat(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+100);
+		}
+
+		/**
+		 * Set temp_stat (word 25). Temporal test statistic, (int)(4*(-log10(probability))).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setTempStat(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+100,value);
+		}
+
+		/**
+		 * Return image_stat (word 26). Image test statistic, (int)(4*(-log10(probability))).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getImageStat(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+104);
+		}
+
+		/**
+		 * Set image_stat (word 26). Image test statistic, (int)(4*(-log10(probability))).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setImageStat(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+104,value);
+		}
+
+		/**
+		 * Clear a packet, and set it's type (TYPE) and terminator.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 */
+		public static void init(byte buff[],int offset)
+		{
+			GCNPacketLayout.init(buff,offset,TYPE);
+		}
+	}
+
+	/**
+	 * Fermi LAT ground analysis burst position.
+	 * Packet type 127, generated from fermi_lat_gnd.layout.
+	 */
+	public static class FermiLATGnd
+	{
+		/**
+		 * The packet type.
+		 */
+		public final static int TYPE = 127;
+		/**
+		 * The index of the word containing trig_num.
+		 */
+		public final static int WORD_TRIG_NUM = 4;
+		/**
+		 * The index of the word containing burst_tjd.
+		 */
+		public final static int WORD_BURST_TJD = 5;
+		/**
+		 * The index of the word containing burst_sod.
+		 */
+		public final static int WORD_BURST_SOD = 6;
+		/**
+		 * The index of the word containing burst_ra.
+		 */
+		public final static int WORD_BURST_RA = 7;
+		/**
+		 * The index of the word containing burst_dec.
+		 */
+		public final static int WORD_BURST_DEC = 8;
+		/**
+		 * The index of the word containing burst_intensity.
+		 */
+		public final static int WORD_BURST_INTENSITY = 9;
+		/**
+		 * The index of the word containing burst_error.
+		 */
+		public final static int WORD_BURST_ERROR = 11;
+		/**
+		 * The index of the word containing phi.
+		 */
+		public final static int WORD_PHI = 12;
+		/**
+		 * The index of the word containing theta.
+		 */
+		public final static int WORD_THETA = 13;
+		/**
+		 * The index of the word containing integ_time.
+		 */
+		public final static int WORD_INTEG_TIME = 14;
+		/**
+		 * The index of the word containing trigger_index.
+		 */
+		public final static int WORD_TRIGGER_INDEX = 17;
+		/**
+		 * The index of the word containing trigger_id.
+		 */
+		public final static int WORD_TRIGGER_ID = 18;
+		/**
+		 * The index of the word containing misc.
+		 */
+		public final static int WORD_MISC = 19;
+		/**
+		 * The index of the word containing record_sequence_number.
+		 */
+		public final static int WORD_RECORD_SEQUENCE_NUMBER = 20;
+		/**
+		 * The index of the word containing temp_stat.
+		 */
+		public final static int WORD_TEMP_STAT = 25;
+		/**
+		 * The index of the word containing image_stat.
+		 */
+		public final static int WORD_IMAGE_STAT = 26;
+		/**
+		 * The index of the word containing location_quality.
+		 */
+		public final static int WORD_LOCATION_QUALITY = 38;
+
+		/**
+		 * Return trig_num (word 4). Trigger number (seconds since 2001-01-01).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getTrigNum(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+16);
+		}
+
+		/**
+		 * Set trig_num (word 4). Trigger number (seconds since 2001-01-01).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setTrigNum(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+16,value);
+		}
+
+		/**
+		 * Return burst_tjd (word 5). Burst TJD.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstTjd(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+20);
+		}
+
+		/**
+		 * Set burst_tjd (word 5). Burst TJD.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstTjd(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+20,value);
+		}
+
+		/**
+		 * Return burst_sod (word 6). Burst SOD (centi-seconds in the day).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstSod(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+24);
+		}
+
+		/**
+		 * Set burst_sod (word 6). Burst SOD (centi-seconds in the day).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstSod(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+24,value);
+		}
+
+		/**
+		 * Return burst_ra (word 7). Burst RA (0..359.9999) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getBurstRa(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+28))/10000.0;
+		}
+
+		/**
+		 * Set burst_ra (word 7). Burst RA (0..359.9999) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstRa(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+28,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return burst_dec (word 8). Burst Dec (-90..90) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getBurstDec(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+32))/10000.0;
+		}
+
+		/**
+		 * Set burst_dec (word 8). Burst Dec (-90..90) degrees.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstDec(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+32,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Return burst_intensity (word 9). Number of events used in the location calculation (counts).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstIntensity(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+36);
+		}
+
+		/**
+		 * Set burst_intensity (word 9). Number of events used in the location calculation (counts).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstIntensity(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+36,value);
+		}
+
+		/**
+		 * Return burst_error (word 11). Burst error radius, degrees (0..180) *10000.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getBurstError(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+44);
+		}
+
+		/**
+		 * Set burst_error (word 11). Burst error radius, degrees (0..180) *10000.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setBurstError(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+44,value);
+		}
+
+		/**
+		 * Return phi (word 12). Phi (0..359) degrees *100.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getPhi(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+48);
+		}
+
+		/**
+		 * Set phi (word 12). Phi (0..359) degrees *100.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setPhi(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+48,value);
+		}
+
+		/**
+		 * Return theta (word 13). Theta (0..100) degrees *100.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getTheta(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+52);
+		}
+
+		/**
+		 * Set theta (word 13). Theta (0..100) degrees *100.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setTheta(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+52,value);
+		}
+
+		/**
+		 * Return integ_time (word 14). Integration time (msec).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getIntegTime(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+56);
+		}
+
+		/**
+		 * Set integ_time (word 14). Integration time (msec).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setIntegTime(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+56,value);
+		}
+
+		/**
+		 * Return trigger_index (word 17). Trigger index.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getTriggerIndex(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+68);
+		}
+
+		/**
+		 * Set trigger_index (word 17). Trigger index.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setTriggerIndex(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+68,value);
+		}
+
+		/**
+		 * Return trigger_id (word 18). Trigger id flags.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getTriggerId(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+72);
+		}
+
+		/**
+		 * Set trigger_id (word 18). Trigger id flags.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setTriggerId(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+72,value);
+		}
+
+		/**
+		 * Return misc (word 19). Misc (bitfield).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getMisc(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+76);
+		}
+
+		/**
+		 * Set misc (word 19). Misc (bitfield).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setMisc(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+76,value);
+		}
+
+		/**
+		 * Return record_sequence_number (word 20). Record sequence number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getRecordSequenceNumber(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+80);
+		}
+
+		/**
+		 * Set record_sequence_number (word 20). Record sequence number.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setRecordSequenceNumber(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+80,value);
+		}
+
+		/**
+		 * Return temp_stat (word 25). Temporal test statistic, (int)(4*(-log10(probability))).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getTempStat(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+100);
+		}
+
+		/**
+		 * Set temp_stat (word 25). Temporal test statistic, (int)(4*(-log10(probability))).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setTempStat(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+100,value);
+		}
+
+		/**
+		 * Return image_stat (word 26). Image test statistic, (int)(4*(-log10(probability))).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static int getImageStat(byte buff[],int offset)
+		{
+			return GCNPacketLayout.getWord(buff,offset+104);
+		}
+
+		/**
+		 * Set image_stat (word 26). Image test statistic, (int)(4*(-log10(probability))).
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setImageStat(byte buff[],int offset,int value)
+		{
+			GCNPacketLayout.setWord(buff,offset+104,value);
+		}
+
+		/**
+		 * Return location_quality (word 38). Location quality.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @return The value.
+		 */
+		public static double getLocationQuality(byte buff[],int offset)
+		{
+			return ((double)GCNPacketLayout.getWord(buff,offset+152))/10000.0;
+		}
+
+		/**
+		 * Set location_quality (word 38). Location quality.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 * @param value The value.
+		 */
+		public static void setLocationQuality(byte buff[],int offset,double value)
+		{
+			GCNPacketLayout.setWord(buff,offset+152,(int)Math.round(value*10000.0));
+		}
+
+		/**
+		 * Clear a packet, and set it's type (TYPE) and terminator.
+		 * @param buff The buffer containing the packet.
+		 * @param offset The offset of the packet in the buffer.
+		 */
+		public static void init(byte buff[],int offset)
+		{
+			GCNPacketLayout.init(buff,offset,TYPE);
+		}
+	}
+}
+//
+// $Log: not supported by cvs2svn $
+//
@@ -0,0 +1,779 @@
+// GCNPacketLayoutGenerator.java
+package org.estar.gcn;
+
+import java.io.*;
+import java.lang.*;
+import java.text.*;
+import java.util.*;
+
+/**
+ * Build time generator of GCNPacketLayout, the packet field decoder and encoder, from packet layout
+ * description files (one per packet type, in the layouts directory).
+ * <p>
+ * A layout file contains blank lines, comment lines starting with '#', and:
+ * <ul>
+ * <li>One <b>packet &lt;type&gt; &lt;class name&gt; [description]</b> line, giving the packet type number and the name
+ *     of the nested class generated for it.
+ * <li>A field line per field: <b>&lt;word&gt; &lt;name&gt; &lt;kind&gt; [kind arguments] [description]</b>, where word is 4..38,
+ *     name is a lower case (snake_case) field name, unique in the packet, and kind is one of:
+ *     <ul>
+ *     <li><b>int</b> The whole word, as an int.
+ *     <li><b>bits &lt;lsb&gt; &lt;width&gt;</b> An unsigned bitfield, width bits long starting at bit lsb.
+ *     <li><b>sbits &lt;lsb&gt; &lt;width&gt;</b> A signed (two's complement) bitfield.
+ *     <li><b>scaled &lt;factor&gt;</b> The whole word, as a double, where the word holds the value multiplied
+ *         by factor (e.g. 10000 for RA/Dec in degrees *10000).
+ *     </ul>
+ * </ul>
+ * Words 0..3 (pkt_type, pkt_sernum, pkt_hop_cnt, pkt_sod) and 39 (the terminator) are common to all packets,
+ * and are generated once in the outer class. Fields in the same word must not overlap.
+ * <p>
+ * For each field a static get and set method is generated, with the word's byte offset in the packet as a
+ * constant, so decoding and encoding are straight line code the JIT can inline, that does not allocate.
+ * The decoder and encoder are generated from the same description, so they cannot drift apart.
+ * <pre>
+ * java org.estar.gcn.GCNPacketLayoutGenerator -o GCNPacketLayout.java layouts/*.layout
+ * </pre>
+ * @author Chris Mottram
+ * @version $Revision$
+ * @see GCNPacketView
+ * @see GCNPacketGenerator
+ */
+public class GCNPacketLayoutGenerator
+{
+// constants
+	/**
+	 * Revision control system version id.
+	 */
+	public final static String RCSID = "$Id$";
+	/**
+	 * The name of the generated class.
+	 */
+	public final static String CLASS_NAME = "GCNPacketLayout";
+	/**
+	 * The first word a layout file can describe. Words before this are the common header.
+	 */
+	public final static int FIRST_WORD = 4;
+	/**
+	 * The last word a layout file can describe. The word after this is the terminator.
+	 */
+	public final static int LAST_WORD = 38;
+	/**
+	 * Field kind, the whole word as an int.
+	 */
+	public final static int KIND_INT = 0;
+	/**
+	 * Field kind, an unsigned bitfield.
+	 */
+	public final static int KIND_BITS = 1;
+	/**
+	 * Field kind, a signed bitfield.
+	 */
+	public final static int KIND_SBITS = 2;
+	/**
+	 * Field kind, the whole word as a double, multiplied by a factor.
+	 */
+	public final static int KIND_SCALED = 3;
+	/**
+	 * The names of the field kinds in a layout file, indexed by kind.
+	 */
+	public final static String KIND_NAME_LIST[] = {"int","bits","sbits","scaled"};
+	/**
+	 * The list of layouts loaded, in packet type order.
+	 * @see GCNPacketLayoutGenerator.Layout
+	 */
+	protected Vector layoutList = null;
+	/**
+	 * The file to write the generated class to, or null to write it to standard output.
+	 */
+	protected File outputFile = null;
+	/**
+	 * The layout files to load.
+	 */
+	protected Vector inputFileList = null;
+
+	/**
+	 * Default constructor.
+	 */
+	public GCNPacketLayoutGenerator()
+	{
+		super();
+		layoutList = new Vector();
+		inputFileList = new Vector();
+	}
+
+	/**
+	 * Load a packet layout file. The layout is inserted into layoutList in packet type order.
+	 * @param file The layout file.
+	 * @exception IOException Thrown if reading the file fails.
+	 * @exception ParseException Thrown if a line in the file cannot be parsed, the file does not have
+	 *            exactly one packet line, a field is illegal or overlaps another, or the packet type
+	 *            or class name has already been loaded.
+	 * @see #layoutList
+	 * @see #parseField
+	 */
+	public void load(File file) throws IOException, ParseException
+	{
+		BufferedReader reader = null;
+		Layout layout = null;
+		Layout otherLayout = null;
+		String line = null;
+		String tokenList[] = null;
+		long usedBits[] = null;
+		int lineNumber,index;
+
+		layout = new Layout();
+		layout.file = file;
+		usedBits = new long[LAST_WORD+1];
+		reader = new BufferedReader(new FileReader(file));
+		try
+		{
+			lineNumber = 0;
+			while((line = reader.readLine()) != null)
+			{
+				lineNumber++;
+				line = line.trim();
+				if((line.length() == 0)||line.startsWith("#"))
+					continue;
+				tokenList = line.split("\\s+");
+				try
+				{
+					if(tokenList[0].equals("packet")&&(tokenList.length >= 3))
+					{
+						if(layout.className != null)
+						{
+							throw new ParseException(file+":"+lineNumber+
+									":More than one packet line:"+line,lineNumber);
+						}
+						layout.type = Integer.parseInt(tokenList[1]);
+						layout.className = tokenList[2];
+						layout.description = join(tokenList,3);
+						if((layout.type < 0)||(layout.type > 255)||
+						   (isIdentifier(layout.className) == false))
+						{
+							throw new ParseException(file+":"+lineNumber+
+									":Illegal packet line:"+line,lineNumber);
+						}
+					}
+					else
+						parseField(file,lineNumber,line,tokenList,layout,usedBits);
+				}
+				catch(NumberFormatException e)
+				{
+					throw new ParseException(file+":"+lineNumber+":Illegal number:"+line+":"+e,
+								 lineNumber);
+				}
+			}
+		}
+		finally
+		{
+			reader.close();
+		}
+		if(layout.className == null)
+			throw new ParseException(file+":No packet line.",0);
+		index = 0;
+		while(index < layoutList.size())
+		{
+			otherLayout = (Layout)(layoutList.elementAt(index));
+			if((otherLayout.type == layout.type)||otherLayout.className.equals(layout.className))
+			{
+				throw new ParseException(file+":Packet type "+layout.type+" or class "+
+							 layout.className+" already described in "+otherLayout.file,0);
+			}
+			if(otherLayout.type > layout.type)
+				break;
+			index++;
+		}
+		layoutList.insertElementAt(layout,index);
+	}
+
+	/**
+	 * Parse a field line, and add the field to the layout.
+	 * @param file The layout file, for error messages.
+	 * @param lineNumber The line number, for error messages.
+	 * @param line The line.
+	 * @param tokenList The line split into tokens.
+	 * @param layout The layout to add the field to.
+	 * @param usedBits The bits of each word used by the fields already parsed, indexed by word.
+	 * @exception ParseException Thrown if the line is illegal, or the field overlaps another field.
+	 * @exception NumberFormatException Thrown if a number on the line is illegal.
+	 * @see GCNPacketLayoutGenerator.Field
+	 */
+	protected void parseField(File file,int lineNumber,String line,String tokenList[],Layout layout,
+				  long usedBits[]) throws ParseException, NumberFormatException
+	{
+		Field field = null;
+		long fieldBits;
+		int argumentCount;
+
+		if(tokenList.length < 3)
+			throw new ParseException(file+":"+lineNumber+":Illegal field:"+line,lineNumber);
+		field = new Field();
+		field.word = Integer.parseInt(tokenList[0]);
+		field.name = tokenList[1];
+		field.kind = -1;
+		for(int i = 0; i < KIND_NAME_LIST.length; i++)
+		{
+			if(tokenList[2].equals(KIND_NAME_LIST[i]))
+				field.kind = i;
+		}
+		argumentCount = 0;
+		field.lsb = 0;
+		field.width = 32;
+		if((field.kind == KIND_BITS)||(field.kind == KIND_SBITS))
+		{
+			argumentCount = 2;
+			if(tokenList.length < 5)
+				throw new ParseException(file+":"+lineNumber+":Illegal bitfield:"+line,lineNumber);
+			field.lsb = Integer.parseInt(tokenList[3]);
+			field.width = Integer.parseInt(tokenList[4]);
+		}
+		else if(field.kind == KIND_SCALED)
+		{
+			argumentCount = 1;
+			if(tokenList.length < 4)
+				throw new ParseException(file+":"+lineNumber+":Illegal scaled field:"+line,lineNumber);
+			field.factor = Double.parseDouble(tokenList[3]);
+		}
+		field.description = join(tokenList,3+argumentCount);
+		if((field.kind < 0)||(field.word < FIRST_WORD)||(field.word > LAST_WORD)||
+		   (isIdentifier(toCamelCase(field.name,true)) == false)||(field.lsb < 0)||(field.width < 1)||
+		   ((field.lsb+field.width) > 32)||((field.kind == KIND_SCALED)&&(field.factor == 0.0)))
+		{
+			throw new ParseException(file+":"+lineNumber+":Illegal field:"+line,lineNumber);
+		}
+		for(int i = 0; i < layout.fieldList.size(); i++)
+		{
+			if(((Field)(layout.fieldList.elementAt(i))).name.equals(field.name))
+			{
+				throw new ParseException(file+":"+lineNumber+":Duplicate field name:"+line,
+							 lineNumber);
+			}
+		}
+		fieldBits = ((1L << field.width)-1L) << field.lsb;
+		if((usedBits[field.word] & fieldBits) != 0)
+		{
+			throw new ParseException(file+":"+lineNumber+":Field overlaps another field in word "+
+						 field.word+":"+line,lineNumber);
+		}
+		usedBits[field.word] |= fieldBits;
+		layout.fieldList.addElement(field);
+	}
+
+	/**
+	 * Write the generated GCNPacketLayout class.
+	 * @param out The writer to write the class to.
+	 * @see #writeField
+	 */
+	public void write(PrintWriter out)
+	{
+		Layout layout = null;
+		StringBuffer sb = null;
+
+		out.println("// "+CLASS_NAME+".java");
+		out.println("// Generated by GCNPacketLayoutGenerator from the packet layout files, do not edit.");
+		out.println("package org.estar.gcn;");
+		out.println();
+		out.println("import java.lang.*;");
+		out.println();
+		out.println("/**");
+		out.println(" * Packet field decoder and encoder, generated by GCNPacketLayoutGenerator from the packet layout");
+		out.println(" * files. There is a nested class per packet type, with a static get and set method per field,");
+		out.println(" * reading and writing the field directly in the packet buffer. The fields common to all packets");
+		out.println(" * (the header and terminator) are in this class.");
+		out.println(" * @author Chris Mottram");
+		out.println(" * @version $"+"Revision$");
+		out.println(" * @see GCNPacketLayoutGenerator");
+		out.println(" */");
+		out.println("public class "+CLASS_NAME);
+		out.println("{");
+		out.println("// constants");
+		out.println("\t/**");
+		out.println("\t * Revision control system version id.");
+		out.println("\t */");
+		out.println("\tpublic final static String RCSID = \"$"+"Id$\";");
+		out.println("\t/**");
+		out.println("\t * The length of a packet, in bytes.");
+		out.println("\t */");
+		out.println("\tpublic final static int PACKET_LENGTH = 160;");
+		out.println("\t/**");
+		out.println("\t * The terminator word value (the bytes 0x00 0x00 0x00 '\\n').");
+		out.println("\t */");
+		out.println("\tpublic final static int TERMINATOR = 0x0000000A;");
+		sb = new StringBuffer();
+		for(int i = 0; i < layoutList.size(); i++)
+		{
+			if(i > 0)
+				sb.append(",");
+			sb.append(((Layout)(layoutList.elementAt(i))).type);
+		}
+		out.println("\t/**");
+		out.println("\t * The packet types with a layout.");
+		out.println("\t */");
+		out.println("\tpublic final static int TYPE_LIST[] = {"+sb+"};");
+		writeFields(out,"\t",getHeaderFieldList());
+		out.println();
+		out.println("\t/**");
+		out.println("\t * Clear a packet, and set it's type and terminator.");
+		out.println("\t * @param buff The buffer containing the packet.");
+		out.println("\t * @param offset The offset of the packet in the buffer.");
+		out.println("\t * @param type The packet type.");
+		out.println("\t */");
+		out.println("\tpublic static void init(byte buff[],int offset,int type)");
+		out.println("\t{");
+		out.println("\t\tfor(int i = 0; i < PACKET_LENGTH; i++)");
+		out.println("\t\t\tbuff[offset+i] = 0;");
+		out.println("\t\tsetPktType(buff,offset,type);");
+		out.println("\t\tsetTerm(buff,offset,TERMINATOR);");
+		out.println("\t}");
+		out.println();
+		out.println("\t/**");
+		out.println("\t * Return a (big endian, 4 byte) word of a packet buffer.");
+		out.println("\t * @param buff The buffer.");
+		out.println("\t * @param index The index of the first byte of the word in the buffer.");
+		out.println("\t * @return The word.");
+		out.println("\t */");
+		out.println("\tpublic static int getWord(byte buff[],int index)");
+		out.println("\t{");
+		out.println("\t\treturn ((buff[index] & 0xFF) << 24)|((buff[index+1] & 0xFF) << 16)|"+
+			    "((buff[index+2] & 0xFF) << 8)|");
+		out.println("\t\t\t(buff[index+3] & 0xFF);");
+		out.println("\t}");
+		out.println();
+		out.println("\t/**");
+		out.println("\t * Set a (big endian, 4 byte) word of a packet buffer.");
+		out.println("\t * @param buff The buffer.");
+		out.println("\t * @param index The index of the first byte of the word in the buffer.");
+		out.println("\t * @param value The word.");
+		out.println("\t */");
+		out.println("\tpublic static void setWord(byte buff[],int index,int value)");
+		out.println("\t{");
+		out.println("\t\tbuff[index] = (byte)(value >>> 24);");
+		out.println("\t\tbuff[index+1] = (byte)(value >>> 16);");
+		out.println("\t\tbuff[index+2] = (byte)(value >>> 8);");
+		out.println("\t\tbuff[index+3] = (byte)value;");
+		out.println("\t}");
+		for(int i = 0; i < layoutList.size(); i++)
+		{
+			layout = (Layout)(layoutList.elementAt(i));
+			out.println();
+			out.println("\t/**");
+			if(layout.description.length() > 0)
+				out.println("\t * "+layout.description);
+			out.println("\t * Packet type "+layout.type+", generated from "+layout.file.getName()+".");
+			out.println("\t */");
+			out.println("\tpublic static class "+layout.className);
+			out.println("\t{");
+			out.println("\t\t/**");
+			out.println("\t\t * The packet type.");
+			out.println("\t\t */");
+			out.println("\t\tpublic final static int TYPE = "+layout.type+";");
+			writeFields(out,"\t\t",layout.fieldList);
+			out.println();
+			out.println("\t\t/**");
+			out.println("\t\t * Clear a packet, and set it's type (TYPE) and terminator.");
+			out.println("\t\t * @param buff The buffer containing the packet.");
+			out.println("\t\t * @param offset The offset of the packet in the buffer.");
+			out.println("\t\t */");
+			out.println("\t\tpublic static void init(byte buff[],int offset)");
+			out.println("\t\t{");
+			out.println("\t\t\t"+CLASS_NAME+".init(buff,offset,TYPE);");
+			out.println("\t\t}");
+			out.println("\t}");
+		}
+		out.println("}");
+		out.println("//");
+		out.println("// $"+"Log: not supported by cvs2svn $");
+		out.println("//");
+	}
+
+	/**
+	 * Write the word index constants, then the get and set methods, of a list of fields.
+	 * @param out The writer.
+	 * @param indent The indent of the class members.
+	 * @param fieldList The fields.
+	 * @see #writeField
+	 */
+	protected void writeFields(PrintWriter out,String indent,Vector fieldList)
+	{
+		Field field = null;
+		Vector constantList = null;
+		String constantName = null;
+
+		constantList = new Vector();
+		for(int i = 0; i < fieldList.size(); i++)
+		{
+			field = (Field)(fieldList.elementAt(i));
+			constantName = "WORD_"+field.name.toUpperCase();
+			if(constantList.contains(constantName))
+				continue;
+			constantList.addElement(constantName);
+			out.println(indent+"/**");
+			out.println(indent+" * The index of the word containing "+field.name+".");
+			out.println(indent+" */");
+			out.println(indent+"public final static int "+constantName+" = "+field.word+";");
+		}
+		for(int i = 0; i < fieldList.size(); i++)
+			writeField(out,indent,(Field)(fieldList.elementAt(i)));
+	}
+
+	/**
+	 * Write the get and set methods of a field. The offset of the field's word is a constant in the
+	 * generated code, bitfields are extracted/inserted with constant shifts and masks.
+	 * @param out The writer.
+	 * @param indent The indent of the class members.
+	 * @param field The field.
+	 */
+	protected void writeField(PrintWriter out,String indent,Field field)
+	{
+		String methodName = null;
+		String index = null;
+		String word = null;
+		String valueType = null;
+		String mask = null;
+		String description = null;
+		int byteOffset;
+
+		methodName = toCamelCase(field.name,true);
+		byteOffset = field.word*4;
+		if(byteOffset == 0)
+			index = "offset";
+		else
+			index = "offset+"+byteOffset;
+		word = CLASS_NAME+".getWord(buff,"+index+")";
+		if(field.kind == KIND_SCALED)
+			valueType = "double";
+		else
+			valueType = "int";
+		description = field.description;
+		if(description.length() == 0)
+			description = field.name+".";
+		mask = "0x"+Integer.toHexString((int)((1L << field.width)-1L)).toUpperCase();
+		// get
+		out.println();
+		out.println(indent+"/**");
+		out.println(indent+" * Return "+field.name+" (word "+field.word+getBitRange(field)+"). "+description);
+		out.println(indent+" * @param buff The buffer containing the packet.");
+		out.println(indent+" * @param offset The offset of the packet in the buffer.");
+		out.println(indent+" * @return The value.");
+		out.println(indent+" */");
+		out.println(indent+"public static "+valueType+" get"+methodName+"(byte buff[],int offset)");
+		out.println(indent+"{");
+		switch(field.kind)
+		{
+			case KIND_INT:
+				out.println(indent+"\treturn "+word+";");
+				break;
+			case KIND_BITS:
+				if(field.lsb == 0)
+					out.println(indent+"\treturn "+word+" & "+mask+";");
+				else if((field.lsb+field.width) == 32)
+					out.println(indent+"\treturn "+word+" >>> "+field.lsb+";");
+				else
+					out.println(indent+"\treturn ("+word+" >>> "+field.lsb+") & "+mask+";");
+				break;
+			case KIND_SBITS:
+				if((32-field.lsb-field.width) == 0)
+					out.println(indent+"\treturn "+word+" >> "+(32-field.width)+";");
+				else
+				{
+					out.println(indent+"\treturn ("+word+" << "+(32-field.lsb-field.width)+") >> "+
+						    (32-field.width)+";");
+				}
+				break;
+			case KIND_SCALED:
+				out.println(indent+"\treturn ((double)"+word+")/"+field.factor+";");
+				break;
+		}
+		out.println(indent+"}");
+		// set
+		out.println();
+		out.println(indent+"/**");
+		out.println(indent+" * Set "+field.name+" (word "+field.word+getBitRange(field)+"). "+description);
+		out.println(indent+" * @param buff The buffer containing the packet.");
+		out.println(indent+" * @param offset The offset of the packet in the buffer.");
+		out.println(indent+" * @param value The value.");
+		out.println(indent+" */");
+		out.println(indent+"public static void set"+methodName+"(byte buff[],int offset,"+valueType+" value)");
+		out.println(indent+"{");
+		switch(field.kind)
+		{
+			case KIND_INT:
+				out.println(indent+"\t"+CLASS_NAME+".setWord(buff,"+index+",value);");
+				break;
+			case KIND_BITS:
+			case KIND_SBITS:
+				out.println(indent+"\t"+CLASS_NAME+".setWord(buff,"+index+",("+word+" & 0x"+
+					    Integer.toHexString(~(int)(((1L << field.width)-1L) << field.lsb)).toUpperCase()+
+					    ")|");
+				if(field.lsb == 0)
+					out.println(indent+"\t\t(value & "+mask+"));");
+				else
+					out.println(indent+"\t\t((value & "+mask+") << "+field.lsb+"));");
+				break;
+			case KIND_SCALED:
+				out.println(indent+"\t"+CLASS_NAME+".setWord(buff,"+index+
+					    ",(int)Math.round(value*"+field.factor+"));");
+				break;
+		}
+		out.println(indent+"}");
+	}
+
+	/**
+	 * Return the bit range of a bitfield, for a comment.
+	 * @param field The field.
+	 * @return For bitfields, " bits &lt;lsb&gt;..&lt;msb&gt;", otherwise an empty string.
+	 */
+	protected static String getBitRange(Field field)
+	{
+		if((field.kind == KIND_BITS)||(field.kind == KIND_SBITS))
+			return " bits "+field.lsb+".."+(field.lsb+field.width-1);
+		return "";
+	}
+
+	/**
+	 * Return the fields common to all packets: the header (words 0..3) and the terminator (word 39).
+	 * @return A list of Field.
+	 */
+	protected static Vector getHeaderFieldList()
+	{
+		Vector fieldList = null;
+		String nameList[] = {"pkt_type","pkt_sernum","pkt_hop_cnt","pkt_sod","term"};
+		String descriptionList[] = {"Packet type.","Packet serial number.","Packet hop count.",
+					    "Packet SOD (centi-seconds in the day).","Terminator."};
+		int wordList[] = {0,1,2,3,39};
+		Field field = null;
+
+		fieldList = new Vector();
+		for(int i = 0; i < nameList.length; i++)
+		{
+			field = new Field();
+			field.word = wordList[i];
+			field.name = nameList[i];
+			field.kind = KIND_INT;
+			field.lsb = 0;
+			field.width = 32;
+			field.description = descriptionList[i];
+			fieldList.addElement(field);
+		}
+		return fieldList;
+	}
+
+	/**
+	 * Convert a snake_case name to CamelCase.
+	 * @param name The name, e.g. "burst_ra".
+	 * @param upperFirst Whether the first letter is upper case.
+	 * @return The converted name, e.g. "BurstRa".
+	 */
+	protected static String toCamelCase(String name,boolean upperFirst)
+	{
+		StringBuffer sb = null;
+		boolean upper;
+		char ch;
+
+		sb = new StringBuffer();
+		upper = upperFirst;
+		for(int i = 0; i < name.length(); i++)
+		{
+			ch = name.charAt(i);
+			if(ch == '_')
+				upper = true;
+			else if(upper)
+			{
+				sb.append(Character.toUpperCase(ch));
+				upper = false;
+			}
+			else
+				sb.append(ch);
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Return whether a string is a legal Java identifier.
+	 * @param s The string.
+	 * @return true if the string is a legal identifier.
+	 */
+	protected static boolean isIdentifier(String s)
+	{
+		if((s.length() == 0)||(Character.isJavaIdentifierStart(s.charAt(0)) == false))
+			return false;
+		for(int i = 1; i < s.length(); i++)
+		{
+			if(Character.isJavaIdentifierPart(s.charAt(i)) == false)
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Join the tokens from an index onwards with spaces.
+	 * @param tokenList The tokens.
+	 * @param from The index of the first token.
+	 * @return The joined tokens, or an empty string if there are none.
+	 */
+	protected static String join(String tokenList[],int from)
+	{
+		StringBuffer sb = null;
+
+		sb = new StringBuffer();
+		for(int i = from; i < tokenList.length; i++)
+		{
+			if(i > from)
+				sb.append(" ");
+			sb.append(tokenList[i]);
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Load the layout files, and write the generated class.
+	 * @exception IOException Thrown if reading or writing a file fails.
+	 * @exception ParseException Thrown if a layout file is illegal.
+	 * @see #load
+	 * @see #write
+	 */
+	public void run() throws IOException, ParseException
+	{
+		PrintWriter out = null;
+
+		for(int i = 0; i < inputFileList.size(); i++)
+			load((File)(inputFileList.elementAt(i)));
+		if(outputFile != null)
+			out = new PrintWriter(new FileWriter(outputFile));
+		else
+			out = new PrintWriter(System.out);
+		write(out);
+		out.flush();
+		if(outputFile != null)
+			out.close();
+	}
+
+	/**
+	 * Parse the arguments.
+	 * @param args The arguments.
+	 * @see #outputFile
+	 * @see #inputFileList
+	 */
+	public void parseArgs(String args[])
+	{
+		for(int i = 0; i < args.length; i++)
+		{
+			if(args[i].equals("-o"))
+			{
+				if((i+1) < args.length)
+				{
+					outputFile = new File(args[i+1]);
+					i++;
+				}
+				else
+				{
+					System.err.println("GCNPacketLayoutGenerator:-o requires a filename.");
+					System.exit(4);
+				}
+			}
+			else if(args[i].equals("-help"))
+			{
+				System.out.println("java org.estar.gcn.GCNPacketLayoutGenerator [-o <filename>] "+
+						   "<layout file> ...");
+				System.out.println("-o specifies the file to write the generated "+CLASS_NAME+
+						   " class to, the default is standard output.");
+				System.exit(0);
+			}
+			else
+				inputFileList.addElement(new File(args[i]));
+		}
+		if(inputFileList.size() == 0)
+		{
+			System.err.println("GCNPacketLayoutGenerator:No layout files specified.");
+			System.exit(4);
+		}
+	}
+
+	/**
+	 * Main program.
+	 * @param args The arguments.
+	 */
+	public static void main(String args[])
+	{
+		GCNPacketLayoutGenerator generator = null;
+
+		generator = new GCNPacketLayoutGenerator();
+		generator.parseArgs(args);
+		try
+		{
+			generator.run();
+		}
+		catch(Exception e)
+		{
+			System.err.println("GCNPacketLayoutGenerator:"+e);
+			System.exit(1);
+		}
+		System.exit(0);
+	}
+
+	/**
+	 * A packet layout, loaded from a layout file.
+	 */
+	protected static class Layout
+	{
+		/**
+		 * The packet type.
+		 */
+		public int type = 0;
+		/**
+		 * The name of the nested class generated for the packet type.
+		 */
+		public String className = null;
+		/**
+		 * A description of the packet type.
+		 */
+		public String description = null;
+		/**
+		 * The layout file.
+		 */
+		public File file = null;
+		/**
+		 * The list of Field, in the order they appear in the layout file.
+		 */
+		public Vector fieldList = new Vector();
+	}
+
+	/**
+	 * A packet field.
+	 */
+	protected static class Field
+	{
+		/**
+		 * The index of the word containing the field.
+		 */
+		public int word = 0;
+		/**
+		 * The field name (snake_case).
+		 */
+		public String name = null;
+		/**
+		 * The field kind.
+		 * @see GCNPacketLayoutGenerator#KIND_INT
+		 */
+		public int kind = KIND_INT;
+		/**
+		 * The lowest bit of the field in the word (bitfields only).
+		 */
+		public int lsb = 0;
+		/**
+		 * The number of bits in the field (bitfields only).
+		 */
+		public int width = 32;
+		/**
+		 * The factor the field's value is multiplied by in the word (scaled fields only).
+		 */
+		public double factor = 1.0;
+		/**
+		 * A description of the field.
+		 */
+		public String description = null;
+	}
+}
+//
+// $Log: not supported by cvs2svn $
+//
@@ -0,0 +1,289 @@
+// GCNPacketQueue.java
+package org.estar.gcn;
+
+import java.lang.*;
+
+/**
+ * A bounded FIFO queue of GCN packet buffers, implemented as a circular buffer.
+ * When the queue is full, a packet is dropped according to the queue's policy:
+ * <ul>
+ * <li>If dropImaliveFirst is set, the oldest IMALIVE packet in the queue is dropped,
+ *     or the new packet is dropped if it is an IMALIVE.
+ * <li>Otherwise the oldest packet that is not a positional notice is dropped, or the new packet
+ *     is dropped if it is not a positional notice.
+ * <li>If the queue is full of positional notices and the new packet is a positional notice,
+ *     and protectPositional is set, the queue grows rather than dropping a positional notice.
+ *     If protectPositional is not set, the oldest packet is dropped.
+ * </ul>
+ * All the methods are synchronized, so packets can be added from one thread and removed from another.
+ * The queue does not retain or release the buffers, that is left to the caller.
+ * @author Chris Mottram
+ * @version $Revision$
+ * @see GCNPacketType#isPositional
+ * @see GCNPacketBuffer
+ */
+public class GCNPacketQueue
+{
+// constants
+	/**
+	 * Revision control system version id.
+	 */
+	public final static String RCSID = "$Id$";
+	/**
+	 * The default queue capacity.
+	 */
+	public final static int DEFAULT_CAPACITY = 256;
+	/**
+	 * The circular buffer of packets.
+	 */
+	protected GCNPacketBuffer packetList[] = null;
+	/**
+	 * The index in packetList of the oldest packet.
+	 */
+	protected int start = 0;
+	/**
+	 * The number of packets in the queue.
+	 */
+	protected int count = 0;
+	/**
+	 * Whether to drop IMALIVE packets before any other type when the queue is full.
+	 */
+	protected boolean dropImaliveFirst = true;
+	/**
+	 * Whether to grow the queue rather than drop a positional notice when the queue is full.
+	 */
+	protected boolean protectPositional = true;
+
+	/**
+	 * Default constructor.
+	 * @see #DEFAULT_CAPACITY
+	 */
+	public GCNPacketQueue()
+	{
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Constructor.
+	 * @param capacity The number of packets the queue holds before packets are dropped.
+	 * @exception IllegalArgumentException Thrown if the capacity is less than 1.
+	 * @see #packetList
+	 */
+	public GCNPacketQueue(int capacity) throws IllegalArgumentException
+	{
+		super();
+		if(capacity < 1)
+			throw new IllegalArgumentException(this.getClass().getName()+":Illegal capacity:"+capacity);
+		packetList = new GCNPacketBuffer[capacity];
+		start = 0;
+		count = 0;
+	}
+
+	/**
+	 * Set whether to drop IMALIVE packets before any other type when the queue is full.
+	 * @param b The value.
+	 * @see #dropImaliveFirst
+	 */
+	public synchronized void setDropImaliveFirst(boolean b)
+	{
+		dropImaliveFirst = b;
+	}
+
+	/**
+	 * Set whether to grow the queue rather than drop a positional notice when the queue is full.
+	 * @param b The value.
+	 * @see #protectPositional
+	 */
+	public synchronized void setProtectPositional(boolean b)
+	{
+		protectPositional = b;
+	}
+
+	/**
+	 * Add a packet to the end of the queue. If the queue is full, a packet is dropped according
+	 * to the queue policy.
+	 * @param packet The packet to add.
+	 * @return The packet that was dropped (which may be the packet that was being added),
+	 *         or null if no packet was dropped.
+	 * @see #makeRoom
+	 */
+	public synchronized GCNPacketBuffer add(GCNPacketBuffer packet)
+	{
+		GCNPacketBuffer dropped = null;
+
+		if(count == packetList.length)
+		{
+			dropped = makeRoom(packet);
+			if(dropped == packet)
+				return dropped;
+		}
+		packetList[(start+count)%packetList.length] = packet;
+		count++;
+		return dropped;
+	}
+
+	/**
+	 * Add a packet to the front of the queue, so it is the next packet removed.
+	 * Used to put back packets that were sent, but may not have been received, when a connection fails.
+	 * If the queue is full, a packet is dropped according to the queue policy.
+	 * @param packet The packet to add.
+	 * @return The packet that was dropped (which may be the packet that was being added),
+	 *         or null if no packet was dropped.
+	 * @see #makeRoom
+	 */
+	public synchronized GCNPacketBuffer addFirst(GCNPacketBuffer packet)
+	{
+		GCNPacketBuffer dropped = null;
+
+		if(count == packetList.length)
+		{
+			dropped = makeRoom(packet);
+			if(dropped == packet)
+				return dropped;
+		}
+		start = (start+packetList.length-1)%packetList.length;
+		packetList[start] = packet;
+		count++;
+		return dropped;
+	}
+
+	/**
+	 * Remove the oldest packet from the queue.
+	 * @return The oldest packet, or null if the queue is empty.
+	 */
+	public synchronized GCNPacketBuffer remove()
+	{
+		GCNPacketBuffer packet = null;
+
+		if(count == 0)
+			return null;
+		packet = packetList[start];
+		packetList[start] = null;
+		start = (start+1)%packetList.length;
+		count--;
+		return packet;
+	}
+
+	/**
+	 * Remove all the packets from the queue.
+	 */
+	public synchronized void clear()
+	{
+		while(count > 0)
+			remove();
+		start = 0;
+	}
+
+	/**
+	 * Return the number of packets in the queue.
+	 * @return The number of packets.
+	 */
+	public synchronized int size()
+	{
+		return count;
+	}
+
+	/**
+	 * Return the number of packets the queue can currently hold.
+	 * @return The capacity.
+	 */
+	public synchronized int getCapacity()
+	{
+		return packetList.length;
+	}
+
+	/**
+	 * Make room in a full queue for a new packet, according to the queue policy.
+	 * @param packet The packet that is being added.
+	 * @return The packet that was dropped, which is the packet being added if it is the one to drop.
+	 *         If the queue grew, null is returned.
+	 * @see #dropImaliveFirst
+	 * @see #protectPositional
+	 * @see #removeAt
+	 * @see #grow
+	 */
+	protected GCNPacketBuffer makeRoom(GCNPacketBuffer packet)
+	{
+		int type,index;
+
+		type = packet.getType();
+		if(dropImaliveFirst)
+		{
+			index = findOldest(true);
+			if(index >= 0)
+				return removeAt(index);
+			if(type == GCNPacketType.TYPE_IMALIVE)
+				return packet;
+		}
+		if(protectPositional)
+		{
+			index = findOldest(false);
+			if(index >= 0)
+				return removeAt(index);
+			if(GCNPacketType.isPositional(type) == false)
+				return packet;
+			grow();
+			return null;
+		}
+		return remove();
+	}
+
+	/**
+	 * Find the oldest packet in the queue of a droppable type.
+	 * @param imalive If true, find the oldest IMALIVE packet, otherwise the oldest non-positional packet.
+	 * @return The offset from the start of the queue of the packet, or -1 if there is no such packet.
+	 */
+	protected int findOldest(boolean imalive)
+	{
+		int type;
+
+		for(int i = 0; i < count; i++)
+		{
+			type = packetList[(start+i)%packetList.length].getType();
+			if(imalive)
+			{
+				if(type == GCNPacketType.TYPE_IMALIVE)
+					return i;
+			}
+			else if(GCNPacketType.isPositional(type) == false)
+				return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * Remove the packet at the specified offset from the start of the queue,
+	 * moving the older packets up by one.
+	 * @param offset The offset from the start of the queue.
+	 * @return The removed packet.
+	 */
+	protected GCNPacketBuffer removeAt(int offset)
+	{
+		GCNPacketBuffer packet = null;
+
+		packet = packetList[(start+offset)%packetList.length];
+		for(int i = offset; i > 0; i--)
+			packetList[(start+i)%packetList.length] = packetList[(start+i-1)%packetList.length];
+		packetList[start] = null;
+		start = (start+1)%packetList.length;
+		count--;
+		return packet;
+	}
+
+	/**
+	 * Double the capacity of the queue.
+	 */
+	protected void grow()
+	{
+		GCNPacketBuffer newPacketList[] = null;
+
+		newPacketList = new GCNPacketBuffer[packetList.length*2];
+		for(int i = 0; i < count; i++)
+			newPacketList[i] = packetList[(start+i)%packetList.length];
+		packetList = newPacketList;
+		start = 0;
+	}
+}
+//
+// $Log: not supported by cvs2svn $
+//
@@ -0,0 +1,298 @@
+// GCNPacketType.java
+package org.estar.gcn;
+
+import java.lang.*;
+
+/**
+ * This class contains constants and static methods describing the GCN socket packet types
+ * (word 0 of the 40 word packet).
+ * Taken from: http://gcn.gsfc.nasa.gov/sock_pkt_def_doc.html
+ * @author Chris Mottram
+ * @version $Revision$
+ */
+public class GCNPacketType
+{
+// constants
+	/**
+	 * Revision control system version id.
+	 */
+	public final static String RCSID = "$Id$";
+	/**
+	 * Packet type.
+	 */
+	public final static int TYPE_IMALIVE = 3;
+	/**
+	 * Packet type.
+	 */
+	public final static int TYPE_KILL = 4;
+	/**
+	 * Packet type.
+	 */
+	public final static int TYPE_SAX_WFC_GRB_POS = 34;
+	/**
+	 * Packet type.
+	 */
+	public final static int TYPE_HETE_ALERT = 40;
+	/**
+	 * Packet type.
+	 */
+	public final static int TYPE_HETE_UPDATE = 41;
+	/**
+	 * Packet type.
+	 */
+	public final static int TYPE_HETE_GNDANA = 43;
+	/**
+	 * Packet type.
+	 */
+	public final static int TYPE_INTEGRAL_POINTDIR = 51;
+	/**
+	 * Packet type.
+	 */
+	public final static int TYPE_INTEGRAL_SPIACS = 52;
+	/**
+	 * Packet type.
+	 */
+	public final static int TYPE_INTEGRAL_WAKEUP = 53;
+	/**
+	 * Packet type.
+	 */
+	public final static int TYPE_INTEGRAL_REFINED = 54;
+	/**
+	 * Packet type.
+	 */
+	public final static int TYPE_INTEGRAL_OFFLINE = 55;
+	/**
+	 * Packet type.
+	 */
+	public final static int TYPE_SWIFT_BAT_GRB_ALERT = 60;
+	/**
+	 * Packet type.
+	 */
+	public final static int TYPE_SWIFT_BAT_GRB_POSITION = 61;
+	/**
+	 * Packet type.
+	 */
+	public final static int TYPE_SWIFT_BAT_GRB_NACK_POSITION = 62;
+	/**
+	 * Packet type.
+	 */
+	public final static int TYPE_SWIFT_FOM_OBS = 65;
+	/**
+	 * Packet type.
+	 */
+	public final static int TYPE_SWIFT_SC_SLEW = 66;
+	/**
+	 * Packet type.
+	 */
+	public final static int TYPE_SWIFT_XRT_POSITION = 67;
+	/**
+	 * Packet type.
+	 */
+	public final static int TYPE_SWIFT_XRT_NACK_POSITION = 71;
+	/**
+	 * Packet type.
+	 */
+	public final static int TYPE_SWIFT_UVOT_POSITION = 81;
+	/**
+	 * Packet type.
+	 */
+	public final static int TYPE_SWIFT_BAT_GRB_POS_TEST = 82;
+	/**
+	 * Packet type.
+	 */
+	public final static int TYPE_SUPER_AGILE_GRB_POS_WAKEUP = 100;
+	/**
+	 * Packet type.
+	 */
+	public final static int TYPE_SUPER_AGILE_GRB_POS_TEST = 109;
+	/**
+	 * Packet type.
+	 */
+	public final static int TYPE_FERMI_GBM_ALERT = 110;
+	/**
+	 * Packet type.
+	 */
+	public final static int TYPE_FERMI_GBM_FLT_POS = 111;
+	/**
+	 * Packet type.
+	 */
+	public final static int TYPE_FERMI_GBM_GND_POS = 112;
+	/**
+	 * Packet type.
+	 */
+	public final static int TYPE_FERMI_GBM_FIN_POS = 115;
+	/**
+	 * Packet type.
+	 */
+	public final static int TYPE_FERMI_GBM_POS_TEST = 119;
+	/**
+	 * Packet type.
+	 */
+	public final static int TYPE_FERMI_LAT_GRB_POS_UPD = 121;
+	/**
+	 * Packet type.
+	 */
+	public final static int TYPE_FERMI_LAT_GRB_POS_TEST = 124;
+	/**
+	 * Packet type.
+	 */
+	public final static int TYPE_FERMI_LAT_GND = 127;
+
+	/**
+	 * The index of the packet word containing the packet's sec-of-day (in centi-seconds), PKT_SOD.
+	 */
+	public final static int WORD_PKT_SOD = 3;
+
+	/**
+	 * Return a (big endian, 4 byte) word of a packet.
+	 * @param buff The packet buffer.
+	 * @param word The index of the word.
+	 * @return The word.
+	 */
+	public static int getWord(byte buff[],int word)
+	{
+		int offset;
+
+		offset = word*4;
+		return ((buff[offset] & 0xFF) << 24)|((buff[offset+1] & 0xFF) << 16)|
+			((buff[offset+2] & 0xFF) << 8)|(buff[offset+3] & 0xFF);
+	}
+
+	/**
+	 * Return the type of a packet (word 0).
+	 * @param buff The packet buffer, at least 4 bytes long.
+	 * @return The packet type.
+	 */
+	public static int getType(byte buff[])
+	{
+		return ((buff[0] & 0xFF) << 24)|((buff[1] & 0xFF) << 16)|((buff[2] & 0xFF) << 8)|(buff[3] & 0xFF);
+	}
+
+	/**
+	 * Return a descriptive name for a packet type.
+	 * @param type The packet type.
+	 * @return The name of the packet type, or TYPE-&lt;type&gt; if it is not known.
+	 */
+	public static String getName(int type)
+	{
+		switch(type)
+		{
+			case TYPE_IMALIVE:
+				return "IMALIVE";
+			case TYPE_KILL:
+				return "KILL";
+			case TYPE_SAX_WFC_GRB_POS:
+				return "SAX/WFC_GRB_POS";
+			case TYPE_HETE_ALERT:
+				return "HETE_ALERT";
+			case TYPE_HETE_UPDATE:
+				return "HETE_UPDATE";
+			case TYPE_HETE_GNDANA:
+				return "HETE_GNDANA";
+			case TYPE_INTEGRAL_POINTDIR:
+				return "INTEGRAL_POINTDIR";
+			case TYPE_INTEGRAL_SPIACS:
+				return "INTEGRAL_SPIACS";
+			case TYPE_INTEGRAL_WAKEUP:
+				return "INTEGRAL_WAKEUP";
+			case TYPE_INTEGRAL_REFINED:
+				return "INTEGRAL_REFINED";
+			case TYPE_INTEGRAL_OFFLINE:
+				return "INTEGRAL_OFFLINE";
+			case TYPE_SWIFT_BAT_GRB_ALERT:
+				return "SWIFT_BAT_GRB_ALERT";
+			case TYPE_SWIFT_BAT_GRB_POSITION:
+				return "SWIFT_BAT_GRB_POSITION";
+			case TYPE_SWIFT_BAT_GRB_NACK_POSITION:
+				return "SWIFT_BAT_GRB_NACK_POSITION";
+			case TYPE_SWIFT_FOM_OBS:
+				return "SWIFT_FOM_OBS";
+			case TYPE_SWIFT_SC_SLEW:
+				return "SWIFT_SC_SLEW";
+			case TYPE_SWIFT_XRT_POSITION:
+				return "SWIFT_XRT_POSITION";
+			case TYPE_SWIFT_XRT_NACK_POSITION:
+				return "SWIFT_XRT_NACK_POSITION";
+			case TYPE_SWIFT_UVOT_POSITION:
+				return "SWIFT_UVOT_POSITION";
+			case TYPE_SWIFT_BAT_GRB_POS_TEST:
+				return "SWIFT_BAT_GRB_POS_TEST";
+			case TYPE_SUPER_AGILE_GRB_POS_WAKEUP:
+				return "SuperAGILE_GRB_POS_WAKEUP";
+			case TYPE_SUPER_AGILE_GRB_POS_TEST:
+				return "SuperAGILE_GRB_POS_TEST";
+			case TYPE_FERMI_GBM_ALERT:
+				return "FERMI_GBM_ALERT";
+			case TYPE_FERMI_GBM_FLT_POS:
+				return "FERMI_GBM_FLT_POS";
+			case TYPE_FERMI_GBM_GND_POS:
+				return "FERMI_GBM_GND_POS";
+			case TYPE_FERMI_GBM_FIN_POS:
+				return "FERMI_GBM_FIN_POS";
+			case TYPE_FERMI_GBM_POS_TEST:
+				return "FERMI_GBM_POS_TEST";
+			case TYPE_FERMI_LAT_GRB_POS_UPD:
+				return "FERMI_LAT_GRB_POS_UPD";
+			case TYPE_FERMI_LAT_GRB_POS_TEST:
+				return "FERMI_LAT_GRB_POS_TEST";
+			case TYPE_FERMI_LAT_GND:
+				return "FERMI_LAT_GND";
+			default:
+				return "TYPE-"+type;
+		}
+	}
+
+	/**
+	 * Return whether a packet type is a (real, not test) notice containing a burst position.
+	 * These packets are the ones that can start a followup, and should never be dropped by a forwarder.
+	 * @param type The packet type.
+	 * @return true if the packet type contains a burst position.
+	 */
+	public static boolean isPositional(int type)
+	{
+		switch(type)
+		{
+			case TYPE_SAX_WFC_GRB_POS:
+			case TYPE_HETE_UPDATE:
+			case TYPE_HETE_GNDANA:
+			case TYPE_INTEGRAL_WAKEUP:
+			case TYPE_INTEGRAL_REFINED:
+			case TYPE_INTEGRAL_OFFLINE:
+			case TYPE_SWIFT_BAT_GRB_POSITION:
+			case TYPE_SWIFT_XRT_POSITION:
+			case TYPE_SWIFT_UVOT_POSITION:
+			case TYPE_SUPER_AGILE_GRB_POS_WAKEUP:
+			case TYPE_FERMI_GBM_FLT_POS:
+			case TYPE_FERMI_GBM_GND_POS:
+			case TYPE_FERMI_GBM_FIN_POS:
+			case TYPE_FERMI_LAT_GRB_POS_UPD:
+			case TYPE_FERMI_LAT_GND:
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	/**
+	 * Return whether a packet type is a (real, not test) Fermi GBM burst position.
+	 * These are only alerts if the script starter is configured to start on them, and are not exempt
+	 * from the propogation delay check as Fermi LAT positions are.
+	 * @param type The packet type.
+	 * @return true if the packet type is FERMI_GBM_FLT_POS, FERMI_GBM_GND_POS or FERMI_GBM_FIN_POS.
+	 */
+	public static boolean isFermiGBMPosition(int type)
+	{
+		switch(type)
+		{
+			case TYPE_FERMI_GBM_FLT_POS:
+			case TYPE_FERMI_GBM_GND_POS:
+			case TYPE_FERMI_GBM_FIN_POS:
+				return true;
+			default:
+				return false;
+		}
+	}
+}
+//
+// $Log: not supported by cvs2svn $
+//
@@ -0,0 +1,147 @@
+// GCNPacketTypeMetrics.java
+package org.estar.gcn;
+
+import java.lang.*;
+
+/**
+ * A per packet type counter and latency histogram, for one pipeline stage.
+ * The metrics for each packet type are created in a GCNMetricsRegistry the first time a packet of that type
+ * is seen, labelled with the packet type name, and cached in arrays indexed by type, so looking them up
+ * on the hot path does not allocate.
+ * @author Chris Mottram
+ * @version $Revision$
+ * @see GCNMetricsRegistry
+ * @see GCNPacketType#getName
+ */
+public class GCNPacketTypeMetrics
+{
+// constants
+	/**
+	 * Revision control system version id.
+	 */
+	public final static String RCSID = "$Id$";
+	/**
+	 * The number of packet types with their own metrics. Types outside 0..MAX_TYPE-1 share one set.
+	 */
+	public final static int MAX_TYPE = 256;
+	/**
+	 * The registry to create the metrics in.
+	 */
+	protected GCNMetricsRegistry registry = null;
+	/**
+	 * The name of the counters.
+	 */
+	protected String counterName = null;
+	/**
+	 * The description of the counters.
+	 */
+	protected String counterHelp = null;
+	/**
+	 * The name of the histograms.
+	 */
+	protected String histogramName = null;
+	/**
+	 * The description of the histograms.
+	 */
+	protected String histogramHelp = null;
+	/**
+	 * The units of the histograms.
+	 */
+	protected String units = null;
+	/**
+	 * The counters, indexed by packet type. The last entry is used for all other packet types.
+	 */
+	protected GCNCounter counterList[] = null;
+	/**
+	 * The histograms, indexed by packet type. The last entry is used for all other packet types.
+	 */
+	protected GCNLatencyHistogram histogramList[] = null;
+
+	/**
+	 * Constructor.
+	 * @param r The registry to create the metrics in.
+	 * @param cn The name of the counters.
+	 * @param ch The description of the counters.
+	 * @param hn The name of the histograms.
+	 * @param u The units of the histograms.
+	 * @param hh The description of the histograms.
+	 */
+	public GCNPacketTypeMetrics(GCNMetricsRegistry r,String cn,String ch,String hn,String u,String hh)
+	{
+		super();
+		registry = r;
+		counterName = cn;
+		counterHelp = ch;
+		histogramName = hn;
+		units = u;
+		histogramHelp = hh;
+		counterList = new GCNCounter[MAX_TYPE+1];
+		histogramList = new GCNLatencyHistogram[MAX_TYPE+1];
+	}
+
+	/**
+	 * Count a packet, and record a latency for it. Must only be called by a single writer thread.
+	 * @param type The packet type.
+	 * @param value The latency.
+	 * @see #getIndex
+	 */
+	public void record(int type,long value)
+	{
+		int index;
+
+		index = getIndex(type);
+		counterList[index].increment();
+		histogramList[index].record(value);
+	}
+
+	/**
+	 * Return the counter for a packet type.
+	 * @param type The packet type.
+	 * @return The counter.
+	 */
+	public GCNCounter getCounter(int type)
+	{
+		return counterList[getIndex(type)];
+	}
+
+	/**
+	 * Return the histogram for a packet type.
+	 * @param type The packet type.
+	 * @return The histogram.
+	 */
+	public GCNLatencyHistogram getHistogram(int type)
+	{
+		return histogramList[getIndex(type)];
+	}
+
+	/**
+	 * Return the array index of a packet type, creating it's metrics if this is the first packet of that type.
+	 * @param type The packet type.
+	 * @return The index.
+	 * @see #counterList
+	 * @see #histogramList
+	 */
+	protected int getIndex(int type)
+	{
+		int index;
+		String labels = null;
+
+		if((type >= 0)&&(type < MAX_TYPE))
+			index = type;
+		else
+			index = MAX_TYPE;
+		if(counterList[index] == null)
+		{
+			if(index == MAX_TYPE)
+				labels = "type=\"OTHER\"";
+			else
+				labels = "type=\""+GCNPacketType.getName(type)+"\"";
+			histogramList[index] = registry.getHistogram(histogramName,labels,units,histogramHelp);
+			counterList[index] = registry.getCounter(counterName,labels,counterHelp);
+		}
+		return index;
+	}
+}
+//
+// $Log: not supported by cvs2svn $
+//
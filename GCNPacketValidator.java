@@ -0,0 +1,302 @@
+// GCNPacketValidator.java
+package org.estar.gcn;
+
+import java.lang.*;
+
+/**
+ * Cheap sanity checks on a received GCN socket packet, made before it is decoded, so garbage can be dropped
+ * without paying the decode (and decode failure) cost. The checks are:
+ * <ul>
+ * <li>The packet is 160 bytes long. Shorter packets are rejected on their length, longer ones as oversized
+ *     (GCNDatagramThread receives into a buffer one byte longer than a packet, so an oversized datagram
+ *     is not silently truncated to 160 bytes).
+ * <li>The type (word 0) is in the range 0..255.
+ * <li>The terminator (word 39) is TERMINATOR (this check can be turned off).
+ * <li>For packet types with a position in words 7 and 8, the RA is 0..359.9999 degrees and the Dec is
+ *     -90..90 degrees (*10000).
+ * <li>For packet types with an error radius (in degrees*10000 or arcsec) in word 11, it is 0..180 degrees.
+ * <li>For packet types with a burst TJD in word 5, it is no more than maxTJDAge days before, and at most a day
+ *     after, the time the packet was received.
+ * </ul>
+ * Which checks apply to each type is held in a table, and the range checks are made with unsigned
+ * comparisons and combined into a mask, so a valid packet costs a few loads and compares.
+ * Each rejection is counted in the gcn_packet_rejected_total counter, labelled with the reason.
+ * @author Chris Mottram
+ * @version $Revision$
+ * @see GCNPacketType
+ */
+public class GCNPacketValidator
+{
+// constants
+	/**
+	 * Revision control system version id.
+	 */
+	public final static String RCSID = "$Id$";
+	/**
+	 * The length of a packet, in bytes.
+	 */
+	public final static int PACKET_LENGTH = 160;
+	/**
+	 * The index of the terminator word.
+	 */
+	public final static int WORD_TERMINATOR = 39;
+	/**
+	 * The terminator word value (the bytes 0x00 0x00 0x00 '\n').
+	 */
+	public final static int TERMINATOR = 0x0000000A;
+	/**
+	 * The default maximum age of a packet's burst TJD, in days.
+	 */
+	public final static int DEFAULT_MAX_TJD_AGE = 366;
+	/**
+	 * The number of milliseconds between the Java epoch (1970-01-01) and TJD 0 (1968-05-24).
+	 */
+	public final static long TJD_EPOCH_MILLIS = -587L*86400000L;
+	/**
+	 * Validation reason, the packet is valid.
+	 */
+	public final static int REASON_NONE = 0;
+	/**
+	 * Validation reason, the packet is shorter than a packet.
+	 */
+	public final static int REASON_LENGTH = 1;
+	/**
+	 * Validation reason, the packet type is out of range.
+	 */
+	public final static int REASON_TYPE = 2;
+	/**
+	 * Validation reason, the terminator word is wrong.
+	 */
+	public final static int REASON_TERMINATOR = 3;
+	/**
+	 * Validation reason, the RA is out of range.
+	 */
+	public final static int REASON_RA = 4;
+	/**
+	 * Validation reason, the Dec is out of range.
+	 */
+	public final static int REASON_DEC = 5;
+	/**
+	 * Validation reason, the error radius is out of range.
+	 */
+	public final static int REASON_ERROR = 6;
+	/**
+	 * Validation reason, the burst TJD is outside the allowed window.
+	 */
+	public final static int REASON_TJD = 7;
+	/**
+	 * Validation reason, the packet is longer than a packet (the datagram was oversized).
+	 */
+	public final static int REASON_OVERSIZED = 8;
+	/**
+	 * The names of the validation reasons, indexed by reason.
+	 */
+	public final static String REASON_NAME_LIST[] = {"none","length","type","terminator","ra","dec","error",
+							 "tjd","oversized"};
+	/**
+	 * Type flag, the packet type has a position (RA/Dec *10000) in words 7 and 8.
+	 */
+	public final static int FLAG_POSITION = (1<<0);
+	/**
+	 * Type flag, the packet type has an error radius in word 11.
+	 */
+	public final static int FLAG_ERROR = (1<<1);
+	/**
+	 * Type flag, the packet type has a burst TJD in word 5.
+	 */
+	public final static int FLAG_TJD = (1<<2);
+	/**
+	 * The checks made for each packet type, indexed by type.
+	 * @see #FLAG_POSITION
+	 * @see #FLAG_ERROR
+	 * @see #FLAG_TJD
+	 */
+	protected final static int TYPE_FLAG_LIST[] = new int[256];
+	/**
+	 * Whether to check the terminator word.
+	 */
+	protected boolean checkTerminator = true;
+	/**
+	 * The maximum age of a packet's burst TJD, in days.
+	 */
+	protected int maxTJDAge = DEFAULT_MAX_TJD_AGE;
+	/**
+	 * Rejection counters, indexed by reason.
+	 */
+	protected GCNCounter rejectCounterList[] = null;
+
+	static
+	{
+		int positionTypeList[] = {GCNPacketType.TYPE_SAX_WFC_GRB_POS,GCNPacketType.TYPE_INTEGRAL_WAKEUP,
+			GCNPacketType.TYPE_INTEGRAL_REFINED,GCNPacketType.TYPE_INTEGRAL_OFFLINE,
+			GCNPacketType.TYPE_SWIFT_BAT_GRB_POSITION,GCNPacketType.TYPE_SWIFT_XRT_POSITION,
+			GCNPacketType.TYPE_SWIFT_UVOT_POSITION,GCNPacketType.TYPE_SWIFT_BAT_GRB_POS_TEST,
+			GCNPacketType.TYPE_SUPER_AGILE_GRB_POS_WAKEUP,GCNPacketType.TYPE_SUPER_AGILE_GRB_POS_TEST,
+			GCNPacketType.TYPE_FERMI_GBM_FLT_POS,GCNPacketType.TYPE_FERMI_GBM_GND_POS,
+			GCNPacketType.TYPE_FERMI_GBM_FIN_POS,GCNPacketType.TYPE_FERMI_GBM_POS_TEST,
+			GCNPacketType.TYPE_FERMI_LAT_GRB_POS_UPD,GCNPacketType.TYPE_FERMI_LAT_GRB_POS_TEST,
+			GCNPacketType.TYPE_FERMI_LAT_GND};
+		// positions, but no error radius in word 11
+		int targetTypeList[] = {GCNPacketType.TYPE_SWIFT_FOM_OBS,GCNPacketType.TYPE_SWIFT_SC_SLEW};
+		// burst TJD, but no position (HETE uses -999.9999 for no position)
+		int tjdTypeList[] = {GCNPacketType.TYPE_HETE_ALERT,GCNPacketType.TYPE_HETE_UPDATE,
+			GCNPacketType.TYPE_HETE_GNDANA,GCNPacketType.TYPE_INTEGRAL_POINTDIR,
+			GCNPacketType.TYPE_INTEGRAL_SPIACS,GCNPacketType.TYPE_SWIFT_BAT_GRB_ALERT,
+			GCNPacketType.TYPE_SWIFT_BAT_GRB_NACK_POSITION,GCNPacketType.TYPE_SWIFT_XRT_NACK_POSITION,
+			GCNPacketType.TYPE_FERMI_GBM_ALERT};
+
+		for(int i = 0; i < positionTypeList.length; i++)
+			TYPE_FLAG_LIST[positionTypeList[i]] = FLAG_POSITION|FLAG_ERROR|FLAG_TJD;
+		for(int i = 0; i < targetTypeList.length; i++)
+			TYPE_FLAG_LIST[targetTypeList[i]] = FLAG_POSITION|FLAG_TJD;
+		for(int i = 0; i < tjdTypeList.length; i++)
+			TYPE_FLAG_LIST[tjdTypeList[i]] = FLAG_TJD;
+	}
+
+	/**
+	 * Default constructor. Creates the rejection counters.
+	 * @see #rejectCounterList
+	 */
+	public GCNPacketValidator()
+	{
+		super();
+		rejectCounterList = new GCNCounter[REASON_NAME_LIST.length];
+		for(int i = 1; i < REASON_NAME_LIST.length; i++)
+		{
+			rejectCounterList[i] = GCNMetricsRegistry.getDefault().getCounter("gcn_packet_rejected_total",
+						"reason=\""+REASON_NAME_LIST[i]+"\"",
+						"Packets rejected by the validator before decoding.");
+		}
+	}
+
+	/**
+	 * Set whether to check the terminator word.
+	 * @param b true to check the terminator word.
+	 * @see #checkTerminator
+	 */
+	public void setCheckTerminator(boolean b)
+	{
+		checkTerminator = b;
+	}
+
+	/**
+	 * Set the maximum age of a packet's burst TJD.
+	 * @param days The maximum age in days.
+	 * @see #maxTJDAge
+	 */
+	public void setMaxTJDAge(int days)
+	{
+		maxTJDAge = days;
+	}
+
+	/**
+	 * Validate a packet. If it is rejected, the counter for the reason is incremented.
+	 * @param buff The buffer containing the packet.
+	 * @param offset The offset of the packet in the buffer.
+	 * @param length The length of the packet.
+	 * @param time The time the packet was received, in milliseconds since the epoch.
+	 * @return REASON_NONE if the packet is valid, otherwise the (first) reason it was rejected.
+	 * @see #REASON_NONE
+	 * @see #getReasonName
+	 */
+	public int validate(byte buff[],int offset,int length,long time)
+	{
+		int type,flags,mask,tjd,reason;
+
+		if(length > PACKET_LENGTH)
+			return reject(REASON_OVERSIZED);
+		if(length < PACKET_LENGTH)
+			return reject(REASON_LENGTH);
+		type = getWord(buff,offset,0);
+		if((type & 0xFFFFFF00) != 0)
+			return reject(REASON_TYPE);
+		flags = TYPE_FLAG_LIST[type];
+		tjd = (int)((time-TJD_EPOCH_MILLIS)/86400000L);
+		// build a mask of the failed checks, with a bit per reason
+		mask = 0;
+		if(checkTerminator)
+			mask |= bit(getWord(buff,offset,WORD_TERMINATOR) != TERMINATOR,REASON_TERMINATOR);
+		if((flags & FLAG_POSITION) != 0)
+		{
+			mask |= bit(outOfRange(getWord(buff,offset,7),0,3599999),REASON_RA);
+			mask |= bit(outOfRange(getWord(buff,offset,8),-900000,900000),REASON_DEC);
+		}
+		if((flags & FLAG_ERROR) != 0)
+			mask |= bit(outOfRange(getWord(buff,offset,11),0,1800000),REASON_ERROR);
+		if((flags & FLAG_TJD) != 0)
+			mask |= bit(outOfRange(getWord(buff,offset,5),tjd-maxTJDAge,tjd+1),REASON_TJD);
+		if(mask == 0)
+			return REASON_NONE;
+		// the lowest set bit is the first reason
+		reason = 0;
+		while((mask & (1 << reason)) == 0)
+			reason++;
+		return reject(reason);
+	}
+
+	/**
+	 * Return the name of a validation reason.
+	 * @param reason The reason.
+	 * @return The name, e.g. "terminator".
+	 * @see #REASON_NAME_LIST
+	 */
+	public static String getReasonName(int reason)
+	{
+		if((reason >= 0)&&(reason < REASON_NAME_LIST.length))
+			return REASON_NAME_LIST[reason];
+		return "REASON-"+reason;
+	}
+
+	/**
+	 * Count a rejection.
+	 * @param reason The reason the packet was rejected.
+	 * @return The reason.
+	 * @see #rejectCounterList
+	 */
+	protected int reject(int reason)
+	{
+		rejectCounterList[reason].incrementSynchronized();
+		return reason;
+	}
+
+	/**
+	 * Return whether a value lies outside a range, using a single unsigned comparison.
+	 * @param value The value.
+	 * @param low The lowest value in the range.
+	 * @param high The highest value in the range.
+	 * @return true if the value is less than low or greater than high.
+	 */
+	protected static boolean outOfRange(int value,int low,int high)
+	{
+		return (((long)(value-low)) & 0xFFFFFFFFL) > (((long)(high-low)) & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * Return the mask bit for a reason, if a check failed.
+	 * @param failed Whether the check failed.
+	 * @param reason The reason.
+	 * @return (1 &lt;&lt; reason) if the check failed, otherwise 0.
+	 */
+	protected static int bit(boolean failed,int reason)
+	{
+		return failed ? (1 << reason) : 0;
+	}
+
+	/**
+	 * Return a (big endian, 4 byte) word of a packet.
+	 * @param buff The buffer containing the packet.
+	 * @param offset The offset of the packet in the buffer.
+	 * @param word The index of the word.
+	 * @return The word.
+	 */
+	protected static int getWord(byte buff[],int offset,int word)
+	{
+		int i;
+
+		i = offset+(word*4);
+		return ((buff[i] & 0xFF) << 24)|((buff[i+1] & 0xFF) << 16)|((buff[i+2] & 0xFF) << 8)|(buff[i+3] & 0xFF);
+	}
+}
+//
+// $Log: not supported by cvs2svn $
+//
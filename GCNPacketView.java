@@ -0,0 +1,239 @@
+// GCNPacketView.java
+package org.estar.gcn;
+
+import java.lang.*;
+import java.util.*;
+
+/**
+ * A reusable (flyweight) view over a raw GCN socket packet, whose accessors decode single fields directly
+ * from the packet buffer when they are called. This lets the alert pre-filter look at the packet type,
+ * mission, trigger number, error box, burst time and Swift BAT solnStatus/merit of a packet without
+ * decoding the whole packet, and without creating any objects, so packets that are going to be filtered out
+ * anyway are dropped cheaply. Only packets that survive are fully decoded. The pre-filter records a dropped
+ * packet in the alert history from these fields as primitives (GCNAlertHistory.recordSummary), and only logs
+ * it if asked to, so the reject path does not create any objects either.
+ * <p>
+ * The view is re-pointed at each packet with wrap. The field accessors assume a full length (160 byte)
+ * packet, see isComplete. Fields are read with the accessors GCNPacketLayout generates from the packet layout
+ * files.
+ * @author Chris Mottram
+ * @version $Revision$
+ * @see GCNDatagramScriptStarter#alertPreFilter
+ * @see GCNAlertHistory#recordSummary
+ * @see GCNPacketLayout
+ */
+public class GCNPacketView
+{
+// constants
+	/**
+	 * Revision control system version id.
+	 */
+	public final static String RCSID = "$Id$";
+	/**
+	 * The length of a packet, in bytes.
+	 */
+	public final static int PACKET_LENGTH = 160;
+	/**
+	 * The number of milliseconds between the Java epoch (1970-01-01) and TJD 0 (1968-05-24).
+	 * TJD=12640 is 01 Jan 2003.
+	 */
+	public final static long TJD_EPOCH_MILLIS = -587L*86400000L;
+	/**
+	 * The buffer containing the packet.
+	 */
+	protected byte buff[] = null;
+	/**
+	 * The offset of the packet in the buffer.
+	 */
+	protected int offset = 0;
+	/**
+	 * The length of the packet.
+	 */
+	protected int length = 0;
+
+	/**
+	 * Default constructor.
+	 */
+	public GCNPacketView()
+	{
+		super();
+	}
+
+	/**
+	 * Point the view at a packet. The buffer is not copied.
+	 * @param b The buffer containing the packet.
+	 * @param o The offset of the packet in the buffer.
+	 * @param l The length of the packet.
+	 * @return This view.
+	 */
+	public GCNPacketView wrap(byte b[],int o,int l)
+	{
+		buff = b;
+		offset = o;
+		length = l;
+		return this;
+	}
+
+	/**
+	 * Return whether the packet is a full length packet, so all it's words can be read.
+	 * @return true if the packet is PACKET_LENGTH bytes long.
+	 * @see #PACKET_LENGTH
+	 */
+	public boolean isComplete()
+	{
+		return (length == PACKET_LENGTH);
+	}
+
+	/**
+	 * Return a (big endian, 4 byte) word of the packet.
+	 * @param word The index of the word.
+	 * @return The word.
+	 */
+	public int getWord(int word)
+	{
+		return GCNPacketLayout.getWord(buff,offset+(word*4));
+	}
+
+	/**
+	 * Return the packet type (word 0).
+	 * @return The packet type.
+	 */
+	public int getType()
+	{
+		return GCNPacketLayout.getPktType(buff,offset);
+	}
+
+	/**
+	 * Return the mission (alert type) processData sets for the packet's type, before the rest of the packet
+	 * is decoded.
+	 * @return The alert type, or 0 if this packet type is not an alert.
+	 * @see #getMission(int)
+	 */
+	public int getMission()
+	{
+		return getMission(getType());
+	}
+
+	/**
+	 * Return the trigger number of the packet, unpacked from word 4 as the packet type's decoder does.
+	 * @return The trigger number, or 0 if the packet type is not an alert.
+	 */
+	public int getTriggerNumber()
+	{
+		switch(getMission())
+		{
+			case GCNDatagramAlertData.ALERT_TYPE_HETE:
+			case GCNDatagramAlertData.ALERT_TYPE_INTEGRAL:
+				return getWord(4) & 0x0000FFFF;
+			case GCNDatagramAlertData.ALERT_TYPE_SWIFT:
+				return getWord(4) & 0x00FFFFFF;
+			case GCNDatagramAlertData.ALERT_TYPE_AGILE:
+			case GCNDatagramAlertData.ALERT_TYPE_FERMI:
+				return getWord(4);
+			default:
+				return 0;
+		}
+	}
+
+	/**
+	 * Return the error box radius of the packet (word 11), in the units used by the alert data.
+	 * @return The error box radius in arc-minutes, or -1 if it cannot be read without decoding the packet
+	 *         (HETE alerts derive the radius from several words), or the packet type is not an alert.
+	 * @see GCNDatagramAlertData#getErrorBoxSize
+	 */
+	public double getErrorBoxSize()
+	{
+		switch(getMission())
+		{
+			case GCNDatagramAlertData.ALERT_TYPE_INTEGRAL:
+				return ((double)getWord(11))/60.0; // arcsec
+			case GCNDatagramAlertData.ALERT_TYPE_SWIFT:
+			case GCNDatagramAlertData.ALERT_TYPE_AGILE:
+			case GCNDatagramAlertData.ALERT_TYPE_FERMI:
+				return (((double)getWord(11))*60.0)/10000.0; // degrees *10000
+			default:
+				return -1.0;
+		}
+	}
+
+	/**
+	 * Return the burst time of the packet, from the burst TJD and SOD (words 5 and 6).
+	 * This is the time the decoders set as the GRB date.
+	 * @return The burst time in milliseconds since the epoch.
+	 * @see GCNDatagramScriptStarter#truncatedJulianDateSecondOfDayToDate
+	 */
+	public long getGRBTime()
+	{
+		return TJD_EPOCH_MILLIS+(((long)getWord(5))*86400000L)+(((long)getWord(6))*10L);
+	}
+
+	/**
+	 * Return the Swift BAT solnStatus bits (word 18) of a SWIFT_BAT_GRB_POSITION packet.
+	 * @return The solnStatus bits.
+	 * @see GCNPacketLayout.SwiftBatGRBPosition#getSolnStatus
+	 */
+	public int getSwiftSolnStatus()
+	{
+		return GCNPacketLayout.SwiftBatGRBPosition.getSolnStatus(buff,offset);
+	}
+
+	/**
+	 * Return whether the merit parameters (word 36) of a SWIFT_BAT_GRB_POSITION packet suggest it is
+	 * worth following up, as readSwiftBatGRBPosition decides it. Only merit parameters 0
+	 * (GRB or not) and 1 (transient or not) are looked at.
+	 * @return false if merit parameter 0 is 0 (not a GRB) or merit parameter 1 is 1 (a transient),
+	 *         otherwise true.
+	 * @see GCNDatagramAlertData#getHasMerit
+	 * @see GCNPacketLayout.SwiftBatGRBPosition#getMerit0
+	 * @see GCNPacketLayout.SwiftBatGRBPosition#getMerit1
+	 */
+	public boolean getSwiftHasMerit()
+	{
+		if(GCNPacketLayout.SwiftBatGRBPosition.getMerit0(buff,offset) == 0)
+			return false;
+		if(GCNPacketLayout.SwiftBatGRBPosition.getMerit1(buff,offset) == 1)
+			return false;
+		return true;
+	}
+
+	/**
+	 * Return the mission (alert type) processData sets for a packet type, before the rest of the packet
+	 * is decoded. Test packet types, and packet types without a position, are not alerts.
+	 * Note the decoder may still clear the alert type, e.g. if the packet fails to decode,
+	 * or a Fermi GBM position is not a GRB, and Fermi GBM positions are only alerts if the script starter
+	 * enables them.
+	 * @param type The packet type.
+	 * @return The alert type, or 0 if this packet type is not an alert.
+	 * @see GCNDatagramScriptStarter#processData
+	 */
+	public static int getMission(int type)
+	{
+		switch(type)
+		{
+			case GCNPacketType.TYPE_HETE_UPDATE:
+			case GCNPacketType.TYPE_HETE_GNDANA:
+				return GCNDatagramAlertData.ALERT_TYPE_HETE;
+			case GCNPacketType.TYPE_INTEGRAL_WAKEUP:
+			case GCNPacketType.TYPE_INTEGRAL_REFINED:
+			case GCNPacketType.TYPE_INTEGRAL_OFFLINE:
+				return GCNDatagramAlertData.ALERT_TYPE_INTEGRAL;
+			case GCNPacketType.TYPE_SWIFT_BAT_GRB_POSITION:
+			case GCNPacketType.TYPE_SWIFT_XRT_POSITION:
+			case GCNPacketType.TYPE_SWIFT_UVOT_POSITION:
+				return GCNDatagramAlertData.ALERT_TYPE_SWIFT;
+			case GCNPacketType.TYPE_SUPER_AGILE_GRB_POS_WAKEUP:
+				return GCNDatagramAlertData.ALERT_TYPE_AGILE;
+			case GCNPacketType.TYPE_FERMI_GBM_FLT_POS:
+			case GCNPacketType.TYPE_FERMI_GBM_GND_POS:
+			case GCNPacketType.TYPE_FERMI_GBM_FIN_POS:
+			case GCNPacketType.TYPE_FERMI_LAT_GRB_POS_UPD:
+			case GCNPacketType.TYPE_FERMI_LAT_GND:
+				return GCNDatagramAlertData.ALERT_TYPE_FERMI;
+			default:
+				return 0;
+		}
+	}
+}
+//
+// $Log: not supported by cvs2svn $
+//
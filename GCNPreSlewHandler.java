@@ -0,0 +1,268 @@
+// GCNPreSlewHandler.java
+package org.estar.gcn;
+
+import java.lang.*;
+import java.util.*;
+
+/**
+ * Early warning handler, that fires a lightweight "prepare" action as soon as the first notice for a trigger
+ * arrives (e.g. a Swift BAT_GRB_ALERT, FOM_OBS or SC_SLEW, or a Fermi GBM_ALERT), before the position
+ * that starts the full alert is distributed. The prepare action is fired again (once) if a later early notice
+ * for the trigger carries a position the first did not (e.g. the SC_SLEW target after a BAT_GRB_ALERT),
+ * so the telescope can be pre-positioned. When the full alert for the trigger is started, the time
+ * between the first prepare and the full alert (the lead time gained) is recorded in the
+ * gcn_preslew_lead_ms histogram.
+ * <p>
+ * The state of recent triggers is held in a small fixed size ring, overwriting the oldest,
+ * as only the last few triggers are of interest. The prepare action itself is supplied by a subclass.
+ * This class is thread safe.
+ * @author Chris Mottram
+ * @version $Revision$
+ * @see GCNMetricsRegistry
+ */
+public abstract class GCNPreSlewHandler
+{
+// constants
+	/**
+	 * Revision control system version id.
+	 */
+	public final static String RCSID = "$Id$";
+	/**
+	 * The default number of triggers whose state is held.
+	 */
+	public final static int DEFAULT_CAPACITY = 32;
+	/**
+	 * Trigger state, the prepare action has been fired without a position.
+	 */
+	public final static int STATE_PREPARED = 1;
+	/**
+	 * Trigger state, the prepare action has been fired with a position.
+	 */
+	public final static int STATE_PREPARED_POSITION = 2;
+	/**
+	 * Trigger state, the full alert has been started.
+	 */
+	public final static int STATE_ALERTED = 3;
+	/**
+	 * The mission (alert type) of each trigger held.
+	 * @see GCNDatagramAlertData#ALERT_TYPE_SWIFT
+	 */
+	protected int missionList[] = null;
+	/**
+	 * The trigger number of each trigger held.
+	 */
+	protected int triggerList[] = null;
+	/**
+	 * The state of each trigger held, or 0 if the slot is unused.
+	 * @see #STATE_PREPARED
+	 * @see #STATE_PREPARED_POSITION
+	 * @see #STATE_ALERTED
+	 */
+	protected int stateList[] = null;
+	/**
+	 * When the prepare action was first fired for each trigger held, in milliseconds since the epoch.
+	 */
+	protected long prepareTimeList[] = null;
+	/**
+	 * The slot the next new trigger is held in.
+	 */
+	protected int nextIndex = 0;
+	/**
+	 * The maximum age of a notice's burst date, in milliseconds, for the prepare action to be fired,
+	 * or 0 for no limit.
+	 */
+	protected long maxAge = 0;
+	/**
+	 * Histogram of the time between the first prepare action and the full alert for a trigger, in milliseconds.
+	 */
+	protected GCNLatencyHistogram leadTimeHistogram = null;
+	/**
+	 * Count of prepare actions fired.
+	 */
+	protected GCNCounter prepareCounter = null;
+
+	/**
+	 * Default constructor. Holds the state of DEFAULT_CAPACITY triggers.
+	 * @see #DEFAULT_CAPACITY
+	 */
+	public GCNPreSlewHandler()
+	{
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Constructor.
+	 * @param capacity The number of triggers whose state is held.
+	 * @exception IllegalArgumentException Thrown if the capacity is not positive.
+	 */
+	public GCNPreSlewHandler(int capacity) throws IllegalArgumentException
+	{
+		super();
+		if(capacity < 1)
+		{
+			throw new IllegalArgumentException(this.getClass().getName()+
+							   ":constructor:Illegal capacity:"+capacity);
+		}
+		missionList = new int[capacity];
+		triggerList = new int[capacity];
+		stateList = new int[capacity];
+		prepareTimeList = new long[capacity];
+		leadTimeHistogram = GCNMetricsRegistry.getDefault().getHistogram("gcn_preslew_lead_ms",null,"ms",
+				"Time between the first prepare action and the full alert for a trigger.");
+		prepareCounter = GCNMetricsRegistry.getDefault().getCounter("gcn_preslew_prepare_total",null,
+				"Prepare actions fired on early notices.");
+	}
+
+	/**
+	 * Set the maximum age of a notice's burst date for the prepare action to be fired.
+	 * @param ms The maximum age in milliseconds, or 0 for no limit.
+	 * @see #maxAge
+	 */
+	public void setMaxAge(long ms)
+	{
+		maxAge = ms;
+	}
+
+	/**
+	 * Return whether a packet type is an early notice, that arrives before the position for a trigger.
+	 * @param packetType The packet type.
+	 * @return true if the packet type is SWIFT_BAT_GRB_ALERT, SWIFT_FOM_OBS, SWIFT_SC_SLEW or FERMI_GBM_ALERT.
+	 */
+	public static boolean isEarlyNotice(int packetType)
+	{
+		switch(packetType)
+		{
+			case GCNPacketType.TYPE_SWIFT_BAT_GRB_ALERT:
+			case GCNPacketType.TYPE_SWIFT_FOM_OBS:
+			case GCNPacketType.TYPE_SWIFT_SC_SLEW:
+			case GCNPacketType.TYPE_FERMI_GBM_ALERT:
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	/**
+	 * Return the mission (alert type) of an early notice packet type.
+	 * @param packetType The packet type.
+	 * @return The alert type, or 0 if the packet type is not an early notice.
+	 * @see #isEarlyNotice
+	 * @see GCNDatagramAlertData#ALERT_TYPE_SWIFT
+	 * @see GCNDatagramAlertData#ALERT_TYPE_FERMI
+	 */
+	public static int getMission(int packetType)
+	{
+		switch(packetType)
+		{
+			case GCNPacketType.TYPE_SWIFT_BAT_GRB_ALERT:
+			case GCNPacketType.TYPE_SWIFT_FOM_OBS:
+			case GCNPacketType.TYPE_SWIFT_SC_SLEW:
+				return GCNDatagramAlertData.ALERT_TYPE_SWIFT;
+			case GCNPacketType.TYPE_FERMI_GBM_ALERT:
+				return GCNDatagramAlertData.ALERT_TYPE_FERMI;
+			default:
+				return 0;
+		}
+	}
+
+	/**
+	 * Handle a decoded notice. If it is an early notice for a new trigger, or the first early notice with
+	 * a position for a trigger that has been prepared without one, the prepare action is fired.
+	 * Test notices, and notices whose burst date is older than maxAge, are ignored.
+	 * @param packetType The notice's packet type.
+	 * @param alertData The decoded notice.
+	 * @param time The time the notice was received, in milliseconds since the epoch.
+	 * @return true if the prepare action was fired, false if it was not.
+	 * @exception Exception Thrown if the prepare action fails.
+	 * @see #isEarlyNotice
+	 * @see #prepare
+	 */
+	public boolean notice(int packetType,GCNDatagramAlertData alertData,long time) throws Exception
+	{
+		boolean hasPosition;
+		int mission,index;
+
+		if((isEarlyNotice(packetType) == false)||alertData.getTest())
+			return false;
+		if((maxAge > 0)&&(alertData.getGRBDate() != null)&&
+		   ((time-alertData.getGRBDate().getTime()) > maxAge))
+			return false;
+		mission = getMission(packetType);
+		hasPosition = (alertData.getRA() != null)&&(alertData.getDec() != null);
+		// update the trigger state before firing the prepare action, so a failing action is not retried
+		// on every notice
+		synchronized(this)
+		{
+			index = getIndex(mission,alertData.getTriggerNumber());
+			if(index < 0)
+			{
+				index = nextIndex;
+				nextIndex = (nextIndex+1)%stateList.length;
+				missionList[index] = mission;
+				triggerList[index] = alertData.getTriggerNumber();
+				prepareTimeList[index] = time;
+			}
+			else if((stateList[index] != STATE_PREPARED)||(hasPosition == false))
+				return false;
+			if(hasPosition)
+				stateList[index] = STATE_PREPARED_POSITION;
+			else
+				stateList[index] = STATE_PREPARED;
+		}
+		prepareCounter.incrementSynchronized();
+		prepare(packetType,mission,alertData);
+		return true;
+	}
+
+	/**
+	 * Note that the full alert for a trigger has been started. If the trigger was prepared, the time
+	 * between the first prepare action and now is recorded in the lead time histogram.
+	 * @param alertData The alert data of the full alert.
+	 * @param time The time the full alert was started, in milliseconds since the epoch.
+	 * @return The lead time in milliseconds, or -1 if the trigger was not prepared (or was already alerted).
+	 * @see #leadTimeHistogram
+	 */
+	public synchronized long alertStarted(GCNDatagramAlertData alertData,long time)
+	{
+		long leadTime;
+		int index;
+
+		index = getIndex(alertData.getAlertType(),alertData.getTriggerNumber());
+		if((index < 0)||(stateList[index] == STATE_ALERTED))
+			return -1;
+		leadTime = time-prepareTimeList[index];
+		leadTimeHistogram.recordSynchronized(leadTime);
+		stateList[index] = STATE_ALERTED;
+		return leadTime;
+	}
+
+	/**
+	 * Find the slot holding a trigger.
+	 * @param mission The trigger's mission (alert type).
+	 * @param triggerNumber The trigger number.
+	 * @return The index of the slot, or -1 if the trigger is not held.
+	 */
+	protected int getIndex(int mission,int triggerNumber)
+	{
+		for(int i = 0; i < stateList.length; i++)
+		{
+			if((stateList[i] != 0)&&(missionList[i] == mission)&&(triggerList[i] == triggerNumber))
+				return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * The prepare action, fired on the first early notice for a trigger (and again on the first early notice
+	 * with a position). This should be quick, e.g. spawning a process or sending a message.
+	 * @param packetType The notice's packet type.
+	 * @param mission The trigger's mission (alert type).
+	 * @param alertData The decoded notice. The RA and Dec are null if the notice has no position.
+	 * @exception Exception Thrown if the action fails.
+	 */
+	protected abstract void prepare(int packetType,int mission,GCNDatagramAlertData alertData)
+		throws Exception;
+}
+//
+// $Log: not supported by cvs2svn $
+//
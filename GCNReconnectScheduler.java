@@ -0,0 +1,150 @@
+// GCNReconnectScheduler.java
+package org.estar.gcn;
+
+import java.lang.*;
+import java.util.*;
+
+/**
+ * This class decides when to next try to re-connect to a remote server.
+ * The first re-connection attempt after a connection that was open fails is made immediately,
+ * as most failures are transient. After that the delay grows exponentially from minDelay,
+ * up to maxDelay, with each delay randomly jittered between half and all of it's nominal length,
+ * so several clients that lost a server at the same time do not all retry together.
+ * A pending attempt can be brought forward (once per attempt) when there is something urgent to send.
+ * @author Chris Mottram
+ * @version $Revision$
+ */
+public class GCNReconnectScheduler
+{
+// constants
+	/**
+	 * Revision control system version id.
+	 */
+	public final static String RCSID = "$Id$";
+	/**
+	 * The default minimum (nominal) delay between failed attempts, in milliseconds.
+	 */
+	public final static long DEFAULT_MIN_DELAY = 1000;
+	/**
+	 * The default maximum (nominal) delay between failed attempts, in milliseconds.
+	 */
+	public final static long DEFAULT_MAX_DELAY = 300000;
+	/**
+	 * The minimum delay between failed attempts, in milliseconds.
+	 */
+	protected long minDelay = DEFAULT_MIN_DELAY;
+	/**
+	 * The maximum delay between failed attempts, in milliseconds.
+	 */
+	protected long maxDelay = DEFAULT_MAX_DELAY;
+	/**
+	 * The number of attempts made since the last successful connection.
+	 */
+	protected int attempt = 0;
+	/**
+	 * Whether the currently scheduled attempt has already been brought forward.
+	 */
+	protected boolean expedited = false;
+	/**
+	 * Random number generator used for the jitter.
+	 */
+	protected Random random = null;
+
+	/**
+	 * Default constructor.
+	 * @see #random
+	 */
+	public GCNReconnectScheduler()
+	{
+		super();
+		random = new Random();
+	}
+
+	/**
+	 * Set the minimum and maximum delays between failed attempts.
+	 * @param min The minimum delay in milliseconds, at least 1.
+	 * @param max The maximum delay in milliseconds, at least min.
+	 * @exception IllegalArgumentException Thrown if the delays are illegal.
+	 * @see #minDelay
+	 * @see #maxDelay
+	 */
+	public void setDelays(long min,long max) throws IllegalArgumentException
+	{
+		if((min < 1)||(max < min))
+		{
+			throw new IllegalArgumentException(this.getClass().getName()+":setDelays:Illegal delays:"+
+							   min+","+max);
+		}
+		minDelay = min;
+		maxDelay = max;
+	}
+
+	/**
+	 * Return the delay before the next attempt, and count the attempt.
+	 * @return The delay in milliseconds. Zero for the first attempt since a successful connection.
+	 * @see #attempt
+	 * @see #minDelay
+	 * @see #maxDelay
+	 * @see #random
+	 */
+	public long nextDelay()
+	{
+		long delay;
+
+		expedited = false;
+		if(attempt == 0)
+			delay = 0;
+		else
+		{
+			delay = minDelay;
+			for(int i = 1; (i < attempt)&&(delay < maxDelay); i++)
+				delay *= 2;
+			if(delay > maxDelay)
+				delay = maxDelay;
+			delay = (delay/2)+(long)(random.nextDouble()*(delay/2));
+		}
+		attempt++;
+		return delay;
+	}
+
+	/**
+	 * Called when a connection is successfully opened. The next attempt (after the connection fails)
+	 * will be immediate.
+	 * @see #attempt
+	 */
+	public void connectionSucceeded()
+	{
+		attempt = 0;
+		expedited = false;
+	}
+
+	/**
+	 * Bring forward a scheduled attempt to now, unless it has already been brought forward.
+	 * This allows one immediate attempt per backoff step, so urgent data does not wait the whole
+	 * backoff delay, without urgent data making the client hammer a server that is down.
+	 * @param scheduledTime The time of the scheduled attempt, in milliseconds since the epoch.
+	 * @param now The current time, in milliseconds since the epoch.
+	 * @return The new time of the attempt.
+	 * @see #expedited
+	 */
+	public long expedite(long scheduledTime,long now)
+	{
+		if(expedited||(scheduledTime <= now))
+			return scheduledTime;
+		expedited = true;
+		return now;
+	}
+
+	/**
+	 * Return the number of attempts made since the last successful connection.
+	 * @return The number of attempts.
+	 * @see #attempt
+	 */
+	public int getAttempt()
+	{
+		return attempt;
+	}
+}
+//
+// $Log: not supported by cvs2svn $
+//
@@ -0,0 +1,1021 @@
+// GCNSkyRegionIndex.java
+package org.estar.gcn;
+
+import java.lang.*;
+import java.io.*;
+import java.text.*;
+import java.util.*;
+import org.estar.astrometry.*;
+
+/**
+ * This class holds a set of sky regions (circles, Galactic latitude bands and declination bands),
+ * precomputed into a hierarchical (HEALPix NESTED scheme) pixel bitmap. This allows an alert position,
+ * including it's error circle, to be tested against the regions with a constant number of bitmap lookups,
+ * rather than iterating over a catalogue of sources.
+ * <p>
+ * Two bitmaps are kept at each order (resolution):
+ * <ul>
+ * <li><b>any</b> A pixel is set if any part of it may lie in a region.
+ * <li><b>all</b> A pixel is set if all of it lies in a region.
+ * </ul>
+ * The finest order bitmaps are computed from the region shapes. Each coarser order is derived
+ * from the four child pixels of each pixel (OR for any, AND for all). An intersects lookup picks the
+ * order whose pixel size is at least the error circle diameter, and tests the pixels containing the centre
+ * and eight points around the circumference of the error circle. A covers lookup descends the pixel
+ * hierarchy, and requires every finest order pixel the error circle may overlap to be wholly within a region,
+ * stopping at any coarser pixel wholly within a region.
+ * <p>
+ * Region files contain one region per line, blank lines and lines starting with '#' are ignored:
+ * <pre>
+ * circle &lt;ra&gt; &lt;dec&gt; &lt;radius&gt;
+ * galactic_band &lt;b_min&gt; &lt;b_max&gt;
+ * dec_band &lt;dec_min&gt; &lt;dec_max&gt;
+ * </pre>
+ * RA and Dec are J2000, in decimal degrees or colon format (HH:MM:SS.ss / [+|-]DD:MM:SS.ss).
+ * The circle radius is in decimal arc-minutes (the same units as the alert error box),
+ * band limits are in decimal degrees.
+ * There is a main method to benchmark the lookup against a region file, and to check covers never returns
+ * true for an error circle straddling a region edge.
+ * @author Chris Mottram
+ * @version $Revision$
+ */
+public class GCNSkyRegionIndex
+{
+// constants
+	/**
+	 * Revision control system version id.
+	 */
+	public final static String RCSID = "$Id$";
+	/**
+	 * The default order of the finest pixelisation. Order 8 is nside 256, 786432 pixels
+	 * of about 13.7 arc-minutes on a side.
+	 */
+	public final static int DEFAULT_ORDER = 8;
+	/**
+	 * The maximum order supported. Order 13 is nside 8192, 805306368 pixels,
+	 * which is about the largest BitSet we want to allocate.
+	 */
+	public final static int MAX_ORDER = 13;
+	/**
+	 * Right ascension of the north Galactic pole (J2000), in degrees.
+	 */
+	public final static double NGP_RA = 192.85948;
+	/**
+	 * Declination of the north Galactic pole (J2000), in degrees.
+	 */
+	public final static double NGP_DEC = 27.12825;
+	/**
+	 * Shape type.
+	 */
+	public final static int SHAPE_CIRCLE = 0;
+	/**
+	 * Shape type.
+	 */
+	public final static int SHAPE_GALACTIC_BAND = 1;
+	/**
+	 * Shape type.
+	 */
+	public final static int SHAPE_DEC_BAND = 2;
+	/**
+	 * HEALPix base pixel ring offsets.
+	 */
+	protected final static int JRLL[] = {2,2,2,2,3,3,3,3,4,4,4,4};
+	/**
+	 * HEALPix base pixel phi offsets.
+	 */
+	protected final static int JPLL[] = {1,3,5,7,0,2,4,6,1,3,5,7};
+	/**
+	 * Sine of the north Galactic pole declination.
+	 */
+	protected final static double SIN_NGP_DEC = Math.sin(Math.toRadians(NGP_DEC));
+	/**
+	 * Cosine of the north Galactic pole declination.
+	 */
+	protected final static double COS_NGP_DEC = Math.cos(Math.toRadians(NGP_DEC));
+	/**
+	 * The name of this index, normally the region filename(s) loaded.
+	 */
+	protected String name = null;
+	/**
+	 * The finest order (nside = 2^order) of the pixelisation.
+	 */
+	protected int order = DEFAULT_ORDER;
+	/**
+	 * Bitmaps for each order, where a pixel is set if any part of it may be in a region.
+	 * Index 0 is order 0 (12 pixels), index order is the finest pixelisation.
+	 */
+	protected BitSet anyBitmapList[] = null;
+	/**
+	 * Bitmaps for each order, where a pixel is set if all of it is in a region.
+	 * Index 0 is order 0 (12 pixels), index order is the finest pixelisation.
+	 */
+	protected BitSet allBitmapList[] = null;
+	/**
+	 * Angular size of a pixel side, for each order, in radians.
+	 */
+	protected double pixelSizeList[] = null;
+	/**
+	 * Whether the coarser order bitmaps need re-computing from the finest order bitmaps.
+	 * @see #build
+	 */
+	protected boolean dirty = false;
+	/**
+	 * The number of shapes added to the index.
+	 */
+	protected int shapeCount = 0;
+
+	/**
+	 * Default constructor. Uses the default order.
+	 * @see #DEFAULT_ORDER
+	 */
+	public GCNSkyRegionIndex()
+	{
+		this(DEFAULT_ORDER);
+	}
+
+	/**
+	 * Constructor.
+	 * @param o The finest order of the pixelisation, between 1 and MAX_ORDER.
+	 * @exception IllegalArgumentException Thrown if the order is out of range.
+	 * @see #order
+	 * @see #MAX_ORDER
+	 * @see #anyBitmapList
+	 * @see #allBitmapList
+	 * @see #pixelSizeList
+	 */
+	public GCNSkyRegionIndex(int o) throws IllegalArgumentException
+	{
+		super();
+		if((o < 1)||(o > MAX_ORDER))
+		{
+			throw new IllegalArgumentException(this.getClass().getName()+":Illegal order:"+o+
+							   " (1.."+MAX_ORDER+").");
+		}
+		order = o;
+		anyBitmapList = new BitSet[order+1];
+		allBitmapList = new BitSet[order+1];
+		pixelSizeList = new double[order+1];
+		for(int i = 0; i <= order; i++)
+		{
+			anyBitmapList[i] = new BitSet((int)getPixelCount(i));
+			allBitmapList[i] = new BitSet((int)getPixelCount(i));
+			// pixel area is 4pi/npix steradians
+			pixelSizeList[i] = Math.sqrt((4.0*Math.PI)/((double)getPixelCount(i)));
+		}
+		dirty = false;
+	}
+
+	/**
+	 * Set the name of this index.
+	 * @param s The name.
+	 * @see #name
+	 */
+	public void setName(String s)
+	{
+		name = s;
+	}
+
+	/**
+	 * Get the name of this index.
+	 * @return The name.
+	 * @see #name
+	 */
+	public String getName()
+	{
+		return name;
+	}
+
+	/**
+	 * Get the finest order of the pixelisation.
+	 * @return The order.
+	 * @see #order
+	 */
+	public int getOrder()
+	{
+		return order;
+	}
+
+	/**
+	 * Get the number of shapes added to this index.
+	 * @return The number of shapes.
+	 * @see #shapeCount
+	 */
+	public int getShapeCount()
+	{
+		return shapeCount;
+	}
+
+	/**
+	 * Add a circular region.
+	 * @param raDeg The J2000 right ascension of the centre, in decimal degrees.
+	 * @param decDeg The J2000 declination of the centre, in decimal degrees.
+	 * @param radiusArcmin The radius of the circle, in decimal arc-minutes.
+	 * @see #addShape
+	 * @see #SHAPE_CIRCLE
+	 */
+	public void addCircle(double raDeg,double decDeg,double radiusArcmin)
+	{
+		double shape[];
+
+		shape = new double[4];
+		raDecToVector(raDeg,decDeg,shape,0);
+		shape[3] = Math.toRadians(radiusArcmin/60.0);
+		addShape(SHAPE_CIRCLE,shape);
+	}
+
+	/**
+	 * Add a Galactic latitude band region, e.g. addGalacticLatitudeBand(-10.0,10.0) for the Galactic plane.
+	 * @param bMinDeg The minimum Galactic latitude, in decimal degrees.
+	 * @param bMaxDeg The maximum Galactic latitude, in decimal degrees.
+	 * @see #addShape
+	 * @see #SHAPE_GALACTIC_BAND
+	 */
+	public void addGalacticLatitudeBand(double bMinDeg,double bMaxDeg)
+	{
+		double shape[];
+
+		shape = new double[2];
+		shape[0] = Math.toRadians(Math.min(bMinDeg,bMaxDeg));
+		shape[1] = Math.toRadians(Math.max(bMinDeg,bMaxDeg));
+		addShape(SHAPE_GALACTIC_BAND,shape);
+	}
+
+	/**
+	 * Add a declination band region.
+	 * @param decMinDeg The minimum J2000 declination, in decimal degrees.
+	 * @param decMaxDeg The maximum J2000 declination, in decimal degrees.
+	 * @see #addShape
+	 * @see #SHAPE_DEC_BAND
+	 */
+	public void addDeclinationBand(double decMinDeg,double decMaxDeg)
+	{
+		double shape[];
+
+		shape = new double[2];
+		shape[0] = Math.toRadians(Math.min(decMinDeg,decMaxDeg));
+		shape[1] = Math.toRadians(Math.max(decMinDeg,decMaxDeg));
+		addShape(SHAPE_DEC_BAND,shape);
+	}
+
+	/**
+	 * Load a region file into this index. The file can contain circle, galactic_band and dec_band lines,
+	 * see the class comment for the format. The coarser order bitmaps are rebuilt once the file is loaded.
+	 * @param file The region file to load.
+	 * @exception IOException Thrown if reading the file fails.
+	 * @exception ParseException Thrown if a line in the file cannot be parsed.
+	 * @see #addCircle
+	 * @see #addGalacticLatitudeBand
+	 * @see #addDeclinationBand
+	 * @see #build
+	 */
+	public void load(File file) throws IOException, ParseException
+	{
+		BufferedReader reader = null;
+		String line = null;
+		String tokenList[] = null;
+		int lineNumber;
+
+		reader = new BufferedReader(new FileReader(file));
+		try
+		{
+			lineNumber = 0;
+			while((line = reader.readLine()) != null)
+			{
+				lineNumber++;
+				line = line.trim();
+				if((line.length() == 0)||line.startsWith("#"))
+					continue;
+				tokenList = line.split("\\s+");
+				try
+				{
+					if(tokenList[0].equals("circle")&&(tokenList.length == 4))
+					{
+						addCircle(parseRA(tokenList[1]),parseDec(tokenList[2]),
+							  Double.parseDouble(tokenList[3]));
+					}
+					else if(tokenList[0].equals("galactic_band")&&(tokenList.length == 3))
+					{
+						addGalacticLatitudeBand(Double.parseDouble(tokenList[1]),
+									Double.parseDouble(tokenList[2]));
+					}
+					else if(tokenList[0].equals("dec_band")&&(tokenList.length == 3))
+					{
+						addDeclinationBand(Double.parseDouble(tokenList[1]),
+								   Double.parseDouble(tokenList[2]));
+					}
+					else
+					{
+						throw new ParseException(file+":"+lineNumber+":Illegal region:"+
+									 line,lineNumber);
+					}
+				}
+				catch(NumberFormatException e)
+				{
+					throw new ParseException(file+":"+lineNumber+":Illegal number:"+line+":"+e,
+								 lineNumber);
+				}
+			}
+		}
+		finally
+		{
+			reader.close();
+		}
+		if(name == null)
+			name = file.toString();
+		else
+			name = name+","+file.toString();
+		build();
+	}
+
+	/**
+	 * Re-compute the coarser order bitmaps from the finest order bitmaps.
+	 * Called by load, must be called after addCircle/addGalacticLatitudeBand/addDeclinationBand
+	 * before the index is used. Does nothing if no shapes have been added since the last build.
+	 * @see #dirty
+	 * @see #anyBitmapList
+	 * @see #allBitmapList
+	 */
+	public void build()
+	{
+		long pixelCount;
+		long child;
+
+		if(dirty == false)
+			return;
+		for(int o = order-1; o >= 0; o--)
+		{
+			anyBitmapList[o].clear();
+			allBitmapList[o].clear();
+			pixelCount = getPixelCount(o);
+			for(long p = 0; p < pixelCount; p++)
+			{
+				child = p << 2;
+				if(anyBitmapList[o+1].get((int)child)||anyBitmapList[o+1].get((int)(child+1))||
+				   anyBitmapList[o+1].get((int)(child+2))||anyBitmapList[o+1].get((int)(child+3)))
+					anyBitmapList[o].set((int)p);
+				if(allBitmapList[o+1].get((int)child)&&allBitmapList[o+1].get((int)(child+1))&&
+				   allBitmapList[o+1].get((int)(child+2))&&allBitmapList[o+1].get((int)(child+3)))
+					allBitmapList[o].set((int)p);
+			}
+		}
+		dirty = false;
+	}
+
+	/**
+	 * Return whether the specified position is within a region.
+	 * @param raDeg The J2000 right ascension, in decimal degrees.
+	 * @param decDeg The J2000 declination, in decimal degrees.
+	 * @return true if the position is (probably) within a region.
+	 * @see #intersects
+	 */
+	public boolean contains(double raDeg,double decDeg)
+	{
+		return intersects(raDeg,decDeg,0.0);
+	}
+
+	/**
+	 * Return whether any part of the specified error circle may overlap a region.
+	 * This is conservative, i.e. it may return true for circles that lie just outside a region.
+	 * @param raDeg The J2000 right ascension of the error circle centre, in decimal degrees.
+	 * @param decDeg The J2000 declination of the error circle centre, in decimal degrees.
+	 * @param radiusArcmin The radius of the error circle, in decimal arc-minutes.
+	 * @return true if the error circle may overlap a region.
+	 * @see #lookup
+	 * @see #anyBitmapList
+	 */
+	public boolean intersects(double raDeg,double decDeg,double radiusArcmin)
+	{
+		return lookup(anyBitmapList,raDeg,decDeg,radiusArcmin,false);
+	}
+
+	/**
+	 * Return whether the whole of the specified error circle lies within the regions.
+	 * This is conservative, i.e. it may return false for circles that lie just inside a region boundary,
+	 * but never returns true for a circle that is partly outside the regions: every pixel the circle may
+	 * overlap must be wholly within a region.
+	 * @param raDeg The J2000 right ascension of the error circle centre, in decimal degrees.
+	 * @param decDeg The J2000 declination of the error circle centre, in decimal degrees.
+	 * @param radiusArcmin The radius of the error circle, in decimal arc-minutes.
+	 * @return true if the error circle lies within the regions.
+	 * @see #coversPixel
+	 * @see #allBitmapList
+	 */
+	public boolean covers(double raDeg,double decDeg,double radiusArcmin)
+	{
+		double circle[] = new double[4];
+		double vector[] = new double[3];
+
+		build();
+		raDecToVector(raDeg,decDeg,circle,0);
+		// quick reject, the pixel containing the centre must be covered
+		if(allBitmapList[order].get((int)vectorToPixel(order,circle)) == false)
+			return false;
+		circle[3] = Math.toRadians(Math.max(radiusArcmin,0.0)/60.0);
+		for(int p = 0; p < 12; p++)
+		{
+			if(coversPixel(circle,0,p,vector) == false)
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Return a string describing this index.
+	 */
+	public String toString()
+	{
+		return this.getClass().getName()+":"+name+":order "+order+":"+shapeCount+" shapes:"+
+			anyBitmapList[order].cardinality()+" pixels touched:"+
+			allBitmapList[order].cardinality()+" pixels covered.";
+	}
+
+	// protected methods
+	/**
+	 * Add a shape to the finest order bitmaps. The shape is rasterised by descending the NESTED
+	 * pixel hierarchy from the 12 base pixels, skipping any sub-tree that is wholly outside the shape,
+	 * and setting the contiguous range of finest pixels of any sub-tree that is wholly inside the shape.
+	 * @param shapeType The type of shape.
+	 * @param shape The shape parameters.
+	 * @see #addPixel
+	 * @see #dirty
+	 * @see #shapeCount
+	 */
+	protected void addShape(int shapeType,double shape[])
+	{
+		double vector[] = new double[3];
+
+		for(int p = 0; p < 12; p++)
+			addPixel(shapeType,shape,0,p,vector);
+		shapeCount++;
+		dirty = true;
+	}
+
+	/**
+	 * Rasterise a shape into the sub-tree of the finest order bitmaps below a pixel.
+	 * @param shapeType The type of shape.
+	 * @param shape The shape parameters.
+	 * @param o The order of the pixel.
+	 * @param pixel The NESTED pixel number at order o.
+	 * @param vector A scratch array of 3 doubles.
+	 * @see #margin
+	 * @see #pixelToVector
+	 * @see #pixelSizeList
+	 */
+	protected void addPixel(int shapeType,double shape[],int o,long pixel,double vector[])
+	{
+		double m,pixelRadius;
+		long from,to;
+		int shift;
+
+		pixelToVector(o,pixel,vector);
+		m = margin(shapeType,shape,vector);
+		// The distance from a pixel centre to it's furthest corner is at most about 1.03 pixel sides
+		pixelRadius = pixelSizeList[o]*1.1;
+		if(m < -pixelRadius)
+			return;
+		if(o == order)
+		{
+			anyBitmapList[order].set((int)pixel);
+			if(m >= pixelRadius)
+				allBitmapList[order].set((int)pixel);
+			return;
+		}
+		if(m >= pixelRadius)
+		{
+			shift = 2*(order-o);
+			from = pixel << shift;
+			to = (pixel+1) << shift;
+			anyBitmapList[order].set((int)from,(int)to);
+			allBitmapList[order].set((int)from,(int)to);
+			return;
+		}
+		for(int i = 0; i < 4; i++)
+			addPixel(shapeType,shape,o+1,(pixel << 2)+i,vector);
+	}
+
+	/**
+	 * Return whether the part of a circle within a pixel is wholly within the regions.
+	 * As in addPixel, the pixel may overlap the circle if it's centre is within pixelRadius of the circle.
+	 * The pixel is covered if it does not overlap the circle, or is wholly within a region,
+	 * otherwise it's children are tested. A finest order pixel that may overlap the circle,
+	 * and is not wholly within a region, is not covered.
+	 * @param circle The circle, as a SHAPE_CIRCLE shape (unit vector of the centre, and radius in radians).
+	 * @param o The order of the pixel.
+	 * @param pixel The NESTED pixel number at order o.
+	 * @param vector A scratch array of 3 doubles.
+	 * @return true if the part of the circle within the pixel is wholly within the regions.
+	 * @see #addPixel
+	 * @see #margin
+	 * @see #allBitmapList
+	 */
+	protected boolean coversPixel(double circle[],int o,long pixel,double vector[])
+	{
+		double m,pixelRadius;
+
+		pixelToVector(o,pixel,vector);
+		m = margin(SHAPE_CIRCLE,circle,vector);
+		pixelRadius = pixelSizeList[o]*1.1;
+		if(m < -pixelRadius)
+			return true;
+		if(allBitmapList[o].get((int)pixel))
+			return true;
+		if(o == order)
+			return false;
+		for(int i = 0; i < 4; i++)
+		{
+			if(coversPixel(circle,o+1,(pixel << 2)+i,vector) == false)
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Return the angular distance of a position inside a shape's boundary.
+	 * @param shapeType The type of shape.
+	 * @param shape The shape parameters.
+	 * @param vector The position, as a unit vector.
+	 * @return The distance in radians, positive if the position is inside the shape,
+	 *         negative if it is outside.
+	 */
+	protected double margin(int shapeType,double shape[],double vector[])
+	{
+		double d,b,dec;
+
+		switch(shapeType)
+		{
+			case SHAPE_CIRCLE:
+				d = (shape[0]*vector[0])+(shape[1]*vector[1])+(shape[2]*vector[2]);
+				if(d > 1.0)
+					d = 1.0;
+				else if(d < -1.0)
+					d = -1.0;
+				return shape[3]-Math.acos(d);
+			case SHAPE_GALACTIC_BAND:
+				b = galacticLatitude(vector);
+				return Math.min(b-shape[0],shape[1]-b);
+			case SHAPE_DEC_BAND:
+				dec = Math.asin(vector[2]);
+				return Math.min(dec-shape[0],shape[1]-dec);
+			default:
+				return -Math.PI;
+		}
+	}
+
+	/**
+	 * Test an error circle against a set of bitmaps. The order used is the finest one whose pixel size
+	 * is at least the diameter of the error circle, and the pixels containing the centre and 8 points
+	 * around the circumference are tested. This is used by intersects, it is not conservative enough for
+	 * covers, as a region edge can pass between the tested points.
+	 * @param bitmapList The bitmaps to test against (anyBitmapList or allBitmapList).
+	 * @param raDeg The J2000 right ascension of the error circle centre, in decimal degrees.
+	 * @param decDeg The J2000 declination of the error circle centre, in decimal degrees.
+	 * @param radiusArcmin The radius of the error circle, in decimal arc-minutes.
+	 * @param all If true, all the tested pixels must be set, otherwise any tested pixel must be set.
+	 * @return The result of the test.
+	 * @see #vectorToPixel
+	 */
+	protected boolean lookup(BitSet bitmapList[],double raDeg,double decDeg,double radiusArcmin,boolean all)
+	{
+		double centre[] = new double[3];
+		double point[] = new double[3];
+		double ra,dec,radius,sinRadius,cosRadius,eastX,eastY,northX,northY,northZ,c,s;
+		boolean set;
+		int o;
+
+		build();
+		radius = Math.toRadians(radiusArcmin/60.0);
+		raDecToVector(raDeg,decDeg,centre,0);
+		o = order;
+		while((o > 0)&&(pixelSizeList[o] < (2.0*radius)))
+			o--;
+		set = bitmapList[o].get((int)vectorToPixel(o,centre));
+		if(radius <= 0.0)
+			return set;
+		if(all && (set == false))
+			return false;
+		if((all == false) && set)
+			return true;
+		ra = Math.toRadians(raDeg);
+		dec = Math.toRadians(decDeg);
+		sinRadius = Math.sin(radius);
+		cosRadius = Math.cos(radius);
+		eastX = -Math.sin(ra);
+		eastY = Math.cos(ra);
+		northX = -Math.sin(dec)*Math.cos(ra);
+		northY = -Math.sin(dec)*Math.sin(ra);
+		northZ = Math.cos(dec);
+		for(int i = 0; i < 8; i++)
+		{
+			c = Math.cos((Math.PI*i)/4.0)*sinRadius;
+			s = Math.sin((Math.PI*i)/4.0)*sinRadius;
+			point[0] = (centre[0]*cosRadius)+(eastX*c)+(northX*s);
+			point[1] = (centre[1]*cosRadius)+(eastY*c)+(northY*s);
+			point[2] = (centre[2]*cosRadius)+(northZ*s);
+			set = bitmapList[o].get((int)vectorToPixel(o,point));
+			if(all && (set == false))
+				return false;
+			if((all == false) && set)
+				return true;
+		}
+		return all;
+	}
+
+	/**
+	 * Parse a RA, either as decimal degrees or in colon format.
+	 * @param s The string.
+	 * @return The RA in decimal degrees.
+	 * @exception NumberFormatException Thrown if the string is not a number.
+	 */
+	protected double parseRA(String s) throws NumberFormatException
+	{
+		RA ra = null;
+
+		if(s.indexOf(':') < 0)
+			return Double.parseDouble(s);
+		ra = new RA();
+		ra.parseColon(s);
+		return ra.toArcSeconds()/3600.0;
+	}
+
+	/**
+	 * Parse a declination, either as decimal degrees or in colon format.
+	 * @param s The string.
+	 * @return The declination in decimal degrees.
+	 * @exception NumberFormatException Thrown if the string is not a number.
+	 */
+	protected double parseDec(String s) throws NumberFormatException
+	{
+		Dec dec = null;
+
+		if(s.indexOf(':') < 0)
+			return Double.parseDouble(s);
+		dec = new Dec();
+		dec.parseColon(s);
+		return dec.toArcSeconds()/3600.0;
+	}
+
+	// static methods
+	/**
+	 * Return the number of pixels at the specified order.
+	 * @param o The order.
+	 * @return 12*nside*nside.
+	 */
+	public static long getPixelCount(int o)
+	{
+		return 12L << (2*o);
+	}
+
+	/**
+	 * Convert a RA and Dec into a unit vector.
+	 * @param raDeg The right ascension in decimal degrees.
+	 * @param decDeg The declination in decimal degrees.
+	 * @param vector The array to put the vector in.
+	 * @param offset The index in the array to put the x component.
+	 */
+	protected static void raDecToVector(double raDeg,double decDeg,double vector[],int offset)
+	{
+		double ra,dec;
+
+		ra = Math.toRadians(raDeg);
+		dec = Math.toRadians(decDeg);
+		vector[offset] = Math.cos(dec)*Math.cos(ra);
+		vector[offset+1] = Math.cos(dec)*Math.sin(ra);
+		vector[offset+2] = Math.sin(dec);
+	}
+
+	/**
+	 * Return the Galactic latitude of a (J2000) position.
+	 * @param vector The position, as a unit vector.
+	 * @return The Galactic latitude in radians.
+	 * @see #NGP_RA
+	 * @see #SIN_NGP_DEC
+	 * @see #COS_NGP_DEC
+	 */
+	protected static double galacticLatitude(double vector[])
+	{
+		double ra,dec,sinB;
+
+		ra = Math.atan2(vector[1],vector[0]);
+		dec = Math.asin(vector[2]);
+		sinB = (Math.sin(dec)*SIN_NGP_DEC)+
+			(Math.cos(dec)*COS_NGP_DEC*Math.cos(ra-Math.toRadians(NGP_RA)));
+		if(sinB > 1.0)
+			sinB = 1.0;
+		else if(sinB < -1.0)
+			sinB = -1.0;
+		return Math.asin(sinB);
+	}
+
+	/**
+	 * Return the NESTED pixel containing a position (HEALPix ang2pix_nest).
+	 * @param o The order.
+	 * @param vector The position, as a unit vector.
+	 * @return The pixel number.
+	 */
+	protected static long vectorToPixel(int o,double vector[])
+	{
+		double z,za,phi,tt,tp,tmp,temp1,temp2;
+		long nside,jp,jm,ifp,ifm,ix,iy;
+		int faceNumber,ntt;
+
+		nside = 1L << o;
+		z = vector[2];
+		if(z > 1.0)
+			z = 1.0;
+		else if(z < -1.0)
+			z = -1.0;
+		za = Math.abs(z);
+		phi = Math.atan2(vector[1],vector[0]);
+		if(phi < 0.0)
+			phi += 2.0*Math.PI;
+		tt = (phi*2.0)/Math.PI; // in [0,4)
+		if(tt >= 4.0)
+			tt = 0.0;
+		if(za <= (2.0/3.0)) // equatorial region
+		{
+			temp1 = nside*(0.5+tt);
+			temp2 = nside*z*0.75;
+			jp = (long)(temp1-temp2); // index of ascending edge line
+			jm = (long)(temp1+temp2); // index of descending edge line
+			ifp = jp >> o; // in {0,4}
+			ifm = jm >> o;
+			if(ifp == ifm)
+				faceNumber = (int)(ifp|4);
+			else if(ifp < ifm)
+				faceNumber = (int)ifp;
+			else
+				faceNumber = (int)(ifm+8);
+			ix = jm & (nside-1);
+			iy = nside-(jp & (nside-1))-1;
+		}
+		else // polar region
+		{
+			ntt = (int)tt;
+			if(ntt >= 4)
+				ntt = 3;
+			tp = tt-ntt;
+			tmp = nside*Math.sqrt(3.0*(1.0-za));
+			jp = (long)(tp*tmp);
+			jm = (long)((1.0-tp)*tmp);
+			if(jp >= nside)
+				jp = nside-1;
+			if(jm >= nside)
+				jm = nside-1;
+			if(z >= 0)
+			{
+				faceNumber = ntt;
+				ix = nside-jm-1;
+				iy = nside-jp-1;
+			}
+			else
+			{
+				faceNumber = ntt+8;
+				ix = jp;
+				iy = jm;
+			}
+		}
+		return (((long)faceNumber) << (2*o))+interleave(ix,iy);
+	}
+
+	/**
+	 * Return the unit vector of the centre of a NESTED pixel (HEALPix pix2ang_nest).
+	 * @param o The order.
+	 * @param pixel The pixel number.
+	 * @param vector The array to put the vector in.
+	 */
+	protected static void pixelToVector(int o,long pixel,double vector[])
+	{
+		double fact1,fact2,z,phi,sinTheta;
+		long nside,nl4,npface,ipf,ix,iy,jr,nr,jp;
+		int faceNumber,kshift;
+
+		nside = 1L << o;
+		nl4 = 4*nside;
+		npface = nside*nside;
+		fact2 = 4.0/((double)getPixelCount(o));
+		fact1 = (nside << 1)*fact2;
+		faceNumber = (int)(pixel >> (2*o));
+		ipf = pixel & (npface-1);
+		ix = deinterleave(ipf);
+		iy = deinterleave(ipf >> 1);
+		jr = (((long)JRLL[faceNumber]) << o)-ix-iy-1;
+		if(jr < nside)
+		{
+			nr = jr;
+			z = 1.0-(nr*nr*fact2);
+			kshift = 0;
+		}
+		else if(jr > (3*nside))
+		{
+			nr = nl4-jr;
+			z = (nr*nr*fact2)-1.0;
+			kshift = 0;
+		}
+		else
+		{
+			nr = nside;
+			z = ((2*nside)-jr)*fact1;
+			kshift = (int)((jr-nside)&1);
+		}
+		jp = ((JPLL[faceNumber]*nr)+ix-iy+1+kshift)/2;
+		if(jp > nl4)
+			jp -= nl4;
+		if(jp < 1)
+			jp += nl4;
+		phi = (jp-((kshift+1)*0.5))*((Math.PI/2.0)/nr);
+		sinTheta = Math.sqrt((1.0-z)*(1.0+z));
+		vector[0] = sinTheta*Math.cos(phi);
+		vector[1] = sinTheta*Math.sin(phi);
+		vector[2] = z;
+	}
+
+	/**
+	 * Interleave the bits of x (even bits) and y (odd bits).
+	 * @param x The x coordinate within a base pixel.
+	 * @param y The y coordinate within a base pixel.
+	 * @return The NESTED pixel index within the base pixel.
+	 */
+	protected static long interleave(long x,long y)
+	{
+		long result = 0;
+
+		for(int i = 0; i < 32; i++)
+		{
+			result |= ((x >> i) & 1L) << (2*i);
+			result |= ((y >> i) & 1L) << ((2*i)+1);
+		}
+		return result;
+	}
+
+	/**
+	 * Extract the even bits of a number.
+	 * @param v The number.
+	 * @return A number made up of the even bits of v.
+	 */
+	protected static long deinterleave(long v)
+	{
+		long result = 0;
+
+		for(int i = 0; i < 32; i++)
+			result |= ((v >> (2*i)) & 1L) << i;
+		return result;
+	}
+
+	/**
+	 * Check covers against the Galactic plane (galactic_band -10 10). Random error circles are centred inside
+	 * the band, within a degree of it's edge, with a radius that takes them just across the edge (by up to
+	 * 2 arc-minutes), which must not be covered. Error circles that stop 3 pixels inside the edge are also looked up,
+	 * and the number covered reported.
+	 * @param o The order of the index.
+	 * @param count The number of random positions to try.
+	 * @return The number of straddling error circles that were covered (failures).
+	 * @see #covers
+	 */
+	protected static int checkBandEdge(int o,int count)
+	{
+		GCNSkyRegionIndex index = null;
+		Random random = null;
+		double vector[] = new double[3];
+		double raDeg,decDeg,edgeArcmin,pixelArcmin,radiusArcmin;
+		int failureCount,straddleCount,insideCount,coveredCount;
+
+		index = new GCNSkyRegionIndex(o);
+		index.addGalacticLatitudeBand(-10.0,10.0);
+		index.build();
+		pixelArcmin = Math.toDegrees(index.pixelSizeList[o])*60.0;
+		random = new Random(20040629L);
+		failureCount = 0;
+		straddleCount = 0;
+		insideCount = 0;
+		coveredCount = 0;
+		for(int i = 0; i < count; i++)
+		{
+			raDeg = random.nextDouble()*360.0;
+			decDeg = Math.toDegrees(Math.asin((random.nextDouble()*2.0)-1.0));
+			raDecToVector(raDeg,decDeg,vector,0);
+			edgeArcmin = (10.0-Math.abs(Math.toDegrees(galacticLatitude(vector))))*60.0;
+			if((edgeArcmin <= 0.0)||(edgeArcmin > 60.0))
+				continue;
+			// straddles the band edge
+			radiusArcmin = edgeArcmin+0.01+(random.nextDouble()*2.0);
+			straddleCount++;
+			if(index.covers(raDeg,decDeg,radiusArcmin))
+			{
+				failureCount++;
+				System.out.println("FAILED:covers:RA "+raDeg+" Dec "+decDeg+" radius "+radiusArcmin+
+						   " arcmin, "+edgeArcmin+" arcmin from the band edge.");
+			}
+			// well inside the band edge
+			radiusArcmin = edgeArcmin-(3.0*pixelArcmin);
+			if(radiusArcmin > 0.0)
+			{
+				insideCount++;
+				if(index.covers(raDeg,decDeg,radiusArcmin))
+					coveredCount++;
+			}
+		}
+		System.out.println("Check:"+straddleCount+" error circles straddling the galactic_band edge, "+
+				   failureCount+" covered.");
+		System.out.println("Check:"+insideCount+" error circles inside the galactic_band, "+coveredCount+
+				   " covered.");
+		return failureCount;
+	}
+
+	// static main
+	/**
+	 * Main program, for benchmarking GCNSkyRegionIndex lookups, or checking covers.
+	 * <pre>
+	 * java org.estar.gcn.GCNSkyRegionIndex &lt;region file&gt; [&lt;order&gt; [&lt;lookup count&gt; [&lt;error box arcmin&gt;]]]
+	 * java org.estar.gcn.GCNSkyRegionIndex -check [&lt;order&gt; [&lt;count&gt;]]
+	 * </pre>
+	 * Times the lookup of random positions (after a warm up run, to allow the JIT to compile the lookup).
+	 * With -check, runs checkBandEdge, and exits with a non-zero status if it fails.
+	 * @see #checkBandEdge
+	 */
+	public static void main(String args[])
+	{
+		GCNSkyRegionIndex index = null;
+		Random random = null;
+		double raList[],decList[];
+		long startTime,endTime;
+		double errorBox = 0.0;
+		int o = DEFAULT_ORDER;
+		int count = 1000000;
+		int hitCount;
+
+		if(args.length < 1)
+		{
+			System.err.println("java org.estar.gcn.GCNSkyRegionIndex <region file> "+
+					   "[<order> [<lookup count> [<error box arcmin>]]]");
+			System.err.println("java org.estar.gcn.GCNSkyRegionIndex -check [<order> [<count>]]");
+			System.exit(1);
+		}
+		if(args[0].equals("-check"))
+		{
+			if(args.length > 1)
+				o = Integer.parseInt(args[1]);
+			if(args.length > 2)
+				count = Integer.parseInt(args[2]);
+			if(checkBandEdge(o,count) > 0)
+				System.exit(3);
+			System.exit(0);
+		}
+		try
+		{
+			if(args.length > 1)
+				o = Integer.parseInt(args[1]);
+			if(args.length > 2)
+				count = Integer.parseInt(args[2]);
+			if(args.length > 3)
+				errorBox = Double.parseDouble(args[3]);
+			startTime = System.currentTimeMillis();
+			index = new GCNSkyRegionIndex(o);
+			index.load(new File(args[0]));
+			endTime = System.currentTimeMillis();
+			System.out.println(index+" built in "+(endTime-startTime)+" ms.");
+		}
+		catch(Exception e)
+		{
+			System.err.println("GCNSkyRegionIndex:Loading "+args[0]+" failed:"+e);
+			e.printStackTrace(System.err);
+			System.exit(2);
+		}
+		random = new Random(20040629L);
+		raList = new double[count];
+		decList = new double[count];
+		for(int i = 0; i < count; i++)
+		{
+			raList[i] = random.nextDouble()*360.0;
+			decList[i] = Math.toDegrees(Math.asin((random.nextDouble()*2.0)-1.0));
+		}
+		for(int run = 0; run < 3; run++)
+		{
+			hitCount = 0;
+			startTime = System.currentTimeMillis();
+			for(int i = 0; i < count; i++)
+			{
+				if(index.covers(raList[i],decList[i],errorBox))
+					hitCount++;
+			}
+			endTime = System.currentTimeMillis();
+			System.out.println("Run "+run+":covers:"+count+" lookups in "+(endTime-startTime)+" ms ("+
+					   ((((double)(endTime-startTime))*1000000.0)/((double)count))+
+					   " ns/lookup), "+hitCount+" covered.");
+			hitCount = 0;
+			startTime = System.currentTimeMillis();
+			for(int i = 0; i < count; i++)
+			{
+				if(index.intersects(raList[i],decList[i],errorBox))
+					hitCount++;
+			}
+			endTime = System.currentTimeMillis();
+			System.out.println("Run "+run+":intersects:"+count+" lookups in "+(endTime-startTime)+" ms ("+
+					   ((((double)(endTime-startTime))*1000000.0)/((double)count))+
+					   " ns/lookup), "+hitCount+" intersected.");
+		}
+		System.exit(0);
+	}
+}
+//
+// $Log: not supported by cvs2svn $
+//
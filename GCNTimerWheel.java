@@ -0,0 +1,269 @@
+// GCNTimerWheel.java
+package org.estar.gcn;
+
+import java.lang.*;
+import java.util.*;
+
+/**
+ * A hashed timer wheel, that runs scheduled tasks on a single thread. Time is divided into ticks, and
+ * each scheduled timeout is placed in the wheel slot of the tick it expires on (wrapping round the wheel, with
+ * a count of the remaining rounds for timeouts further away than one revolution). Scheduling a timeout is a
+ * constant time operation, cancelling one only searches it's slot, and only the timeouts in the current slot
+ * are looked at each tick. So many watchdog style timeouts (which are usually cancelled and re-scheduled
+ * before they expire) can be handled without a thread or a sorted queue each.
+ * <p>
+ * Timeouts expire to within one tick. Tasks are run on the wheel thread, and so should not block.
+ * There is a default wheel, with a one second tick, shared by all the components in a JVM.
+ * @author Chris Mottram
+ * @version $Revision$
+ */
+public class GCNTimerWheel implements Runnable
+{
+// constants
+	/**
+	 * Revision control system version id.
+	 */
+	public final static String RCSID = "$Id$";
+	/**
+	 * The default tick length, in milliseconds.
+	 */
+	public final static long DEFAULT_TICK_LENGTH = 1000;
+	/**
+	 * The default number of slots in the wheel.
+	 */
+	public final static int DEFAULT_SLOT_COUNT = 256;
+	/**
+	 * The default wheel, created and started when first used.
+	 */
+	protected static GCNTimerWheel defaultWheel = null;
+	/**
+	 * The tick length, in milliseconds.
+	 */
+	protected long tickLength = DEFAULT_TICK_LENGTH;
+	/**
+	 * The wheel slots, each a List of Timeout.
+	 */
+	protected List slotList[] = null;
+	/**
+	 * The number of ticks processed since the wheel was started.
+	 */
+	protected long tick = 0;
+	/**
+	 * The time (in milliseconds since the epoch) the wheel was started.
+	 */
+	protected long startTime = 0;
+	/**
+	 * Whether to quit the run method.
+	 */
+	protected boolean quit = false;
+
+	/**
+	 * Constructor.
+	 * @param t The tick length, in milliseconds.
+	 * @param slotCount The number of slots in the wheel.
+	 * @exception IllegalArgumentException Thrown if the tick length or slot count are not positive.
+	 * @see #tickLength
+	 * @see #slotList
+	 */
+	public GCNTimerWheel(long t,int slotCount) throws IllegalArgumentException
+	{
+		super();
+		if((t < 1)||(slotCount < 1))
+		{
+			throw new IllegalArgumentException(this.getClass().getName()+":Illegal tick length "+t+
+							   " or slot count "+slotCount+".");
+		}
+		tickLength = t;
+		slotList = new List[slotCount];
+		for(int i = 0; i < slotCount; i++)
+			slotList[i] = new LinkedList();
+		startTime = System.currentTimeMillis();
+		tick = 0;
+	}
+
+	/**
+	 * Return the default timer wheel, creating it and starting it's (daemon) thread if necessary.
+	 * @return The default wheel.
+	 * @see #defaultWheel
+	 */
+	public static synchronized GCNTimerWheel getDefault()
+	{
+		Thread thread = null;
+
+		if(defaultWheel == null)
+		{
+			defaultWheel = new GCNTimerWheel(DEFAULT_TICK_LENGTH,DEFAULT_SLOT_COUNT);
+			thread = new Thread(defaultWheel,"GCNTimerWheel");
+			thread.setDaemon(true);
+			thread.start();
+		}
+		return defaultWheel;
+	}
+
+	/**
+	 * Schedule a task to be run after a delay.
+	 * @param task The task to run, on the wheel thread.
+	 * @param delay The delay, in milliseconds.
+	 * @return A timeout, that can be used to cancel the task.
+	 * @see #slotList
+	 */
+	public synchronized Timeout schedule(Runnable task,long delay)
+	{
+		Timeout timeout = null;
+		long expiryTick,ticks;
+
+		// the tick the timeout expires on, rounded up, and never the tick being processed
+		expiryTick = (System.currentTimeMillis()-startTime+Math.max(delay,0)+tickLength-1)/tickLength;
+		if(expiryTick <= tick)
+			expiryTick = tick+1;
+		ticks = expiryTick-tick;
+		timeout = new Timeout(task);
+		timeout.remainingRounds = (ticks-1)/slotList.length;
+		timeout.slot = slotList[(int)(expiryTick%slotList.length)];
+		timeout.slot.add(timeout);
+		return timeout;
+	}
+
+	/**
+	 * Run method. Each tick, the timeouts in the current slot with no remaining rounds are removed and their
+	 * tasks run. Any exception thrown by a task is printed, and does not stop the wheel.
+	 * @see #tick
+	 * @see #expireTimeouts
+	 */
+	public void run()
+	{
+		List expiredList = null;
+		Timeout timeout = null;
+		long nextTickTime,now;
+
+		while(quit == false)
+		{
+			nextTickTime = startTime+((tick+1)*tickLength);
+			now = System.currentTimeMillis();
+			if(now < nextTickTime)
+			{
+				try
+				{
+					Thread.sleep(nextTickTime-now);
+				}
+				catch(InterruptedException e)
+				{
+				}
+				continue;
+			}
+			expiredList = expireTimeouts();
+			for(int i = 0; i < expiredList.size(); i++)
+			{
+				timeout = (Timeout)(expiredList.get(i));
+				try
+				{
+					timeout.task.run();
+				}
+				catch(Exception e)
+				{
+					System.err.println(this.getClass().getName()+":run:task "+timeout.task+
+							   " failed:"+e);
+					e.printStackTrace(System.err);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Advance the wheel by one tick, and return the timeouts that have expired.
+	 * @return A list of expired Timeout.
+	 * @see #tick
+	 * @see #slotList
+	 */
+	protected synchronized List expireTimeouts()
+	{
+		List expiredList = null;
+		List slot = null;
+		Iterator iterator = null;
+		Timeout timeout = null;
+
+		tick++;
+		expiredList = new Vector();
+		slot = slotList[(int)(tick%slotList.length)];
+		iterator = slot.iterator();
+		while(iterator.hasNext())
+		{
+			timeout = (Timeout)(iterator.next());
+			if(timeout.remainingRounds > 0)
+				timeout.remainingRounds--;
+			else
+			{
+				iterator.remove();
+				timeout.slot = null;
+				expiredList.add(timeout);
+			}
+		}
+		return expiredList;
+	}
+
+	/**
+	 * Cancel a timeout, if it has not yet expired.
+	 * @param timeout The timeout.
+	 * @return true if the timeout was cancelled, false if it had already expired (or been cancelled).
+	 */
+	protected synchronized boolean cancel(Timeout timeout)
+	{
+		if(timeout.slot == null)
+			return false;
+		timeout.slot.remove(timeout);
+		timeout.slot = null;
+		return true;
+	}
+
+	/**
+	 * Stop the wheel thread. Scheduled tasks are not run.
+	 * @see #quit
+	 */
+	public void quit()
+	{
+		quit = true;
+	}
+
+	/**
+	 * A scheduled task.
+	 * @see GCNTimerWheel#schedule
+	 */
+	public class Timeout
+	{
+		/**
+		 * The task to run.
+		 */
+		protected Runnable task = null;
+		/**
+		 * The slot the timeout is in, or null if it has expired or been cancelled.
+		 */
+		protected List slot = null;
+		/**
+		 * The number of revolutions of the wheel left before the timeout expires.
+		 */
+		protected long remainingRounds = 0;
+
+		/**
+		 * Constructor.
+		 * @param t The task to run.
+		 */
+		public Timeout(Runnable t)
+		{
+			super();
+			task = t;
+		}
+
+		/**
+		 * Cancel the timeout, if it has not yet expired.
+		 * @return true if the timeout was cancelled, false if it had already expired (or been cancelled).
+		 * @see GCNTimerWheel#cancel
+		 */
+		public boolean cancel()
+		{
+			return GCNTimerWheel.this.cancel(this);
+		}
+	}
+}
+//
+// $Log: not supported by cvs2svn $
+//
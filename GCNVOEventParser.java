@@ -0,0 +1,588 @@
+// GCNVOEventParser.java
+package org.estar.gcn;
+
+import java.lang.*;
+import java.io.*;
+import java.text.*;
+import java.util.*;
+import javax.xml.parsers.*;
+import org.xml.sax.*;
+import org.xml.sax.helpers.*;
+import org.estar.astrometry.*;
+
+/**
+ * Streaming parser for GCN VOEvent (XML) notices, that fills in a GCNDatagramAlertData as the binary
+ * packet decoders do, so VOEvent alerts can be passed through the same alert filter.
+ * The following parts of the VOEvent are used:
+ * <ul>
+ * <li>The <b>ivorn</b> attribute gives the mission (e.g. ivo://nasa.gsfc.gcn/SWIFT#BAT_GRB_Pos_...),
+ *     and a <b>role</b> of "test" sets the test flag.
+ * <li><b>Who/Date</b> gives the notice date.
+ * <li><b>What/Param</b>: Packet_Type, TrigID (trigger number), Pkt_Ser_Num (sequence number),
+ *     Soln_Status (Swift solution status bits), and the GRB_Identified and Def_NOT_a_GRB flags.
+ * <li><b>WhereWhen</b>: ISOTime gives the burst date, C1 and C2 the RA and Dec (degrees, J2000),
+ *     and Error2Radius the error box radius (degrees).
+ * <li><b>Why</b>: the importance attribute, and the Inference Concept.
+ * </ul>
+ * As the binary packet decoders (processData) do, the alert type is only set for the burst position packet
+ * types, and only if the ivorn names the same mission. Notices without a position (e.g. Point_Dir, SC_Slew,
+ * FOM_Obs), test notices, and non-Swift notices flagged Def_NOT_a_GRB are not alerts. A Swift notice flagged
+ * Def_NOT_a_GRB sets the "definitely not a GRB" solution status bit, so it is filtered by the solution
+ * status reject mask, as a binary packet is.
+ * The SAX reader is created once and reused for each document, and element names are looked up in a
+ * tag table built once, so each element costs one hash lookup. Only the text of the elements used is kept.
+ * An instance must only be used by one thread at a time.
+ * @author Chris Mottram
+ * @version $Revision$
+ * @see GCNDatagramAlertData
+ */
+public class GCNVOEventParser extends DefaultHandler
+{
+// constants
+	/**
+	 * Revision control system version id.
+	 */
+	public final static String RCSID = "$Id$";
+	/**
+	 * Tag code for elements that are not used.
+	 */
+	protected final static int TAG_OTHER = 0;
+	/**
+	 * Tag code for the VOEvent element.
+	 */
+	protected final static int TAG_VOEVENT = 1;
+	/**
+	 * Tag code for the Who element.
+	 */
+	protected final static int TAG_WHO = 2;
+	/**
+	 * Tag code for the Date element.
+	 */
+	protected final static int TAG_DATE = 3;
+	/**
+	 * Tag code for the Param element.
+	 */
+	protected final static int TAG_PARAM = 4;
+	/**
+	 * Tag code for the WhereWhen element.
+	 */
+	protected final static int TAG_WHERE_WHEN = 5;
+	/**
+	 * Tag code for the ISOTime element.
+	 */
+	protected final static int TAG_ISO_TIME = 6;
+	/**
+	 * Tag code for the C1 element.
+	 */
+	protected final static int TAG_C1 = 7;
+	/**
+	 * Tag code for the C2 element.
+	 */
+	protected final static int TAG_C2 = 8;
+	/**
+	 * Tag code for the Error2Radius element.
+	 */
+	protected final static int TAG_ERROR2_RADIUS = 9;
+	/**
+	 * Tag code for the Why element.
+	 */
+	protected final static int TAG_WHY = 10;
+	/**
+	 * Tag code for the Concept element.
+	 */
+	protected final static int TAG_CONCEPT = 11;
+	/**
+	 * The names of the tags, indexed by tag code.
+	 */
+	protected final static String TAG_NAME_LIST[] = {null,"VOEvent","Who","Date","Param","WhereWhen","ISOTime",
+							 "C1","C2","Error2Radius","Why","Concept"};
+	/**
+	 * Map from element name to Integer tag code, built once from TAG_NAME_LIST.
+	 * @see #TAG_NAME_LIST
+	 */
+	protected final static Map TAG_MAP = new HashMap();
+	/**
+	 * The Swift BAT solution status bit meaning the trigger is definitely not a GRB.
+	 */
+	protected final static int SWIFT_SOLN_STATUS_DEF_NOT_A_GRB = (1<<5);
+	/**
+	 * The missions recognised in the ivorn, and their alert types.
+	 */
+	protected final static String MISSION_NAME_LIST[] = {"SWIFT","FERMI","INTEGRAL","AGILE","HETE"};
+	/**
+	 * The SAX reader, reused for each document.
+	 */
+	protected XMLReader reader = null;
+	/**
+	 * The alert data being filled in.
+	 */
+	protected GCNDatagramAlertData alertData = null;
+	/**
+	 * The text of the current element, if it is one whose text is used.
+	 */
+	protected StringBuffer text = null;
+	/**
+	 * Whether the text of the current element is being kept.
+	 */
+	protected boolean keepText = false;
+	/**
+	 * Whether the parser is inside the Who element.
+	 */
+	protected boolean inWho = false;
+	/**
+	 * Whether the parser is inside the WhereWhen element.
+	 */
+	protected boolean inWhereWhen = false;
+	/**
+	 * The RA, in degrees, or NaN.
+	 */
+	protected double raDegrees;
+	/**
+	 * The declination, in degrees, or NaN.
+	 */
+	protected double decDegrees;
+	/**
+	 * The packet type, from the Packet_Type param, or -1.
+	 */
+	protected int packetType;
+	/**
+	 * Whether the Def_NOT_a_GRB param was true.
+	 */
+	protected boolean notAGRB = false;
+	/**
+	 * The VOEvent ivorn.
+	 */
+	protected String ivorn = null;
+	/**
+	 * The VOEvent role.
+	 */
+	protected String role = null;
+	/**
+	 * The Why importance, or NaN.
+	 */
+	protected double importance;
+	/**
+	 * The Why Inference Concept, or null.
+	 */
+	protected String concept = null;
+	/**
+	 * Date format used to parse ISO dates, without the fraction of a second, in GMT+0.
+	 */
+	protected DateFormat dateFormat = null;
+
+	/**
+	 * Build the tag table.
+	 */
+	static
+	{
+		for(int i = 1; i < TAG_NAME_LIST.length; i++)
+			TAG_MAP.put(TAG_NAME_LIST[i],new Integer(i));
+	}
+
+	/**
+	 * Constructor. Creates the (namespace aware) SAX reader.
+	 * @exception ParserConfigurationException Thrown if a SAX parser cannot be created.
+	 * @exception SAXException Thrown if a SAX parser cannot be created.
+	 */
+	public GCNVOEventParser() throws ParserConfigurationException, SAXException
+	{
+		SAXParserFactory factory = null;
+
+		factory = SAXParserFactory.newInstance();
+		factory.setNamespaceAware(true);
+		factory.setValidating(false);
+		reader = factory.newSAXParser().getXMLReader();
+		reader.setContentHandler(this);
+		reader.setErrorHandler(this);
+		text = new StringBuffer();
+		dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss");
+		dateFormat.setTimeZone(TimeZone.getTimeZone("GMT+0"));
+	}
+
+	/**
+	 * Parse a VOEvent document.
+	 * @param inputStream The stream to read the document from. It is not closed.
+	 * @return A new alert data, filled in from the document.
+	 * @exception IOException Thrown if reading the stream fails.
+	 * @exception SAXException Thrown if the document is not well formed, or a value cannot be parsed.
+	 * @see #alertData
+	 */
+	public GCNDatagramAlertData parse(InputStream inputStream) throws IOException, SAXException
+	{
+		RA ra = null;
+		Dec dec = null;
+
+		alertData = new GCNDatagramAlertData();
+		alertData.setEpoch(2000.0);
+		text.setLength(0);
+		keepText = false;
+		inWho = false;
+		inWhereWhen = false;
+		raDegrees = Double.NaN;
+		decDegrees = Double.NaN;
+		packetType = -1;
+		notAGRB = false;
+		ivorn = null;
+		role = null;
+		importance = Double.NaN;
+		concept = null;
+		reader.parse(new InputSource(inputStream));
+		alertData.setAlertType(getAlertType());
+		if(notAGRB && (alertData.getAlertType() == GCNDatagramAlertData.ALERT_TYPE_SWIFT))
+			alertData.setStatus(alertData.getStatus()|SWIFT_SOLN_STATUS_DEF_NOT_A_GRB);
+		if((Double.isNaN(raDegrees) == false)&&(Double.isNaN(decDegrees) == false))
+		{
+			ra = new RA();
+			dec = new Dec();
+			ra.fromRadians(Math.toRadians(raDegrees));
+			dec.fromRadians(Math.toRadians(decDegrees));
+			alertData.setRA(ra);
+			alertData.setDec(dec);
+		}
+		return alertData;
+	}
+
+	/**
+	 * Return the packet type of the last document parsed, from it's Packet_Type param.
+	 * @return The packet type, or -1 if it was not specified.
+	 */
+	public int getPacketType()
+	{
+		return packetType;
+	}
+
+	/**
+	 * Return the ivorn of the last document parsed.
+	 * @return The ivorn, or null.
+	 */
+	public String getIvorn()
+	{
+		return ivorn;
+	}
+
+	/**
+	 * Return the role of the last document parsed.
+	 * @return The role, or null.
+	 */
+	public String getRole()
+	{
+		return role;
+	}
+
+	/**
+	 * Return the Why importance of the last document parsed.
+	 * @return The importance, or NaN if it was not specified.
+	 */
+	public double getImportance()
+	{
+		return importance;
+	}
+
+	/**
+	 * Return the Why Inference Concept of the last document parsed.
+	 * @return The concept, or null.
+	 */
+	public String getConcept()
+	{
+		return concept;
+	}
+
+	/**
+	 * SAX start element callback.
+	 */
+	public void startElement(String uri,String localName,String qName,Attributes attributes)
+		throws SAXException
+	{
+		switch(getTag(localName,qName))
+		{
+			case TAG_VOEVENT:
+				ivorn = attributes.getValue("ivorn");
+				role = attributes.getValue("role");
+				if("test".equals(role))
+					alertData.setTest(true);
+				break;
+			case TAG_WHO:
+				inWho = true;
+				break;
+			case TAG_WHERE_WHEN:
+				inWhereWhen = true;
+				break;
+			case TAG_PARAM:
+				param(attributes.getValue("name"),attributes.getValue("value"));
+				break;
+			case TAG_WHY:
+				if(attributes.getValue("importance") != null)
+					importance = parseDouble("importance",attributes.getValue("importance"));
+				break;
+			case TAG_DATE:
+				keepText = inWho;
+				break;
+			case TAG_ISO_TIME:
+			case TAG_C1:
+			case TAG_C2:
+			case TAG_ERROR2_RADIUS:
+				keepText = inWhereWhen;
+				break;
+			case TAG_CONCEPT:
+				keepText = true;
+				break;
+			default:
+				break;
+		}
+		text.setLength(0);
+	}
+
+	/**
+	 * SAX characters callback. The text is kept only for elements whose text is used.
+	 */
+	public void characters(char ch[],int start,int length)
+	{
+		if(keepText)
+			text.append(ch,start,length);
+	}
+
+	/**
+	 * SAX end element callback.
+	 */
+	public void endElement(String uri,String localName,String qName) throws SAXException
+	{
+		String value = null;
+
+		if(keepText)
+			value = text.toString().trim();
+		keepText = false;
+		switch(getTag(localName,qName))
+		{
+			case TAG_WHO:
+				inWho = false;
+				break;
+			case TAG_WHERE_WHEN:
+				inWhereWhen = false;
+				break;
+			case TAG_DATE:
+				if(value != null)
+					alertData.setNoticeDate(parseDate(value));
+				break;
+			case TAG_ISO_TIME:
+				if(value != null)
+					alertData.setGRBDate(parseDate(value));
+				break;
+			case TAG_C1:
+				if(value != null)
+					raDegrees = parseDouble("C1",value);
+				break;
+			case TAG_C2:
+				if(value != null)
+					decDegrees = parseDouble("C2",value);
+				break;
+			case TAG_ERROR2_RADIUS:
+				// degrees to arc-minutes
+				if(value != null)
+					alertData.setErrorBoxSize(parseDouble("Error2Radius",value)*60.0);
+				break;
+			case TAG_CONCEPT:
+				concept = value;
+				break;
+			default:
+				break;
+		}
+	}
+
+	/**
+	 * SAX error callback. Errors are thrown, so a bad document is rejected.
+	 */
+	public void error(SAXParseException e) throws SAXException
+	{
+		throw e;
+	}
+
+	/**
+	 * Use a What Param.
+	 * @param name The param name.
+	 * @param value The param value.
+	 * @exception SAXException Thrown if the value cannot be parsed.
+	 */
+	protected void param(String name,String value) throws SAXException
+	{
+		if((name == null)||(value == null))
+			return;
+		if(name.equals("Packet_Type"))
+			packetType = parseInt(name,value);
+		else if(name.equals("TrigID"))
+			alertData.setTriggerNumber(parseInt(name,value));
+		else if(name.equals("Pkt_Ser_Num"))
+			alertData.setSequenceNumber(parseInt(name,value));
+		else if(name.equals("Soln_Status"))
+			alertData.setStatus(parseInt(name,value));
+		else if(name.equals("GRB_Identified"))
+			alertData.setHasMerit(value.equals("true"));
+		else if(name.equals("Def_NOT_a_GRB")&&value.equals("true"))
+		{
+			notAGRB = true;
+			alertData.setHasMerit(false);
+		}
+	}
+
+	/**
+	 * Return the tag code of an element.
+	 * @param localName The element's local name (if the parser is namespace aware).
+	 * @param qName The element's qualified name.
+	 * @return The tag code, or TAG_OTHER.
+	 * @see #TAG_MAP
+	 */
+	protected int getTag(String localName,String qName)
+	{
+		Integer tag = null;
+
+		if((localName == null)||(localName.length() == 0))
+			localName = qName;
+		tag = (Integer)(TAG_MAP.get(localName));
+		if(tag == null)
+			return TAG_OTHER;
+		return tag.intValue();
+	}
+
+	/**
+	 * Return the alert type of the document just parsed. This is the mission processData sets for the
+	 * Packet_Type, if the ivorn names the same mission. If the Packet_Type is not known (as for documents
+	 * written by GCNAlertEmitter for manual and JSON alerts), the mission named in the ivorn is used.
+	 * Test notices, and non-Swift notices that are definitely not a GRB, are not alerts.
+	 * @return The alert type, or 0 if the document is not an alert.
+	 * @see #packetType
+	 * @see #ivorn
+	 * @see #notAGRB
+	 * @see GCNPacketView#getMission(int)
+	 */
+	protected int getAlertType()
+	{
+		int alertType;
+
+		if(ivorn == null)
+			return 0;
+		if(alertData.getTest())
+			return 0;
+		alertType = getAlertType(ivorn);
+		if((packetType != -1)&&(GCNPacketView.getMission(packetType) != alertType))
+			return 0;
+		if(notAGRB && (alertType != GCNDatagramAlertData.ALERT_TYPE_SWIFT))
+			return 0;
+		return alertType;
+	}
+
+	/**
+	 * Return the alert type of the mission named in an ivorn, e.g. ivo://nasa.gsfc.gcn/SWIFT#BAT_GRB_Pos_...
+	 * @param s The ivorn.
+	 * @return The alert type, or 0 if no known mission is named.
+	 * @see #MISSION_NAME_LIST
+	 */
+	protected int getAlertType(String s)
+	{
+		String upper = null;
+		int index;
+
+		upper = s.toUpperCase();
+		index = upper.indexOf("GCN/");
+		if(index > -1)
+			upper = upper.substring(index+4);
+		for(int i = 0; i < MISSION_NAME_LIST.length; i++)
+		{
+			if(upper.startsWith(MISSION_NAME_LIST[i]))
+				return GCNDatagramAlertData.getAlertType(MISSION_NAME_LIST[i]);
+		}
+		return 0;
+	}
+
+	/**
+	 * Parse an ISO date (yyyy-MM-dd'T'HH:mm:ss[.SSS...][Z]) in GMT+0.
+	 * @param s The string.
+	 * @return The date.
+	 * @exception SAXException Thrown if the date cannot be parsed.
+	 * @see #parseISODate
+	 */
+	protected Date parseDate(String s) throws SAXException
+	{
+		try
+		{
+			return parseISODate(dateFormat,s);
+		}
+		catch(ParseException e)
+		{
+			throw new SAXException(this.getClass().getName()+":parseDate:Illegal date:"+s,e);
+		}
+	}
+
+	/**
+	 * Parse an ISO date (yyyy-MM-dd'T'HH:mm:ss[.SSS...][Z]). Any number of digits of fraction of a second
+	 * are allowed.
+	 * @param dateFormat A date format of the form yyyy-MM-dd'T'HH:mm:ss, in the time zone to use.
+	 * @param s The string.
+	 * @return The date.
+	 * @exception ParseException Thrown if the date cannot be parsed.
+	 */
+	public static Date parseISODate(DateFormat dateFormat,String s) throws ParseException
+	{
+		ParsePosition position = null;
+		Date date = null;
+		String fraction = null;
+		int end;
+
+		position = new ParsePosition(0);
+		date = dateFormat.parse(s,position);
+		if(date == null)
+			throw new ParseException("GCNVOEventParser:parseISODate:Illegal date:"+s,position.getErrorIndex());
+		if((position.getIndex() < s.length())&&(s.charAt(position.getIndex()) == '.'))
+		{
+			end = position.getIndex()+1;
+			while((end < s.length())&&Character.isDigit(s.charAt(end)))
+				end++;
+			fraction = s.substring(position.getIndex(),end);
+			if(fraction.length() > 1)
+				date.setTime(date.getTime()+Math.round(Double.parseDouble("0"+fraction)*1000.0));
+		}
+		return date;
+	}
+
+	/**
+	 * Parse a double value.
+	 * @param name The name of the value, for the error message.
+	 * @param s The string.
+	 * @return The value.
+	 * @exception SAXException Thrown if the value cannot be parsed.
+	 */
+	protected double parseDouble(String name,String s) throws SAXException
+	{
+		try
+		{
+			return Double.parseDouble(s.trim());
+		}
+		catch(NumberFormatException e)
+		{
+			throw new SAXException(this.getClass().getName()+":parseDouble:Illegal "+name+":"+s,e);
+		}
+	}
+
+	/**
+	 * Parse an integer value, in decimal or (with a 0x prefix) hexadecimal.
+	 * @param name The name of the value, for the error message.
+	 * @param s The string.
+	 * @return The value.
+	 * @exception SAXException Thrown if the value cannot be parsed.
+	 */
+	protected int parseInt(String name,String s) throws SAXException
+	{
+		try
+		{
+			s = s.trim();
+			if(s.startsWith("0x")||s.startsWith("0X"))
+				return (int)Long.parseLong(s.substring(2),16);
+			return Integer.parseInt(s);
+		}
+		catch(NumberFormatException e)
+		{
+			throw new SAXException(this.getClass().getName()+":parseInt:Illegal "+name+":"+s,e);
+		}
+	}
+}
+//
+// $Log: not supported by cvs2svn $
+//